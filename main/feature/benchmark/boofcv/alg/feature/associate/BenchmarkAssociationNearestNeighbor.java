@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.abst.feature.associate.AssociateNearestNeighbor;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.misc.Performer;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.nn.FactoryNearestNeighbor;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.Random;
+
+
+/**
+ * Compares the recall and speed of approximate nearest neighbor association as the maximum number of checks
+ * is changed.  Recall is the fraction of destination features which are matched to the same source feature
+ * as an exhaustive search.  Synthetic features are used which are clustered, similar to real descriptors.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkAssociationNearestNeighbor {
+
+	static final long TEST_TIME = 1000;
+	static final Random rand = new Random(234234);
+	static final int DOF = 64;
+	static final int NUM_FEATURES = 2000;
+	static final int NUM_CLUSTERS = 50;
+
+	static final double[][] centers = createCenters();
+	static final FastQueue<TupleDesc_F64> listA = createSet();
+	static final FastQueue<TupleDesc_F64> listB = createSet();
+
+	public static class General implements Performer {
+
+		AssociateDescription<TupleDesc_F64> alg;
+		String name;
+
+		public General(String name, AssociateDescription<TupleDesc_F64> alg) {
+			this.alg = alg;
+			this.name = name;
+		}
+
+		@Override
+		public void process() {
+			alg.setSource(listA);
+			alg.setDestination(listB);
+			alg.associate();
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+	}
+
+	/**
+	 * Finds the index of the source feature each destination feature is matched to
+	 */
+	private static int[] associate( AssociateDescription<TupleDesc_F64> alg ) {
+		alg.setSource(listA);
+		alg.setDestination(listB);
+		alg.associate();
+
+		int[] ret = new int[listB.size];
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+		for( int i = 0; i < matches.size; i++ ) {
+			AssociatedIndex a = matches.get(i);
+			ret[a.dst] = a.src;
+		}
+		return ret;
+	}
+
+	private static void evaluate( String name , AssociateDescription<TupleDesc_F64> alg , int[] truth ) {
+		int[] found = associate(alg);
+		int correct = 0;
+		for( int i = 0; i < truth.length; i++ ) {
+			if( found[i] == truth[i] )
+				correct++;
+		}
+
+		System.out.printf("recall = %5.3f  ",correct/(double)truth.length);
+		ProfileOperation.printOpsPerSec(new General(name,alg),TEST_TIME);
+	}
+
+	private static double[][] createCenters() {
+		double[][] ret = new double[NUM_CLUSTERS][DOF];
+		for( int i = 0; i < NUM_CLUSTERS; i++ ) {
+			for( int j = 0; j < DOF; j++ ) {
+				ret[i][j] = rand.nextGaussian();
+			}
+		}
+		return ret;
+	}
+
+	private static FastQueue<TupleDesc_F64> createSet() {
+		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(NUM_FEATURES,TupleDesc_F64.class, false);
+
+		for( int i = 0; i < NUM_FEATURES; i++ ) {
+			double[] c = centers[rand.nextInt(NUM_CLUSTERS)];
+			TupleDesc_F64 t = new TupleDesc_F64(DOF);
+			for( int j = 0; j < DOF; j++ ) {
+				t.value[j] = c[j] + 0.3*rand.nextGaussian();
+			}
+			ret.add(t);
+		}
+		return ret;
+	}
+
+	public static void main( String args[] ) {
+		System.out.println("=========  Profile Description DOF "+DOF+" ========== Num Features "+NUM_FEATURES);
+		System.out.println();
+
+		AssociateDescription<TupleDesc_F64> exhaustive =
+				new AssociateNearestNeighbor<TupleDesc_F64>(FactoryNearestNeighbor.<Integer>exhaustive(),DOF);
+		int[] truth = associate(exhaustive);
+
+		evaluate("Exhaustive", exhaustive, truth);
+		evaluate("DDogleg Random Forest", FactoryAssociation.kdRandomForest(DOF, 500, 15, 5, 1233445565), truth);
+
+		for( int maxChecks : new int[]{50,100,200,500,1000} ) {
+			evaluate("Kd Forest "+maxChecks,
+					FactoryAssociation.approximateKdForest(4, 5, maxChecks, 1233445565), truth);
+		}
+		for( int maxChecks : new int[]{50,100,200,500,1000} ) {
+			evaluate("K-Means Tree "+maxChecks,
+					FactoryAssociation.approximateKMeansTree(32, 7, maxChecks, 1233445565), truth);
+		}
+	}
+}
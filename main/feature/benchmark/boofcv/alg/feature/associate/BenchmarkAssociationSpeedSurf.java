@@ -122,6 +122,10 @@ public class BenchmarkAssociationSpeedSurf {
 				FactoryAssociation.greedy(score, Double.MAX_VALUE,  true)),TEST_TIME);
 		ProfileOperation.printOpsPerSec(app.createProfile("Random Forest",
 				FactoryAssociation.kdRandomForest(DOF, 500, 15, 5, 1233445565)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(app.createProfile("Kd Forest",
+				FactoryAssociation.approximateKdForest(4, 5, 500, 1233445565)),TEST_TIME);
+		ProfileOperation.printOpsPerSec(app.createProfile("K-Means Tree",
+				FactoryAssociation.approximateKMeansTree(32, 7, 500, 1233445565)),TEST_TIME);
 		
 	}
 }
@@ -18,10 +18,12 @@
 
 package boofcv.alg.feature.detect.interest;
 
+import boofcv.abst.feature.detect.extract.ConfigExtract;
 import boofcv.alg.feature.detect.intensity.IntegralImageFeatureIntensity;
 import boofcv.alg.feature.detect.intensity.impl.ImplIntegralImageFeatureIntensity;
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.ImageFloat32;
@@ -62,6 +64,42 @@ public class BenchmarkFastHessianFeatureIntensity {
 		}
 	}
 
+	public static class Concurrent extends PerformerBase {
+
+		@Override
+		public void process() {
+			BoofConcurrency.setUseConcurrent(true);
+			IntegralImageFeatureIntensity.hessian(integral,skip,size,intensity);
+			BoofConcurrency.setUseConcurrent(false);
+		}
+	}
+
+	public static class Detector extends PerformerBase {
+		FastHessianFeatureDetector<ImageFloat32> alg = createDetector();
+		boolean useConcurrent;
+
+		public Detector(boolean concurrent) {
+			this.useConcurrent = concurrent;
+			alg.setConcurrent(concurrent);
+		}
+
+		@Override
+		public void process() {
+			BoofConcurrency.setUseConcurrent(useConcurrent);
+			alg.detect(integral);
+			BoofConcurrency.setUseConcurrent(false);
+		}
+
+		@Override
+		public String getName() {
+			return useConcurrent ? "DetectorConcurrent" : "Detector";
+		}
+	}
+
+	private static FastHessianFeatureDetector<ImageFloat32> createDetector() {
+		return new FastHessianFeatureDetector<ImageFloat32>(new ConfigExtract(2, 1, 5, true), -1, 1, 9, 4, 4);
+	}
+
 	public static void main(String args[]) {
 		ImageMiscOps.fillUniform(original,rand,0,200);
 		IntegralImageOps.transform(original,integral);
@@ -72,5 +110,8 @@ public class BenchmarkFastHessianFeatureIntensity {
 
 		ProfileOperation.printOpsPerSec(new Naive(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new Standard(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Concurrent(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Detector(false), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new Detector(true), TEST_TIME);
 	}
 }
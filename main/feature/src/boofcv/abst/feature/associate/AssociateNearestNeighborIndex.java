@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.FindUnassociated;
+import boofcv.alg.feature.associate.NearestNeighborIndex;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.PackedTupleArray_F64;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Matches features using a {@link NearestNeighborIndex}.  The index is constructed from the source features
+ * and the destination features are looked up in a batch.  Features are copied into a {@link PackedTupleArray_F64}
+ * or can be passed in already packed, see {@link #setSource(PackedTupleArray_F64)} and
+ * {@link #setDestination(PackedTupleArray_F64)}.  When concurrency is turned on in
+ * {@link BoofConcurrency} the destination features are split into blocks which are searched in parallel, each
+ * with its own {@link NearestNeighborIndex.Search}.  The matches are the same with and without concurrency.
+ * Multiple matches for source features are possible while there will only be a unique match for each
+ * destination feature.
+ *
+ * @author Peter Abeles
+ */
+public class AssociateNearestNeighborIndex<D extends TupleDesc_F64>
+		implements AssociateDescription<D>
+{
+	// index used to search the source features
+	private NearestNeighborIndex index;
+
+	// searches which are not in use
+	private final List<NearestNeighborIndex.Search> available = new ArrayList<NearestNeighborIndex.Search>();
+
+	// features which are searched for in the source set
+	private PackedTupleArray_F64 dst;
+	// number of source features
+	private int numSource;
+
+	// storage for features which are passed in as a list
+	private PackedTupleArray_F64 packedSrc = new PackedTupleArray_F64(0);
+	private PackedTupleArray_F64 packedDst = new PackedTupleArray_F64(0);
+
+	// index of the matching source feature and its distance for each destination feature
+	private GrowQueue_I32 pairs = new GrowQueue_I32();
+	private GrowQueue_F64 distances = new GrowQueue_F64();
+
+	// List of final associated points
+	private FastQueue<AssociatedIndex> matches = new FastQueue<AssociatedIndex>(100,AssociatedIndex.class,true);
+
+	// creates a list of unassociated features from the list of matches
+	private FindUnassociated unassociated = new FindUnassociated();
+
+	// maximum distance away two points can be
+	private double maxDistanceSq = -1;
+
+	public AssociateNearestNeighborIndex( NearestNeighborIndex index ) {
+		this.index = index;
+	}
+
+	@Override
+	public void setSource(FastQueue<D> listSrc) {
+		pack(listSrc, packedSrc);
+		setSource(packedSrc);
+	}
+
+	@Override
+	public void setDestination(FastQueue<D> listDst) {
+		pack(listDst, packedDst);
+		setDestination(packedDst);
+	}
+
+	/**
+	 * Specifies the source features.  A reference is saved and the index is constructed directly from them.
+	 */
+	public void setSource(PackedTupleArray_F64 src) {
+		numSource = src.size;
+		index.setPoints(src);
+	}
+
+	/**
+	 * Specifies the destination features.  A reference is saved.
+	 */
+	public void setDestination(PackedTupleArray_F64 dst) {
+		this.dst = dst;
+	}
+
+	private void pack( FastQueue<D> list , PackedTupleArray_F64 packed ) {
+		if( list.size > 0 )
+			packed.dof = list.data[0].value.length;
+		packed.setTo(list);
+	}
+
+	@Override
+	public void associate() {
+		final int N = dst.size;
+		final int dof = dst.dof;
+		pairs.resize(N);
+		distances.resize(N);
+
+		BoofConcurrency.loopBlocks(0, N, new IntRangeTask() {
+			@Override
+			public void process(int i0, int i1) {
+				NearestNeighborIndex.Search search = checkOut();
+				try {
+					for( int i = i0; i < i1; i++ ) {
+						pairs.data[i] = search.findNearest(dst.data, i*dof, maxDistanceSq);
+						distances.data[i] = search.getDistanceSq();
+					}
+				} finally {
+					checkIn(search);
+				}
+			}
+		});
+
+		matches.reset();
+		for( int i = 0; i < N; i++ ) {
+			if( pairs.data[i] >= 0 )
+				matches.grow().setAssociation(pairs.data[i],i,distances.data[i]);
+		}
+	}
+
+	private NearestNeighborIndex.Search checkOut() {
+		synchronized( available ) {
+			return available.isEmpty() ? index.createSearch() : available.remove(available.size()-1);
+		}
+	}
+
+	private void checkIn( NearestNeighborIndex.Search search ) {
+		synchronized( available ) {
+			available.add(search);
+		}
+	}
+
+	@Override
+	public FastQueue<AssociatedIndex> getMatches() {
+		return matches;
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedSource() {
+		return unassociated.checkSource(matches,numSource);
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedDestination() {
+		return unassociated.checkDestination(matches,dst.size);
+	}
+
+	@Override
+	public void setThreshold(double score) {
+		// distances are Euclidean distance squared
+		this.maxDistanceSq = score < 0 ? score : score*score;
+	}
+
+	@Override
+	public MatchScoreType getScoreType() {
+		return MatchScoreType.NORM_ERROR;
+	}
+
+	@Override
+	public boolean uniqueSource() {
+		return false;
+	}
+
+	@Override
+	public boolean uniqueDestination() {
+		return true;
+	}
+
+	public NearestNeighborIndex getIndex() {
+		return index;
+	}
+}
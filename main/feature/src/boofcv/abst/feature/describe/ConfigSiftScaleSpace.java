@@ -45,6 +45,11 @@ public class ConfigSiftScaleSpace implements Configuration {
 	 * Should the input image be doubled? Try false.
 	 */
 	public boolean doubleInputImage = false;
+	/**
+	 * If true then layers in scale-space are processed concurrently when computing derivatives, DOG images,
+	 * and when searching for features.  Has no effect unless {@link boofcv.concurrency.BoofConcurrency} is turned on.
+	 */
+	public boolean concurrent = false;
 
 	public ConfigSiftScaleSpace(float blurSigma, int numScales, int numOctaves, boolean doubleInputImage) {
 		this.blurSigma = blurSigma;
@@ -44,6 +44,11 @@ public abstract class ConfigSurfDescribe implements Configuration {
 	 * If true the Haar wavelet will be used.  If false means image gradient.
 	 */
 	public boolean useHaar = false;
+	/**
+	 * If true then all the interest points in an image are described concurrently.  Has no effect unless
+	 * {@link boofcv.concurrency.BoofConcurrency} is turned on.
+	 */
+	public boolean concurrent = false;
 
 	/**
 	 * Configuration for SURF implementation that has been designed for speed at the cost of some
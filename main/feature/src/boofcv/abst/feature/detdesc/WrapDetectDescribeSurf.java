@@ -111,10 +111,11 @@ public class WrapDetectDescribeSurf
 			ScalePoint p = foundPoints.get(i);
 
 			orientation.setScale(p.scale);
-			double angle = orientation.compute(p.x,p.y);
-			describe.describe(p.x,p.y, angle, p.scale, features.grow());
-			featureAngles.push(angle);
+			featureAngles.push(orientation.compute(p.x,p.y));
 		}
+
+		// all the points are described at once so that it can be done concurrently
+		describe.describe(foundPoints, featureAngles, features);
 	}
 
 	@Override
@@ -55,6 +55,11 @@ public class ConfigFastHessian implements Configuration {
 	 * Typically 4.
 	 */
 	public int numberOfOctaves = 4;
+	/**
+	 * If true then feature sizes inside an octave are searched concurrently.  Has no effect unless
+	 * {@link boofcv.concurrency.BoofConcurrency} is turned on.
+	 */
+	public boolean concurrent = false;
 
 	public ConfigFastHessian(float detectThreshold,
 							 int extractRadius,
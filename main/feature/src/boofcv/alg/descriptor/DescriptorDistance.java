@@ -209,12 +209,6 @@ public class DescriptorDistance {
 	 * @return The hamming distance
 	 */
 	public static int hamming( int val ) {
-		int distance = 0;
-
-		while( val != 0 ) {
-			val &= val - 1;
-			distance++;
-		}
-		return distance;
+		return Integer.bitCount(val);
 	}
 }
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociateHamming_B;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.feature.PackedTupleArray_B;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+
+
+/**
+ * <p>
+ * Brute force greedy association for binary descriptors which is specialized for the Hamming distance.  Produces
+ * identical results to {@link AssociateGreedy} with {@link ScoreAssociateHamming_B}, but is much faster.
+ * </p>
+ *
+ * <p>
+ * Descriptors are copied into a {@link PackedTupleArray_B}, a contiguous array of longs, so that 64-bits are
+ * compared at once using {@link Long#bitCount(long)}.  Descriptors which are already packed can be associated
+ * directly with {@link #associate(PackedTupleArray_B, PackedTupleArray_B)}.  A block of source descriptors is compared against a tile of destination
+ * descriptors at a time, keeping both in cache.  When computing the distance between two descriptors the
+ * computation is stopped once the partial distance is worse than the best match found so far.  Unlike
+ * {@link AssociateGreedy} the full score matrix is never saved.  Backwards validation instead compares the
+ * matched destination descriptor against all the other source descriptors, also with early termination.
+ * </p>
+ *
+ * <p>
+ * If {@link BoofConcurrency} is active then blocks of source descriptors are processed concurrently.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class AssociateGreedyHamming_B extends AssociateGreedy<TupleDesc_B> {
+
+	// default number of source descriptors in a block
+	public static final int DEFAULT_BLOCK_SRC = 32;
+	// default size in bytes of a tile of destination descriptors
+	public static final int DEFAULT_TILE_BYTES = 1 << 14;
+
+	// number of source descriptors in a block
+	private int blockSrc = DEFAULT_BLOCK_SRC;
+	// desired size in bytes of a tile of destination descriptors
+	private int tileBytes = DEFAULT_TILE_BYTES;
+
+	// storage for descriptors which are passed in as a list
+	private PackedTupleArray_B packedSrc;
+	private PackedTupleArray_B packedDst;
+
+	// descriptors packed into long arrays
+	private long[] arenaSrc;
+	private long[] arenaDst;
+	// number of longs in each descriptor
+	private int numLongs;
+
+	// best score for each source descriptor
+	private int[] bestScore = new int[0];
+
+	/**
+	 * Configure association
+	 *
+	 * @param backwardsValidation If true then backwards validation is performed.
+	 */
+	public AssociateGreedyHamming_B( boolean backwardsValidation ) {
+		super(new ScoreAssociateHamming_B(), backwardsValidation);
+	}
+
+	/**
+	 * Associates the two sets objects against each other by minimizing the Hamming distance.
+	 *
+	 * @param src Source list.
+	 * @param dst Destination list.
+	 */
+	@Override
+	public void associate( FastQueue<TupleDesc_B> src ,
+						   FastQueue<TupleDesc_B> dst )
+	{
+		if( src.size == 0 ) {
+			fitQuality.reset();
+			pairs.reset();
+			return;
+		}
+
+		TupleDesc_B first = src.get(0);
+		if( packedSrc == null || packedSrc.numInts != first.data.length || packedSrc.numBits != first.numBits ) {
+			packedSrc = new PackedTupleArray_B(first.numBits, first.data.length);
+			packedDst = new PackedTupleArray_B(first.numBits, first.data.length);
+		}
+		packedSrc.setTo(src);
+		packedDst.setTo(dst);
+
+		associate(packedSrc, packedDst);
+	}
+
+	/**
+	 * Associates the two sets objects against each other by minimizing the Hamming distance.  The descriptors
+	 * are used directly without being copied.
+	 *
+	 * @param src Source descriptors.
+	 * @param dst Destination descriptors.
+	 */
+	public void associate( PackedTupleArray_B src ,
+						   PackedTupleArray_B dst )
+	{
+		fitQuality.reset();
+		pairs.reset();
+
+		if( src.size == 0 )
+			return;
+		if( src.numLongs != dst.numLongs )
+			throw new IllegalArgumentException("All descriptors must have the same length");
+
+		numLongs = src.numLongs;
+		arenaSrc = src.data;
+		arenaDst = dst.data;
+
+		final int numSrc = src.size;
+		final int numDst = dst.size;
+
+		pairs.resize(numSrc);
+		fitQuality.resize(numSrc);
+		if( bestScore.length < numSrc )
+			bestScore = new int[numSrc];
+
+		// fit scores are integers so a fractional maximum error can be rounded down
+		final int maxError = maxFitError < 0 ? -1 : (int)Math.min(Math.floor(maxFitError), Integer.MAX_VALUE);
+		final int blockSrc = this.blockSrc;
+
+		BoofConcurrency.loopBlocks(0, numSrc, new IntRangeTask() {
+			@Override
+			public void process(int i0, int i1) {
+				for( int b0 = i0; b0 < i1; b0 += blockSrc ) {
+					int b1 = Math.min(i1, b0 + blockSrc);
+					findBest(b0, b1, numDst, maxError);
+				}
+				if( backwardsValidation ) {
+					validateBackwards(i0, i1, numSrc);
+				}
+			}
+		});
+
+		// don't hold onto the caller's data
+		arenaSrc = arenaDst = null;
+	}
+
+	/**
+	 * Specifies how many source descriptors are compared against a tile of destination descriptors at once.
+	 *
+	 * @param blockSrc Number of source descriptors in a block.  Must be &ge; 1.
+	 */
+	public void setBlockSrc( int blockSrc ) {
+		if( blockSrc < 1 )
+			throw new IllegalArgumentException("Block size must be at least 1");
+		this.blockSrc = blockSrc;
+	}
+
+	public int getBlockSrc() {
+		return blockSrc;
+	}
+
+	/**
+	 * Specifies the desired size of a tile of destination descriptors.  It should fit inside the cache along with
+	 * a block of source descriptors.  A tile always contains at least one descriptor.
+	 *
+	 * @param tileBytes Size of a tile in bytes.
+	 */
+	public void setTileBytes( int tileBytes ) {
+		this.tileBytes = tileBytes;
+	}
+
+	public int getTileBytes() {
+		return tileBytes;
+	}
+
+	/**
+	 * Finds the best match in the destination list for source descriptors in the range [i0,i1)
+	 */
+	private void findBest( int i0 , int i1 , int numDst , int maxError ) {
+		final long[] arenaSrc = this.arenaSrc;
+		final long[] arenaDst = this.arenaDst;
+		final int numLongs = this.numLongs;
+		final int[] pairs = this.pairs.data;
+		final int[] bestScore = this.bestScore;
+
+		for( int i = i0; i < i1; i++ ) {
+			pairs[i] = -1;
+			bestScore[i] = maxError;
+		}
+
+		int tileSize = Math.max(1, tileBytes/(8*numLongs));
+
+		for( int j0 = 0; j0 < numDst; j0 += tileSize ) {
+			int j1 = Math.min(numDst, j0 + tileSize);
+
+			for( int i = i0; i < i1; i++ ) {
+				int indexA = i*numLongs;
+				int best = bestScore[i];
+				int bestIndex = pairs[i];
+
+				for( int j = j0, indexB = j0*numLongs; j < j1; j++, indexB += numLongs ) {
+					// compute the distance, giving up once it's worse than the best match
+					int distance = 0;
+					for( int k = 0; k < numLongs && distance <= best; k++ ) {
+						distance += Long.bitCount(arenaSrc[indexA+k] ^ arenaDst[indexB+k]);
+					}
+
+					if( distance <= best ) {
+						best = distance;
+						bestIndex = j;
+					}
+				}
+
+				bestScore[i] = best;
+				pairs[i] = bestIndex;
+			}
+		}
+
+		for( int i = i0; i < i1; i++ ) {
+			fitQuality.data[i] = pairs[i] == -1 ? maxFitError : bestScore[i];
+		}
+	}
+
+	/**
+	 * Removes a match if another source descriptor is at least as good a fit to the destination descriptor
+	 */
+	private void validateBackwards( int i0 , int i1 , int numSrc ) {
+		final long[] arenaSrc = this.arenaSrc;
+		final long[] arenaDst = this.arenaDst;
+		final int numLongs = this.numLongs;
+		final int[] pairs = this.pairs.data;
+
+		for( int i = i0; i < i1; i++ ) {
+			int match = pairs[i];
+			if( match == -1 )
+				continue;
+
+			int scoreToBeat = bestScore[i];
+			int indexB = match*numLongs;
+
+			for( int j = 0, indexA = 0; j < numSrc; j++, indexA += numLongs ) {
+				if( j == i )
+					continue;
+
+				int distance = 0;
+				for( int k = 0; k < numLongs && distance <= scoreToBeat; k++ ) {
+					distance += Long.bitCount(arenaSrc[indexA+k] ^ arenaDst[indexB+k]);
+				}
+
+				if( distance <= scoreToBeat ) {
+					pairs[i] = -1;
+					fitQuality.data[i] = Double.MAX_VALUE;
+					break;
+				}
+			}
+		}
+	}
+}
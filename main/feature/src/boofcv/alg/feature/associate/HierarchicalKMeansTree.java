@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.feature.PackedTupleArray_F64;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Approximate nearest neighbor search using a hierarchical k-means tree [1].  The points are clustered into
+ * {@link #getBranching() branching} clusters using k-means, then each cluster is recursively clustered until
+ * it contains only a few points.  Searches go down the tree by selecting the cluster with the closest center
+ * while adding the other clusters to a priority queue.  The search stops after the distance to
+ * {@link #setMaxChecks maxChecks} points has been computed.  Often performs better than a K-D tree
+ * when there is structure in the data.
+ * </p>
+ *
+ * <p>
+ * [1] Marius Muja and David G. Lowe, "Fast Approximate Nearest Neighbors with Automatic Algorithm Configuration",
+ * VISAPP 2009
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HierarchicalKMeansTree implements NearestNeighborIndex {
+
+	// number of children each node has
+	private int branching;
+	// maximum number of k-means iterations
+	private int maxIterations;
+	// maximum number of points examined in a search
+	private int maxChecks;
+	// seed used to construct the tree
+	private long randomSeed;
+
+	// points which are being searched
+	private PackedTupleArray_F64 points;
+	private int dimension;
+	// storage for points which are passed in as a list
+	private PackedTupleArray_F64 listPoints = new PackedTupleArray_F64(0);
+	private Node root;
+
+	// storage used while constructing the tree
+	private int[] assignment = new int[0];
+	private int[] work = new int[0];
+
+	/**
+	 * Configures the tree
+	 *
+	 * @param branching Number of clusters at each level in the tree.  Try 32.
+	 * @param maxIterations Maximum number of k-means iterations.  Try 7.
+	 * @param maxChecks Maximum number of points examined in a search.  If &le; 0 the search is exact.
+	 * @param randomSeed Seed used by the random number generator
+	 */
+	public HierarchicalKMeansTree( int branching , int maxIterations , int maxChecks , long randomSeed ) {
+		if( branching < 2 )
+			throw new IllegalArgumentException("Branching must be at least 2");
+		this.branching = branching;
+		this.maxIterations = maxIterations;
+		this.maxChecks = maxChecks;
+		this.randomSeed = randomSeed;
+	}
+
+	@Override
+	public void setPoints( List<double[]> points ) {
+		listPoints.dof = points.isEmpty() ? 0 : points.get(0).length;
+		listPoints.setTo(points);
+		setPoints(listPoints);
+	}
+
+	@Override
+	public void setPoints( PackedTupleArray_F64 points ) {
+		this.points = points;
+		this.dimension = points.dof;
+
+		int N = points.size;
+		int[] indexes = new int[N];
+		for( int i = 0; i < N; i++ )
+			indexes[i] = i;
+		if( assignment.length < N ) {
+			assignment = new int[N];
+			work = new int[N];
+		}
+
+		root = buildNode(indexes, 0, N, new Random(randomSeed));
+	}
+
+	/**
+	 * Recursively constructs the tree for points in the range [i0,i1)
+	 */
+	private Node buildNode( int[] indexes , int i0 , int i1 , Random rand ) {
+		Node node = new Node();
+		int N = i1-i0;
+		if( N < branching*2 ) {
+			node.indexes = indexes;
+			node.index0 = i0;
+			node.index1 = i1;
+			return node;
+		}
+
+		double[][] centers = kmeans(indexes, i0, i1, rand);
+
+		// sort the points by cluster
+		int[] counts = new int[branching+1];
+		for( int i = i0; i < i1; i++ )
+			counts[assignment[i]+1]++;
+		for( int k = 0; k < branching; k++ )
+			counts[k+1] += counts[k];
+		for( int i = i0; i < i1; i++ )
+			work[i0 + counts[assignment[i]]++] = indexes[i];
+		System.arraycopy(work, i0, indexes, i0, N);
+
+		// all the points are in one cluster, which happens when they are identical
+		int numClusters = 0;
+		for( int k = 0; k < branching; k++ ) {
+			int size = counts[k] - (k > 0 ? counts[k-1] : 0);
+			if( size > 0 )
+				numClusters++;
+		}
+		if( numClusters <= 1 ) {
+			node.indexes = indexes;
+			node.index0 = i0;
+			node.index1 = i1;
+			return node;
+		}
+
+		// create a child for every cluster with points in it
+		node.children = new Node[numClusters];
+		int start = i0;
+		for( int k = 0, c = 0; k < branching; k++ ) {
+			int end = i0 + counts[k];
+			if( end > start ) {
+				Node child = buildNode(indexes, start, end, rand);
+				child.center = centers[k];
+				node.children[c++] = child;
+			}
+			start = end;
+		}
+
+		return node;
+	}
+
+	/**
+	 * Clusters points in the range [i0,i1) and saves which cluster each point belongs to in 'assignment'
+	 *
+	 * @return cluster centers
+	 */
+	private double[][] kmeans( int[] indexes , int i0 , int i1 , Random rand ) {
+		int N = i1-i0;
+		double[][] centers = new double[branching][dimension];
+
+		// initial centers are randomly selected points
+		for( int k = 0; k < branching; k++ ) {
+			int j = i0 + k + rand.nextInt(N-k);
+			int tmp = indexes[i0+k]; indexes[i0+k] = indexes[j]; indexes[j] = tmp;
+			System.arraycopy(points.data, indexes[i0+k]*dimension, centers[k], 0, dimension);
+		}
+
+		int[] counts = new int[branching];
+		for( int iteration = 0; iteration < maxIterations; iteration++ ) {
+			// assign each point to the closest center
+			boolean changed = false;
+			for( int i = i0; i < i1; i++ ) {
+				int best = closest(centers, indexes[i]);
+				if( iteration == 0 || assignment[i] != best ) {
+					assignment[i] = best;
+					changed = true;
+				}
+			}
+			if( !changed )
+				break;
+
+			// the new center is the mean of the points assigned to it
+			for( int k = 0; k < branching; k++ ) {
+				counts[k] = 0;
+				for( int j = 0; j < dimension; j++ )
+					centers[k][j] = 0;
+			}
+			for( int i = i0; i < i1; i++ ) {
+				int index = indexes[i]*dimension;
+				double[] c = centers[assignment[i]];
+				counts[assignment[i]]++;
+				for( int j = 0; j < dimension; j++ )
+					c[j] += points.data[index+j];
+			}
+			for( int k = 0; k < branching; k++ ) {
+				if( counts[k] == 0 )
+					continue;
+				for( int j = 0; j < dimension; j++ )
+					centers[k][j] /= counts[k];
+			}
+		}
+
+		// make sure the assignment is consistent with the final centers
+		for( int i = i0; i < i1; i++ )
+			assignment[i] = closest(centers, indexes[i]);
+
+		return centers;
+	}
+
+	/**
+	 * Returns the index of the center which is closest to the specified point
+	 */
+	private int closest( double[][] centers , int point ) {
+		int index = point*dimension;
+		int best = -1;
+		double bestDistance = Double.MAX_VALUE;
+		for( int k = 0; k < centers.length; k++ ) {
+			double d = RandomKdForest.distanceSq(points.data, index, centers[k], 0, dimension, bestDistance);
+			if( d < bestDistance ) {
+				bestDistance = d;
+				best = k;
+			}
+		}
+		return best;
+	}
+
+	@Override
+	public void setMaxChecks( int maxChecks ) {
+		this.maxChecks = maxChecks;
+	}
+
+	@Override
+	public int getMaxChecks() {
+		return maxChecks;
+	}
+
+	public int getBranching() {
+		return branching;
+	}
+
+	@Override
+	public Search createSearch() {
+		return new KMeansSearch();
+	}
+
+	/**
+	 * Node in the tree.  If a leaf then it references a range of points in the index array
+	 */
+	private static class Node {
+		// center of the cluster
+		double[] center;
+		// clusters inside of this cluster
+		Node[] children;
+
+		// points inside of a leaf
+		int[] indexes;
+		int index0, index1;
+	}
+
+	/**
+	 * Searches the tree in order of distance to cluster centers
+	 */
+	private class KMeansSearch implements Search {
+		// nodes which have yet to be searched
+		SearchQueue<Node> queue = new SearchQueue<Node>();
+
+		// best point found so far
+		int bestIndex;
+		double bestDistance;
+		int checks;
+
+		@Override
+		public int findNearest( double[] point , double maxDistanceSq ) {
+			return findNearest(point, 0, maxDistanceSq);
+		}
+
+		@Override
+		public int findNearest( double[] data , int offset , double maxDistanceSq ) {
+			bestIndex = -1;
+			bestDistance = maxDistanceSq < 0 ? Double.MAX_VALUE : maxDistanceSq;
+			checks = 0;
+			queue.reset();
+
+			if( root == null )
+				return -1;
+
+			searchNode(root, data, offset);
+			while( !queue.isEmpty() && (maxChecks <= 0 || checks < maxChecks) ) {
+				searchNode(queue.pop(), data, offset);
+			}
+			queue.reset();
+
+			return bestIndex;
+		}
+
+		/**
+		 * Goes down to a leaf by selecting the closest cluster, adding the other clusters to the queue
+		 */
+		private void searchNode( Node node , double[] point , int offset ) {
+			while( node.indexes == null ) {
+				Node[] children = node.children;
+				int closest = -1;
+				double closestDistance = Double.MAX_VALUE;
+				for( int k = 0; k < children.length; k++ ) {
+					double d = RandomKdForest.distanceSq(point, offset, children[k].center, 0, dimension, Double.MAX_VALUE);
+					if( d < closestDistance ) {
+						if( closest >= 0 )
+							queue.push(closestDistance, children[closest]);
+						closestDistance = d;
+						closest = k;
+					} else {
+						queue.push(d, children[k]);
+					}
+				}
+				node = children[closest];
+			}
+
+			for( int i = node.index0; i < node.index1; i++ ) {
+				int index = node.indexes[i];
+				checks++;
+
+				double d = RandomKdForest.distanceSq(point, offset, points.data, index*dimension, dimension, bestDistance);
+				if( d <= bestDistance ) {
+					bestDistance = d;
+					bestIndex = index;
+				}
+			}
+		}
+
+		@Override
+		public double getDistanceSq() {
+			return bestDistance;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.feature.PackedTupleArray_F64;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Index for finding the approximate nearest neighbor of a point using the Euclidean distance.  Once the index
+ * has been constructed it is not modified by searches.  All the state needed by a search is contained inside
+ * of a {@link Search}, allowing multiple threads to search the same index at once as long as each thread has
+ * its own {@link Search}.
+ * </p>
+ *
+ * <p>
+ * Accuracy and speed are controlled by the maximum number of points whose distance is computed in a single
+ * search, see {@link #setMaxChecks(int)}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface NearestNeighborIndex {
+
+	/**
+	 * Constructs the index from the set of points.  The points are copied.
+	 *
+	 * @param points Points which are to be searched.  All points must have the same length.
+	 */
+	public void setPoints( List<double[]> points );
+
+	/**
+	 * Constructs the index from the set of points.  A reference to the points is saved and they must not
+	 * be modified while the index is in use.
+	 *
+	 * @param points Points which are to be searched.
+	 */
+	public void setPoints( PackedTupleArray_F64 points );
+
+	/**
+	 * Maximum number of points whose distance is computed in a single search.  If &le; 0 then the search
+	 * is exact.
+	 *
+	 * @param maxChecks Maximum number of points examined.
+	 */
+	public void setMaxChecks( int maxChecks );
+
+	public int getMaxChecks();
+
+	/**
+	 * Creates a new search for this index.  The search can be reused after the index is reconstructed.
+	 */
+	public Search createSearch();
+
+	/**
+	 * Searches the index for the nearest neighbor.  Not thread safe.
+	 */
+	public interface Search {
+		/**
+		 * Finds the point in the index which is closest to the specified point.
+		 *
+		 * @param point The point being searched for.
+		 * @param maxDistanceSq Maximum allowed distance squared.  If &lt; 0 then there is no limit.
+		 * @return Index of the nearest point or -1 if none were found.
+		 */
+		public int findNearest( double[] point , double maxDistanceSq );
+
+		/**
+		 * Finds the point in the index which is closest to the specified point, which is inside of a larger
+		 * array, e.g. {@link PackedTupleArray_F64#data}.
+		 *
+		 * @param data Array containing the point being searched for.
+		 * @param offset Index of the point's first element in the array.
+		 * @param maxDistanceSq Maximum allowed distance squared.  If &lt; 0 then there is no limit.
+		 * @return Index of the nearest point or -1 if none were found.
+		 */
+		public int findNearest( double[] data , int offset , double maxDistanceSq );
+
+		/**
+		 * Euclidean distance squared between the point being searched for and the nearest point.
+		 */
+		public double getDistanceSq();
+	}
+}
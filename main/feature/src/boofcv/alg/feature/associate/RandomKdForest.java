@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.feature.PackedTupleArray_F64;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Approximate nearest neighbor search using a forest of randomized K-D trees [1].  Each tree splits the points
+ * along an axis which is randomly selected from the axes with the largest variance, making each tree different.
+ * All the trees are searched at the same time in a best-bin-first order using a single priority queue.  The search
+ * stops after the distance to {@link #setMaxChecks maxChecks} points has been computed.
+ * </p>
+ *
+ * <p>
+ * If {@link BoofConcurrency} is active then the trees are constructed concurrently.  The same trees are
+ * constructed independent of the number of threads.
+ * </p>
+ *
+ * <p>
+ * [1] Marius Muja and David G. Lowe, "Fast Approximate Nearest Neighbors with Automatic Algorithm Configuration",
+ * VISAPP 2009
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RandomKdForest implements NearestNeighborIndex {
+
+	// maximum number of points in a leaf
+	public static int MAX_LEAF_SIZE = 8;
+	// number of points used to estimate the mean and variance when splitting
+	public static int SAMPLE_SIZE = 100;
+
+	// number of trees in the forest
+	private int numTrees;
+	// number of axes with the largest variance which are considered when splitting
+	private int numConsiderSplit;
+	// maximum number of points examined in a search
+	private int maxChecks;
+	// seed used to construct the trees
+	private long randomSeed;
+
+	// points which are being searched
+	private PackedTupleArray_F64 points;
+	private int dimension;
+	// storage for points which are passed in as a list
+	private PackedTupleArray_F64 listPoints = new PackedTupleArray_F64(0);
+	// root of each tree
+	private Node[] roots = new Node[0];
+
+	/**
+	 * Configures the forest
+	 *
+	 * @param numTrees Number of trees that are constructed.  Try 4 to 8.
+	 * @param numConsiderSplit Number of axes with the largest variance which are randomly selected from when
+	 *                         splitting.  Try 5.
+	 * @param maxChecks Maximum number of points examined in a search.  If &le; 0 the search is exact.
+	 * @param randomSeed Seed used by the random number generator
+	 */
+	public RandomKdForest( int numTrees , int numConsiderSplit , int maxChecks , long randomSeed ) {
+		if( numTrees < 1 )
+			throw new IllegalArgumentException("There must be at least one tree");
+		this.numTrees = numTrees;
+		this.numConsiderSplit = Math.max(1, numConsiderSplit);
+		this.maxChecks = maxChecks;
+		this.randomSeed = randomSeed;
+	}
+
+	@Override
+	public void setPoints( List<double[]> points ) {
+		listPoints.dof = points.isEmpty() ? 0 : points.get(0).length;
+		listPoints.setTo(points);
+		setPoints(listPoints);
+	}
+
+	@Override
+	public void setPoints( PackedTupleArray_F64 points ) {
+		this.points = points;
+		this.dimension = points.dof;
+		this.roots = new Node[numTrees];
+
+		if( points.size == 0 )
+			return;
+
+		// seeds for each tree are selected up front so that the results don't depend on the order trees are built
+		Random rand = new Random(randomSeed);
+		final long seeds[] = new long[numTrees];
+		for( int i = 0; i < numTrees; i++ )
+			seeds[i] = rand.nextLong();
+
+		BoofConcurrency.loopFor(0, numTrees, new IntRangeTask() {
+			@Override
+			public void process(int tree, int tree1) {
+				roots[tree] = buildTree(new Random(seeds[tree]));
+			}
+		});
+	}
+
+	private Node buildTree( Random rand ) {
+		int N = points.size;
+		int[] indexes = new int[N];
+		for( int i = 0; i < N; i++ )
+			indexes[i] = i;
+
+		// shuffle so that the first few points in any range are a random sample
+		for( int i = N-1; i > 0; i-- ) {
+			int j = rand.nextInt(i+1);
+			int tmp = indexes[i]; indexes[i] = indexes[j]; indexes[j] = tmp;
+		}
+
+		return buildNode(indexes, 0, N, new double[dimension], new double[dimension], rand);
+	}
+
+	/**
+	 * Recursively constructs the tree for points in the range [i0,i1)
+	 */
+	private Node buildNode( int[] indexes , int i0 , int i1 , double[] mean , double[] variance , Random rand ) {
+		Node node = new Node();
+		int N = i1-i0;
+		if( N <= MAX_LEAF_SIZE ) {
+			node.indexes = indexes;
+			node.index0 = i0;
+			node.index1 = i1;
+			return node;
+		}
+
+		// estimate the mean and variance along each axis
+		int numSample = Math.min(N, SAMPLE_SIZE);
+		for( int k = 0; k < dimension; k++ ) {
+			mean[k] = 0;
+			variance[k] = 0;
+		}
+		final double[] data = points.data;
+		for( int i = 0; i < numSample; i++ ) {
+			int index = indexes[i0+i]*dimension;
+			for( int k = 0; k < dimension; k++ )
+				mean[k] += data[index+k];
+		}
+		for( int k = 0; k < dimension; k++ )
+			mean[k] /= numSample;
+		for( int i = 0; i < numSample; i++ ) {
+			int index = indexes[i0+i]*dimension;
+			for( int k = 0; k < dimension; k++ ) {
+				double d = data[index+k] - mean[k];
+				variance[k] += d*d;
+			}
+		}
+
+		// randomly select one of the axes with the largest variance
+		int axis = selectAxis(variance, rand.nextInt(Math.min(numConsiderSplit, dimension)));
+		double split = mean[axis];
+
+		int left = partition(indexes, i0, i1, axis, split);
+
+		// the sampled mean can have all the points on one side of it.  Split between the extreme values instead
+		if( left == i0 || left == i1 ) {
+			double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+			for( int i = i0; i < i1; i++ ) {
+				double v = data[indexes[i]*dimension+axis];
+				if( v < min ) min = v;
+				if( v > max ) max = v;
+			}
+
+			if( min == max ) {
+				// identical values along the axis so it doesn't matter which side a point is put on
+				left = i0 + N/2;
+				split = min;
+			} else {
+				split = min + (max-min)/2;
+				if( split >= max )
+					split = min;
+				left = partition(indexes, i0, i1, axis, split);
+			}
+		}
+
+		node.axis = axis;
+		node.split = split;
+		node.left = buildNode(indexes, i0, left, mean, variance, rand);
+		node.right = buildNode(indexes, left, i1, mean, variance, rand);
+		return node;
+	}
+
+	/**
+	 * Moves points which are less than or equal to the split to the start of the range
+	 *
+	 * @return index of the first point which is greater than the split
+	 */
+	private int partition( int[] indexes , int i0 , int i1 , int axis , double split ) {
+		final double[] data = points.data;
+		int left = i0, right = i1-1;
+		while( left <= right ) {
+			if( data[indexes[left]*dimension+axis] <= split ) {
+				left++;
+			} else {
+				int tmp = indexes[left]; indexes[left] = indexes[right]; indexes[right] = tmp;
+				right--;
+			}
+		}
+		return left;
+	}
+
+	/**
+	 * Returns the axis with the n-th largest variance
+	 */
+	private static int selectAxis( double[] variance , int n ) {
+		int selected = -1;
+		double previous = Double.MAX_VALUE;
+		int previousIndex = -1;
+		for( int i = 0; i <= n; i++ ) {
+			double best = -1;
+			selected = -1;
+			for( int k = 0; k < variance.length; k++ ) {
+				double v = variance[k];
+				// order by variance then by index so that ties are handled correctly
+				boolean after = v < previous || (v == previous && k > previousIndex);
+				if( after && v > best ) {
+					best = v;
+					selected = k;
+				}
+			}
+			previous = best;
+			previousIndex = selected;
+		}
+		return selected;
+	}
+
+	@Override
+	public void setMaxChecks( int maxChecks ) {
+		this.maxChecks = maxChecks;
+	}
+
+	@Override
+	public int getMaxChecks() {
+		return maxChecks;
+	}
+
+	@Override
+	public Search createSearch() {
+		return new KdSearch();
+	}
+
+	/**
+	 * Node in a K-D tree.  If a leaf then it references a range of points in the index array
+	 */
+	private static class Node {
+		// axis and value the node is split along
+		int axis = -1;
+		double split;
+		// children.  left contains points with values less than or equal to the split
+		Node left, right;
+
+		// points inside of a leaf
+		int[] indexes;
+		int index0, index1;
+	}
+
+	/**
+	 * Best-bin-first search across all the trees
+	 */
+	private class KdSearch implements Search {
+		// nodes which have yet to be searched
+		SearchQueue<Node> queue = new SearchQueue<Node>();
+
+		// used to avoid examining the same point in multiple trees
+		int[] visited = new int[0];
+		int visitID = 0;
+
+		// best point found so far
+		int bestIndex;
+		double bestDistance;
+		int checks;
+
+		@Override
+		public int findNearest( double[] point , double maxDistanceSq ) {
+			return findNearest(point, 0, maxDistanceSq);
+		}
+
+		@Override
+		public int findNearest( double[] data , int offset , double maxDistanceSq ) {
+			bestIndex = -1;
+			bestDistance = maxDistanceSq < 0 ? Double.MAX_VALUE : maxDistanceSq;
+			checks = 0;
+			queue.reset();
+
+			if( points == null || points.size == 0 )
+				return -1;
+
+			if( visited.length < points.size || visitID == Integer.MAX_VALUE ) {
+				visited = new int[points.size];
+				visitID = 0;
+			}
+			visitID++;
+
+			// go down every tree once
+			for( int i = 0; i < roots.length; i++ ) {
+				searchNode(roots[i], data, offset);
+			}
+
+			// search the most promising branches until the maximum number of points have been checked
+			while( !queue.isEmpty() && (maxChecks <= 0 || checks < maxChecks) ) {
+				if( queue.peekScore() > bestDistance )
+					break;
+				searchNode(queue.pop(), data, offset);
+			}
+			queue.reset();
+
+			return bestIndex;
+		}
+
+		/**
+		 * Goes down to a leaf, adding branches which are not taken to the queue
+		 */
+		private void searchNode( Node node , double[] point , int offset ) {
+			while( node.indexes == null ) {
+				double diff = point[offset+node.axis] - node.split;
+				Node near, far;
+				if( diff <= 0 ) {
+					near = node.left; far = node.right;
+				} else {
+					near = node.right; far = node.left;
+				}
+
+				// distance to the splitting plane is a lower bound on the distance to points in the other branch
+				double bound = diff*diff;
+				if( bound <= bestDistance )
+					queue.push(bound, far);
+				node = near;
+			}
+
+			for( int i = node.index0; i < node.index1; i++ ) {
+				int index = node.indexes[i];
+				if( visited[index] == visitID )
+					continue;
+				visited[index] = visitID;
+				checks++;
+
+				double d = distanceSq(point, offset, points.data, index*dimension, dimension, bestDistance);
+				if( d <= bestDistance ) {
+					bestDistance = d;
+					bestIndex = index;
+				}
+			}
+		}
+
+		@Override
+		public double getDistanceSq() {
+			return bestDistance;
+		}
+	}
+
+	/**
+	 * Euclidean distance squared between two tuples which are inside of larger arrays.  Stops once the distance
+	 * is more than the threshold.
+	 */
+	static double distanceSq( double[] a , int indexA , double[] b , int indexB , int length , double threshold ) {
+		double total = 0;
+		for( int i = 0; i < length; i++ ) {
+			double d = a[indexA+i] - b[indexB+i];
+			total += d*d;
+			if( total > threshold )
+				return total;
+		}
+		return total;
+	}
+
+	/**
+	 * Euclidean distance squared.  Stops once the distance is more than the threshold.
+	 */
+	static double distanceSq( double[] a , double[] b , double threshold ) {
+		double total = 0;
+		for( int i = 0; i < a.length; i++ ) {
+			double d = a[i] - b[i];
+			total += d*d;
+			if( total > threshold )
+				return total;
+		}
+		return total;
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate;
+
+/**
+ * Priority queue of nodes which still need to be searched, sorted in increasing order of their score.
+ * Implemented as a binary heap stored in arrays.
+ *
+ * @author Peter Abeles
+ */
+class SearchQueue<N> {
+	double[] scores = new double[16];
+	Object[] nodes = new Object[16];
+	int size;
+
+	public void reset() {
+		for( int i = 0; i < size; i++ )
+			nodes[i] = null;
+		size = 0;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Score of the node at the top of the queue
+	 */
+	public double peekScore() {
+		return scores[0];
+	}
+
+	public void push( double score , N node ) {
+		if( size == scores.length ) {
+			double[] s = new double[size*2];
+			Object[] n = new Object[size*2];
+			System.arraycopy(scores,0,s,0,size);
+			System.arraycopy(nodes,0,n,0,size);
+			scores = s;
+			nodes = n;
+		}
+
+		// move it up the heap until it's parent is smaller
+		int index = size++;
+		while( index > 0 ) {
+			int parent = (index-1)/2;
+			if( scores[parent] <= score )
+				break;
+			scores[index] = scores[parent];
+			nodes[index] = nodes[parent];
+			index = parent;
+		}
+		scores[index] = score;
+		nodes[index] = node;
+	}
+
+	/**
+	 * Removes and returns the node with the smallest score
+	 */
+	@SuppressWarnings("unchecked")
+	public N pop() {
+		N top = (N)nodes[0];
+
+		size--;
+		double score = scores[size];
+		Object node = nodes[size];
+		nodes[size] = null;
+
+		// move the last element down the heap until it's children are larger
+		int index = 0;
+		while( true ) {
+			int child = 2*index+1;
+			if( child >= size )
+				break;
+			if( child+1 < size && scores[child+1] < scores[child] )
+				child++;
+			if( score <= scores[child] )
+				break;
+			scores[index] = scores[child];
+			nodes[index] = nodes[child];
+			index = child;
+		}
+		if( size > 0 ) {
+			scores[index] = score;
+			nodes[index] = node;
+		}
+
+		return top;
+	}
+}
@@ -22,8 +22,12 @@ import boofcv.alg.descriptor.UtilFeature;
 import boofcv.alg.transform.ii.DerivativeIntegralImage;
 import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.alg.transform.ii.IntegralKernel;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel2D_F64;
+import boofcv.struct.feature.PackedTupleArray_F64;
+import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.feature.SurfFeature;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.ImageSingleBand;
@@ -31,6 +35,11 @@ import boofcv.struct.sparse.GradientValue;
 import boofcv.struct.sparse.SparseGradientSafe;
 import boofcv.struct.sparse.SparseImageGradient;
 import boofcv.struct.sparse.SparseScaleGradient;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>
@@ -58,6 +67,13 @@ import boofcv.struct.sparse.SparseScaleGradient;
  * </p>
  *
  * <p>
+ * CONCURRENCY: A list of interest points can be described at once using
+ * {@link #describe(List, GrowQueue_F64, FastQueue)}.  If configured to be concurrent, see {@link #setConcurrent},
+ * and {@link BoofConcurrency} is active, then the points are split into blocks which are described by copies
+ * of this class in separate threads.
+ * </p>
+ *
+ * <p>
  * [1] Bay, Herbert and Ess, Andreas and Tuytelaars, Tinne and Van Gool, Luc, "Speeded-Up Robust Features (SURF)"
  * Comput. Vis. Image Underst., vol 110, issue 3, 2008
  * </p>
@@ -95,6 +111,18 @@ public class DescribePointSurf<II extends ImageSingleBand> {
 	protected IntegralKernel kerXX;
 	protected IntegralKernel kerYY;
 
+	// parameters used to create this descriptor.  Used when creating copies
+	protected double weightSigma;
+	protected boolean useHaar;
+	protected Class<II> inputType;
+
+	// should a list of points be described concurrently
+	private boolean concurrent = false;
+	// copies which are not being used by any thread
+	private final List<DescribePointSurf<II>> available = new ArrayList<DescribePointSurf<II>>();
+	// storage for a descriptor before it's copied into a packed array
+	private TupleDesc_F64 packedWork;
+
 	/**
 	 * Creates a SURF descriptor of arbitrary dimension by changing how the local region is sampled.
 	 *
@@ -111,6 +139,9 @@ public class DescribePointSurf<II extends ImageSingleBand> {
 		this.widthLargeGrid = widthLargeGrid;
 		this.widthSubRegion = widthSubRegion;
 		this.widthSample = widthSample;
+		this.weightSigma = weightSigma;
+		this.useHaar = useHaar;
+		this.inputType = inputType;
 
 		int radius = (widthLargeGrid*widthSubRegion)/2;
 		weight = FactoryKernelGaussian.gaussianWidth(weightSigma, radius * 2);
@@ -147,6 +178,139 @@ public class DescribePointSurf<II extends ImageSingleBand> {
 		gradient.setImage(ii);
 	}
 
+	/**
+	 * Creates a new instance of the descriptor with the same configuration.  The image is not copied.  Subclasses
+	 * must override this function and return an instance of their own class, otherwise they can't be concurrent.
+	 */
+	public DescribePointSurf<II> copy() {
+		return new DescribePointSurf<II>(widthLargeGrid,widthSubRegion,widthSample,weightSigma,useHaar,inputType);
+	}
+
+	/**
+	 * <p>
+	 * Computes the SURF descriptor for every interest point in the list.  If concurrent then the points are
+	 * split into blocks and each block is described in its own thread.  The output is identical to calling
+	 * {@link #describe(double, double, double, double, SurfFeature)} on each point.
+	 * </p>
+	 *
+	 * @param points Location and scale of interest points.
+	 * @param angles The angle each feature is pointing at in radians.
+	 * @param output Storage for the descriptors.  Reset and then grown to the number of points.
+	 */
+	public void describe( final List<ScalePoint> points , final GrowQueue_F64 angles ,
+						  final FastQueue<SurfFeature> output ) {
+		output.reset();
+		for( int i = 0; i < points.size(); i++ ) {
+			output.grow();
+		}
+
+		if( !concurrent || !BoofConcurrency.isActive() ) {
+			describe(points, angles, output, 0, points.size());
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(0, points.size(), new IntRangeTask() {
+			@Override
+			public void process(int i0, int i1) {
+				DescribePointSurf<II> alg = checkOut();
+				try {
+					alg.describe(points, angles, output, i0, i1);
+				} finally {
+					checkIn(alg);
+				}
+			}
+		});
+	}
+
+	private void describe( List<ScalePoint> points , GrowQueue_F64 angles , FastQueue<SurfFeature> output ,
+						   int i0 , int i1 ) {
+		for( int i = i0; i < i1; i++ ) {
+			ScalePoint p = points.get(i);
+			describe(p.x, p.y, angles.get(i), p.scale, output.get(i));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes the SURF descriptor for every interest point in the list and writes them into a packed array.
+	 * The same as {@link #describe(List, GrowQueue_F64, FastQueue)} but the laplacian sign is not computed.
+	 * </p>
+	 *
+	 * @param points Location and scale of interest points.
+	 * @param angles The angle each feature is pointing at in radians.
+	 * @param output Storage for the descriptors.  Resized to the number of points.
+	 */
+	public void describe( final List<ScalePoint> points , final GrowQueue_F64 angles ,
+						  final PackedTupleArray_F64 output ) {
+		if( output.dof != featureDOF )
+			throw new IllegalArgumentException("Output must have a DOF of "+featureDOF);
+		output.resize(points.size());
+
+		if( !concurrent || !BoofConcurrency.isActive() ) {
+			describe(points, angles, output, 0, points.size());
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(0, points.size(), new IntRangeTask() {
+			@Override
+			public void process(int i0, int i1) {
+				DescribePointSurf<II> alg = checkOut();
+				try {
+					alg.describe(points, angles, output, i0, i1);
+				} finally {
+					checkIn(alg);
+				}
+			}
+		});
+	}
+
+	private void describe( List<ScalePoint> points , GrowQueue_F64 angles , PackedTupleArray_F64 output ,
+						   int i0 , int i1 ) {
+		if( packedWork == null )
+			packedWork = new TupleDesc_F64(featureDOF);
+
+		for( int i = i0; i < i1; i++ ) {
+			ScalePoint p = points.get(i);
+			describe(p.x, p.y, angles.get(i), p.scale, packedWork);
+			UtilFeature.normalizeL2(packedWork);
+			output.set(i, packedWork);
+		}
+	}
+
+	/**
+	 * Returns a copy which isn't being used by another thread, creating a new one if needed.
+	 */
+	private DescribePointSurf<II> checkOut() {
+		DescribePointSurf<II> alg;
+		synchronized( available ) {
+			alg = available.isEmpty() ? copy() : available.remove(available.size()-1);
+		}
+		alg.setImage(ii);
+		return alg;
+	}
+
+	private void checkIn( DescribePointSurf<II> alg ) {
+		synchronized( available ) {
+			available.add(alg);
+		}
+	}
+
+	/**
+	 * If true then {@link #describe(List, GrowQueue_F64, FastQueue)} and
+	 * {@link #describe(List, GrowQueue_F64, PackedTupleArray_F64)} will describe points concurrently when
+	 * {@link BoofConcurrency} is active.  Points are described by copies of this class, so it can only be
+	 * turned on if {@link #copy()} returns an instance of the same class.
+	 */
+	public void setConcurrent( boolean concurrent ) {
+		if( concurrent && copy().getClass() != getClass() )
+			throw new IllegalArgumentException(getClass().getSimpleName()+" must override copy() to be concurrent");
+		this.concurrent = concurrent;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
 	/**
 	 * <p>
 	 * Computes the SURF descriptor for the specified interest point.  If the feature
@@ -50,6 +50,10 @@ public class DescribePointSurfMod<II extends ImageSingleBand> extends DescribePo
 
 	private double samplesX[];
 	private double samplesY[];
+
+	// sigmas used to create the weights.  Used when creating copies
+	private double sigmaLargeGrid;
+	private double sigmaSubRegion;
 	
 	/**
 	 * Creates a SURF descriptor of arbitrary dimension by changing how the local region is sampled.
@@ -70,6 +74,8 @@ public class DescribePointSurfMod<II extends ImageSingleBand> extends DescribePo
 		super(widthLargeGrid, widthSubRegion, widthSample, 1, useHaar,imageType);
 
 		this.overLap = overLap;
+		this.sigmaLargeGrid = sigmaLargeGrid;
+		this.sigmaSubRegion = sigmaSubRegion;
 
 		weightGrid = FactoryKernelGaussian.gaussianWidth(sigmaLargeGrid, widthLargeGrid);
 		weightSub = FactoryKernelGaussian.gaussianWidth(sigmaSubRegion, widthSubRegion + 2 * overLap);
@@ -98,6 +104,12 @@ public class DescribePointSurfMod<II extends ImageSingleBand> extends DescribePo
 		this(4,5,3,2, 2.5 , 2.5 , false ,imageType);
 	}
 
+	@Override
+	public DescribePointSurfMod<II> copy() {
+		return new DescribePointSurfMod<II>(widthLargeGrid,widthSubRegion,widthSample,overLap,
+				sigmaLargeGrid,sigmaSubRegion,useHaar,inputType);
+	}
+
 	/**
 	 * <p>
 	 * An improved SURF descriptor as presented in CenSurE paper.   The sub-regions now overlap and more
@@ -19,12 +19,22 @@
 package boofcv.alg.feature.detect.intensity;
 
 import boofcv.alg.feature.detect.intensity.impl.ImplIntegralImageFeatureIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSingleBand;
 
 
 /**
+ * <p>
  * Routines for computing the intensity of the fast hessian features in an image.
+ * </p>
+ *
+ * <p>
+ * If {@link BoofConcurrency} is active the inner image is split into strips of rows which are processed
+ * concurrently.  Each strip only reads from the shared integral image and produces identical results.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -45,7 +55,7 @@ public class IntegralImageFeatureIntensity {
 //		InputSanityCheck.checkSameShape(integral,intensity);
 
 		ImplIntegralImageFeatureIntensity.hessianBorder(integral,skip,size,intensity);
-		ImplIntegralImageFeatureIntensity.hessianInner(integral,skip,size,intensity);
+		hessianInner(integral,skip,size,intensity);
 	}
 
 	/**
@@ -63,6 +73,41 @@ public class IntegralImageFeatureIntensity {
 //		InputSanityCheck.checkSameShape(integral,intensity);
 
 		ImplIntegralImageFeatureIntensity.hessianBorder(integral,skip,size,intensity);
-		ImplIntegralImageFeatureIntensity.hessianInner(integral,skip,size,intensity);
+		hessianInner(integral,skip,size,intensity);
+	}
+
+	/**
+	 * Computes the inner portion of the intensity image.  When concurrent each strip of rows is expanded by
+	 * the border so that the sub-images of the strip have the same inner region as the strip itself.  The
+	 * integral image is cropped so that its first row lines up with the first row in the intensity strip.
+	 */
+	private static void hessianInner( final ImageSingleBand integral, final int skip , final int size ,
+									  final ImageFloat32 intensity ) {
+		if( !BoofConcurrency.isActive(intensity) ) {
+			hessianInnerStrip(integral, skip, size, intensity);
+			return;
+		}
+
+		int radiusFeature = size/2;
+		int border = (radiusFeature + 1 + (skip - (radiusFeature + 1)%skip))/skip;
+
+		BoofConcurrency.loopRows(intensity, border, border, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int yy1 = Math.min(integral.height, y1*skip);
+				ImageSingleBand subIntegral = integral.subimage(0, y0*skip, integral.width, yy1, null);
+				ImageFloat32 subIntensity = intensity.subimage(0, y0, intensity.width, y1, null);
+
+				hessianInnerStrip(subIntegral, skip, size, subIntensity);
+			}
+		});
+	}
+
+	private static void hessianInnerStrip( ImageSingleBand integral, int skip , int size ,
+										   ImageFloat32 intensity ) {
+		if( integral instanceof ImageFloat32 )
+			ImplIntegralImageFeatureIntensity.hessianInner((ImageFloat32)integral,skip,size,intensity);
+		else
+			ImplIntegralImageFeatureIntensity.hessianInner((ImageSInt32)integral,skip,size,intensity);
 	}
 }
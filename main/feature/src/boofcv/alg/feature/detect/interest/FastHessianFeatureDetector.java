@@ -18,11 +18,15 @@
 
 package boofcv.alg.feature.detect.interest;
 
+import boofcv.abst.feature.detect.extract.ConfigExtract;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
 import boofcv.alg.feature.detect.intensity.GIntegralImageFeatureIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.core.image.border.FactoryImageBorderAlgs;
 import boofcv.core.image.border.ImageBorder_F32;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
@@ -30,6 +34,7 @@ import boofcv.struct.image.ImageSingleBand;
 import georegression.struct.point.Point2D_I16;
 import org.ddogleg.struct.FastQueue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -74,6 +79,14 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * CONCURRENCY: The feature intensity of each size is computed in strips of rows when {@link BoofConcurrency}
+ * is active.  If configured to be concurrent, see {@link #setConcurrent}, then the intensity of every size in
+ * an octave is saved and each size is searched for features as a separate job.  Each job needs its own
+ * extractor, which is only possible if the detector was created from a {@link ConfigExtract}.  Features are
+ * added in the same order as when processed in a single thread, producing identical output.
+ * </p>
+ *
+ * <p>
  * [1] Herbert Bay, Andreas Ess, Tinne Tuytelaars, and Luc Van Gool, "Speeded-Up Robust Features (SURF)",
  * CVIU June, 2008, Volume 110, Issue 3, pages 346-359
  * </p>
@@ -84,17 +97,23 @@ import java.util.List;
  */
 public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 
-	// finds features from 2D intensity image
-	private NonMaxSuppression extractor;
-	// sorts feature by their intensity
-	private SelectNBestFeatures sortBest;
+	// Searches a single size for features.  The first one is always used when processing in a single thread
+	private LevelDetector primary;
+	// Used to create additional extractors when processing sizes concurrently.  null if not available
+	private ConfigExtract configExtract;
 	// the maximum number of returned feature per scale
 	private int maxFeaturesPerScale;
 
 	// local sub-space
-	private ImageFloat32 intensity[];
+	private ImageFloat32 intensity[] = new ImageFloat32[0];
 	private int spaceIndex = 0;
-	private QueueCorner foundFeatures = new QueueCorner(100);
+
+	// should sizes in an octave be searched concurrently
+	private boolean concurrent = false;
+	// Detectors which are not being used by any thread
+	private final List<LevelDetector> available = new ArrayList<LevelDetector>();
+	// features found in each size when sizes are processed concurrently
+	private List<FastQueue<ScalePoint>> levelPoints = new ArrayList<FastQueue<ScalePoint>>();
 
 	// List of found feature points
 	private FastQueue<ScalePoint> foundPoints = new FastQueue<ScalePoint>(10,ScalePoint.class,true);
@@ -133,16 +152,32 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 									  int initialSampleRate, int initialSize,
 									  int numberScalesPerOctave,
 									  int numberOfOctaves) {
-		this.extractor = extractor;
 		if( maxFeaturesPerScale > 0 ) {
 			this.maxFeaturesPerScale = maxFeaturesPerScale;
-			sortBest = new SelectNBestFeatures(maxFeaturesPerScale);
 		}
 		this.initialSampleRate = initialSampleRate;
 		this.initialSize = initialSize;
 		this.numberOfOctaves = numberOfOctaves;
 
 		sizes = new int[ numberScalesPerOctave ];
+
+		primary = new LevelDetector(extractor);
+	}
+
+	/**
+	 * Defines the feature detector so that it can search multiple feature sizes concurrently.  See
+	 * {@link #FastHessianFeatureDetector(NonMaxSuppression, int, int, int, int, int)} for a description
+	 * of the other parameters.
+	 *
+	 * @param configExtract Configuration for the extractor which finds local maximums in each feature size.
+	 */
+	public FastHessianFeatureDetector(ConfigExtract configExtract, int maxFeaturesPerScale,
+									  int initialSampleRate, int initialSize,
+									  int numberScalesPerOctave,
+									  int numberOfOctaves) {
+		this(FactoryFeatureExtractor.nonmax(configExtract), maxFeaturesPerScale, initialSampleRate, initialSize,
+				numberScalesPerOctave, numberOfOctaves);
+		this.configExtract = configExtract;
 	}
 
 	/**
@@ -151,8 +186,12 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 	 * @param integral Image transformed into an integral image.
 	 */
 	public void detect( II integral ) {
-		if( intensity == null ) {
-			intensity = new ImageFloat32[3];
+		boolean processConcurrent = concurrent && configExtract != null && BoofConcurrency.isActive();
+
+		// when concurrent the intensity of every size in an octave is saved
+		int numIntensity = processConcurrent ? sizes.length : 3;
+		if( intensity.length != numIntensity ) {
+			intensity = new ImageFloat32[numIntensity];
 			for( int i = 0; i < intensity.length; i++ ) {
 				intensity[i] = new ImageFloat32(integral.width,integral.height);
 			}
@@ -175,7 +214,10 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 			if( maxSize > integral.width || maxSize > integral.height )
 				break;
 			// detect features inside of this octave
-			detectOctave(integral,skip,sizes);
+			if( processConcurrent )
+				detectOctaveConcurrent(integral,skip,sizes);
+			else
+				detectOctave(integral,skip,sizes);
 			skip += skip;
 			octaveSize += sizeStep;
 			sizeStep += sizeStep;
@@ -212,84 +254,182 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 
 			// find maximum in scale space
 			if( i >= 2 ) {
-				findLocalScaleSpaceMax(featureSize,i-1,skip);
+				int index0 = spaceIndex;
+				int index1 = (spaceIndex + 1) % 3;
+				int index2 = (spaceIndex + 2) % 3;
+
+				primary.findLocalScaleSpaceMax(intensity[index0],intensity[index1],intensity[index2],
+						featureSize,i-1,skip,foundPoints);
 			}
 		}
 	}
 
 	/**
-	 * Looks for features which are local maximums in the image and scale-space.
+	 * Same as {@link #detectOctave} but the intensity of every feature size is saved and each size which
+	 * has a size above and below it is searched for features as a separate job.
 	 *
-	 * @param size Size of features in different scale-spaces.
-	 * @param level Which level in the scale-space
-	 * @param skip How many pixels are skipped over.
+	 * @param integral Integral image.
+	 * @param skip Pixel skip factor
+	 * @param featureSize which feature sizes should be detected.
 	 */
-	private void findLocalScaleSpaceMax(int []size, int level, int skip) {
-		int index0 = spaceIndex;
-		int index1 = (spaceIndex + 1) % 3;
-		int index2 = (spaceIndex + 2) % 3;
-
-		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index0], 0);
-		ImageFloat32 inten1 = intensity[index1];
-		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index2], 0);
-
-		// find local maximums in image 2D space.  Borders need to be ignored since
-		// false positives are found around them as an artifact of pixels outside being
-		// treated as being zero.
-		foundFeatures.reset();
-		extractor.setIgnoreBorder(size[level] / (2 * skip));
-		extractor.process(intensity[index1],null,null,null,foundFeatures);
-
-		// Can't consider feature which are right up against the border since they might not be a true local
-		// maximum when you consider the features on the other side of the ignore border
-		int ignoreRadius = extractor.getIgnoreBorder() + extractor.getSearchRadius();
-		int ignoreWidth = intensity[index1].width-ignoreRadius;
-		int ignoreHeight = intensity[index1].height-ignoreRadius;
-
-		// number of features which can be added
-		int numberRemaining;
-
-		// if configured to do so, only select the features with the highest intensity
-		QueueCorner features;
-		if( sortBest != null ) {
-			sortBest.process(intensity[index1],foundFeatures,true);
-			features = sortBest.getBestCorners();
-			numberRemaining = maxFeaturesPerScale;
-		} else {
-			features = foundFeatures;
-			numberRemaining = Integer.MAX_VALUE;
+	protected void detectOctaveConcurrent( II integral , final int skip , final int ...featureSize ) {
+
+		int w = integral.width/skip;
+		int h = integral.height/skip;
+
+		// compute feature intensity in each level.  Each one is split into strips internally
+		for( int i = 0; i < featureSize.length; i++ ) {
+			intensity[i].reshape(w,h);
+			GIntegralImageFeatureIntensity.hessian(integral,skip,featureSize[i],intensity[i]);
 		}
 
-		int levelSize = size[level];
-		int sizeStep = levelSize-size[level-1];
+		int numLevels = featureSize.length-2;
+		while( levelPoints.size() < numLevels )
+			levelPoints.add(new FastQueue<ScalePoint>(10,ScalePoint.class,true));
+
+		BoofConcurrency.loopFor(1, featureSize.length-1, new IntRangeTask() {
+			@Override
+			public void process(int level, int level1) {
+				FastQueue<ScalePoint> found = levelPoints.get(level-1);
+				found.reset();
+
+				LevelDetector detector = checkOut();
+				try {
+					detector.findLocalScaleSpaceMax(intensity[level-1],intensity[level],intensity[level+1],
+							featureSize,level,skip,found);
+				} finally {
+					checkIn(detector);
+				}
+			}
+		});
 
-		// see if these local maximums are also a maximum in scale-space
-		for( int i = 0; i < features.size && numberRemaining > 0; i++ ) {
-			Point2D_I16 f = features.get(i);
+		for( int level = 0; level < numLevels; level++ ) {
+			FastQueue<ScalePoint> found = levelPoints.get(level);
+			for( int i = 0; i < found.size; i++ ) {
+				ScalePoint a = found.get(i);
+				foundPoints.grow().set(a.x, a.y, a.scale);
+			}
+		}
+	}
 
-			// avoid false positives.  see above comment
-			if( f.x < ignoreRadius || f.x >= ignoreWidth || f.y < ignoreRadius || f.y >= ignoreHeight )
-				continue;
+	/**
+	 * Returns a detector which isn't being used by another thread, creating a new one if needed.
+	 */
+	private LevelDetector checkOut() {
+		synchronized( available ) {
+			if( available.isEmpty() ) {
+				NonMaxSuppression template = primary.extractor;
+				NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(configExtract);
 
-			float val = inten1.get(f.x,f.y);
+				// use the current settings in case they were modified after construction
+				extractor.setSearchRadius(template.getSearchRadius());
+				extractor.setThresholdMaximum(template.getThresholdMaximum());
 
-			// see if it is a max in scale-space too
-			if( checkMax(inten0,val,f.x,f.y) && checkMax(inten2,val,f.x,f.y) ) {
+				return new LevelDetector(extractor);
+			}
+			return available.remove(available.size()-1);
+		}
+	}
 
-				// find the feature's location to sub-pixel accuracy using a second order polynomial
-				// NOTE: In the original paper this was done using a quadratic.  See comments above.
-				// NOTE: Using a 2D polynomial for x and y might produce better results.
-				float peakX = polyPeak(inten1.get(f.x-1,f.y),inten1.get(f.x,f.y),inten1.get(f.x+1,f.y));
-				float peakY = polyPeak(inten1.get(f.x,f.y-1),inten1.get(f.x,f.y),inten1.get(f.x,f.y+1));
-				float peakS = polyPeak(inten0.get(f.x,f.y),inten1.get(f.x,f.y),inten2.get(f.x,f.y));
+	private void checkIn( LevelDetector detector ) {
+		synchronized( available ) {
+			available.add(detector);
+		}
+	}
 
-				float interpX = (f.x+peakX)*skip;
-				float interpY = (f.y+peakY)*skip;
-				float interpS = levelSize+peakS*sizeStep;
+	/**
+	 * Searches for features inside a single feature size.  Contains all the data structures which are
+	 * modified while searching, allowing different sizes to be searched at the same time.
+	 */
+	private class LevelDetector {
+		// finds features from 2D intensity image
+		NonMaxSuppression extractor;
+		// sorts feature by their intensity
+		SelectNBestFeatures sortBest;
+		// storage for local maximums in the image
+		QueueCorner foundFeatures = new QueueCorner(100);
+
+		LevelDetector( NonMaxSuppression extractor ) {
+			this.extractor = extractor;
+			if( maxFeaturesPerScale > 0 )
+				sortBest = new SelectNBestFeatures(maxFeaturesPerScale);
+		}
 
-				double scale =  1.2*interpS/9.0;
-				foundPoints.grow().set(interpX,interpY,scale);
-				numberRemaining--;
+		/**
+		 * Looks for features which are local maximums in the image and scale-space.
+		 *
+		 * @param intensity0 Feature intensity in the size below
+		 * @param intensity1 Feature intensity in the size being searched
+		 * @param intensity2 Feature intensity in the size above
+		 * @param size Size of features in different scale-spaces.
+		 * @param level Which level in the scale-space
+		 * @param skip How many pixels are skipped over.
+		 * @param foundPoints Storage for found features
+		 */
+		void findLocalScaleSpaceMax( ImageFloat32 intensity0 , ImageFloat32 intensity1 , ImageFloat32 intensity2 ,
+									 int []size, int level, int skip , FastQueue<ScalePoint> foundPoints ) {
+			ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity0, 0);
+			ImageFloat32 inten1 = intensity1;
+			ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity2, 0);
+
+			// find local maximums in image 2D space.  Borders need to be ignored since
+			// false positives are found around them as an artifact of pixels outside being
+			// treated as being zero.
+			foundFeatures.reset();
+			extractor.setIgnoreBorder(size[level] / (2 * skip));
+			extractor.process(intensity1,null,null,null,foundFeatures);
+
+			// Can't consider feature which are right up against the border since they might not be a true local
+			// maximum when you consider the features on the other side of the ignore border
+			int ignoreRadius = extractor.getIgnoreBorder() + extractor.getSearchRadius();
+			int ignoreWidth = intensity1.width-ignoreRadius;
+			int ignoreHeight = intensity1.height-ignoreRadius;
+
+			// number of features which can be added
+			int numberRemaining;
+
+			// if configured to do so, only select the features with the highest intensity
+			QueueCorner features;
+			if( sortBest != null ) {
+				sortBest.process(intensity1,foundFeatures,true);
+				features = sortBest.getBestCorners();
+				numberRemaining = maxFeaturesPerScale;
+			} else {
+				features = foundFeatures;
+				numberRemaining = Integer.MAX_VALUE;
+			}
+
+			int levelSize = size[level];
+			int sizeStep = levelSize-size[level-1];
+
+			// see if these local maximums are also a maximum in scale-space
+			for( int i = 0; i < features.size && numberRemaining > 0; i++ ) {
+				Point2D_I16 f = features.get(i);
+
+				// avoid false positives.  see above comment
+				if( f.x < ignoreRadius || f.x >= ignoreWidth || f.y < ignoreRadius || f.y >= ignoreHeight )
+					continue;
+
+				float val = inten1.get(f.x,f.y);
+
+				// see if it is a max in scale-space too
+				if( checkMax(inten0,val,f.x,f.y) && checkMax(inten2,val,f.x,f.y) ) {
+
+					// find the feature's location to sub-pixel accuracy using a second order polynomial
+					// NOTE: In the original paper this was done using a quadratic.  See comments above.
+					// NOTE: Using a 2D polynomial for x and y might produce better results.
+					float peakX = polyPeak(inten1.get(f.x-1,f.y),inten1.get(f.x,f.y),inten1.get(f.x+1,f.y));
+					float peakY = polyPeak(inten1.get(f.x,f.y-1),inten1.get(f.x,f.y),inten1.get(f.x,f.y+1));
+					float peakS = polyPeak(inten0.get(f.x,f.y),inten1.get(f.x,f.y),inten2.get(f.x,f.y));
+
+					float interpX = (f.x+peakX)*skip;
+					float interpY = (f.y+peakY)*skip;
+					float interpS = levelSize+peakS*sizeStep;
+
+					double scale =  1.2*interpS/9.0;
+					foundPoints.grow().set(interpX,interpY,scale);
+					numberRemaining--;
+				}
 			}
 		}
 	}
@@ -351,6 +491,18 @@ public class FastHessianFeatureDetector<II extends ImageSingleBand> {
 		return foundPoints.toList();
 	}
 
+	/**
+	 * If true then feature sizes in an octave will be searched concurrently when {@link BoofConcurrency} is
+	 * active.  Only has an effect if the detector was created from a {@link ConfigExtract}.
+	 */
+	public void setConcurrent( boolean concurrent ) {
+		this.concurrent = concurrent;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
 	/**
 	 * Returns the width of the smallest feature it can detect
 	 */
@@ -18,12 +18,16 @@
 
 package boofcv.alg.feature.detect.interest;
 
+import boofcv.abst.feature.detect.extract.ConfigExtract;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
 import boofcv.abst.filter.convolve.ImageConvolveSparse;
 import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
 import boofcv.alg.filter.kernel.KernelMath;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.filter.convolve.FactoryConvolveSparse;
 import boofcv.struct.QueueCorner;
 import boofcv.struct.convolve.Kernel2D_F32;
@@ -32,6 +36,9 @@ import boofcv.struct.image.ImageFloat32;
 import georegression.struct.point.Point2D_I16;
 import org.ddogleg.struct.FastQueue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static boofcv.alg.feature.detect.interest.FastHessianFeatureDetector.polyPeak;
 
 /**
@@ -53,6 +60,13 @@ import static boofcv.alg.feature.detect.interest.FastHessianFeatureDetector.poly
  * </p>
  *
  * <p>
+ * CONCURRENCY: If the scale-space is configured to be concurrent, see {@link SiftImageScaleSpace#setConcurrent},
+ * then each DOG layer is searched for features as a separate job.  Each job needs its own extractor, which is
+ * only possible if the detector was created from a {@link ConfigExtract}.  Features found in each layer are
+ * added in the same order as when processed in a single thread, producing identical output.
+ * </p>
+ *
+ * <p>
  * [1] Lowe, D. "Distinctive image features from scale-invariant keypoints".
  * International Journal of Computer Vision, 60, 2 (2004), pp.91--110.
  * </p>
@@ -64,35 +78,28 @@ public class SiftDetector {
 	// Contains the image's  scale space representation
 	protected SiftImageScaleSpace ss;
 
-	// finds features from 2D intensity image
-	private NonMaxSuppression extractor;
-	// helps select features with the largest intensity
-	private SelectNBestFeatures sortBest;
+	// Used to create additional extractors when processing layers concurrently.  null if not available
+	private ConfigExtract configExtract;
 
 	// target number of features for the extractor
 	private int maxFeatures;
-	// storage for found features
-	private QueueCorner foundPositive = new QueueCorner(10);
-	private QueueCorner foundNegative = new QueueCorner(10);
 
 	// List of found feature points
 	private FastQueue<ScalePoint> foundPoints = new FastQueue<ScalePoint>(10,ScalePoint.class,true);
 
-	// correcting for how images are subsampled
-	private double octavePixelOffset;
-	// Amount of blur applied to the current image being considered
-	private double currentSigma;
-	// Pixel scale factor for the current image being considered
-	private double currentPixelScale;
-
-	// Computes image derivatives. used in edge rejection
-	private ImageConvolveSparse<ImageFloat32,?> derivXX;
-	private ImageConvolveSparse<ImageFloat32,?> derivXY;
-	private ImageConvolveSparse<ImageFloat32,?> derivYY;
-
 	// Threshold for filtering out edges.
 	private double edgeThreshold;
 
+	// correcting for how images are subsampled in each octave
+	private double octaveOffset[] = new double[0];
+
+	// Searches a single layer for features.  The first one is always used when processing in a single thread
+	private LayerDetector primary;
+	// Detectors which are not being used by any thread
+	private final List<LayerDetector> available = new ArrayList<LayerDetector>();
+	// features found in each layer when layers are processed concurrently
+	private List<FastQueue<ScalePoint>> layerPoints = new ArrayList<FastQueue<ScalePoint>>();
+
 	/**
 	 * Configures SIFT
 	 *
@@ -106,159 +113,114 @@ public class SiftDetector {
 		if( !extractor.canDetectMaximums() || !extractor.canDetectMinimums() )
 			throw new IllegalArgumentException("The extractor must be able to detect maximums and minimums");
 
-		this.extractor = extractor;
 		if( maxFeaturesPerScale > 0 ) {
 			// Each scale has detection run twice on it
 			this.maxFeatures = maxFeaturesPerScale;
-			sortBest = new SelectNBestFeatures(maxFeatures);
 		}
 
-		createDerivatives();
-
 		this.edgeThreshold = edgeThreshold;
+
+		primary = new LayerDetector(extractor);
 	}
 
 	/**
-	 * Define sparse image derivative operators.
+	 * Configures SIFT so that it can search multiple layers concurrently
+	 *
+	 * @param configExtract Configuration for the extractor which finds local maximums in each scale.
+	 * @param maxFeaturesPerScale Max detected features per scale.  Disable with < 0.  Try 500
+	 * @param edgeThreshold Threshold for edge filtering.  Disable with a value <= 0.  Try 5
 	 */
-	private void createDerivatives() {
-		// TODO optimize usign a sparse kernel?
-		Kernel2D_F32 kerX = new Kernel2D_F32(3,new float[]{
-				 0,0,0,
-				-1,0,1,
-				 0,0,0});
-		Kernel2D_F32 kerY = new Kernel2D_F32(3,new float[]{
-				0,-1,0,
-				0, 0,0,
-				0, 1,0});
-		Kernel2D_F32 kerXX = KernelMath.convolve2D(kerX, kerX);
-		Kernel2D_F32 kerXY = KernelMath.convolve2D(kerX,kerY);
-		Kernel2D_F32 kerYY = KernelMath.convolve2D(kerY,kerY);
-
-		derivXX = FactoryConvolveSparse.create(ImageFloat32.class,kerXX);
-		derivXY = FactoryConvolveSparse.create(ImageFloat32.class,kerXY);
-		derivYY = FactoryConvolveSparse.create(ImageFloat32.class,kerYY);
-
-		// treat pixels outside the image border as having a value of zero
-		ImageBorder<ImageFloat32> border = FactoryImageBorder.singleValue(ImageFloat32.class, 0);
-
-		derivXX.setImageBorder(border);
-		derivXY.setImageBorder(border);
-		derivYY.setImageBorder(border);
+	public SiftDetector(ConfigExtract configExtract,
+						int maxFeaturesPerScale,
+						double edgeThreshold ) {
+		this(FactoryFeatureExtractor.nonmax(configExtract), maxFeaturesPerScale, edgeThreshold);
+		this.configExtract = configExtract;
 	}
 
 	public void process( SiftImageScaleSpace ss ) {
 		// set up data structures
 		foundPoints.reset();
 		this.ss = ss;
-		octavePixelOffset = 0;
 
-		// extract features in each octave
-		for( int octave = 0; octave < ss.actualOctaves; octave++ ) {
-			// start processing at the second DOG since it needs the scales above and below
-			int indexDOG = octave*(ss.numScales-1)+1;
-			int indexScale = octave*ss.numScales+1;
+		if( octaveOffset.length < ss.actualOctaves )
+			octaveOffset = new double[ ss.actualOctaves ];
 
-			currentPixelScale = ss.pixelScale[octave];
-
-			ss.storage.reshape( ss.scale[indexScale].width , ss.scale[indexScale].height );
-
-			for( int scale = 1; scale < ss.numScales-2; scale++ , indexScale++,indexDOG++ ) {
-
-				// use the scale-space image as input for derivatives
-				derivXX.setImage(ss.scale[indexScale]);
-				derivXY.setImage(ss.scale[indexScale]);
-				derivYY.setImage(ss.scale[indexScale]);
+		// when the images are sub-sampled between octaves the sampling starts at pixel 1 in (x,y)
+		double offset = 0;
+		for( int octave = 0; octave < ss.actualOctaves; octave++ ) {
+			octaveOffset[octave] = offset;
+			offset += ss.pixelScale[octave];
+		}
 
-				// the current scale factor being considered
-				currentSigma = ss.computeScaleSigma(octave,scale);
+		// each octave has features detected in every scale which has a scale above and below it
+		int numLayers = ss.actualOctaves*Math.max(0,ss.numScales-3);
 
-				detectFeatures(indexDOG);
+		if( ss.isConcurrent() && configExtract != null && BoofConcurrency.isActive() ) {
+			processConcurrent(numLayers);
+		} else {
+			for( int layer = 0; layer < numLayers; layer++ ) {
+				primary.detectFeatures(layer, foundPoints);
 			}
-
-			// when the images are sub-sampled between octaves the sampling starts at pixel 1 in (x,y)
-			octavePixelOffset += currentPixelScale;
 		}
 	}
 
 	/**
-	 * Detect features inside the specified scale.
+	 * Searches each layer for features in a separate job.  The features found in each layer are then added
+	 * in order to the list of found features.
 	 */
-	private void detectFeatures( int indexDOG ) {
-		// set up data structures
-		foundNegative.reset();
-		foundPositive.reset();
-
-		// Local scale-space neighborhood
-		ImageFloat32 scale0 = ss.dog[indexDOG-1];
-		ImageFloat32 scale1 = ss.dog[indexDOG];
-		ImageFloat32 scale2 = ss.dog[indexDOG+1];
-
-		extractor.process(scale1,null,null,foundNegative,foundPositive);
-
-		addFoundFeatures(scale0,scale1,scale2,foundNegative,false);
-		addFoundFeatures(scale0,scale1,scale2,foundPositive,true);
-	}
-
-	private void addFoundFeatures( ImageFloat32 scale0, ImageFloat32 scale1, ImageFloat32 scale2,
-								   QueueCorner found , boolean positive ) {
-
-		// if configured to do so, only select the features with the highest intensity
-		QueueCorner features;
-		if( sortBest != null ) {
-			sortBest.process(scale1,found,positive);
-			features = sortBest.getBestCorners();
-		} else {
-			features = found;
-		}
-
-		float signAdj = positive ? 1 : -1;
-
-		// precompute border for insignificant speed boost
-		int ignoreRadius = extractor.getIgnoreBorder();
-		int borderX = scale1.width-ignoreRadius-1;
-		int borderY = scale1.height-ignoreRadius-1;
-
-		// see if they are a local max in scale space
-		for( int i = 0; i < features.size; i++ ) {
-			Point2D_I16 p = features.data[i];
-
-			// discard points up against the image border since how it should be interpolated is undefined.  plus
-			// this makes it easier to write faster code
-			if( p.x <= ignoreRadius || p.y <= ignoreRadius || p.x >= borderX || p.y >= borderY )
-				continue;
+	private void processConcurrent( int numLayers ) {
+		while( layerPoints.size() < numLayers )
+			layerPoints.add(new FastQueue<ScalePoint>(10,ScalePoint.class,true));
+
+		BoofConcurrency.loopFor(0, numLayers, new IntRangeTask() {
+			@Override
+			public void process(int layer, int layer1) {
+				FastQueue<ScalePoint> found = layerPoints.get(layer);
+				found.reset();
+
+				LayerDetector detector = checkOut();
+				try {
+					detector.detectFeatures(layer, found);
+				} finally {
+					checkIn(detector);
+				}
+			}
+		});
 
-			float value = scale1.unsafe_get(p.x, p.y);
-			if( isScaleSpaceMax(scale0,scale2,p.x,p.y,value,signAdj)
-					&& !isEdge(p.x,p.y) ) {
-				addPoint(scale0,scale1,scale2,p.x,p.y,value,signAdj,positive);
+		for( int layer = 0; layer < numLayers; layer++ ) {
+			FastQueue<ScalePoint> found = layerPoints.get(layer);
+			for( int i = 0; i < found.size; i++ ) {
+				ScalePoint a = found.get(i);
+				foundPoints.grow().set(a.x, a.y, a.scale, a.white);
 			}
 		}
 	}
 
 	/**
-	 * Adds the detected feature to the list.  Interpolates the feature's location in the image and scale
-	 * using 2nd order polynomial instead.  This is a change from the paper.
+	 * Returns a detector which isn't being used by another thread, creating a new one if needed.
 	 */
-	private void addPoint(ImageFloat32 scale0 , ImageFloat32 scale1, ImageFloat32 scale2,
-						  short x, short y, float value, float signAdj, boolean white ) {
-		value *= signAdj;
-		float x0 =  scale1.unsafe_get(x - 1, y)*signAdj;
-		float x2 =  scale1.unsafe_get(x + 1, y)*signAdj;
-		float y0 =  scale1.unsafe_get(x , y - 1)*signAdj;
-		float y2 =  scale1.unsafe_get(x , y + 1)*signAdj;
-
-		float s0 =  scale0.unsafe_get(x , y )*signAdj;
-		float s2 =  scale2.unsafe_get(x , y )*signAdj;
-
-		ScalePoint p = foundPoints.grow();
-
-		// when the image is down sampled it is sampled at pixel + 1
-		p.x = currentPixelScale*(x + polyPeak(x0, value, x2)) + octavePixelOffset;
-		p.y = currentPixelScale*(y + polyPeak(y0, value, y2)) + octavePixelOffset;
+	private LayerDetector checkOut() {
+		synchronized( available ) {
+			if( available.isEmpty() ) {
+				NonMaxSuppression template = primary.extractor;
+				NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(configExtract);
+
+				// use the current settings in case they were modified after construction
+				extractor.setSearchRadius(template.getSearchRadius());
+				extractor.setThresholdMinimum(template.getThresholdMinimum());
+				extractor.setThresholdMaximum(template.getThresholdMaximum());
+				extractor.setIgnoreBorder(template.getIgnoreBorder());
+
+				return new LayerDetector(extractor);
+			}
+			return available.remove(available.size()-1);
+		}
+	}
 
-		p.scale = currentSigma + currentPixelScale*ss.sigma*polyPeak(s0, value, s2);
-		p.white = white;
+	private void checkIn( LayerDetector detector ) {
+		synchronized( available ) {
+			available.add(detector);
+		}
 	}
 
 	/**
@@ -270,8 +232,8 @@ public class SiftDetector {
 	 * @param signAdj Adjust the sign so that it can check for maximums
 	 * @return
 	 */
-	private boolean isScaleSpaceMax( ImageFloat32 scale0 , ImageFloat32 scale2,
-									 int c_x , int c_y , float value , float signAdj ) {
+	private static boolean isScaleSpaceMax( ImageFloat32 scale0 , ImageFloat32 scale2,
+											int c_x , int c_y , float value , float signAdj ) {
 		float v;
 
 		value *= signAdj;
@@ -291,32 +253,195 @@ public class SiftDetector {
 	}
 
 	/**
-	 * Performs an edge test to remove false positives.  See 4.1 in [1].
+	 * Returns all the found points
 	 */
-	private boolean isEdge( int x , int y ) {
-		if( edgeThreshold <= 0 )
-			return false;
+	public FastQueue<ScalePoint> getFoundPoints() {
+		return foundPoints;
+	}
+
+	/**
+	 * Contains everything needed to detect features inside a single layer of the scale-space.
+	 */
+	private class LayerDetector {
+		// finds features from 2D intensity image
+		NonMaxSuppression extractor;
+		// helps select features with the largest intensity
+		SelectNBestFeatures sortBest;
+
+		// storage for found features
+		QueueCorner foundPositive = new QueueCorner(10);
+		QueueCorner foundNegative = new QueueCorner(10);
+
+		// correcting for how images are subsampled
+		double octavePixelOffset;
+		// Amount of blur applied to the current image being considered
+		double currentSigma;
+		// Pixel scale factor for the current image being considered
+		double currentPixelScale;
+
+		// Computes image derivatives. used in edge rejection
+		ImageConvolveSparse<ImageFloat32,?> derivXX;
+		ImageConvolveSparse<ImageFloat32,?> derivXY;
+		ImageConvolveSparse<ImageFloat32,?> derivYY;
+
+		LayerDetector( NonMaxSuppression extractor ) {
+			this.extractor = extractor;
+			if( maxFeatures > 0 )
+				sortBest = new SelectNBestFeatures(maxFeatures);
+
+			createDerivatives();
+		}
 
-		double xx = derivXX.compute(x,y);
-		double xy = derivXY.compute(x,y);
-		double yy = derivYY.compute(x,y);
+		/**
+		 * Define sparse image derivative operators.
+		 */
+		private void createDerivatives() {
+			// TODO optimize usign a sparse kernel?
+			Kernel2D_F32 kerX = new Kernel2D_F32(3,new float[]{
+					 0,0,0,
+					-1,0,1,
+					 0,0,0});
+			Kernel2D_F32 kerY = new Kernel2D_F32(3,new float[]{
+					0,-1,0,
+					0, 0,0,
+					0, 1,0});
+			Kernel2D_F32 kerXX = KernelMath.convolve2D(kerX, kerX);
+			Kernel2D_F32 kerXY = KernelMath.convolve2D(kerX,kerY);
+			Kernel2D_F32 kerYY = KernelMath.convolve2D(kerY,kerY);
+
+			derivXX = FactoryConvolveSparse.create(ImageFloat32.class,kerXX);
+			derivXY = FactoryConvolveSparse.create(ImageFloat32.class,kerXY);
+			derivYY = FactoryConvolveSparse.create(ImageFloat32.class,kerYY);
+
+			// treat pixels outside the image border as having a value of zero
+			ImageBorder<ImageFloat32> border = FactoryImageBorder.singleValue(ImageFloat32.class, 0);
+
+			derivXX.setImageBorder(border);
+			derivXY.setImageBorder(border);
+			derivYY.setImageBorder(border);
+		}
 
-		double Tr = xx + yy;
-		double det = xx*yy - xy*xy;
-		double value = Tr*Tr/det;
+		/**
+		 * Detect features inside the specified layer.  Layers are numbered sequentially across octaves, skipping
+		 * scales which don't have a scale above and below them.
+		 */
+		void detectFeatures( int layer , FastQueue<ScalePoint> output ) {
+			int layersPerOctave = ss.numScales-3;
+			int octave = layer/layersPerOctave;
+			// start processing at the second DOG since it needs the scales above and below
+			int scale = layer%layersPerOctave + 1;
+			int indexDOG = octave*(ss.numScales-1) + scale;
+			int indexScale = octave*ss.numScales + scale;
 
-		double threshold = edgeThreshold+2+1/edgeThreshold;
+			currentPixelScale = ss.pixelScale[octave];
+			octavePixelOffset = octaveOffset[octave];
 
-		// The SIFT paper does not show absolute value here nor have I put enough thought into it
-		// to determine if this makes any sense.  However, it does seem to improve performance
-		// quite a bit.
-		return( Math.abs(value) > threshold);
-	}
+			// use the scale-space image as input for derivatives
+			derivXX.setImage(ss.scale[indexScale]);
+			derivXY.setImage(ss.scale[indexScale]);
+			derivYY.setImage(ss.scale[indexScale]);
 
-	/**
-	 * Returns all the found points
-	 */
-	public FastQueue<ScalePoint> getFoundPoints() {
-		return foundPoints;
+			// the current scale factor being considered
+			currentSigma = ss.computeScaleSigma(octave,scale);
+
+			// set up data structures
+			foundNegative.reset();
+			foundPositive.reset();
+
+			// Local scale-space neighborhood
+			ImageFloat32 scale0 = ss.dog[indexDOG-1];
+			ImageFloat32 scale1 = ss.dog[indexDOG];
+			ImageFloat32 scale2 = ss.dog[indexDOG+1];
+
+			extractor.process(scale1,null,null,foundNegative,foundPositive);
+
+			addFoundFeatures(scale0,scale1,scale2,foundNegative,false,output);
+			addFoundFeatures(scale0,scale1,scale2,foundPositive,true,output);
+		}
+
+		private void addFoundFeatures( ImageFloat32 scale0, ImageFloat32 scale1, ImageFloat32 scale2,
+									   QueueCorner found , boolean positive , FastQueue<ScalePoint> output ) {
+
+			// if configured to do so, only select the features with the highest intensity
+			QueueCorner features;
+			if( sortBest != null ) {
+				sortBest.process(scale1,found,positive);
+				features = sortBest.getBestCorners();
+			} else {
+				features = found;
+			}
+
+			float signAdj = positive ? 1 : -1;
+
+			// precompute border for insignificant speed boost
+			int ignoreRadius = extractor.getIgnoreBorder();
+			int borderX = scale1.width-ignoreRadius-1;
+			int borderY = scale1.height-ignoreRadius-1;
+
+			// see if they are a local max in scale space
+			for( int i = 0; i < features.size; i++ ) {
+				Point2D_I16 p = features.data[i];
+
+				// discard points up against the image border since how it should be interpolated is undefined.  plus
+				// this makes it easier to write faster code
+				if( p.x <= ignoreRadius || p.y <= ignoreRadius || p.x >= borderX || p.y >= borderY )
+					continue;
+
+				float value = scale1.unsafe_get(p.x, p.y);
+				if( isScaleSpaceMax(scale0,scale2,p.x,p.y,value,signAdj)
+						&& !isEdge(p.x,p.y) ) {
+					addPoint(scale0,scale1,scale2,p.x,p.y,value,signAdj,positive,output);
+				}
+			}
+		}
+
+		/**
+		 * Adds the detected feature to the list.  Interpolates the feature's location in the image and scale
+		 * using 2nd order polynomial instead.  This is a change from the paper.
+		 */
+		private void addPoint(ImageFloat32 scale0 , ImageFloat32 scale1, ImageFloat32 scale2,
+							  short x, short y, float value, float signAdj, boolean white ,
+							  FastQueue<ScalePoint> output ) {
+			value *= signAdj;
+			float x0 =  scale1.unsafe_get(x - 1, y)*signAdj;
+			float x2 =  scale1.unsafe_get(x + 1, y)*signAdj;
+			float y0 =  scale1.unsafe_get(x , y - 1)*signAdj;
+			float y2 =  scale1.unsafe_get(x , y + 1)*signAdj;
+
+			float s0 =  scale0.unsafe_get(x , y )*signAdj;
+			float s2 =  scale2.unsafe_get(x , y )*signAdj;
+
+			ScalePoint p = output.grow();
+
+			// when the image is down sampled it is sampled at pixel + 1
+			p.x = currentPixelScale*(x + polyPeak(x0, value, x2)) + octavePixelOffset;
+			p.y = currentPixelScale*(y + polyPeak(y0, value, y2)) + octavePixelOffset;
+
+			p.scale = currentSigma + currentPixelScale*ss.sigma*polyPeak(s0, value, s2);
+			p.white = white;
+		}
+
+		/**
+		 * Performs an edge test to remove false positives.  See 4.1 in [1].
+		 */
+		private boolean isEdge( int x , int y ) {
+			if( edgeThreshold <= 0 )
+				return false;
+
+			double xx = derivXX.compute(x,y);
+			double xy = derivXY.compute(x,y);
+			double yy = derivYY.compute(x,y);
+
+			double Tr = xx + yy;
+			double det = xx*yy - xy*xy;
+			double value = Tr*Tr/det;
+
+			double threshold = edgeThreshold+2+1/edgeThreshold;
+
+			// The SIFT paper does not show absolute value here nor have I put enough thought into it
+			// to determine if this makes any sense.  However, it does seem to improve performance
+			// quite a bit.
+			return( Math.abs(value) > threshold);
+		}
 	}
 }
@@ -21,6 +21,8 @@ package boofcv.alg.feature.detect.interest;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
 import boofcv.alg.misc.PixelMath;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
@@ -42,6 +44,13 @@ import boofcv.struct.image.ImageFloat32;
  * octave.  The first octave is seeded with the input image or the input image scaled.
  * </p>
  *
+ * <p>
+ * CONCURRENCY: If turned on with {@link #setConcurrent(boolean)} and {@link BoofConcurrency} is active then the
+ * derivatives and DOG images are computed with each layer in scale-space processed as a separate job.  The scales
+ * inside an octave depend on each other, so the pyramid is constructed one image at a time and only benefits from
+ * the blur being split into bands of rows.  The results are identical to processing everything in a single thread.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class SiftImageScaleSpace {
@@ -78,8 +87,11 @@ public class SiftImageScaleSpace {
 	// Note that the octave's are recursively computed, so this is the blur magnitude from before
 	private double priorSigmaFirstScale[];
 
-	// Computes the image derivative
-	private ImageGradient<ImageFloat32,ImageFloat32> gradient = FactoryDerivative.three_F32();
+	// Computes the image derivative.  One for each layer so that they can be computed concurrently
+	private ImageGradient<ImageFloat32,ImageFloat32> gradient[];
+
+	// should layers be processed concurrently
+	private boolean concurrent = false;
 
 	// storage for applying blur
 	protected ImageFloat32 storage;
@@ -118,6 +130,7 @@ public class SiftImageScaleSpace {
 		int totalImages = numScales*numOctaves;
 
 		scale = new ImageFloat32[totalImages];
+		gradient = new ImageGradient[totalImages];
 		derivX = new ImageFloat32[totalImages];
 		derivY = new ImageFloat32[totalImages];
 		dog = new ImageFloat32[totalImages-numOctaves];
@@ -125,6 +138,7 @@ public class SiftImageScaleSpace {
 			scale[i] = new ImageFloat32(1,1);
 			derivX[i] = new ImageFloat32(1,1);
 			derivY[i] = new ImageFloat32(1,1);
+			gradient[i] = FactoryDerivative.three_F32();
 		}
 		for( int i = 0; i < dog.length; i++ ) {
 			dog[i] = new ImageFloat32(1,1);
@@ -183,16 +197,29 @@ public class SiftImageScaleSpace {
 	 */
 	public void computeDerivatives() {
 		int maxScales = actualOctaves*numScales;
-		for( int i = 0; i < maxScales; i++ ) {
-			ImageFloat32 input = scale[i];
-			ImageFloat32 dx = derivX[i];
-			ImageFloat32 dy = derivY[i];
+		if( concurrent ) {
+			BoofConcurrency.loopFor(0, maxScales, new IntRangeTask() {
+				@Override
+				public void process(int i0, int i1) {
+					computeDerivative(i0);
+				}
+			});
+		} else {
+			for( int i = 0; i < maxScales; i++ ) {
+				computeDerivative(i);
+			}
+		}
+	}
 
-			dx.reshape(input.width,input.height);
-			dy.reshape(input.width,input.height);
+	private void computeDerivative( int index ) {
+		ImageFloat32 input = scale[index];
+		ImageFloat32 dx = derivX[index];
+		ImageFloat32 dy = derivY[index];
 
-			gradient.process(input,dx,dy);
-		}
+		dx.reshape(input.width,input.height);
+		dy.reshape(input.width,input.height);
+
+		gradient[index].process(input,dx,dy);
 	}
 
 	/**
@@ -227,22 +254,35 @@ public class SiftImageScaleSpace {
 	 * Compute difference of Gaussian feature intensity across scale space
 	 */
 	public void computeFeatureIntensity() {
-		int indexDog = 0;
-		for( int o = 0; o < actualOctaves; o++ ) {
-			for( int i = 1; i < numScales; i++ , indexDog++ ) {
-				int indexScale = o*numScales + i;
+		int totalDog = actualOctaves*(numScales-1);
+		if( concurrent ) {
+			BoofConcurrency.loopFor(0, totalDog, new IntRangeTask() {
+				@Override
+				public void process(int i0, int i1) {
+					computeFeatureIntensity(i0);
+				}
+			});
+		} else {
+			for( int indexDog = 0; indexDog < totalDog; indexDog++ ) {
+				computeFeatureIntensity(indexDog);
+			}
+		}
+	}
 
-				PixelMath.subtract(scale[indexScale],scale[indexScale-1],dog[indexDog]);
+	private void computeFeatureIntensity( int indexDog ) {
+		int o = indexDog/(numScales-1);
+		int i = indexDog%(numScales-1) + 1;
+		int indexScale = o*numScales + i;
 
-				// NOTE: In SIFT paper it states you don't need to do this adjustment.  However, since the difference
-				// between scales is not a constant factor in this implementation you do need to do it.
+		PixelMath.subtract(scale[indexScale],scale[indexScale-1],dog[indexDog]);
 
-				// compute adjustment to make it better approximate of the Laplacian of Gaussian detector
-				double k = (i+1)/(double)i;
-				double adjustment = k-1;
-				PixelMath.divide(dog[indexDog], (float) adjustment, dog[indexDog]);
-			}
-		}
+		// NOTE: In SIFT paper it states you don't need to do this adjustment.  However, since the difference
+		// between scales is not a constant factor in this implementation you do need to do it.
+
+		// compute adjustment to make it better approximate of the Laplacian of Gaussian detector
+		double k = (i+1)/(double)i;
+		double adjustment = k-1;
+		PixelMath.divide(dog[indexDog], (float) adjustment, dog[indexDog]);
 	}
 
 	/**
@@ -270,34 +310,44 @@ public class SiftImageScaleSpace {
 	/**
 	 * Down samples an image by copying every other pixel, starting with pixel 1.
 	 */
-	protected static void downSample( ImageFloat32 from , ImageFloat32 to ) {
-
-		for( int y = 0; y < to.height; y++ ) {
-			for( int x = 0; x < to.width; x++ ) {
-				to.unsafe_set(x,y,from.unsafe_get(x*2+1,y*2+1));
+	protected static void downSample( final ImageFloat32 from , final ImageFloat32 to ) {
+
+		BoofConcurrency.loopRows(to, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					for( int x = 0; x < to.width; x++ ) {
+						to.unsafe_set(x,y,from.unsafe_get(x*2+1,y*2+1));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
 	 * Up-samples the input image.  Doubling its size.
 	 */
-	protected static void upSample( ImageFloat32 from , ImageFloat32 to ) {
-
-		for( int y = 0; y < from.height; y++ ) {
-			int yy = y*2;
-			int xx = 0;
-			for( int x = 0; x < from.width; x++ ) {
-				float v = from.unsafe_get(x,y);
-
-				to.unsafe_set(xx, yy, v);
-				to.unsafe_set(xx,yy+1,v);
-				xx++;
-				to.unsafe_set(xx,yy,v);
-				to.unsafe_set(xx,yy+1,v);
-				xx++;
+	protected static void upSample( final ImageFloat32 from , final ImageFloat32 to ) {
+
+		BoofConcurrency.loopRows(from, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int yy = y*2;
+					int xx = 0;
+					for( int x = 0; x < from.width; x++ ) {
+						float v = from.unsafe_get(x,y);
+
+						to.unsafe_set(xx, yy, v);
+						to.unsafe_set(xx,yy+1,v);
+						xx++;
+						to.unsafe_set(xx,yy,v);
+						to.unsafe_set(xx,yy+1,v);
+						xx++;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -319,6 +369,18 @@ public class SiftImageScaleSpace {
 		}
 	}
 
+	/**
+	 * If true then layers in scale-space which don't depend on each other are processed concurrently.
+	 * Has no effect unless {@link BoofConcurrency} is turned on.
+	 */
+	public void setConcurrent( boolean concurrent ) {
+		this.concurrent = concurrent;
+	}
+
+	public boolean isConcurrent() {
+		return concurrent;
+	}
+
 	public int getNumOctaves() {
 		return numOctaves;
 	}
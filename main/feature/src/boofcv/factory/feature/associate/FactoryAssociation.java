@@ -20,6 +20,9 @@ package boofcv.factory.feature.associate;
 
 import boofcv.abst.feature.associate.*;
 import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.alg.feature.associate.AssociateGreedyHamming_B;
+import boofcv.alg.feature.associate.HierarchicalKMeansTree;
+import boofcv.alg.feature.associate.RandomKdForest;
 import boofcv.struct.feature.*;
 import org.ddogleg.nn.FactoryNearestNeighbor;
 import org.ddogleg.nn.NearestNeighbor;
@@ -35,7 +38,9 @@ public class FactoryAssociation {
 
 	/**
 	 * Returns an algorithm for associating features together which uses a brute force greedy algorithm.
-	 * See {@link AssociateGreedy} for details.
+	 * See {@link AssociateGreedy} for details.  If the score is {@link ScoreAssociateHamming_B} then
+	 * {@link AssociateGreedyHamming_B} is used instead, which produces the same results much faster.  Subclasses
+	 * of {@link ScoreAssociateHamming_B} use the regular algorithm, since they might change the score.
 	 * 
 	 * @param score Computes the fit score between two features.
 	 * @param maxError Maximum allowed error/fit score between two features.  To disable set to Double.MAX_VALUE
@@ -49,7 +54,11 @@ public class FactoryAssociation {
 			double maxError ,
 			boolean backwardsValidation )
 	{
-		AssociateGreedy<D> alg = new AssociateGreedy<D>(score,backwardsValidation);
+		AssociateGreedy<D> alg;
+		if( score.getClass() == ScoreAssociateHamming_B.class )
+			alg = (AssociateGreedy)new AssociateGreedyHamming_B(backwardsValidation);
+		else
+			alg = new AssociateGreedy<D>(score,backwardsValidation);
 		alg.setMaxFitError(maxError);
 		WrapAssociateGreedy<D> ret = new WrapAssociateGreedy<D>(alg);
 		return ret;
@@ -99,6 +108,54 @@ public class FactoryAssociation {
 		return new AssociateNearestNeighbor<TupleDesc_F64>(nn,dimension);
 	}
 
+	/**
+	 * Approximate association using a forest of randomized K-D trees which are searched in a best-bin-first
+	 * order.  Unlike {@link #kdRandomForest} the destination features are searched concurrently when
+	 * {@link boofcv.concurrency.BoofConcurrency} is active.
+	 *
+	 * @see AssociateNearestNeighborIndex
+	 * @see RandomKdForest
+	 *
+	 * @param numTrees Number of trees that are constructed.  Try 4 to 8.
+	 * @param numConsiderSplit Number of axes with the largest variance which are randomly selected from when
+	 *                         splitting.  Try 5
+	 * @param maxChecks Maximum number of points examined in a search.  Controls speed and accuracy.  If &le; 0
+	 *                  the search is exact.
+	 * @param randomSeed Seed used by random number generator
+	 * @return Association using approximate nearest neighbor
+	 */
+	public static AssociateDescription<TupleDesc_F64> approximateKdForest( int numTrees ,
+																		   int numConsiderSplit ,
+																		   int maxChecks ,
+																		   long randomSeed ) {
+		RandomKdForest index = new RandomKdForest(numTrees,numConsiderSplit,maxChecks,randomSeed);
+
+		return new AssociateNearestNeighborIndex<TupleDesc_F64>(index);
+	}
+
+	/**
+	 * Approximate association using a hierarchical k-means tree.  The destination features are searched
+	 * concurrently when {@link boofcv.concurrency.BoofConcurrency} is active.
+	 *
+	 * @see AssociateNearestNeighborIndex
+	 * @see HierarchicalKMeansTree
+	 *
+	 * @param branching Number of clusters at each level in the tree.  Try 32.
+	 * @param maxIterations Maximum number of k-means iterations.  Try 7.
+	 * @param maxChecks Maximum number of points examined in a search.  Controls speed and accuracy.  If &le; 0
+	 *                  the search is exact.
+	 * @param randomSeed Seed used by random number generator
+	 * @return Association using approximate nearest neighbor
+	 */
+	public static AssociateDescription<TupleDesc_F64> approximateKMeansTree( int branching ,
+																			 int maxIterations ,
+																			 int maxChecks ,
+																			 long randomSeed ) {
+		HierarchicalKMeansTree index = new HierarchicalKMeansTree(branching,maxIterations,maxChecks,randomSeed);
+
+		return new AssociateNearestNeighborIndex<TupleDesc_F64>(index);
+	}
+
 	/**
 	 * Given a feature descriptor type it returns a "reasonable" default {@link ScoreAssociation}.
 	 *
@@ -47,9 +47,10 @@ public class FactoryDescribePointAlgs {
 			config = new ConfigSurfDescribe.Speed();
 		config.checkValidity();
 
-
-		return new DescribePointSurf<T>(config.widthLargeGrid,config.widthSubRegion,config.widthSample,
-				config.weightSigma,config.useHaar,imageType);
+		DescribePointSurf<T> alg = new DescribePointSurf<T>(config.widthLargeGrid,config.widthSubRegion,
+				config.widthSample,config.weightSigma,config.useHaar,imageType);
+		alg.setConcurrent(config.concurrent);
+		return alg;
 	}
 
 	public static <T extends ImageSingleBand>
@@ -58,8 +59,10 @@ public class FactoryDescribePointAlgs {
 			config = new ConfigSurfDescribe.Stability();
 		config.checkValidity();
 
-		return new DescribePointSurfMod<T>(config.widthLargeGrid,config.widthSubRegion,config.widthSample,
-				config.overLap,config.sigmaLargeGrid,config.sigmaSubRegion,config.useHaar,imageType);
+		DescribePointSurfMod<T> alg = new DescribePointSurfMod<T>(config.widthLargeGrid,config.widthSubRegion,
+				config.widthSample,config.overLap,config.sigmaLargeGrid,config.sigmaSubRegion,config.useHaar,imageType);
+		alg.setConcurrent(config.concurrent);
+		return alg;
 	}
 
 	public static <T extends ImageSingleBand>
@@ -165,6 +165,7 @@ public class FactoryDescribeRegionPoint {
 
 		SiftImageScaleSpace ss = new SiftImageScaleSpace(configSS.blurSigma, configSS.numScales, configSS.numOctaves,
 				configSS.doubleInputImage);
+		ss.setConcurrent(configSS.concurrent);
 
 		DescribePointSift alg = FactoryDescribePointAlgs.sift(configDescribe);
 
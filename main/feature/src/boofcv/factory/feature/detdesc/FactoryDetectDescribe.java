@@ -76,6 +76,7 @@ public class FactoryDetectDescribe {
 
 		SiftImageScaleSpace ss = new SiftImageScaleSpace(configSS.blurSigma, configSS.numScales, configSS.numOctaves,
 				configSS.doubleInputImage);
+		ss.setConcurrent(configSS.concurrent);
 
 		SiftDetector detector = FactoryInterestPointAlgs.siftDetector(configDetector);
 
@@ -150,6 +150,7 @@ public class FactoryInterestPoint {
 
 		SiftImageScaleSpace ss = new SiftImageScaleSpace(configSS.blurSigma, configSS.numScales, configSS.numOctaves,
 				configSS.doubleInputImage);
+		ss.setConcurrent(configSS.concurrent);
 
 		return new WrapSiftDetector(alg,ss);
 	}
@@ -170,10 +170,12 @@ public class FactoryInterestPointAlgs {
 			config = new ConfigFastHessian();
 		config.checkValidity();
 
-		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(
-				new ConfigExtract(config.extractRadius, config.detectThreshold, 5, true));
-		return new FastHessianFeatureDetector<II>(extractor, config.maxFeaturesPerScale,
-				config.initialSampleSize, config.initialSize, config.numberScalesPerOctave, config.numberOfOctaves);
+		ConfigExtract configExtract = new ConfigExtract(config.extractRadius, config.detectThreshold, 5, true);
+		FastHessianFeatureDetector<II> alg = new FastHessianFeatureDetector<II>(configExtract,
+				config.maxFeaturesPerScale, config.initialSampleSize, config.initialSize,
+				config.numberScalesPerOctave, config.numberOfOctaves);
+		alg.setConcurrent(config.concurrent);
+		return alg;
 	}
 
 	/**
@@ -190,9 +192,9 @@ public class FactoryInterestPointAlgs {
 			config = new ConfigSiftDetector();
 		config.checkValidity();
 
-		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(
-				new ConfigExtract(config.extractRadius, config.detectThreshold, 2, true, true, true));
-		return new SiftDetector(extractor,config.maxFeaturesPerScale,config.edgeThreshold);
+		ConfigExtract configExtract =
+				new ConfigExtract(config.extractRadius, config.detectThreshold, 2, true, true, true);
+		return new SiftDetector(configExtract,config.maxFeaturesPerScale,config.edgeThreshold);
 	}
 
 }
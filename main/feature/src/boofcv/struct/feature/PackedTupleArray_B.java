@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Set of {@link TupleDesc_B} descriptors which are packed into a single array of longs.  Two of the ints in
+ * {@link TupleDesc_B#data} are stored in each long, with the first int in the lower 32-bits.  Descriptor i
+ * starts at element i*{@link #numLongs}.  Compared to a list of {@link TupleDesc_B} the descriptors are
+ * contiguous in memory and 64-bits can be compared at once.
+ * </p>
+ *
+ * <p>
+ * Functions are provided for converting to and from {@link TupleDesc_B}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleArray_B {
+	// number of bits in each descriptor
+	public int numBits;
+	// number of ints and longs used to store each descriptor
+	public int numInts;
+	public int numLongs;
+	// array containing all the descriptors
+	public long data[] = new long[0];
+	// number of descriptors
+	public int size;
+
+	/**
+	 * Creates an empty set
+	 *
+	 * @param numBits Number of bits in each descriptor.
+	 */
+	public PackedTupleArray_B( int numBits ) {
+		this(numBits, (numBits+31)/32);
+	}
+
+	/**
+	 * Creates an empty set
+	 *
+	 * @param numBits Number of bits in each descriptor.
+	 * @param numInts Number of ints in {@link TupleDesc_B#data}.
+	 */
+	public PackedTupleArray_B( int numBits , int numInts ) {
+		this.numBits = numBits;
+		this.numInts = numInts;
+		this.numLongs = (numInts+1)/2;
+	}
+
+	/**
+	 * Removes all the descriptors.  The array is not modified.
+	 */
+	public void reset() {
+		size = 0;
+	}
+
+	/**
+	 * Ensures that there is enough space to store the specified number of descriptors.  Descriptors which are
+	 * already in the set are saved.
+	 */
+	public void reserve( int numDescriptors ) {
+		int length = numDescriptors*numLongs;
+		if( data.length < length ) {
+			long tmp[] = new long[length];
+			System.arraycopy(data,0,tmp,0,size*numLongs);
+			data = tmp;
+		}
+	}
+
+	/**
+	 * Changes the number of descriptors in the set.  The value of new descriptors is undefined.
+	 */
+	public void resize( int numDescriptors ) {
+		reserve(numDescriptors);
+		size = numDescriptors;
+	}
+
+	/**
+	 * Adds a descriptor to the end of the set.
+	 */
+	public void append( TupleDesc_B src ) {
+		if( data.length < (size+1)*numLongs )
+			reserve(Math.max(10, size*2));
+		set(size, src);
+		size++;
+	}
+
+	/**
+	 * Copies the value of a descriptor into the set, replacing the old value.
+	 *
+	 * @param index Index of the descriptor which is modified.
+	 * @param src The new value.
+	 */
+	public void set( int index , TupleDesc_B src ) {
+		int[] bits = src.data;
+		if( bits.length != numInts )
+			throw new IllegalArgumentException("Expected descriptor with "+numInts+" ints not "+bits.length);
+
+		int i = index*numLongs;
+		int k = 0;
+		for( ; k+1 < numInts; k += 2 ) {
+			data[i++] = (bits[k] & 0xFFFFFFFFL) | ((long)bits[k+1] << 32);
+		}
+		if( k < numInts )
+			data[i] = bits[k] & 0xFFFFFFFFL;
+	}
+
+	/**
+	 * Copies a descriptor in the set into the provided descriptor.
+	 *
+	 * @param index Index of the descriptor.
+	 * @param dst Storage for the copy.
+	 */
+	public void getCopy( int index , TupleDesc_B dst ) {
+		int[] bits = dst.data;
+		int i = index*numLongs;
+		int k = 0;
+		for( ; k+1 < numInts; k += 2 ) {
+			long v = data[i++];
+			bits[k] = (int)v;
+			bits[k+1] = (int)(v >>> 32);
+		}
+		if( k < numInts )
+			bits[k] = (int)data[i];
+		dst.numBits = numBits;
+	}
+
+	/**
+	 * Returns the index of the first element of a descriptor in {@link #data}.
+	 */
+	public int getStartIndex( int index ) {
+		return index*numLongs;
+	}
+
+	/**
+	 * Replaces the descriptors in this set with a copy of the descriptors in the list
+	 *
+	 * @param list List of descriptors.  Not modified.
+	 */
+	public void setTo( FastQueue<? extends TupleDesc_B> list ) {
+		size = 0;
+		reserve(list.size);
+		for( int i = 0; i < list.size; i++ ) {
+			append(list.data[i]);
+		}
+	}
+
+	/**
+	 * Copies the descriptors into a list.  The list is first reset then grown, so it must declare its own
+	 * instances.
+	 *
+	 * @param list Storage for the descriptors.  Modified.
+	 */
+	public <D extends TupleDesc_B> void copyInto( FastQueue<D> list ) {
+		list.reset();
+		for( int i = 0; i < size; i++ ) {
+			getCopy(i, list.grow());
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+}
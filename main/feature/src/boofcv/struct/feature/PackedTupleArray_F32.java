@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+import org.ddogleg.struct.FastQueue;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Set of {@link TupleDesc_F32} descriptors which are packed into a single array of floats.  Descriptor i starts
+ * at element i*{@link #dof} and every descriptor has the same length.  Compared to a list of
+ * {@link TupleDesc_F32}, where each descriptor is a separate object with its own array, the descriptors are
+ * contiguous in memory which is much more cache friendly when all of them are compared against each other.
+ * </p>
+ *
+ * <p>
+ * Functions are provided for converting to and from {@link TupleDesc_F32}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedTupleArray_F32 {
+	// number of elements in each descriptor
+	public int dof;
+	// array containing all the descriptors
+	public float data[] = new float[0];
+	// number of descriptors
+	public int size;
+
+	/**
+	 * Creates an empty set
+	 *
+	 * @param dof Number of elements in each descriptor.
+	 */
+	public PackedTupleArray_F32( int dof ) {
+		this.dof = dof;
+	}
+
+	/**
+	 * Removes all the descriptors.  The array is not modified.
+	 */
+	public void reset() {
+		size = 0;
+	}
+
+	/**
+	 * Ensures that there is enough space to store the specified number of descriptors.  Descriptors which are
+	 * already in the set are saved.
+	 */
+	public void reserve( int numDescriptors ) {
+		int length = numDescriptors*dof;
+		if( data.length < length ) {
+			float tmp[] = new float[length];
+			System.arraycopy(data,0,tmp,0,size*dof);
+			data = tmp;
+		}
+	}
+
+	/**
+	 * Changes the number of descriptors in the set.  The value of new descriptors is undefined.
+	 */
+	public void resize( int numDescriptors ) {
+		reserve(numDescriptors);
+		size = numDescriptors;
+	}
+
+	/**
+	 * Adds a descriptor to the end of the set.
+	 *
+	 * @param src Array containing the descriptor.  Must have at least {@link #dof} elements.
+	 */
+	public void append( float src[] ) {
+		if( data.length < (size+1)*dof )
+			reserve(Math.max(10, size*2));
+		System.arraycopy(src,0,data,size*dof,dof);
+		size++;
+	}
+
+	/**
+	 * Adds a descriptor to the end of the set.
+	 */
+	public void append( TupleDesc_F32 src ) {
+		if( src.value.length != dof )
+			throw new IllegalArgumentException("Expected descriptor with "+dof+" elements not "+src.value.length);
+		append(src.value);
+	}
+
+	/**
+	 * Copies the value of a descriptor into the set, replacing the old value.
+	 *
+	 * @param index Index of the descriptor which is modified.
+	 * @param src The new value.
+	 */
+	public void set( int index , TupleDesc_F32 src ) {
+		System.arraycopy(src.value,0,data,index*dof,dof);
+	}
+
+	/**
+	 * Copies a descriptor in the set into the provided descriptor.
+	 *
+	 * @param index Index of the descriptor.
+	 * @param dst Storage for the copy.
+	 */
+	public void getCopy( int index , TupleDesc_F32 dst ) {
+		System.arraycopy(data,index*dof,dst.value,0,dof);
+	}
+
+	/**
+	 * Returns the index of the first element of a descriptor in {@link #data}.
+	 */
+	public int getStartIndex( int index ) {
+		return index*dof;
+	}
+
+	/**
+	 * Replaces the descriptors in this set with a copy of the descriptors in the list
+	 *
+	 * @param list List of descriptors.  Not modified.
+	 */
+	public void setTo( FastQueue<? extends TupleDesc_F32> list ) {
+		size = 0;
+		reserve(list.size);
+		for( int i = 0; i < list.size; i++ ) {
+			append(list.data[i]);
+		}
+	}
+
+	/**
+	 * Replaces the descriptors in this set with a copy of the arrays in the list
+	 *
+	 * @param list List of arrays which each contain a descriptor.  Not modified.
+	 */
+	public void setTo( List<float[]> list ) {
+		size = 0;
+		reserve(list.size());
+		for( int i = 0; i < list.size(); i++ ) {
+			append(list.get(i));
+		}
+	}
+
+	/**
+	 * Copies the descriptors into a list.  The list is first reset then grown, so it must declare its own
+	 * instances.
+	 *
+	 * @param list Storage for the descriptors.  Modified.
+	 */
+	public <D extends TupleDesc_F32> void copyInto( FastQueue<D> list ) {
+		list.reset();
+		for( int i = 0; i < size; i++ ) {
+			getCopy(i, list.grow());
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getDOF() {
+		return dof;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.RandomKdForest;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.PackedTupleArray_F64;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateNearestNeighborIndex extends StandardAssociateDescriptionChecks<TupleDesc_F64> {
+
+	Random rand = new Random(234);
+
+	public TestAssociateNearestNeighborIndex() {
+		super(TupleDesc_F64.class);
+	}
+
+	@Override
+	public AssociateDescription<TupleDesc_F64> createAlg() {
+		// an exact search will produce perfect results
+		return new AssociateNearestNeighborIndex<TupleDesc_F64>(new RandomKdForest(2,1,-1,234));
+	}
+
+	@Override
+	protected TupleDesc_F64 c(double value) {
+		TupleDesc_F64 s = new TupleDesc_F64(1);
+		s.value[0] = value;
+		return s;
+	}
+
+	/**
+	 * The matches should be the same with and without concurrency
+	 */
+	@Test
+	public void concurrent() {
+		FastQueue<TupleDesc_F64> src = createSet(500);
+		FastQueue<TupleDesc_F64> dst = createSet(300);
+
+		FastQueue<AssociatedIndex> expected = null;
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int trial = 0; trial < 2; trial++ ) {
+				BoofConcurrency.setUseConcurrent(trial == 1);
+
+				AssociateNearestNeighborIndex<TupleDesc_F64> alg =
+						new AssociateNearestNeighborIndex<TupleDesc_F64>(new RandomKdForest(4,3,50,234));
+				alg.setThreshold(2);
+				alg.setSource(src);
+				alg.setDestination(dst);
+				alg.associate();
+
+				FastQueue<AssociatedIndex> found = alg.getMatches();
+				if( trial == 0 ) {
+					expected = found;
+				} else {
+					assertEquals(expected.size, found.size);
+					for( int i = 0; i < found.size; i++ ) {
+						assertEquals(expected.get(i).src, found.get(i).src);
+						assertEquals(expected.get(i).dst, found.get(i).dst);
+						assertEquals(expected.get(i).fitScore, found.get(i).fitScore, 0);
+					}
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
+
+	/**
+	 * Descriptors which are already packed should produce the same results as a list
+	 */
+	@Test
+	public void packed() {
+		FastQueue<TupleDesc_F64> src = createSet(200);
+		FastQueue<TupleDesc_F64> dst = createSet(100);
+
+		AssociateNearestNeighborIndex<TupleDesc_F64> expected =
+				new AssociateNearestNeighborIndex<TupleDesc_F64>(new RandomKdForest(4,3,50,234));
+		expected.setSource(src);
+		expected.setDestination(dst);
+		expected.associate();
+
+		PackedTupleArray_F64 packedSrc = new PackedTupleArray_F64(8);
+		PackedTupleArray_F64 packedDst = new PackedTupleArray_F64(8);
+		packedSrc.setTo(src);
+		packedDst.setTo(dst);
+
+		AssociateNearestNeighborIndex<TupleDesc_F64> alg =
+				new AssociateNearestNeighborIndex<TupleDesc_F64>(new RandomKdForest(4,3,50,234));
+		alg.setSource(packedSrc);
+		alg.setDestination(packedDst);
+		alg.associate();
+
+		FastQueue<AssociatedIndex> found = alg.getMatches();
+		assertEquals(expected.getMatches().size, found.size);
+		for( int i = 0; i < found.size; i++ ) {
+			assertEquals(expected.getMatches().get(i).src, found.get(i).src);
+			assertEquals(expected.getMatches().get(i).dst, found.get(i).dst);
+		}
+		assertEquals(expected.getUnassociatedSource().size, alg.getUnassociatedSource().size);
+	}
+
+	private FastQueue<TupleDesc_F64> createSet( int N ) {
+		FastQueue<TupleDesc_F64> ret = new FastQueue<TupleDesc_F64>(N,TupleDesc_F64.class,false);
+		for( int i = 0; i < N; i++ ) {
+			TupleDesc_F64 t = new TupleDesc_F64(8);
+			for( int j = 0; j < t.value.length; j++ )
+				t.value[j] = rand.nextGaussian();
+			ret.add(t);
+		}
+		return ret;
+	}
+}
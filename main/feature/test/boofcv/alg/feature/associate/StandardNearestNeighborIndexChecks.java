@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Standard tests for implementations of {@link NearestNeighborIndex}
+ *
+ * @author Peter Abeles
+ */
+public abstract class StandardNearestNeighborIndexChecks {
+
+	Random rand = new Random(234);
+
+	int dimension = 5;
+
+	/**
+	 * Creates a new index
+	 *
+	 * @param maxChecks Maximum number of points examined in a search
+	 */
+	public abstract NearestNeighborIndex createIndex( int maxChecks );
+
+	/**
+	 * With no limit on the number of checks the results should be the same as a brute force search
+	 */
+	@Test
+	public void exact() {
+		List<double[]> points = createPoints(500);
+		NearestNeighborIndex alg = createIndex(-1);
+		alg.setPoints(points);
+		NearestNeighborIndex.Search search = alg.createSearch();
+
+		for( int trial = 0; trial < 100; trial++ ) {
+			double[] p = randomPoint();
+			int expected = bruteForce(points, p);
+
+			assertEquals(expected, search.findNearest(p, -1));
+			assertEquals(RandomKdForest.distanceSq(p, points.get(expected), Double.MAX_VALUE),
+					search.getDistanceSq(), 1e-8);
+		}
+	}
+
+	/**
+	 * Only a small fraction of points are examined but almost all the nearest neighbors should be found
+	 */
+	@Test
+	public void approximate_recall() {
+		List<double[]> points = createPoints(2000);
+		NearestNeighborIndex alg = createIndex(200);
+		alg.setPoints(points);
+		NearestNeighborIndex.Search search = alg.createSearch();
+
+		int correct = 0;
+		int N = 200;
+		for( int trial = 0; trial < N; trial++ ) {
+			double[] p = randomPoint();
+			if( search.findNearest(p, -1) == bruteForce(points, p) )
+				correct++;
+		}
+
+		assertTrue(correct >= N*0.8);
+	}
+
+	/**
+	 * Points which are farther away than the maximum distance should not be returned
+	 */
+	@Test
+	public void maxDistance() {
+		List<double[]> points = new ArrayList<double[]>();
+		points.add(new double[]{0,0,0,0,0});
+		points.add(new double[]{2,0,0,0,0});
+
+		NearestNeighborIndex alg = createIndex(-1);
+		alg.setPoints(points);
+		NearestNeighborIndex.Search search = alg.createSearch();
+
+		double[] p = new double[]{0.5,0,0,0,0};
+		assertEquals(0, search.findNearest(p, 1));
+		assertEquals(0.25, search.getDistanceSq(), 1e-8);
+		assertEquals(-1, search.findNearest(p, 0.2));
+	}
+
+	/**
+	 * Many identical points, which can cause problems when constructing the index
+	 */
+	@Test
+	public void duplicatePoints() {
+		List<double[]> points = new ArrayList<double[]>();
+		for( int i = 0; i < 200; i++ )
+			points.add(new double[]{1,2,3,4,5});
+		points.add(new double[]{0,0,0,0,0});
+
+		NearestNeighborIndex alg = createIndex(50);
+		alg.setPoints(points);
+		NearestNeighborIndex.Search search = alg.createSearch();
+
+		assertEquals(200, search.findNearest(new double[]{0.1,0,0,0,0}, -1));
+		int found = search.findNearest(new double[]{1,2,3,4,5.1}, -1);
+		assertTrue(found >= 0 && found < 200);
+	}
+
+	/**
+	 * Searches should work after the index is reconstructed with a different set of points
+	 */
+	@Test
+	public void changePoints() {
+		NearestNeighborIndex alg = createIndex(-1);
+		NearestNeighborIndex.Search search = alg.createSearch();
+
+		alg.setPoints(new ArrayList<double[]>());
+		assertEquals(-1, search.findNearest(randomPoint(), -1));
+
+		for( int N : new int[]{10,300,20} ) {
+			List<double[]> points = createPoints(N);
+			alg.setPoints(points);
+
+			double[] p = randomPoint();
+			assertEquals(bruteForce(points, p), search.findNearest(p, -1));
+		}
+	}
+
+	private List<double[]> createPoints( int N ) {
+		List<double[]> points = new ArrayList<double[]>();
+		for( int i = 0; i < N; i++ )
+			points.add(randomPoint());
+		return points;
+	}
+
+	private double[] randomPoint() {
+		double[] p = new double[dimension];
+		for( int i = 0; i < dimension; i++ )
+			p[i] = rand.nextGaussian();
+		return p;
+	}
+
+	private static int bruteForce( List<double[]> points , double[] p ) {
+		int best = -1;
+		double bestDistance = Double.MAX_VALUE;
+		for( int i = 0; i < points.size(); i++ ) {
+			double d = RandomKdForest.distanceSq(p, points.get(i), Double.MAX_VALUE);
+			if( d < bestDistance ) {
+				bestDistance = d;
+				best = i;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociateHamming_B;
+import boofcv.concurrency.ConcurrencySettings;
+import boofcv.struct.feature.PackedTupleArray_B;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestAssociateGreedyHamming_B {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against the general purpose algorithm.  Descriptors are created with only a few bits set so that
+	 * there are lots of ties, which need to be resolved the same way.
+	 */
+	@Test
+	public void compareToGreedy() {
+		for( int numBits : new int[]{32,96,512} ) {
+			for( boolean backwards : new boolean[]{false,true} ) {
+				for( double maxError : new double[]{Double.MAX_VALUE, 3.5, -1} ) {
+					compareToGreedy(numBits, backwards, maxError, 120, 95, new AssociateGreedyHamming_B(backwards));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Process the descriptors in small blocks and tiles with concurrency turned on
+	 */
+	@Test
+	public void compareToGreedy_blocks() {
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int numBits : new int[]{64,96} ) {
+				for( boolean backwards : new boolean[]{false,true} ) {
+					AssociateGreedyHamming_B alg = new AssociateGreedyHamming_B(backwards);
+					alg.setBlockSrc(7);
+					alg.setTileBytes(8*10);
+
+					compareToGreedy(numBits, backwards, Double.MAX_VALUE, 73, 101, alg);
+					compareToGreedy(numBits, backwards, 5, 73, 101, alg);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
+
+	@Test
+	public void emptyLists() {
+		AssociateGreedyHamming_B alg = new AssociateGreedyHamming_B(true);
+
+		FastQueue<TupleDesc_B> a = createData(64, 5);
+		FastQueue<TupleDesc_B> b = createData(64, 0);
+
+		alg.associate(a, b);
+		for( int i = 0; i < 5; i++ )
+			assertEquals(-1, alg.getPairs()[i]);
+
+		// shouldn't blow up
+		alg.associate(b, a);
+	}
+
+	/**
+	 * Descriptors which are already packed should produce the same results as a list
+	 */
+	@Test
+	public void packed() {
+		FastQueue<TupleDesc_B> src = createData(96, 60);
+		FastQueue<TupleDesc_B> dst = createData(96, 50);
+
+		AssociateGreedyHamming_B expected = new AssociateGreedyHamming_B(true);
+		AssociateGreedyHamming_B found = new AssociateGreedyHamming_B(true);
+		expected.associate(src, dst);
+
+		PackedTupleArray_B packedSrc = new PackedTupleArray_B(96);
+		PackedTupleArray_B packedDst = new PackedTupleArray_B(96);
+		packedSrc.setTo(src);
+		packedDst.setTo(dst);
+		found.associate(packedSrc, packedDst);
+
+		for( int i = 0; i < src.size; i++ ) {
+			assertEquals(expected.getPairs()[i], found.getPairs()[i]);
+			assertEquals(expected.getFitQuality()[i], found.getFitQuality()[i], 0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void differentLengths() {
+		AssociateGreedyHamming_B alg = new AssociateGreedyHamming_B(false);
+		alg.associate(createData(64, 5), createData(128, 5));
+	}
+
+	private void compareToGreedy( int numBits , boolean backwards , double maxError , int numSrc , int numDst ,
+								  AssociateGreedyHamming_B found ) {
+		FastQueue<TupleDesc_B> src = createData(numBits, numSrc);
+		FastQueue<TupleDesc_B> dst = createData(numBits, numDst);
+
+		AssociateGreedy<TupleDesc_B> expected = new AssociateGreedy<TupleDesc_B>(new ScoreAssociateHamming_B(), backwards);
+		expected.setMaxFitError(maxError);
+		found.setMaxFitError(maxError);
+
+		expected.associate(src, dst);
+		// process it twice to make sure the internal storage can be reused
+		for( int trial = 0; trial < 2; trial++ ) {
+			found.associate(src, dst);
+
+			int matches = 0;
+			for( int i = 0; i < numSrc; i++ ) {
+				assertEquals(expected.getPairs()[i], found.getPairs()[i]);
+				assertEquals(expected.getFitQuality()[i], found.getFitQuality()[i], 0);
+				if( found.getPairs()[i] >= 0 )
+					matches++;
+			}
+			if( maxError > 0 )
+				assertTrue(matches > 0);
+		}
+	}
+
+	private FastQueue<TupleDesc_B> createData( final int numBits , int total ) {
+		FastQueue<TupleDesc_B> ret = new FastQueue<TupleDesc_B>(10,TupleDesc_B.class, true) {
+			@Override
+			protected TupleDesc_B createInstance() {
+				return new TupleDesc_B(numBits);
+			}
+		};
+
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc_B d = ret.grow();
+			for( int j = 0; j < d.data.length; j++ ) {
+				d.data[j] = 0;
+			}
+			for( int j = 0; j < 4; j++ ) {
+				int bit = rand.nextInt(Math.min(numBits,40));
+				d.data[bit/32] |= 1 << (bit%32);
+			}
+		}
+
+		return ret;
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.alg.feature.associate;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestRandomKdForest extends StandardNearestNeighborIndexChecks {
+
+	@Override
+	public NearestNeighborIndex createIndex( int maxChecks ) {
+		return new RandomKdForest(4,3,maxChecks,2345);
+	}
+
+	/**
+	 * The trees should be the same when constructed concurrently
+	 */
+	@Test
+	public void concurrent() {
+		Random rand = new Random(234);
+		List<double[]> points = new ArrayList<double[]>();
+		for( int i = 0; i < 1000; i++ )
+			points.add(new double[]{rand.nextDouble(),rand.nextDouble(),rand.nextDouble()});
+
+		int expected[] = new int[200];
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int trial = 0; trial < 2; trial++ ) {
+				BoofConcurrency.setUseConcurrent(trial == 1);
+
+				NearestNeighborIndex alg = createIndex(20);
+				alg.setPoints(points);
+				NearestNeighborIndex.Search search = alg.createSearch();
+
+				Random randQuery = new Random(345);
+				for( int i = 0; i < expected.length; i++ ) {
+					double[] p = new double[]{randQuery.nextDouble(),randQuery.nextDouble(),randQuery.nextDouble()};
+					int found = search.findNearest(p, -1);
+					if( trial == 0 )
+						expected[i] = found;
+					else
+						assertEquals(expected[i], found);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
+}
@@ -21,13 +21,21 @@ package boofcv.alg.feature.describe;
 import boofcv.alg.feature.describe.impl.TestImplSurfDescribeOps;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.feature.PackedTupleArray_F64;
+import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.feature.SurfFeature;
+import boofcv.struct.feature.SurfFeatureQueue;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.sparse.SparseImageGradient;
 import boofcv.testing.BoofTesting;
+import org.ddogleg.struct.GrowQueue_F64;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.*;
@@ -207,4 +215,56 @@ public abstract class BaseTestDescribeSurf<I extends ImageSingleBand,II extends
 			assertEquals(0,feat.value[i+3],1e-4);
 		}
 	}
+
+	/**
+	 * Describing a list of points, with and without concurrency, should produce the same output as describing
+	 * each point individually
+	 */
+	@Test
+	public void describe_list() {
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		GIntegralImageOps.transform(input, ii);
+		alg.setImage(ii);
+
+		List<ScalePoint> points = new ArrayList<ScalePoint>();
+		GrowQueue_F64 angles = new GrowQueue_F64();
+		for( int i = 0; i < 40; i++ ) {
+			points.add(new ScalePoint(rand.nextDouble()*width, rand.nextDouble()*height, 0.8 + rand.nextDouble()));
+			angles.push((rand.nextDouble()-0.5)*2.0*Math.PI);
+		}
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( boolean concurrent : new boolean[]{false,true} ) {
+				BoofConcurrency.setUseConcurrent(concurrent);
+				alg.setConcurrent(concurrent);
+
+				SurfFeatureQueue found = new SurfFeatureQueue(alg.getDescriptionLength());
+				PackedTupleArray_F64 packed = new PackedTupleArray_F64(alg.getDescriptionLength());
+				SurfFeature f = alg.createDescription();
+				// process it twice to make sure the copies can be reused
+				for( int trial = 0; trial < 2; trial++ ) {
+					alg.describe(points, angles, found);
+					alg.describe(points, angles, packed);
+
+					assertEquals(points.size(), found.size());
+					assertEquals(points.size(), packed.size());
+					for( int i = 0; i < points.size(); i++ ) {
+						ScalePoint p = points.get(i);
+						SurfFeature expected = alg.createDescription();
+						alg.describe(p.x, p.y, angles.get(i), p.scale, expected);
+
+						assertEquals(expected.laplacianPositive, found.get(i).laplacianPositive);
+						assertArrayEquals(expected.value, found.get(i).value, 0);
+
+						packed.getCopy(i, f);
+						assertArrayEquals(expected.value, f.value, 0);
+					}
+				}
+			}
+		} finally {
+			alg.setConcurrent(false);
+			previous.restore();
+		}
+	}
 }
@@ -19,6 +19,7 @@
 package boofcv.alg.feature.describe;
 
 import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
 
 
 /**
@@ -34,4 +35,13 @@ public class TestDescribePointSurf  extends BaseTestDescribeSurf<ImageFloat32,Im
 	public DescribePointSurf<ImageFloat32> createAlg() {
 		return new DescribePointSurf<ImageFloat32>(ImageFloat32.class);
 	}
+
+	/**
+	 * A subclass which doesn't override copy() would be described by instances of the base class
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void setConcurrent_copyNotOverridden() {
+		DescribePointSurf<ImageFloat32> alg = new DescribePointSurf<ImageFloat32>(ImageFloat32.class) {};
+		alg.setConcurrent(true);
+	}
 }
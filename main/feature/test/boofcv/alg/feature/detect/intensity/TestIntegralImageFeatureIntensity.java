@@ -21,6 +21,8 @@ package boofcv.alg.feature.detect.intensity;
 import boofcv.alg.feature.detect.intensity.impl.ImplIntegralImageFeatureIntensity;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.testing.BoofTesting;
@@ -87,4 +89,47 @@ public class TestIntegralImageFeatureIntensity {
 			BoofTesting.assertEquals(expected,found, 1e-4f);
 		}
 	}
+
+	/**
+	 * Computing the intensity in strips of rows should produce identical results
+	 */
+	@Test
+	public void hessian_concurrent() {
+		ImageFloat32 original = new ImageFloat32(width,height);
+		ImageFloat32 integralF = new ImageFloat32(width,height);
+		ImageSInt32 integralS = new ImageSInt32(width,height);
+
+		GImageMiscOps.fillUniform(original, rand, 0, 50);
+		IntegralImageOps.transform(original,integralF);
+		ImageSInt32 originalS = new ImageSInt32(width,height);
+		GImageMiscOps.fillUniform(originalS, rand, 0, 50);
+		IntegralImageOps.transform(originalS,integralS);
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int size : new int[]{9,15,27} ) {
+				for( int skip = 1; skip <= 2; skip++ ) {
+					ImageFloat32 expected[] = new ImageFloat32[2];
+					for( int trial = 0; trial < 2; trial++ ) {
+						BoofConcurrency.setUseConcurrent(trial == 1);
+
+						ImageFloat32 foundF = new ImageFloat32(width/skip,height/skip);
+						ImageFloat32 foundS = new ImageFloat32(width/skip,height/skip);
+						IntegralImageFeatureIntensity.hessian(integralF,skip,size,foundF);
+						IntegralImageFeatureIntensity.hessian(integralS,skip,size,foundS);
+
+						if( trial == 0 ) {
+							expected[0] = foundF;
+							expected[1] = foundS;
+						} else {
+							BoofTesting.assertEquals(expected[0],foundF, 0);
+							BoofTesting.assertEquals(expected[1],foundS, 0);
+						}
+					}
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
 }
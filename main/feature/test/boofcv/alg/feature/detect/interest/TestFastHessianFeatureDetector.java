@@ -20,9 +20,19 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.feature.detect.extract.ConfigExtract;
 import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -49,4 +59,45 @@ public class TestFastHessianFeatureDetector extends GenericFeatureDetector {
 
 		return alg.getFoundPoints().size();
 	}
+
+	/**
+	 * Searching feature sizes concurrently should find the same features in the same order
+	 */
+	@Test
+	public void concurrent() {
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			ImageFloat32 input = new ImageFloat32(width,height);
+			ImageMiscOps.fillUniform(input, new Random(234), 0, 200);
+			ImageFloat32 integral = IntegralImageOps.transform(input,null);
+
+			ConfigExtract configExtract = new ConfigExtract(1, 1, 5, true);
+			FastHessianFeatureDetector<ImageFloat32> alg1 =
+					new FastHessianFeatureDetector<ImageFloat32>(configExtract, 20, 1, 9, 4, 4);
+			FastHessianFeatureDetector<ImageFloat32> alg2 =
+					new FastHessianFeatureDetector<ImageFloat32>(configExtract, 20, 1, 9, 4, 4);
+			alg2.setConcurrent(true);
+
+			// process it twice to make sure the detectors can be reused
+			for( int trial = 0; trial < 2; trial++ ) {
+				alg1.detect(integral);
+				alg2.detect(integral);
+
+				List<ScalePoint> found1 = alg1.getFoundPoints();
+				List<ScalePoint> found2 = alg2.getFoundPoints();
+
+				assertTrue(found1.size() > 0);
+				assertEquals(found1.size(), found2.size());
+				for( int i = 0; i < found1.size(); i++ ) {
+					ScalePoint a = found1.get(i);
+					ScalePoint b = found2.get(i);
+					assertEquals(a.x, b.x, 0);
+					assertEquals(a.y, b.y, 0);
+					assertEquals(a.scale, b.scale, 0);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
 }
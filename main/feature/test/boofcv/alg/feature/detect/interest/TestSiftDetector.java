@@ -19,13 +19,17 @@
 package boofcv.alg.feature.detect.interest;
 
 import boofcv.abst.feature.detect.interest.ConfigSiftDetector;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
 import boofcv.struct.feature.ScalePoint;
 import boofcv.struct.image.ImageFloat32;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -92,4 +96,53 @@ public class TestSiftDetector extends GenericFeatureDetector {
 		assertTrue(countWhite>0);
 		assertTrue(countBlack>0);
 	}
+
+	/**
+	 * Searching layers concurrently should find the same features in the same order
+	 */
+	@Test
+	public void concurrent() {
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			ImageFloat32 input = new ImageFloat32(width,height);
+			ImageMiscOps.fillUniform(input, new Random(234), 0, 200);
+
+			ConfigSiftDetector config = new ConfigSiftDetector();
+			config.maxFeaturesPerScale = 50;
+
+			SiftDetector alg1 = FactoryInterestPointAlgs.siftDetector(config);
+			SiftDetector alg2 = FactoryInterestPointAlgs.siftDetector(config);
+
+			SiftImageScaleSpace ss1 = new SiftImageScaleSpace(1.6f, 6, 4, false);
+			SiftImageScaleSpace ss2 = new SiftImageScaleSpace(1.6f, 6, 4, false);
+			ss2.setConcurrent(true);
+
+			ss1.constructPyramid(input);
+			ss1.computeFeatureIntensity();
+			ss2.constructPyramid(input);
+			ss2.computeFeatureIntensity();
+
+			// process it twice to make sure the detectors can be reused
+			for( int trial = 0; trial < 2; trial++ ) {
+				alg1.process(ss1);
+				alg2.process(ss2);
+
+				List<ScalePoint> found1 = alg1.getFoundPoints().toList();
+				List<ScalePoint> found2 = alg2.getFoundPoints().toList();
+
+				assertTrue(found1.size() > 0);
+				assertEquals(found1.size(), found2.size());
+				for( int i = 0; i < found1.size(); i++ ) {
+					ScalePoint a = found1.get(i);
+					ScalePoint b = found2.get(i);
+					assertEquals(a.x, b.x, 0);
+					assertEquals(a.y, b.y, 0);
+					assertEquals(a.scale, b.scale, 0);
+					assertEquals(a.white, b.white);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
 }
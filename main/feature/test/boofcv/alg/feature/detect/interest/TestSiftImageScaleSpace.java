@@ -20,6 +20,8 @@ package boofcv.alg.feature.detect.interest;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageStatistics;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
@@ -192,4 +194,44 @@ public class TestSiftImageScaleSpace {
 			assertEquals(sum1,sum2,1e-6);
 		}
 	}
+
+	/**
+	 * Processing layers concurrently should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( boolean doubleInput : new boolean[]{false,true}) {
+				SiftImageScaleSpace ss1 = new SiftImageScaleSpace(1.6f, 5, 4, doubleInput);
+				SiftImageScaleSpace ss2 = new SiftImageScaleSpace(1.6f, 5, 4, doubleInput);
+				ss2.setConcurrent(true);
+
+				ImageFloat32 input = new ImageFloat32(60,70);
+				GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+				BoofConcurrency.setUseConcurrent(false);
+				ss1.constructPyramid(input);
+				ss1.computeFeatureIntensity();
+				ss1.computeDerivatives();
+
+				BoofConcurrency.setUseConcurrent(true);
+				ss2.constructPyramid(input);
+				ss2.computeFeatureIntensity();
+				ss2.computeDerivatives();
+
+				int total = ss1.actualOctaves*ss1.numScales;
+				for( int i = 0; i < total; i++ ) {
+					BoofTesting.assertEquals(ss1.scale[i], ss2.scale[i], 0);
+					BoofTesting.assertEquals(ss1.derivX[i], ss2.derivX[i], 0);
+					BoofTesting.assertEquals(ss1.derivY[i], ss2.derivY[i], 0);
+				}
+				for( int i = 0; i < ss1.actualOctaves*(ss1.numScales-1); i++ ) {
+					BoofTesting.assertEquals(ss1.dog[i], ss2.dog[i], 0);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
 }
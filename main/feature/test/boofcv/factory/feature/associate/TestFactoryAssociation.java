@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.feature.associate;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.abst.feature.associate.ScoreAssociateHamming_B;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFactoryAssociation {
+
+	Random rand = new Random(234);
+
+	/**
+	 * A subclass of the Hamming score can change the score, so it must not be replaced by the specialized algorithm
+	 */
+	@Test
+	public void greedy_hammingSubclass() {
+		FastQueue<TupleDesc_B> src = createDescriptions(10);
+		FastQueue<TupleDesc_B> dst = createDescriptions(10);
+
+		// every pair has the same score, so the last destination is always selected
+		AssociateDescription<TupleDesc_B> alg = FactoryAssociation.greedy(new ScoreAssociateHamming_B() {
+			@Override
+			public double score(TupleDesc_B a, TupleDesc_B b) {
+				return 0;
+			}
+		}, Double.MAX_VALUE, false);
+
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+		assertEquals(src.size(), matches.size());
+		for( int i = 0; i < matches.size(); i++ ) {
+			assertEquals(dst.size()-1, matches.get(i).dst);
+		}
+	}
+
+	/**
+	 * The exact Hamming score should still produce the regular results
+	 */
+	@Test
+	public void greedy_hamming() {
+		FastQueue<TupleDesc_B> src = createDescriptions(10);
+		FastQueue<TupleDesc_B> dst = new FastQueue<TupleDesc_B>(TupleDesc_B.class,false);
+		for( int i = src.size()-1; i >= 0; i-- )
+			dst.add(src.get(i));
+
+		AssociateDescription<TupleDesc_B> alg =
+				FactoryAssociation.greedy(new ScoreAssociateHamming_B(), Double.MAX_VALUE, false);
+
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+		assertEquals(src.size(), matches.size());
+		for( int i = 0; i < matches.size(); i++ ) {
+			AssociatedIndex m = matches.get(i);
+			assertEquals(src.size()-1-m.src, m.dst);
+		}
+	}
+
+	private FastQueue<TupleDesc_B> createDescriptions( int total ) {
+		FastQueue<TupleDesc_B> ret = new FastQueue<TupleDesc_B>(TupleDesc_B.class,false);
+		for( int i = 0; i < total; i++ ) {
+			TupleDesc_B d = new TupleDesc_B(64);
+			for( int j = 0; j < d.data.length; j++ )
+				d.data[j] = rand.nextInt();
+			ret.add(d);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedTupleArray_B {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Check even and odd number of ints, which fill the last long in different ways
+	 */
+	@Test
+	public void append_getCopy() {
+		for( int numBits : new int[]{32,64,96,256,300} ) {
+			PackedTupleArray_B alg = new PackedTupleArray_B(numBits);
+
+			TupleDesc_B[] expected = new TupleDesc_B[15];
+			for( int i = 0; i < expected.length; i++ ) {
+				expected[i] = random(numBits);
+				alg.append(expected[i]);
+			}
+
+			assertEquals(expected.length, alg.size());
+			assertEquals((expected[0].data.length+1)/2, alg.numLongs);
+			TupleDesc_B found = new TupleDesc_B(numBits);
+			for( int i = 0; i < expected.length; i++ ) {
+				alg.getCopy(i, found);
+				assertArrayEquals(expected[i].data, found.data);
+				assertEquals(numBits, found.numBits);
+			}
+		}
+	}
+
+	/**
+	 * The first int should be in the lower bits of a long
+	 */
+	@Test
+	public void packing() {
+		TupleDesc_B a = new TupleDesc_B(96);
+		a.data[0] = -2;
+		a.data[1] = 5;
+		a.data[2] = -7;
+
+		PackedTupleArray_B alg = new PackedTupleArray_B(96);
+		alg.append(a);
+
+		assertEquals((-2 & 0xFFFFFFFFL) | (5L << 32), alg.data[0]);
+		assertEquals(-7 & 0xFFFFFFFFL, alg.data[1]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void append_wrongLength() {
+		PackedTupleArray_B alg = new PackedTupleArray_B(64);
+		alg.append(new TupleDesc_B(96));
+	}
+
+	@Test
+	public void setTo_copyInto() {
+		final int numBits = 160;
+		FastQueue<TupleDesc_B> list = new BriefFeatureQueue(numBits);
+		for( int i = 0; i < 12; i++ ) {
+			list.grow().setTo(random(numBits));
+		}
+
+		PackedTupleArray_B alg = new PackedTupleArray_B(numBits);
+		alg.append(random(numBits));
+		alg.setTo(list);
+		assertEquals(list.size, alg.size());
+
+		FastQueue<TupleDesc_B> found = new BriefFeatureQueue(numBits);
+		alg.copyInto(found);
+		assertEquals(list.size, found.size);
+		for( int i = 0; i < list.size; i++ ) {
+			assertArrayEquals(list.get(i).data, found.get(i).data);
+		}
+	}
+
+	private TupleDesc_B random( int numBits ) {
+		TupleDesc_B t = new TupleDesc_B(numBits);
+		for( int i = 0; i < t.data.length; i++ )
+			t.data[i] = rand.nextInt();
+		return t;
+	}
+}
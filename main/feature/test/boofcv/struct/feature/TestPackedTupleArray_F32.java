@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package boofcv.struct.feature;
+
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedTupleArray_F32 {
+
+	Random rand = new Random(234);
+
+	int dof = 6;
+
+	@Test
+	public void append_getCopy() {
+		PackedTupleArray_F32 alg = new PackedTupleArray_F32(dof);
+
+		List<TupleDesc_F32> expected = new ArrayList<TupleDesc_F32>();
+		for( int i = 0; i < 25; i++ ) {
+			TupleDesc_F32 t = random();
+			expected.add(t);
+			alg.append(t);
+		}
+
+		assertEquals(25, alg.size());
+		TupleDesc_F32 found = new TupleDesc_F32(dof);
+		for( int i = 0; i < expected.size(); i++ ) {
+			alg.getCopy(i, found);
+			assertArrayEquals(expected.get(i).value, found.value, 0);
+			assertEquals(expected.get(i).value[2], alg.data[alg.getStartIndex(i)+2], 0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void append_wrongLength() {
+		PackedTupleArray_F32 alg = new PackedTupleArray_F32(dof);
+		alg.append(new TupleDesc_F32(dof+1));
+	}
+
+	@Test
+	public void set() {
+		PackedTupleArray_F32 alg = new PackedTupleArray_F32(dof);
+		alg.resize(3);
+		TupleDesc_F32 a = random();
+		alg.set(1, a);
+
+		TupleDesc_F32 found = new TupleDesc_F32(dof);
+		alg.getCopy(1, found);
+		assertArrayEquals(a.value, found.value, 0);
+	}
+
+	/**
+	 * Growing the array should not change descriptors which are already in it
+	 */
+	@Test
+	public void reserve() {
+		PackedTupleArray_F32 alg = new PackedTupleArray_F32(dof);
+		TupleDesc_F32 a = random();
+		alg.append(a);
+		alg.reserve(100);
+
+		assertEquals(1, alg.size());
+		assertEquals(100*dof, alg.data.length);
+		TupleDesc_F32 found = new TupleDesc_F32(dof);
+		alg.getCopy(0, found);
+		assertArrayEquals(a.value, found.value, 0);
+	}
+
+	@Test
+	public void setTo_copyInto() {
+		FastQueue<TupleDesc_F32> list = createQueue();
+		for( int i = 0; i < 12; i++ ) {
+			list.grow().setTo(random());
+		}
+
+		PackedTupleArray_F32 alg = new PackedTupleArray_F32(dof);
+		alg.append(random());
+		alg.setTo(list);
+		assertEquals(list.size, alg.size());
+
+		FastQueue<TupleDesc_F32> found = createQueue();
+		found.grow();
+		alg.copyInto(found);
+		assertEquals(list.size, found.size);
+		for( int i = 0; i < list.size; i++ ) {
+			assertArrayEquals(list.get(i).value, found.get(i).value, 0);
+		}
+	}
+
+	@Test
+	public void setTo_arrays() {
+		List<float[]> list = new ArrayList<float[]>();
+		for( int i = 0; i < 12; i++ ) {
+			list.add(random().value);
+		}
+
+		PackedTupleArray_F32 alg = new PackedTupleArray_F32(dof);
+		alg.setTo(list);
+		assertEquals(list.size(), alg.size());
+
+		TupleDesc_F32 found = new TupleDesc_F32(dof);
+		for( int i = 0; i < list.size(); i++ ) {
+			alg.getCopy(i, found);
+			assertArrayEquals(list.get(i), found.value, 0);
+		}
+	}
+
+	private FastQueue<TupleDesc_F32> createQueue() {
+		return new FastQueue<TupleDesc_F32>(10,TupleDesc_F32.class,true) {
+			@Override
+			protected TupleDesc_F32 createInstance() {
+				return new TupleDesc_F32(dof);
+			}
+		};
+	}
+
+	private TupleDesc_F32 random() {
+		TupleDesc_F32 t = new TupleDesc_F32(dof);
+		for( int i = 0; i < dof; i++ )
+			t.value[i] = rand.nextFloat();
+		return t;
+	}
+}
@@ -49,6 +49,8 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 
 	// storage for image pyramid
 	protected PyramidDiscrete<I> basePyramid;
+	// ID of the frame being processed, -1 if unknown
+	protected long frameID = -1;
 	protected D[] derivX;
 	protected D[] derivY;
 	protected Class<D> derivType;
@@ -228,6 +230,19 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 		dropped.clear();
 	}
 
+	/**
+	 * Same as {@link #process(ImageSingleBand)} but the image pyramid is only updated if it hasn't already been
+	 * computed for this frame.  Used when the image pyramid is shared with other trackers.
+	 *
+	 * @param image Next image in the sequence
+	 * @param frameID ID of the frame, e.g. its index in the sequence
+	 */
+	public void process( I image , long frameID ) {
+		this.frameID = frameID;
+		process(image);
+		this.frameID = -1;
+	}
+
 	@Override
 	public void process(I image) {
 		this.input = image;
@@ -236,7 +251,7 @@ public class PointTrackerKltPyramid<I extends ImageSingleBand,D extends ImageSin
 		dropped.clear();
 
 		// update image pyramids
-		basePyramid.process(image);
+		basePyramid.process(image,frameID);
 		declareOutput();
 		PyramidOps.gradient(basePyramid, gradient, derivX,derivY);
 
@@ -70,7 +70,7 @@ public class PointTrackerTwoPassKltPyramid<I extends ImageSingleBand,D extends I
 		dropped.clear();
 
 		// update image pyramids
-		basePyramid.process(image);
+		basePyramid.process(image,frameID);
 		declareOutput();
 		PyramidOps.gradient(basePyramid, gradient, derivX, derivY);
 
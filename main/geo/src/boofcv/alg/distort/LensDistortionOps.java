@@ -64,6 +64,30 @@ public class LensDistortionOps {
 	ImageDistort<T,T> imageRemoveDistortion(AdjustmentType type, BorderType borderType,
 											IntrinsicParameters param, IntrinsicParameters paramAdj,
 											ImageType<T> imageType)
+	{
+		return imageRemoveDistortion(type, borderType, param, paramAdj, imageType, false);
+	}
+
+	/**
+	 * <p>
+	 * Same as {@link #imageRemoveDistortion(AdjustmentType, BorderType, IntrinsicParameters, IntrinsicParameters, ImageType)}
+	 * but can also use a fixed point remap table, see {@link ImageDistortRemap}.  The table uses less memory
+	 * than the cached distortion and is faster to apply, but is only supported for {@link boofcv.struct.image.ImageUInt8}
+	 * and {@link boofcv.struct.image.ImageFloat32} bands.
+	 * </p>
+	 *
+	 * @param type The type of adjustment it will do
+	 * @param borderType Specifies how the image border is handled. Null means borders are ignored.
+	 * @param param Original intrinsic parameters.
+	 * @param paramAdj (output) Intrinsic parameters which reflect the undistorted image.  Can be null.
+	 * @param imageType Type of image it will undistort
+	 * @param remap If true a fixed point remap table is used.
+	 * @return ImageDistort which removes lens distortion
+	 */
+	public static <T extends ImageBase>
+	ImageDistort<T,T> imageRemoveDistortion(AdjustmentType type, BorderType borderType,
+											IntrinsicParameters param, IntrinsicParameters paramAdj,
+											ImageType<T> imageType, boolean remap )
 	{
 		Class bandType = imageType.getImageClass();
 		boolean skip = borderType == BorderType.SKIP;
@@ -90,11 +114,17 @@ public class LensDistortionOps {
 
 		switch( imageType.getFamily() ) {
 			case SINGLE_BAND:
-				distort = FactoryDistort.distortSB(true, interp, bandType);
+				if( remap )
+					distort = FactoryDistort.distortRemapSB(interp, bandType);
+				else
+					distort = FactoryDistort.distortSB(true, interp, bandType);
 				break;
 
 			case MULTI_SPECTRAL:
-				distort = FactoryDistort.distortMS(true,interp, bandType);
+				if( remap )
+					distort = FactoryDistort.distortRemapMS(interp, bandType);
+				else
+					distort = FactoryDistort.distortMS(true,interp, bandType);
 				break;
 
 			default:
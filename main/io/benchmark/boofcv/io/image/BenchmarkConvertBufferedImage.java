@@ -19,10 +19,12 @@
 package boofcv.io.image;
 
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 
 import java.awt.image.BufferedImage;
@@ -85,6 +87,26 @@ public class BenchmarkConvertBufferedImage {
 		}
 	}
 
+	public static class WrapImageUInt8 extends PerformerBase
+	{
+		ImageUInt8 storage = new ImageUInt8();
+
+		@Override
+		public void process() {
+			ConvertBufferedImage.wrapImageUInt8(imgBuff, storage);
+		}
+	}
+
+	public static class WrapInterleavedU8 extends PerformerBase
+	{
+		InterleavedU8 storage = new InterleavedU8();
+
+		@Override
+		public void process() {
+			ConvertBufferedImage.wrapInterleavedU8(imgBuff, storage);
+		}
+	}
+
 	public static void createBufferedImage( int type ) {
 		imgBuff = new BufferedImage(imgWidth,imgHeight,type);
 
@@ -104,6 +126,15 @@ public class BenchmarkConvertBufferedImage {
 		System.out.printf("%s to Buffered  %10.2f ops/sec\n",name,
 				ProfileOperation.profileOpsPerSec(new FromBoofToBuff(),1000, false));
 
+		BoofConcurrency.setUseConcurrent(true);
+		try {
+			System.out.printf("Buffered to %s concurrent  %10.2f ops/sec\n",name,
+					ProfileOperation.profileOpsPerSec(new FromBuffToBoof(),1000, false));
+			System.out.printf("%s to Buffered concurrent  %10.2f ops/sec\n",name,
+					ProfileOperation.profileOpsPerSec(new FromBoofToBuff(),1000, false));
+		} finally {
+			BoofConcurrency.setUseConcurrent(false);
+		}
 	}
 	
 	public static void main( String args[] ) {
@@ -138,9 +169,17 @@ public class BenchmarkConvertBufferedImage {
 				ProfileOperation.profileOpsPerSec(new ExtractImageInt8(),1000, false));
 		System.out.printf("extractBuffered              %10.2f ops/sec\n",
 				ProfileOperation.profileOpsPerSec(new ExtractBuffered(),1000, false));
+		System.out.printf("wrapImageUInt8               %10.2f ops/sec\n",
+				ProfileOperation.profileOpsPerSec(new WrapImageUInt8(),1000, false));
 
 		System.out.println();
 		System.out.println("=========  Profiling for ImageInterleavedInt8 ==========");
 		System.out.println();
+
+		createBufferedImage(BufferedImage.TYPE_3BYTE_BGR);
+		System.out.println("---- TYPE_3BYTE_BGR ----");
+		evaluateConvert(new InterleavedU8(imgWidth,imgHeight,3),"InterleavedU8");
+		System.out.printf("wrapInterleavedU8            %10.2f ops/sec\n",
+				ProfileOperation.profileOpsPerSec(new WrapInterleavedU8(),1000, false));
 	}
 }
@@ -18,6 +18,8 @@
 
 package boofcv.io.image;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.*;
 import sun.awt.image.ByteInterleavedRaster;
@@ -99,22 +101,14 @@ public class ConvertBufferedImage {
 	/**
 	 * Creates a new BufferedImage that internally uses the same data as the provided
 	 * {@link InterleavedU8}.  If 3 bands then the image will be of type TYPE_3BYTE_BGR
-	 * or if 1 band TYPE_BYTE_GRAY.
+	 * or if 1 band TYPE_BYTE_GRAY.  Sub-images are supported.
 	 *
 	 * @param img Input image who's data will be wrapped by the returned BufferedImage.
 	 * @return BufferedImage which shared data with the input image.
 	 */
 	public static BufferedImage extractBuffered(InterleavedU8 img) {
-		if (img.isSubimage())
-			throw new IllegalArgumentException("Sub-images are not supported for this operation");
-
-		final int width = img.width;
-		final int height = img.height;
 		final int numBands = img.numBands;
 
-		// wrap the byte array
-		DataBuffer bufferByte = new DataBufferByte(img.data, width * height * numBands, 0);
-
 		ColorModel colorModel;
 		int[] bOffs = null;
 
@@ -137,8 +131,7 @@ public class ConvertBufferedImage {
 		}
 
 		// Create a raster using the sample model and data buffer
-		WritableRaster raster = Raster.createInterleavedRaster(
-				bufferByte, width, height, img.stride, numBands, bOffs, new Point(0, 0));
+		WritableRaster raster = createInterleavedRaster(img.data, img, numBands, bOffs);
 
 		// Combine the color model and raster into a buffered image
 
@@ -148,26 +141,13 @@ public class ConvertBufferedImage {
 	/**
 	 * <p>
 	 * Creates a new BufferedImage that internally uses the same data as the provided
-	 * ImageUInt8.  The returned BufferedImage will be of type TYPE_BYTE_GRAY.
-	 * </p>
-	 * <p/>
-	 * <p>
-	 * NOTE: This only works on images which are not subimages!
+	 * ImageUInt8.  The returned BufferedImage will be of type TYPE_BYTE_GRAY.  Sub-images are supported.
 	 * </p>
 	 *
 	 * @param img Input image who's data will be wrapped by the returned BufferedImage.
 	 * @return BufferedImage which shared data with the input image.
 	 */
 	public static BufferedImage extractBuffered(ImageUInt8 img) {
-		if (img.isSubimage())
-			throw new IllegalArgumentException("Sub-images are not supported for this operation");
-
-		final int width = img.width;
-		final int height = img.height;
-
-		// wrap the byte array
-		DataBuffer bufferByte = new DataBufferByte(img.data, width * height, 0);
-
 		ColorModel colorModel;
 		int[] bOffs = new int[]{0};
 
@@ -178,13 +158,159 @@ public class ConvertBufferedImage {
 				DataBuffer.TYPE_BYTE);
 
 		// Create a raster using the sample model and data buffer
-		WritableRaster raster = Raster.createInterleavedRaster(
-				bufferByte, width, height, img.stride, 1, bOffs, new Point(0, 0));
+		WritableRaster raster = createInterleavedRaster(img.data, img, 1, bOffs);
 
 		// Combine the color model and raster into a buffered image
 		return new BufferedImage(colorModel, raster, false, null);
 	}
 
+	/**
+	 * Creates a raster which wraps the image's byte array.  Sub-images are handled by creating a child of a raster
+	 * which starts at the beginning of the array.  Unlike offsetting the bands, this ensures that the
+	 * BufferedImage's type is the same as it would be for the parent image.
+	 */
+	private static WritableRaster createInterleavedRaster( byte[] data , ImageBase img , int numBands , int[] bOffs ) {
+		DataBuffer bufferByte = new DataBufferByte(data, data.length, 0);
+
+		int y0 = img.startIndex / img.stride;
+		int x0 = (img.startIndex - y0*img.stride) / numBands;
+		int remainder = img.startIndex - y0*img.stride - x0*numBands;
+
+		if( remainder != 0 ) {
+			// not aligned with the start of a pixel, which can only be handled by offsetting the bands
+			bOffs = bOffs.clone();
+			for( int i = 0; i < bOffs.length; i++ ) {
+				bOffs[i] += remainder;
+			}
+		}
+
+		WritableRaster raster = Raster.createInterleavedRaster(
+				bufferByte, x0 + img.width, y0 + img.height, img.stride, numBands, bOffs, new Point(0, 0));
+
+		if( x0 == 0 && y0 == 0 )
+			return raster;
+		return raster.createWritableChild(x0, y0, img.width, img.height, 0, 0, null);
+	}
+
+	/**
+	 * <p>
+	 * Wraps the data inside a single band byte BufferedImage, e.g. TYPE_BYTE_GRAY, with an {@link ImageUInt8}.
+	 * No data is copied and both images will share the same array, so changes to one will be seen in the other.
+	 * Sub-images are supported.  Unlike {@link #extractImageUInt8(BufferedImage)} only the public raster API
+	 * is used.
+	 * </p>
+	 *
+	 * @param src BufferedImage which is to be wrapped.
+	 * @param storage (Optional) Storage for the wrapped image.  If null a new image is declared.
+	 * @return Image which shares data with the BufferedImage.
+	 * @throws IllegalArgumentException If the BufferedImage's data can't be wrapped.  See {@link #isWrappable}.
+	 */
+	public static ImageUInt8 wrapImageUInt8( BufferedImage src , ImageUInt8 storage ) {
+		if( !isWrappable(src, 1) )
+			throw new IllegalArgumentException("BufferedImage is not a single band byte image which can be wrapped");
+
+		if( storage == null )
+			storage = new ImageUInt8();
+
+		wrap(src, storage);
+		return storage;
+	}
+
+	/**
+	 * <p>
+	 * Wraps the data inside a pixel interleaved byte BufferedImage, e.g. TYPE_3BYTE_BGR or TYPE_BYTE_GRAY, with
+	 * an {@link InterleavedU8}.  No data is copied and both images will share the same array, so changes to one
+	 * will be seen in the other.  The order of bands is the same as in memory, e.g. BGR for TYPE_3BYTE_BGR.
+	 * Sub-images are supported.
+	 * </p>
+	 *
+	 * @param src BufferedImage which is to be wrapped.
+	 * @param storage (Optional) Storage for the wrapped image.  If null a new image is declared.
+	 * @return Image which shares data with the BufferedImage.
+	 * @throws IllegalArgumentException If the BufferedImage's data can't be wrapped.  See {@link #isWrappable}.
+	 */
+	public static InterleavedU8 wrapInterleavedU8( BufferedImage src , InterleavedU8 storage ) {
+		if( !isWrappable(src, -1) )
+			throw new IllegalArgumentException("BufferedImage is not an interleaved byte image which can be wrapped");
+
+		if( storage == null )
+			storage = new InterleavedU8();
+
+		storage.numBands = src.getRaster().getNumBands();
+		wrap(src, storage);
+		return storage;
+	}
+
+	/**
+	 * Checks to see if the BufferedImage's data can be wrapped without copying.  This is possible if it's
+	 * composed of bytes with the bands of each pixel stored next to each other, e.g. TYPE_BYTE_GRAY and
+	 * TYPE_3BYTE_BGR, and doesn't use an indexed color model.
+	 *
+	 * @param img The BufferedImage being checked.
+	 * @param numBands The required number of bands or -1 for any number of bands.
+	 * @return true if it can be wrapped
+	 */
+	public static boolean isWrappable( BufferedImage img , int numBands ) {
+		if( img.getColorModel() instanceof IndexColorModel )
+			return false;
+
+		Raster raster = img.getRaster();
+		if( !(raster.getDataBuffer() instanceof DataBufferByte) ||
+				!(raster.getSampleModel() instanceof ComponentSampleModel) )
+			return false;
+		if( numBands >= 0 && raster.getNumBands() != numBands )
+			return false;
+
+		ComponentSampleModel sm = (ComponentSampleModel)raster.getSampleModel();
+		int N = raster.getNumBands();
+		if( sm.getPixelStride() != N || raster.getDataBuffer().getNumBanks() != 1 )
+			return false;
+
+		// each band in a pixel must be at a different offset inside of [0,N)
+		int[] bandOffsets = sm.getBandOffsets();
+		int first = minimum(bandOffsets);
+		boolean[] used = new boolean[N];
+		for( int i = 0; i < N; i++ ) {
+			int o = bandOffsets[i] - first;
+			if( o >= N || used[o] )
+				return false;
+			used[o] = true;
+		}
+		return true;
+	}
+
+	/**
+	 * Points the image at the BufferedImage's data.  It's assumed that {@link #isWrappable} has been called.
+	 */
+	private static void wrap( BufferedImage src , ImageBase dst ) {
+		Raster raster = src.getRaster();
+		ComponentSampleModel sm = (ComponentSampleModel)raster.getSampleModel();
+		DataBufferByte buffer = (DataBufferByte)raster.getDataBuffer();
+
+		// location of the raster's first pixel inside the sample model, which isn't at (0,0) for sub-images
+		int x = raster.getMinX() - raster.getSampleModelTranslateX();
+		int y = raster.getMinY() - raster.getSampleModelTranslateY();
+
+		dst.width = src.getWidth();
+		dst.height = src.getHeight();
+		dst.stride = sm.getScanlineStride();
+		dst.startIndex = buffer.getOffset() + y*dst.stride + x*sm.getPixelStride() + minimum(sm.getBandOffsets());
+		dst.subImage = dst.startIndex != 0 || dst.stride != dst.width*raster.getNumBands();
+
+		if( dst instanceof ImageUInt8 )
+			((ImageUInt8)dst).data = buffer.getData();
+		else
+			((InterleavedU8)dst).data = buffer.getData();
+	}
+
+	private static int minimum( int[] values ) {
+		int min = Integer.MAX_VALUE;
+		for( int v : values ) {
+			min = Math.min(min, v);
+		}
+		return min;
+	}
+
 	/**
 	 * Converts a buffered image into an image of the specified type.
 	 * 
@@ -193,6 +319,14 @@ public class ConvertBufferedImage {
 	 * @param orderRgb If applicable, should it adjust the ordering of each color band to maintain color consistency
 	 */
 	public static <T extends ImageBase> void convertFrom(BufferedImage src, T dst , boolean orderRgb) {
+		if( isConcurrent(src, dst) ) {
+			convertFromConcurrent(src, dst, orderRgb);
+		} else {
+			convertFromSequential(src, dst, orderRgb);
+		}
+	}
+
+	private static void convertFromSequential(BufferedImage src, ImageBase dst , boolean orderRgb) {
 		if( dst instanceof ImageSingleBand ) {
 			ImageSingleBand sb = (ImageSingleBand)dst;
 			convertFromSingle(src, sb, (Class<ImageSingleBand>) sb.getClass());
@@ -206,6 +340,52 @@ public class ConvertBufferedImage {
 		}
 	}
 
+	/**
+	 * Converts the image one band of rows at a time, with each band being processed by a different thread.
+	 * Each band is a sub-image of both the BufferedImage and the BoofCV image.
+	 */
+	private static void convertFromConcurrent( final BufferedImage src, final ImageBase dst , boolean orderRgb ) {
+		if (src.getWidth() != dst.getWidth() || src.getHeight() != dst.getHeight()) {
+			throw new IllegalArgumentException("image dimension are different");
+		}
+
+		// MultiSpectral bands are reordered by swapping references, which must be done once for the whole image
+		final boolean orderMulti = orderRgb && dst instanceof MultiSpectral;
+		final boolean orderRows = orderRgb && !orderMulti;
+
+		BoofConcurrency.loopRows(dst, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				BufferedImage srcRows = src.getSubimage(0, y0, src.getWidth(), y1 - y0);
+				ImageBase dstRows = dst.subimage(0, y0, dst.width, y1, null);
+				convertFromSequential(srcRows, dstRows, orderRows);
+			}
+		});
+
+		if( orderMulti ) {
+			orderBandsIntoRGB((MultiSpectral) dst, src);
+		}
+	}
+
+	/**
+	 * Returns true if the conversion should be split into bands of rows and processed concurrently.  Only
+	 * rasters which are known to correctly handle sub-images are processed concurrently.
+	 */
+	private static boolean isConcurrent( BufferedImage buffered , ImageBase image ) {
+		if( !BoofConcurrency.isActive(image) )
+			return false;
+
+		try {
+			WritableRaster raster = buffered.getRaster();
+			if( raster instanceof IntegerInterleavedRaster )
+				return true;
+			return raster instanceof ByteInterleavedRaster &&
+					buffered.getType() != BufferedImage.TYPE_BYTE_INDEXED;
+		} catch( java.security.AccessControlException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * Converts a buffered image into an image of the specified type.
 	 *
@@ -545,6 +725,14 @@ public class ConvertBufferedImage {
 	 * @return Converted image.
 	 */
 	public static BufferedImage convertTo( ImageBase src, BufferedImage dst, boolean orderRgb ) {
+		if( dst != null && isConcurrent(dst, src) ) {
+			return convertToConcurrent(src, dst, orderRgb);
+		} else {
+			return convertToSequential(src, dst, orderRgb);
+		}
+	}
+
+	private static BufferedImage convertToSequential( ImageBase src, BufferedImage dst, boolean orderRgb ) {
 		if( src instanceof ImageSingleBand ) {
 			if( ImageUInt8.class == src.getClass() ) {
 				return convertTo((ImageUInt8)src,dst);
@@ -578,6 +766,24 @@ public class ConvertBufferedImage {
 		throw new IllegalArgumentException("Image type is not yet supported: "+src.getClass().getSimpleName());
 	}
 
+	/**
+	 * Converts the image one band of rows at a time, with each band being processed by a different thread.
+	 */
+	private static BufferedImage convertToConcurrent( final ImageBase src, final BufferedImage dst, final boolean orderRgb ) {
+		checkInputs(src, dst);
+
+		BoofConcurrency.loopRows(src, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageBase srcRows = src.subimage(0, y0, src.width, y1, null);
+				BufferedImage dstRows = dst.getSubimage(0, y0, dst.getWidth(), y1 - y0);
+				convertToSequential(srcRows, dstRows, orderRgb);
+			}
+		});
+
+		return dst;
+	}
+
 	/**
 	 * Converts a {@link boofcv.struct.image.ImageUInt8} into a BufferedImage.  If the buffered image
 	 * has multiple channels then the input image is copied into each channel.
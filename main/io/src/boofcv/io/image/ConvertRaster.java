@@ -1166,14 +1166,16 @@ public class ConvertRaster {
 
 		final byte[] srcData = src.data;
 		final byte[] dstData = dst.getDataStorage();
+		final int dstStride = dst.getScanlineStride();
+		final int dstOffset = getOffset(dst);
 
 		final int numBands = dst.getNumBands();
 
 		final int size = src.getWidth() * src.getHeight();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1186,19 +1188,19 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 1) {
-			if (src.startIndex == 0 && src.width == src.stride) {
+			if (src.startIndex == 0 && src.width == src.stride && dstOffset == 0 && dstStride == src.width) {
 				System.arraycopy(srcData, 0, dstData, 0, size);
 			} else {
 				for (int y = 0; y < src.height; y++) {
 					int indexSrc = src.startIndex + src.stride * y;
-					int indexDst = src.width * y;
+					int indexDst = dstOffset + y*dstStride;
 
 					System.arraycopy(srcData, indexSrc, dstData, indexDst, src.width);
 				}
 			}
 		} else if (numBands == 4) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1220,12 +1222,14 @@ public class ConvertRaster {
 
 		final short[] srcData = src.data;
 		final byte[] dstData = dst.getDataStorage();
+		final int dstStride = dst.getScanlineStride();
+		final int dstOffset = getOffset(dst);
 
 		final int numBands = dst.getNumBands();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1238,8 +1242,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 1) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1248,8 +1252,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 4) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1271,12 +1275,14 @@ public class ConvertRaster {
 
 		final float[] srcData = src.data;
 		final byte[] dstData = dst.getDataStorage();
+		final int dstStride = dst.getScanlineStride();
+		final int dstOffset = getOffset(dst);
 
 		final int numBands = dst.getNumBands();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1289,8 +1295,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 1) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1299,8 +1305,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 4) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1322,12 +1328,14 @@ public class ConvertRaster {
 
 		final short[] srcData = src.data;
 		final short[] dstData = dst.getDataStorage();
+		final int dstStride = dst.getScanlineStride();
+		final int dstOffset = getOffset(dst);
 
 		final int numBands = dst.getNumBands();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1340,8 +1348,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 1) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1350,8 +1358,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 4) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1375,6 +1383,8 @@ public class ConvertRaster {
 			throw new IllegalArgumentException("Unequal number of bands src = " + src.getNumBands() + " dst = " + dst.getNumBands());
 
 		final byte[] dstData = dst.getDataStorage();
+		final int dstStride = dst.getScanlineStride();
+		final int dstOffset = getOffset(dst);
 
 		final int numBands = dst.getNumBands();
 
@@ -1383,8 +1393,8 @@ public class ConvertRaster {
 			final byte[] band2 = src.getBand(1).data;
 			final byte[] band3 = src.getBand(2).data;
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1400,8 +1410,8 @@ public class ConvertRaster {
 			final byte[] band3 = src.getBand(2).data;
 			final byte[] band4 = src.getBand(3).data;
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1418,8 +1428,8 @@ public class ConvertRaster {
 				bands[i] = src.getBand(i).data;
 			}
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1437,6 +1447,8 @@ public class ConvertRaster {
 			throw new IllegalArgumentException("Unequal number of bands src = " + src.getNumBands() + " dst = " + dst.getNumBands());
 
 		final byte[] dstData = dst.getDataStorage();
+		final int dstStride = dst.getScanlineStride();
+		final int dstOffset = getOffset(dst);
 
 		final int numBands = dst.getNumBands();
 
@@ -1445,8 +1457,8 @@ public class ConvertRaster {
 			final float[] band2 = src.getBand(1).data;
 			final float[] band3 = src.getBand(2).data;
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1462,8 +1474,8 @@ public class ConvertRaster {
 			final float[] band3 = src.getBand(2).data;
 			final float[] band4 = src.getBand(3).data;
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1480,8 +1492,8 @@ public class ConvertRaster {
 				bands[i] = src.getBand(i).data;
 			}
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + src.stride * y;
 				int indexSrcEnd = indexSrc + src.width;
 
@@ -1497,12 +1509,14 @@ public class ConvertRaster {
 
 		final byte[] srcData = src.data;
 		final int[] dstData = dst.getDataStorage();
+		final int dstStride = dst.getScanlineStride();
+		final int dstOffset = getOffset(dst);
 
 		final int numBands = dst.getNumBands();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++) {
@@ -1512,8 +1526,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 4) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++) {
@@ -1530,12 +1544,14 @@ public class ConvertRaster {
 	public static void grayToBuffered(ImageInt16 src, IntegerInterleavedRaster dst) {
 		final short[] srcData = src.data;
 		final int[] dstData = dst.getDataStorage();
+		final int dstStride = dst.getScanlineStride();
+		final int dstOffset = getOffset(dst);
 
 		final int numBands = dst.getNumBands();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++) {
@@ -1545,8 +1561,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 4) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++) {
@@ -1563,12 +1579,14 @@ public class ConvertRaster {
 	public static void grayToBuffered(ImageFloat32 src, IntegerInterleavedRaster dst) {
 		final float[] srcData = src.data;
 		final int[] dstData = dst.getDataStorage();
+		final int dstStride = dst.getScanlineStride();
+		final int dstOffset = getOffset(dst);
 
 		final int numBands = dst.getNumBands();
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++) {
@@ -1578,8 +1596,8 @@ public class ConvertRaster {
 				}
 			}
 		} else if (numBands == 4) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++) {
@@ -1599,6 +1617,8 @@ public class ConvertRaster {
 			throw new IllegalArgumentException("Unequal number of bands src = " + src.getNumBands() + " dst = " + dst.getNumBands());
 
 		final int[] dstData = dst.getDataStorage();
+		final int dstStride = dst.getScanlineStride();
+		final int dstOffset = getOffset(dst);
 
 		final int numBands = dst.getNumBands();
 
@@ -1607,8 +1627,8 @@ public class ConvertRaster {
 		final byte[] band3 = src.getBand(2).data;
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++, indexSrc++) {
@@ -1622,8 +1642,8 @@ public class ConvertRaster {
 		} else if (numBands == 4) {
 			final byte[] band4 = src.getBand(3).data;
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++, indexSrc++) {
@@ -1646,6 +1666,8 @@ public class ConvertRaster {
 			throw new IllegalArgumentException("Unequal number of bands src = " + src.getNumBands() + " dst = " + dst.getNumBands());
 
 		final int[] dstData = dst.getDataStorage();
+		final int dstStride = dst.getScanlineStride();
+		final int dstOffset = getOffset(dst);
 
 		final int numBands = dst.getNumBands();
 
@@ -1654,8 +1676,8 @@ public class ConvertRaster {
 		final float[] band3 = src.getBand(2).data;
 
 		if (numBands == 3) {
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++, indexSrc++) {
@@ -1669,8 +1691,8 @@ public class ConvertRaster {
 		} else if (numBands == 4) {
 			final float[] band4 = src.getBand(3).data;
 
-			int indexDst = 0;
 			for (int y = 0; y < src.height; y++) {
+				int indexDst = dstOffset + y*dstStride;
 				int indexSrc = src.startIndex + y * src.stride;
 
 				for (int x = 0; x < src.width; x++, indexSrc++) {
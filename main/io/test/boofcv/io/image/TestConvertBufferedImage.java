@@ -21,6 +21,7 @@ package boofcv.io.image;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageInterleavedTestingOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.*;
 import boofcv.testing.BoofTesting;
@@ -29,6 +30,7 @@ import org.junit.Test;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
 import java.util.Random;
 
 import static org.junit.Assert.*;
@@ -185,6 +187,139 @@ public class TestConvertBufferedImage {
 		BoofTesting.checkEquals(img, srcImg);
 	}
 
+	/**
+	 * The returned BufferedImage should reference the sub-image's pixels
+	 */
+	@Test
+	public void extractBuffered_subimage() {
+		ImageUInt8 gray = new ImageUInt8(imgWidth, imgHeight);
+		ImageMiscOps.fillUniform(gray, rand, 0, 100);
+		gray = BoofTesting.createSubImageOf(gray);
+
+		BufferedImage img = ConvertBufferedImage.extractBuffered(gray);
+		BoofTesting.checkEquals(img, gray);
+
+		InterleavedU8 color = new InterleavedU8(imgWidth, imgHeight, 3);
+		ImageInterleavedTestingOps.randomize(color, rand);
+		color = BoofTesting.createSubImageOf(color);
+
+		img = ConvertBufferedImage.extractBuffered(color);
+		BoofTesting.checkEquals(img, color, false, 1e-4f);
+	}
+
+	@Test
+	public void wrapImageUInt8() {
+		BufferedImage origImg = TestConvertRaster.createByteBuff(imgWidth, imgHeight, 1, rand);
+
+		for( int trial = 0; trial < 2; trial++ ) {
+			if( trial == 1 )
+				origImg = origImg.getSubimage(1, 2, 5, 6);
+
+			ImageUInt8 found = ConvertBufferedImage.wrapImageUInt8(origImg, null);
+			assertTrue(found.data == ((DataBufferByte)origImg.getRaster().getDataBuffer()).getData());
+			assertEquals(trial == 1, found.isSubimage());
+			BoofTesting.checkEquals(origImg, found);
+
+			// changes should be seen by both images
+			found.set(2, 3, 123);
+			assertEquals(123, origImg.getRaster().getSample(2, 3, 0));
+
+			// the storage is recycled
+			assertTrue(found == ConvertBufferedImage.wrapImageUInt8(origImg, found));
+		}
+	}
+
+	@Test
+	public void wrapInterleavedU8() {
+		BufferedImage origImg = TestConvertRaster.createBufferedByType(imgWidth, imgHeight, BufferedImage.TYPE_3BYTE_BGR, rand);
+
+		for( int trial = 0; trial < 2; trial++ ) {
+			if( trial == 1 )
+				origImg = origImg.getSubimage(1, 2, 5, 6);
+
+			InterleavedU8 found = ConvertBufferedImage.wrapInterleavedU8(origImg, null);
+			assertEquals(3, found.numBands);
+			assertTrue(found.data == ((DataBufferByte)origImg.getRaster().getDataBuffer()).getData());
+
+			// bands are in the same order as they are in memory, BGR
+			for( int y = 0; y < found.height; y++ ) {
+				for( int x = 0; x < found.width; x++ ) {
+					int rgb = origImg.getRGB(x, y);
+					assertEquals(rgb & 0xFF, found.getBand(x, y, 0));
+					assertEquals((rgb >> 8) & 0xFF, found.getBand(x, y, 1));
+					assertEquals((rgb >> 16) & 0xFF, found.getBand(x, y, 2));
+				}
+			}
+
+			found.setBand(2, 3, 2, 123);
+			assertEquals(123, origImg.getRaster().getSample(2, 3, 0));
+		}
+	}
+
+	@Test
+	public void isWrappable() {
+		assertTrue(ConvertBufferedImage.isWrappable(new BufferedImage(10, 12, BufferedImage.TYPE_BYTE_GRAY), 1));
+		assertTrue(ConvertBufferedImage.isWrappable(new BufferedImage(10, 12, BufferedImage.TYPE_BYTE_GRAY), -1));
+		assertTrue(ConvertBufferedImage.isWrappable(new BufferedImage(10, 12, BufferedImage.TYPE_3BYTE_BGR), -1));
+		assertTrue(ConvertBufferedImage.isWrappable(new BufferedImage(10, 12, BufferedImage.TYPE_4BYTE_ABGR), 4));
+
+		assertFalse(ConvertBufferedImage.isWrappable(new BufferedImage(10, 12, BufferedImage.TYPE_3BYTE_BGR), 1));
+		assertFalse(ConvertBufferedImage.isWrappable(new BufferedImage(10, 12, BufferedImage.TYPE_INT_RGB), -1));
+		assertFalse(ConvertBufferedImage.isWrappable(new BufferedImage(10, 12, BufferedImage.TYPE_BYTE_INDEXED), -1));
+		assertFalse(ConvertBufferedImage.isWrappable(new BufferedImage(10, 12, BufferedImage.TYPE_USHORT_GRAY), -1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void wrapImageUInt8_fail() {
+		ConvertBufferedImage.wrapImageUInt8(new BufferedImage(10, 12, BufferedImage.TYPE_INT_RGB), null);
+	}
+
+	/**
+	 * Converting in bands of rows using multiple threads should produce the same results
+	 */
+	@Test
+	public void concurrent() {
+		int width = 30, height = 40;
+		int[] bufferedTypes = new int[]{BufferedImage.TYPE_BYTE_GRAY, BufferedImage.TYPE_3BYTE_BGR,
+				BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB};
+
+		for( int bufferedType : bufferedTypes ) {
+			BufferedImage input = TestConvertRaster.createBufferedByType(width, height, bufferedType, rand);
+			int numBands = input.getRaster().getNumBands();
+			boolean orderRgb = numBands > 1;
+
+			ImageType[] types = new ImageType[]{
+					ImageType.single(ImageUInt8.class), ImageType.single(ImageFloat32.class),
+					ImageType.ms(numBands, ImageUInt8.class), ImageType.ms(numBands, ImageFloat32.class),
+					ImageType.il(numBands, InterleavedU8.class), ImageType.il(numBands, InterleavedF32.class)};
+
+			for( ImageType type : types ) {
+				ImageBase expected = type.createImage(width, height);
+				ImageBase found = type.createImage(width, height);
+				BufferedImage expectedBuff = new BufferedImage(width, height, bufferedType);
+				BufferedImage foundBuff = new BufferedImage(width, height, bufferedType);
+
+				ConvertBufferedImage.convertFrom(input, expected, orderRgb);
+				ConvertBufferedImage.convertTo(expected, expectedBuff, orderRgb);
+
+				ConcurrencySettings previous = ConcurrencySettings.enable(5);
+				try {
+					ConvertBufferedImage.convertFrom(input, found, orderRgb);
+					ConvertBufferedImage.convertTo(found, foundBuff, orderRgb);
+				} finally {
+					previous.restore();
+				}
+
+				BoofTesting.assertEquals(expected, found, 0);
+				for( int y = 0; y < height; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						assertEquals(expectedBuff.getRGB(x, y), foundBuff.getRGB(x, y));
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * Ensures that the orderRgb flag is correctly handled
 	 */
@@ -19,10 +19,11 @@
 package boofcv.alg.color;
 
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.encoding.ConvertYuv;
+import boofcv.core.encoding.YuvFormat;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
-import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.MultiSpectral;
+import boofcv.struct.image.*;
 
 import java.util.Random;
 
@@ -39,6 +40,11 @@ public class BenchmarkColorConvert {
 	public static MultiSpectral<ImageFloat32> src_F32;
 	public static MultiSpectral<ImageFloat32> dst_F32;
 
+	public static InterleavedF32 src_IL_F32;
+	public static InterleavedF32 dst_IL_F32;
+	public static InterleavedU8 src_IL_U8;
+	public static ImageUInt8 gray_U8;
+
 	public static class RGB_to_HSV_F32 extends PerformerBase {
 
 		@Override
@@ -71,6 +77,61 @@ public class BenchmarkColorConvert {
 		}
 	}
 
+	public static class RGB_to_HSV_IL_F32 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorHsv.rgbToHsv_F32(src_IL_F32,dst_IL_F32);
+		}
+	}
+
+	public static class RGB_to_HSV_IL_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorHsv.rgbToHsv_U8(src_IL_U8,dst_IL_F32);
+		}
+	}
+
+	public static class RGB_to_LAB_IL_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorLab.rgbToLab_U8(src_IL_U8,dst_IL_F32);
+		}
+	}
+
+	public static class RGB_to_GRAY_IL_U8 extends PerformerBase {
+
+		@Override
+		public void process() {
+			ColorRgb.rgbToGray_Weighted(src_IL_U8,gray_U8);
+		}
+	}
+
+	public static class YUV_to_RGB extends PerformerBase {
+		YuvFormat format;
+		byte[] data;
+		ImageBase output;
+
+		public YUV_to_RGB(YuvFormat format, ImageBase output) {
+			this.format = format;
+			this.output = output;
+			data = new byte[ConvertYuv.bufferSize(format,imgWidth,imgHeight)];
+			rand.nextBytes(data);
+		}
+
+		@Override
+		public void process() {
+			ConvertYuv.yuvToBoof(data,0,format,output);
+		}
+
+		@Override
+		public String getName() {
+			return format+"_to_"+output.getClass().getSimpleName();
+		}
+	}
+
 	public static void main( String args[] ) {
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 		System.out.println();
@@ -84,5 +145,23 @@ public class BenchmarkColorConvert {
 		ProfileOperation.printOpsPerSec(new HSV_to_RGB_F32(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new RGB_to_YUV_F32(),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new YUV_to_RGB_F32(),TEST_TIME);
+
+		src_IL_F32 = new InterleavedF32(imgWidth,imgHeight,3);
+		dst_IL_F32 = new InterleavedF32(imgWidth,imgHeight,3);
+		src_IL_U8 = new InterleavedU8(imgWidth,imgHeight,3);
+		gray_U8 = new ImageUInt8(imgWidth,imgHeight);
+
+		GImageMiscOps.fillUniform(src_IL_F32,rand,0,255);
+		GImageMiscOps.fillUniform(src_IL_U8,rand,0,255);
+
+		ProfileOperation.printOpsPerSec(new RGB_to_HSV_IL_F32(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_HSV_IL_U8(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_LAB_IL_U8(),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RGB_to_GRAY_IL_U8(),TEST_TIME);
+
+		for( YuvFormat format : YuvFormat.values() ) {
+			ProfileOperation.printOpsPerSec(new YUV_to_RGB(format,src_IL_U8),TEST_TIME);
+			ProfileOperation.printOpsPerSec(new YUV_to_RGB(format,gray_U8),TEST_TIME);
+		}
 	}
 }
@@ -103,6 +103,23 @@ public class BenchmarkImageDistort<T extends ImageSingleBand> {
 		}
 	}
 
+	public class RemapBilinear_F32 extends PerformerBase {
+		ImageDistort<T,T> alg;
+
+		public RemapBilinear_F32( Homography2D_F32 homography ) {
+			PixelTransform_F32 tran = new PixelTransformHomography_F32(homography);
+			InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(imageType, BorderType.EXTENDED);
+
+			alg = FactoryDistort.distortRemapSB(interp, imageType);
+			alg.setModel(tran);
+		}
+
+		@Override
+		public void process() {
+			alg.apply(src_F32, dst_F32,0,0,imgWidth,imgHeight);
+		}
+	}
+
 	private void benchmark() {
 		Random rand = new Random(234);
 
@@ -115,6 +132,7 @@ public class BenchmarkImageDistort<T extends ImageSingleBand> {
 		System.out.println();
 
 		ProfileOperation.printOpsPerSec(new MapBilinear_F32(affine),TEST_TIME);
+		ProfileOperation.printOpsPerSec(new RemapBilinear_F32(affine),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new HomographyBilinear_F32(affine),TEST_TIME);
 		ProfileOperation.printOpsPerSec(new HomographyBilinearCrop_F32(affine),TEST_TIME);
 
@@ -19,6 +19,7 @@
 package boofcv.alg.filter.binary;
 
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.ConnectRule;
@@ -64,6 +65,30 @@ public class BenchmarkBinaryBlobLabeling {
 		}
 	}
 
+	public static class NewAlg8Concurrent extends PerformerBase {
+
+		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+
+		@Override
+		public void process() {
+			BoofConcurrency.setUseConcurrent(true);
+			alg.process(input,output);
+			BoofConcurrency.setUseConcurrent(false);
+		}
+	}
+
+	public static class NewAlg4Concurrent extends PerformerBase {
+
+		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(ConnectRule.FOUR);
+
+		@Override
+		public void process() {
+			BoofConcurrency.setUseConcurrent(true);
+			alg.process(input,output);
+			BoofConcurrency.setUseConcurrent(false);
+		}
+	}
+
 	public static void main(String args[]) {
 		System.out.println("=========  Profile Image Size "+ imgWidth +" x "+ imgHeight  +" ==========");
 
@@ -81,6 +106,8 @@ public class BenchmarkBinaryBlobLabeling {
 
 		ProfileOperation.printOpsPerSec(new NewAlg8(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new NewAlg4(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new NewAlg8Concurrent(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new NewAlg4Concurrent(), TEST_TIME);
 
 	}
 }
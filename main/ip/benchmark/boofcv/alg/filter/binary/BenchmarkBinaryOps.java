@@ -21,6 +21,7 @@ package boofcv.alg.filter.binary;
 import boofcv.alg.filter.binary.impl.ImplBinaryInnerOps;
 import boofcv.alg.filter.binary.impl.ImplBinaryNaiveOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImagePackedBinary;
 import boofcv.struct.image.ImageUInt8;
 
 import java.util.Random;
@@ -36,12 +37,15 @@ public class BenchmarkBinaryOps  {
 
 	static ImageUInt8 input = new ImageUInt8(imgWidth, imgHeight);
 	static ImageUInt8 output = new ImageUInt8(imgWidth, imgHeight);
+	static ImagePackedBinary packedInput = new ImagePackedBinary(imgWidth, imgHeight);
+	static ImagePackedBinary packedOutput = new ImagePackedBinary(imgWidth, imgHeight);
 
 	public BenchmarkBinaryOps() {
 		Random rand = new Random(234);
 		// test structures and unstructured images
 		// naive is some times faster in unstructured because it can escape earlier
 		ImageMiscOps.fillUniform(input, rand, 0, 1);
+		PackedBinaryImageOps.pack(input, packedInput);
 //		ImageMiscOps.fillRectangle(input,1,100,200,150,100);
 	}
 
@@ -171,6 +175,54 @@ public class BenchmarkBinaryOps  {
 		return 0;
 	}
 
+	public int timePackedErode4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryImageOps.erode4(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedErode8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryImageOps.erode8(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedDilate4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryImageOps.dilate4(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedDilate8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryImageOps.dilate8(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedEdge4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryImageOps.edge4(packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timePackedEdge8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryImageOps.edge8(packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timePackedRemovePointNoise(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryImageOps.removePointNoise(packedInput, packedOutput);
+		return 0;
+	}
+
+	public int timePackedPack(int reps) {
+		for( int i = 0; i < reps; i++ )
+			PackedBinaryImageOps.pack(input, packedOutput);
+		return 0;
+	}
+
 	public static void main(String args[]) {
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 
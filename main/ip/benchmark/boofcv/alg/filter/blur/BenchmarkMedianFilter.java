@@ -18,6 +18,7 @@
 
 package boofcv.alg.filter.blur;
 
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInnerNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
@@ -25,6 +26,7 @@ import boofcv.alg.misc.ImageMiscOps;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt16;
 import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt16;
 import boofcv.struct.image.ImageUInt8;
 
 import java.util.Random;
@@ -42,9 +44,14 @@ public class BenchmarkMedianFilter  {
 	static ImageFloat32 out_F32 = new ImageFloat32(imgWidth,imgHeight);
 	static ImageUInt8 imgInt8 = new ImageUInt8(imgWidth,imgHeight);
 	static ImageSInt16 imgInt16 = new ImageSInt16(imgWidth,imgHeight);
+	static ImageUInt16 imgUInt16 = new ImageUInt16(imgWidth,imgHeight);
+	static ImageFloat32 imgFloat32_U8 = new ImageFloat32(imgWidth,imgHeight);
 	static ImageUInt8 out_I8 = new ImageUInt8(imgWidth,imgHeight);
 	static ImageSInt16 out_I16 = new ImageSInt16(imgWidth,imgHeight);
 	static ImageSInt32 out_I32 = new ImageSInt32(imgWidth,imgHeight);
+	static ImageUInt16 out_U16 = new ImageUInt16(imgWidth,imgHeight);
+
+	static ImplMedianHistogramConstant constant = new ImplMedianHistogramConstant();
 
 	// iterate through different sized kernel radius
 	private int radius;
@@ -53,6 +60,11 @@ public class BenchmarkMedianFilter  {
 		Random rand = new Random(234);
 		ImageMiscOps.fillUniform(imgInt8,rand, 0, 100);
 		ImageMiscOps.fillUniform(imgFloat32,rand,0,200);
+		ImageMiscOps.fillUniform(imgUInt16,rand,0,4096);
+		// floating point image with only integer values, which is typical for converted images
+		ImageMiscOps.fillUniform(imgFloat32_U8,rand,0,200);
+		for( int i = 0; i < imgFloat32_U8.data.length; i++ )
+			imgFloat32_U8.data[i] = (int)imgFloat32_U8.data[i];
 	}
 
 	public int timeBlurImageOps_I8(int reps) {
@@ -79,6 +91,36 @@ public class BenchmarkMedianFilter  {
 		return 0;
 	}
 
+	public int timeBlurImageOps_U16(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BlurImageOps.median(imgUInt16, out_U16, radius);
+		return 0;
+	}
+
+	public int timeBlurImageOps_F32_U8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BlurImageOps.median(imgFloat32_U8,out_F32,radius);
+		return 0;
+	}
+
+	public int timeHistogramConstant_I8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			constant.process(imgInt8,out_I8,radius);
+		return 0;
+	}
+
+	public int timeHistogramConstant_U16(int reps) {
+		for( int i = 0; i < reps; i++ )
+			constant.process(imgUInt16,out_U16,radius);
+		return 0;
+	}
+
+	public int timeHistogramConstant_F32(int reps) {
+		for( int i = 0; i < reps; i++ )
+			constant.process(imgFloat32_U8,out_F32,radius);
+		return 0;
+	}
+
 	public int timeSortNaive_I8(int reps) {
 		for( int i = 0; i < reps; i++ )
 			ImplMedianSortNaive.process(imgInt8,out_I8,radius,null);
@@ -51,8 +51,10 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 	private void printPreamble() throws FileNotFoundException {
 		setOutputFile(className);
 		out.print("import boofcv.alg.InputSanityCheck;\n" +
+				"import boofcv.alg.filter.binary.impl.ImplThresholdLocalStream;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.IntRangeTask;\n" +
 				"import boofcv.struct.image.*;\n" +
-				"import boofcv.alg.filter.blur.BlurImageOps;\n" +
 				"\n" +
 				"/**\n" +
 				" * <p>\n" +
@@ -60,6 +62,10 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				" * </p>\n" +
 				" *\n" +
 				" * <p>\n" +
+				" * Concurrency: Thresholding is done in bands of rows if turned on in {@link BoofConcurrency}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
 				" * WARNING: Do not modify.  Automatically generated by {@link boofcv.alg.filter.binary.GenerateThresholdImageOps}.\n" +
 				" * </p>\n" +
 				" *\n" +
@@ -90,40 +96,47 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\t * @param down If true then the inequality <= is used, otherwise if false then > is used.\n" +
 				"\t * @return Output image.\n" +
 				"\t */\n" +
-				"\tpublic static ImageUInt8 threshold( "+imageIn.getSingleBandName()+" input , ImageUInt8 output ,\n" +
-				"\t\t\t\t\t\t\t\t\t\t"+imageIn.getSumType()+" threshold , boolean down )\n" +
+				"\tpublic static ImageUInt8 threshold( final "+imageIn.getSingleBandName()+" input , ImageUInt8 output ,\n" +
+				"\t\t\t\t\t\t\t\t\t\tfinal "+imageIn.getSumType()+" threshold , final boolean down )\n" +
 				"\t{\n" +
 				"\t\toutput = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);\n" +
 				"\n" +
-				"\t\tif( down ) {\n" +
-				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
-				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
-				"\n" +
-				"\t\t\t\tint end = indexIn + input.width;\n" +
-				"\n" +
-				"\t\t\t\tfor( ; indexIn < end; indexIn++ , indexOut++ ) {\n" +
-				"\t\t\t\t\tif( (input.data[indexIn]"+imageIn.getBitWise()+") <= threshold )\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 1;\n" +
-				"\t\t\t\t\telse\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 0;\n" +
-				"\t\t\t\t}\n" +
-				"\t\t\t}\n" +
-				"\t\t} else {\n" +
-				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
-				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
-				"\n" +
-				"\t\t\t\tint end = indexIn + input.width;\n" +
-				"\n" +
-				"\t\t\t\tfor( ; indexIn < end; indexIn++ , indexOut++ ) {\n" +
-				"\t\t\t\t\tif( (input.data[indexIn]"+imageIn.getBitWise()+") > threshold )\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 1;\n" +
-				"\t\t\t\t\telse\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 0;\n" +
+				"\t\tfinal ImageUInt8 binary = output;\n" +
+				"\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tif( down ) {\n" +
+				"\t\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\t\t\tint indexOut = binary.startIndex + y*binary.stride;\n" +
+				"\n" +
+				"\t\t\t\t\t\tint end = indexIn + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\t\tfor( ; indexIn < end; indexIn++ , indexOut++ ) {\n" +
+				"\t\t\t\t\t\t\tif( (input.data[indexIn]"+imageIn.getBitWise()+") <= threshold )\n" +
+				"\t\t\t\t\t\t\t\tbinary.data[indexOut] = 1;\n" +
+				"\t\t\t\t\t\t\telse\n" +
+				"\t\t\t\t\t\t\t\tbinary.data[indexOut] = 0;\n" +
+				"\t\t\t\t\t\t}\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t} else {\n" +
+				"\t\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\t\t\tint indexOut = binary.startIndex + y*binary.stride;\n" +
+				"\n" +
+				"\t\t\t\t\t\tint end = indexIn + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\t\tfor( ; indexIn < end; indexIn++ , indexOut++ ) {\n" +
+				"\t\t\t\t\t\t\tif( (input.data[indexIn]"+imageIn.getBitWise()+") > threshold )\n" +
+				"\t\t\t\t\t\t\t\tbinary.data[indexOut] = 1;\n" +
+				"\t\t\t\t\t\t\telse\n" +
+				"\t\t\t\t\t\t\t\tbinary.data[indexOut] = 0;\n" +
+				"\t\t\t\t\t\t}\n" +
+				"\t\t\t\t\t}\n" +
 				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\n" +
 				"\t\treturn output;\n" +
 				"\t}\n\n");
@@ -133,7 +146,6 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 
 		String imageName = imageIn.getSingleBandName();
 		String sumType = imageIn.getSumType();
-		String bitwise = imageIn.getBitWise();
 
 		out.print("\t/**\n" +
 				"\t * Thresholds the image using an adaptive threshold that is computed using a local square region centered\n" +
@@ -141,13 +153,18 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\t * If down is true then b(x,y) = I(x,y) <= T(x,y) + bias ? 1 : 0.  Otherwise\n" +
 				"\t * b(x,y) = I(x,y) > T(x,y) + bias ? 0 : 1\n" +
 				"\t *\n" +
+				"\t * <p>\n" +
+				"\t * The local mean and the threshold are computed together while streaming down the rows, without\n" +
+				"\t * intermediate images.  See {@link ImplThresholdLocalStream#square}.\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
 				"\t * @param input Input image.\n" +
 				"\t * @param output (optional) Output binary image.  If null it will be declared internally.\n" +
 				"\t * @param radius Radius of square region.\n" +
 				"\t * @param bias Bias used to adjust threshold\n" +
 				"\t * @param down Should it threshold up or down.\n" +
-				"\t * @param storage1 (Optional) Storage for intermediate step. If null will be declared internally.\n" +
-				"\t * @param storage2 (Optional) Storage for intermediate step. If null will be declared internally.\n" +
+				"\t * @param storage1 Not used.  Can be null.\n" +
+				"\t * @param storage2 Not used.  Can be null.\n" +
 				"\t * @return Thresholded image.\n" +
 				"\t */\n" +
 				"\tpublic static ImageUInt8 adaptiveSquare( "+imageName+" input , ImageUInt8 output ,\n" +
@@ -155,48 +172,8 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\t\t\t\t\t\t\t\t\t\t\t "+imageName+" storage1 , "+imageName+" storage2 ) {\n" +
 				"\n" +
 				"\t\toutput = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);\n" +
-				"\t\tstorage1 = InputSanityCheck.checkDeclare(input,storage1,"+imageName+".class);\n" +
-				"\t\tstorage2 = InputSanityCheck.checkDeclare(input,storage2,"+imageName+".class);\n" +
-				"\n" +
-				"\t\t"+imageName+" mean = storage1;\n" +
-				"\n" +
-				"\t\tBlurImageOps.mean(input,mean,radius,storage2);\n" +
-				"\n" +
-				"\t\tif( down ) {\n" +
-				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
-				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
-				"\t\t\t\tint indexMean = mean.startIndex + y*mean.stride;\n" +
-				"\n" +
-				"\t\t\t\tint end = indexIn + input.width;\n" +
-				"\n" +
-				"\t\t\t\tfor( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {\n" +
-				"\t\t\t\t\t"+sumType+" threshold = (mean.data[indexMean]"+bitwise+") + bias;\n" +
-				"\n" +
-				"\t\t\t\t\tif( (input.data[indexIn]"+bitwise+") <= threshold )\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 1;\n" +
-				"\t\t\t\t\telse\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 0;\n" +
-				"\t\t\t\t}\n" +
-				"\t\t\t}\n" +
-				"\t\t} else {\n" +
-				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
-				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
-				"\t\t\t\tint indexMean = mean.startIndex + y*mean.stride;\n" +
 				"\n" +
-				"\t\t\t\tint end = indexIn + input.width;\n" +
-				"\n" +
-				"\t\t\t\tfor( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {\n" +
-				"\t\t\t\t\t"+sumType+" threshold = (mean.data[indexMean]"+bitwise+") + bias;\n" +
-				"\n" +
-				"\t\t\t\t\tif( (input.data[indexIn]"+bitwise+") > threshold )\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 1;\n" +
-				"\t\t\t\t\telse\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 0;\n" +
-				"\t\t\t\t}\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\tImplThresholdLocalStream.square(input,output,radius,bias,down);\n" +
 				"\n" +
 				"\t\treturn output;\n" +
 				"\t}\n\n");
@@ -206,7 +183,6 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 
 		String imageName = imageIn.getSingleBandName();
 		String sumType = imageIn.getSumType();
-		String bitwise = imageIn.getBitWise();
 
 		out.print("\t/**\n" +
 				"\t * Thresholds the image using an adaptive threshold that is computed using a local square region centered\n" +
@@ -214,13 +190,18 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\t * If down is true then b(x,y) = I(x,y) <= T(x,y) + bias ? 1 : 0.  Otherwise\n" +
 				"\t * b(x,y) = I(x,y) > T(x,y) + bias ? 0 : 1\n" +
 				"\t *\n" +
+				"\t * <p>\n" +
+				"\t * The local weighted mean and the threshold are computed together while streaming down the rows, without\n" +
+				"\t * intermediate images.  See {@link ImplThresholdLocalStream#gaussian}.\n" +
+				"\t * </p>\n" +
+				"\t *\n" +
 				"\t * @param input Input image.\n" +
 				"\t * @param output (optional) Output binary image.  If null it will be declared internally.\n" +
 				"\t * @param radius Radius of square region.\n" +
 				"\t * @param bias Bias used to adjust threshold\n" +
 				"\t * @param down Should it threshold up or down.\n" +
-				"\t * @param storage1 (Optional) Storage for intermediate step. If null will be declared internally.\n" +
-				"\t * @param storage2 (Optional) Storage for intermediate step. If null will be declared internally.\n" +
+				"\t * @param storage1 Not used.  Can be null.\n" +
+				"\t * @param storage2 Not used.  Can be null.\n" +
 				"\t * @return Thresholded image.\n" +
 				"\t */\n" +
 				"\tpublic static ImageUInt8 adaptiveGaussian( "+imageName+" input , ImageUInt8 output ,\n" +
@@ -228,52 +209,11 @@ public class GenerateThresholdImageOps extends CodeGeneratorBase {
 				"\t\t\t\t\t\t\t\t\t\t\t   "+imageName+" storage1 , "+imageName+" storage2 ) {\n" +
 				"\n" +
 				"\t\toutput = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);\n" +
-				"\t\tstorage1 = InputSanityCheck.checkDeclare(input,storage1,"+imageName+".class);\n" +
-				"\t\tstorage2 = InputSanityCheck.checkDeclare(input,storage2,"+imageName+".class);\n" +
-				"\n" +
-				"\t\t"+imageName+" blur = storage1;\n" +
-				"\n" +
-				"\t\tBlurImageOps.gaussian(input,blur,-1,radius,storage2);\n" +
-				"\n" +
-				"\t\tif( down ) {\n" +
-				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
-				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
-				"\t\t\t\tint indexMean = blur.startIndex + y*blur.stride;\n" +
-				"\n" +
-				"\t\t\t\tint end = indexIn + input.width;\n" +
 				"\n" +
-				"\t\t\t\tfor( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {\n" +
-				"\t\t\t\t\t"+sumType+" threshold = (blur.data[indexMean]"+bitwise+") + bias;\n" +
-				"\n" +
-				"\t\t\t\t\tif( (input.data[indexIn]"+bitwise+") <= threshold )\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 1;\n" +
-				"\t\t\t\t\telse\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 0;\n" +
-				"\t\t\t\t}\n" +
-				"\t\t\t}\n" +
-				"\t\t} else {\n" +
-				"\t\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\t\tint indexIn = input.startIndex + y*input.stride;\n" +
-				"\t\t\t\tint indexOut = output.startIndex + y*output.stride;\n" +
-				"\t\t\t\tint indexMean = blur.startIndex + y*blur.stride;\n" +
-				"\n" +
-				"\t\t\t\tint end = indexIn + input.width;\n" +
-				"\n" +
-				"\t\t\t\tfor( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {\n" +
-				"\t\t\t\t\t"+sumType+" threshold = (blur.data[indexMean]"+bitwise+") + bias;\n" +
-				"\n" +
-				"\t\t\t\t\tif( (input.data[indexIn]"+bitwise+") > threshold )\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 1;\n" +
-				"\t\t\t\t\telse\n" +
-				"\t\t\t\t\t\toutput.data[indexOut] = 0;\n" +
-				"\t\t\t\t}\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\tImplThresholdLocalStream.gaussian(input,output,radius,bias,down);\n" +
 				"\n" +
 				"\t\treturn output;\n" +
 				"\t}\n\n");
-
 	}
 
 	public static void main( String args[] ) throws FileNotFoundException {
@@ -43,11 +43,19 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 
 	private void printPreamble() throws FileNotFoundException {
 		setOutputFile(className);
-		out.print("import boofcv.struct.image.*;\n" +
+		out.print("import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.IntRangeTask;\n" +
+				"import boofcv.concurrency.OrderedSums;\n" +
+				"import boofcv.struct.image.*;\n" +
 				"\n" +
 				"/**\n" +
 				" * Computes statistical properties of pixels inside an image.\n" +
 				" *\n" +
+				" * <p>Concurrency: Images are processed in bands of rows if turned on in {@link BoofConcurrency}.  The partial\n" +
+				" * results from each band are then merged together.  Floating point sums are merged in the order of the bands,\n" +
+				" * so the same image and settings always produce the same result.  It can differ in the least significant\n" +
+				" * bits from the single threaded result.</p>\n" +
+				" *\n" +
 				" * <p>DO NOT MODIFY: Generated by {@link "+getClass().getName()+"}</p>.\n"+
 				" *\n"+
 				" * @author Peter Abeles\n" +
@@ -69,12 +77,15 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 			printMeanDiffSq();
 			printMeanDiffAbs();
 			printHistogram();
+			printSummary();
 		}
 	}
 
 	public void printHistogram() {
-		if( input.isSigned() ) {
+		String imageName = input.getSingleBandName();
+		String bin;
 
+		if( input.isSigned() ) {
 			out.print("\t/**\n" +
 					"\t * Computes the histogram of intensity values for the image.\n" +
 					"\t * \n" +
@@ -82,26 +93,11 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 					"\t * @param minValue (input) Minimum possible intensity value   \n" +
 					"\t * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.\n" +
 					"\t */\n" +
-					"\tpublic static void histogram( "+input.getSingleBandName()+" input , int minValue , int histogram[] ) {\n" +
-					"\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
-					"\t\t\thistogram[i] = 0;\n" +
-					"\t\t\n" +
-					"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-					"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-					"\t\t\tint end = index + input.width;\n" +
-					"\n" +
-					"\t\t\tfor( ; index < end; index++ ) {\n" +
-					"\t\t\t\t// floor value. just convert to int rounds towards zero\n");
-			if( input.isInteger()) {
-				if( input.getNumBits() == 64 )
-					out.print("\t\t\t\thistogram[(int)input.data[index] - minValue]++;\n");
-				else
-					out.print("\t\t\t\thistogram[input.data[index] - minValue ]++;\n");
-			} else
-				out.print("\t\t\t\thistogram[(int)input.data[index] - minValue ]++;\n");
-			out.print("\t\t\t}\n" +
-					"\t\t}\n" +
-					"\t}\n\n");
+					"\tpublic static void histogram( final "+imageName+" input , final int minValue , final int histogram[] ) {\n");
+			if( input.isInteger() && input.getNumBits() != 64 )
+				bin = "input.data[index] - minValue";
+			else
+				bin = "(int)input.data[index] - minValue";
 		} else {
 			out.print("\t/**\n" +
 					"\t * Computes the histogram of intensity values for the image.\n" +
@@ -109,103 +105,132 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 					"\t * @param input (input) Image.\n" +
 					"\t * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.\n" +
 					"\t */\n" +
-					"\tpublic static void histogram( "+input.getSingleBandName()+" input , int histogram[] ) {\n" +
-					"\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
-					"\t\t\thistogram[i] = 0;\n" +
-					"\t\t\n" +
-					"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-					"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-					"\t\t\tint end = index + input.width;\n" +
-					"\n" +
-					"\t\t\tfor( ; index < end; index++ ) {\n" +
-					"\t\t\t\thistogram[input.data[index]"+input.getBitWise()+"]++;\n" +
-					"\t\t\t}\n" +
-					"\t\t}\n" +
-					"\t}\n\n");
+					"\tpublic static void histogram( final "+imageName+" input , final int histogram[] ) {\n");
+			bin = "input.data[index]"+input.getBitWise();
 		}
+
+		out.print("\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+				"\t\t\thistogram[i] = 0;\n" +
+				"\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\t// a band which covers the whole image can write directly into the output\n" +
+				"\t\t\t\tint local[] = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];\n" +
+				"\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint index = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\t\tint end = index + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; index < end; index++ ) {\n");
+		if( input.isSigned() )
+			out.print("\t\t\t\t\t\t// floor value. just convert to int rounds towards zero\n");
+		out.print("\t\t\t\t\t\tlocal["+bin+"]++;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\n" +
+				"\t\t\t\tif( local != histogram ) {\n" +
+				"\t\t\t\t\tsynchronized( histogram ) {\n" +
+				"\t\t\t\t\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+				"\t\t\t\t\t\t\thistogram[i] += local[i];\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t});\n" +
+				"\t}\n\n");
 	}
 
 	public void printMaxAbs() {
+		String sumType = input.getSumType();
+
 		out.print("\t/**\n" +
 				"\t * Returns the absolute value of the element with the largest absolute value.\n" +
 				"\t * \n" +
 				"\t * @param input Input image. Not modified.\n" +
 				"\t * @return Largest pixel absolute value.\n" +
 				"\t */\n" +
-				"\tpublic static "+input.getSumType()+" maxAbs( "+input.getSingleBandName()+" input ) {\n" +
+				"\tpublic static "+sumType+" maxAbs( final "+input.getSingleBandName()+" input ) {\n" +
 				"\n" +
-				"\t\t"+input.getSumType()+" max = 0;\n" +
+				"\t\tfinal "+sumType+" result[] = new "+sumType+"[1];\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-				"\t\t\tint end = index + input.width;\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\t"+sumType+" max = 0;\n" +
 				"\n" +
-				"\t\t\tfor( ; index < end; index++ ) {\n");
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint index = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\t\tint end = index + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; index < end; index++ ) {\n");
 		if( input.isSigned() )
-			out.print("\t\t\t\t"+input.getSumType()+" v = Math.abs(input.data[index]);\n");
+			out.print("\t\t\t\t\t\t"+sumType+" v = Math.abs(input.data[index]);\n");
 		else
-			out.print("\t\t\t\t"+input.getSumType()+" v = input.data[index]"+input.getBitWise()+";\n");
-		out.print("\t\t\t\tif( v > max )\n" +
-				"\t\t\t\t\tmax = v;\n" +
+			out.print("\t\t\t\t\t\t"+sumType+" v = input.data[index]"+input.getBitWise()+";\n");
+		out.print("\t\t\t\t\t\tif( v > max )\n" +
+				"\t\t\t\t\t\t\tmax = v;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\n" +
+				"\t\t\t\tsynchronized( result ) {\n" +
+				"\t\t\t\t\tif( max > result[0] )\n" +
+				"\t\t\t\t\t\tresult[0] = max;\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t\treturn max;\n" +
+				"\t\t});\n" +
+				"\t\treturn result[0];\n" +
 				"\t}\n\n");
 	}
 
 	public void printMax() {
-		out.print("\t/**\n" +
-				"\t * Returns the maximum element value.\n" +
-				"\t * \n" +
-				"\t * @param input Input image. Not modified.\n" +
-				"\t * @return Maximum pixel value.\n" +
-				"\t */\n" +
-				"\tpublic static "+input.getSumType()+" max( "+input.getSingleBandName()+" input ) {\n" +
-				"\n" +
-				"\t\t"+input.getSumType()+" max = input.get(0,0);\n" +
-				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-				"\t\t\tint end = index + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; index < end; index++ ) {\n");
-		out.print("\t\t\t\t"+input.getSumType()+" v = input.data[index] "+input.getBitWise()+";\n");
-		out.print("\t\t\t\tif( v > max )\n" +
-				"\t\t\t\t\tmax = v;\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t\treturn max;\n" +
-				"\t}\n\n");
+		printExtreme("max", "maximum", "Maximum", ">");
 	}
 
 	public void printMin() {
+		printExtreme("min", "minimum", "Minimum", "<");
+	}
+
+	private void printExtreme( String name , String description , String returnDescription , String comparison ) {
+		String sumType = input.getSumType();
+
 		out.print("\t/**\n" +
-				"\t * Returns the minimum element value.\n" +
+				"\t * Returns the "+description+" element value.\n" +
 				"\t * \n" +
 				"\t * @param input Input image. Not modified.\n" +
-				"\t * @return Minimum pixel value.\n" +
+				"\t * @return "+returnDescription+" pixel value.\n" +
 				"\t */\n" +
-				"\tpublic static "+input.getSumType()+" min( "+input.getSingleBandName()+" input ) {\n" +
+				"\tpublic static "+sumType+" "+name+"( final "+input.getSingleBandName()+" input ) {\n" +
+				"\n" +
+				"\t\tfinal "+sumType+" result[] = new "+sumType+"[]{input.get(0,0)};\n" +
 				"\n" +
-				"\t\t"+input.getSumType()+" min = input.get(0,0);\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\t"+sumType+" "+name+" = input.get(0,0);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint index = input.startIndex + y*input.stride;\n" +
-				"\t\t\tint end = index + input.width;\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint index = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\t\tint end = index + input.width;\n" +
 				"\n" +
-				"\t\t\tfor( ; index < end; index++ ) {\n");
-		out.print("\t\t\t\t"+input.getSumType()+" v = input.data[index] "+input.getBitWise()+";\n");
-		out.print("\t\t\t\tif( v < min )\n" +
-				"\t\t\t\t\tmin = v;\n" +
+				"\t\t\t\t\tfor( ; index < end; index++ ) {\n" +
+				"\t\t\t\t\t\t"+sumType+" v = input.data[index]"+input.getBitWise()+";\n" +
+				"\t\t\t\t\t\tif( v "+comparison+" "+name+" )\n" +
+				"\t\t\t\t\t\t\t"+name+" = v;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\n" +
+				"\t\t\t\tsynchronized( result ) {\n" +
+				"\t\t\t\t\tif( "+name+" "+comparison+" result[0] )\n" +
+				"\t\t\t\t\t\tresult[0] = "+name+";\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t\treturn min;\n" +
+				"\t\t});\n" +
+				"\t\treturn result[0];\n" +
 				"\t}\n\n");
 	}
 
 	public void printSum() {
-
-		String bitWise = input.getBitWise();
+		String sumType = input.getSumType();
 
 		out.print("\t/**\n" +
 				"\t * <p>\n" +
@@ -214,24 +239,30 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\t * \n" +
 				"\t * @param img Input image. Not modified.\n" +
 				"\t */\n" +
-				"\tpublic static "+input.getSumType()+" sum( "+input.getSingleBandName()+" img ) {\n" +
+				"\tpublic static "+sumType+" sum( final "+input.getSingleBandName()+" img ) {\n" +
 				"\n" +
-				"\t\tfinal int h = img.getHeight();\n" +
-				"\t\tfinal int w = img.getWidth();\n" +
+				declareResult(sumType) +
 				"\n" +
-				"\t\t"+input.getSumType()+" total = 0;\n" +
-				"\t\t\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = index+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; index < indexEnd; index++ ) {\n" +
-				"\t\t\t\ttotal += img.data[index] "+bitWise+";\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
-				"\t\t\n" +
-				"\t\treturn total;\n" +
+				"\t\tBoofConcurrency.loopRows(img, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\t"+sumType+" total = 0;\n" +
+				"\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint index = img.startIndex + y*img.stride;\n" +
+				"\t\t\t\t\tint indexEnd = index + img.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; index < indexEnd; index++ ) {\n" +
+				"\t\t\t\t\t\ttotal += img.data[index]"+input.getBitWise()+";\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\n");
+		printMergeSum(sumType, "total");
+		out.print("\t\t\t}\n" +
+				"\t\t});\n");
+		if( isOrdered(sumType) )
+			out.print("\n");
+		out.print("\t\treturn "+resultValue(sumType)+";\n" +
 				"\t}\n\n");
 	}
 
@@ -248,9 +279,6 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 	}
 
 	public void printVariance() {
-
-		String bitWise = input.getBitWise();
-
 		out.print("\t/**\n" +
 				"\t * Computes the variance of pixel intensity values inside the image.\n" +
 				"\t *\n" +
@@ -258,82 +286,233 @@ public class GenerateImageStatistics extends CodeGeneratorBase {
 				"\t * @param mean Mean pixel intensity value.   \n" +
 				"\t * @return Pixel variance   \n" +
 				"\t */\n" +
-				"\tpublic static double variance( "+input.getSingleBandName()+" img , double mean ) {\n" +
+				"\tpublic static double variance( final "+input.getSingleBandName()+" img , final double mean ) {\n" +
 				"\n" +
-				"\t\tdouble variance = 0;\n" +
+				declareResult("double") +
 				"\n" +
-				"\t\tfor (int y = 0; y < img.height; y++) {\n" +
-				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
+				"\t\tBoofConcurrency.loopRows(img, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tdouble variance = 0;\n" +
 				"\n" +
-				"\t\t\tint indexEnd = index+img.width;\n" +
-				"\t\t\t// for(int x = 0; x < img.width; x++ ) {\n" +
-				"\t\t\tfor (; index < indexEnd; index++ ) {\n" +
-				"\t\t\t\tdouble d = (img.data[index]"+bitWise+") - mean; \n" +
-				"\t\t\t\tvariance += d*d;\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint index = img.startIndex + y*img.stride;\n" +
+				"\t\t\t\t\tint indexEnd = index + img.width;\n" +
 				"\n" +
-				"\t\treturn variance/(img.width*img.height);\n" +
+				"\t\t\t\t\tfor( ; index < indexEnd; index++ ) {\n" +
+				"\t\t\t\t\t\tdouble d = (img.data[index]"+input.getBitWise()+") - mean;\n" +
+				"\t\t\t\t\t\tvariance += d*d;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\n");
+		printMergeSum("double", "variance");
+		out.print("\t\t\t}\n" +
+				"\t\t});\n");
+		out.print("\n" +
+				"\t\treturn "+resultValue("double")+"/(img.width*img.height);\n" +
 				"\t}\n\n");
 	}
 
 	public void printMeanDiffSq() {
+		printMeanDiff("meanDiffSq", input.getLargeSumType(), "difference*difference",
+				"Computes the mean squared error (MSE) between the two images.");
+	}
 
+	public void printMeanDiffAbs() {
+		printMeanDiff("meanDiffAbs", input.getSumType(), "Math.abs(difference)",
+				"Computes the mean absolute error (MAE) between the two images.");
+	}
+
+	private void printMeanDiff( String name , String totalType , String error , String description ) {
 		String imageName = input.getSingleBandName();
 		String bitWise = input.getBitWise();
 		String sumType = input.getSumType();
-		String largeSumType = input.getLargeSumType();
 
 		out.print("\t/**\n" +
-				"\t * <p>Computes the mean squared error (MSE) between the two images.</p>\n" +
+				"\t * <p>"+description+"</p>\n" +
 				"\t *\n" +
 				"\t * @param imgA first image. Not modified.\n" +
 				"\t * @param imgB second image. Not modified.\n" +
 				"\t * @return error between the two images.\n" +
 				"\t */\n" +
-				"\tpublic static double meanDiffSq("+imageName+" imgA, "+imageName+" imgB ) {\n" +
-				"\t\t"+largeSumType+" total = 0;\n" +
+				"\tpublic static double "+name+"( final "+imageName+" imgA, final "+imageName+" imgB ) {\n" +
+				declareResult(totalType) +
 				"\n" +
-				"\t\tfor (int y = 0; y < imgA.height; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tfor (int x = 0; x < imgA.width; x++,indexA++,indexB++) {\n" +
-				"\t\t\t\t"+sumType+" difference = (imgA.data[indexA]"+bitWise+")-(imgB.data[indexB]"+bitWise+");\n" +
-				"\t\t\t\ttotal += difference*difference;\n" +
-				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\tBoofConcurrency.loopRows(imgA, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\t"+totalType+" total = 0;\n" +
 				"\n" +
-				"\t\treturn total / (double)(imgA.width*imgA.height);\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexA = imgA.startIndex + y*imgA.stride;\n" +
+				"\t\t\t\t\tint indexB = imgB.startIndex + y*imgB.stride;\n" +
+				"\t\t\t\t\tfor( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {\n" +
+				"\t\t\t\t\t\t"+sumType+" difference = (imgA.data[indexA]"+bitWise+")-(imgB.data[indexB]"+bitWise+");\n" +
+				"\t\t\t\t\t\ttotal += "+error+";\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\n");
+		printMergeSum(totalType, "total");
+		out.print("\t\t\t}\n" +
+				"\t\t});\n");
+		out.print("\n" +
+				"\t\treturn "+resultValue(totalType)+" / (double)(imgA.width*imgA.height);\n" +
 				"\t}\n\n");
 	}
 
-	public void printMeanDiffAbs() {
-
+	/**
+	 * Computes several statistics in a single pass.  For 8 and 16-bit images the sum and sum of squares are
+	 * computed exactly using integer arithmetic.  For other images the variance is found from each pixel's
+	 * difference from the first pixel, which avoids the loss of precision caused by large means.
+	 */
+	public void printSummary() {
 		String imageName = input.getSingleBandName();
-		String bitWise = input.getBitWise();
 		String sumType = input.getSumType();
+		boolean exact = input.isInteger() && input.getNumBits() <= 16;
+		String bin;
+		if( input.isInteger() && input.getNumBits() != 64 )
+			bin = "v - minValue";
+		else
+			bin = "(int)v - minValue";
 
 		out.print("\t/**\n" +
-				"\t * <p>Computes the mean squared error (MSE) between the two images.</p>\n" +
+				"\t * Computes the minimum, maximum, mean, variance, and optionally the histogram of pixel values in a single\n" +
+				"\t * pass through the image.  If {@link ImageSummaryStatistics#histogram} is not null then the histogram\n" +
+				"\t * is computed, with {@link ImageSummaryStatistics#histogramMinValue} being the value of the first bin.\n" +
 				"\t *\n" +
-				"\t * @param imgA first image. Not modified.\n" +
-				"\t * @param imgB second image. Not modified.\n" +
-				"\t * @return error between the two images.\n" +
+				"\t * @param input (input) Image. Not modified.\n" +
+				"\t * @param stats (output) Statistics of the pixel values. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static double meanDiffAbs("+imageName+" imgA, "+imageName+" imgB ) {\n" +
-				"\t\t"+sumType+" total = 0;\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < imgA.height; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tfor (int x = 0; x < imgA.width; x++,indexA++,indexB++) {\n" +
-				"\t\t\t\t"+sumType+" difference = (imgA.data[indexA]"+bitWise+")-(imgB.data[indexB]"+bitWise+");\n" +
-				"\t\t\t\ttotal += Math.abs(difference);\n" +
-				"\t\t\t}\n" +
+				"\tpublic static void summary( final "+imageName+" input , final ImageSummaryStatistics stats ) {\n" +
+				"\t\tfinal int histogram[] = stats.histogram;\n" +
+				"\t\tfinal int minValue = stats.histogramMinValue;\n" +
+				"\t\tif( histogram != null ) {\n" +
+				"\t\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+				"\t\t\t\thistogram[i] = 0;\n" +
 				"\t\t}\n" +
+				"\n");
+		if( exact ) {
+			out.print("\t\tfinal "+sumType+" first = input.get(0,0);\n" +
+					"\t\t// min, max, sum, sum of squares\n" +
+					"\t\tfinal long result[] = new long[]{first,first,0,0};\n");
+		} else {
+			out.print("\t\t// values are relative to the first pixel to reduce numerical error\n" +
+					"\t\tfinal "+sumType+" first = input.get(0,0);\n" +
+					"\t\tfinal double offset = first;\n" +
+					"\t\tfinal "+sumType+" extremes[] = new "+sumType+"[]{first,first};\n" +
+					"\t\t// sum and sum of squares of each band\n" +
+					"\t\tfinal OrderedSums sums = new OrderedSums(2);\n");
+		}
+		out.print("\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tint local[] = null;\n" +
+				"\t\t\t\tif( histogram != null )\n" +
+				"\t\t\t\t\tlocal = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];\n" +
 				"\n" +
-				"\t\treturn total / (double)(imgA.width*imgA.height);\n" +
-				"\t}\n\n");
+				"\t\t\t\t"+sumType+" min = first, max = first;\n");
+		if( exact )
+			out.print("\t\t\t\tlong sum = 0, sumSq = 0;\n");
+		else
+			out.print("\t\t\t\tdouble sum = 0, sumSq = 0;\n");
+		out.print("\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint index = input.startIndex + y*input.stride;\n" +
+				"\t\t\t\t\tint end = index + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; index < end; index++ ) {\n" +
+				"\t\t\t\t\t\t"+sumType+" v = input.data[index]"+input.getBitWise()+";\n" +
+				"\t\t\t\t\t\tif( v < min )\n" +
+				"\t\t\t\t\t\t\tmin = v;\n" +
+				"\t\t\t\t\t\tif( v > max )\n" +
+				"\t\t\t\t\t\t\tmax = v;\n");
+		if( exact ) {
+			// the square of a 16-bit value can overflow an int
+			String square = input.getNumBits() == 8 ? "v*v" : "(long)v*v";
+			out.print("\t\t\t\t\t\tsum += v;\n" +
+					"\t\t\t\t\t\tsumSq += "+square+";\n");
+		} else {
+			out.print("\t\t\t\t\t\tdouble d = v - offset;\n" +
+					"\t\t\t\t\t\tsum += d;\n" +
+					"\t\t\t\t\t\tsumSq += d*d;\n");
+		}
+		out.print("\t\t\t\t\t\tif( local != null )\n" +
+				"\t\t\t\t\t\t\tlocal["+bin+"]++;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\n" +
+				"\t\t\t\tsynchronized( "+(exact ? "result" : "extremes")+" ) {\n");
+		String extremes = exact ? "result" : "extremes";
+		out.print("\t\t\t\t\tif( min < "+extremes+"[0] )\n" +
+				"\t\t\t\t\t\t"+extremes+"[0] = min;\n" +
+				"\t\t\t\t\tif( max > "+extremes+"[1] )\n" +
+				"\t\t\t\t\t\t"+extremes+"[1] = max;\n");
+		if( exact )
+			out.print("\t\t\t\t\tresult[2] += sum;\n" +
+					"\t\t\t\t\tresult[3] += sumSq;\n");
+		out.print("\t\t\t\t\tif( local != null && local != histogram ) {\n" +
+				"\t\t\t\t\t\tfor( int i = 0; i < histogram.length; i++ )\n" +
+				"\t\t\t\t\t\t\thistogram[i] += local[i];\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n");
+		if( !exact )
+			out.print("\t\t\t\tsums.add(y0, sum, sumSq);\n");
+		out.print("\t\t\t}\n" +
+				"\t\t});\n" +
+				"\n");
+		if( !exact )
+			out.print("\t\t// merge in the order of the bands so that the result doesn't depend on which thread finished first\n" +
+					"\t\tdouble sum = sums.total(0), sumSq = sums.total(1);\n" +
+					"\n");
+		out.print("\t\tdouble N = input.width*input.height;\n");
+		if( exact ) {
+			out.print("\t\tstats.min = result[0];\n" +
+					"\t\tstats.max = result[1];\n" +
+					"\t\tstats.mean = result[2]/N;\n" +
+					"\t\tstats.variance = Math.max(0, result[3]/N - stats.mean*stats.mean);\n");
+		} else {
+			out.print("\t\tdouble meanOffset = sum/N;\n" +
+					"\t\tstats.min = extremes[0];\n" +
+					"\t\tstats.max = extremes[1];\n" +
+					"\t\tstats.mean = offset + meanOffset;\n" +
+					"\t\tstats.variance = Math.max(0, sumSq/N - meanOffset*meanOffset);\n");
+		}
+		out.print("\t}\n\n");
+	}
+
+	/**
+	 * Floating point addition isn't associative, so the partial sums from each band are saved in
+	 * {@link boofcv.concurrency.OrderedSums} and added up in order.  Integer sums are exact and merged directly.
+	 */
+	private static boolean isOrdered( String totalType ) {
+		return totalType.equals("float") || totalType.equals("double");
+	}
+
+	private static String declareResult( String totalType ) {
+		if( isOrdered(totalType) )
+			return "\t\tfinal OrderedSums result = new OrderedSums(1);\n";
+		else
+			return "\t\tfinal "+totalType+" result[] = new "+totalType+"[1];\n";
+	}
+
+	private static String resultValue( String totalType ) {
+		if( totalType.equals("float") )
+			return "(float)result.total(0)";
+		else if( isOrdered(totalType) )
+			return "result.total(0)";
+		else
+			return "result[0]";
+	}
+
+	private void printMergeSum( String totalType , String variable ) {
+		if( isOrdered(totalType) ) {
+			out.print("\t\t\t\tresult.add(y0, "+variable+");\n");
+		} else {
+			out.print("\t\t\t\tsynchronized( result ) {\n" +
+					"\t\t\t\t\tresult[0] += "+variable+";\n" +
+					"\t\t\t\t}\n");
+		}
 	}
 
 	public static void main( String args[] ) throws FileNotFoundException {
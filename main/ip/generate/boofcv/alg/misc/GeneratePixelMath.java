@@ -46,14 +46,17 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 
 	private void printPreamble() throws FileNotFoundException {
 		setOutputFile(className);
-		out.print("import boofcv.struct.image.*;\n" +
-				"\n" +
-				"import boofcv.alg.InputSanityCheck;\n" +
+		out.print("import boofcv.alg.InputSanityCheck;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.IntRangeTask;\n" +
+				"import boofcv.struct.image.*;\n" +
 				"\n" +
 				"/**\n" +
 				" * Functions which perform basic arithmetic (e.g. addition, subtraction, multiplication, or " +
 				"division) on a pixel by pixel basis.\n" +
 				" *\n" +
+				" * <p>Concurrency: Images are processed in bands of rows if turned on in {@link BoofConcurrency}.</p>\n" +
+				" *\n" +
 				" * <p>DO NOT MODIFY: Generated by {@link " + getClass().getName() + "}.</p>\n" +
 				" *\n" +
 				" * @author Peter Abeles\n" +
@@ -117,19 +120,24 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the absolute value image is written to. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void abs( "+ input.getSingleBandName()+" input , "+ input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void abs( final "+ input.getSingleBandName()+" input , final "+ input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\t\t\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"Math.abs(input.data[indexSrc]);\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"Math.abs(input.data[indexSrc]);\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -140,19 +148,24 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the inverted image is written to. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void invert( "+input.getSingleBandName()+" input , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void invert( final "+input.getSingleBandName()+" input , final "+input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"-input.data[indexSrc];\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"-input.data[indexSrc];\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -167,19 +180,24 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param denominator What each element is divided by.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void divide( "+input.getSingleBandName()+" input , "+scaleType+" denominator , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void divide( final "+input.getSingleBandName()+" input , final "+scaleType+" denominator , final "+input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") / denominator);\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") / denominator);\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -197,23 +215,28 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param upper Upper bound on output. Inclusive.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void divide( "+input.getSingleBandName()+" input , "+scaleType+" denominator , "+
+				"\tpublic static void divide( final "+input.getSingleBandName()+" input , final "+scaleType+" denominator , final "+
 				sumType+" lower , "+sumType+" upper , "+input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") / denominator);\n" +
-				"\t\t\t\tif( val < lower ) val = lower;\n" +
-				"\t\t\t\tif( val > upper ) val = upper;\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") / denominator);\n" +
+				"\t\t\t\t\t\tif( val < lower ) val = lower;\n" +
+				"\t\t\t\t\t\tif( val > upper ) val = upper;\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -230,19 +253,24 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param value What each element is multiplied by.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void multiply( "+input.getSingleBandName()+" input , "+scaleType+" value , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void multiply( final "+input.getSingleBandName()+" input , final "+scaleType+" value , final "+input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") * value);\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") * value);\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -261,23 +289,28 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param upper Upper bound on output. Inclusive.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void multiply( "+input.getSingleBandName()+" input , "+scaleType+" value , " +
+				"\tpublic static void multiply( final "+input.getSingleBandName()+" input , final "+scaleType+" value , final " +
 				sumType+" lower , "+sumType+" upper , "+input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") * value);\n" +
-				"\t\t\t\tif( val < lower ) val = lower;\n" +
-				"\t\t\t\tif( val > upper ) val = upper;\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\t\t\t"+sumType+" val = "+typeCast+"((input.data[indexSrc] "+input.getBitWise()+") * value);\n" +
+				"\t\t\t\t\t\tif( val < lower ) val = lower;\n" +
+				"\t\t\t\t\t\tif( val > upper ) val = upper;\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -289,19 +322,24 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param value What is added to each element.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void plus( "+input.getSingleBandName()+" input , "+input.getSumType()+" value , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void plus( final "+input.getSingleBandName()+" input , final "+input.getSumType()+" value , final "+input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"((input.data[indexSrc] "+input.getBitWise()+") + value);\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"((input.data[indexSrc] "+input.getBitWise()+") + value);\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -317,23 +355,28 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param upper Upper bound on output. Inclusive.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void plus( "+input.getSingleBandName()+" input , "+sumType+" value , "+
+				"\tpublic static void plus( final "+input.getSingleBandName()+" input , final "+sumType+" value , final "+
 				sumType+" lower , "+sumType+" upper , "+input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\t"+sumType+" val = (input.data[indexSrc] "+input.getBitWise()+") + value;\n" +
-				"\t\t\t\tif( val < lower ) val = lower;\n" +
-				"\t\t\t\tif( val > upper ) val = upper;\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\t\t\t"+sumType+" val = (input.data[indexSrc] "+input.getBitWise()+") + value;\n" +
+				"\t\t\t\t\t\tif( val < lower ) val = lower;\n" +
+				"\t\t\t\t\t\tif( val > upper ) val = upper;\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -349,19 +392,24 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param value What is subtracted from each element in input.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void minus( "+input.getSingleBandName()+" input , "+input.getSumType()+" value , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void minus( final "+input.getSingleBandName()+" input , final "+input.getSumType()+" value , final "+input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"((input.data[indexSrc] "+input.getBitWise()+") - value);\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"((input.data[indexSrc] "+input.getBitWise()+") - value);\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -377,19 +425,24 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input The input image, elements subtracted from value. Not modified.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void minus( "+input.getSumType()+" value , "+input.getSingleBandName()+" input , "+input.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void minus( final "+input.getSumType()+" value , final "+input.getSingleBandName()+" input , final "+input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"( value - (input.data[indexSrc] "+input.getBitWise()+"));\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"( value - (input.data[indexSrc] "+input.getBitWise()+"));\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -409,23 +462,28 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param upper Upper bound on output. Inclusive.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void minus( "+input.getSingleBandName()+" input , "+sumType+" value , "+
+				"\tpublic static void minus( final "+input.getSingleBandName()+" input , final "+sumType+" value , final "+
 				sumType+" lower , "+sumType+" upper , "+input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\t"+sumType+" val = (input.data[indexSrc] "+input.getBitWise()+") - value;\n" +
-				"\t\t\t\tif( val < lower ) val = lower;\n" +
-				"\t\t\t\tif( val > upper ) val = upper;\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\t\t\t"+sumType+" val = (input.data[indexSrc] "+input.getBitWise()+") - value;\n" +
+				"\t\t\t\t\t\tif( val < lower ) val = lower;\n" +
+				"\t\t\t\t\t\tif( val > upper ) val = upper;\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -445,23 +503,28 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param upper Upper bound on output. Inclusive.\n" +
 				"\t * @param output The output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void minus( "+input.getSumType()+" value , "+input.getSingleBandName()+" input , "+
+				"\tpublic static void minus( final "+input.getSumType()+" value , final "+input.getSingleBandName()+" input , final "+
 				sumType+" lower , "+sumType+" upper , "+input.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
-				"\t\t\t\t"+sumType+" val = value - (input.data[indexSrc] "+input.getBitWise()+");\n" +
-				"\t\t\t\tif( val < lower ) val = lower;\n" +
-				"\t\t\t\tif( val > upper ) val = upper;\n" +
-				"\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++, indexDst++ ) {\n" +
+				"\t\t\t\t\t\t"+sumType+" val = value - (input.data[indexSrc] "+input.getBitWise()+");\n" +
+				"\t\t\t\t\t\tif( val < lower ) val = lower;\n" +
+				"\t\t\t\t\t\tif( val > upper ) val = upper;\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+input.getTypeCastFromSum()+"val;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -477,24 +540,28 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param min minimum value.\n" +
 				"\t * @param max maximum value.\n" +
 				"\t */\n" +
-				"\tpublic static void boundImage( "+input.getSingleBandName()+" img , "+sumType+" min , "+sumType+" max ) {\n" +
-				"\t\tfinal int h = img.getHeight();\n" +
+				"\tpublic static void boundImage( final "+input.getSingleBandName()+" img , final "+sumType+" min , final "+sumType+" max ) {\n" +
 				"\t\tfinal int w = img.getWidth();\n" +
 				"\n" +
-				"\t\t"+input.getDataType()+"[] data = img.data;\n" +
-				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
-				"\t\t\tint indexEnd = index+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; index < indexEnd; index++) {\n" +
-				"\t\t\t\t"+sumType+" value = data[index]"+bitWise+";\n" +
-				"\t\t\t\tif( value < min )\n" +
-				"\t\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"min;\n" +
-				"\t\t\t\telse if( value > max )\n" +
-				"\t\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"max;\n" +
+				"\t\tfinal "+input.getDataType()+"[] data = img.data;\n" +
+				"\n" +
+				"\t\tBoofConcurrency.loopRows(img, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor (int y = y0; y < y1; y++) {\n" +
+				"\t\t\t\t\tint index = img.getStartIndex() + y * img.getStride();\n" +
+				"\t\t\t\t\tint indexEnd = index+w;\n" +
+				"\t\t\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\t\t\tfor (; index < indexEnd; index++) {\n" +
+				"\t\t\t\t\t\t"+sumType+" value = data[index]"+bitWise+";\n" +
+				"\t\t\t\t\t\tif( value < min )\n" +
+				"\t\t\t\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"min;\n" +
+				"\t\t\t\t\t\telse if( value > max )\n" +
+				"\t\t\t\t\t\t\tdata[index] = "+input.getTypeCastFromSum()+"max;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -512,23 +579,27 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param diff Absolute value of difference image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void diffAbs( "+input.getSingleBandName()+" imgA , "+input.getSingleBandName()+" imgB , "+input.getSingleBandName()+" diff ) {\n" +
+				"\tpublic static void diffAbs( final "+input.getSingleBandName()+" imgA , final "+input.getSingleBandName()+" imgB , final "+input.getSingleBandName()+" diff ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,diff);\n" +
 				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
 				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexDiff = diff.getStartIndex() + y * diff.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {\n" +
-				"\t\t\t\tdiff.data[indexDiff] = "+typeCast+"Math.abs((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"));\n" +
+				"\t\tBoofConcurrency.loopRows(imgA, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor (int y = y0; y < y1; y++) {\n" +
+				"\t\t\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
+				"\t\t\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
+				"\t\t\t\t\tint indexDiff = diff.getStartIndex() + y * diff.getStride();\n" +
+				"\t\t\t\t\t\n" +
+				"\t\t\t\t\tint indexEnd = indexA+w;\n" +
+				"\t\t\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {\n" +
+				"\t\t\t\t\t\tdiff.data[indexDiff] = "+typeCast+"Math.abs((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"));\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -546,23 +617,27 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param output Output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void add( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void add( final "+typeIn.getSingleBandName()+" imgA , final "+typeIn.getSingleBandName()+" imgB , final "+typeOut.getSingleBandName()+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
 				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
 				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") + (imgB.data[indexB] "+bitWise+"));\n" +
+				"\t\tBoofConcurrency.loopRows(imgA, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor (int y = y0; y < y1; y++) {\n" +
+				"\t\t\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
+				"\t\t\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
+				"\t\t\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
+				"\t\t\t\t\t\n" +
+				"\t\t\t\t\tint indexEnd = indexA+w;\n" +
+				"\t\t\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") + (imgB.data[indexB] "+bitWise+"));\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -580,24 +655,28 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param output Output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void subtract( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "
+				"\tpublic static void subtract( final "+typeIn.getSingleBandName()+" imgA , final "+typeIn.getSingleBandName()+" imgB , final "
 				+typeOut.getSingleBandName()+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
 				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
 				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"));\n" +
+				"\t\tBoofConcurrency.loopRows(imgA, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor (int y = y0; y < y1; y++) {\n" +
+				"\t\t\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
+				"\t\t\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
+				"\t\t\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
+				"\t\t\t\t\t\n" +
+				"\t\t\t\t\tint indexEnd = indexA+w;\n" +
+				"\t\t\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") - (imgB.data[indexB] "+bitWise+"));\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -615,23 +694,27 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param output Output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void multiply( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void multiply( final "+typeIn.getSingleBandName()+" imgA , final "+typeIn.getSingleBandName()+" imgB , final "+typeOut.getSingleBandName()+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
 				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
 				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") * (imgB.data[indexB] "+bitWise+"));\n" +
+				"\t\tBoofConcurrency.loopRows(imgA, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor (int y = y0; y < y1; y++) {\n" +
+				"\t\t\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
+				"\t\t\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
+				"\t\t\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
+				"\t\t\t\t\t\n" +
+				"\t\t\t\t\tint indexEnd = indexA+w;\n" +
+				"\t\t\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") * (imgB.data[indexB] "+bitWise+"));\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -646,19 +729,24 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the log image is written to. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void log( "+typeIn.getSingleBandName()+" input , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void log( final "+typeIn.getSingleBandName()+" input , final "+typeOut.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+typeCast+"Math.log(1 + input.data[indexSrc]"+bitWise+");\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+typeCast+"Math.log(1 + input.data[indexSrc]"+bitWise+");\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -672,20 +760,25 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the pow2 image is written to. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void pow2( "+typeIn.getSingleBandName()+" input , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void pow2( final "+typeIn.getSingleBandName()+" input , final "+typeOut.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\t"+typeOut.getDataType()+" v = input.data[indexSrc]"+bitWise+";\n" +
-				"\t\t\t\toutput.data[indexDst] = v*v;\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
+				"\t\t\t\t\t\t"+typeOut.getDataType()+" v = input.data[indexSrc]"+bitWise+";\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = v*v;\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -700,19 +793,24 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input The input image. Not modified.\n" +
 				"\t * @param output Where the sqrt() image is written to. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void sqrt( "+typeIn.getSingleBandName()+" input , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void sqrt( final "+typeIn.getSingleBandName()+" input , final "+typeOut.getSingleBandName()+" output ) {\n" +
 				"\n" +
 				"\t\tInputSanityCheck.checkSameShape(input,output);\n" +
 				"\n" +
-				"\t\tfor( int y = 0; y < input.height; y++ ) {\n" +
-				"\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
-				"\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
-				"\t\t\tint end = indexSrc + input.width;\n" +
-				"\n" +
-				"\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
-				"\t\t\t\toutput.data[indexDst] = "+typeCast+"Math.sqrt(input.data[indexSrc]"+bitWise+");\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + y* input.stride;\n" +
+				"\t\t\t\t\tint indexDst = output.startIndex + y* output.stride;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++ , indexDst++) {\n" +
+				"\t\t\t\t\t\toutput.data[indexDst] = "+typeCast+"Math.sqrt(input.data[indexSrc]"+bitWise+");\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -730,23 +828,27 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param imgB Input image. Not modified.\n" +
 				"\t * @param output Output image. Modified.\n" +
 				"\t */\n" +
-				"\tpublic static void divide( "+typeIn.getSingleBandName()+" imgA , "+typeIn.getSingleBandName()+" imgB , "+typeOut.getSingleBandName()+" output ) {\n" +
+				"\tpublic static void divide( final "+typeIn.getSingleBandName()+" imgA , final "+typeIn.getSingleBandName()+" imgB , final "+typeOut.getSingleBandName()+" output ) {\n" +
 				"\t\tInputSanityCheck.checkSameShape(imgA,imgB,output);\n" +
 				"\t\t\n" +
-				"\t\tfinal int h = imgA.getHeight();\n" +
 				"\t\tfinal int w = imgA.getWidth();\n" +
 				"\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
-				"\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
-				"\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
-				"\t\t\t\n" +
-				"\t\t\tint indexEnd = indexA+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
-				"\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") / (imgB.data[indexB] "+bitWise+"));\n" +
+				"\t\tBoofConcurrency.loopRows(imgA, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor (int y = y0; y < y1; y++) {\n" +
+				"\t\t\t\t\tint indexA = imgA.getStartIndex() + y * imgA.getStride();\n" +
+				"\t\t\t\t\tint indexB = imgB.getStartIndex() + y * imgB.getStride();\n" +
+				"\t\t\t\t\tint indexOut = output.getStartIndex() + y * output.getStride();\n" +
+				"\t\t\t\t\t\n" +
+				"\t\t\t\t\tint indexEnd = indexA+w;\n" +
+				"\t\t\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\t\t\tfor (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {\n" +
+				"\t\t\t\t\t\toutput.data[indexOut] = "+typeCast+"((imgA.data[indexA] "+bitWise+") / (imgB.data[indexB] "+bitWise+"));\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
@@ -764,26 +866,30 @@ public class GeneratePixelMath extends CodeGeneratorBase {
 				"\t * @param input MultiSpectral image\n" +
 				"\t * @param output Gray scale image containing average pixel values\n" +
 				"\t */\n" +
-				"\tpublic static void averageBand( MultiSpectral<"+imageName+"> input , "+imageName+" output ) {\n" +
-				"\t\tfinal int h = input.getHeight();\n" +
+				"\tpublic static void averageBand( final MultiSpectral<"+imageName+"> input , final "+imageName+" output ) {\n" +
 				"\t\tfinal int w = input.getWidth();\n" +
 				"\n" +
-				"\t\t"+imageName+"[] bands = input.bands;\n" +
+				"\t\tfinal "+imageName+"[] bands = input.bands;\n" +
 				"\t\t\n" +
-				"\t\tfor (int y = 0; y < h; y++) {\n" +
-				"\t\t\tint indexInput = input.getStartIndex() + y * input.getStride();\n" +
-				"\t\t\tint indexOutput = output.getStartIndex() + y * output.getStride();\n" +
-				"\n" +
-				"\t\t\tint indexEnd = indexInput+w;\n" +
-				"\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
-				"\t\t\tfor (; indexInput < indexEnd; indexInput++, indexOutput++ ) {\n" +
-				"\t\t\t\t"+sumType+" total = 0;\n" +
-				"\t\t\t\tfor( int i = 0; i < bands.length; i++ ) {\n" +
-				"\t\t\t\t\ttotal += bands[i].data[ indexInput ]"+bitwise+";\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor (int y = y0; y < y1; y++) {\n" +
+				"\t\t\t\t\tint indexInput = input.getStartIndex() + y * input.getStride();\n" +
+				"\t\t\t\t\tint indexOutput = output.getStartIndex() + y * output.getStride();\n" +
+				"\n" +
+				"\t\t\t\t\tint indexEnd = indexInput+w;\n" +
+				"\t\t\t\t\t// for(int x = 0; x < w; x++ ) {\n" +
+				"\t\t\t\t\tfor (; indexInput < indexEnd; indexInput++, indexOutput++ ) {\n" +
+				"\t\t\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\t\t\tfor( int i = 0; i < bands.length; i++ ) {\n" +
+				"\t\t\t\t\t\t\ttotal += bands[i].data[ indexInput ]"+bitwise+";\n" +
+				"\t\t\t\t\t\t}\n" +
+				"\t\t\t\t\t\toutput.data[indexOutput] = "+typecast+"(total / bands.length);\n" +
+				"\t\t\t\t\t}\n" +
 				"\t\t\t\t}\n" +
-				"\t\t\t\toutput.data[indexOutput] = "+typecast+"(total / bands.length);\n" +
 				"\t\t\t}\n" +
-				"\t\t}\n" +
+				"\t\t});\n" +
 				"\t}\n\n");
 	}
 
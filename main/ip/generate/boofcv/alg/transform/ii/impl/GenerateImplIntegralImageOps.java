@@ -44,8 +44,11 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 		printPreamble();
 
 		printTwoInput(AutoTypeImage.F32, AutoTypeImage.F32);
+		printTwoInput(AutoTypeImage.F32, AutoTypeImage.F64);
 		printTwoInput(AutoTypeImage.F64, AutoTypeImage.F64);
 		printTwoInput(AutoTypeImage.U8, AutoTypeImage.S32);
+		printTwoInput(AutoTypeImage.U8, AutoTypeImage.S64);
+		printTwoInput(AutoTypeImage.U16, AutoTypeImage.S64);
 		printTwoInput(AutoTypeImage.S32, AutoTypeImage.S32);
 		printTwoInput(AutoTypeImage.S64, AutoTypeImage.S64);
 		singleInput(AutoTypeImage.F32);
@@ -62,6 +65,8 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 		out.print("package boofcv.alg.transform.ii.impl;\n" +
 				"\n" +
 				"import boofcv.alg.transform.ii.IntegralKernel;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.IntRangeTask;\n" +
 				"import boofcv.struct.ImageRectangle;\n" +
 				"import boofcv.struct.image.*;\n" +
 				"\n" +
@@ -82,6 +87,7 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 
 	private void printTwoInput( AutoTypeImage imageIn , AutoTypeImage imageOut ) {
 		printTransform(imageIn,imageOut);
+		printTransformConcurrent(imageIn,imageOut);
 
 	}
 
@@ -126,6 +132,55 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	private void printTransformConcurrent( AutoTypeImage imageIn , AutoTypeImage imageOut ) {
+
+		String sumType = imageOut.getSumType();
+		String bitWise = imageIn.getBitWise();
+		String typeCast = imageOut.getTypeCastFromSum();
+		String nameIn = imageIn.getSingleBandName();
+		String nameOut = imageOut.getSingleBandName();
+
+		out.print("\t/**\n" +
+				"\t * Computes the integral image in two passes which are run using {@link BoofConcurrency}.  First the sum along\n" +
+				"\t * each row is found with the rows split between threads.  Then each column is summed with the columns split\n" +
+				"\t * between threads.  The arithmetic is the same as in {@link #transform("+nameIn+", "+nameOut+")}, producing\n" +
+				"\t * identical results.\n" +
+				"\t */\n" +
+				"\tpublic static void transformConcurrent( final "+nameIn+" input , final "+nameOut+" transformed )\n" +
+				"\t{\n" +
+				"\t\tBoofConcurrency.loopRows(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + input.stride*y;\n" +
+				"\t\t\t\t\tint indexDst = transformed.startIndex + transformed.stride*y;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++ ) {\n" +
+				"\t\t\t\t\t\ttransformed.data[indexDst++] = "+typeCast+"total += input.data[indexSrc]"+bitWise+";\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t});\n" +
+				"\n" +
+				"\t\tBoofConcurrency.loopColumns(input, new IntRangeTask() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void process(int x0, int x1) {\n" +
+				"\t\t\t\tfor( int y = 1; y < transformed.height; y++ ) {\n" +
+				"\t\t\t\t\tint indexDst = transformed.startIndex + transformed.stride*y + x0;\n" +
+				"\t\t\t\t\tint indexPrev = indexDst - transformed.stride;\n" +
+				"\t\t\t\t\tint end = indexDst + x1 - x0;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexDst < end; indexDst++ ) {\n" +
+				"\t\t\t\t\t\ttransformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t});\n" +
+				"\t}\n\n");
+	}
+
 	private void printConvolve( AutoTypeImage imageIn , AutoTypeImage imageOut) {
 		out.print("\tpublic static void convolve( "+imageIn.getSingleBandName()+" integral ,\n" +
 				"\t\t\t\t\t\t\t\t IntegralKernel kernel,\n" +
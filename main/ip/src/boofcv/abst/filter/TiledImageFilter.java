@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter;
+
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.TiledImage;
+
+/**
+ * <p>
+ * Applies a {@link FilterImageInterface} to a {@link TiledImage} one tile at a time, allowing images which are
+ * too large to fit in memory to be processed.  Only the storage for a single input and output tile is declared.
+ * </p>
+ *
+ * <p>
+ * Each tile is read along with a halo of pixels around it, which is clipped by the image border.  The filter is
+ * applied to the expanded region and only the tile's interior is written to the output.  If every output pixel only
+ * depends on input pixels within 'halo' of it, e.g. convolution, morphology, and local thresholding, then
+ * the results are identical to processing the entire image at once.  Operations which depend on statistics of the
+ * whole image, e.g. Otsu thresholding, will be computed independently for each tile.
+ * </p>
+ *
+ * <p>
+ * Filters which do not process the image border, see {@link FilterImageInterface#getHorizontalBorder()}, leave
+ * the output's border unmodified just like when they are applied to the entire image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TiledImageFilter<Input extends ImageSingleBand, Output extends ImageSingleBand> {
+
+	// filter which is applied to each tile
+	private FilterImageInterface<Input,Output> filter;
+
+	// number of pixels around each tile which are also read
+	private int halo;
+	// size of a tile, not including the halo
+	private int tileWidth, tileHeight;
+
+	// storage for the tile and its halo
+	private Input tileIn;
+	private Output tileOut;
+	private Output inner;
+
+	/**
+	 * Configures the filter
+	 *
+	 * @param filter Filter which is applied to each tile
+	 * @param halo Number of pixels around each tile which the filter needs.  For a convolution this is the kernel's
+	 *             radius.  Must be &ge; the filter's border.
+	 * @param tileWidth Width of a tile
+	 * @param tileHeight Height of a tile
+	 */
+	public TiledImageFilter(FilterImageInterface<Input, Output> filter, int halo, int tileWidth, int tileHeight) {
+		if( halo < filter.getHorizontalBorder() || halo < filter.getVerticalBorder() )
+			throw new IllegalArgumentException("The halo must be at least as large as the filter's border");
+		if( tileWidth <= 0 || tileHeight <= 0 )
+			throw new IllegalArgumentException("Tile width and height must be positive");
+
+		this.filter = filter;
+		this.halo = halo;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+
+		tileIn = GeneralizedImageOps.createSingleBand(filter.getInputType().getDataType(),
+				tileWidth + 2*halo, tileHeight + 2*halo);
+		tileOut = GeneralizedImageOps.createSingleBand(filter.getOutputType().getDataType(),
+				tileWidth + 2*halo, tileHeight + 2*halo);
+	}
+
+	/**
+	 * Applies the filter to the input image and writes the results into the output image
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Modified.
+	 */
+	public void process( TiledImage<Input> input , TiledImage<Output> output ) {
+		if( input.getWidth() != output.getWidth() || input.getHeight() != output.getHeight() )
+			throw new IllegalArgumentException("Input and output images must have the same shape");
+
+		int width = input.getWidth();
+		int height = input.getHeight();
+
+		boolean hasBorder = filter.getHorizontalBorder() > 0 || filter.getVerticalBorder() > 0;
+
+		for( int y0 = 0; y0 < height; y0 += tileHeight ) {
+			int y1 = Math.min(height, y0 + tileHeight);
+			int haloY0 = Math.max(0, y0 - halo);
+			int haloY1 = Math.min(height, y1 + halo);
+
+			for( int x0 = 0; x0 < width; x0 += tileWidth ) {
+				int x1 = Math.min(width, x0 + tileWidth);
+				int haloX0 = Math.max(0, x0 - halo);
+				int haloX1 = Math.min(width, x1 + halo);
+
+				tileIn.reshape(haloX1 - haloX0, haloY1 - haloY0);
+				tileOut.reshape(haloX1 - haloX0, haloY1 - haloY0);
+				input.read(haloX0, haloY0, tileIn);
+
+				// pixels along the image border which the filter skips must keep their original value
+				if( hasBorder )
+					output.read(haloX0, haloY0, tileOut);
+
+				filter.process(tileIn, tileOut);
+
+				inner = (Output)tileOut.subimage(x0 - haloX0, y0 - haloY0, x1 - haloX0, y1 - haloY0, inner);
+				output.write(x0, y0, inner);
+			}
+		}
+	}
+
+	public FilterImageInterface<Input, Output> getFilter() {
+		return filter;
+	}
+
+	public int getHalo() {
+		return halo;
+	}
+
+	public int getTileWidth() {
+		return tileWidth;
+	}
+
+	public int getTileHeight() {
+		return tileHeight;
+	}
+}
@@ -23,6 +23,9 @@ import boofcv.alg.transform.fft.GeneralPurposeFFT_F32_2D;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.InterleavedF32;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Wrapper around {@link GeneralPurposeFFT_F32_2D} which implements {@link DiscreteFourierTransform}
  *
@@ -31,13 +34,16 @@ import boofcv.struct.image.InterleavedF32;
 public class GeneralFft_to_DiscreteFourierTransform_F32
 		implements DiscreteFourierTransform<ImageFloat32,InterleavedF32>
 {
-	// previous size of input image
-	private int prevWidth = -1;
-	private int prevHeight = -1;
+	// maximum number of algorithms for different image sizes which are saved
+	public static int MAX_PLANS = 4;
 
 	// performs the FFT
 	private GeneralPurposeFFT_F32_2D alg;
 
+	// previously declared algorithms, most recently used first.  Computing the plan is expensive so it's
+	// saved in case the same size is used again
+	private List<GeneralPurposeFFT_F32_2D> plans = new ArrayList<GeneralPurposeFFT_F32_2D>();
+
 	// storage for temporary results
 	private InterleavedF32 tmp = new InterleavedF32(1,1,2);
 
@@ -87,14 +93,25 @@ public class GeneralFft_to_DiscreteFourierTransform_F32
 	}
 
 	/**
-	 * Declare the algorithm if the image size has changed
+	 * Declare the algorithm if the image size has changed.  Algorithms for recently used sizes are reused.
 	 */
 	private void checkDeclareAlg(ImageFloat32 image) {
-		if( prevWidth != image.width || prevHeight != image.height ) {
-			prevWidth = image.width;
-			prevHeight = image.height;
-			alg = new GeneralPurposeFFT_F32_2D(image.height,image.width);
+		if( alg != null && alg.getRows() == image.height && alg.getColumns() == image.width )
+			return;
+
+		for( int i = 0; i < plans.size(); i++ ) {
+			GeneralPurposeFFT_F32_2D p = plans.get(i);
+			if( p.getRows() == image.height && p.getColumns() == image.width ) {
+				alg = plans.remove(i);
+				plans.add(0,alg);
+				return;
+			}
 		}
+
+		alg = new GeneralPurposeFFT_F32_2D(image.height,image.width);
+		plans.add(0,alg);
+		while( plans.size() > MAX_PLANS )
+			plans.remove(plans.size()-1);
 	}
 
 	@Override
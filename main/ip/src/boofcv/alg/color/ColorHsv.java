@@ -19,7 +19,11 @@
 package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 
 /**
@@ -401,4 +405,168 @@ public class ColorHsv {
 			}
 		}
 	}
+
+	/**
+	 * Converts an image from HSV into RGB.
+	 *
+	 * Concurrency: If turned on in {@link BoofConcurrency} bands of rows are processed in parallel.
+	 *
+	 * @param hsv (Input) Image in HSV format with 3 bands
+	 * @param rgb (Output) Image in RGB format with 3 bands
+	 */
+	public static void hsvToRgb_F32( final InterleavedF32 hsv , final InterleavedF32 rgb ) {
+		ColorRgb.checkBands(hsv);
+		ColorRgb.checkBands(rgb);
+		InputSanityCheck.checkSameShape(hsv, rgb);
+
+		BoofConcurrency.loopRows(hsv, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				for( int row = row0; row < row1; row++ ) {
+					int indexHsv = hsv.startIndex + row*hsv.stride;
+					int indexRgb = rgb.startIndex + row*rgb.stride;
+					int end = indexHsv + hsv.width*3;
+
+					for( ; indexHsv < end; indexHsv += 3 , indexRgb += 3 ) {
+						float h = hsv.data[indexHsv];
+						float s = hsv.data[indexHsv+1];
+						float v = hsv.data[indexHsv+2];
+
+						float[] out = rgb.data;
+						if( s == 0 ) {
+							out[indexRgb] = v;
+							out[indexRgb+1] = v;
+							out[indexRgb+2] = v;
+							continue;
+						}
+						h /= d60_F32;
+						int h_int = (int)h;
+						float remainder = h - h_int;
+						float p = v * ( 1 - s );
+						float q = v * ( 1 - s * remainder );
+						float t = v * ( 1 - s * ( 1 - remainder ) );
+
+						if( h_int < 1 ) {
+							out[indexRgb] = v;
+							out[indexRgb+1] = t;
+							out[indexRgb+2] = p;
+						} else if( h_int < 2 ) {
+							out[indexRgb] = q;
+							out[indexRgb+1] = v;
+							out[indexRgb+2] = p;
+						} else if( h_int < 3 ) {
+							out[indexRgb] = p;
+							out[indexRgb+1] = v;
+							out[indexRgb+2] = t;
+						} else if( h_int < 4 ) {
+							out[indexRgb] = p;
+							out[indexRgb+1] = q;
+							out[indexRgb+2] = v;
+						} else if( h_int < 5 ) {
+							out[indexRgb] = t;
+							out[indexRgb+1] = p;
+							out[indexRgb+2] = v;
+						} else {
+							out[indexRgb] = v;
+							out[indexRgb+1] = p;
+							out[indexRgb+2] = q;
+						}
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Converts an image from RGB into HSV.  Value will have the same range as the input pixels.
+	 *
+	 * Concurrency: If turned on in {@link BoofConcurrency} bands of rows are processed in parallel.
+	 *
+	 * @param rgb (Input) Image in RGB format with 3 bands
+	 * @param hsv (Output) Image in HSV format with 3 bands
+	 */
+	public static void rgbToHsv_F32( final InterleavedF32 rgb , final InterleavedF32 hsv ) {
+		ColorRgb.checkBands(rgb);
+		ColorRgb.checkBands(hsv);
+		InputSanityCheck.checkSameShape(rgb, hsv);
+
+		BoofConcurrency.loopRows(hsv, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				for( int row = row0; row < row1; row++ ) {
+					int indexRgb = rgb.startIndex + row*rgb.stride;
+					int indexHsv = hsv.startIndex + row*hsv.stride;
+					int end = indexHsv + hsv.width*3;
+
+					for( ; indexHsv < end; indexHsv += 3 , indexRgb += 3 ) {
+						rgbToHsv(rgb.data[indexRgb], rgb.data[indexRgb+1], rgb.data[indexRgb+2], hsv.data, indexHsv);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Converts an image from RGB into HSV.  Value will have a range of [0,255].
+	 *
+	 * Concurrency: If turned on in {@link BoofConcurrency} bands of rows are processed in parallel.
+	 *
+	 * @param rgb (Input) Image in RGB format with 3 bands
+	 * @param hsv (Output) Image in HSV format with 3 bands
+	 */
+	public static void rgbToHsv_U8( final InterleavedU8 rgb , final InterleavedF32 hsv ) {
+		ColorRgb.checkBands(rgb);
+		ColorRgb.checkBands(hsv);
+		InputSanityCheck.checkSameShape(rgb, hsv);
+
+		BoofConcurrency.loopRows(hsv, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				for( int row = row0; row < row1; row++ ) {
+					int indexRgb = rgb.startIndex + row*rgb.stride;
+					int indexHsv = hsv.startIndex + row*hsv.stride;
+					int end = indexHsv + hsv.width*3;
+
+					for( ; indexHsv < end; indexHsv += 3 , indexRgb += 3 ) {
+						rgbToHsv(rgb.data[indexRgb] & 0xFF, rgb.data[indexRgb+1] & 0xFF,
+								rgb.data[indexRgb+2] & 0xFF, hsv.data, indexHsv);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Same as {@link #rgbToHsv(float, float, float, float[])} but writes to an arbitrary location in the array
+	 */
+	private static void rgbToHsv( float r , float g , float b , float[] hsv , int index ) {
+		float max = r > g ? ( r > b ? r : b) : ( g > b ? g : b );
+		float min = r < g ? ( r < b ? r : b) : ( g < b ? g : b );
+
+		float delta = max - min;
+
+		hsv[index+2] = max;
+
+		if( max != 0 )
+			hsv[index+1] = delta / max;
+		else {
+			hsv[index] = Float.NaN;
+			hsv[index+1] = 0;
+			return;
+		}
+
+		float h;
+		if( r == max )
+			h = ( g - b ) / delta;
+		else if( g == max )
+			h = 2 + ( b - r ) / delta;
+		else
+			h = 4 + ( r - g ) / delta;
+
+		h *= d60_F32;
+		if( h < 0 )
+			h += PI2_F32;
+
+		hsv[index] = h;
+	}
 }
@@ -19,9 +19,9 @@
 package boofcv.alg.color;
 
 import boofcv.alg.InputSanityCheck;
-import boofcv.struct.image.ImageFloat32;
-import boofcv.struct.image.ImageUInt8;
-import boofcv.struct.image.MultiSpectral;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.*;
 
 /**
  * Conversion between RGB and CIE LAB color space.  LAB color is designed to approximate human vision.
@@ -208,4 +208,98 @@ public class ColorLab {
 			}
 		}
 	}
+
+	/**
+	 * Convert a 3-band {@link InterleavedU8} image from RGB into LAB.  RGB is assumed to have a range from 0:255.
+	 * The cube root is computed with {@link Math#cbrt}, which is faster than the power function used by the
+	 * {@link MultiSpectral} version, and the results can differ in the last few bits.
+	 *
+	 * Concurrency: If turned on in {@link BoofConcurrency} bands of rows are processed in parallel.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param lab (Output) LAB encoded image
+	 */
+	public static void rgbToLab_U8( final InterleavedU8 rgb , final InterleavedF32 lab ) {
+		ColorRgb.checkBands(rgb);
+		ColorRgb.checkBands(lab);
+		InputSanityCheck.checkSameShape(lab, rgb);
+
+		BoofConcurrency.loopRows(lab, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				for( int row = row0; row < row1; row++ ) {
+					int indexLab = lab.startIndex + row*lab.stride;
+					int indexRgb = rgb.startIndex + row*rgb.stride;
+					int end = indexLab + lab.width*3;
+
+					for( ; indexLab < end; indexLab += 3 , indexRgb += 3 ) {
+						float r = (rgb.data[indexRgb]&0xFF)/255f;
+						float g = (rgb.data[indexRgb+1]&0xFF)/255f;
+						float b = (rgb.data[indexRgb+2]&0xFF)/255f;
+
+						rgbToLab(r, g, b, lab.data, indexLab);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Convert a 3-band {@link InterleavedF32} image from RGB into LAB.  RGB is assumed to have a range from 0:255.
+	 * See {@link #rgbToLab_U8(InterleavedU8, InterleavedF32)} for a comment about precision.
+	 *
+	 * Concurrency: If turned on in {@link BoofConcurrency} bands of rows are processed in parallel.
+	 *
+	 * @param rgb (Input) RGB encoded image
+	 * @param lab (Output) LAB encoded image
+	 */
+	public static void rgbToLab_F32( final InterleavedF32 rgb , final InterleavedF32 lab ) {
+		ColorRgb.checkBands(rgb);
+		ColorRgb.checkBands(lab);
+		InputSanityCheck.checkSameShape(lab, rgb);
+
+		BoofConcurrency.loopRows(lab, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				for( int row = row0; row < row1; row++ ) {
+					int indexLab = lab.startIndex + row*lab.stride;
+					int indexRgb = rgb.startIndex + row*rgb.stride;
+					int end = indexLab + lab.width*3;
+
+					for( ; indexLab < end; indexLab += 3 , indexRgb += 3 ) {
+						float r = rgb.data[indexRgb]/255f;
+						float g = rgb.data[indexRgb+1]/255f;
+						float b = rgb.data[indexRgb+2]/255f;
+
+						rgbToLab(r, g, b, lab.data, indexLab);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Converts normalized RGB into LAB and writes the results into the array starting at 'index'
+	 */
+	private static void rgbToLab( float r , float g , float b , float[] lab , int index ) {
+		float X = 0.412453f*r + 0.35758f*g + 0.180423f*b;
+		float Y = 0.212671f*r + 0.71516f*g + 0.072169f*b;
+		float Z = 0.019334f*r + 0.119193f*g + 0.950227f*b;
+
+		float xr = X/Xr_f;
+		float yr = Y/Yr_f;
+		float zr = Z/Zr_f;
+
+		float fx, fy, fz;
+		if(xr > epsilon_f)	fx = (float)Math.cbrt(xr);
+		else				fx = (kappa_f*xr + 16.0f)/116.0f;
+		if(yr > epsilon_f)	fy = (float)Math.cbrt(yr);
+		else				fy = (kappa_f*yr + 16.0f)/116.0f;
+		if(zr > epsilon_f)	fz = (float)Math.cbrt(zr);
+		else				fz = (kappa_f*zr + 16.0f)/116.0f;
+
+		lab[index]   = 116.0f*fy-16.0f;
+		lab[index+1] = 500.0f*(fx-fy);
+		lab[index+2] = 200.0f*(fy-fz);
+	}
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.color;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInterleaved;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+
+/**
+ * <p>
+ * Conversion between RGB and gray scale.  RGB to gray uses the luma weights from ITU-R BT.601, the same as
+ * Y in {@link ColorYuv}:
+ * </p>
+ * <pre>
+ * gray = 0.299*r + 0.587*g + 0.114*b
+ * </pre>
+ * <p>
+ * For U8 images the weights are approximated by 77/256, 150/256, and 29/256 and the result is rounded.
+ * </p>
+ *
+ * <p>
+ * Concurrency: If turned on in {@link BoofConcurrency} bands of rows are processed in parallel.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ColorRgb {
+
+	/**
+	 * Converts an RGB image into gray scale using a weighted average of each band.
+	 *
+	 * @param rgb (Input) RGB image with 3 bands
+	 * @param gray (Output) Gray scale image
+	 */
+	public static void rgbToGray_Weighted( final InterleavedU8 rgb , final ImageUInt8 gray ) {
+		checkBands(rgb);
+		InputSanityCheck.checkSameShape(rgb, gray);
+
+		BoofConcurrency.loopRows(gray, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				for( int row = row0; row < row1; row++ ) {
+					int indexRgb = rgb.startIndex + row*rgb.stride;
+					int indexGray = gray.startIndex + row*gray.stride;
+					int end = indexGray + gray.width;
+
+					for( ; indexGray < end; indexGray++ ) {
+						int r = rgb.data[indexRgb++] & 0xFF;
+						int g = rgb.data[indexRgb++] & 0xFF;
+						int b = rgb.data[indexRgb++] & 0xFF;
+
+						gray.data[indexGray] = (byte)((77*r + 150*g + 29*b + 128) >> 8);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Converts an RGB image into gray scale using a weighted average of each band.
+	 *
+	 * @param rgb (Input) RGB image with 3 bands
+	 * @param gray (Output) Gray scale image
+	 */
+	public static void rgbToGray_Weighted( final InterleavedF32 rgb , final ImageFloat32 gray ) {
+		checkBands(rgb);
+		InputSanityCheck.checkSameShape(rgb, gray);
+
+		BoofConcurrency.loopRows(gray, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				for( int row = row0; row < row1; row++ ) {
+					int indexRgb = rgb.startIndex + row*rgb.stride;
+					int indexGray = gray.startIndex + row*gray.stride;
+					int end = indexGray + gray.width;
+
+					for( ; indexGray < end; indexGray++ ) {
+						float r = rgb.data[indexRgb++];
+						float g = rgb.data[indexRgb++];
+						float b = rgb.data[indexRgb++];
+
+						gray.data[indexGray] = 0.299f*r + 0.587f*g + 0.114f*b;
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Converts a gray scale image into RGB by copying it into each band.
+	 *
+	 * @param gray (Input) Gray scale image
+	 * @param rgb (Output) RGB image with 3 bands
+	 */
+	public static void grayToRgb( final ImageUInt8 gray , final InterleavedU8 rgb ) {
+		checkBands(rgb);
+		InputSanityCheck.checkSameShape(gray, rgb);
+
+		BoofConcurrency.loopRows(gray, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				for( int row = row0; row < row1; row++ ) {
+					int indexRgb = rgb.startIndex + row*rgb.stride;
+					int indexGray = gray.startIndex + row*gray.stride;
+					int end = indexGray + gray.width;
+
+					for( ; indexGray < end; indexGray++ ) {
+						byte v = gray.data[indexGray];
+						rgb.data[indexRgb++] = v;
+						rgb.data[indexRgb++] = v;
+						rgb.data[indexRgb++] = v;
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Converts a gray scale image into RGB by copying it into each band.
+	 *
+	 * @param gray (Input) Gray scale image
+	 * @param rgb (Output) RGB image with 3 bands
+	 */
+	public static void grayToRgb( final ImageFloat32 gray , final InterleavedF32 rgb ) {
+		checkBands(rgb);
+		InputSanityCheck.checkSameShape(gray, rgb);
+
+		BoofConcurrency.loopRows(gray, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				for( int row = row0; row < row1; row++ ) {
+					int indexRgb = rgb.startIndex + row*rgb.stride;
+					int indexGray = gray.startIndex + row*gray.stride;
+					int end = indexGray + gray.width;
+
+					for( ; indexGray < end; indexGray++ ) {
+						float v = gray.data[indexGray];
+						rgb.data[indexRgb++] = v;
+						rgb.data[indexRgb++] = v;
+						rgb.data[indexRgb++] = v;
+					}
+				}
+			}
+		});
+	}
+
+	static void checkBands( ImageInterleaved image ) {
+		if( image.getNumBands() != 3 )
+			throw new IllegalArgumentException("Expected an image with 3 bands");
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.distort.PixelTransform_F32;
+import boofcv.struct.image.ImageBase;
+
+/**
+ * <p>
+ * Implementation of {@link ImageDistort} which uses a {@link PixelRemapTable} and bilinear interpolation.  The
+ * table is computed the first time an image is distorted and when the model or the shape of an image changes,
+ * making it well suited for a fixed distortion such as removing lens distortion.
+ * </p>
+ *
+ * <p>
+ * Pixels whose interpolation doesn't touch the image border are computed directly from the table using fixed
+ * point arithmetic.  Output differs from floating point bilinear interpolation by about 1/{@link PixelRemapTable#SCALE}
+ * of a pixel.  The remaining pixels are handled by the interpolation class provided to the implementation, which
+ * also determines how the border is handled.
+ * </p>
+ *
+ * <p>
+ * Concurrency: Rows are processed in bands if turned on in {@link BoofConcurrency}.  Border pixels are processed
+ * in the calling thread since interpolation classes are not thread safe.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageDistortRemap<Input extends ImageBase,Output extends ImageBase>
+		implements ImageDistort<Input,Output> {
+
+	// distortion model from the dst to src image
+	protected PixelTransform_F32 dstToSrc;
+	protected PixelRemapTable table = new PixelRemapTable();
+	// true if the table needs to be recomputed
+	protected boolean dirty = true;
+
+	// crop boundary
+	protected int x0,y0,x1,y1;
+
+	// should it render all pixels in the destination, even ones outside the input image
+	protected boolean renderAll = true;
+	protected Input srcImg;
+	protected Output dstImg;
+
+	@Override
+	public void setModel(PixelTransform_F32 dstToSrc) {
+		this.dirty = true;
+		this.dstToSrc = dstToSrc;
+	}
+
+	@Override
+	public void apply(Input srcImg, Output dstImg) {
+		apply(srcImg, dstImg, 0, 0, dstImg.width, dstImg.height);
+	}
+
+	@Override
+	public void apply(Input srcImg, Output dstImg, int dstX0, int dstY0, int dstX1, int dstY1) {
+		if( dirty || !table.isShape(dstImg.width, dstImg.height, srcImg.width, srcImg.height) ) {
+			table.configure(dstToSrc, dstImg.width, dstImg.height, srcImg.width, srcImg.height);
+			dirty = false;
+		}
+
+		this.srcImg = srcImg;
+		this.dstImg = dstImg;
+		x0 = dstX0;y0 = dstY0;x1 = dstX1;y1 = dstY1;
+
+		IntRangeTask task = new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				applyTable(row0, row1);
+			}
+		};
+		if( BoofConcurrency.isActive(dstImg) )
+			BoofConcurrency.loopBlocks(y0, y1, task);
+		else
+			task.process(y0, y1);
+
+		applyBorder();
+	}
+
+	/**
+	 * Renders pixels in the table inside the crop region's columns for the specified rows.  Pixels with a
+	 * coordinate of -1 are skipped.
+	 */
+	protected abstract void applyTable( int row0 , int row1 );
+
+	/**
+	 * Renders the border pixels inside the crop region using interpolation.  If render all is false then only
+	 * pixels which lie inside the source image are rendered.
+	 */
+	protected void applyBorder() {
+		float maxWidth = srcImg.getWidth()-1;
+		float maxHeight = srcImg.getHeight()-1;
+		int width = table.dstWidth;
+
+		for( int i = 0; i < table.borderSize; i++ ) {
+			int index = table.borderIndexes[i];
+			int y = index / width;
+			int x = index - y*width;
+			if( x < x0 || x >= x1 || y < y0 || y >= y1 )
+				continue;
+
+			float sx = table.borderX[i], sy = table.borderY[i];
+			if( renderAll || (sx >= 0 && sx <= maxWidth && sy >= 0 && sy <= maxHeight) ) {
+				assignBorder(x, y, sx, sy);
+			}
+		}
+	}
+
+	/**
+	 * Sets the value of a destination pixel using interpolation at the specified source location
+	 */
+	protected abstract void assignBorder( int x , int y , float srcX , float srcY );
+
+	@Override
+	public void setRenderAll(boolean renderAll) {
+		this.renderAll = renderAll;
+	}
+
+	@Override
+	public boolean getRenderAll() {
+		return renderAll;
+	}
+
+	public PixelRemapTable getTable() {
+		return table;
+	}
+
+	/**
+	 * Changes the table which is used.  Allows the same table to be shared by multiple instances.
+	 */
+	public void setTable( PixelRemapTable table ) {
+		this.table = table;
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.struct.image.ImageSingleBand;
+
+/**
+ * Implementation of {@link ImageDistortRemap} for {@link ImageSingleBand}.  Input and output images are of the
+ * same type.
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageDistortRemap_SB<T extends ImageSingleBand> extends ImageDistortRemap<T,T> {
+
+	// interpolation used for border pixels
+	protected InterpolatePixelS<T> interp;
+
+	/**
+	 * Specifies configuration parameters
+	 *
+	 * @param interp Interpolation used for border pixels.  Should be bilinear for consistent results.
+	 */
+	protected ImageDistortRemap_SB( InterpolatePixelS<T> interp ) {
+		this.interp = interp;
+	}
+
+	@Override
+	protected void applyTable( int row0 , int row1 ) {
+		applyTable(srcImg, dstImg, x0, x1, row0, row1);
+	}
+
+	/**
+	 * Renders the pixels in the table for the specified columns and rows.  The table must have already been
+	 * computed for these images.
+	 *
+	 * @param src Source image.  Not modified.
+	 * @param dst Destination image.  Modified.
+	 * @param col0 First column, inclusive
+	 * @param col1 Last column, exclusive
+	 * @param row0 First row, inclusive
+	 * @param row1 Last row, exclusive
+	 */
+	public abstract void applyTable( T src , T dst , int col0 , int col1 , int row0 , int row1 );
+
+	/**
+	 * Renders the border pixels inside the crop region.  The table must have already been computed for these images.
+	 *
+	 * @param src Source image.  Not modified.
+	 * @param dst Destination image.  Modified.
+	 */
+	public void applyBorder( T src , T dst , int dstX0 , int dstY0 , int dstX1 , int dstY1 ) {
+		this.srcImg = src;
+		this.dstImg = dst;
+		x0 = dstX0;y0 = dstY0;x1 = dstX1;y1 = dstY1;
+		applyBorder();
+	}
+
+	@Override
+	protected void applyBorder() {
+		interp.setImage(srcImg);
+		super.applyBorder();
+	}
+
+	@Override
+	protected void assignBorder(int x, int y, float srcX, float srcY) {
+		assign(dstImg, x, y, interp.get(srcX, srcY));
+	}
+
+	/**
+	 * Assigns the value to a pixel in the destination image
+	 */
+	protected abstract void assign( T dst , int x , int y , float value );
+
+	public InterpolatePixelS<T> getInterp() {
+		return interp;
+	}
+}
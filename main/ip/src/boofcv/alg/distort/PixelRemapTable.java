@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.struct.distort.PixelTransform_F32;
+
+/**
+ * <p>
+ * Precomputed bilinear remapping from each pixel in a destination image to a location in a source image.  For each
+ * destination pixel the integer coordinate of the source pixel to its upper left and the fractional offset from it
+ * are stored in fixed point.  This takes 6 bytes per pixel and the interpolation can be done using integer
+ * arithmetic.
+ * </p>
+ *
+ * <ul>
+ * <li>coordinates: x in the lower 16-bits and y in the upper 16-bits.</li>
+ * <li>weights: fractional x in the lower 8-bits and fractional y in the upper 8-bits.  Both are in units of
+ * 1/{@link #SCALE} of a pixel.</li>
+ * </ul>
+ *
+ * <p>
+ * Only pixels which can be interpolated without going outside the source image are encoded this way.  The others
+ * have a coordinate of -1 and their location is saved in a separate list of border pixels as floating point,
+ * so that they can be handled by regular interpolation.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PixelRemapTable {
+
+	/**
+	 * Number of bits in the fractional part of a coordinate
+	 */
+	public static final int BITS = 8;
+	/**
+	 * Fixed point scale of a coordinate
+	 */
+	public static final int SCALE = 1 << BITS;
+
+	// size of the destination image
+	public int dstWidth, dstHeight;
+	// size of the source image
+	public int srcWidth, srcHeight;
+
+	/**
+	 * Packed integer coordinate of the upper left source pixel for each destination pixel.  -1 for border pixels.
+	 * Other values can also be negative, since y can use all 16 upper bits, and must be decoded using unsigned
+	 * shifts.
+	 */
+	public int coordinates[] = new int[0];
+	/**
+	 * Packed fixed point interpolation weights for each destination pixel
+	 */
+	public short weights[] = new short[0];
+
+	/**
+	 * Number of border pixels
+	 */
+	public int borderSize;
+	/**
+	 * Index of each border pixel in the destination image, y*dstWidth + x
+	 */
+	public int borderIndexes[] = new int[0];
+	/**
+	 * Location of each border pixel in the source image
+	 */
+	public float borderX[] = new float[0], borderY[] = new float[0];
+
+	/**
+	 * Computes the table for the specified transform.
+	 *
+	 * @param dstToSrc Transform from destination to source pixels.
+	 * @param dstWidth Width of destination image
+	 * @param dstHeight Height of destination image
+	 * @param srcWidth Width of source image
+	 * @param srcHeight Height of source image
+	 */
+	public void configure( PixelTransform_F32 dstToSrc , int dstWidth , int dstHeight , int srcWidth , int srcHeight ) {
+		if( srcWidth > 0xFFFF || srcHeight > 0xFFFF )
+			throw new IllegalArgumentException("Source image is too large");
+
+		this.dstWidth = dstWidth;
+		this.dstHeight = dstHeight;
+		this.srcWidth = srcWidth;
+		this.srcHeight = srcHeight;
+
+		int N = dstWidth*dstHeight;
+		if( coordinates.length < N ) {
+			coordinates = new int[N];
+			weights = new short[N];
+		}
+		borderSize = 0;
+
+		int index = 0;
+		for( int y = 0; y < dstHeight; y++ ) {
+			for( int x = 0; x < dstWidth; x++ , index++ ) {
+				dstToSrc.compute(x,y);
+
+				float sx = dstToSrc.distX, sy = dstToSrc.distY;
+
+				// round to the nearest fixed point value.  Bounds are checked first to avoid overflow
+				if( sx >= 0 && sy >= 0 && sx < srcWidth-1 && sy < srcHeight-1 ) {
+					int fx = (int)(sx*SCALE + 0.5f);
+					int fy = (int)(sy*SCALE + 0.5f);
+					int px = fx >> BITS;
+					int py = fy >> BITS;
+
+					if( px < srcWidth-1 && py < srcHeight-1 ) {
+						coordinates[index] = (py << 16) | px;
+						weights[index] = (short)(((fy & (SCALE-1)) << BITS) | (fx & (SCALE-1)));
+						continue;
+					}
+				}
+
+				coordinates[index] = -1;
+				addBorder(index, sx, sy);
+			}
+		}
+	}
+
+	private void addBorder( int index , float x , float y ) {
+		if( borderSize == borderIndexes.length ) {
+			int length = Math.max(16, borderSize*2);
+			int tmpIndexes[] = new int[length];
+			float tmpX[] = new float[length];
+			float tmpY[] = new float[length];
+			System.arraycopy(borderIndexes, 0, tmpIndexes, 0, borderSize);
+			System.arraycopy(borderX, 0, tmpX, 0, borderSize);
+			System.arraycopy(borderY, 0, tmpY, 0, borderSize);
+			borderIndexes = tmpIndexes;
+			borderX = tmpX;
+			borderY = tmpY;
+		}
+		borderIndexes[borderSize] = index;
+		borderX[borderSize] = x;
+		borderY[borderSize] = y;
+		borderSize++;
+	}
+
+	/**
+	 * Returns true if the table was computed for images of the specified shape
+	 */
+	public boolean isShape( int dstWidth , int dstHeight , int srcWidth , int srcHeight ) {
+		return this.dstWidth == dstWidth && this.dstHeight == dstHeight &&
+				this.srcWidth == srcWidth && this.srcHeight == srcHeight;
+	}
+}
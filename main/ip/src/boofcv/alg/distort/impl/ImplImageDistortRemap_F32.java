@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistortRemap_SB;
+import boofcv.alg.distort.PixelRemapTable;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.struct.image.ImageFloat32;
+
+/**
+ * Implementation of {@link ImageDistortRemap_SB} for {@link ImageFloat32}.
+ *
+ * @author Peter Abeles
+ */
+public class ImplImageDistortRemap_F32 extends ImageDistortRemap_SB<ImageFloat32> {
+
+	private static final float TO_FLOAT = 1.0f/PixelRemapTable.SCALE;
+
+	public ImplImageDistortRemap_F32(InterpolatePixelS<ImageFloat32> interp) {
+		super(interp);
+	}
+
+	@Override
+	public void applyTable(ImageFloat32 src, ImageFloat32 dst, int col0, int col1, int row0, int row1) {
+		final int coordinates[] = table.coordinates;
+		final short weights[] = table.weights;
+		final float dataSrc[] = src.data;
+		final int stride = src.stride;
+
+		for( int y = row0; y < row1; y++ ) {
+			int indexTable = y*table.dstWidth + col0;
+			int indexDst = dst.startIndex + y*dst.stride + col0;
+			int end = indexTable + (col1 - col0);
+
+			for( ; indexTable < end; indexTable++ , indexDst++ ) {
+				int c = coordinates[indexTable];
+				if( c == -1 )
+					continue;
+
+				int w = weights[indexTable];
+				float ax = (w & 0xFF)*TO_FLOAT;
+				float ay = ((w >> 8) & 0xFF)*TO_FLOAT;
+
+				int indexSrc = src.startIndex + (c >>> 16)*stride + (c & 0xFFFF);
+				float p00 = dataSrc[indexSrc];
+				float p10 = dataSrc[indexSrc+1];
+				float p01 = dataSrc[indexSrc+stride];
+				float p11 = dataSrc[indexSrc+stride+1];
+
+				float top = p00 + (p10 - p00)*ax;
+				float bottom = p01 + (p11 - p01)*ax;
+
+				dst.data[indexDst] = top + (bottom - top)*ay;
+			}
+		}
+	}
+
+	@Override
+	protected void assign(ImageFloat32 dst, int x, int y, float value) {
+		dst.data[dst.startIndex + y*dst.stride + x] = value;
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistortRemap;
+import boofcv.alg.distort.ImageDistortRemap_SB;
+import boofcv.alg.distort.PixelRemapTable;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.MultiSpectral;
+
+/**
+ * Implementation of {@link ImageDistortRemap} for {@link MultiSpectral} images.  A single table is shared by all
+ * the bands.  Each row is rendered in every band before moving on to the next row, so that the table is only read
+ * once from main memory.
+ *
+ * @author Peter Abeles
+ */
+public class ImplImageDistortRemap_MS<T extends ImageSingleBand>
+		extends ImageDistortRemap<MultiSpectral<T>,MultiSpectral<T>> {
+
+	// renders each band
+	ImageDistortRemap_SB<T> layer;
+
+	public ImplImageDistortRemap_MS(ImageDistortRemap_SB<T> layer) {
+		this.layer = layer;
+		layer.setTable(table);
+	}
+
+	@Override
+	public void apply(MultiSpectral<T> srcImg, MultiSpectral<T> dstImg, int dstX0, int dstY0, int dstX1, int dstY1) {
+		if( srcImg.getNumBands() != dstImg.getNumBands() )
+			throw new IllegalArgumentException("Number of bands must be the same");
+		super.apply(srcImg, dstImg, dstX0, dstY0, dstX1, dstY1);
+	}
+
+	@Override
+	protected void applyTable(int row0, int row1) {
+		int N = srcImg.getNumBands();
+		for( int y = row0; y < row1; y++ ) {
+			for( int i = 0; i < N; i++ ) {
+				layer.applyTable(srcImg.getBand(i), dstImg.getBand(i), x0, x1, y, y+1);
+			}
+		}
+	}
+
+	@Override
+	protected void applyBorder() {
+		int N = srcImg.getNumBands();
+		for( int i = 0; i < N; i++ ) {
+			layer.applyBorder(srcImg.getBand(i), dstImg.getBand(i), x0, y0, x1, y1);
+		}
+	}
+
+	@Override
+	protected void assignBorder(int x, int y, float srcX, float srcY) {
+		// border pixels are rendered by the layer
+		throw new RuntimeException("Should not be called");
+	}
+
+	@Override
+	public void setTable(PixelRemapTable table) {
+		super.setTable(table);
+		layer.setTable(table);
+	}
+
+	@Override
+	public void setRenderAll(boolean renderAll) {
+		super.setRenderAll(renderAll);
+		layer.setRenderAll(renderAll);
+	}
+}
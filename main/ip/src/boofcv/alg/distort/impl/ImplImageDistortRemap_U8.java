@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistortRemap_SB;
+import boofcv.alg.distort.PixelRemapTable;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * Implementation of {@link ImageDistortRemap_SB} for {@link ImageUInt8}.  Interpolation is done entirely with
+ * integer arithmetic and the output is rounded to the nearest integer.
+ *
+ * @author Peter Abeles
+ */
+public class ImplImageDistortRemap_U8 extends ImageDistortRemap_SB<ImageUInt8> {
+
+	private static final int SCALE = PixelRemapTable.SCALE;
+	private static final int SHIFT = 2*PixelRemapTable.BITS;
+	private static final int ROUND = 1 << (SHIFT-1);
+
+	public ImplImageDistortRemap_U8(InterpolatePixelS<ImageUInt8> interp) {
+		super(interp);
+	}
+
+	@Override
+	public void applyTable(ImageUInt8 src, ImageUInt8 dst, int col0, int col1, int row0, int row1) {
+		final int coordinates[] = table.coordinates;
+		final short weights[] = table.weights;
+		final byte dataSrc[] = src.data;
+		final int stride = src.stride;
+
+		for( int y = row0; y < row1; y++ ) {
+			int indexTable = y*table.dstWidth + col0;
+			int indexDst = dst.startIndex + y*dst.stride + col0;
+			int end = indexTable + (col1 - col0);
+
+			for( ; indexTable < end; indexTable++ , indexDst++ ) {
+				int c = coordinates[indexTable];
+				if( c == -1 )
+					continue;
+
+				int w = weights[indexTable];
+				int ax = w & 0xFF;
+				int ay = (w >> 8) & 0xFF;
+
+				int indexSrc = src.startIndex + (c >>> 16)*stride + (c & 0xFFFF);
+				int p00 = dataSrc[indexSrc] & 0xFF;
+				int p10 = dataSrc[indexSrc+1] & 0xFF;
+				int p01 = dataSrc[indexSrc+stride] & 0xFF;
+				int p11 = dataSrc[indexSrc+stride+1] & 0xFF;
+
+				int top = p00*SCALE + (p10 - p00)*ax;
+				int bottom = p01*SCALE + (p11 - p01)*ax;
+
+				dst.data[indexDst] = (byte)((top*SCALE + (bottom - top)*ay + ROUND) >> SHIFT);
+			}
+		}
+	}
+
+	@Override
+	protected void assign(ImageUInt8 dst, int x, int y, float value) {
+		dst.data[dst.startIndex + y*dst.stride + x] = (byte)value;
+	}
+}
@@ -18,6 +18,7 @@
 
 package boofcv.alg.filter.binary;
 
+import boofcv.alg.filter.binary.impl.ImplThresholdLocalStream;
 import boofcv.alg.filter.binary.impl.ThresholdSauvola;
 import boofcv.alg.misc.GImageStatistics;
 import boofcv.core.image.GConvertImage;
@@ -238,18 +239,13 @@ public class GThresholdImageOps {
 	 * b(x,y) = I(x,y) > T(x,y) + bias ? 0 : 1
 	 * </p>
 	 *
-	 * <p>
-	 * NOTE: Internally, images are declared to store intermediate results.  If more control is needed over memory
-	 * call the type specific function.
-	 * </p>
-	 *
 	 * @param input Input image.
 	 * @param output (optional) Output binary image.  If null it will be declared internally.
 	 * @param radius Radius of square region.
 	 * @param bias Bias used to adjust threshold
 	 * @param down Should it threshold up or down.
-	 * @param work1 (Optional) Internal workspace.  Can be null
-	 * @param work2 (Optional) Internal workspace.  Can be null
+	 * @param work1 Not used.  Can be null
+	 * @param work2 Not used.  Can be null
 	 * @return binary image.
 	 */
 	public static <T extends ImageSingleBand>
@@ -275,18 +271,13 @@ public class GThresholdImageOps {
 	 * b(x,y) = I(x,y) > T(x,y) + bias ? 0 : 1
 	 * </p>
 	 *
-	 * <p>
-	 * NOTE: Internally, images are declared to store intermediate results.  If more control is needed over memory
-	 * call the type specific function.
-	 * </p>
-	 *
 	 * @param input Input image.
 	 * @param output (optional) Output binary image.  If null it will be declared internally.
 	 * @param radius Radius of square region.
 	 * @param bias Bias used to adjust threshold
 	 * @param down Should it threshold up or down.
-	 * @param work1 (Optional) Internal workspace.  Can be null
-	 * @param work2 (Optional) Internal workspace.  Can be null
+	 * @param work1 Not used.  Can be null
+	 * @param work2 Not used.  Can be null
 	 * @return binary image.
 	 */
 	public static <T extends ImageSingleBand>
@@ -328,6 +319,8 @@ public class GThresholdImageOps {
 
 		if( input instanceof ImageFloat32 ) {
 			alg.process((ImageFloat32)input,output);
+		} else if( input instanceof ImageUInt8 ) {
+			ImplThresholdLocalStream.sauvola((ImageUInt8)input, output, radius, k, down);
 		} else {
 			ImageFloat32 conv = new ImageFloat32(input.width,input.height);
 			GConvertImage.convert(input, conv);
@@ -336,5 +329,4 @@ public class GThresholdImageOps {
 
 		return output;
 	}
-
 }
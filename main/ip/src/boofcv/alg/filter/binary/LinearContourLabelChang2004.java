@@ -18,7 +18,9 @@
 
 package boofcv.alg.filter.binary;
 
+import boofcv.alg.filter.binary.impl.ImplContourLabelConcurrent;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageUInt8;
@@ -48,6 +50,11 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * When {@link BoofConcurrency} is active for the image, it is processed by {@link ImplContourLabelConcurrent}
+ * instead, which produces identical labels and contours.
+ * </p>
+ *
+ * <p>
  * [1] Fu Chang and Chun-jen Chen and Chi-jen Lu, "A linear-time component-labeling algorithm using contour
  * tracing technique" Computer Vision and Image Understanding, 2004
  * </p>
@@ -58,6 +65,10 @@ public class LinearContourLabelChang2004 {
 
 	// traces edge pixels
 	private ContourTracer tracer;
+	private ConnectRule rule;
+
+	// used when the image is processed concurrently.  Declared when first needed
+	private ImplContourLabelConcurrent concurrent;
 
 	// binary image with a border of zero.
 	private ImageUInt8 border = new ImageUInt8(1,1);
@@ -76,6 +87,7 @@ public class LinearContourLabelChang2004 {
 	 * @param rule Connectivity rule.  4 or 8
 	 */
 	public LinearContourLabelChang2004( ConnectRule rule ) {
+		this.rule = rule;
 		tracer = new ContourTracer(rule);
 	}
 
@@ -86,6 +98,13 @@ public class LinearContourLabelChang2004 {
 	 * @param labeled Output. Labeled image.  Modified.
 	 */
 	public void process( ImageUInt8 binary , ImageSInt32 labeled ) {
+		if( BoofConcurrency.isActive(binary) ) {
+			if( concurrent == null )
+				concurrent = new ImplContourLabelConcurrent(rule);
+			concurrent.process(binary, labeled, contours);
+			return;
+		}
+
 		// initialize data structures
 
 		// ensure that the image border pixels are filled with zero by enlarging the image
@@ -0,0 +1,422 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.filter.binary.impl.ImplBinaryPackedOps;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImagePackedBinary;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Operations on {@link ImagePackedBinary}.  The same operations as in {@link BinaryImageOps} are provided and
+ * produce identical results, but 64 pixels are processed at once.  Binary images produced by
+ * {@link ThresholdImageOps} can be converted using {@link #pack}, or the image can be thresholded directly
+ * into a packed image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PackedBinaryImageOps {
+
+	/**
+	 * Converts a binary image into a packed binary image.  Pixels with a non-zero value are set to 1.
+	 *
+	 * @param input Input binary image. Not modified.
+	 * @param output (Optional) Storage for the packed image.  If null a new image is declared.  Modified.
+	 * @return The packed image
+	 */
+	public static ImagePackedBinary pack( ImageUInt8 input , ImagePackedBinary output ) {
+		output = checkDeclare(input, output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x0 = 0; x0 < input.width; x0 += 64 ) {
+				int length = Math.min(64, input.width - x0);
+				long word = 0;
+				for( int i = 0; i < length; i++ ) {
+					int v = input.data[indexIn++];
+					// 1 if v is not zero
+					word |= (long)((v | -v) >>> 31) << i;
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Converts a packed binary image into a binary image with pixel values of 0 or 1.
+	 *
+	 * @param input Input packed image. Not modified.
+	 * @param output (Optional) Storage for the binary image.  If null a new image is declared.  Modified.
+	 * @return The binary image
+	 */
+	public static ImageUInt8 unpack( ImagePackedBinary input , ImageUInt8 output ) {
+		if( output == null )
+			output = new ImageUInt8(input.width, input.height);
+		else if( output.width != input.width || output.height != input.height )
+			throw new IllegalArgumentException("Input and output images must have the same shape");
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for( int x0 = 0; x0 < input.width; x0 += 64 ) {
+				int length = Math.min(64, input.width - x0);
+				long word = input.data[indexIn++];
+				for( int i = 0; i < length; i++ ) {
+					output.data[indexOut++] = (byte)((word >>> i) & 1);
+				}
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold and writes the results into a packed binary image.
+	 * Same as {@link ThresholdImageOps#threshold(ImageFloat32, ImageUInt8, float, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Packed output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then > is used.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary threshold( ImageFloat32 input , ImagePackedBinary output ,
+											   float threshold , boolean down ) {
+		output = checkDeclare(input, output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x0 = 0; x0 < input.width; x0 += 64 ) {
+				int length = Math.min(64, input.width - x0);
+				long word = 0;
+				if( down ) {
+					for( int i = 0; i < length; i++ ) {
+						if( input.data[indexIn++] <= threshold )
+							word |= 1L << i;
+					}
+				} else {
+					for( int i = 0; i < length; i++ ) {
+						if( input.data[indexIn++] > threshold )
+							word |= 1L << i;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold and writes the results into a packed binary image.
+	 * Same as {@link ThresholdImageOps#threshold(ImageUInt8, ImageUInt8, int, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Packed output image. If null a new image will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality <= is used, otherwise if false then > is used.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary threshold( ImageUInt8 input , ImagePackedBinary output ,
+											   int threshold , boolean down ) {
+		output = checkDeclare(input, output);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for( int x0 = 0; x0 < input.width; x0 += 64 ) {
+				int length = Math.min(64, input.width - x0);
+				long word = 0;
+				if( down ) {
+					for( int i = 0; i < length; i++ ) {
+						if( (input.data[indexIn++] & 0xFF) <= threshold )
+							word |= 1L << i;
+					}
+				} else {
+					for( int i = 0; i < length; i++ ) {
+						if( (input.data[indexIn++] & 0xFF) > threshold )
+							word |= 1L << i;
+					}
+				}
+				output.data[indexOut++] = word;
+			}
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'and' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output (Optional) Output image. Can be the same as either of the inputs. Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary logicAnd( ImagePackedBinary inputA , ImagePackedBinary inputB ,
+											  ImagePackedBinary output ) {
+		checkSameShape(inputA, inputB);
+		output = checkDeclare(inputA, output);
+
+		final int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] & inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'or' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output (Optional) Output image. Can be the same as either of the inputs. Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary logicOr( ImagePackedBinary inputA , ImagePackedBinary inputB ,
+											 ImagePackedBinary output ) {
+		checkSameShape(inputA, inputB);
+		output = checkDeclare(inputA, output);
+
+		final int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] | inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'xor' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output (Optional) Output image. Can be the same as either of the inputs. Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary logicXor( ImagePackedBinary inputA , ImagePackedBinary inputB ,
+											  ImagePackedBinary output ) {
+		checkSameShape(inputA, inputB);
+		output = checkDeclare(inputA, output);
+
+		final int N = inputA.stride*inputA.height;
+		for( int i = 0; i < N; i++ ) {
+			output.data[i] = inputA.data[i] ^ inputB.data[i];
+		}
+
+		return output;
+	}
+
+	/**
+	 * Inverts each pixel from true to false and vis-versa.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Output image. Can be the same as the input. Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary invert( ImagePackedBinary input , ImagePackedBinary output ) {
+		output = checkDeclare(input, output);
+
+		final long mask = input.lastWordMask();
+		for( int y = 0; y < input.height; y++ ) {
+			int index = y*input.stride;
+			int end = index + input.stride;
+			for( ; index < end; index++ ) {
+				output.data[index] = ~input.data[index];
+			}
+			if( input.stride > 0 )
+				output.data[end-1] &= mask;
+		}
+
+		return output;
+	}
+
+	/**
+	 * Counts the number of pixels with a value of 1.
+	 *
+	 * @param input Input image. Not modified.
+	 * @return Number of pixels which are 1
+	 */
+	public static int countPixels( ImagePackedBinary input ) {
+		final int N = input.stride*input.height;
+		int total = 0;
+		for( int i = 0; i < N; i++ ) {
+			total += Long.bitCount(input.data[i]);
+		}
+		return total;
+	}
+
+	/**
+	 * Erodes an image according to a 4-neighborhood.  See {@link BinaryImageOps#erode4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image. Can be the same as the input. Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary erode4( ImagePackedBinary input , int numTimes , ImagePackedBinary output ) {
+		output = checkDeclare(input, output);
+		if( numTimes <= 0 )
+			throw new IllegalArgumentException("numTimes must be >= 1");
+
+		ImplBinaryPackedOps.erode4(input, output);
+		for( int i = 1; i < numTimes; i++ ) {
+			ImplBinaryPackedOps.erode4(output, output);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Dilates an image according to a 4-neighborhood.  See {@link BinaryImageOps#dilate4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image. Can be the same as the input. Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary dilate4( ImagePackedBinary input , int numTimes , ImagePackedBinary output ) {
+		output = checkDeclare(input, output);
+		if( numTimes <= 0 )
+			throw new IllegalArgumentException("numTimes must be >= 1");
+
+		ImplBinaryPackedOps.dilate4(input, output);
+		for( int i = 1; i < numTimes; i++ ) {
+			ImplBinaryPackedOps.dilate4(output, output);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Removes all pixels but ones which are on the edge of an object, using a 4-neighborhood.
+	 * See {@link BinaryImageOps#edge4}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output (Optional) Output image. Can be the same as the input. Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary edge4( ImagePackedBinary input , ImagePackedBinary output ) {
+		output = checkDeclare(input, output);
+		ImplBinaryPackedOps.edge4(input, output);
+		return output;
+	}
+
+	/**
+	 * Erodes an image according to a 8-neighborhood.  See {@link BinaryImageOps#erode8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image. Can be the same as the input. Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary erode8( ImagePackedBinary input , int numTimes , ImagePackedBinary output ) {
+		output = checkDeclare(input, output);
+		if( numTimes <= 0 )
+			throw new IllegalArgumentException("numTimes must be >= 1");
+
+		ImplBinaryPackedOps.erode8(input, output);
+		for( int i = 1; i < numTimes; i++ ) {
+			ImplBinaryPackedOps.erode8(output, output);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Dilates an image according to a 8-neighborhood.  See {@link BinaryImageOps#dilate8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output (Optional) Output image. Can be the same as the input. Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary dilate8( ImagePackedBinary input , int numTimes , ImagePackedBinary output ) {
+		output = checkDeclare(input, output);
+		if( numTimes <= 0 )
+			throw new IllegalArgumentException("numTimes must be >= 1");
+
+		ImplBinaryPackedOps.dilate8(input, output);
+		for( int i = 1; i < numTimes; i++ ) {
+			ImplBinaryPackedOps.dilate8(output, output);
+		}
+
+		return output;
+	}
+
+	/**
+	 * Removes all pixels but ones which are on the edge of an object, using a 8-neighborhood.
+	 * See {@link BinaryImageOps#edge8}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output (Optional) Output image. Can be the same as the input. Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary edge8( ImagePackedBinary input , ImagePackedBinary output ) {
+		output = checkDeclare(input, output);
+		ImplBinaryPackedOps.edge8(input, output);
+		return output;
+	}
+
+	/**
+	 * Removes small bits of spurious noise.  See {@link BinaryImageOps#removePointNoise}.
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param output (Optional) Output image. Can be the same as the input. Modified.
+	 * @return Output image.
+	 */
+	public static ImagePackedBinary removePointNoise( ImagePackedBinary input , ImagePackedBinary output ) {
+		output = checkDeclare(input, output);
+		ImplBinaryPackedOps.removePointNoise(input, output);
+		return output;
+	}
+
+	private static ImagePackedBinary checkDeclare( ImageBase input , ImagePackedBinary output ) {
+		return checkDeclare(input.width, input.height, output);
+	}
+
+	private static ImagePackedBinary checkDeclare( ImagePackedBinary input , ImagePackedBinary output ) {
+		return checkDeclare(input.width, input.height, output);
+	}
+
+	private static ImagePackedBinary checkDeclare( int width , int height , ImagePackedBinary output ) {
+		if( output == null )
+			return new ImagePackedBinary(width, height);
+		else if( output.width != width || output.height != height )
+			throw new IllegalArgumentException("Input and output images must have the same shape");
+		return output;
+	}
+
+	private static void checkSameShape( ImagePackedBinary imgA , ImagePackedBinary imgB ) {
+		if( imgA.width != imgB.width || imgA.height != imgB.height )
+			throw new IllegalArgumentException("Input images must have the same shape");
+	}
+}
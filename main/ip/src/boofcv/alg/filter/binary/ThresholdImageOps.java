@@ -18,7 +18,9 @@
 package boofcv.alg.filter.binary;
 
 import boofcv.alg.InputSanityCheck;
-import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.filter.binary.impl.ImplThresholdLocalStream;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.*;
 
 /**
@@ -27,6 +29,10 @@ import boofcv.struct.image.*;
  * </p>
  *
  * <p>
+ * Concurrency: Thresholding is done in bands of rows if turned on in {@link BoofConcurrency}.
+ * </p>
+ *
+ * <p>
  * WARNING: Do not modify.  Automatically generated by {@link boofcv.alg.filter.binary.GenerateThresholdImageOps}.
  * </p>
  *
@@ -45,40 +51,47 @@ public class ThresholdImageOps {
 	 * @param down If true then the inequality <= is used, otherwise if false then > is used.
 	 * @return Output image.
 	 */
-	public static ImageUInt8 threshold( ImageFloat32 input , ImageUInt8 output ,
-										float threshold , boolean down )
+	public static ImageUInt8 threshold( final ImageFloat32 input , ImageUInt8 output ,
+										final float threshold , final boolean down )
 	{
 		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
 
-		if( down ) {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]) <= threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
+		final ImageUInt8 binary = output;
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( down ) {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]) <= threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
+				} else {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]) > threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
 				}
 			}
-		} else {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]) > threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		}
+		});
 
 		return output;
 	}
@@ -94,40 +107,47 @@ public class ThresholdImageOps {
 	 * @param down If true then the inequality <= is used, otherwise if false then > is used.
 	 * @return Output image.
 	 */
-	public static ImageUInt8 threshold( ImageFloat64 input , ImageUInt8 output ,
-										double threshold , boolean down )
+	public static ImageUInt8 threshold( final ImageFloat64 input , ImageUInt8 output ,
+										final double threshold , final boolean down )
 	{
 		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
 
-		if( down ) {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]) <= threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		} else {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]) > threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
+		final ImageUInt8 binary = output;
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( down ) {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]) <= threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
+				} else {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]) > threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
 				}
 			}
-		}
+		});
 
 		return output;
 	}
@@ -143,40 +163,47 @@ public class ThresholdImageOps {
 	 * @param down If true then the inequality <= is used, otherwise if false then > is used.
 	 * @return Output image.
 	 */
-	public static ImageUInt8 threshold( ImageUInt8 input , ImageUInt8 output ,
-										int threshold , boolean down )
+	public static ImageUInt8 threshold( final ImageUInt8 input , ImageUInt8 output ,
+										final int threshold , final boolean down )
 	{
 		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
 
-		if( down ) {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]& 0xFF) <= threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		} else {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]& 0xFF) > threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
+		final ImageUInt8 binary = output;
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( down ) {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]& 0xFF) <= threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
+				} else {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]& 0xFF) > threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
 				}
 			}
-		}
+		});
 
 		return output;
 	}
@@ -192,40 +219,47 @@ public class ThresholdImageOps {
 	 * @param down If true then the inequality <= is used, otherwise if false then > is used.
 	 * @return Output image.
 	 */
-	public static ImageUInt8 threshold( ImageSInt16 input , ImageUInt8 output ,
-										int threshold , boolean down )
+	public static ImageUInt8 threshold( final ImageSInt16 input , ImageUInt8 output ,
+										final int threshold , final boolean down )
 	{
 		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
 
-		if( down ) {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]) <= threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
+		final ImageUInt8 binary = output;
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( down ) {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]) <= threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
+				} else {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]) > threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
 				}
 			}
-		} else {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]) > threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		}
+		});
 
 		return output;
 	}
@@ -241,40 +275,47 @@ public class ThresholdImageOps {
 	 * @param down If true then the inequality <= is used, otherwise if false then > is used.
 	 * @return Output image.
 	 */
-	public static ImageUInt8 threshold( ImageUInt16 input , ImageUInt8 output ,
-										int threshold , boolean down )
+	public static ImageUInt8 threshold( final ImageUInt16 input , ImageUInt8 output ,
+										final int threshold , final boolean down )
 	{
 		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
 
-		if( down ) {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]& 0xFFFF) <= threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		} else {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]& 0xFFFF) > threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
+		final ImageUInt8 binary = output;
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( down ) {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]& 0xFFFF) <= threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
+				} else {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]& 0xFFFF) > threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
 				}
 			}
-		}
+		});
 
 		return output;
 	}
@@ -290,40 +331,47 @@ public class ThresholdImageOps {
 	 * @param down If true then the inequality <= is used, otherwise if false then > is used.
 	 * @return Output image.
 	 */
-	public static ImageUInt8 threshold( ImageSInt32 input , ImageUInt8 output ,
-										int threshold , boolean down )
+	public static ImageUInt8 threshold( final ImageSInt32 input , ImageUInt8 output ,
+										final int threshold , final boolean down )
 	{
 		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
 
-		if( down ) {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]) <= threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
+		final ImageUInt8 binary = output;
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( down ) {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]) <= threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
+				} else {
+					for( int y = y0; y < y1; y++ ) {
+						int indexIn = input.startIndex + y*input.stride;
+						int indexOut = binary.startIndex + y*binary.stride;
+
+						int end = indexIn + input.width;
+
+						for( ; indexIn < end; indexIn++ , indexOut++ ) {
+							if( (input.data[indexIn]) > threshold )
+								binary.data[indexOut] = 1;
+							else
+								binary.data[indexOut] = 0;
+						}
+					}
 				}
 			}
-		} else {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++ ) {
-					if( (input.data[indexIn]) > threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		}
+		});
 
 		return output;
 	}
@@ -334,13 +382,18 @@ public class ThresholdImageOps {
 	 * If down is true then b(x,y) = I(x,y) <= T(x,y) + bias ? 1 : 0.  Otherwise
 	 * b(x,y) = I(x,y) > T(x,y) + bias ? 0 : 1
 	 *
+	 * <p>
+	 * The local mean and the threshold are computed together while streaming down the rows, without
+	 * intermediate images.  See {@link ImplThresholdLocalStream#square}.
+	 * </p>
+	 *
 	 * @param input Input image.
 	 * @param output (optional) Output binary image.  If null it will be declared internally.
 	 * @param radius Radius of square region.
 	 * @param bias Bias used to adjust threshold
 	 * @param down Should it threshold up or down.
-	 * @param storage1 (Optional) Storage for intermediate step. If null will be declared internally.
-	 * @param storage2 (Optional) Storage for intermediate step. If null will be declared internally.
+	 * @param storage1 Not used.  Can be null.
+	 * @param storage2 Not used.  Can be null.
 	 * @return Thresholded image.
 	 */
 	public static ImageUInt8 adaptiveSquare( ImageUInt8 input , ImageUInt8 output ,
@@ -348,48 +401,8 @@ public class ThresholdImageOps {
 											 ImageUInt8 storage1 , ImageUInt8 storage2 ) {
 
 		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
-		storage1 = InputSanityCheck.checkDeclare(input,storage1,ImageUInt8.class);
-		storage2 = InputSanityCheck.checkDeclare(input,storage2,ImageUInt8.class);
-
-		ImageUInt8 mean = storage1;
-
-		BlurImageOps.mean(input,mean,radius,storage2);
 
-		if( down ) {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-				int indexMean = mean.startIndex + y*mean.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {
-					int threshold = (mean.data[indexMean]& 0xFF) + bias;
-
-					if( (input.data[indexIn]& 0xFF) <= threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		} else {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-				int indexMean = mean.startIndex + y*mean.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {
-					int threshold = (mean.data[indexMean]& 0xFF) + bias;
-
-					if( (input.data[indexIn]& 0xFF) > threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		}
+		ImplThresholdLocalStream.square(input,output,radius,bias,down);
 
 		return output;
 	}
@@ -400,13 +413,18 @@ public class ThresholdImageOps {
 	 * If down is true then b(x,y) = I(x,y) <= T(x,y) + bias ? 1 : 0.  Otherwise
 	 * b(x,y) = I(x,y) > T(x,y) + bias ? 0 : 1
 	 *
+	 * <p>
+	 * The local weighted mean and the threshold are computed together while streaming down the rows, without
+	 * intermediate images.  See {@link ImplThresholdLocalStream#gaussian}.
+	 * </p>
+	 *
 	 * @param input Input image.
 	 * @param output (optional) Output binary image.  If null it will be declared internally.
 	 * @param radius Radius of square region.
 	 * @param bias Bias used to adjust threshold
 	 * @param down Should it threshold up or down.
-	 * @param storage1 (Optional) Storage for intermediate step. If null will be declared internally.
-	 * @param storage2 (Optional) Storage for intermediate step. If null will be declared internally.
+	 * @param storage1 Not used.  Can be null.
+	 * @param storage2 Not used.  Can be null.
 	 * @return Thresholded image.
 	 */
 	public static ImageUInt8 adaptiveGaussian( ImageUInt8 input , ImageUInt8 output ,
@@ -414,48 +432,8 @@ public class ThresholdImageOps {
 											   ImageUInt8 storage1 , ImageUInt8 storage2 ) {
 
 		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
-		storage1 = InputSanityCheck.checkDeclare(input,storage1,ImageUInt8.class);
-		storage2 = InputSanityCheck.checkDeclare(input,storage2,ImageUInt8.class);
-
-		ImageUInt8 blur = storage1;
-
-		BlurImageOps.gaussian(input,blur,-1,radius,storage2);
-
-		if( down ) {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-				int indexMean = blur.startIndex + y*blur.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {
-					int threshold = (blur.data[indexMean]& 0xFF) + bias;
-
-					if( (input.data[indexIn]& 0xFF) <= threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		} else {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-				int indexMean = blur.startIndex + y*blur.stride;
-
-				int end = indexIn + input.width;
 
-				for( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {
-					int threshold = (blur.data[indexMean]& 0xFF) + bias;
-
-					if( (input.data[indexIn]& 0xFF) > threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		}
+		ImplThresholdLocalStream.gaussian(input,output,radius,bias,down);
 
 		return output;
 	}
@@ -466,13 +444,18 @@ public class ThresholdImageOps {
 	 * If down is true then b(x,y) = I(x,y) <= T(x,y) + bias ? 1 : 0.  Otherwise
 	 * b(x,y) = I(x,y) > T(x,y) + bias ? 0 : 1
 	 *
+	 * <p>
+	 * The local mean and the threshold are computed together while streaming down the rows, without
+	 * intermediate images.  See {@link ImplThresholdLocalStream#square}.
+	 * </p>
+	 *
 	 * @param input Input image.
 	 * @param output (optional) Output binary image.  If null it will be declared internally.
 	 * @param radius Radius of square region.
 	 * @param bias Bias used to adjust threshold
 	 * @param down Should it threshold up or down.
-	 * @param storage1 (Optional) Storage for intermediate step. If null will be declared internally.
-	 * @param storage2 (Optional) Storage for intermediate step. If null will be declared internally.
+	 * @param storage1 Not used.  Can be null.
+	 * @param storage2 Not used.  Can be null.
 	 * @return Thresholded image.
 	 */
 	public static ImageUInt8 adaptiveSquare( ImageFloat32 input , ImageUInt8 output ,
@@ -480,48 +463,8 @@ public class ThresholdImageOps {
 											 ImageFloat32 storage1 , ImageFloat32 storage2 ) {
 
 		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
-		storage1 = InputSanityCheck.checkDeclare(input,storage1,ImageFloat32.class);
-		storage2 = InputSanityCheck.checkDeclare(input,storage2,ImageFloat32.class);
-
-		ImageFloat32 mean = storage1;
 
-		BlurImageOps.mean(input,mean,radius,storage2);
-
-		if( down ) {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-				int indexMean = mean.startIndex + y*mean.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {
-					float threshold = (mean.data[indexMean]) + bias;
-
-					if( (input.data[indexIn]) <= threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		} else {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-				int indexMean = mean.startIndex + y*mean.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {
-					float threshold = (mean.data[indexMean]) + bias;
-
-					if( (input.data[indexIn]) > threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		}
+		ImplThresholdLocalStream.square(input,output,radius,bias,down);
 
 		return output;
 	}
@@ -532,13 +475,18 @@ public class ThresholdImageOps {
 	 * If down is true then b(x,y) = I(x,y) <= T(x,y) + bias ? 1 : 0.  Otherwise
 	 * b(x,y) = I(x,y) > T(x,y) + bias ? 0 : 1
 	 *
+	 * <p>
+	 * The local weighted mean and the threshold are computed together while streaming down the rows, without
+	 * intermediate images.  See {@link ImplThresholdLocalStream#gaussian}.
+	 * </p>
+	 *
 	 * @param input Input image.
 	 * @param output (optional) Output binary image.  If null it will be declared internally.
 	 * @param radius Radius of square region.
 	 * @param bias Bias used to adjust threshold
 	 * @param down Should it threshold up or down.
-	 * @param storage1 (Optional) Storage for intermediate step. If null will be declared internally.
-	 * @param storage2 (Optional) Storage for intermediate step. If null will be declared internally.
+	 * @param storage1 Not used.  Can be null.
+	 * @param storage2 Not used.  Can be null.
 	 * @return Thresholded image.
 	 */
 	public static ImageUInt8 adaptiveGaussian( ImageFloat32 input , ImageUInt8 output ,
@@ -546,48 +494,8 @@ public class ThresholdImageOps {
 											   ImageFloat32 storage1 , ImageFloat32 storage2 ) {
 
 		output = InputSanityCheck.checkDeclare(input,output,ImageUInt8.class);
-		storage1 = InputSanityCheck.checkDeclare(input,storage1,ImageFloat32.class);
-		storage2 = InputSanityCheck.checkDeclare(input,storage2,ImageFloat32.class);
-
-		ImageFloat32 blur = storage1;
-
-		BlurImageOps.gaussian(input,blur,-1,radius,storage2);
-
-		if( down ) {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-				int indexMean = blur.startIndex + y*blur.stride;
 
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {
-					float threshold = (blur.data[indexMean]) + bias;
-
-					if( (input.data[indexIn]) <= threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		} else {
-			for( int y = 0; y < input.height; y++ ) {
-				int indexIn = input.startIndex + y*input.stride;
-				int indexOut = output.startIndex + y*output.stride;
-				int indexMean = blur.startIndex + y*blur.stride;
-
-				int end = indexIn + input.width;
-
-				for( ; indexIn < end; indexIn++ , indexOut++, indexMean++ ) {
-					float threshold = (blur.data[indexMean]) + bias;
-
-					if( (input.data[indexIn]) > threshold )
-						output.data[indexOut] = 1;
-					else
-						output.data[indexOut] = 0;
-				}
-			}
-		}
+		ImplThresholdLocalStream.gaussian(input,output,radius,bias,down);
 
 		return output;
 	}
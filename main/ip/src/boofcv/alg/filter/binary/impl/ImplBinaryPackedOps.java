@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.struct.image.ImagePackedBinary;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Word-parallel implementations of binary operations on {@link ImagePackedBinary}.  Each row is copied into a
+ * buffer with an extra word on each side, allowing the neighbors of 64 pixels to be computed with a few shifts.
+ * Pixels outside the image are given the value which makes the operation behave the same as
+ * {@link ImplBinaryBorderOps}.  E.g. erosion treats them as 1 and dilation as 0.
+ * </p>
+ *
+ * <p>
+ * Neighbors are counted using bitwise adders, with each bit in a word being a separate counter.
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see boofcv.alg.filter.binary.PackedBinaryImageOps
+ */
+public class ImplBinaryPackedOps {
+
+	public static void erode4(ImagePackedBinary input, ImagePackedBinary output) {
+		final int N = input.stride;
+		if( N == 0 )
+			return;
+		final long mask = input.lastWordMask();
+		final long fill = ~0L;
+		long above[] = new long[N+2], center[] = new long[N+2], below[] = new long[N+2];
+
+		loadRow(input, -1, fill, center);
+		loadRow(input, 0, fill, below);
+		for (int y = 0; y < input.height; y++) {
+			long tmp[] = above; above = center; center = below; below = tmp;
+			loadRow(input, y + 1, fill, below);
+
+			int indexOut = y*output.stride;
+			for (int i = 1; i <= N; i++) {
+				output.data[indexOut++] = center[i] & west(center, i) & east(center, i) & above[i] & below[i];
+			}
+			output.data[indexOut - 1] &= mask;
+		}
+	}
+
+	public static void dilate4(ImagePackedBinary input, ImagePackedBinary output) {
+		final int N = input.stride;
+		if( N == 0 )
+			return;
+		final long mask = input.lastWordMask();
+		final long fill = 0;
+		long above[] = new long[N+2], center[] = new long[N+2], below[] = new long[N+2];
+
+		loadRow(input, -1, fill, center);
+		loadRow(input, 0, fill, below);
+		for (int y = 0; y < input.height; y++) {
+			long tmp[] = above; above = center; center = below; below = tmp;
+			loadRow(input, y + 1, fill, below);
+
+			int indexOut = y*output.stride;
+			for (int i = 1; i <= N; i++) {
+				output.data[indexOut++] = center[i] | west(center, i) | east(center, i) | above[i] | below[i];
+			}
+			output.data[indexOut - 1] &= mask;
+		}
+	}
+
+	public static void edge4(ImagePackedBinary input, ImagePackedBinary output) {
+		final int N = input.stride;
+		if( N == 0 )
+			return;
+		final long mask = input.lastWordMask();
+		final long fill = ~0L;
+		long above[] = new long[N+2], center[] = new long[N+2], below[] = new long[N+2];
+
+		loadRow(input, -1, fill, center);
+		loadRow(input, 0, fill, below);
+		for (int y = 0; y < input.height; y++) {
+			long tmp[] = above; above = center; center = below; below = tmp;
+			loadRow(input, y + 1, fill, below);
+
+			int indexOut = y*output.stride;
+			for (int i = 1; i <= N; i++) {
+				long surrounded = west(center, i) & east(center, i) & above[i] & below[i];
+				output.data[indexOut++] = center[i] & ~surrounded;
+			}
+			output.data[indexOut - 1] &= mask;
+		}
+	}
+
+	public static void erode8(ImagePackedBinary input, ImagePackedBinary output) {
+		final int N = input.stride;
+		if( N == 0 )
+			return;
+		final long mask = input.lastWordMask();
+		final long fill = ~0L;
+		long above[] = new long[N+2], center[] = new long[N+2], below[] = new long[N+2];
+
+		loadRow(input, -1, fill, center);
+		loadRow(input, 0, fill, below);
+		for (int y = 0; y < input.height; y++) {
+			long tmp[] = above; above = center; center = below; below = tmp;
+			loadRow(input, y + 1, fill, below);
+
+			int indexOut = y*output.stride;
+			for (int i = 1; i <= N; i++) {
+				output.data[indexOut++] =
+						above[i] & west(above, i) & east(above, i) &
+						center[i] & west(center, i) & east(center, i) &
+						below[i] & west(below, i) & east(below, i);
+			}
+			output.data[indexOut - 1] &= mask;
+		}
+	}
+
+	public static void dilate8(ImagePackedBinary input, ImagePackedBinary output) {
+		final int N = input.stride;
+		if( N == 0 )
+			return;
+		final long mask = input.lastWordMask();
+		final long fill = 0;
+		long above[] = new long[N+2], center[] = new long[N+2], below[] = new long[N+2];
+
+		loadRow(input, -1, fill, center);
+		loadRow(input, 0, fill, below);
+		for (int y = 0; y < input.height; y++) {
+			long tmp[] = above; above = center; center = below; below = tmp;
+			loadRow(input, y + 1, fill, below);
+
+			int indexOut = y*output.stride;
+			for (int i = 1; i <= N; i++) {
+				output.data[indexOut++] =
+						above[i] | west(above, i) | east(above, i) |
+						center[i] | west(center, i) | east(center, i) |
+						below[i] | west(below, i) | east(below, i);
+			}
+			output.data[indexOut - 1] &= mask;
+		}
+	}
+
+	public static void edge8(ImagePackedBinary input, ImagePackedBinary output) {
+		final int N = input.stride;
+		if( N == 0 )
+			return;
+		final long mask = input.lastWordMask();
+		final long fill = ~0L;
+		long above[] = new long[N+2], center[] = new long[N+2], below[] = new long[N+2];
+
+		loadRow(input, -1, fill, center);
+		loadRow(input, 0, fill, below);
+		for (int y = 0; y < input.height; y++) {
+			long tmp[] = above; above = center; center = below; below = tmp;
+			loadRow(input, y + 1, fill, below);
+
+			int indexOut = y*output.stride;
+			for (int i = 1; i <= N; i++) {
+				long surrounded =
+						above[i] & west(above, i) & east(above, i) &
+						west(center, i) & east(center, i) &
+						below[i] & west(below, i) & east(below, i);
+				output.data[indexOut++] = center[i] & ~surrounded;
+			}
+			output.data[indexOut - 1] &= mask;
+		}
+	}
+
+	public static void removePointNoise(ImagePackedBinary input, ImagePackedBinary output) {
+		final int N = input.stride;
+		if( N == 0 )
+			return;
+		final long mask = input.lastWordMask();
+		final long fill = 0;
+		long above[] = new long[N+2], center[] = new long[N+2], below[] = new long[N+2];
+
+		loadRow(input, -1, fill, center);
+		loadRow(input, 0, fill, below);
+		for (int y = 0; y < input.height; y++) {
+			long tmp[] = above; above = center; center = below; below = tmp;
+			loadRow(input, y + 1, fill, below);
+
+			int indexOut = y*output.stride;
+			for (int i = 1; i <= N; i++) {
+				// number of neighbors stored in 4 bit planes
+				long b0 = 0, b1 = 0, b2 = 0, b3 = 0, carry0, carry1, carry2, n;
+
+				n = west(above, i);  carry0 = b0 & n; b0 ^= n; carry1 = b1 & carry0; b1 ^= carry0; carry2 = b2 & carry1; b2 ^= carry1; b3 |= carry2;
+				n = above[i];        carry0 = b0 & n; b0 ^= n; carry1 = b1 & carry0; b1 ^= carry0; carry2 = b2 & carry1; b2 ^= carry1; b3 |= carry2;
+				n = east(above, i);  carry0 = b0 & n; b0 ^= n; carry1 = b1 & carry0; b1 ^= carry0; carry2 = b2 & carry1; b2 ^= carry1; b3 |= carry2;
+				n = west(center, i); carry0 = b0 & n; b0 ^= n; carry1 = b1 & carry0; b1 ^= carry0; carry2 = b2 & carry1; b2 ^= carry1; b3 |= carry2;
+				n = east(center, i); carry0 = b0 & n; b0 ^= n; carry1 = b1 & carry0; b1 ^= carry0; carry2 = b2 & carry1; b2 ^= carry1; b3 |= carry2;
+				n = west(below, i);  carry0 = b0 & n; b0 ^= n; carry1 = b1 & carry0; b1 ^= carry0; carry2 = b2 & carry1; b2 ^= carry1; b3 |= carry2;
+				n = below[i];        carry0 = b0 & n; b0 ^= n; carry1 = b1 & carry0; b1 ^= carry0; carry2 = b2 & carry1; b2 ^= carry1; b3 |= carry2;
+				n = east(below, i);  carry0 = b0 & n; b0 ^= n; carry1 = b1 & carry0; b1 ^= carry0; carry2 = b2 & carry1; b2 ^= carry1; b3 |= carry2;
+
+				// less than 2 neighbors is set to 0, more than 6 is set to 1, otherwise unchanged
+				long atLeast2 = b1 | b2 | b3;
+				long atLeast7 = b3 | (b2 & b1 & b0);
+				output.data[indexOut++] = atLeast2 & (atLeast7 | center[i]);
+			}
+			output.data[indexOut - 1] &= mask;
+		}
+	}
+
+	/**
+	 * Value of the pixel to the left of each pixel in the word
+	 */
+	private static long west( long row[] , int i ) {
+		return (row[i] << 1) | (row[i-1] >>> 63);
+	}
+
+	/**
+	 * Value of the pixel to the right of each pixel in the word
+	 */
+	private static long east( long row[] , int i ) {
+		return (row[i] >>> 1) | (row[i+1] << 63);
+	}
+
+	/**
+	 * Copies a row into the buffer, which has an extra word on each side.  Pixels outside the image, including
+	 * the bits past the end of the row, are set to the fill value.
+	 */
+	private static void loadRow( ImagePackedBinary image , int y , long fill , long row[] ) {
+		if( y < 0 || y >= image.height ) {
+			Arrays.fill(row, fill);
+			return;
+		}
+		int N = image.stride;
+		row[0] = fill;
+		System.arraycopy(image.data, y*N, row, 1, N);
+		row[N] |= fill & ~image.lastWordMask();
+		row[N+1] = fill;
+	}
+}
@@ -0,0 +1,436 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.alg.filter.binary.Contour;
+import boofcv.alg.filter.binary.ContourTracer;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageUInt8;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent version of {@link boofcv.alg.filter.binary.LinearContourLabelChang2004} which produces identical
+ * labels and contours.  Processing is done in three steps:
+ * </p>
+ *
+ * <ol>
+ * <li>Bands of rows are labeled independently using a union-find which is stored inside the labeled image.
+ * Each pixel points to its parent and the root of each tree is the blob's first pixel in a raster scan.
+ * Trees which cross the border between two bands are then merged.</li>
+ * <li>Blobs are assigned labels in the order their first pixel is encountered in a raster scan, the same order
+ * as the sequential algorithm, and each pixel is set to its blob's label.</li>
+ * <li>The contours of different blobs are traced in parallel.  For each blob the sequential algorithm is run on a
+ * copy of its bounding box which only contains the blob.  Tracing a contour only depends upon the blob's own
+ * pixels and the background pixels next to them, so the contours are the same as when the whole image is
+ * processed.</li>
+ * </ol>
+ *
+ * <p>
+ * The input image must only contain values of 0 and 1.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplContourLabelConcurrent {
+
+	private ConnectRule rule;
+
+	// Number of blobs which start in each row
+	private int rootsInRow[] = new int[0];
+	// Which rows are the first row in a band
+	private boolean bandStart[] = new boolean[0];
+
+	// Bounding box of each blob.  x0,y0,x1,y1 where the upper extent is exclusive
+	private int bounds[] = new int[0];
+	// bounding boxes found by each band.  merged into bounds
+	private final List<int[]> bandBounds = new ArrayList<int[]>();
+
+	// Number of blobs found
+	private int numBlobs;
+
+	public ImplContourLabelConcurrent(ConnectRule rule) {
+		if( rule != ConnectRule.FOUR && rule != ConnectRule.EIGHT )
+			throw new IllegalArgumentException("Connectivity rule must be 4 or 8 not "+rule);
+		this.rule = rule;
+	}
+
+	/**
+	 * Labels the blobs and finds their contours.
+	 *
+	 * @param binary Input binary image. Not modified.
+	 * @param labeled Output. Labeled image.  Modified.
+	 * @param contours Output. Contour of each blob.  Modified.
+	 */
+	public void process( ImageUInt8 binary , ImageSInt32 labeled , FastQueue<Contour> contours ) {
+		label(binary, labeled);
+		trace(labeled, contours);
+	}
+
+	/**
+	 * Labels the blobs.  Same labels as the sequential algorithm.
+	 *
+	 * @param binary Input binary image. Not modified.
+	 * @param labeled Output. Labeled image.  Modified.
+	 */
+	public void label( final ImageUInt8 binary , final ImageSInt32 labeled ) {
+		final int height = binary.height;
+		if( rootsInRow.length < height ) {
+			rootsInRow = new int[height];
+			bandStart = new boolean[height];
+		}
+		for( int y = 0; y < height; y++ )
+			bandStart[y] = false;
+
+		// union-find inside each band
+		BoofConcurrency.loopRows(binary, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				bandStart[y0] = true;
+				labelBand(binary, labeled, y0, y1);
+			}
+		});
+
+		// merge trees across the borders between bands
+		for( int y = 1; y < height; y++ ) {
+			if( bandStart[y] )
+				mergeRows(labeled, y);
+		}
+
+		// count the number of blobs which start in each row
+		BoofConcurrency.loopRows(binary, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				countRoots(labeled, y0, y1);
+			}
+		});
+
+		// label of the first blob in each row
+		numBlobs = 0;
+		for( int y = 0; y < height; y++ ) {
+			int count = rootsInRow[y];
+			rootsInRow[y] = numBlobs + 1;
+			numBlobs += count;
+		}
+
+		// assign labels to the roots and then to every other pixel
+		bandBounds.clear();
+		BoofConcurrency.loopRows(binary, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				labelRoots(labeled, y0, y1);
+			}
+		});
+		BoofConcurrency.loopRows(binary, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int band[] = new int[numBlobs*4];
+				labelPixels(labeled, band, y0, y1);
+				synchronized( bandBounds ) {
+					bandBounds.add(band);
+				}
+			}
+		});
+
+		// merge the bounding boxes found in each band
+		if( bounds.length < numBlobs*4 )
+			bounds = new int[numBlobs*4];
+		for( int i = 0; i < numBlobs; i++ ) {
+			bounds[i*4] = bounds[i*4+1] = Integer.MAX_VALUE;
+			bounds[i*4+2] = bounds[i*4+3] = Integer.MIN_VALUE;
+		}
+		for( int[] band : bandBounds ) {
+			for( int i = 0; i < numBlobs*4; i += 4 ) {
+				if( band[i+2] == 0 )
+					continue;
+				bounds[i]   = Math.min(bounds[i],   band[i]);
+				bounds[i+1] = Math.min(bounds[i+1], band[i+1]);
+				bounds[i+2] = Math.max(bounds[i+2], band[i+2]);
+				bounds[i+3] = Math.max(bounds[i+3], band[i+3]);
+			}
+		}
+		bandBounds.clear();
+	}
+
+	/**
+	 * Traces the contours of each blob.  Must be called after {@link #label}.
+	 *
+	 * @param labeled Labeled image.  Not modified.
+	 * @param contours Output. Contour of each blob.  Modified.
+	 */
+	public void trace( final ImageSInt32 labeled , final FastQueue<Contour> contours ) {
+		contours.reset();
+		for( int i = 0; i < numBlobs; i++ ) {
+			Contour c = contours.grow();
+			c.reset();
+			c.id = i + 1;
+		}
+
+		BoofConcurrency.loopBlocks(0, numBlobs, new IntRangeTask() {
+			@Override
+			public void process(int index0, int index1) {
+				BlobTracer tracer = new BlobTracer(rule);
+				for( int i = index0; i < index1; i++ ) {
+					tracer.process(labeled, i + 1, bounds, contours.get(i));
+				}
+			}
+		});
+	}
+
+	/**
+	 * Finds connected pixels inside the band using a union-find.  Foreground pixels contain -(index+1), where
+	 * index is their parent's index in the labeled image's array.
+	 */
+	private void labelBand( ImageUInt8 binary , ImageSInt32 labeled , int y0 , int y1 ) {
+		final int data[] = labeled.data;
+		final int stride = labeled.stride;
+		final int width = binary.width;
+		final boolean eight = rule == ConnectRule.EIGHT;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = binary.startIndex + y*binary.stride;
+			int indexOut = labeled.startIndex + y*stride;
+			boolean hasAbove = y > y0;
+
+			for( int x = 0; x < width; x++ , indexIn++ , indexOut++ ) {
+				if( binary.data[indexIn] != 1 ) {
+					data[indexOut] = 0;
+					continue;
+				}
+
+				// Neighbors which are connected to each other have already been merged.  When possible the
+				// parent of a neighbor is copied instead of performing a union
+				boolean left = x > 0 && data[indexOut-1] != 0;
+				int above = indexOut - stride;
+				boolean up = hasAbove && data[above] != 0;
+
+				if( left ) {
+					data[indexOut] = data[indexOut-1];
+					if( eight ) {
+						// above and above-left are neighbors of the left pixel
+						if( hasAbove && !up && x < width-1 && data[above+1] != 0 )
+							union(data, indexOut, above+1);
+					} else if( up && data[above-1] == 0 ) {
+						union(data, indexOut, above);
+					}
+				} else if( up ) {
+					data[indexOut] = data[above];
+				} else if( eight && hasAbove ) {
+					boolean upLeft = x > 0 && data[above-1] != 0;
+					boolean upRight = x < width-1 && data[above+1] != 0;
+					if( upLeft ) {
+						data[indexOut] = data[above-1];
+						if( upRight )
+							union(data, indexOut, above+1);
+					} else if( upRight ) {
+						data[indexOut] = data[above+1];
+					} else {
+						data[indexOut] = -(indexOut + 1);
+					}
+				} else {
+					data[indexOut] = -(indexOut + 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Merges trees along the border between row y-1 and y
+	 */
+	private void mergeRows( ImageSInt32 labeled , int y ) {
+		final int data[] = labeled.data;
+		final int stride = labeled.stride;
+		final int width = labeled.width;
+		final boolean eight = rule == ConnectRule.EIGHT;
+
+		int index = labeled.startIndex + y*stride;
+		for( int x = 0; x < width; x++ , index++ ) {
+			if( data[index] == 0 )
+				continue;
+			int above = index - stride;
+			if( data[above] != 0 )
+				union(data, index, above);
+			if( eight ) {
+				if( x > 0 && data[above-1] != 0 )
+					union(data, index, above-1);
+				if( x < width-1 && data[above+1] != 0 )
+					union(data, index, above+1);
+			}
+		}
+	}
+
+	private void countRoots( ImageSInt32 labeled , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
+			int index = labeled.startIndex + y*labeled.stride;
+			int count = 0;
+			for( int x = 0; x < labeled.width; x++ , index++ ) {
+				if( labeled.data[index] == -(index + 1) )
+					count++;
+			}
+			rootsInRow[y] = count;
+		}
+	}
+
+	private void labelRoots( ImageSInt32 labeled , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
+			int index = labeled.startIndex + y*labeled.stride;
+			int label = rootsInRow[y];
+			for( int x = 0; x < labeled.width; x++ , index++ ) {
+				if( labeled.data[index] == -(index + 1) )
+					labeled.data[index] = label++;
+			}
+		}
+	}
+
+	/**
+	 * Sets each pixel to the label of its root and computes the bounding box of each blob inside the band.
+	 * A parent in the same band has a lower index and has already been labeled.  Pixels in other bands might be
+	 * changed at the same time, but they will either point to an ancestor or contain the label, so the same
+	 * label is found either way.
+	 */
+	private void labelPixels( ImageSInt32 labeled , int band[] , int y0 , int y1 ) {
+		final int data[] = labeled.data;
+		for( int y = y0; y < y1; y++ ) {
+			int index = labeled.startIndex + y*labeled.stride;
+			for( int x = 0; x < labeled.width; x++ , index++ ) {
+				int value = data[index];
+				if( value == 0 )
+					continue;
+				while( value < 0 ) {
+					value = data[-value - 1];
+				}
+				data[index] = value;
+
+				int b = (value - 1)*4;
+				if( band[b+2] == 0 ) {
+					band[b] = x;
+					band[b+1] = y;
+					band[b+2] = x + 1;
+				} else {
+					if( x < band[b] ) band[b] = x;
+					if( x >= band[b+2] ) band[b+2] = x + 1;
+				}
+				band[b+3] = y + 1;
+			}
+		}
+	}
+
+	/**
+	 * Joins two trees.  The root with the smaller index becomes the parent so that the final root is the first
+	 * pixel in a raster scan.
+	 */
+	private static void union( int data[] , int a , int b ) {
+		int rootA = find(data, a);
+		int rootB = find(data, b);
+		if( rootA < rootB )
+			data[rootB] = -(rootA + 1);
+		else if( rootB < rootA )
+			data[rootA] = -(rootB + 1);
+	}
+
+	private static int find( int data[] , int index ) {
+		int root = index;
+		int parent;
+		while( (parent = -data[root] - 1) != root )
+			root = parent;
+
+		// path compression
+		while( index != root ) {
+			int next = -data[index] - 1;
+			data[index] = -(root + 1);
+			index = next;
+		}
+		return root;
+	}
+
+	public int getNumBlobs() {
+		return numBlobs;
+	}
+
+	/**
+	 * Runs the sequential algorithm on a single blob.  Only the first pixel can start an external contour.
+	 * Internal contours start at pixels with an unmarked background pixel below them.
+	 */
+	private static class BlobTracer {
+		ContourTracer tracer;
+		// binary image of the blob's bounding box with a border of zeros
+		ImageUInt8 binary = new ImageUInt8(1,1);
+		// the tracer marks contour pixels in this image, which is not needed
+		ImageSInt32 ignored = new ImageSInt32(1,1);
+		// points in the contours of all the blobs processed by this instance
+		FastQueue<Point2D_I32> storage = new FastQueue<Point2D_I32>(Point2D_I32.class,true);
+
+		BlobTracer(ConnectRule rule) {
+			tracer = new ContourTracer(rule);
+		}
+
+		void process( ImageSInt32 labeled , int label , int bounds[] , Contour contour ) {
+			int b = (label - 1)*4;
+			int x0 = bounds[b], y0 = bounds[b+1], x1 = bounds[b+2], y1 = bounds[b+3];
+			int w = x1 - x0, h = y1 - y0;
+
+			binary.reshape(w + 2, h + 2);
+			ImageMiscOps.fillBorder(binary, 0, 1);
+			ignored.reshape(w, h);
+			for( int y = 0; y < h; y++ ) {
+				int indexIn = labeled.startIndex + (y0 + y)*labeled.stride + x0;
+				int indexOut = binary.startIndex + (y + 1)*binary.stride + 1;
+				for( int x = 0; x < w; x++ ) {
+					binary.data[indexOut++] = (byte)(labeled.data[indexIn++] == label ? 1 : 0);
+				}
+			}
+
+			int startSize = storage.size;
+			tracer.setInputs(binary, ignored, storage);
+
+			boolean first = true;
+			for( int y = 1; y <= h; y++ ) {
+				int index = binary.startIndex + y*binary.stride + 1;
+				for( int x = 1; x <= w; x++ , index++ ) {
+					if( binary.data[index] != 1 )
+						continue;
+					if( first ) {
+						tracer.trace(label, x, y, true, contour.external);
+						first = false;
+					}
+					if( binary.data[index + binary.stride] == 0 ) {
+						List<Point2D_I32> inner = new ArrayList<Point2D_I32>();
+						contour.internal.add(inner);
+						tracer.trace(label, x, y, false, inner);
+					}
+				}
+			}
+
+			// points are relative to the bounding box
+			for( int i = startSize; i < storage.size; i++ ) {
+				Point2D_I32 p = storage.get(i);
+				p.x += x0;
+				p.y += y0;
+			}
+		}
+	}
+}
@@ -0,0 +1,654 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Adaptive thresholds which compute the local statistics and threshold the image in a single pass, without
+ * full size intermediate images.  The image is processed one row at a time.  For the square mean and Sauvola
+ * thresholds the sum of each column inside the local window is maintained and updated as the window slides
+ * down by adding the new row and removing the old one.  For the Gaussian threshold the horizontal convolution
+ * of the rows inside the window is saved in a ring buffer, which is then convolved vertically.  Memory usage
+ * only depends on the image's width and the radius.
+ * </p>
+ *
+ * <p>
+ * Along the image border the local region is cropped and the statistics are computed from the pixels inside
+ * the image, the same as {@link boofcv.alg.filter.convolve.ConvolveNormalized}.
+ * </p>
+ *
+ * <p>
+ * Concurrency: The image is processed in bands of rows.  Each band has its own column sums or ring buffer.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplThresholdLocalStream {
+
+	/**
+	 * Thresholds the image using the mean of the local square region plus the bias.  If down is true then
+	 * b(x,y) = I(x,y) <= mean(x,y) + bias ? 1 : 0, otherwise b(x,y) = I(x,y) > mean(x,y) + bias ? 1 : 0.  The
+	 * comparison is done using integer math against the exact mean.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output binary image.  Modified.
+	 * @param radius Radius of square region.
+	 * @param bias Bias used to adjust threshold
+	 * @param down Should it threshold up or down.
+	 */
+	public static void square( final ImageUInt8 input , final ImageUInt8 output ,
+							   final int radius , final int bias , final boolean down ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final int width = input.width;
+				final int[] columns = new int[width];
+
+				for( int y = Math.max(0, y0 - radius); y < Math.min(input.height, y0 + radius); y++ ) {
+					addRow(input, y, columns, 1);
+				}
+
+				for( int y = y0; y < y1; y++ ) {
+					if( y + radius < input.height )
+						addRow(input, y + radius, columns, 1);
+
+					int rows = Math.min(input.height, y + radius + 1) - Math.max(0, y - radius);
+					int indexIn = input.startIndex + y*input.stride;
+					int indexOut = output.startIndex + y*output.stride;
+
+					int sum = 0;
+					for( int x = 0; x < Math.min(width, radius); x++ ) {
+						sum += columns[x];
+					}
+
+					for( int x = 0; x < width; x++ ) {
+						if( x + radius < width )
+							sum += columns[x + radius];
+
+						// I <= sum/count + bias  is the same as  (I - bias)*count <= sum
+						int count = (Math.min(width, x + radius + 1) - Math.max(0, x - radius))*rows;
+						int value = (input.data[indexIn++] & 0xFF) - bias;
+						boolean below = value*count <= sum;
+						output.data[indexOut++] = (byte)(below == down ? 1 : 0);
+
+						if( x >= radius )
+							sum -= columns[x - radius];
+					}
+
+					if( y - radius >= 0 )
+						addRow(input, y - radius, columns, -1);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Thresholds the image using the mean of the local square region plus the bias.  If down is true then
+	 * b(x,y) = I(x,y) <= mean(x,y) + bias ? 1 : 0, otherwise b(x,y) = I(x,y) > mean(x,y) + bias ? 1 : 0.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output binary image.  Modified.
+	 * @param radius Radius of square region.
+	 * @param bias Bias used to adjust threshold
+	 * @param down Should it threshold up or down.
+	 */
+	public static void square( final ImageFloat32 input , final ImageUInt8 output ,
+							   final int radius , final float bias , final boolean down ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final int width = input.width;
+				// double is used to avoid errors accumulating as rows are added and removed
+				final double[] columns = new double[width];
+
+				for( int y = Math.max(0, y0 - radius); y < Math.min(input.height, y0 + radius); y++ ) {
+					addRow(input, y, columns, 1);
+				}
+
+				for( int y = y0; y < y1; y++ ) {
+					if( y + radius < input.height )
+						addRow(input, y + radius, columns, 1);
+
+					int rows = Math.min(input.height, y + radius + 1) - Math.max(0, y - radius);
+					int indexIn = input.startIndex + y*input.stride;
+					int indexOut = output.startIndex + y*output.stride;
+
+					double sum = 0;
+					for( int x = 0; x < Math.min(width, radius); x++ ) {
+						sum += columns[x];
+					}
+
+					for( int x = 0; x < width; x++ ) {
+						if( x + radius < width )
+							sum += columns[x + radius];
+
+						int count = (Math.min(width, x + radius + 1) - Math.max(0, x - radius))*rows;
+						float threshold = (float)(sum/count) + bias;
+						boolean below = input.data[indexIn++] <= threshold;
+						output.data[indexOut++] = (byte)(below == down ? 1 : 0);
+
+						if( x >= radius )
+							sum -= columns[x - radius];
+					}
+
+					if( y - radius >= 0 )
+						addRow(input, y - radius, columns, -1);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Thresholds the image using the Gaussian weighted mean of the local square region plus the bias.  If
+	 * down is true then b(x,y) = I(x,y) <= mean(x,y) + bias ? 1 : 0, otherwise
+	 * b(x,y) = I(x,y) > mean(x,y) + bias ? 1 : 0.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output binary image.  Modified.
+	 * @param radius Radius of square region.  Sigma is selected based on the radius.
+	 * @param bias Bias used to adjust threshold
+	 * @param down Should it threshold up or down.
+	 */
+	public static void gaussian( final ImageUInt8 input , final ImageUInt8 output ,
+								 final int radius , final int bias , final boolean down ) {
+		InputSanityCheck.checkSameShape(input, output);
+		final Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, radius);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final int width = input.width;
+				final int windowRows = 2*radius + 1;
+				final float[] ring = new float[windowRows*width];
+				final float[] row = new float[width];
+
+				int next = Math.max(0, y0 - radius);
+				for( int y = y0; y < y1; y++ ) {
+					int top = Math.max(0, y - radius);
+					int bottom = Math.min(input.height, y + radius + 1);
+
+					for( ; next < bottom; next++ ) {
+						horizontal(kernel, input, next, ring, (next % windowRows)*width);
+					}
+
+					float weight = vertical(kernel, ring, top, bottom, y, width, row);
+
+					int indexIn = input.startIndex + y*input.stride;
+					int indexOut = output.startIndex + y*output.stride;
+					for( int x = 0; x < width; x++ ) {
+						float threshold = row[x]/weight + bias;
+						boolean below = (input.data[indexIn++] & 0xFF) <= threshold;
+						output.data[indexOut++] = (byte)(below == down ? 1 : 0);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Thresholds the image using the Gaussian weighted mean of the local square region plus the bias.  If
+	 * down is true then b(x,y) = I(x,y) <= mean(x,y) + bias ? 1 : 0, otherwise
+	 * b(x,y) = I(x,y) > mean(x,y) + bias ? 1 : 0.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output binary image.  Modified.
+	 * @param radius Radius of square region.  Sigma is selected based on the radius.
+	 * @param bias Bias used to adjust threshold
+	 * @param down Should it threshold up or down.
+	 */
+	public static void gaussian( final ImageFloat32 input , final ImageUInt8 output ,
+								 final int radius , final float bias , final boolean down ) {
+		InputSanityCheck.checkSameShape(input, output);
+		final Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, radius);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				final int width = input.width;
+				final int windowRows = 2*radius + 1;
+				final float[] ring = new float[windowRows*width];
+				final float[] row = new float[width];
+
+				int next = Math.max(0, y0 - radius);
+				for( int y = y0; y < y1; y++ ) {
+					int top = Math.max(0, y - radius);
+					int bottom = Math.min(input.height, y + radius + 1);
+
+					for( ; next < bottom; next++ ) {
+						horizontal(kernel, input, next, ring, (next % windowRows)*width);
+					}
+
+					float weight = vertical(kernel, ring, top, bottom, y, width, row);
+
+					int indexIn = input.startIndex + y*input.stride;
+					int indexOut = output.startIndex + y*output.stride;
+					for( int x = 0; x < width; x++ ) {
+						float threshold = row[x]/weight + bias;
+						boolean below = input.data[indexIn++] <= threshold;
+						output.data[indexOut++] = (byte)(below == down ? 1 : 0);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Sauvola threshold.  See {@link ThresholdSauvola} for a description.  The local mean and standard deviation
+	 * are computed from the sums of I and I<sup>2</sup> inside the window.  Two passes are made through
+	 * the image, the first finds the maximum standard deviation and the second applies the threshold.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output binary image.  Modified.
+	 * @param radius Radius of local region.  Try 15
+	 * @param k Positive parameter used to tune threshold.  Try 0.3
+	 * @param down Should it threshold up or down.
+	 */
+	public static void sauvola( final ImageUInt8 input , final ImageUInt8 output ,
+								final int radius , final float k , final boolean down ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final float[] maxVariance = new float[1];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				float max = sauvola(input, null, y0, y1, radius, k, 0, down);
+				synchronized( maxVariance ) {
+					maxVariance[0] = Math.max(maxVariance[0], max);
+				}
+			}
+		});
+
+		final float R = (float)Math.sqrt(maxVariance[0]);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				sauvola(input, output, y0, y1, radius, k, R, down);
+			}
+		});
+	}
+
+	/**
+	 * Sauvola threshold.  See {@link ThresholdSauvola} for a description.  The local mean and standard deviation
+	 * are computed from the sums of I and I<sup>2</sup> inside the window.  Two passes are made through
+	 * the image, the first finds the maximum standard deviation and the second applies the threshold.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output binary image.  Modified.
+	 * @param radius Radius of local region.  Try 15
+	 * @param k Positive parameter used to tune threshold.  Try 0.3
+	 * @param down Should it threshold up or down.
+	 */
+	public static void sauvola( final ImageFloat32 input , final ImageUInt8 output ,
+								final int radius , final float k , final boolean down ) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final float[] maxVariance = new float[1];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				float max = sauvola(input, null, y0, y1, radius, k, 0, down);
+				synchronized( maxVariance ) {
+					maxVariance[0] = Math.max(maxVariance[0], max);
+				}
+			}
+		});
+
+		final float R = (float)Math.sqrt(maxVariance[0]);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				sauvola(input, output, y0, y1, radius, k, R, down);
+			}
+		});
+	}
+
+	/**
+	 * Processes rows [y0,y1) for the Sauvola threshold.  If output is null then only the maximum variance
+	 * is computed, otherwise the output is thresholded using R as the standard deviation's range.
+	 *
+	 * @return maximum variance
+	 */
+	private static float sauvola( ImageUInt8 input , ImageUInt8 output , int y0 , int y1 ,
+								  int radius , float k , float R , boolean down ) {
+		final int width = input.width;
+		final int[] columns = new int[width];
+		final int[] columnsSq = new int[width];
+		final float[] invCountX = inverseCounts(width, radius);
+		final float[] mean = new float[width];
+		final float[] variance = new float[width];
+
+		float maxVariance = 0;
+
+		for( int y = Math.max(0, y0 - radius); y < Math.min(input.height, y0 + radius); y++ ) {
+			addRow(input, y, columns, columnsSq, 1);
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y + radius < input.height )
+				addRow(input, y + radius, columns, columnsSq, 1);
+
+			float invRows = 1.0f/(Math.min(input.height, y + radius + 1) - Math.max(0, y - radius));
+
+			// sum of squares can overflow an int with a large radius
+			int sum = 0;
+			long sumSq = 0;
+			for( int x = 0; x < Math.min(width, radius); x++ ) {
+				sum += columns[x];
+				sumSq += columnsSq[x];
+			}
+
+			for( int x = 0; x < width; x++ ) {
+				if( x + radius < width ) {
+					sum += columns[x + radius];
+					sumSq += columnsSq[x + radius];
+				}
+
+				float invCount = invCountX[x]*invRows;
+				float m = sum*invCount;
+				mean[x] = m;
+				variance[x] = sumSq*invCount - m*m;
+
+				if( x >= radius ) {
+					sum -= columns[x - radius];
+					sumSq -= columnsSq[x - radius];
+				}
+			}
+
+			if( output == null ) {
+				maxVariance = Math.max(maxVariance, max(variance));
+			} else {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+				threshold(mean, variance, k, R);
+				if( down ) {
+					for( int x = 0; x < width; x++ ) {
+						output.data[indexOut++] = (byte)((input.data[indexIn++] & 0xFF) <= mean[x] ? 1 : 0);
+					}
+				} else {
+					for( int x = 0; x < width; x++ ) {
+						output.data[indexOut++] = (byte)((input.data[indexIn++] & 0xFF) >= mean[x] ? 1 : 0);
+					}
+				}
+			}
+
+			if( y - radius >= 0 )
+				addRow(input, y - radius, columns, columnsSq, -1);
+		}
+
+		return maxVariance;
+	}
+
+	/**
+	 * Processes rows [y0,y1) for the Sauvola threshold.  If output is null then only the maximum variance
+	 * is computed, otherwise the output is thresholded using R as the standard deviation's range.
+	 *
+	 * @return maximum variance
+	 */
+	private static float sauvola( ImageFloat32 input , ImageUInt8 output , int y0 , int y1 ,
+								  int radius , float k , float R , boolean down ) {
+		final int width = input.width;
+		final double[] columns = new double[width];
+		final double[] columnsSq = new double[width];
+		final float[] invCountX = inverseCounts(width, radius);
+		final float[] mean = new float[width];
+		final float[] variance = new float[width];
+
+		float maxVariance = 0;
+
+		for( int y = Math.max(0, y0 - radius); y < Math.min(input.height, y0 + radius); y++ ) {
+			addRow(input, y, columns, columnsSq, 1);
+		}
+
+		for( int y = y0; y < y1; y++ ) {
+			if( y + radius < input.height )
+				addRow(input, y + radius, columns, columnsSq, 1);
+
+			float invRows = 1.0f/(Math.min(input.height, y + radius + 1) - Math.max(0, y - radius));
+
+			double sum = 0, sumSq = 0;
+			for( int x = 0; x < Math.min(width, radius); x++ ) {
+				sum += columns[x];
+				sumSq += columnsSq[x];
+			}
+
+			for( int x = 0; x < width; x++ ) {
+				if( x + radius < width ) {
+					sum += columns[x + radius];
+					sumSq += columnsSq[x + radius];
+				}
+
+				double invCount = invCountX[x]*invRows;
+				double m = sum*invCount;
+				mean[x] = (float)m;
+				variance[x] = (float)(sumSq*invCount - m*m);
+
+				if( x >= radius ) {
+					sum -= columns[x - radius];
+					sumSq -= columnsSq[x - radius];
+				}
+			}
+
+			if( output == null ) {
+				maxVariance = Math.max(maxVariance, max(variance));
+			} else {
+				int indexIn = input.startIndex + y*input.stride;
+				int indexOut = output.startIndex + y*output.stride;
+				threshold(mean, variance, k, R);
+				if( down ) {
+					for( int x = 0; x < width; x++ ) {
+						output.data[indexOut++] = (byte)(input.data[indexIn++] <= mean[x] ? 1 : 0);
+					}
+				} else {
+					for( int x = 0; x < width; x++ ) {
+						output.data[indexOut++] = (byte)(input.data[indexIn++] >= mean[x] ? 1 : 0);
+					}
+				}
+			}
+
+			if( y - radius >= 0 )
+				addRow(input, y - radius, columns, columnsSq, -1);
+		}
+
+		return maxVariance;
+	}
+
+	private static float max( float[] values ) {
+		float max = 0;
+		for( int i = 0; i < values.length; i++ ) {
+			if( values[i] > max )
+				max = values[i];
+		}
+		return max;
+	}
+
+	/**
+	 * Converts the local mean and variance into the Sauvola threshold, which is written into the mean array.
+	 */
+	private static void threshold( float[] mean , float[] variance , float k , float R ) {
+		// if there's no variation then the threshold is just based on the mean
+		final float invR = R == 0 ? 0 : 1.0f/R;
+		for( int x = 0; x < mean.length; x++ ) {
+			float stdev = (float)Math.sqrt(Math.max(0, variance[x]));
+			mean[x] *= 1.0f + k*(stdev*invR - 1.0f);
+		}
+	}
+
+	/**
+	 * Computes the inverse of the number of columns inside the window at each x-coordinate
+	 */
+	private static float[] inverseCounts( int width , int radius ) {
+		float[] inverse = new float[width];
+		for( int x = 0; x < width; x++ ) {
+			inverse[x] = 1.0f/(Math.min(width, x + radius + 1) - Math.max(0, x - radius));
+		}
+		return inverse;
+	}
+
+	/**
+	 * Adds (sign = 1) or removes (sign = -1) a row from the column sums
+	 */
+	private static void addRow( ImageUInt8 input , int y , int[] columns , int sign ) {
+		int index = input.startIndex + y*input.stride;
+		for( int x = 0; x < input.width; x++ ) {
+			columns[x] += sign*(input.data[index++] & 0xFF);
+		}
+	}
+
+	private static void addRow( ImageFloat32 input , int y , double[] columns , int sign ) {
+		int index = input.startIndex + y*input.stride;
+		for( int x = 0; x < input.width; x++ ) {
+			columns[x] += sign*input.data[index++];
+		}
+	}
+
+	private static void addRow( ImageUInt8 input , int y , int[] columns , int[] columnsSq , int sign ) {
+		int index = input.startIndex + y*input.stride;
+		for( int x = 0; x < input.width; x++ ) {
+			int v = input.data[index++] & 0xFF;
+			columns[x] += sign*v;
+			columnsSq[x] += sign*v*v;
+		}
+	}
+
+	private static void addRow( ImageFloat32 input , int y , double[] columns , double[] columnsSq , int sign ) {
+		int index = input.startIndex + y*input.stride;
+		for( int x = 0; x < input.width; x++ ) {
+			double v = input.data[index++];
+			columns[x] += sign*v;
+			columnsSq[x] += sign*v*v;
+		}
+	}
+
+	/**
+	 * Convolves a row horizontally and writes the results into the buffer.  Along the border the kernel is
+	 * renormalized.
+	 */
+	private static void horizontal( Kernel1D_F32 kernel , ImageUInt8 input , int y , float[] buffer , int offset ) {
+		final float[] k = kernel.data;
+		final int radius = kernel.offset;
+		final int width = input.width;
+		final int start = input.startIndex + y*input.stride;
+
+		// if the kernel is wider than the image then every pixel is along the border
+		int innerStart = Math.min(radius, width);
+		int innerEnd = Math.max(innerStart, width - radius);
+
+		for( int x = innerStart; x < innerEnd; x++ ) {
+			int index = start + x - radius;
+			float total = 0;
+			for( int i = 0; i < kernel.width; i++ ) {
+				total += (input.data[index++] & 0xFF)*k[i];
+			}
+			buffer[offset + x] = total;
+		}
+
+		for( int x = 0; x < width; x++ ) {
+			if( x == innerStart )
+				x = innerEnd;
+			if( x == width )
+				break;
+
+			int x0 = Math.max(0, x - radius);
+			int x1 = Math.min(width, x + radius + 1);
+			float total = 0, weight = 0;
+			for( int j = x0; j < x1; j++ ) {
+				float w = k[j - x + radius];
+				total += (input.data[start + j] & 0xFF)*w;
+				weight += w;
+			}
+			buffer[offset + x] = total/weight;
+		}
+	}
+
+	private static void horizontal( Kernel1D_F32 kernel , ImageFloat32 input , int y , float[] buffer , int offset ) {
+		final float[] k = kernel.data;
+		final int radius = kernel.offset;
+		final int width = input.width;
+		final int start = input.startIndex + y*input.stride;
+
+		// if the kernel is wider than the image then every pixel is along the border
+		int innerStart = Math.min(radius, width);
+		int innerEnd = Math.max(innerStart, width - radius);
+
+		for( int x = innerStart; x < innerEnd; x++ ) {
+			int index = start + x - radius;
+			float total = 0;
+			for( int i = 0; i < kernel.width; i++ ) {
+				total += input.data[index++]*k[i];
+			}
+			buffer[offset + x] = total;
+		}
+
+		for( int x = 0; x < width; x++ ) {
+			if( x == innerStart )
+				x = innerEnd;
+			if( x == width )
+				break;
+
+			int x0 = Math.max(0, x - radius);
+			int x1 = Math.min(width, x + radius + 1);
+			float total = 0, weight = 0;
+			for( int j = x0; j < x1; j++ ) {
+				float w = k[j - x + radius];
+				total += input.data[start + j]*w;
+				weight += w;
+			}
+			buffer[offset + x] = total/weight;
+		}
+	}
+
+	/**
+	 * Convolves the rows in the ring buffer vertically and writes the weighted sum into 'row'.
+	 *
+	 * @return Sum of the kernel's weights which were applied
+	 */
+	private static float vertical( Kernel1D_F32 kernel , float[] ring , int top , int bottom , int y ,
+								   int width , float[] row ) {
+		final int radius = kernel.offset;
+		final int windowRows = kernel.width;
+
+		float weight = 0;
+		for( int x = 0; x < width; x++ ) {
+			row[x] = 0;
+		}
+		for( int i = top; i < bottom; i++ ) {
+			float w = kernel.data[i - y + radius];
+			weight += w;
+			int offset = (i % windowRows)*width;
+			for( int x = 0; x < width; x++ ) {
+				row[x] += ring[offset + x]*w;
+			}
+		}
+		return weight;
+	}
+}
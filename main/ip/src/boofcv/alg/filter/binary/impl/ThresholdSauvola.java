@@ -18,9 +18,6 @@
 
 package boofcv.alg.filter.binary.impl;
 
-import boofcv.alg.filter.blur.BlurImageOps;
-import boofcv.alg.misc.ImageStatistics;
-import boofcv.alg.misc.PixelMath;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
 
@@ -49,15 +46,6 @@ public class ThresholdSauvola {
 	// should it threshold down or up
 	boolean down;
 
-	// storage for intermediate results
-	ImageFloat32 inputPow2 = new ImageFloat32(1,1); // I^2
-	ImageFloat32 inputMean = new ImageFloat32(1,1); // local mean of I
-	ImageFloat32 inputMeanPow2 = new ImageFloat32(1,1); // pow2 of local mean of I
-	ImageFloat32 inputPow2Mean = new ImageFloat32(1,1); // local mean of I^2
-	ImageFloat32 stdev = new ImageFloat32(1,1); // computed standard deviation
-
-	ImageFloat32 tmp = new ImageFloat32(1,1); // work space
-
 	/**
 	 * Configures the algorithm.
 	 * @param radius size of local radius.  Try 15
@@ -71,57 +59,14 @@ public class ThresholdSauvola {
 	}
 
 	/**
-	 * Converts the input image into a binary image.
+	 * Converts the input image into a binary image.  The local statistics are computed while streaming down the
+	 * rows, see {@link ImplThresholdLocalStream#sauvola(ImageFloat32, ImageUInt8, int, float, boolean)}.
 	 *
 	 * @param input Input image.  Not modified.
 	 * @param output Output binary image.  Modified.
 	 */
 	public void process( ImageFloat32 input , ImageUInt8 output ) {
-		inputPow2.reshape(input.width,input.height);
-		inputMean.reshape(input.width,input.height);
-		inputMeanPow2.reshape(input.width,input.height);
-		inputPow2Mean.reshape(input.width,input.height);
-		stdev.reshape(input.width,input.height);
-		tmp.reshape(input.width,input.height);
-		inputPow2.reshape(input.width,input.height);
-
-		// mean of input image = E[X]
-		BlurImageOps.mean(input, inputMean, radius, tmp);
-
-		// standard deviation = sqrt( E[X^2] + E[X]^2)
-		PixelMath.pow2(input, inputPow2);
-		BlurImageOps.mean(inputPow2,inputPow2Mean,radius,tmp);
-		PixelMath.pow2(inputMean,inputMeanPow2);
-		PixelMath.subtract(inputPow2Mean, inputMeanPow2, stdev);
-		PixelMath.sqrt(stdev, stdev);
-
-		float R = ImageStatistics.max(stdev);
-
-		if( down ) {
-			for (int y = 0; y < input.height; y++) {
-				int i = y * stdev.width;
-				int indexIn = input.startIndex + y * input.stride;
-				int indexOut = output.startIndex + y * output.stride;
-
-				for (int x = 0; x < input.width; x++, i++) {
-					// threshold = mean.*(1 + k * ((deviation/R)-1));
-					float threshold = inputMean.data[i] * (1.0f + k * (stdev.data[i] / R - 1.0f));
-					output.data[indexOut++] = (byte) (input.data[indexIn++] <= threshold ? 1 : 0);
-				}
-			}
-		} else {
-			for (int y = 0; y < input.height; y++) {
-				int i = y * stdev.width;
-				int indexIn = input.startIndex + y * input.stride;
-				int indexOut = output.startIndex + y * output.stride;
-
-				for (int x = 0; x < input.width; x++, i++) {
-					// threshold = mean.*(1 + k * ((deviation/R)-1));
-					float threshold = inputMean.data[i] * (1.0f + k * (stdev.data[i] / R - 1.0f));
-					output.data[indexOut++] = (byte) (input.data[indexIn++] >= threshold ? 1 : 0);
-				}
-			}
-		}
+		ImplThresholdLocalStream.sauvola(input, output, radius, k, down);
 	}
 
 	public float getK() {
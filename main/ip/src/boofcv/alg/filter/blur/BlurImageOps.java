@@ -19,17 +19,22 @@
 package boofcv.alg.filter.blur;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.blur.impl.ImplBlurRecursiveGaussian;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramConstant;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
 import boofcv.alg.filter.blur.impl.ImplMedianSortEdgeNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
 import boofcv.alg.filter.convolve.ConvolveImageMean;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
-import boofcv.core.image.GeneralizedImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImagePool;
 import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt16;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.struct.image.MultiSpectral;
 
@@ -37,6 +42,11 @@ import boofcv.struct.image.MultiSpectral;
  * Catch all class for function which "blur" an image, typically used to "reduce" the amount
  * of noise in the image.
  *
+ * <p>
+ * Concurrency: Mean, Gaussian, and median filters will be run across multiple threads if turned on
+ * in {@link BoofConcurrency}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class BlurImageOps {
@@ -56,34 +66,83 @@ public class BlurImageOps {
 			throw new IllegalArgumentException("Radius must be > 0");
 
 		output = InputSanityCheck.checkDeclare(input,output);
-		storage = InputSanityCheck.checkDeclare(input,storage);
+		ImageUInt8 work = ImagePool.borrowStorage(input, storage, ImageUInt8.class);
 
-		ConvolveImageMean.horizontal(input,storage,radius);
-		ConvolveImageMean.vertical(storage, output, radius);
+		ConvolveImageMean.horizontal(input,work,radius);
+		ConvolveImageMean.vertical(work, output, radius);
 
+		ImagePool.releaseStorage(storage, work);
 		return output;
 	}
 
 	/**
-	 * Applies a median filter.
+	 * Radius at which the integer median filters switch to {@link ImplMedianHistogramConstant}, whose run time
+	 * doesn't depend on the radius.  Below this radius {@link ImplMedianHistogramInner} is faster.
+	 */
+	public static final int MEDIAN_CONSTANT_RADIUS = 8;
+
+	/**
+	 * Applies a median filter.  For large radii an algorithm whose cost doesn't depend on the radius is used.
 	 *
 	 * @param input Input image.  Not modified.
 	 * @param output (Optional) Storage for output image, Can be null.  Modified.
 	 * @param radius Radius of the median blur function.
 	 * @return Output blurred image.
 	 */
-	public static ImageUInt8 median(ImageUInt8 input, ImageUInt8 output, int radius) {
+	public static ImageUInt8 median(final ImageUInt8 input, ImageUInt8 output, final int radius) {
 		if( radius <= 0 )
 			throw new IllegalArgumentException("Radius must be > 0");
 
 		output = InputSanityCheck.checkDeclare(input,output);
+		final ImageUInt8 _output = output;
+
+		if( radius >= MEDIAN_CONSTANT_RADIUS ) {
+			BoofConcurrency.loopRows(input, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					new ImplMedianHistogramConstant().process(input, _output, radius, y0, y1);
+				}
+			});
+			return output;
+		}
 
-		int w = radius*2+1;
-		int offset[] = new int[ w*w ];
-		int histogram[] = new int[ 256 ];
+		// the inner algorithm skips the border, so each band needs 'radius' rows of context above and below
+		BoofConcurrency.loopRows(input, radius, radius, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageUInt8 bandOut = _output.subimage(0, y0, _output.width, y1, null);
 
-		ImplMedianHistogramInner.process(input, output, radius, offset, histogram);
-		ImplMedianSortEdgeNaive.process(input, output, radius, offset);
+				ImplMedianHistogramInner.process(bandIn, bandOut, radius, null, null);
+			}
+		});
+
+		ImplMedianSortEdgeNaive.process(input, output, radius, null);
+
+		return output;
+	}
+
+	/**
+	 * Applies a median filter.  The run time doesn't depend on the radius.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param radius Radius of the median blur function.
+	 * @return Output blurred image.
+	 */
+	public static ImageUInt16 median(final ImageUInt16 input, ImageUInt16 output, final int radius) {
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+
+		output = InputSanityCheck.checkDeclare(input,output);
+		final ImageUInt16 _output = output;
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				new ImplMedianHistogramConstant().process(input, _output, radius, y0, y1);
+			}
+		});
 
 		return output;
 	}
@@ -101,13 +160,68 @@ public class BlurImageOps {
 	public static ImageUInt8 gaussian(ImageUInt8 input, ImageUInt8 output, double sigma , int radius,
 									  ImageUInt8 storage ) {
 		output = InputSanityCheck.checkDeclare(input,output);
-		storage = InputSanityCheck.checkDeclare(input,storage,ImageUInt8.class);
+		ImageUInt8 work = ImagePool.borrowStorage(input, storage, ImageUInt8.class);
 
 		Kernel1D_I32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_I32.class,sigma,radius);
 
-		ConvolveNormalized.horizontal(kernel, input, storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+		ConvolveNormalized.horizontal(kernel, input, work);
+		ConvolveNormalized.vertical(kernel,work,output);
 
+		ImagePool.releaseStorage(storage, work);
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Applies a recursive (IIR) approximation of Gaussian blur.  Unlike {@link #gaussian} its run time does not
+	 * depend on sigma, making it much faster for large sigmas.  The border is handled the same way.  See
+	 * {@link ImplBlurRecursiveGaussian} for details.
+	 * </p>
+	 *
+	 * <p>
+	 * Accuracy: Compared against {@link #gaussian} with a radius of 4*sigma on floating point images filled with
+	 * uniform noise from 0 to 255, which is a worst case, the largest difference in a single pixel was 5.8 for
+	 * sigma=1, 1.3 for sigma=2, 0.7 for sigma=3, 0.4 for sigma=5 and under 0.25 for sigma &ge; 8.  The mean absolute
+	 * difference was 1.1, 0.23, 0.12, 0.07 and under 0.04 respectively.  The error comes from approximating the
+	 * kernel's shape and is largest for small sigmas, where {@link #gaussian} is also fast.  If an exact Gaussian
+	 * is required use {@link #gaussian}.
+	 * </p>
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 1
+	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 * @return Output blurred image.
+	 */
+	public static ImageUInt8 gaussianRecursive(final ImageUInt8 input, ImageUInt8 output, final double sigma,
+											   ImageFloat32 storage ) {
+		if( sigma < ImplBlurRecursiveGaussian.MIN_SIGMA )
+			throw new IllegalArgumentException("sigma must be >= "+ImplBlurRecursiveGaussian.MIN_SIGMA);
+
+		output = InputSanityCheck.checkDeclare(input,output);
+		final ImageFloat32 work = ImagePool.borrowStorage(input, storage, ImageFloat32.class);
+		final ImageUInt8 _output = output;
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				new ImplBlurRecursiveGaussian(sigma).horizontal(input, work, y0, y1);
+			}
+		});
+		BoofConcurrency.loopColumns(input, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				new ImplBlurRecursiveGaussian(sigma).vertical(work, x0, x1);
+			}
+		});
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImplBlurRecursiveGaussian.round(work, _output, y0, y1);
+			}
+		});
+
+		ImagePool.releaseStorage(storage, work);
 		return output;
 	}
 
@@ -126,30 +240,43 @@ public class BlurImageOps {
 			throw new IllegalArgumentException("Radius must be > 0");
 
 		output = InputSanityCheck.checkDeclare(input,output);
-		storage = InputSanityCheck.checkDeclare(input,storage);
+		ImageFloat32 work = ImagePool.borrowStorage(input, storage, ImageFloat32.class);
 
-		ConvolveImageMean.horizontal(input,storage,radius);
-		ConvolveImageMean.vertical(storage,output,radius);
+		ConvolveImageMean.horizontal(input,work,radius);
+		ConvolveImageMean.vertical(work,output,radius);
 
+		ImagePool.releaseStorage(storage, work);
 		return output;
 	}
 
 	/**
-	 * Applies a median filter.
+	 * Applies a median filter.  If the image has no more than 2<sup>16</sup> unique values, e.g. it was converted
+	 * from an 8 or 16-bit image, then for radius &ge; 2 an algorithm whose cost doesn't depend on the radius is
+	 * used.  See {@link ImplMedianHistogramConstant} for details.
 	 *
 	 * @param input Input image.  Not modified.
 	 * @param output (Optional) Storage for output image, Can be null.  Modified.
 	 * @param radius Radius of the median blur function.
 	 * @return Output blurred image.
 	 */
-	public static ImageFloat32 median(ImageFloat32 input, ImageFloat32 output, int radius) {
+	public static ImageFloat32 median(final ImageFloat32 input, ImageFloat32 output, final int radius) {
 
 		if( radius <= 0 )
 			throw new IllegalArgumentException("Radius must be > 0");
 
 		output = InputSanityCheck.checkDeclare(input,output);
-
-		ImplMedianSortNaive.process(input,output,radius,null);
+		final ImageFloat32 _output = output;
+
+		if( radius == 1 ) {
+			BoofConcurrency.loopRows(input, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					ImplMedianSortNaive.processRows(input, _output, radius, null, y0, y1);
+				}
+			});
+		} else {
+			new ImplMedianHistogramConstant().process(input,output,radius);
+		}
 
 		return output;
 	}
@@ -162,18 +289,61 @@ public class BlurImageOps {
 	 * @param sigma Gaussian distribution's sigma.  If <= 0 then will be selected based on radius.
 	 * @param radius Radius of the Gaussian blur function. If <= 0 then radius will be determined by sigma.
 	 * @param storage (Optional) Storage for intermediate results.  Same size as input image.  Can be null.
+	 *                Only used if the kernel is larger than the image.
 	 * @return Output blurred image.
 	 */
 	public static ImageFloat32 gaussian(ImageFloat32 input, ImageFloat32 output,
 										double sigma , int radius,
 										ImageFloat32 storage ) {
 		output = InputSanityCheck.checkDeclare(input,output);
-		storage = InputSanityCheck.checkDeclare(input,storage);
 
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,sigma, radius);
 
-		ConvolveNormalized.horizontal(kernel,input,storage);
-		ConvolveNormalized.vertical(kernel,storage,output);
+		// the fused convolution only needs a small buffer instead of a full size intermediate image
+		if( kernel.width < input.width && kernel.width < input.height ) {
+			ConvolveNormalized.separable(kernel,kernel,input,output);
+			return output;
+		}
+
+		ImageFloat32 work = ImagePool.borrowStorage(input, storage, ImageFloat32.class);
+
+		ConvolveNormalized.horizontal(kernel,input,work);
+		ConvolveNormalized.vertical(kernel,work,output);
+
+		ImagePool.releaseStorage(storage, work);
+		return output;
+	}
+
+	/**
+	 * Applies a recursive (IIR) approximation of Gaussian blur.  Unlike {@link #gaussian} its run time does not
+	 * depend on sigma.  See {@link #gaussianRecursive(ImageUInt8, ImageUInt8, double, ImageFloat32)} for a
+	 * discussion of its accuracy.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 1
+	 * @return Output blurred image.
+	 */
+	public static ImageFloat32 gaussianRecursive(final ImageFloat32 input, ImageFloat32 output, final double sigma) {
+		if( sigma < ImplBlurRecursiveGaussian.MIN_SIGMA )
+			throw new IllegalArgumentException("sigma must be >= "+ImplBlurRecursiveGaussian.MIN_SIGMA);
+
+		output = InputSanityCheck.checkDeclare(input,output);
+		final ImageFloat32 _output = output;
+
+		// the vertical pass is done in place on the output of the horizontal pass
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				new ImplBlurRecursiveGaussian(sigma).horizontal(input, _output, y0, y1);
+			}
+		});
+		BoofConcurrency.loopColumns(input, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				new ImplBlurRecursiveGaussian(sigma).vertical(_output, x0, x1);
+			}
+		});
 
 		return output;
 	}
@@ -191,14 +361,14 @@ public class BlurImageOps {
 	public static <T extends ImageSingleBand>
 	MultiSpectral<T> mean(MultiSpectral<T> input, MultiSpectral<T> output, int radius , T storage ) {
 
-		if( storage == null )
-			storage = GeneralizedImageOps.createSingleBand(input.getBandType(),input.width,input.height);
+		T work = ImagePool.borrowStorage(input.getBand(0), storage, input.getBandType());
 		if( output == null )
 			output = input._createNew(input.width,input.height);
 
 		for( int band = 0; band < input.getNumBands(); band++ ) {
-			GBlurImageOps.median(input.getBand(band),output.getBand(band),radius);
+			GBlurImageOps.mean(input.getBand(band),output.getBand(band),radius,work);
 		}
+		ImagePool.releaseStorage(storage, work);
 		return output;
 	}
 
@@ -237,13 +407,34 @@ public class BlurImageOps {
 	public static <T extends ImageSingleBand>
 	MultiSpectral<T> gaussian(MultiSpectral<T> input, MultiSpectral<T> output, double sigma , int radius, T storage ) {
 
-		if( storage == null )
-			storage = GeneralizedImageOps.createSingleBand(input.getBandType(), input.width, input.height);
+		T work = ImagePool.borrowStorage(input.getBand(0), storage, input.getBandType());
+		if( output == null )
+			output = input._createNew(input.width,input.height);
+
+		for( int band = 0; band < input.getNumBands(); band++ ) {
+			GBlurImageOps.gaussian(input.getBand(band),output.getBand(band),sigma,radius,work);
+		}
+		ImagePool.releaseStorage(storage, work);
+		return output;
+	}
+
+	/**
+	 * Applies a recursive (IIR) approximation of Gaussian blur to a {@link MultiSpectral}
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 1
+	 * @param <T> Input image type.
+	 * @return Output blurred image.
+	 */
+	public static <T extends ImageSingleBand>
+	MultiSpectral<T> gaussianRecursive(MultiSpectral<T> input, MultiSpectral<T> output, double sigma ) {
+
 		if( output == null )
 			output = input._createNew(input.width,input.height);
 
 		for( int band = 0; band < input.getNumBands(); band++ ) {
-			GBlurImageOps.gaussian(input.getBand(band),output.getBand(band),sigma,radius,storage);
+			GBlurImageOps.gaussianRecursive(input.getBand(band),output.getBand(band),sigma);
 		}
 		return output;
 	}
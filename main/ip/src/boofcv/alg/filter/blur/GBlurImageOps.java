@@ -65,6 +65,8 @@ public class GBlurImageOps {
 	T median(T input, T output, int radius ) {
 		if( input instanceof ImageUInt8 ) {
 			return (T)BlurImageOps.median((ImageUInt8) input, (ImageUInt8) output, radius);
+		} else if( input instanceof ImageUInt16 ) {
+			return (T)BlurImageOps.median((ImageUInt16) input, (ImageUInt16) output, radius);
 		} else if( input instanceof ImageFloat32) {
 			return (T)BlurImageOps.median((ImageFloat32) input, (ImageFloat32) output, radius);
 		} else if( input instanceof MultiSpectral ) {
@@ -97,4 +99,29 @@ public class GBlurImageOps {
 			throw new IllegalArgumentException("Unsupported image type: "+input.getClass().getSimpleName());
 		}
 	}
+
+	/**
+	 * Applies a recursive (IIR) approximation of Gaussian blur to a {@link ImageSingleBand}.  Its run time
+	 * does not depend on sigma.
+	 *
+	 * @see BlurImageOps#gaussianRecursive(ImageUInt8, ImageUInt8, double, ImageFloat32)
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Storage for output image, Can be null.  Modified.
+	 * @param sigma Gaussian distribution's sigma.  Must be &ge; 1
+	 * @param <T> Input image type.
+	 * @return Output blurred image.
+	 */
+	public static <T extends ImageBase>
+	T gaussianRecursive(T input, T output, double sigma ) {
+		if( input instanceof ImageUInt8 ) {
+			return (T)BlurImageOps.gaussianRecursive((ImageUInt8)input,(ImageUInt8)output,sigma,null);
+		} else if( input instanceof ImageFloat32) {
+			return (T)BlurImageOps.gaussianRecursive((ImageFloat32)input,(ImageFloat32)output,sigma);
+		} else if( input instanceof MultiSpectral ) {
+			return (T)BlurImageOps.gaussianRecursive((MultiSpectral)input,(MultiSpectral)output,sigma);
+		} else  {
+			throw new IllegalArgumentException("Unsupported image type: "+input.getClass().getSimpleName());
+		}
+	}
 }
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Recursive (IIR) approximation of a Gaussian blur.  Each 1D pass consists of a causal and an anti-causal
+ * third order filter, so the number of operations per pixel is the same for every sigma.  The filter's poles are
+ * taken from [1] and scaled so that its variance is exactly sigma<sup>2</sup>.  For sigma &ge; 2 the largest
+ * difference from a Gaussian kernel is about 1% of the kernel's peak value.  The anti-causal filter is initialized
+ * using the exact boundary conditions from [2].
+ * </p>
+ *
+ * <p>
+ * Pixels outside the image are treated as if they have a value of zero and the output is then divided by the
+ * response to an image filled with ones.  This is the same as how the border is handled by
+ * {@link boofcv.alg.filter.convolve.ConvolveNormalized}, making the two interchangeable.
+ * </p>
+ *
+ * <p>
+ * Internally all intermediate values are computed in double precision.  The vertical pass processes an entire
+ * row at a time, avoiding the cache misses caused by moving down each column.
+ * </p>
+ *
+ * <p>
+ * [1] van Vliet, L.J., Young, I.T. and Verbeek, P.W. "Recursive Gaussian derivative filters"
+ * Int. Conf. Pattern Recognition, 1998<br>
+ * [2] Triggs, B. and Sdika, M. "Boundary conditions for Young-van Vliet recursive filtering"
+ * IEEE Trans. Signal Processing, 2006
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplBlurRecursiveGaussian {
+
+	// the smallest sigma which is supported.  Below this the approximation is poor
+	public static final double MIN_SIGMA = 1.0;
+
+	// poles of the third order filter for sigma = 2, optimized for the L-infinity norm.  See [1]
+	private static final double D1_REAL = 1.41650;
+	private static final double D1_IMAG = 1.00829;
+	private static final double D3 = 1.86543;
+
+	// filter coefficients
+	private double B, a1, a2, a3;
+	// matrix used to compute the initial state of the anti-causal filter.  Already scaled by B
+	private double M[] = new double[9];
+
+	// storage for the causal filter's output along a row
+	private double row[] = new double[0];
+	// filter state for the vertical pass.  Each is a row in the image
+	private double state0[] = new double[0];
+	private double state1[] = new double[0];
+	private double state2[] = new double[0];
+	// response to a signal filled with ones, used to normalize the output along the border
+	private double normalize[] = new double[0];
+
+	/**
+	 * Computes the filter's coefficients
+	 *
+	 * @param sigma Gaussian's standard deviation.  Must be &ge; {@link #MIN_SIGMA}
+	 */
+	public ImplBlurRecursiveGaussian( double sigma ) {
+		if( sigma < MIN_SIGMA )
+			throw new IllegalArgumentException("sigma must be >= "+MIN_SIGMA);
+
+		// find the scale factor which gives the filter the desired variance
+		double lower = 0.01, upper = 10*sigma;
+		for( int i = 0; i < 64; i++ ) {
+			double q = (lower + upper)/2;
+			if( variance(q) < sigma*sigma )
+				lower = q;
+			else
+				upper = q;
+		}
+		double q = (lower + upper)/2;
+
+		// scale the poles and convert into the coefficients of the difference equation.  p = 1/d
+		double magnitude = Math.pow(Math.sqrt(D1_REAL*D1_REAL + D1_IMAG*D1_IMAG), 1.0/q);
+		double angle = Math.atan2(D1_IMAG, D1_REAL)/q;
+		double pr = Math.cos(angle)/magnitude;
+		double mag2 = 1.0/(magnitude*magnitude);
+		double p3 = 1.0/Math.pow(D3, 1.0/q);
+
+		a1 = 2*pr + p3;
+		a2 = -(mag2 + 2*pr*p3);
+		a3 = mag2*p3;
+		B = 1 - (a1 + a2 + a3);
+
+		M[0] = -a3*a1 + 1 - a3*a3 - a2;
+		M[1] = (a3 + a1)*(a2 + a3*a1);
+		M[2] = a3*(a1 + a3*a2);
+		M[3] = a1 + a3*a2;
+		M[4] = -(a2 - 1)*(a2 + a3*a1);
+		M[5] = -(a3*a1 + a3*a3 + a2 - 1)*a3;
+		M[6] = a3*a1 + a2 + a1*a1 - a2*a2;
+		M[7] = a1*a2 + a3*a2*a2 - a1*a3*a3 - a3*a3*a3 - a3*a2 + a3;
+		M[8] = a3*(a1 + a3*a2);
+
+		double scale = B/((1 + a1 - a2 + a3)*(1 - a1 - a2 - a3)*(1 + a2 + (a1 - a3)*a3));
+		for( int i = 0; i < 9; i++ )
+			M[i] *= scale;
+	}
+
+	/**
+	 * Variance of the filter when its poles are scaled by q.  Computed from the sum of 2d/(d-1)<sup>2</sup>
+	 * over each pole d.
+	 */
+	private static double variance( double q ) {
+		double magnitude = Math.pow(Math.sqrt(D1_REAL*D1_REAL + D1_IMAG*D1_IMAG), 1.0/q);
+		double angle = Math.atan2(D1_IMAG, D1_REAL)/q;
+		double dr = magnitude*Math.cos(angle);
+		double di = magnitude*Math.sin(angle);
+
+		// (d-1)^2 for the complex pole
+		double sr = (dr-1)*(dr-1) - di*di;
+		double si = 2*(dr-1)*di;
+		// real part of 2d/(d-1)^2.  The conjugate pole has the same real part
+		double complex = 2*(dr*sr + di*si)/(sr*sr + si*si);
+
+		double d3 = Math.pow(D3, 1.0/q);
+		return 2*complex + 2*d3/((d3-1)*(d3-1));
+	}
+
+	/**
+	 * Blurs each row in the image.  Only rows in the range [y0,y1) are processed.
+	 */
+	public void horizontal( ImageFloat32 input , ImageFloat32 output , int y0 , int y1 ) {
+		declareRow(input.width);
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+
+			// causal filter
+			double w1 = 0, w2 = 0, w3 = 0;
+			for( int x = 0; x < input.width; x++ ) {
+				double w = B*input.data[indexIn++] + a1*w1 + a2*w2 + a3*w3;
+				row[x] = w;
+				w3 = w2; w2 = w1; w1 = w;
+			}
+
+			anticausalRow(input.width, output.data, output.startIndex + y*output.stride);
+		}
+	}
+
+	/**
+	 * Blurs each row in the image.  Only rows in the range [y0,y1) are processed.
+	 */
+	public void horizontal( ImageUInt8 input , ImageFloat32 output , int y0 , int y1 ) {
+		declareRow(input.width);
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+
+			// causal filter
+			double w1 = 0, w2 = 0, w3 = 0;
+			for( int x = 0; x < input.width; x++ ) {
+				double w = B*(input.data[indexIn++] & 0xFF) + a1*w1 + a2*w2 + a3*w3;
+				row[x] = w;
+				w3 = w2; w2 = w1; w1 = w;
+			}
+
+			anticausalRow(input.width, output.data, output.startIndex + y*output.stride);
+		}
+	}
+
+	/**
+	 * Applies the anti-causal filter to the causal output stored in 'row' and writes the normalized results
+	 */
+	private void anticausalRow( int width , float output[] , int indexOut ) {
+		double y1,y2,y3;
+		if( width >= 3 ) {
+			y1 = M[0]*row[width-1] + M[1]*row[width-2] + M[2]*row[width-3];
+			y2 = M[3]*row[width-1] + M[4]*row[width-2] + M[5]*row[width-3];
+			y3 = M[6]*row[width-1] + M[7]*row[width-2] + M[8]*row[width-3];
+		} else {
+			y1 = y2 = y3 = 0;
+			for( int x = width-1; x >= 0; x-- ) {
+				double v = B*row[x] + a1*y1 + a2*y2 + a3*y3;
+				y3 = y2; y2 = y1; y1 = v;
+				output[indexOut + x] = (float)(v*normalize[x]);
+			}
+			return;
+		}
+
+		output[indexOut + width-1] = (float)(y1*normalize[width-1]);
+		for( int x = width-2; x >= 0; x-- ) {
+			double v = B*row[x] + a1*y1 + a2*y2 + a3*y3;
+			y3 = y2; y2 = y1; y1 = v;
+			output[indexOut + x] = (float)(v*normalize[x]);
+		}
+	}
+
+	/**
+	 * Blurs each column in the image, in place.  Only columns in the range [x0,x1) are processed.  The image
+	 * is traversed one row at a time.
+	 */
+	public void vertical( ImageFloat32 image , int x0 , int x1 ) {
+		int N = x1-x0;
+		int height = image.height;
+		declareState(N, height);
+
+		if( height < 3 ) {
+			verticalSmall(image,x0,x1);
+			return;
+		}
+
+		// causal filter
+		zero(state0,N); zero(state1,N); zero(state2,N);
+		for( int y = 0; y < height; y++ ) {
+			int index = image.startIndex + y*image.stride + x0;
+			// state0 = w[y-1], state1 = w[y-2], state2 = w[y-3].  The oldest row is replaced by the new one
+			double s0[] = state0, s1[] = state1, s2[] = state2;
+			for( int i = 0; i < N; i++ ) {
+				double w = B*image.data[index] + a1*s0[i] + a2*s1[i] + a3*s2[i];
+				s2[i] = w;
+				image.data[index++] = (float)w;
+			}
+			state0 = s2; state1 = s0; state2 = s1;
+		}
+
+		// anti-causal filter.  The causal output for the last three rows are still in the state
+		double w1[] = state0, w2[] = state1, w3[] = state2;
+		int index = image.startIndex + (height-1)*image.stride + x0;
+		double n = normalize[height-1];
+		for( int i = 0; i < N; i++ ) {
+			double v1 = M[0]*w1[i] + M[1]*w2[i] + M[2]*w3[i];
+			double v2 = M[3]*w1[i] + M[4]*w2[i] + M[5]*w3[i];
+			double v3 = M[6]*w1[i] + M[7]*w2[i] + M[8]*w3[i];
+			w1[i] = v1; w2[i] = v2; w3[i] = v3;
+			image.data[index++] = (float)(v1*n);
+		}
+		state0 = w1; state1 = w2; state2 = w3;
+
+		for( int y = height-2; y >= 0; y-- ) {
+			index = image.startIndex + y*image.stride + x0;
+			n = normalize[y];
+			double s0[] = state0, s1[] = state1, s2[] = state2;
+			for( int i = 0; i < N; i++ ) {
+				double v = B*image.data[index] + a1*s0[i] + a2*s1[i] + a3*s2[i];
+				s2[i] = v;
+				image.data[index++] = (float)(v*n);
+			}
+			state0 = s2; state1 = s0; state2 = s1;
+		}
+	}
+
+	/**
+	 * Rounds the blurred image to the nearest integer and saves it into the output image.  Only rows in the
+	 * range [y0,y1) are processed.
+	 */
+	public static void round( ImageFloat32 input , ImageUInt8 output , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			for( int x = 0; x < input.width; x++ ) {
+				int value = (int)(input.data[indexIn++] + 0.5f);
+				output.data[indexOut++] = (byte)(value < 0 ? 0 : (value > 255 ? 255 : value));
+			}
+		}
+	}
+
+	/**
+	 * Vertical pass for images with fewer than three rows.  Same as the horizontal pass but along each column.
+	 */
+	private void verticalSmall( ImageFloat32 image , int x0 , int x1 ) {
+		int height = image.height;
+		declareRow(height);
+		for( int x = x0; x < x1; x++ ) {
+			double w1 = 0, w2 = 0, w3 = 0;
+			for( int y = 0; y < height; y++ ) {
+				double w = B*image.data[image.startIndex + y*image.stride + x] + a1*w1 + a2*w2 + a3*w3;
+				row[y] = w;
+				w3 = w2; w2 = w1; w1 = w;
+			}
+			w1 = w2 = w3 = 0;
+			for( int y = height-1; y >= 0; y-- ) {
+				double v = B*row[y] + a1*w1 + a2*w2 + a3*w3;
+				w3 = w2; w2 = w1; w1 = v;
+				image.data[image.startIndex + y*image.stride + x] = (float)(v*normalize[y]);
+			}
+		}
+	}
+
+	/**
+	 * Declares storage for filtering along a row and computes the normalization factor
+	 */
+	private void declareRow( int length ) {
+		if( row.length < length )
+			row = new double[length];
+		computeNormalize(length);
+	}
+
+	private void declareState( int columns , int length ) {
+		if( state0.length < columns ) {
+			state0 = new double[columns];
+			state1 = new double[columns];
+			state2 = new double[columns];
+		}
+		if( row.length < length )
+			row = new double[length];
+		computeNormalize(length);
+	}
+
+	/**
+	 * Filters a signal of ones and saves the reciprocal of the response
+	 */
+	private void computeNormalize( int length ) {
+		if( normalize.length < length )
+			normalize = new double[length];
+
+		double w1 = 0, w2 = 0, w3 = 0;
+		for( int i = 0; i < length; i++ ) {
+			double w = B + a1*w1 + a2*w2 + a3*w3;
+			row[i] = w;
+			w3 = w2; w2 = w1; w1 = w;
+		}
+
+		double y1,y2,y3;
+		int start;
+		if( length >= 3 ) {
+			y1 = M[0]*row[length-1] + M[1]*row[length-2] + M[2]*row[length-3];
+			y2 = M[3]*row[length-1] + M[4]*row[length-2] + M[5]*row[length-3];
+			y3 = M[6]*row[length-1] + M[7]*row[length-2] + M[8]*row[length-3];
+			normalize[length-1] = 1.0/y1;
+			start = length-2;
+		} else {
+			y1 = y2 = y3 = 0;
+			start = length-1;
+		}
+		for( int i = start; i >= 0; i-- ) {
+			double v = B*row[i] + a1*y1 + a2*y2 + a3*y3;
+			y3 = y2; y2 = y1; y1 = v;
+			normalize[i] = 1.0/v;
+		}
+	}
+
+	private static void zero( double data[] , int length ) {
+		for( int i = 0; i < length; i++ )
+			data[i] = 0;
+	}
+}
@@ -0,0 +1,603 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Median filter whose cost per pixel does not depend on the radius.  A histogram is maintained for each column
+ * in the image.  When moving down a row each column histogram is updated by removing one pixel and adding another.
+ * When moving along a row the kernel's histogram is updated by removing one column histogram and adding another.
+ * Histograms are split into a coarse and fine level and the fine level of the kernel's histogram is only brought
+ * up to date for the coarse bin which contains the median.
+ * </p>
+ *
+ * <p>
+ * The entire image is processed, including the border.  Along the border the region is truncated so that it
+ * lies inside the image, producing identical results to {@link ImplMedianSortNaive}.
+ * </p>
+ *
+ * <p>
+ * Perreault, S. and Hebert, P. "Median Filtering in Constant Time" IEEE Trans. Image Processing, 2007
+ * </p>
+ *
+ * <p>
+ * Each instance has its own internal storage and can be reused.  Not thread safe.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramConstant {
+
+	// Limit on the number of fine histogram elements which are allocated.  For 16-bit images the image is processed
+	// in vertical strips to ensure this limit is not exceeded.
+	private static final int MAX_FINE_ELEMENTS = 1 << 22;
+
+	// indicates that the fine histogram for a coarse bin needs to be recomputed from scratch
+	private static final int INVALID = Integer.MIN_VALUE/2;
+
+	// number of bits in the fine portion of the value
+	private int fineBits;
+	// number of bins in each level
+	private int numCoarse;
+	private int numFine;
+
+	// histogram for each column.  Only counts for pixels within the filter's vertical extent
+	private int colCoarse[] = new int[0];
+	private char colFine[] = new char[0];
+
+	// the kernel's histograms
+	private int kerCoarse[] = new int[0];
+	private int kerFine[] = new int[0];
+	// column at which the kernel's fine histogram was last updated
+	private int kerFineX[] = new int[0];
+
+	// range of columns in the current vertical strip
+	private int stripX0, stripX1;
+	// maximum number of columns which can be in the column histograms
+	private int maxColumns;
+	private int width;
+	private int radius;
+
+	// maximum number of unique values a floating point image can have and still use the 16-bit filter
+	private static final int MAX_UNIQUE = 1 << 16;
+	// size of the hash table used to find unique values.  Twice the maximum number of values to keep probes short
+	private static final int TABLE_BITS = 17;
+	private static final int TABLE_SIZE = 1 << TABLE_BITS;
+
+	// hash table from the bits in a floating point value to its index in the sorted list of unique values.
+	// The index is offset by one and zero indicates an empty slot
+	private int tableKeys[] = new int[0];
+	private int tableIndex[] = new int[0];
+	// sorted list of unique values in the floating point image
+	private float values[] = new float[0];
+	private int numValues;
+
+	// the floating point image converted into indexes of its unique values and the median of those indexes
+	private ImageUInt16 indexes = new ImageUInt16(1,1);
+	private ImageUInt16 indexesMedian = new ImageUInt16(1,1);
+
+	/**
+	 * Applies the median filter to an 8-bit image
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public void process( ImageUInt8 input , ImageUInt8 output , int radius ) {
+		process(input, output, radius, 0, input.height);
+	}
+
+	/**
+	 * Applies the median filter to an 8-bit image, but only writes to rows in the range [y0,y1).  Rows outside
+	 * of this range are still read.  Used to process the image concurrently.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param y0 First row which is written to, inclusive.
+	 * @param y1 Last row which is written to, exclusive.
+	 */
+	public void process( ImageUInt8 input , ImageUInt8 output , int radius , int y0 , int y1 ) {
+		declare(8, input.width, radius);
+
+		for( int x0 = 0; x0 < input.width; x0 = stripX1 ) {
+			selectStrip(x0);
+
+			initializeColumns(input, y0);
+			for( int y = y0; y < y1; y++ ) {
+				if( y > y0 ) {
+					int rowRemove = y - radius - 1;
+					int rowAdd = y + radius;
+					if( rowRemove >= 0 )
+						updateColumns(input, rowRemove, -1);
+					if( rowAdd < input.height )
+						updateColumns(input, rowAdd, 1);
+				}
+
+				int rows = Math.min(input.height, y + radius + 1) - Math.max(0, y - radius);
+				int indexOut = output.startIndex + y*output.stride + stripX0;
+				initializeKernel();
+				for( int x = stripX0; x < stripX1; x++ ) {
+					output.data[indexOut++] = (byte)computeMedian(x, rows);
+				}
+			}
+			cleanUpColumns(input, y1);
+		}
+	}
+
+	/**
+	 * Applies the median filter to a 16-bit image
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public void process( ImageUInt16 input , ImageUInt16 output , int radius ) {
+		process(input, output, radius, 0, input.height);
+	}
+
+	/**
+	 * Applies the median filter to a 16-bit image, but only writes to rows in the range [y0,y1).  Rows outside
+	 * of this range are still read.  Used to process the image concurrently.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 * @param y0 First row which is written to, inclusive.
+	 * @param y1 Last row which is written to, exclusive.
+	 */
+	public void process( ImageUInt16 input , ImageUInt16 output , int radius , int y0 , int y1 ) {
+		process16(input, output, radius, bitsRequired(input), y0, y1);
+	}
+
+	/**
+	 * Applies the median filter to a 16-bit image whose values can be represented using the specified number of bits
+	 */
+	private void process16( ImageUInt16 input , ImageUInt16 output , int radius , int bits , int y0 , int y1 ) {
+		declare(bits, input.width, radius);
+
+		for( int x0 = 0; x0 < input.width; x0 = stripX1 ) {
+			selectStrip(x0);
+
+			initializeColumns(input, y0);
+			for( int y = y0; y < y1; y++ ) {
+				if( y > y0 ) {
+					int rowRemove = y - radius - 1;
+					int rowAdd = y + radius;
+					if( rowRemove >= 0 )
+						updateColumns(input, rowRemove, -1);
+					if( rowAdd < input.height )
+						updateColumns(input, rowAdd, 1);
+				}
+
+				int rows = Math.min(input.height, y + radius + 1) - Math.max(0, y - radius);
+				int indexOut = output.startIndex + y*output.stride + stripX0;
+				initializeKernel();
+				for( int x = stripX0; x < stripX1; x++ ) {
+					output.data[indexOut++] = (short)computeMedian(x, rows);
+				}
+			}
+			cleanUpColumns(input, y1);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Applies the median filter to a floating point image.  The number of unique values in the image is found.
+	 * If there are no more than 2<sup>16</sup> then each pixel is replaced by its index in the sorted list of
+	 * unique values and the 16-bit filter is applied to the indexes.  This is exact and is the typical case for
+	 * images from 8 to 16-bit sensors which were converted into floating point.  Otherwise it falls back to
+	 * {@link ImplMedianSortNaive}.  Unique values are found using a hash table and the search stops as soon as
+	 * there are too many, so images with real valued pixels quickly fall back.
+	 * </p>
+	 *
+	 * <p>
+	 * Each step is run across multiple threads if turned on in {@link BoofConcurrency}.
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public void process( final ImageFloat32 input , final ImageFloat32 output , final int radius ) {
+		if( !findUniqueValues(input) ) {
+			BoofConcurrency.loopRows(input, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					ImplMedianSortNaive.processRows(input, output, radius, null, y0, y1);
+				}
+			});
+			return;
+		}
+
+		indexes.reshape(input.width, input.height);
+		indexesMedian.reshape(input.width, input.height);
+		final int bits = Math.max(2, 32 - Integer.numberOfLeadingZeros(Math.max(0, numValues - 1)));
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				valuesToIndexes(input, y0, y1);
+			}
+		});
+
+		BoofConcurrency.loopRows(indexes, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				new ImplMedianHistogramConstant().process16(indexes, indexesMedian, radius, bits, y0, y1);
+			}
+		});
+
+		BoofConcurrency.loopRows(output, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				indexesToValues(output, y0, y1);
+			}
+		});
+	}
+
+	/**
+	 * Finds the unique values in the image and fills in the hash table with the index of each value in sorted
+	 * order.  Stops as soon as there are more than 2<sup>16</sup> unique values.
+	 *
+	 * @return true if there are no more than 2<sup>16</sup> unique values
+	 */
+	boolean findUniqueValues( ImageFloat32 input ) {
+		if( tableKeys.length != TABLE_SIZE ) {
+			tableKeys = new int[ TABLE_SIZE ];
+			tableIndex = new int[ TABLE_SIZE ];
+			values = new float[ MAX_UNIQUE ];
+		} else {
+			Arrays.fill(tableIndex, 0);
+		}
+		numValues = 0;
+
+		for( int y = 0; y < input.height; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+			for( ; index < end; index++ ) {
+				float value = input.data[index];
+				int bits = Float.floatToIntBits(value);
+				int slot = hash(bits);
+				while( tableIndex[slot] != 0 && tableKeys[slot] != bits ) {
+					slot = (slot + 1) & (TABLE_SIZE - 1);
+				}
+				if( tableIndex[slot] == 0 ) {
+					if( numValues == MAX_UNIQUE )
+						return false;
+					tableKeys[slot] = bits;
+					values[numValues++] = value;
+					tableIndex[slot] = numValues;
+				}
+			}
+		}
+
+		// replace the order the values were found in with their sorted order
+		Arrays.sort(values, 0, numValues);
+		for( int slot = 0; slot < TABLE_SIZE; slot++ ) {
+			if( tableIndex[slot] != 0 ) {
+				float value = Float.intBitsToFloat(tableKeys[slot]);
+				tableIndex[slot] = Arrays.binarySearch(values, 0, numValues, value) + 1;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Replaces each pixel in rows [y0,y1) with the index of its value in the sorted list of unique values
+	 */
+	private void valuesToIndexes( ImageFloat32 input , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexWork = indexes.startIndex + y*indexes.stride;
+			for( int x = 0; x < input.width; x++ ) {
+				int bits = Float.floatToIntBits(input.data[indexIn++]);
+				int slot = hash(bits);
+				while( tableKeys[slot] != bits ) {
+					slot = (slot + 1) & (TABLE_SIZE - 1);
+				}
+				indexes.data[indexWork++] = (short)(tableIndex[slot] - 1);
+			}
+		}
+	}
+
+	/**
+	 * Converts the median indexes in rows [y0,y1) back into the value they reference
+	 */
+	private void indexesToValues( ImageFloat32 output , int y0 , int y1 ) {
+		for( int y = y0; y < y1; y++ ) {
+			int indexOut = output.startIndex + y*output.stride;
+			int indexWork = indexesMedian.startIndex + y*indexesMedian.stride;
+			for( int x = 0; x < output.width; x++ ) {
+				output.data[indexOut++] = values[indexesMedian.data[indexWork++] & 0xFFFF];
+			}
+		}
+	}
+
+	private static int hash( int bits ) {
+		return (bits*0x9E3779B9) >>> (32 - TABLE_BITS);
+	}
+
+	/**
+	 * Number of bits needed to represent the largest value in the image.  Many 16-bit images only use 10 or 12 bits
+	 * and the histograms are much smaller and faster to process if only the bits which are in use are considered.
+	 */
+	private static int bitsRequired( ImageUInt16 input ) {
+		int max = 0;
+		for( int y = 0; y < input.height; y++ ) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+			for( ; index < end; index++ ) {
+				int value = input.data[index] & 0xFFFF;
+				if( value > max )
+					max = value;
+			}
+		}
+		return Math.max(2, 32 - Integer.numberOfLeadingZeros(max));
+	}
+
+	/**
+	 * Declares internal storage for the specified number of bits per pixel
+	 */
+	private void declare( int bits , int width , int radius ) {
+		if( radius <= 0 )
+			throw new IllegalArgumentException("Radius must be > 0");
+		if( 2*radius+1 > Character.MAX_VALUE )
+			throw new IllegalArgumentException("Radius is too large");
+
+		this.width = width;
+		this.radius = radius;
+
+		fineBits = bits/2;
+		numFine = 1 << fineBits;
+		numCoarse = 1 << (bits - fineBits);
+
+		int bins = numCoarse*numFine;
+		maxColumns = Math.max(MAX_FINE_ELEMENTS/bins, 6*radius + 2);
+		int columns = Math.min(width, maxColumns);
+
+		if( colCoarse.length < columns*numCoarse )
+			colCoarse = new int[ columns*numCoarse ];
+		if( colFine.length < columns*bins )
+			colFine = new char[ columns*bins ];
+		if( kerCoarse.length < numCoarse ) {
+			kerCoarse = new int[ numCoarse ];
+			kerFineX = new int[ numCoarse ];
+		}
+		if( kerFine.length < bins )
+			kerFine = new int[ bins ];
+	}
+
+	/**
+	 * Selects the next vertical strip of columns which will be written to.  The column histograms also include the
+	 * 'radius' columns on either side of the strip.  Since maxColumns &ge; 6*radius+2 the strip is never empty.
+	 */
+	private void selectStrip( int x0 ) {
+		stripX0 = x0;
+		stripX1 = Math.min(width, x0 + maxColumns - 2*radius);
+	}
+
+	private int columnLower() {
+		return Math.max(0, stripX0 - radius);
+	}
+
+	private int columnUpper() {
+		return Math.min(width, stripX1 + radius);
+	}
+
+	/**
+	 * Adds all the pixels within the vertical extent of row 'y' to the column histograms
+	 */
+	private void initializeColumns( ImageUInt8 input , int y ) {
+		int N = (columnUpper()-columnLower())*numCoarse;
+		Arrays.fill(colCoarse, 0, N, 0);
+
+		int row0 = Math.max(0, y - radius);
+		int row1 = Math.min(input.height, y + radius + 1);
+		for( int row = row0; row < row1; row++ ) {
+			updateColumns(input, row, 1);
+		}
+	}
+
+	private void initializeColumns( ImageUInt16 input , int y ) {
+		int N = (columnUpper()-columnLower())*numCoarse;
+		Arrays.fill(colCoarse, 0, N, 0);
+
+		int row0 = Math.max(0, y - radius);
+		int row1 = Math.min(input.height, y + radius + 1);
+		for( int row = row0; row < row1; row++ ) {
+			updateColumns(input, row, 1);
+		}
+	}
+
+	/**
+	 * Removes the pixels which remain in the column histograms so that the fine histograms are all zero.  Much
+	 * faster than filling the fine histograms with zeros.
+	 */
+	private void cleanUpColumns( ImageUInt8 input , int y1 ) {
+		int row0 = Math.max(0, y1 - 1 - radius);
+		int row1 = Math.min(input.height, y1 + radius);
+		for( int row = row0; row < row1; row++ ) {
+			updateColumns(input, row, -1);
+		}
+	}
+
+	private void cleanUpColumns( ImageUInt16 input , int y1 ) {
+		int row0 = Math.max(0, y1 - 1 - radius);
+		int row1 = Math.min(input.height, y1 + radius);
+		for( int row = row0; row < row1; row++ ) {
+			updateColumns(input, row, -1);
+		}
+	}
+
+	/**
+	 * Adds or removes the pixels in the specified row from the column histograms
+	 */
+	private void updateColumns( ImageUInt8 input , int row , int amount ) {
+		int x0 = columnLower();
+		int x1 = columnUpper();
+		int indexIn = input.startIndex + row*input.stride + x0;
+		int shift = fineBits;
+		int mask = numFine-1;
+
+		for( int x = x0, col = 0; x < x1; x++, col++ ) {
+			int value = input.data[indexIn++] & 0xFF;
+			int coarse = value >> shift;
+			colCoarse[col*numCoarse + coarse] += amount;
+			int indexFine = (col*numCoarse + coarse)*numFine + (value & mask);
+			colFine[indexFine] = (char)(colFine[indexFine] + amount);
+		}
+	}
+
+	private void updateColumns( ImageUInt16 input , int row , int amount ) {
+		int x0 = columnLower();
+		int x1 = columnUpper();
+		int indexIn = input.startIndex + row*input.stride + x0;
+		int shift = fineBits;
+		int mask = numFine-1;
+
+		for( int x = x0, col = 0; x < x1; x++, col++ ) {
+			int value = input.data[indexIn++] & 0xFFFF;
+			int coarse = value >> shift;
+			colCoarse[col*numCoarse + coarse] += amount;
+			int indexFine = (col*numCoarse + coarse)*numFine + (value & mask);
+			colFine[indexFine] = (char)(colFine[indexFine] + amount);
+		}
+	}
+
+	/**
+	 * Computes the kernel's coarse histogram for the first pixel in the strip and marks all the fine histograms
+	 * as needing to be recomputed.
+	 */
+	private void initializeKernel() {
+		Arrays.fill(kerCoarse, 0, numCoarse, 0);
+		Arrays.fill(kerFineX, 0, numCoarse, INVALID);
+
+		int x0 = Math.max(0, stripX0 - radius);
+		int x1 = Math.min(width, stripX0 + radius + 1);
+		int lower = columnLower();
+		for( int x = x0; x < x1; x++ ) {
+			int indexCol = (x-lower)*numCoarse;
+			for( int i = 0; i < numCoarse; i++ ) {
+				kerCoarse[i] += colCoarse[indexCol + i];
+			}
+		}
+	}
+
+	/**
+	 * Updates the kernel's histogram for column 'x' and finds the median.
+	 *
+	 * @param rows Number of rows inside the kernel
+	 */
+	private int computeMedian( int x , int rows ) {
+		int lower = columnLower();
+
+		// move the coarse histogram from the previous column
+		if( x > stripX0 ) {
+			int xAdd = x + radius;
+			int xRemove = x - radius - 1;
+			if( xAdd < width ) {
+				int indexCol = (xAdd-lower)*numCoarse;
+				for( int i = 0; i < numCoarse; i++ ) {
+					kerCoarse[i] += colCoarse[indexCol + i];
+				}
+			}
+			if( xRemove >= 0 ) {
+				int indexCol = (xRemove-lower)*numCoarse;
+				for( int i = 0; i < numCoarse; i++ ) {
+					kerCoarse[i] -= colCoarse[indexCol + i];
+				}
+			}
+		}
+
+		int columns = Math.min(width, x + radius + 1) - Math.max(0, x - radius);
+		int threshold = (rows*columns)/2 + 1;
+
+		// find the coarse bin which contains the median
+		int count = 0;
+		int coarse;
+		for( coarse = 0; coarse < numCoarse; coarse++ ) {
+			int next = count + kerCoarse[coarse];
+			if( next >= threshold )
+				break;
+			count = next;
+		}
+
+		updateFine(coarse, x);
+
+		// search the fine histogram for the median
+		int indexFine = coarse*numFine;
+		int fine;
+		for( fine = 0; fine < numFine-1; fine++ ) {
+			count += kerFine[indexFine + fine];
+			if( count >= threshold )
+				break;
+		}
+
+		return (coarse << fineBits) | fine;
+	}
+
+	/**
+	 * Brings the kernel's fine histogram for the specified coarse bin up to date with column 'x'
+	 */
+	private void updateFine( int coarse , int x ) {
+		int lower = columnLower();
+		int indexKer = coarse*numFine;
+		int lastX = kerFineX[coarse];
+
+		if( x - lastX > 2*radius ) {
+			// sliding the histogram would require more work than starting over
+			Arrays.fill(kerFine, indexKer, indexKer + numFine, 0);
+			int x0 = Math.max(0, x - radius);
+			int x1 = Math.min(width, x + radius + 1);
+			for( int col = x0; col < x1; col++ ) {
+				int indexCol = ((col-lower)*numCoarse + coarse)*numFine;
+				for( int i = 0; i < numFine; i++ ) {
+					kerFine[indexKer + i] += colFine[indexCol + i];
+				}
+			}
+		} else {
+			for( int col = lastX + 1; col <= x; col++ ) {
+				int xAdd = col + radius;
+				int xRemove = col - radius - 1;
+				if( xAdd < width ) {
+					int indexCol = ((xAdd-lower)*numCoarse + coarse)*numFine;
+					for( int i = 0; i < numFine; i++ ) {
+						kerFine[indexKer + i] += colFine[indexCol + i];
+					}
+				}
+				if( xRemove >= 0 ) {
+					int indexCol = ((xRemove-lower)*numCoarse + coarse)*numFine;
+					for( int i = 0; i < numFine; i++ ) {
+						kerFine[indexKer + i] -= colFine[indexCol + i];
+					}
+				}
+			}
+		}
+		kerFineX[coarse] = x;
+	}
+}
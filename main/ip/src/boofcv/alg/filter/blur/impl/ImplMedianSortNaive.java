@@ -93,6 +93,22 @@ public class ImplMedianSortNaive {
 	 * @param storage Array used for storage.  If null a new array is declared internally.
 	 */
 	public static void process(ImageFloat32 input, ImageFloat32 output, int radius , float[] storage ) {
+		processRows(input, output, radius, storage, 0, input.height);
+	}
+
+	/**
+	 * Performs a median filter on the rows from y0 to y1.  The rows outside this range are still used as input
+	 * but are not written to in the output.
+	 *
+	 * @param input Raw input image.
+	 * @param output Filtered image.
+	 * @param radius Size of the filter's region.
+	 * @param storage Array used for storage.  If null a new array is declared internally.
+	 * @param y0 First row which is processed, inclusive.
+	 * @param y1 Last row which is processed, exclusive.
+	 */
+	public static void processRows(ImageFloat32 input, ImageFloat32 output, int radius , float[] storage ,
+								   int y0 , int y1 ) {
 
 		int w = 2*radius+1;
 		if( storage == null ) {
@@ -101,7 +117,7 @@ public class ImplMedianSortNaive {
 			throw new IllegalArgumentException("'storage' must be at least of length "+(w*w));
 		}
 
-		for( int y = 0; y < input.height; y++ ) {
+		for( int y = y0; y < y1; y++ ) {
 			int minI = y - radius;
 			int maxI = y + radius+1;
 
@@ -21,6 +21,8 @@ package boofcv.alg.filter.convolve;
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.noborder.ImplConvolveMean;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
@@ -32,6 +34,12 @@ import boofcv.struct.image.*;
  * Convolves a mean filter across the image.  The mean value of all the pixels are computed inside the kernel.
  * </p>
  *
+ * <p>
+ * Concurrency: If turned on in {@link BoofConcurrency} horizontal passes are split into bands of rows and
+ * vertical passes into bands of columns.  Vertical passes keep a running sum down each column, splitting
+ * by column ensures the output is identical to the single threaded version.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class ConvolveImageMean {
@@ -44,7 +52,7 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void horizontal(ImageFloat32 input, ImageFloat32 output, int radius) {
+	public static void horizontal(final ImageFloat32 input, final ImageFloat32 output, final int radius) {
 
 		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
 		if( kernel.width > input.width ) {
@@ -52,7 +60,14 @@ public class ConvolveImageMean {
 		} else {
 			InputSanityCheck.checkSameShape(input , output);
 			ConvolveNormalized_JustBorder.horizontal(kernel, input ,output );
-			ImplConvolveMean.horizontal(input, output, radius);
+			BoofConcurrency.loopRows(input, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					ImageFloat32 bandIn = input.subimage(0, y0, input.width, y1, null);
+					ImageFloat32 bandOut = output.subimage(0, y0, output.width, y1, null);
+					ImplConvolveMean.horizontal(bandIn, bandOut, radius);
+				}
+			});
 		}
 	}
 
@@ -64,7 +79,7 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void vertical(ImageFloat32 input, ImageFloat32 output, int radius) {
+	public static void vertical(final ImageFloat32 input, final ImageFloat32 output, final int radius) {
 
 		Kernel1D_F32 kernel = FactoryKernel.table1D_F32(radius,true);
 		if( kernel.width > input.height ) {
@@ -72,7 +87,14 @@ public class ConvolveImageMean {
 		} else {
 			InputSanityCheck.checkSameShape(input , output);
 			ConvolveNormalized_JustBorder.vertical(kernel, input, output);
-			ImplConvolveMean.vertical(input, output, radius);
+			BoofConcurrency.loopColumns(input, new IntRangeTask() {
+				@Override
+				public void process(int x0, int x1) {
+					ImageFloat32 bandIn = input.subimage(x0, 0, x1, input.height, null);
+					ImageFloat32 bandOut = output.subimage(x0, 0, x1, output.height, null);
+					ImplConvolveMean.vertical(bandIn, bandOut, radius);
+				}
+			});
 		}
 	}
 
@@ -84,14 +106,21 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void horizontal(ImageUInt8 input, ImageUInt8 output, int radius) {
+	public static void horizontal(final ImageUInt8 input, final ImageUInt8 output, final int radius) {
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		if( kernel.width > input.width ) {
 			ConvolveNormalized.horizontal(kernel,input,output);
 		} else {
 			InputSanityCheck.checkSameShape(input , output);
 			ConvolveNormalized_JustBorder.horizontal(kernel, input ,output );
-			ImplConvolveMean.horizontal(input, output, radius);
+			BoofConcurrency.loopRows(input, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+					ImageUInt8 bandOut = output.subimage(0, y0, output.width, y1, null);
+					ImplConvolveMean.horizontal(bandIn, bandOut, radius);
+				}
+			});
 		}
 	}
 
@@ -103,7 +132,7 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void vertical(ImageUInt8 input, ImageInt8 output, int radius) {
+	public static void vertical(final ImageUInt8 input, final ImageInt8 output, final int radius) {
 
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		if( kernel.width > input.height ) {
@@ -111,7 +140,14 @@ public class ConvolveImageMean {
 		} else {
 			InputSanityCheck.checkSameShape(input , output);
 			ConvolveNormalized_JustBorder.vertical(kernel, input ,output );
-			ImplConvolveMean.vertical(input, output, radius);
+			BoofConcurrency.loopColumns(input, new IntRangeTask() {
+				@Override
+				public void process(int x0, int x1) {
+					ImageUInt8 bandIn = input.subimage(x0, 0, x1, input.height, null);
+					ImageInt8 bandOut = (ImageInt8)output.subimage(x0, 0, x1, output.height, null);
+					ImplConvolveMean.vertical(bandIn, bandOut, radius);
+				}
+			});
 		}
 	}
 
@@ -123,14 +159,21 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void horizontal(ImageSInt16 input, ImageInt16 output, int radius) {
+	public static void horizontal(final ImageSInt16 input, final ImageInt16 output, final int radius) {
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		if( kernel.width > input.width ) {
 			ConvolveNormalized.horizontal(kernel,input,output);
 		} else {
 			InputSanityCheck.checkSameShape(input , output);
 			ConvolveNormalized_JustBorder.horizontal(kernel, input ,output );
-			ImplConvolveMean.horizontal(input, output, radius);
+			BoofConcurrency.loopRows(input, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					ImageSInt16 bandIn = input.subimage(0, y0, input.width, y1, null);
+					ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+					ImplConvolveMean.horizontal(bandIn, bandOut, radius);
+				}
+			});
 		}
 	}
 
@@ -142,7 +185,7 @@ public class ConvolveImageMean {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param radius Kernel size.
 	 */
-	public static void vertical(ImageSInt16 input, ImageInt16 output, int radius ) {
+	public static void vertical(final ImageSInt16 input, final ImageInt16 output, final int radius ) {
 
 		Kernel1D_I32 kernel = FactoryKernel.table1D_I32(radius);
 		if( kernel.width > input.height ) {
@@ -150,7 +193,14 @@ public class ConvolveImageMean {
 		} else {
 			InputSanityCheck.checkSameShape(input , output);
 			ConvolveNormalized_JustBorder.vertical(kernel, input ,output );
-			ImplConvolveMean.vertical(input, output, radius);
+			BoofConcurrency.loopColumns(input, new IntRangeTask() {
+				@Override
+				public void process(int x0, int x1) {
+					ImageSInt16 bandIn = input.subimage(x0, 0, x1, input.height, null);
+					ImageInt16 bandOut = (ImageInt16)output.subimage(x0, 0, x1, output.height, null);
+					ImplConvolveMean.vertical(bandIn, bandOut, radius);
+				}
+			});
 		}
 	}
 }
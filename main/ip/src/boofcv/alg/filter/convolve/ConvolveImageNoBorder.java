@@ -20,6 +20,8 @@ package boofcv.alg.filter.convolve;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.noborder.*;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
@@ -44,6 +46,11 @@ import boofcv.struct.image.*;
  * handle image edges specialized functions are provided.
  * </p>
  *
+ * <p>
+ * Concurrency: If turned on in {@link BoofConcurrency} the image is split into bands of rows which are
+ * convolved in parallel.  The output is identical to the single threaded version.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"ForLoopReplaceableByForEach"})
@@ -56,12 +63,20 @@ public class ConvolveImageNoBorder {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 */
-	public static void horizontal(Kernel1D_F32 kernel,
-								  ImageFloat32 input,  ImageFloat32 output) {
+	public static void horizontal(final Kernel1D_F32 kernel,
+								  final ImageFloat32 input,  final ImageFloat32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_F32_F32.horizontal(kernel, input, output))
-			ConvolveImageStandard.horizontal(kernel, input, output);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageFloat32 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageFloat32 bandOut = output.subimage(0, y0, output.width, y1, null);
+
+				if (!ConvolveImageUnrolled_F32_F32.horizontal(kernel, bandIn, bandOut))
+					ConvolveImageStandard.horizontal(kernel, bandIn, bandOut);
+			}
+		});
 	}
 
 	/**
@@ -71,12 +86,20 @@ public class ConvolveImageNoBorder {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
-								  ImageUInt8 input,  ImageInt8 output, int divisor ) {
+	public static void horizontal(final Kernel1D_I32 kernel,
+								  final ImageUInt8 input,  final ImageInt8 output, final int divisor ) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_U8_I8_Div.horizontal(kernel, input,  output, divisor))
-			ConvolveImageStandard.horizontal(kernel, input,  output, divisor);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt8 bandOut = (ImageInt8)output.subimage(0, y0, output.width, y1, null);
+
+				if( !ConvolveImageUnrolled_U8_I8_Div.horizontal(kernel, bandIn,  bandOut, divisor))
+					ConvolveImageStandard.horizontal(kernel, bandIn,  bandOut, divisor);
+			}
+		});
 	}
 
 	/**
@@ -86,11 +109,19 @@ public class ConvolveImageNoBorder {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 */
-	public static void horizontal(Kernel1D_I32 kernel, ImageUInt8 input,  ImageInt16 output ) {
+	public static void horizontal(final Kernel1D_I32 kernel, final ImageUInt8 input,  final ImageInt16 output ) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_U8_I16.horizontal(kernel, input,  output ))
-			ConvolveImageStandard.horizontal(kernel, input,  output);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+
+				if (!ConvolveImageUnrolled_U8_I16.horizontal(kernel, bandIn,  bandOut ))
+					ConvolveImageStandard.horizontal(kernel, bandIn,  bandOut);
+			}
+		});
 	}
 
 	/**
@@ -100,12 +131,20 @@ public class ConvolveImageNoBorder {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
-								  ImageUInt8 input, ImageSInt32 output ) {
+	public static void horizontal(final Kernel1D_I32 kernel,
+								  final ImageUInt8 input, final ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		// todo add unroll
-		ConvolveImageStandard.horizontal(kernel, input, output);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageSInt32 bandOut = output.subimage(0, y0, output.width, y1, null);
+
+				// todo add unroll
+				ConvolveImageStandard.horizontal(kernel, bandIn, bandOut);
+			}
+		});
 	}
 
 	/**
@@ -115,11 +154,19 @@ public class ConvolveImageNoBorder {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 */
-	public static void horizontal(Kernel1D_I32 kernel, ImageSInt16 input, ImageInt16 output) {
+	public static void horizontal(final Kernel1D_I32 kernel, final ImageSInt16 input, final ImageInt16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S16_I16.horizontal(kernel, input, output))
-			ConvolveImageStandard.horizontal(kernel, input, output);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+
+				if (!ConvolveImageUnrolled_S16_I16.horizontal(kernel, bandIn, bandOut))
+					ConvolveImageStandard.horizontal(kernel, bandIn, bandOut);
+			}
+		});
 	}
 
 	/**
@@ -130,12 +177,20 @@ public class ConvolveImageNoBorder {
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 * @param divisor The value that the convolved image is divided by.
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
-								  ImageSInt16 input, ImageInt16 output, int divisor) {
+	public static void horizontal(final Kernel1D_I32 kernel,
+								  final ImageSInt16 input, final ImageInt16 output, final int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S16_I16_Div.horizontal(kernel, input, output, divisor))
-			ConvolveImageStandard.horizontal(kernel, input, output, divisor);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+
+				if (!ConvolveImageUnrolled_S16_I16_Div.horizontal(kernel, bandIn, bandOut, divisor))
+					ConvolveImageStandard.horizontal(kernel, bandIn, bandOut, divisor);
+			}
+		});
 	}
 
 	/**
@@ -146,12 +201,73 @@ public class ConvolveImageNoBorder {
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 * @param divisor The value that the convolved image is divided by.
 	 */
-	public static void horizontal(Kernel1D_I32 kernel,
-								  ImageSInt32 input, ImageSInt32 output, int divisor) {
+	public static void horizontal(final Kernel1D_I32 kernel,
+								  final ImageSInt32 input, final ImageSInt32 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt32 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageSInt32 bandOut = output.subimage(0, y0, output.width, y1, null);
+
+				if (!ConvolveImageUnrolled_S32_S32_Div.horizontal(kernel, bandIn, bandOut, divisor))
+					ConvolveImageStandard.horizontal(kernel, bandIn, bandOut, divisor);
+			}
+		});
+	}
+
+	/**
+	 * Convolves a separable kernel across the image, first along each row and then along each column, without
+	 * declaring a full size intermediate image.  Rows are processed in strips through a small buffer which stays
+	 * in cache, see {@link ImplConvolveSeparable}.  Both the horizontal and vertical border are not processed.
+	 * Inside the image the output is identical to calling {@link #horizontal} then {@link #vertical}.
+	 * The input and output can be the same image, in which case it is processed in a single thread.
+	 *
+	 * @param kernelX Kernel which is convolved along each row. Not modified.
+	 * @param kernelY Kernel which is convolved along each column. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 */
+	public static void separable(final Kernel1D_F32 kernelX, final Kernel1D_F32 kernelY,
+								 final ImageFloat32 input, final ImageFloat32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S32_S32_Div.horizontal(kernel, input, output, divisor))
-			ConvolveImageStandard.horizontal(kernel, input, output, divisor);
+		// rows are read before they are written to, but only if processed from top to bottom in a single band
+		if( input.data == output.data ) {
+			new ImplConvolveSeparable().process(kernelX, kernelY, input, output, 0, input.height);
+			return;
+		}
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				new ImplConvolveSeparable().process(kernelX, kernelY, input, output, y0, y1);
+			}
+		});
+	}
+
+	/**
+	 * Convolves a separable kernel across the image, first along each row and then along each column, without
+	 * declaring a full size intermediate image.  The intermediate results are 16-bit signed integers, the same
+	 * as when convolving into an {@link ImageSInt16}.  Both the horizontal and vertical border are not processed.
+	 * Inside the image the output is identical to calling {@link #horizontal} then {@link #vertical}.
+	 *
+	 * @param kernelX Kernel which is convolved along each row. Not modified.
+	 * @param kernelY Kernel which is convolved along each column. Not modified.
+	 * @param input	 The original image. Not modified.
+	 * @param output Where the resulting image is written to. Modified.
+	 */
+	public static void separable(final Kernel1D_I32 kernelX, final Kernel1D_I32 kernelY,
+								 final ImageUInt8 input, final ImageInt16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				new ImplConvolveSeparable().process(kernelX, kernelY, input, output, y0, y1);
+			}
+		});
 	}
 
 	/**
@@ -162,11 +278,19 @@ public class ConvolveImageNoBorder {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 */
-	public static void vertical(Kernel1D_F32 kernel, ImageFloat32 input,  ImageFloat32 output) {
+	public static void vertical(final Kernel1D_F32 kernel, final ImageFloat32 input,  final ImageFloat32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_F32_F32.vertical(kernel, input,  output))
-			ConvolveImageStandard.vertical(kernel, input,  output);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageFloat32 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageFloat32 bandOut = output.subimage(0, y0, output.width, y1, null);
+
+				if (!ConvolveImageUnrolled_F32_F32.vertical(kernel, bandIn,  bandOut))
+					ConvolveImageStandard.vertical(kernel, bandIn,  bandOut);
+			}
+		});
 	}
 
 	/**
@@ -177,12 +301,20 @@ public class ConvolveImageNoBorder {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
-								ImageUInt8 input,  ImageInt8 output, int divisor) {
+	public static void vertical(final Kernel1D_I32 kernel,
+								final ImageUInt8 input,  final ImageInt8 output, final int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_U8_I8_Div.vertical(kernel, input,  output, divisor))
-			ConvolveImageStandard.vertical(kernel, input,  output, divisor);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt8 bandOut = (ImageInt8)output.subimage(0, y0, output.width, y1, null);
+
+				if( !ConvolveImageUnrolled_U8_I8_Div.vertical(kernel, bandIn,  bandOut, divisor))
+					ConvolveImageStandard.vertical(kernel, bandIn,  bandOut, divisor);
+			}
+		});
 	}
 
 	/**
@@ -193,12 +325,20 @@ public class ConvolveImageNoBorder {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 */
-	public static void vertical(Kernel1D_I32 kernel,
-								ImageUInt16 input,  ImageInt8 output, int divisor) {
+	public static void vertical(final Kernel1D_I32 kernel,
+								final ImageUInt16 input,  final ImageInt8 output, final int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		// TODO unroll
-		ConvolveImageStandard.vertical(kernel, input,  output, divisor);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt16 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt8 bandOut = (ImageInt8)output.subimage(0, y0, output.width, y1, null);
+
+				// TODO unroll
+				ConvolveImageStandard.vertical(kernel, bandIn,  bandOut, divisor);
+			}
+		});
 	}
 
 	/**
@@ -209,11 +349,19 @@ public class ConvolveImageNoBorder {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 */
-	public static void vertical(Kernel1D_I32 kernel, ImageUInt8 input,  ImageInt16 output ) {
+	public static void vertical(final Kernel1D_I32 kernel, final ImageUInt8 input,  final ImageInt16 output ) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_U8_I16.vertical(kernel, input,  output))
-			ConvolveImageStandard.vertical(kernel, input,  output);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+
+				if (!ConvolveImageUnrolled_U8_I16.vertical(kernel, bandIn,  bandOut))
+					ConvolveImageStandard.vertical(kernel, bandIn,  bandOut);
+			}
+		});
 	}
 
 	/**
@@ -224,11 +372,19 @@ public class ConvolveImageNoBorder {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 */
-	public static void vertical(Kernel1D_I32 kernel, ImageUInt8 input,  ImageSInt32 output ) {
+	public static void vertical(final Kernel1D_I32 kernel, final ImageUInt8 input,  final ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		// todo add unroll
-		ConvolveImageStandard.vertical(kernel, input,  output);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageSInt32 bandOut = output.subimage(0, y0, output.width, y1, null);
+
+				// todo add unroll
+				ConvolveImageStandard.vertical(kernel, bandIn,  bandOut);
+			}
+		});
 	}
 	/**
 	 * Performs a vertical 1D convolution across the image in the vertical direction.
@@ -238,11 +394,19 @@ public class ConvolveImageNoBorder {
 	 * @param output Where the resulting image is written to. Modified.
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 */
-	public static void vertical(Kernel1D_I32 kernel, ImageSInt16 input, ImageInt16 output ) {
+	public static void vertical(final Kernel1D_I32 kernel, final ImageSInt16 input, final ImageInt16 output ) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S16_I16.vertical(kernel, input,  output))
-			ConvolveImageStandard.vertical(kernel, input,  output);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+
+				if (!ConvolveImageUnrolled_S16_I16.vertical(kernel, bandIn,  bandOut))
+					ConvolveImageStandard.vertical(kernel, bandIn,  bandOut);
+			}
+		});
 	}
 
 	/**
@@ -254,11 +418,19 @@ public class ConvolveImageNoBorder {
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 * @param divisor The value that the convolved image is divided by.
 	 */
-	public static void vertical(Kernel1D_I32 kernel, ImageSInt16 input,  ImageInt16 output, int divisor ) {
+	public static void vertical(final Kernel1D_I32 kernel, final ImageSInt16 input,  final ImageInt16 output, final int divisor ) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S16_I16_Div.vertical(kernel, input, output, divisor))
-			ConvolveImageStandard.vertical(kernel, input, output, divisor);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+
+				if (!ConvolveImageUnrolled_S16_I16_Div.vertical(kernel, bandIn, bandOut, divisor))
+					ConvolveImageStandard.vertical(kernel, bandIn, bandOut, divisor);
+			}
+		});
 	}
 
 	/**
@@ -270,11 +442,19 @@ public class ConvolveImageNoBorder {
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 * @param divisor The value that the convolved image is divided by.
 	 */
-	public static void vertical(Kernel1D_I32 kernel, ImageSInt32 input,  ImageInt16 output, int divisor ) {
+	public static void vertical(final Kernel1D_I32 kernel, final ImageSInt32 input,  final ImageInt16 output, final int divisor ) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		// todo unroll
-		ConvolveImageStandard.vertical(kernel, input, output, divisor);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt32 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+
+				// todo unroll
+				ConvolveImageStandard.vertical(kernel, bandIn, bandOut, divisor);
+			}
+		});
 	}
 
 	/**
@@ -286,11 +466,19 @@ public class ConvolveImageNoBorder {
 	 * @param kernel The kernel that is being convolved. Not modified.
 	 * @param divisor The value that the convolved image is divided by.
 	 */
-	public static void vertical(Kernel1D_I32 kernel, ImageSInt32 input,  ImageSInt32 output, int divisor ) {
+	public static void vertical(final Kernel1D_I32 kernel, final ImageSInt32 input,  final ImageSInt32 output, final int divisor ) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if (!ConvolveImageUnrolled_S32_S32_Div.vertical(kernel, input, output, divisor))
-			ConvolveImageStandard.vertical(kernel, input, output, divisor);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt32 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageSInt32 bandOut = output.subimage(0, y0, output.width, y1, null);
+
+				if (!ConvolveImageUnrolled_S32_S32_Div.vertical(kernel, bandIn, bandOut, divisor))
+					ConvolveImageStandard.vertical(kernel, bandIn, bandOut, divisor);
+			}
+		});
 	}
 
 	/**
@@ -300,11 +488,19 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_F32 kernel, ImageFloat32 input,  ImageFloat32 output) {
+	public static void convolve(final Kernel2D_F32 kernel, final ImageFloat32 input,  final ImageFloat32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_F32_F32.convolve(kernel,input,output))
-			ConvolveImageStandard.convolve(kernel, input,  output);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageFloat32 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageFloat32 bandOut = output.subimage(0, y0, output.width, y1, null);
+
+				if( !ConvolveImageUnrolled_F32_F32.convolve(kernel,bandIn,bandOut))
+					ConvolveImageStandard.convolve(kernel, bandIn,  bandOut);
+			}
+		});
 	}
 
 	/**
@@ -315,12 +511,20 @@ public class ConvolveImageNoBorder {
 	 * @param output	The results of the convolution
 	 * @param divisor The value that the convolved image is divided by.
 	 */
-	public static void convolve(Kernel2D_I32 kernel,
-								ImageUInt8 input,  ImageInt8 output, int divisor) {
+	public static void convolve(final Kernel2D_I32 kernel,
+								final ImageUInt8 input,  final ImageInt8 output, final int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_U8_I8_Div.convolve(kernel,input,output,divisor))
-			ConvolveImageStandard.convolve(kernel, input,  output, divisor);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt8 bandOut = (ImageInt8)output.subimage(0, y0, output.width, y1, null);
+
+				if( !ConvolveImageUnrolled_U8_I8_Div.convolve(kernel,bandIn,bandOut,divisor))
+					ConvolveImageStandard.convolve(kernel, bandIn,  bandOut, divisor);
+			}
+		});
 	}
 
 	/**
@@ -330,11 +534,19 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageUInt8 input,  ImageInt16 output) {
+	public static void convolve(final Kernel2D_I32 kernel, final ImageUInt8 input,  final ImageInt16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_U8_I16.convolve(kernel,input,output))
-			ConvolveImageStandard.convolve(kernel, input,  output);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+
+				if( !ConvolveImageUnrolled_U8_I16.convolve(kernel,bandIn,bandOut))
+					ConvolveImageStandard.convolve(kernel, bandIn,  bandOut);
+			}
+		});
 	}
 
 	/**
@@ -344,11 +556,19 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageUInt8 input,  ImageSInt32 output) {
+	public static void convolve(final Kernel2D_I32 kernel, final ImageUInt8 input,  final ImageSInt32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		// todo add unrolled
-		ConvolveImageStandard.convolve(kernel, input,  output);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageSInt32 bandOut = output.subimage(0, y0, output.width, y1, null);
+
+				// todo add unrolled
+				ConvolveImageStandard.convolve(kernel, bandIn,  bandOut);
+			}
+		});
 	}
 
 	/**
@@ -358,11 +578,19 @@ public class ConvolveImageNoBorder {
 	 * @param input  The source image that is to be convolved
 	 * @param output   The results of the convolution
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output) {
+	public static void convolve(final Kernel2D_I32 kernel, final ImageSInt16 input,  final ImageInt16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_S16_I16.convolve(kernel,input,output))
-			ConvolveImageStandard.convolve(kernel, input,  output);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+
+				if( !ConvolveImageUnrolled_S16_I16.convolve(kernel,bandIn,bandOut))
+					ConvolveImageStandard.convolve(kernel, bandIn,  bandOut);
+			}
+		});
 	}
 
 	/**
@@ -373,10 +601,18 @@ public class ConvolveImageNoBorder {
 	 * @param output   The results of the convolution
 	 * @param divisor The value that the convolved image is divided by.
 	 */
-	public static void convolve(Kernel2D_I32 kernel, ImageSInt16 input,  ImageInt16 output, int divisor ) {
+	public static void convolve(final Kernel2D_I32 kernel, final ImageSInt16 input,  final ImageInt16 output, final int divisor ) {
 		InputSanityCheck.checkSameShape(input, output);
 
-		if( !ConvolveImageUnrolled_S16_I16_Div.convolve(kernel,input,output,divisor))
-			ConvolveImageStandard.convolve(kernel, input,  output, divisor);
+		BoofConcurrency.loopRows(input, kernel.offset, kernel.width-kernel.offset-1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandIn = input.subimage(0, y0, input.width, y1, null);
+				ImageInt16 bandOut = (ImageInt16)output.subimage(0, y0, output.width, y1, null);
+
+				if( !ConvolveImageUnrolled_S16_I16_Div.convolve(kernel,bandIn,bandOut,divisor))
+					ConvolveImageStandard.convolve(kernel, bandIn,  bandOut, divisor);
+			}
+		});
 	}
 }
\ No newline at end of file
@@ -21,7 +21,10 @@ package boofcv.alg.filter.convolve;
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedNaive;
 import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder;
+import boofcv.alg.filter.convolve.noborder.ImplConvolveSeparable;
 import boofcv.alg.filter.kernel.KernelMath;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
@@ -83,6 +86,59 @@ public class ConvolveNormalized {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Convolves a separable kernel across the image while re-normalizing the kernel depending on its overlap with
+	 * the image.  Produces the same output as calling {@link #horizontal} and then {@link #vertical}, but without
+	 * a full size intermediate image.  See {@link ImplConvolveSeparable}.
+	 * </p>
+	 *
+	 * <p>
+	 * Concurrency: If turned on in {@link BoofConcurrency} bands of rows are processed in parallel.
+	 * </p>
+	 *
+	 * <p>
+	 * The image and dest can be the same image.  Then the two pass approach is used instead, since a band
+	 * would read rows which the band above it has already written to.
+	 * </p>
+	 *
+	 * @param kernelX Kernel which is convolved along each row. Not modified.
+	 * @param kernelY Kernel which is convolved along each column. Not modified.
+	 * @param image	 The original image. Not modified.
+	 * @param dest	 Where the resulting image is written to. Modified.
+	 */
+	public static void separable(Kernel1D_F32 kernelX, Kernel1D_F32 kernelY,
+								 final ImageFloat32 image, final ImageFloat32 dest ) {
+		InputSanityCheck.checkSameShape(image, dest);
+
+		if( kernelX.width >= image.width || kernelY.width >= image.height || image.data == dest.data ) {
+			ImageFloat32 work = ImagePool.borrowStorage(image, null, ImageFloat32.class);
+			horizontal(kernelX, image, work);
+			vertical(kernelY, work, dest);
+			ImagePool.releaseStorage(null, work);
+			return;
+		}
+
+		final Kernel1D_F32 kx = normalizeSumToOne(kernelX);
+		final Kernel1D_F32 ky = normalizeSumToOne(kernelY);
+
+		BoofConcurrency.loopRows(image, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				new ImplConvolveSeparable().processNormalized(kx, ky, image, dest, y0, y1);
+			}
+		});
+	}
+
+	private static Kernel1D_F32 normalizeSumToOne( Kernel1D_F32 kernel ) {
+		if( Math.abs(kernel.computeSum() - 1.0f) > 1e-4f ) {
+			Kernel1D_F32 k = kernel.copy();
+			KernelMath.normalizeSumToOne(k);
+			return k;
+		}
+		return kernel;
+	}
+
 	/**
 	 * Performs a 2D convolution across the image while re-normalizing the kernel depending on its
 	 * overlap with the image.
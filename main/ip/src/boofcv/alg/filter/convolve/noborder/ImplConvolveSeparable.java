@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve.noborder;
+
+import boofcv.alg.filter.convolve.normalized.ConvolveNormalized_JustBorder;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageInt16;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Convolves a separable kernel across the image without creating a full size intermediate image.  The image is
+ * processed in strips of rows.  For each strip the horizontal convolution is computed for the rows it depends upon
+ * and saved in a small buffer, which is then convolved vertically into the output image.  Rows which are shared
+ * with the previous strip are moved to the top of the buffer instead of being recomputed.  The buffer is sized to
+ * stay in cache, reducing memory bandwidth and peak memory usage.
+ * </p>
+ *
+ * <p>
+ * The horizontal and vertical passes use the same unrolled and standard convolution code as the two pass approach,
+ * producing identical results.  Without normalization both the horizontal and vertical image borders are skipped.
+ * </p>
+ *
+ * <p>
+ * Each instance has its own buffer and can be reused.  Not thread safe.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplConvolveSeparable {
+
+	// desired number of elements in the buffer
+	public static int BUFFER_ELEMENTS = 1 << 16;
+
+	private ImageFloat32 bufferF32 = new ImageFloat32(1,1);
+	private ImageSInt16 bufferS16 = new ImageSInt16(1,1);
+
+	// range of rows which are in the buffer
+	private int buffer0, buffer1;
+	// kernel offsets along the y-axis
+	private int offsetY, endY;
+
+	/**
+	 * Convolves the image with the horizontal and then the vertical kernel.  The image border is not processed.
+	 * Only output rows in the range [row0,row1) are written to.
+	 *
+	 * @param kernelX Kernel which is convolved along each row.
+	 * @param kernelY Kernel which is convolved along each column.
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Modified.
+	 * @param row0 First row which is written to, inclusive.
+	 * @param row1 Last row which is written to, exclusive.
+	 */
+	public void process( Kernel1D_F32 kernelX , Kernel1D_F32 kernelY ,
+						 ImageFloat32 input , ImageFloat32 output , int row0 , int row1 ) {
+		initialize(kernelY, input.width, input.height, bufferF32);
+		row0 = Math.max(row0, offsetY);
+		row1 = Math.min(row1, input.height - endY);
+
+		int x0 = kernelX.offset;
+		int x1 = input.width - (kernelX.width - kernelX.offset - 1);
+		if( x1 <= x0 )
+			return;
+
+		int stripHeight = bufferF32.height - kernelY.width + 1;
+		for( int s0 = row0; s0 < row1; s0 += stripHeight ) {
+			int s1 = Math.min(row1, s0 + stripHeight);
+			int n0 = s0 - offsetY;
+			int n1 = s1 + endY;
+
+			int start = shiftBuffer(n0, n1, bufferF32.data, input.width);
+			if( start < n1 ) {
+				ImageFloat32 in = input.subimage(0, start, input.width, n1, null);
+				ImageFloat32 buff = bufferF32.subimage(0, start - n0, input.width, n1 - n0, null);
+				if( !ConvolveImageUnrolled_F32_F32.horizontal(kernelX, in, buff) )
+					ConvolveImageStandard.horizontal(kernelX, in, buff);
+			}
+
+			// the buffer's border columns are not valid so they are skipped
+			ImageFloat32 buff = bufferF32.subimage(x0, 0, x1, n1 - n0, null);
+			ImageFloat32 out = output.subimage(x0, n0, x1, n1, null);
+			if( !ConvolveImageUnrolled_F32_F32.vertical(kernelY, buff, out) )
+				ConvolveImageStandard.vertical(kernelY, buff, out);
+		}
+	}
+
+	/**
+	 * Convolves the image with the horizontal and then the vertical kernel.  Along the image border the kernel
+	 * is renormalized, the same as {@link boofcv.alg.filter.convolve.ConvolveNormalized}.  The kernels must sum
+	 * up to one.  Only output rows in the range [row0,row1) are written to.
+	 *
+	 * @param kernelX Kernel which is convolved along each row.
+	 * @param kernelY Kernel which is convolved along each column.
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Modified.
+	 * @param row0 First row which is written to, inclusive.
+	 * @param row1 Last row which is written to, exclusive.
+	 */
+	public void processNormalized( Kernel1D_F32 kernelX , Kernel1D_F32 kernelY ,
+								   ImageFloat32 input , ImageFloat32 output , int row0 , int row1 ) {
+		initialize(kernelY, input.width, input.height, bufferF32);
+
+		int stripHeight = bufferF32.height - kernelY.width + 1;
+		for( int s0 = row0; s0 < row1; s0 += stripHeight ) {
+			int s1 = Math.min(row1, s0 + stripHeight);
+			int n0 = Math.max(0, s0 - offsetY);
+			int n1 = Math.min(input.height, s1 + endY);
+
+			int start = shiftBuffer(n0, n1, bufferF32.data, input.width);
+			if( start < n1 ) {
+				ImageFloat32 in = input.subimage(0, start, input.width, n1, null);
+				ImageFloat32 buff = bufferF32.subimage(0, start - n0, input.width, n1 - n0, null);
+				if( !ConvolveImageUnrolled_F32_F32.horizontal(kernelX, in, buff) )
+					ConvolveImageStandard.horizontal(kernelX, in, buff);
+				ConvolveNormalized_JustBorder.horizontal(kernelX, in, buff);
+			}
+
+			// inner rows.  Only rows in the strip are written to since rows above and below it are in the buffer
+			ImageFloat32 buff = bufferF32.subimage(0, 0, input.width, n1 - n0, null);
+			ImageFloat32 out = output.subimage(0, n0, input.width, n1, null);
+			if( !ConvolveImageUnrolled_F32_F32.vertical(kernelY, buff, out) )
+				ConvolveImageStandard.vertical(kernelY, buff, out);
+
+			// rows along the top and bottom image border
+			for( int y = s0; y < Math.min(s1, offsetY); y++ ) {
+				verticalBorder(kernelY, bufferF32, n0, output, y, input.height);
+			}
+			for( int y = Math.max(s0, input.height - endY); y < s1; y++ ) {
+				verticalBorder(kernelY, bufferF32, n0, output, y, input.height);
+			}
+		}
+	}
+
+	/**
+	 * Convolves the image with the horizontal and then the vertical kernel.  The image border is not processed.
+	 * The intermediate results are stored in a 16-bit signed buffer, the same as convolving into an
+	 * {@link ImageSInt16} image.  Only output rows in the range [row0,row1) are written to.
+	 *
+	 * @param kernelX Kernel which is convolved along each row.
+	 * @param kernelY Kernel which is convolved along each column.
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Modified.
+	 * @param row0 First row which is written to, inclusive.
+	 * @param row1 Last row which is written to, exclusive.
+	 */
+	public void process( Kernel1D_I32 kernelX , Kernel1D_I32 kernelY ,
+						 ImageUInt8 input , ImageInt16 output , int row0 , int row1 ) {
+		offsetY = kernelY.offset;
+		endY = kernelY.width - kernelY.offset - 1;
+		declareBuffer(kernelY.width, input.width, input.height, bufferS16);
+		row0 = Math.max(row0, offsetY);
+		row1 = Math.min(row1, input.height - endY);
+
+		int x0 = kernelX.offset;
+		int x1 = input.width - (kernelX.width - kernelX.offset - 1);
+		if( x1 <= x0 )
+			return;
+
+		int stripHeight = bufferS16.height - kernelY.width + 1;
+		for( int s0 = row0; s0 < row1; s0 += stripHeight ) {
+			int s1 = Math.min(row1, s0 + stripHeight);
+			int n0 = s0 - offsetY;
+			int n1 = s1 + endY;
+
+			int start = shiftBuffer(n0, n1, bufferS16.data, input.width);
+			if( start < n1 ) {
+				ImageUInt8 in = input.subimage(0, start, input.width, n1, null);
+				ImageSInt16 buff = bufferS16.subimage(0, start - n0, input.width, n1 - n0, null);
+				if( !ConvolveImageUnrolled_U8_I16.horizontal(kernelX, in, buff) )
+					ConvolveImageStandard.horizontal(kernelX, in, buff);
+			}
+
+			ImageSInt16 buff = bufferS16.subimage(x0, 0, x1, n1 - n0, null);
+			ImageInt16 out = (ImageInt16)output.subimage(x0, n0, x1, n1, null);
+			if( !ConvolveImageUnrolled_S16_I16.vertical(kernelY, buff, out) )
+				ConvolveImageStandard.vertical(kernelY, buff, out);
+		}
+	}
+
+	private void initialize( Kernel1D_F32 kernelY , int width , int height , ImageFloat32 buffer ) {
+		offsetY = kernelY.offset;
+		endY = kernelY.width - kernelY.offset - 1;
+		declareBuffer(kernelY.width, width, height, buffer);
+	}
+
+	/**
+	 * Resizes the buffer so that it's about {@link #BUFFER_ELEMENTS} in size and has at least twice as many
+	 * rows as the kernel.
+	 */
+	private void declareBuffer( int kernelWidth , int width , int height , ImageFloat32 buffer ) {
+		int rows = Math.min(height, Math.max(2*kernelWidth, BUFFER_ELEMENTS/width));
+		if( buffer.data.length < rows*width )
+			buffer.data = new float[rows*width];
+		buffer.width = buffer.stride = width;
+		buffer.height = rows;
+		buffer0 = buffer1 = 0;
+	}
+
+	private void declareBuffer( int kernelWidth , int width , int height , ImageSInt16 buffer ) {
+		int rows = Math.min(height, Math.max(2*kernelWidth, BUFFER_ELEMENTS/width));
+		if( buffer.data.length < rows*width )
+			buffer.data = new short[rows*width];
+		buffer.width = buffer.stride = width;
+		buffer.height = rows;
+		buffer0 = buffer1 = 0;
+	}
+
+	/**
+	 * Moves rows which are already in the buffer and are needed by the next strip to the top of the buffer.
+	 *
+	 * @return The first row which still needs to be computed
+	 */
+	private int shiftBuffer( int n0 , int n1 , Object data , int width ) {
+		int start = n0;
+		if( n0 >= buffer0 && n0 < buffer1 ) {
+			System.arraycopy(data, (n0 - buffer0)*width, data, 0, (buffer1 - n0)*width);
+			start = buffer1;
+		}
+		buffer0 = n0;
+		buffer1 = n1;
+		return start;
+	}
+
+	/**
+	 * Computes the vertical convolution for a row along the top or bottom image border, renormalizing the kernel.
+	 * The arithmetic is the same as in {@link ConvolveNormalized_JustBorder}.
+	 */
+	private static void verticalBorder( Kernel1D_F32 kernel , ImageFloat32 buffer , int bufferRow0 ,
+										ImageFloat32 output , int y , int height ) {
+		final float[] dataKer = kernel.data;
+		final int kernelWidth = kernel.width;
+		final int offsetL = kernel.offset;
+
+		int kStart = Math.max(0, offsetL - y);
+		int kEnd = Math.min(kernelWidth, height - (y - offsetL));
+
+		float weight = 0;
+		for( int k = kStart; k < kEnd; k++ ) {
+			weight += dataKer[k];
+		}
+
+		int indexDst = output.startIndex + y*output.stride;
+		int indexRow = (y - offsetL - bufferRow0)*buffer.stride;
+		for( int x = 0; x < output.width; x++ ) {
+			float total = 0;
+			int indexSrc = indexRow + kStart*buffer.stride + x;
+			for( int k = kStart; k < kEnd; k++, indexSrc += buffer.stride ) {
+				total += (buffer.data[indexSrc]) * dataKer[k];
+			}
+			output.data[indexDst++] = (total/weight);
+		}
+	}
+}
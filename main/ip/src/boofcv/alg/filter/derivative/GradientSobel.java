@@ -22,6 +22,8 @@ import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.border.ConvolveJustBorder_General;
 import boofcv.alg.filter.derivative.impl.GradientSobel_Outer;
 import boofcv.alg.filter.derivative.impl.GradientSobel_UnrolledOuter;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.core.image.border.ImageBorder_S32;
 import boofcv.struct.convolve.Kernel2D;
@@ -58,6 +60,9 @@ import boofcv.struct.image.ImageUInt8;
  * As a side note, the sobel operator is equivalent to convolving the image with the following 1D
  * kernels: conv2( [0.25 0.5 0.25], [-1 0 1] )
  * </p>
+ * <p>
+ * Concurrency: The inner image is split into bands of rows when turned on in {@link BoofConcurrency}.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -88,9 +93,19 @@ public class GradientSobel {
 	 * @param derivY Storage for image derivative along the y-axis. Modified.
 	 * @param border Specifies how the image border is handled. If null the border is not processed.
 	 */
-	public static void process(ImageUInt8 orig, ImageSInt16 derivX, ImageSInt16 derivY, ImageBorder_S32<ImageUInt8> border ) {
+	public static void process(final ImageUInt8 orig, final ImageSInt16 derivX, final ImageSInt16 derivY, ImageBorder_S32<ImageUInt8> border ) {
 		InputSanityCheck.checkSameShape(orig, derivX, derivY);
-		GradientSobel_Outer.process_I8_sub(orig, derivX, derivY);
+		// inner loop skips the outer most pixels, each band needs one row of context above and below
+		BoofConcurrency.loopRows(orig, 1, 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageUInt8 bandOrig = orig.subimage(0, y0, orig.width, y1, null);
+				ImageSInt16 bandX = derivX.subimage(0, y0, derivX.width, y1, null);
+				ImageSInt16 bandY = derivY.subimage(0, y0, derivY.width, y1, null);
+
+				GradientSobel_Outer.process_I8_sub(bandOrig, bandX, bandY);
+			}
+		});
 
 		if( border != null ) {
 			border.setImage(orig);
@@ -107,9 +122,19 @@ public class GradientSobel {
 	 * @param derivY Storage for image derivative along the y-axis. Modified.
 	 * @param border Specifies how the image border is handled. If null the border is not processed.
 	 */
-	public static void process(ImageSInt16 orig, ImageSInt16 derivX, ImageSInt16 derivY, ImageBorder_S32<ImageSInt16> border ) {
+	public static void process(final ImageSInt16 orig, final ImageSInt16 derivX, final ImageSInt16 derivY, ImageBorder_S32<ImageSInt16> border ) {
 		InputSanityCheck.checkSameShape(orig, derivX, derivY);
-		GradientSobel_Outer.process_I8_sub(orig, derivX, derivY);
+		// inner loop skips the outer most pixels, each band needs one row of context above and below
+		BoofConcurrency.loopRows(orig, 1, 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageSInt16 bandOrig = orig.subimage(0, y0, orig.width, y1, null);
+				ImageSInt16 bandX = derivX.subimage(0, y0, derivX.width, y1, null);
+				ImageSInt16 bandY = derivY.subimage(0, y0, derivY.width, y1, null);
+
+				GradientSobel_Outer.process_I8_sub(bandOrig, bandX, bandY);
+			}
+		});
 
 		if( border != null ) {
 			border.setImage(orig);
@@ -126,11 +151,21 @@ public class GradientSobel {
 	 * @param derivY Storage for image derivative along the y-axis. Modified.
 	 * @param border Specifies how the image border is handled. If null the border is not processed.
 	 */
-	public static void process(ImageFloat32 orig, ImageFloat32 derivX, ImageFloat32 derivY, ImageBorder_F32 border) {
+	public static void process(final ImageFloat32 orig, final ImageFloat32 derivX, final ImageFloat32 derivY, ImageBorder_F32 border) {
 		InputSanityCheck.checkSameShape(orig, derivX, derivY);
 
 //		GradientSobel_Outer.process_F32(orig, derivX, derivY);
-		GradientSobel_UnrolledOuter.process_F32_sub(orig, derivX, derivY);
+		// inner loop skips the outer most pixels, each band needs one row of context above and below
+		BoofConcurrency.loopRows(orig, 1, 1, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				ImageFloat32 bandOrig = orig.subimage(0, y0, orig.width, y1, null);
+				ImageFloat32 bandX = derivX.subimage(0, y0, derivX.width, y1, null);
+				ImageFloat32 bandY = derivY.subimage(0, y0, derivY.width, y1, null);
+
+				GradientSobel_UnrolledOuter.process_F32_sub(bandOrig, bandX, bandY);
+			}
+		});
 
 		if( border != null ) {
 			border.setImage(orig);
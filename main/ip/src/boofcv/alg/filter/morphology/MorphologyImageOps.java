@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.morphology;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.filter.morphology.impl.ImplMorphologyVanHerk;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Grayscale morphological operations using rectangular and line structuring elements of any size.  Erosion
+ * and dilation are separated into a horizontal and a vertical pass, each of which is computed using
+ * {@link ImplMorphologyVanHerk}.  The cost per pixel doesn't depend on the structuring element's size.
+ * Pixels outside the image are ignored.
+ * </p>
+ *
+ * <p>
+ * Binary images with values of 0 and 1 can be processed too.  Erosion and dilation with a radius of 1 are then
+ * the same as {@link boofcv.alg.filter.binary.BinaryImageOps#erode8} and
+ * {@link boofcv.alg.filter.binary.BinaryImageOps#dilate8}, but larger neighborhoods don't require repeated
+ * passes.
+ * </p>
+ *
+ * <p>
+ * Concurrency: All operations will be run across multiple threads if turned on in {@link BoofConcurrency}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MorphologyImageOps {
+
+	/**
+	 * Grayscale erosion with a rectangular structuring element.  Each output pixel is the minimum value inside a
+	 * (2*radiusX+1) by (2*radiusY+1) rectangle.  A radius of zero along one axis creates a line.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Can be the same as the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 erode(ImageUInt8 input, ImageUInt8 output, int radiusX, int radiusY) {
+		output = InputSanityCheck.checkDeclare(input, output);
+		apply(input, output, radiusX, radiusY, false);
+		return output;
+	}
+
+	/**
+	 * Grayscale dilation with a rectangular structuring element.  Each output pixel is the maximum value inside a
+	 * (2*radiusX+1) by (2*radiusY+1) rectangle.  A radius of zero along one axis creates a line.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Can be the same as the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 dilate(ImageUInt8 input, ImageUInt8 output, int radiusX, int radiusY) {
+		output = InputSanityCheck.checkDeclare(input, output);
+		apply(input, output, radiusX, radiusY, true);
+		return output;
+	}
+
+	/**
+	 * Morphological opening, an erosion followed by a dilation.  Removes bright structures which are smaller
+	 * than the structuring element.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Can be the same as the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 open(ImageUInt8 input, ImageUInt8 output, int radiusX, int radiusY) {
+		output = InputSanityCheck.checkDeclare(input, output);
+		apply(input, output, radiusX, radiusY, false);
+		apply(output, output, radiusX, radiusY, true);
+		return output;
+	}
+
+	/**
+	 * Morphological closing, a dilation followed by an erosion.  Fills in dark structures which are smaller
+	 * than the structuring element.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Can be the same as the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 close(ImageUInt8 input, ImageUInt8 output, int radiusX, int radiusY) {
+		output = InputSanityCheck.checkDeclare(input, output);
+		apply(input, output, radiusX, radiusY, true);
+		apply(output, output, radiusX, radiusY, false);
+		return output;
+	}
+
+	/**
+	 * White top-hat transform, the input minus its {@link #open opening}.  Extracts bright structures which are
+	 * smaller than the structuring element.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Must not be the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 topHatWhite(ImageUInt8 input, ImageUInt8 output, int radiusX, int radiusY) {
+		if( input == output )
+			throw new IllegalArgumentException("The output can't be the input");
+		output = open(input, output, radiusX, radiusY);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			for( int x = 0; x < input.width; x++ , indexIn++ , indexOut++ ) {
+				output.data[indexOut] = (byte)((input.data[indexIn] & 0xFF) - (output.data[indexOut] & 0xFF));
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Black top-hat transform, the {@link #close closing} minus the input.  Extracts dark structures which are
+	 * smaller than the structuring element.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Must not be the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageUInt8 topHatBlack(ImageUInt8 input, ImageUInt8 output, int radiusX, int radiusY) {
+		if( input == output )
+			throw new IllegalArgumentException("The output can't be the input");
+		output = close(input, output, radiusX, radiusY);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			for( int x = 0; x < input.width; x++ , indexIn++ , indexOut++ ) {
+				output.data[indexOut] = (byte)((output.data[indexOut] & 0xFF) - (input.data[indexIn] & 0xFF));
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Applies a horizontal and then a vertical pass
+	 */
+	private static void apply(final ImageUInt8 input, final ImageUInt8 output,
+							  final int radiusX, final int radiusY, final boolean maximum) {
+		checkRadius(radiusX, radiusY);
+		if( radiusX == 0 && radiusY == 0 ) {
+			if( input != output )
+				output.setTo(input);
+			return;
+		}
+
+		final ImageUInt8 vertInput;
+		if( radiusX > 0 ) {
+			BoofConcurrency.loopRows(input, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					new ImplMorphologyVanHerk().horizontal(input, output, radiusX, maximum, y0, y1);
+				}
+			});
+			vertInput = output;
+		} else {
+			vertInput = input;
+		}
+
+		if( radiusY > 0 ) {
+			BoofConcurrency.loopColumns(input, new IntRangeTask() {
+				@Override
+				public void process(int x0, int x1) {
+					new ImplMorphologyVanHerk().vertical(vertInput, output, radiusY, maximum, x0, x1);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Grayscale erosion with a rectangular structuring element.  Each output pixel is the minimum value inside a
+	 * (2*radiusX+1) by (2*radiusY+1) rectangle.  A radius of zero along one axis creates a line.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Can be the same as the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageFloat32 erode(ImageFloat32 input, ImageFloat32 output, int radiusX, int radiusY) {
+		output = InputSanityCheck.checkDeclare(input, output);
+		apply(input, output, radiusX, radiusY, false);
+		return output;
+	}
+
+	/**
+	 * Grayscale dilation with a rectangular structuring element.  Each output pixel is the maximum value inside a
+	 * (2*radiusX+1) by (2*radiusY+1) rectangle.  A radius of zero along one axis creates a line.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Can be the same as the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageFloat32 dilate(ImageFloat32 input, ImageFloat32 output, int radiusX, int radiusY) {
+		output = InputSanityCheck.checkDeclare(input, output);
+		apply(input, output, radiusX, radiusY, true);
+		return output;
+	}
+
+	/**
+	 * Morphological opening, an erosion followed by a dilation.  Removes bright structures which are smaller
+	 * than the structuring element.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Can be the same as the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageFloat32 open(ImageFloat32 input, ImageFloat32 output, int radiusX, int radiusY) {
+		output = InputSanityCheck.checkDeclare(input, output);
+		apply(input, output, radiusX, radiusY, false);
+		apply(output, output, radiusX, radiusY, true);
+		return output;
+	}
+
+	/**
+	 * Morphological closing, a dilation followed by an erosion.  Fills in dark structures which are smaller
+	 * than the structuring element.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Can be the same as the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageFloat32 close(ImageFloat32 input, ImageFloat32 output, int radiusX, int radiusY) {
+		output = InputSanityCheck.checkDeclare(input, output);
+		apply(input, output, radiusX, radiusY, true);
+		apply(output, output, radiusX, radiusY, false);
+		return output;
+	}
+
+	/**
+	 * White top-hat transform, the input minus its {@link #open opening}.  Extracts bright structures which are
+	 * smaller than the structuring element.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Must not be the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageFloat32 topHatWhite(ImageFloat32 input, ImageFloat32 output, int radiusX, int radiusY) {
+		if( input == output )
+			throw new IllegalArgumentException("The output can't be the input");
+		output = open(input, output, radiusX, radiusY);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			for( int x = 0; x < input.width; x++ , indexIn++ , indexOut++ ) {
+				output.data[indexOut] = input.data[indexIn] - output.data[indexOut];
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Black top-hat transform, the {@link #close closing} minus the input.  Extracts dark structures which are
+	 * smaller than the structuring element.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output (Optional) Output image.  Must not be the input.  Modified.
+	 * @param radiusX Radius of the rectangle along the x-axis.  Can be zero.
+	 * @param radiusY Radius of the rectangle along the y-axis.  Can be zero.
+	 * @return Output image.
+	 */
+	public static ImageFloat32 topHatBlack(ImageFloat32 input, ImageFloat32 output, int radiusX, int radiusY) {
+		if( input == output )
+			throw new IllegalArgumentException("The output can't be the input");
+		output = close(input, output, radiusX, radiusY);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+			for( int x = 0; x < input.width; x++ , indexIn++ , indexOut++ ) {
+				output.data[indexOut] = output.data[indexOut] - input.data[indexIn];
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Applies a horizontal and then a vertical pass
+	 */
+	private static void apply(final ImageFloat32 input, final ImageFloat32 output,
+							  final int radiusX, final int radiusY, final boolean maximum) {
+		checkRadius(radiusX, radiusY);
+		if( radiusX == 0 && radiusY == 0 ) {
+			if( input != output )
+				output.setTo(input);
+			return;
+		}
+
+		final ImageFloat32 vertInput;
+		if( radiusX > 0 ) {
+			BoofConcurrency.loopRows(input, new IntRangeTask() {
+				@Override
+				public void process(int y0, int y1) {
+					new ImplMorphologyVanHerk().horizontal(input, output, radiusX, maximum, y0, y1);
+				}
+			});
+			vertInput = output;
+		} else {
+			vertInput = input;
+		}
+
+		if( radiusY > 0 ) {
+			BoofConcurrency.loopColumns(input, new IntRangeTask() {
+				@Override
+				public void process(int x0, int x1) {
+					new ImplMorphologyVanHerk().vertical(vertInput, output, radiusY, maximum, x0, x1);
+				}
+			});
+		}
+	}
+
+	private static void checkRadius(int radiusX, int radiusY) {
+		if( radiusX < 0 || radiusY < 0 )
+			throw new IllegalArgumentException("Radius must be >= 0");
+	}
+}
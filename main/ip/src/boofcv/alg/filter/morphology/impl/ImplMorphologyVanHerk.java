@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.morphology.impl;
+
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * <p>
+ * Computes the minimum or maximum inside a 1D window along each row or column using the van Herk/Gil-Werman
+ * algorithm [1,2].  The line is split into blocks the size of the window.  Inside each block a running
+ * minimum is computed from the left and from the right.  The minimum of any window is then found from the right
+ * running minimum at its start and the left running minimum at its end.  The cost is about three comparisons
+ * per pixel, independent of the window's size.
+ * </p>
+ *
+ * <p>
+ * Pixels outside the image are ignored.  The vertical pass processes a block of columns at the same time
+ * so that the image is traversed one row at a time.  The input and output images can be the same.
+ * Each instance has its own work space and can be reused.  Not thread safe.
+ * </p>
+ *
+ * <p>
+ * [1] M. van Herk, "A fast algorithm for local minimum and maximum filters on rectangular and octagonal kernels"
+ * Pattern Recognition Letters, 1992<br>
+ * [2] J. Gil and M. Werman, "Computing 2-D min, median, and max filters" IEEE PAMI, 1993
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMorphologyVanHerk {
+
+	// number of columns which are processed at the same time in the vertical pass
+	public static int BLOCK_COLUMNS = 16;
+
+	// padded line, then the results
+	private int lineI[] = new int[0];
+	// running minimum or maximum from the left and from the right inside each block
+	private int leftI[] = new int[0];
+	private int rightI[] = new int[0];
+
+	private float lineF[] = new float[0];
+	private float leftF[] = new float[0];
+	private float rightF[] = new float[0];
+
+	/**
+	 * Computes the minimum or maximum along each row for rows in the range [y0,y1).
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Can be the same as the input.  Modified.
+	 * @param radius Radius of the window.  Window width is 2*radius+1.
+	 * @param maximum If true the maximum is computed, otherwise the minimum.
+	 */
+	public void horizontal( ImageUInt8 input , ImageUInt8 output , int radius , boolean maximum , int y0 , int y1 ) {
+		int length = input.width + 2*radius;
+		declareI(length);
+		int fill = maximum ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+
+		for( int y = y0; y < y1; y++ ) {
+			for( int i = 0; i < radius; i++ ) {
+				lineI[i] = lineI[radius + input.width + i] = fill;
+			}
+			int indexIn = input.startIndex + y*input.stride;
+			for( int x = 0; x < input.width; x++ ) {
+				lineI[radius + x] = input.data[indexIn++] & 0xFF;
+			}
+
+			if( maximum )
+				maximum(lineI, leftI, rightI, length, radius, 1);
+			else
+				minimum(lineI, leftI, rightI, length, radius, 1);
+
+			int indexOut = output.startIndex + y*output.stride;
+			for( int x = 0; x < input.width; x++ ) {
+				output.data[indexOut++] = (byte)lineI[x];
+			}
+		}
+	}
+
+	/**
+	 * Computes the minimum or maximum along each column for columns in the range [x0,x1).
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Can be the same as the input.  Modified.
+	 * @param radius Radius of the window.  Window height is 2*radius+1.
+	 * @param maximum If true the maximum is computed, otherwise the minimum.
+	 */
+	public void vertical( ImageUInt8 input , ImageUInt8 output , int radius , boolean maximum , int x0 , int x1 ) {
+		int length = input.height + 2*radius;
+		int fill = maximum ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+
+		for( int blockX = x0; blockX < x1; blockX += BLOCK_COLUMNS ) {
+			int N = Math.min(BLOCK_COLUMNS, x1 - blockX);
+			declareI(length*N);
+
+			for( int i = 0; i < radius*N; i++ ) {
+				lineI[i] = lineI[(radius + input.height)*N + i] = fill;
+			}
+			for( int y = 0; y < input.height; y++ ) {
+				int indexIn = input.startIndex + y*input.stride + blockX;
+				int indexLine = (radius + y)*N;
+				for( int i = 0; i < N; i++ ) {
+					lineI[indexLine++] = input.data[indexIn++] & 0xFF;
+				}
+			}
+
+			if( maximum )
+				maximum(lineI, leftI, rightI, length, radius, N);
+			else
+				minimum(lineI, leftI, rightI, length, radius, N);
+
+			for( int y = 0; y < input.height; y++ ) {
+				int indexOut = output.startIndex + y*output.stride + blockX;
+				int indexLine = y*N;
+				for( int i = 0; i < N; i++ ) {
+					output.data[indexOut++] = (byte)lineI[indexLine++];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Computes the minimum or maximum along each row for rows in the range [y0,y1).
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Can be the same as the input.  Modified.
+	 * @param radius Radius of the window.  Window width is 2*radius+1.
+	 * @param maximum If true the maximum is computed, otherwise the minimum.
+	 */
+	public void horizontal( ImageFloat32 input , ImageFloat32 output , int radius , boolean maximum , int y0 , int y1 ) {
+		int length = input.width + 2*radius;
+		declareF(length);
+		float fill = maximum ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+
+		for( int y = y0; y < y1; y++ ) {
+			for( int i = 0; i < radius; i++ ) {
+				lineF[i] = lineF[radius + input.width + i] = fill;
+			}
+			System.arraycopy(input.data, input.startIndex + y*input.stride, lineF, radius, input.width);
+
+			if( maximum )
+				maximum(lineF, leftF, rightF, length, radius, 1);
+			else
+				minimum(lineF, leftF, rightF, length, radius, 1);
+
+			System.arraycopy(lineF, 0, output.data, output.startIndex + y*output.stride, input.width);
+		}
+	}
+
+	/**
+	 * Computes the minimum or maximum along each column for columns in the range [x0,x1).
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param output Output image.  Can be the same as the input.  Modified.
+	 * @param radius Radius of the window.  Window height is 2*radius+1.
+	 * @param maximum If true the maximum is computed, otherwise the minimum.
+	 */
+	public void vertical( ImageFloat32 input , ImageFloat32 output , int radius , boolean maximum , int x0 , int x1 ) {
+		int length = input.height + 2*radius;
+		float fill = maximum ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+
+		for( int blockX = x0; blockX < x1; blockX += BLOCK_COLUMNS ) {
+			int N = Math.min(BLOCK_COLUMNS, x1 - blockX);
+			declareF(length*N);
+
+			for( int i = 0; i < radius*N; i++ ) {
+				lineF[i] = lineF[(radius + input.height)*N + i] = fill;
+			}
+			for( int y = 0; y < input.height; y++ ) {
+				System.arraycopy(input.data, input.startIndex + y*input.stride + blockX, lineF, (radius + y)*N, N);
+			}
+
+			if( maximum )
+				maximum(lineF, leftF, rightF, length, radius, N);
+			else
+				minimum(lineF, leftF, rightF, length, radius, N);
+
+			for( int y = 0; y < input.height; y++ ) {
+				System.arraycopy(lineF, y*N, output.data, output.startIndex + y*output.stride + blockX, N);
+			}
+		}
+	}
+
+	/**
+	 * Computes the minimum inside each window for N interleaved lines.  The results for the first length-2*radius
+	 * elements are written back into 'line'.
+	 *
+	 * @param line Line which is padded by 'radius' elements on each side.  Element i of line j is at i*N+j
+	 * @param left Work space
+	 * @param right Work space
+	 * @param length Length of a padded line
+	 * @param radius Window radius
+	 * @param N Number of lines
+	 */
+	protected static void minimum( int line[] , int left[] , int right[] , int length , int radius , int N ) {
+		final int k = 2*radius + 1;
+		for( int b0 = 0; b0 < length; b0 += k ) {
+			int b1 = Math.min(length, b0 + k);
+
+			System.arraycopy(line, b0*N, left, b0*N, N);
+			for( int i = (b0+1)*N; i < b1*N; i++ ) {
+				int a = left[i-N], v = line[i];
+				left[i] = a < v ? a : v;
+			}
+			System.arraycopy(line, (b1-1)*N, right, (b1-1)*N, N);
+			for( int i = (b1-1)*N - 1; i >= b0*N; i-- ) {
+				int a = right[i+N], v = line[i];
+				right[i] = a < v ? a : v;
+			}
+		}
+
+		final int offset = 2*radius*N;
+		final int end = (length - 2*radius)*N;
+		for( int i = 0; i < end; i++ ) {
+			int a = right[i], b = left[i + offset];
+			line[i] = a < b ? a : b;
+		}
+	}
+
+	/**
+	 * Same as {@link #minimum(int[], int[], int[], int, int, int)} but computes the maximum
+	 */
+	protected static void maximum( int line[] , int left[] , int right[] , int length , int radius , int N ) {
+		final int k = 2*radius + 1;
+		for( int b0 = 0; b0 < length; b0 += k ) {
+			int b1 = Math.min(length, b0 + k);
+
+			System.arraycopy(line, b0*N, left, b0*N, N);
+			for( int i = (b0+1)*N; i < b1*N; i++ ) {
+				int a = left[i-N], v = line[i];
+				left[i] = a > v ? a : v;
+			}
+			System.arraycopy(line, (b1-1)*N, right, (b1-1)*N, N);
+			for( int i = (b1-1)*N - 1; i >= b0*N; i-- ) {
+				int a = right[i+N], v = line[i];
+				right[i] = a > v ? a : v;
+			}
+		}
+
+		final int offset = 2*radius*N;
+		final int end = (length - 2*radius)*N;
+		for( int i = 0; i < end; i++ ) {
+			int a = right[i], b = left[i + offset];
+			line[i] = a > b ? a : b;
+		}
+	}
+
+	/**
+	 * Same as {@link #minimum(int[], int[], int[], int, int, int)} but for floats
+	 */
+	protected static void minimum( float line[] , float left[] , float right[] , int length , int radius , int N ) {
+		final int k = 2*radius + 1;
+		for( int b0 = 0; b0 < length; b0 += k ) {
+			int b1 = Math.min(length, b0 + k);
+
+			System.arraycopy(line, b0*N, left, b0*N, N);
+			for( int i = (b0+1)*N; i < b1*N; i++ ) {
+				float a = left[i-N], v = line[i];
+				left[i] = a < v ? a : v;
+			}
+			System.arraycopy(line, (b1-1)*N, right, (b1-1)*N, N);
+			for( int i = (b1-1)*N - 1; i >= b0*N; i-- ) {
+				float a = right[i+N], v = line[i];
+				right[i] = a < v ? a : v;
+			}
+		}
+
+		final int offset = 2*radius*N;
+		final int end = (length - 2*radius)*N;
+		for( int i = 0; i < end; i++ ) {
+			float a = right[i], b = left[i + offset];
+			line[i] = a < b ? a : b;
+		}
+	}
+
+	/**
+	 * Same as {@link #minimum(int[], int[], int[], int, int, int)} but computes the maximum of floats
+	 */
+	protected static void maximum( float line[] , float left[] , float right[] , int length , int radius , int N ) {
+		final int k = 2*radius + 1;
+		for( int b0 = 0; b0 < length; b0 += k ) {
+			int b1 = Math.min(length, b0 + k);
+
+			System.arraycopy(line, b0*N, left, b0*N, N);
+			for( int i = (b0+1)*N; i < b1*N; i++ ) {
+				float a = left[i-N], v = line[i];
+				left[i] = a > v ? a : v;
+			}
+			System.arraycopy(line, (b1-1)*N, right, (b1-1)*N, N);
+			for( int i = (b1-1)*N - 1; i >= b0*N; i-- ) {
+				float a = right[i+N], v = line[i];
+				right[i] = a > v ? a : v;
+			}
+		}
+
+		final int offset = 2*radius*N;
+		final int end = (length - 2*radius)*N;
+		for( int i = 0; i < end; i++ ) {
+			float a = right[i], b = left[i + offset];
+			line[i] = a > b ? a : b;
+		}
+	}
+
+	private void declareI( int length ) {
+		if( lineI.length < length ) {
+			lineI = new int[length];
+			leftI = new int[length];
+			rightI = new int[length];
+		}
+	}
+
+	private void declareF( int length ) {
+		if( lineF.length < length ) {
+			lineF = new float[length];
+			leftF = new float[length];
+			rightF = new float[length];
+		}
+	}
+}
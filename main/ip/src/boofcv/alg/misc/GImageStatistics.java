@@ -289,4 +289,33 @@ public class GImageStatistics {
 			throw new IllegalArgumentException("Unknown image Type");
 		}
 	}
+
+	/**
+	 * Computes the minimum, maximum, mean, variance, and optionally the histogram of pixel values in a single
+	 * pass through the image.  See {@link ImageStatistics#summary(ImageUInt8, ImageSummaryStatistics)}.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param stats (output) Statistics of the pixel values. Modified.
+	 */
+	public static void summary( ImageSingleBand input , ImageSummaryStatistics stats ) {
+		if( ImageUInt8.class == input.getClass() ) {
+			ImageStatistics.summary((ImageUInt8)input,stats);
+		} else if( ImageSInt8.class == input.getClass() ) {
+			ImageStatistics.summary((ImageSInt8)input,stats);
+		} else if( ImageUInt16.class == input.getClass() ) {
+			ImageStatistics.summary((ImageUInt16)input,stats);
+		} else if( ImageSInt16.class == input.getClass() ) {
+			ImageStatistics.summary((ImageSInt16)input,stats);
+		} else if( ImageSInt32.class == input.getClass() ) {
+			ImageStatistics.summary((ImageSInt32)input,stats);
+		} else if( ImageSInt64.class == input.getClass() ) {
+			ImageStatistics.summary((ImageSInt64)input,stats);
+		} else if( ImageFloat32.class == input.getClass() ) {
+			ImageStatistics.summary((ImageFloat32)input,stats);
+		} else if( ImageFloat64.class == input.getClass() ) {
+			ImageStatistics.summary((ImageFloat64)input,stats);
+		} else {
+			throw new IllegalArgumentException("Unknown image Type");
+		}
+	}
 }
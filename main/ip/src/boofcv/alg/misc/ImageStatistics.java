@@ -18,11 +18,19 @@
 
 package boofcv.alg.misc;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.concurrency.OrderedSums;
 import boofcv.struct.image.*;
 
 /**
  * Computes statistical properties of pixels inside an image.
  *
+ * <p>Concurrency: Images are processed in bands of rows if turned on in {@link BoofConcurrency}.  The partial
+ * results from each band are then merged together.  Floating point sums are merged in the order of the bands,
+ * so the same image and settings always produce the same result.  It can differ in the least significant
+ * bits from the single threaded result.</p>
+ *
  * <p>DO NOT MODIFY: Generated by {@link boofcv.alg.misc.GenerateImageStatistics}</p>.
  *
  * @author Peter Abeles
@@ -35,21 +43,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Minimum pixel value.
 	 */
-	public static int min( ImageUInt8 input ) {
+	public static int min( final ImageUInt8 input ) {
+
+		final int result[] = new int[]{input.get(0,0)};
 
-		int min = input.get(0,0);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index] & 0xFF;
-				if( v < min )
-					min = v;
+					for( ; index < end; index++ ) {
+						int v = input.data[index]& 0xFF;
+						if( v < min )
+							min = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+				}
 			}
-		}
-		return min;
+		});
+		return result[0];
 	}
 
 	/**
@@ -58,21 +78,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Maximum pixel value.
 	 */
-	public static int max( ImageUInt8 input ) {
+	public static int max( final ImageUInt8 input ) {
 
-		int max = input.get(0,0);
+		final int result[] = new int[]{input.get(0,0)};
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int max = input.get(0,0);
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index] & 0xFF;
-				if( v > max )
-					max = v;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						int v = input.data[index]& 0xFF;
+						if( v > max )
+							max = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -81,21 +113,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Largest pixel absolute value.
 	 */
-	public static int maxAbs( ImageUInt8 input ) {
+	public static int maxAbs( final ImageUInt8 input ) {
+
+		final int result[] = new int[1];
 
-		int max = 0;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index]& 0xFF;
-				if( v > max )
-					max = v;
+					for( ; index < end; index++ ) {
+						int v = input.data[index]& 0xFF;
+						if( v > max )
+							max = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -105,24 +149,30 @@ public class ImageStatistics {
 	 * 
 	 * @param img Input image. Not modified.
 	 */
-	public static int sum( ImageUInt8 img ) {
+	public static int sum( final ImageUInt8 img ) {
+
+		final int result[] = new int[1];
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
 
-		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				total += img.data[index] & 0xFF;
+					for( ; index < indexEnd; index++ ) {
+						total += img.data[index]& 0xFF;
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
-		
-		return total;
+		});
+		return result[0];
 	}
 
 	/**
@@ -142,22 +192,30 @@ public class ImageStatistics {
 	 * @param mean Mean pixel intensity value.   
 	 * @return Pixel variance   
 	 */
-	public static double variance( ImageUInt8 img , double mean ) {
+	public static double variance( final ImageUInt8 img , final double mean ) {
+
+		final OrderedSums result = new OrderedSums(1);
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double variance = 0;
 
-		double variance = 0;
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
 
-		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
+					for( ; index < indexEnd; index++ ) {
+						double d = (img.data[index]& 0xFF) - mean;
+						variance += d*d;
+					}
+				}
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]& 0xFF) - mean; 
-				variance += d*d;
+				result.add(y0, variance);
 			}
-		}
+		});
 
-		return variance/(img.width*img.height);
+		return result.total(0)/(img.width*img.height);
 	}
 
 	/**
@@ -167,41 +225,63 @@ public class ImageStatistics {
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffSq(ImageUInt8 imgA, ImageUInt8 imgB ) {
-		int total = 0;
+	public static double meanDiffSq( final ImageUInt8 imgA, final ImageUInt8 imgB ) {
+		final int result[] = new int[1];
+
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				int difference = (imgA.data[indexA]& 0xFF)-(imgB.data[indexB]& 0xFF);
-				total += difference*difference;
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						int difference = (imgA.data[indexA]& 0xFF)-(imgB.data[indexB]& 0xFF);
+						total += difference*difference;
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffAbs(ImageUInt8 imgA, ImageUInt8 imgB ) {
-		int total = 0;
+	public static double meanDiffAbs( final ImageUInt8 imgA, final ImageUInt8 imgB ) {
+		final int result[] = new int[1];
+
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				int difference = (imgA.data[indexA]& 0xFF)-(imgB.data[indexB]& 0xFF);
-				total += Math.abs(difference);
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						int difference = (imgA.data[indexA]& 0xFF)-(imgB.data[indexB]& 0xFF);
+						total += Math.abs(difference);
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -210,18 +290,102 @@ public class ImageStatistics {
 	 * @param input (input) Image.
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
-	public static void histogram( ImageUInt8 input , int histogram[] ) {
+	public static void histogram( final ImageUInt8 input , final int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				histogram[input.data[index]& 0xFF]++;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// a band which covers the whole image can write directly into the output
+				int local[] = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						local[input.data[index]& 0xFF]++;
+					}
+				}
+
+				if( local != histogram ) {
+					synchronized( histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
 			}
-		}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, variance, and optionally the histogram of pixel values in a single
+	 * pass through the image.  If {@link ImageSummaryStatistics#histogram} is not null then the histogram
+	 * is computed, with {@link ImageSummaryStatistics#histogramMinValue} being the value of the first bin.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param stats (output) Statistics of the pixel values. Modified.
+	 */
+	public static void summary( final ImageUInt8 input , final ImageSummaryStatistics stats ) {
+		final int histogram[] = stats.histogram;
+		final int minValue = stats.histogramMinValue;
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final int first = input.get(0,0);
+		// min, max, sum, sum of squares
+		final long result[] = new long[]{first,first,0,0};
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = null;
+				if( histogram != null )
+					local = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				int min = first, max = first;
+				long sum = 0, sumSq = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						int v = input.data[index]& 0xFF;
+						if( v < min )
+							min = v;
+						if( v > max )
+							max = v;
+						sum += v;
+						sumSq += v*v;
+						if( local != null )
+							local[v - minValue]++;
+					}
+				}
+
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+					if( max > result[1] )
+						result[1] = max;
+					result[2] += sum;
+					result[3] += sumSq;
+					if( local != null && local != histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
+			}
+		});
+
+		double N = input.width*input.height;
+		stats.min = result[0];
+		stats.max = result[1];
+		stats.mean = result[2]/N;
+		stats.variance = Math.max(0, result[3]/N - stats.mean*stats.mean);
 	}
 
 	/**
@@ -230,21 +394,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Minimum pixel value.
 	 */
-	public static int min( ImageSInt8 input ) {
+	public static int min( final ImageSInt8 input ) {
 
-		int min = input.get(0,0);
+		final int result[] = new int[]{input.get(0,0)};
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int min = input.get(0,0);
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index] ;
-				if( v < min )
-					min = v;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						int v = input.data[index];
+						if( v < min )
+							min = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+				}
 			}
-		}
-		return min;
+		});
+		return result[0];
 	}
 
 	/**
@@ -253,21 +429,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Maximum pixel value.
 	 */
-	public static int max( ImageSInt8 input ) {
+	public static int max( final ImageSInt8 input ) {
+
+		final int result[] = new int[]{input.get(0,0)};
 
-		int max = input.get(0,0);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index] ;
-				if( v > max )
-					max = v;
+					for( ; index < end; index++ ) {
+						int v = input.data[index];
+						if( v > max )
+							max = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -276,21 +464,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Largest pixel absolute value.
 	 */
-	public static int maxAbs( ImageSInt8 input ) {
+	public static int maxAbs( final ImageSInt8 input ) {
+
+		final int result[] = new int[1];
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int max = 0;
 
-		int max = 0;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+					for( ; index < end; index++ ) {
+						int v = Math.abs(input.data[index]);
+						if( v > max )
+							max = v;
+					}
+				}
 
-			for( ; index < end; index++ ) {
-				int v = Math.abs(input.data[index]);
-				if( v > max )
-					max = v;
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -300,24 +500,30 @@ public class ImageStatistics {
 	 * 
 	 * @param img Input image. Not modified.
 	 */
-	public static int sum( ImageSInt8 img ) {
+	public static int sum( final ImageSInt8 img ) {
+
+		final int result[] = new int[1];
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+					for( ; index < indexEnd; index++ ) {
+						total += img.data[index];
+					}
+				}
 
-		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				total += img.data[index] ;
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
-		
-		return total;
+		});
+		return result[0];
 	}
 
 	/**
@@ -337,22 +543,30 @@ public class ImageStatistics {
 	 * @param mean Mean pixel intensity value.   
 	 * @return Pixel variance   
 	 */
-	public static double variance( ImageSInt8 img , double mean ) {
+	public static double variance( final ImageSInt8 img , final double mean ) {
+
+		final OrderedSums result = new OrderedSums(1);
 
-		double variance = 0;
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
+					for( ; index < indexEnd; index++ ) {
+						double d = (img.data[index]) - mean;
+						variance += d*d;
+					}
+				}
+
+				result.add(y0, variance);
 			}
-		}
+		});
 
-		return variance/(img.width*img.height);
+		return result.total(0)/(img.width*img.height);
 	}
 
 	/**
@@ -362,41 +576,63 @@ public class ImageStatistics {
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffSq(ImageSInt8 imgA, ImageSInt8 imgB ) {
-		int total = 0;
+	public static double meanDiffSq( final ImageSInt8 imgA, final ImageSInt8 imgB ) {
+		final int result[] = new int[1];
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += difference*difference;
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						int difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += difference*difference;
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffAbs(ImageSInt8 imgA, ImageSInt8 imgB ) {
-		int total = 0;
+	public static double meanDiffAbs( final ImageSInt8 imgA, final ImageSInt8 imgB ) {
+		final int result[] = new int[1];
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += Math.abs(difference);
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						int difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += Math.abs(difference);
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -406,19 +642,103 @@ public class ImageStatistics {
 	 * @param minValue (input) Minimum possible intensity value   
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
-	public static void histogram( ImageSInt8 input , int minValue , int histogram[] ) {
+	public static void histogram( final ImageSInt8 input , final int minValue , final int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				// floor value. just convert to int rounds towards zero
-				histogram[input.data[index] - minValue ]++;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// a band which covers the whole image can write directly into the output
+				int local[] = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						// floor value. just convert to int rounds towards zero
+						local[input.data[index] - minValue]++;
+					}
+				}
+
+				if( local != histogram ) {
+					synchronized( histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
 			}
-		}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, variance, and optionally the histogram of pixel values in a single
+	 * pass through the image.  If {@link ImageSummaryStatistics#histogram} is not null then the histogram
+	 * is computed, with {@link ImageSummaryStatistics#histogramMinValue} being the value of the first bin.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param stats (output) Statistics of the pixel values. Modified.
+	 */
+	public static void summary( final ImageSInt8 input , final ImageSummaryStatistics stats ) {
+		final int histogram[] = stats.histogram;
+		final int minValue = stats.histogramMinValue;
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final int first = input.get(0,0);
+		// min, max, sum, sum of squares
+		final long result[] = new long[]{first,first,0,0};
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = null;
+				if( histogram != null )
+					local = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				int min = first, max = first;
+				long sum = 0, sumSq = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						int v = input.data[index];
+						if( v < min )
+							min = v;
+						if( v > max )
+							max = v;
+						sum += v;
+						sumSq += v*v;
+						if( local != null )
+							local[v - minValue]++;
+					}
+				}
+
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+					if( max > result[1] )
+						result[1] = max;
+					result[2] += sum;
+					result[3] += sumSq;
+					if( local != null && local != histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
+			}
+		});
+
+		double N = input.width*input.height;
+		stats.min = result[0];
+		stats.max = result[1];
+		stats.mean = result[2]/N;
+		stats.variance = Math.max(0, result[3]/N - stats.mean*stats.mean);
 	}
 
 	/**
@@ -427,21 +747,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Minimum pixel value.
 	 */
-	public static int min( ImageUInt16 input ) {
+	public static int min( final ImageUInt16 input ) {
 
-		int min = input.get(0,0);
+		final int result[] = new int[]{input.get(0,0)};
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int min = input.get(0,0);
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index] & 0xFFFF;
-				if( v < min )
-					min = v;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						int v = input.data[index]& 0xFFFF;
+						if( v < min )
+							min = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+				}
 			}
-		}
-		return min;
+		});
+		return result[0];
 	}
 
 	/**
@@ -450,21 +782,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Maximum pixel value.
 	 */
-	public static int max( ImageUInt16 input ) {
+	public static int max( final ImageUInt16 input ) {
+
+		final int result[] = new int[]{input.get(0,0)};
 
-		int max = input.get(0,0);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index] & 0xFFFF;
-				if( v > max )
-					max = v;
+					for( ; index < end; index++ ) {
+						int v = input.data[index]& 0xFFFF;
+						if( v > max )
+							max = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -473,21 +817,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Largest pixel absolute value.
 	 */
-	public static int maxAbs( ImageUInt16 input ) {
+	public static int maxAbs( final ImageUInt16 input ) {
+
+		final int result[] = new int[1];
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int max = 0;
 
-		int max = 0;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+					for( ; index < end; index++ ) {
+						int v = input.data[index]& 0xFFFF;
+						if( v > max )
+							max = v;
+					}
+				}
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index]& 0xFFFF;
-				if( v > max )
-					max = v;
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -497,24 +853,30 @@ public class ImageStatistics {
 	 * 
 	 * @param img Input image. Not modified.
 	 */
-	public static int sum( ImageUInt16 img ) {
+	public static int sum( final ImageUInt16 img ) {
+
+		final int result[] = new int[1];
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+					for( ; index < indexEnd; index++ ) {
+						total += img.data[index]& 0xFFFF;
+					}
+				}
 
-		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				total += img.data[index] & 0xFFFF;
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
-		
-		return total;
+		});
+		return result[0];
 	}
 
 	/**
@@ -534,22 +896,30 @@ public class ImageStatistics {
 	 * @param mean Mean pixel intensity value.   
 	 * @return Pixel variance   
 	 */
-	public static double variance( ImageUInt16 img , double mean ) {
+	public static double variance( final ImageUInt16 img , final double mean ) {
+
+		final OrderedSums result = new OrderedSums(1);
 
-		double variance = 0;
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]& 0xFFFF) - mean; 
-				variance += d*d;
+					for( ; index < indexEnd; index++ ) {
+						double d = (img.data[index]& 0xFFFF) - mean;
+						variance += d*d;
+					}
+				}
+
+				result.add(y0, variance);
 			}
-		}
+		});
 
-		return variance/(img.width*img.height);
+		return result.total(0)/(img.width*img.height);
 	}
 
 	/**
@@ -559,41 +929,63 @@ public class ImageStatistics {
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffSq(ImageUInt16 imgA, ImageUInt16 imgB ) {
-		int total = 0;
+	public static double meanDiffSq( final ImageUInt16 imgA, final ImageUInt16 imgB ) {
+		final int result[] = new int[1];
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				int difference = (imgA.data[indexA]& 0xFFFF)-(imgB.data[indexB]& 0xFFFF);
-				total += difference*difference;
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						int difference = (imgA.data[indexA]& 0xFFFF)-(imgB.data[indexB]& 0xFFFF);
+						total += difference*difference;
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffAbs(ImageUInt16 imgA, ImageUInt16 imgB ) {
-		int total = 0;
+	public static double meanDiffAbs( final ImageUInt16 imgA, final ImageUInt16 imgB ) {
+		final int result[] = new int[1];
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				int difference = (imgA.data[indexA]& 0xFFFF)-(imgB.data[indexB]& 0xFFFF);
-				total += Math.abs(difference);
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						int difference = (imgA.data[indexA]& 0xFFFF)-(imgB.data[indexB]& 0xFFFF);
+						total += Math.abs(difference);
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -602,18 +994,102 @@ public class ImageStatistics {
 	 * @param input (input) Image.
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
-	public static void histogram( ImageUInt16 input , int histogram[] ) {
+	public static void histogram( final ImageUInt16 input , final int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				histogram[input.data[index]& 0xFFFF]++;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// a band which covers the whole image can write directly into the output
+				int local[] = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						local[input.data[index]& 0xFFFF]++;
+					}
+				}
+
+				if( local != histogram ) {
+					synchronized( histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
 			}
-		}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, variance, and optionally the histogram of pixel values in a single
+	 * pass through the image.  If {@link ImageSummaryStatistics#histogram} is not null then the histogram
+	 * is computed, with {@link ImageSummaryStatistics#histogramMinValue} being the value of the first bin.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param stats (output) Statistics of the pixel values. Modified.
+	 */
+	public static void summary( final ImageUInt16 input , final ImageSummaryStatistics stats ) {
+		final int histogram[] = stats.histogram;
+		final int minValue = stats.histogramMinValue;
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final int first = input.get(0,0);
+		// min, max, sum, sum of squares
+		final long result[] = new long[]{first,first,0,0};
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = null;
+				if( histogram != null )
+					local = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				int min = first, max = first;
+				long sum = 0, sumSq = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						int v = input.data[index]& 0xFFFF;
+						if( v < min )
+							min = v;
+						if( v > max )
+							max = v;
+						sum += v;
+						sumSq += (long)v*v;
+						if( local != null )
+							local[v - minValue]++;
+					}
+				}
+
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+					if( max > result[1] )
+						result[1] = max;
+					result[2] += sum;
+					result[3] += sumSq;
+					if( local != null && local != histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
+			}
+		});
+
+		double N = input.width*input.height;
+		stats.min = result[0];
+		stats.max = result[1];
+		stats.mean = result[2]/N;
+		stats.variance = Math.max(0, result[3]/N - stats.mean*stats.mean);
 	}
 
 	/**
@@ -622,21 +1098,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Minimum pixel value.
 	 */
-	public static int min( ImageSInt16 input ) {
+	public static int min( final ImageSInt16 input ) {
+
+		final int result[] = new int[]{input.get(0,0)};
 
-		int min = input.get(0,0);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index] ;
-				if( v < min )
-					min = v;
+					for( ; index < end; index++ ) {
+						int v = input.data[index];
+						if( v < min )
+							min = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+				}
 			}
-		}
-		return min;
+		});
+		return result[0];
 	}
 
 	/**
@@ -645,21 +1133,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Maximum pixel value.
 	 */
-	public static int max( ImageSInt16 input ) {
+	public static int max( final ImageSInt16 input ) {
+
+		final int result[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int max = input.get(0,0);
 
-		int max = input.get(0,0);
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+					for( ; index < end; index++ ) {
+						int v = input.data[index];
+						if( v > max )
+							max = v;
+					}
+				}
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index] ;
-				if( v > max )
-					max = v;
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -668,21 +1168,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Largest pixel absolute value.
 	 */
-	public static int maxAbs( ImageSInt16 input ) {
+	public static int maxAbs( final ImageSInt16 input ) {
+
+		final int result[] = new int[1];
 
-		int max = 0;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				int v = Math.abs(input.data[index]);
-				if( v > max )
-					max = v;
+					for( ; index < end; index++ ) {
+						int v = Math.abs(input.data[index]);
+						if( v > max )
+							max = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -692,24 +1204,30 @@ public class ImageStatistics {
 	 * 
 	 * @param img Input image. Not modified.
 	 */
-	public static int sum( ImageSInt16 img ) {
+	public static int sum( final ImageSInt16 img ) {
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		final int result[] = new int[1];
 
-		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				total += img.data[index] ;
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
+
+					for( ; index < indexEnd; index++ ) {
+						total += img.data[index];
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
-		
-		return total;
+		});
+		return result[0];
 	}
 
 	/**
@@ -729,22 +1247,30 @@ public class ImageStatistics {
 	 * @param mean Mean pixel intensity value.   
 	 * @return Pixel variance   
 	 */
-	public static double variance( ImageSInt16 img , double mean ) {
+	public static double variance( final ImageSInt16 img , final double mean ) {
 
-		double variance = 0;
+		final OrderedSums result = new OrderedSums(1);
 
-		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double variance = 0;
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
+
+					for( ; index < indexEnd; index++ ) {
+						double d = (img.data[index]) - mean;
+						variance += d*d;
+					}
+				}
+
+				result.add(y0, variance);
 			}
-		}
+		});
 
-		return variance/(img.width*img.height);
+		return result.total(0)/(img.width*img.height);
 	}
 
 	/**
@@ -754,41 +1280,63 @@ public class ImageStatistics {
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffSq(ImageSInt16 imgA, ImageSInt16 imgB ) {
-		int total = 0;
+	public static double meanDiffSq( final ImageSInt16 imgA, final ImageSInt16 imgB ) {
+		final int result[] = new int[1];
+
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += difference*difference;
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						int difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += difference*difference;
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffAbs(ImageSInt16 imgA, ImageSInt16 imgB ) {
-		int total = 0;
+	public static double meanDiffAbs( final ImageSInt16 imgA, final ImageSInt16 imgB ) {
+		final int result[] = new int[1];
+
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += Math.abs(difference);
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						int difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += Math.abs(difference);
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -798,19 +1346,103 @@ public class ImageStatistics {
 	 * @param minValue (input) Minimum possible intensity value   
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
-	public static void histogram( ImageSInt16 input , int minValue , int histogram[] ) {
+	public static void histogram( final ImageSInt16 input , final int minValue , final int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				// floor value. just convert to int rounds towards zero
-				histogram[input.data[index] - minValue ]++;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// a band which covers the whole image can write directly into the output
+				int local[] = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						// floor value. just convert to int rounds towards zero
+						local[input.data[index] - minValue]++;
+					}
+				}
+
+				if( local != histogram ) {
+					synchronized( histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
 			}
-		}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, variance, and optionally the histogram of pixel values in a single
+	 * pass through the image.  If {@link ImageSummaryStatistics#histogram} is not null then the histogram
+	 * is computed, with {@link ImageSummaryStatistics#histogramMinValue} being the value of the first bin.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param stats (output) Statistics of the pixel values. Modified.
+	 */
+	public static void summary( final ImageSInt16 input , final ImageSummaryStatistics stats ) {
+		final int histogram[] = stats.histogram;
+		final int minValue = stats.histogramMinValue;
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		final int first = input.get(0,0);
+		// min, max, sum, sum of squares
+		final long result[] = new long[]{first,first,0,0};
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = null;
+				if( histogram != null )
+					local = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				int min = first, max = first;
+				long sum = 0, sumSq = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						int v = input.data[index];
+						if( v < min )
+							min = v;
+						if( v > max )
+							max = v;
+						sum += v;
+						sumSq += (long)v*v;
+						if( local != null )
+							local[v - minValue]++;
+					}
+				}
+
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+					if( max > result[1] )
+						result[1] = max;
+					result[2] += sum;
+					result[3] += sumSq;
+					if( local != null && local != histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
+			}
+		});
+
+		double N = input.width*input.height;
+		stats.min = result[0];
+		stats.max = result[1];
+		stats.mean = result[2]/N;
+		stats.variance = Math.max(0, result[3]/N - stats.mean*stats.mean);
 	}
 
 	/**
@@ -819,21 +1451,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Minimum pixel value.
 	 */
-	public static int min( ImageSInt32 input ) {
+	public static int min( final ImageSInt32 input ) {
+
+		final int result[] = new int[]{input.get(0,0)};
 
-		int min = input.get(0,0);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index] ;
-				if( v < min )
-					min = v;
+					for( ; index < end; index++ ) {
+						int v = input.data[index];
+						if( v < min )
+							min = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+				}
 			}
-		}
-		return min;
+		});
+		return result[0];
 	}
 
 	/**
@@ -842,21 +1486,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Maximum pixel value.
 	 */
-	public static int max( ImageSInt32 input ) {
+	public static int max( final ImageSInt32 input ) {
+
+		final int result[] = new int[]{input.get(0,0)};
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int max = input.get(0,0);
 
-		int max = input.get(0,0);
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+					for( ; index < end; index++ ) {
+						int v = input.data[index];
+						if( v > max )
+							max = v;
+					}
+				}
 
-			for( ; index < end; index++ ) {
-				int v = input.data[index] ;
-				if( v > max )
-					max = v;
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -865,21 +1521,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Largest pixel absolute value.
 	 */
-	public static int maxAbs( ImageSInt32 input ) {
+	public static int maxAbs( final ImageSInt32 input ) {
+
+		final int result[] = new int[1];
 
-		int max = 0;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				int v = Math.abs(input.data[index]);
-				if( v > max )
-					max = v;
+					for( ; index < end; index++ ) {
+						int v = Math.abs(input.data[index]);
+						if( v > max )
+							max = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -889,24 +1557,30 @@ public class ImageStatistics {
 	 * 
 	 * @param img Input image. Not modified.
 	 */
-	public static int sum( ImageSInt32 img ) {
+	public static int sum( final ImageSInt32 img ) {
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		final int result[] = new int[1];
 
-		int total = 0;
-		
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				total += img.data[index] ;
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
+
+					for( ; index < indexEnd; index++ ) {
+						total += img.data[index];
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
-		
-		return total;
+		});
+		return result[0];
 	}
 
 	/**
@@ -926,22 +1600,30 @@ public class ImageStatistics {
 	 * @param mean Mean pixel intensity value.   
 	 * @return Pixel variance   
 	 */
-	public static double variance( ImageSInt32 img , double mean ) {
+	public static double variance( final ImageSInt32 img , final double mean ) {
 
-		double variance = 0;
+		final OrderedSums result = new OrderedSums(1);
 
-		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double variance = 0;
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
+
+					for( ; index < indexEnd; index++ ) {
+						double d = (img.data[index]) - mean;
+						variance += d*d;
+					}
+				}
+
+				result.add(y0, variance);
 			}
-		}
+		});
 
-		return variance/(img.width*img.height);
+		return result.total(0)/(img.width*img.height);
 	}
 
 	/**
@@ -951,41 +1633,63 @@ public class ImageStatistics {
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffSq(ImageSInt32 imgA, ImageSInt32 imgB ) {
-		long total = 0;
+	public static double meanDiffSq( final ImageSInt32 imgA, final ImageSInt32 imgB ) {
+		final long result[] = new long[1];
+
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += difference*difference;
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						int difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += difference*difference;
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffAbs(ImageSInt32 imgA, ImageSInt32 imgB ) {
-		int total = 0;
+	public static double meanDiffAbs( final ImageSInt32 imgA, final ImageSInt32 imgB ) {
+		final int result[] = new int[1];
+
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				int difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += Math.abs(difference);
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						int difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += Math.abs(difference);
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -995,19 +1699,110 @@ public class ImageStatistics {
 	 * @param minValue (input) Minimum possible intensity value   
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
-	public static void histogram( ImageSInt32 input , int minValue , int histogram[] ) {
+	public static void histogram( final ImageSInt32 input , final int minValue , final int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				// floor value. just convert to int rounds towards zero
-				histogram[input.data[index] - minValue ]++;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// a band which covers the whole image can write directly into the output
+				int local[] = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						// floor value. just convert to int rounds towards zero
+						local[input.data[index] - minValue]++;
+					}
+				}
+
+				if( local != histogram ) {
+					synchronized( histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
 			}
-		}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, variance, and optionally the histogram of pixel values in a single
+	 * pass through the image.  If {@link ImageSummaryStatistics#histogram} is not null then the histogram
+	 * is computed, with {@link ImageSummaryStatistics#histogramMinValue} being the value of the first bin.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param stats (output) Statistics of the pixel values. Modified.
+	 */
+	public static void summary( final ImageSInt32 input , final ImageSummaryStatistics stats ) {
+		final int histogram[] = stats.histogram;
+		final int minValue = stats.histogramMinValue;
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		// values are relative to the first pixel to reduce numerical error
+		final int first = input.get(0,0);
+		final double offset = first;
+		final int extremes[] = new int[]{first,first};
+		// sum and sum of squares of each band
+		final OrderedSums sums = new OrderedSums(2);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = null;
+				if( histogram != null )
+					local = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				int min = first, max = first;
+				double sum = 0, sumSq = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						int v = input.data[index];
+						if( v < min )
+							min = v;
+						if( v > max )
+							max = v;
+						double d = v - offset;
+						sum += d;
+						sumSq += d*d;
+						if( local != null )
+							local[v - minValue]++;
+					}
+				}
+
+				synchronized( extremes ) {
+					if( min < extremes[0] )
+						extremes[0] = min;
+					if( max > extremes[1] )
+						extremes[1] = max;
+					if( local != null && local != histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
+				sums.add(y0, sum, sumSq);
+			}
+		});
+
+		// merge in the order of the bands so that the result doesn't depend on which thread finished first
+		double sum = sums.total(0), sumSq = sums.total(1);
+
+		double N = input.width*input.height;
+		double meanOffset = sum/N;
+		stats.min = extremes[0];
+		stats.max = extremes[1];
+		stats.mean = offset + meanOffset;
+		stats.variance = Math.max(0, sumSq/N - meanOffset*meanOffset);
 	}
 
 	/**
@@ -1016,21 +1811,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Minimum pixel value.
 	 */
-	public static long min( ImageSInt64 input ) {
+	public static long min( final ImageSInt64 input ) {
+
+		final long result[] = new long[]{input.get(0,0)};
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long min = input.get(0,0);
 
-		long min = input.get(0,0);
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+					for( ; index < end; index++ ) {
+						long v = input.data[index];
+						if( v < min )
+							min = v;
+					}
+				}
 
-			for( ; index < end; index++ ) {
-				long v = input.data[index] ;
-				if( v < min )
-					min = v;
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+				}
 			}
-		}
-		return min;
+		});
+		return result[0];
 	}
 
 	/**
@@ -1039,21 +1846,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Maximum pixel value.
 	 */
-	public static long max( ImageSInt64 input ) {
+	public static long max( final ImageSInt64 input ) {
+
+		final long result[] = new long[]{input.get(0,0)};
 
-		long max = input.get(0,0);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				long v = input.data[index] ;
-				if( v > max )
-					max = v;
+					for( ; index < end; index++ ) {
+						long v = input.data[index];
+						if( v > max )
+							max = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -1062,21 +1881,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Largest pixel absolute value.
 	 */
-	public static long maxAbs( ImageSInt64 input ) {
+	public static long maxAbs( final ImageSInt64 input ) {
 
-		long max = 0;
+		final long result[] = new long[1];
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long max = 0;
 
-			for( ; index < end; index++ ) {
-				long v = Math.abs(input.data[index]);
-				if( v > max )
-					max = v;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						long v = Math.abs(input.data[index]);
+						if( v > max )
+							max = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -1086,24 +1917,30 @@ public class ImageStatistics {
 	 * 
 	 * @param img Input image. Not modified.
 	 */
-	public static long sum( ImageSInt64 img ) {
+	public static long sum( final ImageSInt64 img ) {
+
+		final long result[] = new long[1];
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long total = 0;
 
-		long total = 0;
-		
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				total += img.data[index] ;
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
+
+					for( ; index < indexEnd; index++ ) {
+						total += img.data[index];
+					}
+				}
+
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
-		
-		return total;
+		});
+		return result[0];
 	}
 
 	/**
@@ -1123,22 +1960,30 @@ public class ImageStatistics {
 	 * @param mean Mean pixel intensity value.   
 	 * @return Pixel variance   
 	 */
-	public static double variance( ImageSInt64 img , double mean ) {
+	public static double variance( final ImageSInt64 img , final double mean ) {
+
+		final OrderedSums result = new OrderedSums(1);
 
-		double variance = 0;
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
+					for( ; index < indexEnd; index++ ) {
+						double d = (img.data[index]) - mean;
+						variance += d*d;
+					}
+				}
+
+				result.add(y0, variance);
 			}
-		}
+		});
 
-		return variance/(img.width*img.height);
+		return result.total(0)/(img.width*img.height);
 	}
 
 	/**
@@ -1148,41 +1993,63 @@ public class ImageStatistics {
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffSq(ImageSInt64 imgA, ImageSInt64 imgB ) {
-		long total = 0;
+	public static double meanDiffSq( final ImageSInt64 imgA, final ImageSInt64 imgB ) {
+		final long result[] = new long[1];
+
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						long difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += difference*difference;
+					}
+				}
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				long difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += difference*difference;
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffAbs(ImageSInt64 imgA, ImageSInt64 imgB ) {
-		long total = 0;
+	public static double meanDiffAbs( final ImageSInt64 imgA, final ImageSInt64 imgB ) {
+		final long result[] = new long[1];
+
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				long total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						long difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += Math.abs(difference);
+					}
+				}
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				long difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += Math.abs(difference);
+				synchronized( result ) {
+					result[0] += total;
+				}
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result[0] / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -1192,19 +2059,110 @@ public class ImageStatistics {
 	 * @param minValue (input) Minimum possible intensity value   
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
-	public static void histogram( ImageSInt64 input , int minValue , int histogram[] ) {
+	public static void histogram( final ImageSInt64 input , final int minValue , final int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				// floor value. just convert to int rounds towards zero
-				histogram[(int)input.data[index] - minValue]++;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// a band which covers the whole image can write directly into the output
+				int local[] = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						// floor value. just convert to int rounds towards zero
+						local[(int)input.data[index] - minValue]++;
+					}
+				}
+
+				if( local != histogram ) {
+					synchronized( histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
 			}
-		}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, variance, and optionally the histogram of pixel values in a single
+	 * pass through the image.  If {@link ImageSummaryStatistics#histogram} is not null then the histogram
+	 * is computed, with {@link ImageSummaryStatistics#histogramMinValue} being the value of the first bin.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param stats (output) Statistics of the pixel values. Modified.
+	 */
+	public static void summary( final ImageSInt64 input , final ImageSummaryStatistics stats ) {
+		final int histogram[] = stats.histogram;
+		final int minValue = stats.histogramMinValue;
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		// values are relative to the first pixel to reduce numerical error
+		final long first = input.get(0,0);
+		final double offset = first;
+		final long extremes[] = new long[]{first,first};
+		// sum and sum of squares of each band
+		final OrderedSums sums = new OrderedSums(2);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = null;
+				if( histogram != null )
+					local = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				long min = first, max = first;
+				double sum = 0, sumSq = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						long v = input.data[index];
+						if( v < min )
+							min = v;
+						if( v > max )
+							max = v;
+						double d = v - offset;
+						sum += d;
+						sumSq += d*d;
+						if( local != null )
+							local[(int)v - minValue]++;
+					}
+				}
+
+				synchronized( extremes ) {
+					if( min < extremes[0] )
+						extremes[0] = min;
+					if( max > extremes[1] )
+						extremes[1] = max;
+					if( local != null && local != histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
+				sums.add(y0, sum, sumSq);
+			}
+		});
+
+		// merge in the order of the bands so that the result doesn't depend on which thread finished first
+		double sum = sums.total(0), sumSq = sums.total(1);
+
+		double N = input.width*input.height;
+		double meanOffset = sum/N;
+		stats.min = extremes[0];
+		stats.max = extremes[1];
+		stats.mean = offset + meanOffset;
+		stats.variance = Math.max(0, sumSq/N - meanOffset*meanOffset);
 	}
 
 	/**
@@ -1213,21 +2171,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Minimum pixel value.
 	 */
-	public static float min( ImageFloat32 input ) {
+	public static float min( final ImageFloat32 input ) {
+
+		final float result[] = new float[]{input.get(0,0)};
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				float min = input.get(0,0);
 
-		float min = input.get(0,0);
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+					for( ; index < end; index++ ) {
+						float v = input.data[index];
+						if( v < min )
+							min = v;
+					}
+				}
 
-			for( ; index < end; index++ ) {
-				float v = input.data[index] ;
-				if( v < min )
-					min = v;
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+				}
 			}
-		}
-		return min;
+		});
+		return result[0];
 	}
 
 	/**
@@ -1236,21 +2206,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Maximum pixel value.
 	 */
-	public static float max( ImageFloat32 input ) {
+	public static float max( final ImageFloat32 input ) {
+
+		final float result[] = new float[]{input.get(0,0)};
 
-		float max = input.get(0,0);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				float max = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				float v = input.data[index] ;
-				if( v > max )
-					max = v;
+					for( ; index < end; index++ ) {
+						float v = input.data[index];
+						if( v > max )
+							max = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -1259,21 +2241,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Largest pixel absolute value.
 	 */
-	public static float maxAbs( ImageFloat32 input ) {
+	public static float maxAbs( final ImageFloat32 input ) {
 
-		float max = 0;
+		final float result[] = new float[1];
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				float max = 0;
 
-			for( ; index < end; index++ ) {
-				float v = Math.abs(input.data[index]);
-				if( v > max )
-					max = v;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						float v = Math.abs(input.data[index]);
+						if( v > max )
+							max = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -1283,24 +2277,29 @@ public class ImageStatistics {
 	 * 
 	 * @param img Input image. Not modified.
 	 */
-	public static float sum( ImageFloat32 img ) {
+	public static float sum( final ImageFloat32 img ) {
+
+		final OrderedSums result = new OrderedSums(1);
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				float total = 0;
 
-		float total = 0;
-		
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				total += img.data[index] ;
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
+
+					for( ; index < indexEnd; index++ ) {
+						total += img.data[index];
+					}
+				}
+
+				result.add(y0, total);
 			}
-		}
-		
-		return total;
+		});
+
+		return (float)result.total(0);
 	}
 
 	/**
@@ -1320,22 +2319,30 @@ public class ImageStatistics {
 	 * @param mean Mean pixel intensity value.   
 	 * @return Pixel variance   
 	 */
-	public static double variance( ImageFloat32 img , double mean ) {
+	public static double variance( final ImageFloat32 img , final double mean ) {
 
-		double variance = 0;
+		final OrderedSums result = new OrderedSums(1);
 
-		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double variance = 0;
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
+
+					for( ; index < indexEnd; index++ ) {
+						double d = (img.data[index]) - mean;
+						variance += d*d;
+					}
+				}
+
+				result.add(y0, variance);
 			}
-		}
+		});
 
-		return variance/(img.width*img.height);
+		return result.total(0)/(img.width*img.height);
 	}
 
 	/**
@@ -1345,41 +2352,59 @@ public class ImageStatistics {
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffSq(ImageFloat32 imgA, ImageFloat32 imgB ) {
-		double total = 0;
+	public static double meanDiffSq( final ImageFloat32 imgA, final ImageFloat32 imgB ) {
+		final OrderedSums result = new OrderedSums(1);
+
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				float difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += difference*difference;
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						float difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += difference*difference;
+					}
+				}
+
+				result.add(y0, total);
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result.total(0) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffAbs(ImageFloat32 imgA, ImageFloat32 imgB ) {
-		float total = 0;
+	public static double meanDiffAbs( final ImageFloat32 imgA, final ImageFloat32 imgB ) {
+		final OrderedSums result = new OrderedSums(1);
+
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				float total = 0;
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				float difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += Math.abs(difference);
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						float difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += Math.abs(difference);
+					}
+				}
+
+				result.add(y0, total);
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return (float)result.total(0) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -1389,19 +2414,110 @@ public class ImageStatistics {
 	 * @param minValue (input) Minimum possible intensity value   
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
-	public static void histogram( ImageFloat32 input , int minValue , int histogram[] ) {
+	public static void histogram( final ImageFloat32 input , final int minValue , final int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				// floor value. just convert to int rounds towards zero
-				histogram[(int)input.data[index] - minValue ]++;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// a band which covers the whole image can write directly into the output
+				int local[] = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						// floor value. just convert to int rounds towards zero
+						local[(int)input.data[index] - minValue]++;
+					}
+				}
+
+				if( local != histogram ) {
+					synchronized( histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
 			}
-		}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, variance, and optionally the histogram of pixel values in a single
+	 * pass through the image.  If {@link ImageSummaryStatistics#histogram} is not null then the histogram
+	 * is computed, with {@link ImageSummaryStatistics#histogramMinValue} being the value of the first bin.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param stats (output) Statistics of the pixel values. Modified.
+	 */
+	public static void summary( final ImageFloat32 input , final ImageSummaryStatistics stats ) {
+		final int histogram[] = stats.histogram;
+		final int minValue = stats.histogramMinValue;
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		// values are relative to the first pixel to reduce numerical error
+		final float first = input.get(0,0);
+		final double offset = first;
+		final float extremes[] = new float[]{first,first};
+		// sum and sum of squares of each band
+		final OrderedSums sums = new OrderedSums(2);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = null;
+				if( histogram != null )
+					local = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				float min = first, max = first;
+				double sum = 0, sumSq = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						float v = input.data[index];
+						if( v < min )
+							min = v;
+						if( v > max )
+							max = v;
+						double d = v - offset;
+						sum += d;
+						sumSq += d*d;
+						if( local != null )
+							local[(int)v - minValue]++;
+					}
+				}
+
+				synchronized( extremes ) {
+					if( min < extremes[0] )
+						extremes[0] = min;
+					if( max > extremes[1] )
+						extremes[1] = max;
+					if( local != null && local != histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
+				sums.add(y0, sum, sumSq);
+			}
+		});
+
+		// merge in the order of the bands so that the result doesn't depend on which thread finished first
+		double sum = sums.total(0), sumSq = sums.total(1);
+
+		double N = input.width*input.height;
+		double meanOffset = sum/N;
+		stats.min = extremes[0];
+		stats.max = extremes[1];
+		stats.mean = offset + meanOffset;
+		stats.variance = Math.max(0, sumSq/N - meanOffset*meanOffset);
 	}
 
 	/**
@@ -1410,21 +2526,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Minimum pixel value.
 	 */
-	public static double min( ImageFloat64 input ) {
+	public static double min( final ImageFloat64 input ) {
+
+		final double result[] = new double[]{input.get(0,0)};
 
-		double min = input.get(0,0);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double min = input.get(0,0);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				double v = input.data[index] ;
-				if( v < min )
-					min = v;
+					for( ; index < end; index++ ) {
+						double v = input.data[index];
+						if( v < min )
+							min = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( min < result[0] )
+						result[0] = min;
+				}
 			}
-		}
-		return min;
+		});
+		return result[0];
 	}
 
 	/**
@@ -1433,21 +2561,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Maximum pixel value.
 	 */
-	public static double max( ImageFloat64 input ) {
+	public static double max( final ImageFloat64 input ) {
+
+		final double result[] = new double[]{input.get(0,0)};
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double max = input.get(0,0);
 
-		double max = input.get(0,0);
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+					for( ; index < end; index++ ) {
+						double v = input.data[index];
+						if( v > max )
+							max = v;
+					}
+				}
 
-			for( ; index < end; index++ ) {
-				double v = input.data[index] ;
-				if( v > max )
-					max = v;
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -1456,21 +2596,33 @@ public class ImageStatistics {
 	 * @param input Input image. Not modified.
 	 * @return Largest pixel absolute value.
 	 */
-	public static double maxAbs( ImageFloat64 input ) {
+	public static double maxAbs( final ImageFloat64 input ) {
+
+		final double result[] = new double[1];
 
-		double max = 0;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double max = 0;
 
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				double v = Math.abs(input.data[index]);
-				if( v > max )
-					max = v;
+					for( ; index < end; index++ ) {
+						double v = Math.abs(input.data[index]);
+						if( v > max )
+							max = v;
+					}
+				}
+
+				synchronized( result ) {
+					if( max > result[0] )
+						result[0] = max;
+				}
 			}
-		}
-		return max;
+		});
+		return result[0];
 	}
 
 	/**
@@ -1480,24 +2632,29 @@ public class ImageStatistics {
 	 * 
 	 * @param img Input image. Not modified.
 	 */
-	public static double sum( ImageFloat64 img ) {
+	public static double sum( final ImageFloat64 img ) {
 
-		final int h = img.getHeight();
-		final int w = img.getWidth();
+		final OrderedSums result = new OrderedSums(1);
 
-		double total = 0;
-		
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				total += img.data[index] ;
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
+
+					for( ; index < indexEnd; index++ ) {
+						total += img.data[index];
+					}
+				}
+
+				result.add(y0, total);
 			}
-		}
-		
-		return total;
+		});
+
+		return result.total(0);
 	}
 
 	/**
@@ -1517,22 +2674,30 @@ public class ImageStatistics {
 	 * @param mean Mean pixel intensity value.   
 	 * @return Pixel variance   
 	 */
-	public static double variance( ImageFloat64 img , double mean ) {
+	public static double variance( final ImageFloat64 img , final double mean ) {
+
+		final OrderedSums result = new OrderedSums(1);
 
-		double variance = 0;
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double variance = 0;
 
-		for (int y = 0; y < img.height; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
+				for( int y = y0; y < y1; y++ ) {
+					int index = img.startIndex + y*img.stride;
+					int indexEnd = index + img.width;
 
-			int indexEnd = index+img.width;
-			// for(int x = 0; x < img.width; x++ ) {
-			for (; index < indexEnd; index++ ) {
-				double d = (img.data[index]) - mean; 
-				variance += d*d;
+					for( ; index < indexEnd; index++ ) {
+						double d = (img.data[index]) - mean;
+						variance += d*d;
+					}
+				}
+
+				result.add(y0, variance);
 			}
-		}
+		});
 
-		return variance/(img.width*img.height);
+		return result.total(0)/(img.width*img.height);
 	}
 
 	/**
@@ -1542,41 +2707,59 @@ public class ImageStatistics {
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffSq(ImageFloat64 imgA, ImageFloat64 imgB ) {
-		double total = 0;
+	public static double meanDiffSq( final ImageFloat64 imgA, final ImageFloat64 imgB ) {
+		final OrderedSums result = new OrderedSums(1);
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				double difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += difference*difference;
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						double difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += difference*difference;
+					}
+				}
+
+				result.add(y0, total);
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result.total(0) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
-	 * <p>Computes the mean squared error (MSE) between the two images.</p>
+	 * <p>Computes the mean absolute error (MAE) between the two images.</p>
 	 *
 	 * @param imgA first image. Not modified.
 	 * @param imgB second image. Not modified.
 	 * @return error between the two images.
 	 */
-	public static double meanDiffAbs(ImageFloat64 imgA, ImageFloat64 imgB ) {
-		double total = 0;
+	public static double meanDiffAbs( final ImageFloat64 imgA, final ImageFloat64 imgB ) {
+		final OrderedSums result = new OrderedSums(1);
 
-		for (int y = 0; y < imgA.height; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			for (int x = 0; x < imgA.width; x++,indexA++,indexB++) {
-				double difference = (imgA.data[indexA])-(imgB.data[indexB]);
-				total += Math.abs(difference);
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				double total = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int indexA = imgA.startIndex + y*imgA.stride;
+					int indexB = imgB.startIndex + y*imgB.stride;
+					for( int x = 0; x < imgA.width; x++ , indexA++ , indexB++ ) {
+						double difference = (imgA.data[indexA])-(imgB.data[indexB]);
+						total += Math.abs(difference);
+					}
+				}
+
+				result.add(y0, total);
 			}
-		}
+		});
 
-		return total / (double)(imgA.width*imgA.height);
+		return result.total(0) / (double)(imgA.width*imgA.height);
 	}
 
 	/**
@@ -1586,19 +2769,110 @@ public class ImageStatistics {
 	 * @param minValue (input) Minimum possible intensity value   
 	 * @param histogram (output) Storage for histogram. Number of elements must be equal to max value.
 	 */
-	public static void histogram( ImageFloat64 input , int minValue , int histogram[] ) {
+	public static void histogram( final ImageFloat64 input , final int minValue , final int histogram[] ) {
 		for( int i = 0; i < histogram.length; i++ )
 			histogram[i] = 0;
-		
-		for( int y = 0; y < input.height; y++ ) {
-			int index = input.startIndex + y*input.stride;
-			int end = index + input.width;
 
-			for( ; index < end; index++ ) {
-				// floor value. just convert to int rounds towards zero
-				histogram[(int)input.data[index] - minValue ]++;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				// a band which covers the whole image can write directly into the output
+				int local[] = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						// floor value. just convert to int rounds towards zero
+						local[(int)input.data[index] - minValue]++;
+					}
+				}
+
+				if( local != histogram ) {
+					synchronized( histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
 			}
-		}
+		});
+	}
+
+	/**
+	 * Computes the minimum, maximum, mean, variance, and optionally the histogram of pixel values in a single
+	 * pass through the image.  If {@link ImageSummaryStatistics#histogram} is not null then the histogram
+	 * is computed, with {@link ImageSummaryStatistics#histogramMinValue} being the value of the first bin.
+	 *
+	 * @param input (input) Image. Not modified.
+	 * @param stats (output) Statistics of the pixel values. Modified.
+	 */
+	public static void summary( final ImageFloat64 input , final ImageSummaryStatistics stats ) {
+		final int histogram[] = stats.histogram;
+		final int minValue = stats.histogramMinValue;
+		if( histogram != null ) {
+			for( int i = 0; i < histogram.length; i++ )
+				histogram[i] = 0;
+		}
+
+		// values are relative to the first pixel to reduce numerical error
+		final double first = input.get(0,0);
+		final double offset = first;
+		final double extremes[] = new double[]{first,first};
+		// sum and sum of squares of each band
+		final OrderedSums sums = new OrderedSums(2);
+
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				int local[] = null;
+				if( histogram != null )
+					local = y0 == 0 && y1 == input.height ? histogram : new int[histogram.length];
+
+				double min = first, max = first;
+				double sum = 0, sumSq = 0;
+
+				for( int y = y0; y < y1; y++ ) {
+					int index = input.startIndex + y*input.stride;
+					int end = index + input.width;
+
+					for( ; index < end; index++ ) {
+						double v = input.data[index];
+						if( v < min )
+							min = v;
+						if( v > max )
+							max = v;
+						double d = v - offset;
+						sum += d;
+						sumSq += d*d;
+						if( local != null )
+							local[(int)v - minValue]++;
+					}
+				}
+
+				synchronized( extremes ) {
+					if( min < extremes[0] )
+						extremes[0] = min;
+					if( max > extremes[1] )
+						extremes[1] = max;
+					if( local != null && local != histogram ) {
+						for( int i = 0; i < histogram.length; i++ )
+							histogram[i] += local[i];
+					}
+				}
+				sums.add(y0, sum, sumSq);
+			}
+		});
+
+		// merge in the order of the bands so that the result doesn't depend on which thread finished first
+		double sum = sums.total(0), sumSq = sums.total(1);
+
+		double N = input.width*input.height;
+		double meanOffset = sum/N;
+		stats.min = extremes[0];
+		stats.max = extremes[1];
+		stats.mean = offset + meanOffset;
+		stats.variance = Math.max(0, sumSq/N - meanOffset*meanOffset);
 	}
 
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+/**
+ * Statistics of the pixel values inside an image which are computed together in a single pass by
+ * {@link ImageStatistics#summary}.
+ *
+ * @author Peter Abeles
+ */
+public class ImageSummaryStatistics {
+	/**
+	 * Minimum pixel value
+	 */
+	public double min;
+	/**
+	 * Maximum pixel value
+	 */
+	public double max;
+	/**
+	 * Mean pixel value
+	 */
+	public double mean;
+	/**
+	 * Variance of the pixel values
+	 */
+	public double variance;
+
+	/**
+	 * Storage for the histogram of pixel values.  If null then the histogram is not computed.  Must be large enough
+	 * to contain every pixel value.
+	 */
+	public int histogram[];
+	/**
+	 * The pixel value which is counted by the first element in the histogram.
+	 */
+	public int histogramMinValue;
+
+	/**
+	 * Configures it so that the histogram is computed.
+	 *
+	 * @param minValue Minimum possible pixel value.
+	 * @param maxValue Maximum possible pixel value.
+	 */
+	public ImageSummaryStatistics( int minValue , int maxValue ) {
+		histogramMinValue = minValue;
+		histogram = new int[maxValue - minValue + 1];
+	}
+
+	/**
+	 * Configures it so that the histogram is not computed.
+	 */
+	public ImageSummaryStatistics() {
+	}
+
+	/**
+	 * Returns the standard deviation of the pixel values
+	 */
+	public double getStdev() {
+		return Math.sqrt(variance);
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public double getVariance() {
+		return variance;
+	}
+
+	public int[] getHistogram() {
+		return histogram;
+	}
+
+	public int getHistogramMinValue() {
+		return histogramMinValue;
+	}
+}
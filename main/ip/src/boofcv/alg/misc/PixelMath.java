@@ -18,11 +18,15 @@
 package boofcv.alg.misc;
 
 import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.image.*;
 
 /**
  * Functions which perform basic arithmetic (e.g. addition, subtraction, multiplication, or division) on a pixel by pixel basis.
  *
+ * <p>Concurrency: Images are processed in bands of rows if turned on in {@link BoofConcurrency}.</p>
+ *
  * <p>DO NOT MODIFY: Generated by {@link boofcv.alg.misc.GeneratePixelMath}.</p>
  *
  * @author Peter Abeles
@@ -36,19 +40,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the absolute value image is written to. Modified.
 	 */
-	public static void abs( ImageSInt8 input , ImageSInt8 output ) {
+	public static void abs( final ImageSInt8 input , final ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (byte)Math.abs(input.data[indexSrc]);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = (byte)Math.abs(input.data[indexSrc]);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -57,19 +66,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the inverted image is written to. Modified.
 	 */
-	public static void invert( ImageSInt8 input , ImageSInt8 output ) {
+	public static void invert( final ImageSInt8 input , final ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (byte)-input.data[indexSrc];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = (byte)-input.data[indexSrc];
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -79,19 +93,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the absolute value image is written to. Modified.
 	 */
-	public static void abs( ImageSInt16 input , ImageSInt16 output ) {
+	public static void abs( final ImageSInt16 input , final ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (short)Math.abs(input.data[indexSrc]);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = (short)Math.abs(input.data[indexSrc]);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -100,19 +119,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the inverted image is written to. Modified.
 	 */
-	public static void invert( ImageSInt16 input , ImageSInt16 output ) {
+	public static void invert( final ImageSInt16 input , final ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (short)-input.data[indexSrc];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = (short)-input.data[indexSrc];
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -122,19 +146,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the absolute value image is written to. Modified.
 	 */
-	public static void abs( ImageSInt32 input , ImageSInt32 output ) {
+	public static void abs( final ImageSInt32 input , final ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.abs(input.data[indexSrc]);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = Math.abs(input.data[indexSrc]);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -143,19 +172,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the inverted image is written to. Modified.
 	 */
-	public static void invert( ImageSInt32 input , ImageSInt32 output ) {
+	public static void invert( final ImageSInt32 input , final ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = -input.data[indexSrc];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = -input.data[indexSrc];
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -165,19 +199,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the absolute value image is written to. Modified.
 	 */
-	public static void abs( ImageSInt64 input , ImageSInt64 output ) {
+	public static void abs( final ImageSInt64 input , final ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.abs(input.data[indexSrc]);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = Math.abs(input.data[indexSrc]);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -186,19 +225,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the inverted image is written to. Modified.
 	 */
-	public static void invert( ImageSInt64 input , ImageSInt64 output ) {
+	public static void invert( final ImageSInt64 input , final ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = -input.data[indexSrc];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = -input.data[indexSrc];
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -208,19 +252,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the absolute value image is written to. Modified.
 	 */
-	public static void abs( ImageFloat32 input , ImageFloat32 output ) {
+	public static void abs( final ImageFloat32 input , final ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.abs(input.data[indexSrc]);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = Math.abs(input.data[indexSrc]);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -229,19 +278,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the inverted image is written to. Modified.
 	 */
-	public static void invert( ImageFloat32 input , ImageFloat32 output ) {
+	public static void invert( final ImageFloat32 input , final ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = -input.data[indexSrc];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = -input.data[indexSrc];
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -251,19 +305,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the absolute value image is written to. Modified.
 	 */
-	public static void abs( ImageFloat64 input , ImageFloat64 output ) {
+	public static void abs( final ImageFloat64 input , final ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 		
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.abs(input.data[indexSrc]);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = Math.abs(input.data[indexSrc]);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -272,19 +331,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the inverted image is written to. Modified.
 	 */
-	public static void invert( ImageFloat64 input , ImageFloat64 output ) {
+	public static void invert( final ImageFloat64 input , final ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = -input.data[indexSrc];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = -input.data[indexSrc];
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -295,19 +359,24 @@ public class PixelMath {
 	 * @param value What each element is multiplied by.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageUInt8 input , double value , ImageUInt8 output ) {
+	public static void multiply( final ImageUInt8 input , final double value , final ImageUInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) * value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) * value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -320,22 +389,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageUInt8 input , double value , int lower , int upper , ImageUInt8 output ) {
+	public static void multiply( final ImageUInt8 input , final double value , final int lower , int upper , ImageUInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFF) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (int)((input.data[indexSrc] & 0xFF) * value);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (byte)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -345,19 +419,24 @@ public class PixelMath {
 	 * @param denominator What each element is divided by.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageUInt8 input , double denominator , ImageUInt8 output ) {
+	public static void divide( final ImageUInt8 input , final double denominator , final ImageUInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) / denominator);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) / denominator);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -369,22 +448,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageUInt8 input , double denominator , int lower , int upper , ImageUInt8 output ) {
+	public static void divide( final ImageUInt8 input , final double denominator , final int lower , int upper , ImageUInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFF) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (int)((input.data[indexSrc] & 0xFF) / denominator);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (byte)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -394,19 +478,24 @@ public class PixelMath {
 	 * @param value What is added to each element.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageUInt8 input , int value , ImageUInt8 output ) {
+	public static void plus( final ImageUInt8 input , final int value , final ImageUInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) + value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) + value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -418,22 +507,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageUInt8 input , int value , int lower , int upper , ImageUInt8 output ) {
+	public static void plus( final ImageUInt8 input , final int value , final int lower , int upper , ImageUInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] & 0xFF) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (input.data[indexSrc] & 0xFF) + value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (byte)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -447,19 +541,24 @@ public class PixelMath {
 	 * @param value What is subtracted from each element in input.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageUInt8 input , int value , ImageUInt8 output ) {
+	public static void minus( final ImageUInt8 input , final int value , final ImageUInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) - value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (byte)((input.data[indexSrc] & 0xFF) - value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -475,22 +574,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageUInt8 input , int value , int lower , int upper , ImageUInt8 output ) {
+	public static void minus( final ImageUInt8 input , final int value , final int lower , int upper , ImageUInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] & 0xFF) - value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (input.data[indexSrc] & 0xFF) - value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (byte)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -504,19 +608,24 @@ public class PixelMath {
 	 * @param input The input image, elements subtracted from value. Not modified.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( int value , ImageUInt8 input , ImageUInt8 output ) {
+	public static void minus( final int value , final ImageUInt8 input , final ImageUInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)( value - (input.data[indexSrc] & 0xFF));
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (byte)( value - (input.data[indexSrc] & 0xFF));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -532,22 +641,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( int value , ImageUInt8 input , int lower , int upper , ImageUInt8 output ) {
+	public static void minus( final int value , final ImageUInt8 input , final int lower , int upper , ImageUInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = value - (input.data[indexSrc] & 0xFF);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = value - (input.data[indexSrc] & 0xFF);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (byte)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -557,24 +671,28 @@ public class PixelMath {
 	 * @param min minimum value.
 	 * @param max maximum value.
 	 */
-	public static void boundImage( ImageUInt8 img , int min , int max ) {
-		final int h = img.getHeight();
+	public static void boundImage( final ImageUInt8 img , final int min , final int max ) {
 		final int w = img.getWidth();
 
-		byte[] data = img.data;
-
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				int value = data[index]& 0xFF;
-				if( value < min )
-					data[index] = (byte)min;
-				else if( value > max )
-					data[index] = (byte)max;
+		final byte[] data = img.data;
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+					int indexEnd = index+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; index < indexEnd; index++) {
+						int value = data[index]& 0xFF;
+						if( value < min )
+							data[index] = (byte)min;
+						else if( value > max )
+							data[index] = (byte)max;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -586,23 +704,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param diff Absolute value of difference image. Modified.
 	 */
-	public static void diffAbs( ImageUInt8 imgA , ImageUInt8 imgB , ImageUInt8 diff ) {
+	public static void diffAbs( final ImageUInt8 imgA , final ImageUInt8 imgB , final ImageUInt8 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (byte)Math.abs((imgA.data[indexA] & 0xFF) - (imgB.data[indexB] & 0xFF));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexDiff = diff.getStartIndex() + y * diff.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
+						diff.data[indexDiff] = (byte)Math.abs((imgA.data[indexA] & 0xFF) - (imgB.data[indexB] & 0xFF));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -611,26 +733,30 @@ public class PixelMath {
 	 * @param input MultiSpectral image
 	 * @param output Gray scale image containing average pixel values
 	 */
-	public static void averageBand( MultiSpectral<ImageUInt8> input , ImageUInt8 output ) {
-		final int h = input.getHeight();
+	public static void averageBand( final MultiSpectral<ImageUInt8> input , final ImageUInt8 output ) {
 		final int w = input.getWidth();
 
-		ImageUInt8[] bands = input.bands;
+		final ImageUInt8[] bands = input.bands;
 		
-		for (int y = 0; y < h; y++) {
-			int indexInput = input.getStartIndex() + y * input.getStride();
-			int indexOutput = output.getStartIndex() + y * output.getStride();
-
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
-				int total = 0;
-				for( int i = 0; i < bands.length; i++ ) {
-					total += bands[i].data[ indexInput ]& 0xFF;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexInput = input.getStartIndex() + y * input.getStride();
+					int indexOutput = output.getStartIndex() + y * output.getStride();
+
+					int indexEnd = indexInput+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
+						int total = 0;
+						for( int i = 0; i < bands.length; i++ ) {
+							total += bands[i].data[ indexInput ]& 0xFF;
+						}
+						output.data[indexOutput] = (byte)(total / bands.length);
+					}
 				}
-				output.data[indexOutput] = (byte)(total / bands.length);
 			}
-		}
+		});
 	}
 
 	/**
@@ -641,19 +767,24 @@ public class PixelMath {
 	 * @param value What each element is multiplied by.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageSInt8 input , double value , ImageSInt8 output ) {
+	public static void multiply( final ImageSInt8 input , final double value , final ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] ) * value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (byte)((input.data[indexSrc] ) * value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -666,22 +797,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageSInt8 input , double value , int lower , int upper , ImageSInt8 output ) {
+	public static void multiply( final ImageSInt8 input , final double value , final int lower , int upper , ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (int)((input.data[indexSrc] ) * value);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (byte)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -691,19 +827,24 @@ public class PixelMath {
 	 * @param denominator What each element is divided by.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageSInt8 input , double denominator , ImageSInt8 output ) {
+	public static void divide( final ImageSInt8 input , final double denominator , final ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] ) / denominator);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (byte)((input.data[indexSrc] ) / denominator);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -715,22 +856,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageSInt8 input , double denominator , int lower , int upper , ImageSInt8 output ) {
+	public static void divide( final ImageSInt8 input , final double denominator , final int lower , int upper , ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (int)((input.data[indexSrc] ) / denominator);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (byte)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -740,19 +886,24 @@ public class PixelMath {
 	 * @param value What is added to each element.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageSInt8 input , int value , ImageSInt8 output ) {
+	public static void plus( final ImageSInt8 input , final int value , final ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] ) + value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (byte)((input.data[indexSrc] ) + value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -764,22 +915,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageSInt8 input , int value , int lower , int upper , ImageSInt8 output ) {
+	public static void plus( final ImageSInt8 input , final int value , final int lower , int upper , ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (input.data[indexSrc] ) + value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (byte)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -793,19 +949,24 @@ public class PixelMath {
 	 * @param value What is subtracted from each element in input.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageSInt8 input , int value , ImageSInt8 output ) {
+	public static void minus( final ImageSInt8 input , final int value , final ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)((input.data[indexSrc] ) - value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (byte)((input.data[indexSrc] ) - value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -821,22 +982,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageSInt8 input , int value , int lower , int upper , ImageSInt8 output ) {
+	public static void minus( final ImageSInt8 input , final int value , final int lower , int upper , ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) - value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (input.data[indexSrc] ) - value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (byte)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -850,19 +1016,24 @@ public class PixelMath {
 	 * @param input The input image, elements subtracted from value. Not modified.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( int value , ImageSInt8 input , ImageSInt8 output ) {
+	public static void minus( final int value , final ImageSInt8 input , final ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (byte)( value - (input.data[indexSrc] ));
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (byte)( value - (input.data[indexSrc] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -878,22 +1049,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( int value , ImageSInt8 input , int lower , int upper , ImageSInt8 output ) {
+	public static void minus( final int value , final ImageSInt8 input , final int lower , int upper , ImageSInt8 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = value - (input.data[indexSrc] );
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (byte)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = value - (input.data[indexSrc] );
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (byte)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -903,24 +1079,28 @@ public class PixelMath {
 	 * @param min minimum value.
 	 * @param max maximum value.
 	 */
-	public static void boundImage( ImageSInt8 img , int min , int max ) {
-		final int h = img.getHeight();
+	public static void boundImage( final ImageSInt8 img , final int min , final int max ) {
 		final int w = img.getWidth();
 
-		byte[] data = img.data;
-
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				int value = data[index];
-				if( value < min )
-					data[index] = (byte)min;
-				else if( value > max )
-					data[index] = (byte)max;
+		final byte[] data = img.data;
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+					int indexEnd = index+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; index < indexEnd; index++) {
+						int value = data[index];
+						if( value < min )
+							data[index] = (byte)min;
+						else if( value > max )
+							data[index] = (byte)max;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -932,23 +1112,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param diff Absolute value of difference image. Modified.
 	 */
-	public static void diffAbs( ImageSInt8 imgA , ImageSInt8 imgB , ImageSInt8 diff ) {
+	public static void diffAbs( final ImageSInt8 imgA , final ImageSInt8 imgB , final ImageSInt8 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (byte)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexDiff = diff.getStartIndex() + y * diff.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
+						diff.data[indexDiff] = (byte)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -957,26 +1141,30 @@ public class PixelMath {
 	 * @param input MultiSpectral image
 	 * @param output Gray scale image containing average pixel values
 	 */
-	public static void averageBand( MultiSpectral<ImageSInt8> input , ImageSInt8 output ) {
-		final int h = input.getHeight();
+	public static void averageBand( final MultiSpectral<ImageSInt8> input , final ImageSInt8 output ) {
 		final int w = input.getWidth();
 
-		ImageSInt8[] bands = input.bands;
+		final ImageSInt8[] bands = input.bands;
 		
-		for (int y = 0; y < h; y++) {
-			int indexInput = input.getStartIndex() + y * input.getStride();
-			int indexOutput = output.getStartIndex() + y * output.getStride();
-
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
-				int total = 0;
-				for( int i = 0; i < bands.length; i++ ) {
-					total += bands[i].data[ indexInput ];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexInput = input.getStartIndex() + y * input.getStride();
+					int indexOutput = output.getStartIndex() + y * output.getStride();
+
+					int indexEnd = indexInput+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
+						int total = 0;
+						for( int i = 0; i < bands.length; i++ ) {
+							total += bands[i].data[ indexInput ];
+						}
+						output.data[indexOutput] = (byte)(total / bands.length);
+					}
 				}
-				output.data[indexOutput] = (byte)(total / bands.length);
 			}
-		}
+		});
 	}
 
 	/**
@@ -987,19 +1175,24 @@ public class PixelMath {
 	 * @param value What each element is multiplied by.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageUInt16 input , double value , ImageUInt16 output ) {
+	public static void multiply( final ImageUInt16 input , final double value , final ImageUInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) * value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) * value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1012,22 +1205,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageUInt16 input , double value , int lower , int upper , ImageUInt16 output ) {
+	public static void multiply( final ImageUInt16 input , final double value , final int lower , int upper , ImageUInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFFFF) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (int)((input.data[indexSrc] & 0xFFFF) * value);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (short)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1037,19 +1235,24 @@ public class PixelMath {
 	 * @param denominator What each element is divided by.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageUInt16 input , double denominator , ImageUInt16 output ) {
+	public static void divide( final ImageUInt16 input , final double denominator , final ImageUInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) / denominator);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) / denominator);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1061,22 +1264,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageUInt16 input , double denominator , int lower , int upper , ImageUInt16 output ) {
+	public static void divide( final ImageUInt16 input , final double denominator , final int lower , int upper , ImageUInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] & 0xFFFF) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (int)((input.data[indexSrc] & 0xFFFF) / denominator);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (short)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1086,19 +1294,24 @@ public class PixelMath {
 	 * @param value What is added to each element.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageUInt16 input , int value , ImageUInt16 output ) {
+	public static void plus( final ImageUInt16 input , final int value , final ImageUInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) + value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) + value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1110,22 +1323,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageUInt16 input , int value , int lower , int upper , ImageUInt16 output ) {
+	public static void plus( final ImageUInt16 input , final int value , final int lower , int upper , ImageUInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] & 0xFFFF) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (input.data[indexSrc] & 0xFFFF) + value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (short)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1139,19 +1357,24 @@ public class PixelMath {
 	 * @param value What is subtracted from each element in input.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageUInt16 input , int value , ImageUInt16 output ) {
+	public static void minus( final ImageUInt16 input , final int value , final ImageUInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) - value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (short)((input.data[indexSrc] & 0xFFFF) - value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1167,22 +1390,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageUInt16 input , int value , int lower , int upper , ImageUInt16 output ) {
+	public static void minus( final ImageUInt16 input , final int value , final int lower , int upper , ImageUInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] & 0xFFFF) - value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (input.data[indexSrc] & 0xFFFF) - value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (short)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1196,19 +1424,24 @@ public class PixelMath {
 	 * @param input The input image, elements subtracted from value. Not modified.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( int value , ImageUInt16 input , ImageUInt16 output ) {
+	public static void minus( final int value , final ImageUInt16 input , final ImageUInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)( value - (input.data[indexSrc] & 0xFFFF));
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (short)( value - (input.data[indexSrc] & 0xFFFF));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1224,22 +1457,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( int value , ImageUInt16 input , int lower , int upper , ImageUInt16 output ) {
+	public static void minus( final int value , final ImageUInt16 input , final int lower , int upper , ImageUInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = value - (input.data[indexSrc] & 0xFFFF);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = value - (input.data[indexSrc] & 0xFFFF);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (short)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1249,24 +1487,28 @@ public class PixelMath {
 	 * @param min minimum value.
 	 * @param max maximum value.
 	 */
-	public static void boundImage( ImageUInt16 img , int min , int max ) {
-		final int h = img.getHeight();
+	public static void boundImage( final ImageUInt16 img , final int min , final int max ) {
 		final int w = img.getWidth();
 
-		short[] data = img.data;
-
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				int value = data[index]& 0xFFFF;
-				if( value < min )
-					data[index] = (short)min;
-				else if( value > max )
-					data[index] = (short)max;
+		final short[] data = img.data;
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+					int indexEnd = index+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; index < indexEnd; index++) {
+						int value = data[index]& 0xFFFF;
+						if( value < min )
+							data[index] = (short)min;
+						else if( value > max )
+							data[index] = (short)max;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1278,23 +1520,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param diff Absolute value of difference image. Modified.
 	 */
-	public static void diffAbs( ImageUInt16 imgA , ImageUInt16 imgB , ImageUInt16 diff ) {
+	public static void diffAbs( final ImageUInt16 imgA , final ImageUInt16 imgB , final ImageUInt16 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (short)Math.abs((imgA.data[indexA] & 0xFFFF) - (imgB.data[indexB] & 0xFFFF));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexDiff = diff.getStartIndex() + y * diff.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
+						diff.data[indexDiff] = (short)Math.abs((imgA.data[indexA] & 0xFFFF) - (imgB.data[indexB] & 0xFFFF));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1303,26 +1549,30 @@ public class PixelMath {
 	 * @param input MultiSpectral image
 	 * @param output Gray scale image containing average pixel values
 	 */
-	public static void averageBand( MultiSpectral<ImageUInt16> input , ImageUInt16 output ) {
-		final int h = input.getHeight();
+	public static void averageBand( final MultiSpectral<ImageUInt16> input , final ImageUInt16 output ) {
 		final int w = input.getWidth();
 
-		ImageUInt16[] bands = input.bands;
+		final ImageUInt16[] bands = input.bands;
 		
-		for (int y = 0; y < h; y++) {
-			int indexInput = input.getStartIndex() + y * input.getStride();
-			int indexOutput = output.getStartIndex() + y * output.getStride();
-
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
-				int total = 0;
-				for( int i = 0; i < bands.length; i++ ) {
-					total += bands[i].data[ indexInput ]& 0xFFFF;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexInput = input.getStartIndex() + y * input.getStride();
+					int indexOutput = output.getStartIndex() + y * output.getStride();
+
+					int indexEnd = indexInput+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
+						int total = 0;
+						for( int i = 0; i < bands.length; i++ ) {
+							total += bands[i].data[ indexInput ]& 0xFFFF;
+						}
+						output.data[indexOutput] = (short)(total / bands.length);
+					}
 				}
-				output.data[indexOutput] = (short)(total / bands.length);
 			}
-		}
+		});
 	}
 
 	/**
@@ -1333,19 +1583,24 @@ public class PixelMath {
 	 * @param value What each element is multiplied by.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageSInt16 input , double value , ImageSInt16 output ) {
+	public static void multiply( final ImageSInt16 input , final double value , final ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] ) * value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (short)((input.data[indexSrc] ) * value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1358,22 +1613,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageSInt16 input , double value , int lower , int upper , ImageSInt16 output ) {
+	public static void multiply( final ImageSInt16 input , final double value , final int lower , int upper , ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (int)((input.data[indexSrc] ) * value);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (short)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1383,19 +1643,24 @@ public class PixelMath {
 	 * @param denominator What each element is divided by.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageSInt16 input , double denominator , ImageSInt16 output ) {
+	public static void divide( final ImageSInt16 input , final double denominator , final ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] ) / denominator);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (short)((input.data[indexSrc] ) / denominator);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1407,22 +1672,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageSInt16 input , double denominator , int lower , int upper , ImageSInt16 output ) {
+	public static void divide( final ImageSInt16 input , final double denominator , final int lower , int upper , ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (int)((input.data[indexSrc] ) / denominator);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (short)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1432,19 +1702,24 @@ public class PixelMath {
 	 * @param value What is added to each element.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageSInt16 input , int value , ImageSInt16 output ) {
+	public static void plus( final ImageSInt16 input , final int value , final ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] ) + value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (short)((input.data[indexSrc] ) + value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1456,22 +1731,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageSInt16 input , int value , int lower , int upper , ImageSInt16 output ) {
+	public static void plus( final ImageSInt16 input , final int value , final int lower , int upper , ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (input.data[indexSrc] ) + value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (short)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1485,19 +1765,24 @@ public class PixelMath {
 	 * @param value What is subtracted from each element in input.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageSInt16 input , int value , ImageSInt16 output ) {
+	public static void minus( final ImageSInt16 input , final int value , final ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)((input.data[indexSrc] ) - value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (short)((input.data[indexSrc] ) - value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1513,22 +1798,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageSInt16 input , int value , int lower , int upper , ImageSInt16 output ) {
+	public static void minus( final ImageSInt16 input , final int value , final int lower , int upper , ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) - value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (input.data[indexSrc] ) - value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (short)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1542,19 +1832,24 @@ public class PixelMath {
 	 * @param input The input image, elements subtracted from value. Not modified.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( int value , ImageSInt16 input , ImageSInt16 output ) {
+	public static void minus( final int value , final ImageSInt16 input , final ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (short)( value - (input.data[indexSrc] ));
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (short)( value - (input.data[indexSrc] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1570,22 +1865,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( int value , ImageSInt16 input , int lower , int upper , ImageSInt16 output ) {
+	public static void minus( final int value , final ImageSInt16 input , final int lower , int upper , ImageSInt16 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = value - (input.data[indexSrc] );
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = (short)val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = value - (input.data[indexSrc] );
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = (short)val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1595,24 +1895,28 @@ public class PixelMath {
 	 * @param min minimum value.
 	 * @param max maximum value.
 	 */
-	public static void boundImage( ImageSInt16 img , int min , int max ) {
-		final int h = img.getHeight();
+	public static void boundImage( final ImageSInt16 img , final int min , final int max ) {
 		final int w = img.getWidth();
 
-		short[] data = img.data;
-
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				int value = data[index];
-				if( value < min )
-					data[index] = (short)min;
-				else if( value > max )
-					data[index] = (short)max;
+		final short[] data = img.data;
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+					int indexEnd = index+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; index < indexEnd; index++) {
+						int value = data[index];
+						if( value < min )
+							data[index] = (short)min;
+						else if( value > max )
+							data[index] = (short)max;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1624,23 +1928,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param diff Absolute value of difference image. Modified.
 	 */
-	public static void diffAbs( ImageSInt16 imgA , ImageSInt16 imgB , ImageSInt16 diff ) {
+	public static void diffAbs( final ImageSInt16 imgA , final ImageSInt16 imgB , final ImageSInt16 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (short)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexDiff = diff.getStartIndex() + y * diff.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
+						diff.data[indexDiff] = (short)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1649,26 +1957,30 @@ public class PixelMath {
 	 * @param input MultiSpectral image
 	 * @param output Gray scale image containing average pixel values
 	 */
-	public static void averageBand( MultiSpectral<ImageSInt16> input , ImageSInt16 output ) {
-		final int h = input.getHeight();
+	public static void averageBand( final MultiSpectral<ImageSInt16> input , final ImageSInt16 output ) {
 		final int w = input.getWidth();
 
-		ImageSInt16[] bands = input.bands;
+		final ImageSInt16[] bands = input.bands;
 		
-		for (int y = 0; y < h; y++) {
-			int indexInput = input.getStartIndex() + y * input.getStride();
-			int indexOutput = output.getStartIndex() + y * output.getStride();
-
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
-				int total = 0;
-				for( int i = 0; i < bands.length; i++ ) {
-					total += bands[i].data[ indexInput ];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexInput = input.getStartIndex() + y * input.getStride();
+					int indexOutput = output.getStartIndex() + y * output.getStride();
+
+					int indexEnd = indexInput+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
+						int total = 0;
+						for( int i = 0; i < bands.length; i++ ) {
+							total += bands[i].data[ indexInput ];
+						}
+						output.data[indexOutput] = (short)(total / bands.length);
+					}
 				}
-				output.data[indexOutput] = (short)(total / bands.length);
 			}
-		}
+		});
 	}
 
 	/**
@@ -1679,19 +1991,24 @@ public class PixelMath {
 	 * @param value What each element is multiplied by.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageSInt32 input , double value , ImageSInt32 output ) {
+	public static void multiply( final ImageSInt32 input , final double value , final ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (int)((input.data[indexSrc] ) * value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (int)((input.data[indexSrc] ) * value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1704,22 +2021,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageSInt32 input , double value , int lower , int upper , ImageSInt32 output ) {
+	public static void multiply( final ImageSInt32 input , final double value , final int lower , int upper , ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (int)((input.data[indexSrc] ) * value);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1729,19 +2051,24 @@ public class PixelMath {
 	 * @param denominator What each element is divided by.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageSInt32 input , double denominator , ImageSInt32 output ) {
+	public static void divide( final ImageSInt32 input , final double denominator , final ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (int)((input.data[indexSrc] ) / denominator);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (int)((input.data[indexSrc] ) / denominator);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1753,22 +2080,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageSInt32 input , double denominator , int lower , int upper , ImageSInt32 output ) {
+	public static void divide( final ImageSInt32 input , final double denominator , final int lower , int upper , ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (int)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (int)((input.data[indexSrc] ) / denominator);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1778,19 +2110,24 @@ public class PixelMath {
 	 * @param value What is added to each element.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageSInt32 input , int value , ImageSInt32 output ) {
+	public static void plus( final ImageSInt32 input , final int value , final ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) + value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) + value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1802,22 +2139,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageSInt32 input , int value , int lower , int upper , ImageSInt32 output ) {
+	public static void plus( final ImageSInt32 input , final int value , final int lower , int upper , ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (input.data[indexSrc] ) + value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1831,19 +2173,24 @@ public class PixelMath {
 	 * @param value What is subtracted from each element in input.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageSInt32 input , int value , ImageSInt32 output ) {
+	public static void minus( final ImageSInt32 input , final int value , final ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) - value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) - value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1859,22 +2206,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageSInt32 input , int value , int lower , int upper , ImageSInt32 output ) {
+	public static void minus( final ImageSInt32 input , final int value , final int lower , int upper , ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = (input.data[indexSrc] ) - value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = (input.data[indexSrc] ) - value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1888,19 +2240,24 @@ public class PixelMath {
 	 * @param input The input image, elements subtracted from value. Not modified.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( int value , ImageSInt32 input , ImageSInt32 output ) {
+	public static void minus( final int value , final ImageSInt32 input , final ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ( value - (input.data[indexSrc] ));
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ( value - (input.data[indexSrc] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1916,22 +2273,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( int value , ImageSInt32 input , int lower , int upper , ImageSInt32 output ) {
+	public static void minus( final int value , final ImageSInt32 input , final int lower , int upper , ImageSInt32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				int val = value - (input.data[indexSrc] );
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						int val = value - (input.data[indexSrc] );
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1941,24 +2303,28 @@ public class PixelMath {
 	 * @param min minimum value.
 	 * @param max maximum value.
 	 */
-	public static void boundImage( ImageSInt32 img , int min , int max ) {
-		final int h = img.getHeight();
+	public static void boundImage( final ImageSInt32 img , final int min , final int max ) {
 		final int w = img.getWidth();
 
-		int[] data = img.data;
-
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				int value = data[index];
-				if( value < min )
-					data[index] = min;
-				else if( value > max )
-					data[index] = max;
+		final int[] data = img.data;
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+					int indexEnd = index+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; index < indexEnd; index++) {
+						int value = data[index];
+						if( value < min )
+							data[index] = min;
+						else if( value > max )
+							data[index] = max;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1970,23 +2336,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param diff Absolute value of difference image. Modified.
 	 */
-	public static void diffAbs( ImageSInt32 imgA , ImageSInt32 imgB , ImageSInt32 diff ) {
+	public static void diffAbs( final ImageSInt32 imgA , final ImageSInt32 imgB , final ImageSInt32 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (int)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexDiff = diff.getStartIndex() + y * diff.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
+						diff.data[indexDiff] = (int)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -1995,26 +2365,30 @@ public class PixelMath {
 	 * @param input MultiSpectral image
 	 * @param output Gray scale image containing average pixel values
 	 */
-	public static void averageBand( MultiSpectral<ImageSInt32> input , ImageSInt32 output ) {
-		final int h = input.getHeight();
+	public static void averageBand( final MultiSpectral<ImageSInt32> input , final ImageSInt32 output ) {
 		final int w = input.getWidth();
 
-		ImageSInt32[] bands = input.bands;
+		final ImageSInt32[] bands = input.bands;
 		
-		for (int y = 0; y < h; y++) {
-			int indexInput = input.getStartIndex() + y * input.getStride();
-			int indexOutput = output.getStartIndex() + y * output.getStride();
-
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
-				int total = 0;
-				for( int i = 0; i < bands.length; i++ ) {
-					total += bands[i].data[ indexInput ];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexInput = input.getStartIndex() + y * input.getStride();
+					int indexOutput = output.getStartIndex() + y * output.getStride();
+
+					int indexEnd = indexInput+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
+						int total = 0;
+						for( int i = 0; i < bands.length; i++ ) {
+							total += bands[i].data[ indexInput ];
+						}
+						output.data[indexOutput] = (total / bands.length);
+					}
 				}
-				output.data[indexOutput] = (total / bands.length);
 			}
-		}
+		});
 	}
 
 	/**
@@ -2025,19 +2399,24 @@ public class PixelMath {
 	 * @param value What each element is multiplied by.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageSInt64 input , double value , ImageSInt64 output ) {
+	public static void multiply( final ImageSInt64 input , final double value , final ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (long)((input.data[indexSrc] ) * value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (long)((input.data[indexSrc] ) * value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2050,22 +2429,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageSInt64 input , double value , long lower , long upper , ImageSInt64 output ) {
+	public static void multiply( final ImageSInt64 input , final double value , final long lower , long upper , ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				long val = (long)((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						long val = (long)((input.data[indexSrc] ) * value);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2075,19 +2459,24 @@ public class PixelMath {
 	 * @param denominator What each element is divided by.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageSInt64 input , double denominator , ImageSInt64 output ) {
+	public static void divide( final ImageSInt64 input , final double denominator , final ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = (long)((input.data[indexSrc] ) / denominator);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = (long)((input.data[indexSrc] ) / denominator);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2099,22 +2488,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageSInt64 input , double denominator , long lower , long upper , ImageSInt64 output ) {
+	public static void divide( final ImageSInt64 input , final double denominator , final long lower , long upper , ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				long val = (long)((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						long val = (long)((input.data[indexSrc] ) / denominator);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2124,19 +2518,24 @@ public class PixelMath {
 	 * @param value What is added to each element.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageSInt64 input , long value , ImageSInt64 output ) {
+	public static void plus( final ImageSInt64 input , final long value , final ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) + value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) + value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2148,22 +2547,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageSInt64 input , long value , long lower , long upper , ImageSInt64 output ) {
+	public static void plus( final ImageSInt64 input , final long value , final long lower , long upper , ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				long val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						long val = (input.data[indexSrc] ) + value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2177,19 +2581,24 @@ public class PixelMath {
 	 * @param value What is subtracted from each element in input.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageSInt64 input , long value , ImageSInt64 output ) {
+	public static void minus( final ImageSInt64 input , final long value , final ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) - value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) - value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2205,22 +2614,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageSInt64 input , long value , long lower , long upper , ImageSInt64 output ) {
+	public static void minus( final ImageSInt64 input , final long value , final long lower , long upper , ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				long val = (input.data[indexSrc] ) - value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						long val = (input.data[indexSrc] ) - value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2234,19 +2648,24 @@ public class PixelMath {
 	 * @param input The input image, elements subtracted from value. Not modified.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( long value , ImageSInt64 input , ImageSInt64 output ) {
+	public static void minus( final long value , final ImageSInt64 input , final ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ( value - (input.data[indexSrc] ));
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ( value - (input.data[indexSrc] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2262,22 +2681,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( long value , ImageSInt64 input , long lower , long upper , ImageSInt64 output ) {
+	public static void minus( final long value , final ImageSInt64 input , final long lower , long upper , ImageSInt64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				long val = value - (input.data[indexSrc] );
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						long val = value - (input.data[indexSrc] );
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2287,24 +2711,28 @@ public class PixelMath {
 	 * @param min minimum value.
 	 * @param max maximum value.
 	 */
-	public static void boundImage( ImageSInt64 img , long min , long max ) {
-		final int h = img.getHeight();
+	public static void boundImage( final ImageSInt64 img , final long min , final long max ) {
 		final int w = img.getWidth();
 
-		long[] data = img.data;
-
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				long value = data[index];
-				if( value < min )
-					data[index] = min;
-				else if( value > max )
-					data[index] = max;
+		final long[] data = img.data;
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+					int indexEnd = index+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; index < indexEnd; index++) {
+						long value = data[index];
+						if( value < min )
+							data[index] = min;
+						else if( value > max )
+							data[index] = max;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2316,23 +2744,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param diff Absolute value of difference image. Modified.
 	 */
-	public static void diffAbs( ImageSInt64 imgA , ImageSInt64 imgB , ImageSInt64 diff ) {
+	public static void diffAbs( final ImageSInt64 imgA , final ImageSInt64 imgB , final ImageSInt64 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = (long)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexDiff = diff.getStartIndex() + y * diff.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
+						diff.data[indexDiff] = (long)Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2341,26 +2773,30 @@ public class PixelMath {
 	 * @param input MultiSpectral image
 	 * @param output Gray scale image containing average pixel values
 	 */
-	public static void averageBand( MultiSpectral<ImageSInt64> input , ImageSInt64 output ) {
-		final int h = input.getHeight();
+	public static void averageBand( final MultiSpectral<ImageSInt64> input , final ImageSInt64 output ) {
 		final int w = input.getWidth();
 
-		ImageSInt64[] bands = input.bands;
+		final ImageSInt64[] bands = input.bands;
 		
-		for (int y = 0; y < h; y++) {
-			int indexInput = input.getStartIndex() + y * input.getStride();
-			int indexOutput = output.getStartIndex() + y * output.getStride();
-
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
-				long total = 0;
-				for( int i = 0; i < bands.length; i++ ) {
-					total += bands[i].data[ indexInput ];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexInput = input.getStartIndex() + y * input.getStride();
+					int indexOutput = output.getStartIndex() + y * output.getStride();
+
+					int indexEnd = indexInput+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
+						long total = 0;
+						for( int i = 0; i < bands.length; i++ ) {
+							total += bands[i].data[ indexInput ];
+						}
+						output.data[indexOutput] = (total / bands.length);
+					}
 				}
-				output.data[indexOutput] = (total / bands.length);
 			}
-		}
+		});
 	}
 
 	/**
@@ -2371,19 +2807,24 @@ public class PixelMath {
 	 * @param value What each element is multiplied by.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageFloat32 input , float value , ImageFloat32 output ) {
+	public static void multiply( final ImageFloat32 input , final float value , final ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) * value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) * value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2396,22 +2837,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageFloat32 input , float value , float lower , float upper , ImageFloat32 output ) {
+	public static void multiply( final ImageFloat32 input , final float value , final float lower , float upper , ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				float val = ((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						float val = ((input.data[indexSrc] ) * value);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2421,19 +2867,24 @@ public class PixelMath {
 	 * @param denominator What each element is divided by.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageFloat32 input , float denominator , ImageFloat32 output ) {
+	public static void divide( final ImageFloat32 input , final float denominator , final ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) / denominator);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) / denominator);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2445,22 +2896,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageFloat32 input , float denominator , float lower , float upper , ImageFloat32 output ) {
+	public static void divide( final ImageFloat32 input , final float denominator , final float lower , float upper , ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				float val = ((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						float val = ((input.data[indexSrc] ) / denominator);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2470,19 +2926,24 @@ public class PixelMath {
 	 * @param value What is added to each element.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageFloat32 input , float value , ImageFloat32 output ) {
+	public static void plus( final ImageFloat32 input , final float value , final ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) + value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) + value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2494,22 +2955,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageFloat32 input , float value , float lower , float upper , ImageFloat32 output ) {
+	public static void plus( final ImageFloat32 input , final float value , final float lower , float upper , ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				float val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						float val = (input.data[indexSrc] ) + value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2523,19 +2989,24 @@ public class PixelMath {
 	 * @param value What is subtracted from each element in input.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageFloat32 input , float value , ImageFloat32 output ) {
+	public static void minus( final ImageFloat32 input , final float value , final ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) - value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) - value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2551,22 +3022,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageFloat32 input , float value , float lower , float upper , ImageFloat32 output ) {
+	public static void minus( final ImageFloat32 input , final float value , final float lower , float upper , ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				float val = (input.data[indexSrc] ) - value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						float val = (input.data[indexSrc] ) - value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2580,19 +3056,24 @@ public class PixelMath {
 	 * @param input The input image, elements subtracted from value. Not modified.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( float value , ImageFloat32 input , ImageFloat32 output ) {
+	public static void minus( final float value , final ImageFloat32 input , final ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ( value - (input.data[indexSrc] ));
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ( value - (input.data[indexSrc] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2608,22 +3089,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( float value , ImageFloat32 input , float lower , float upper , ImageFloat32 output ) {
+	public static void minus( final float value , final ImageFloat32 input , final float lower , float upper , ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				float val = value - (input.data[indexSrc] );
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						float val = value - (input.data[indexSrc] );
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2633,24 +3119,28 @@ public class PixelMath {
 	 * @param min minimum value.
 	 * @param max maximum value.
 	 */
-	public static void boundImage( ImageFloat32 img , float min , float max ) {
-		final int h = img.getHeight();
+	public static void boundImage( final ImageFloat32 img , final float min , final float max ) {
 		final int w = img.getWidth();
 
-		float[] data = img.data;
-
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				float value = data[index];
-				if( value < min )
-					data[index] = min;
-				else if( value > max )
-					data[index] = max;
+		final float[] data = img.data;
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+					int indexEnd = index+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; index < indexEnd; index++) {
+						float value = data[index];
+						if( value < min )
+							data[index] = min;
+						else if( value > max )
+							data[index] = max;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2662,23 +3152,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param diff Absolute value of difference image. Modified.
 	 */
-	public static void diffAbs( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 diff ) {
+	public static void diffAbs( final ImageFloat32 imgA , final ImageFloat32 imgB , final ImageFloat32 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexDiff = diff.getStartIndex() + y * diff.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
+						diff.data[indexDiff] = Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2687,26 +3181,30 @@ public class PixelMath {
 	 * @param input MultiSpectral image
 	 * @param output Gray scale image containing average pixel values
 	 */
-	public static void averageBand( MultiSpectral<ImageFloat32> input , ImageFloat32 output ) {
-		final int h = input.getHeight();
+	public static void averageBand( final MultiSpectral<ImageFloat32> input , final ImageFloat32 output ) {
 		final int w = input.getWidth();
 
-		ImageFloat32[] bands = input.bands;
+		final ImageFloat32[] bands = input.bands;
 		
-		for (int y = 0; y < h; y++) {
-			int indexInput = input.getStartIndex() + y * input.getStride();
-			int indexOutput = output.getStartIndex() + y * output.getStride();
-
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
-				float total = 0;
-				for( int i = 0; i < bands.length; i++ ) {
-					total += bands[i].data[ indexInput ];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexInput = input.getStartIndex() + y * input.getStride();
+					int indexOutput = output.getStartIndex() + y * output.getStride();
+
+					int indexEnd = indexInput+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
+						float total = 0;
+						for( int i = 0; i < bands.length; i++ ) {
+							total += bands[i].data[ indexInput ];
+						}
+						output.data[indexOutput] = (total / bands.length);
+					}
 				}
-				output.data[indexOutput] = (total / bands.length);
 			}
-		}
+		});
 	}
 
 	/**
@@ -2717,19 +3215,24 @@ public class PixelMath {
 	 * @param value What each element is multiplied by.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageFloat64 input , double value , ImageFloat64 output ) {
+	public static void multiply( final ImageFloat64 input , final double value , final ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) * value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) * value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2742,22 +3245,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void multiply( ImageFloat64 input , double value , double lower , double upper , ImageFloat64 output ) {
+	public static void multiply( final ImageFloat64 input , final double value , final double lower , double upper , ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				double val = ((input.data[indexSrc] ) * value);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						double val = ((input.data[indexSrc] ) * value);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2767,19 +3275,24 @@ public class PixelMath {
 	 * @param denominator What each element is divided by.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageFloat64 input , double denominator , ImageFloat64 output ) {
+	public static void divide( final ImageFloat64 input , final double denominator , final ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) / denominator);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) / denominator);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2791,22 +3304,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void divide( ImageFloat64 input , double denominator , double lower , double upper , ImageFloat64 output ) {
+	public static void divide( final ImageFloat64 input , final double denominator , final double lower , double upper , ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				double val = ((input.data[indexSrc] ) / denominator);
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						double val = ((input.data[indexSrc] ) / denominator);
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2816,19 +3334,24 @@ public class PixelMath {
 	 * @param value What is added to each element.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageFloat64 input , double value , ImageFloat64 output ) {
+	public static void plus( final ImageFloat64 input , final double value , final ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) + value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) + value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2840,22 +3363,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void plus( ImageFloat64 input , double value , double lower , double upper , ImageFloat64 output ) {
+	public static void plus( final ImageFloat64 input , final double value , final double lower , double upper , ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				double val = (input.data[indexSrc] ) + value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						double val = (input.data[indexSrc] ) + value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2869,19 +3397,24 @@ public class PixelMath {
 	 * @param value What is subtracted from each element in input.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageFloat64 input , double value , ImageFloat64 output ) {
+	public static void minus( final ImageFloat64 input , final double value , final ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ((input.data[indexSrc] ) - value);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ((input.data[indexSrc] ) - value);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2897,22 +3430,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( ImageFloat64 input , double value , double lower , double upper , ImageFloat64 output ) {
+	public static void minus( final ImageFloat64 input , final double value , final double lower , double upper , ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				double val = (input.data[indexSrc] ) - value;
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						double val = (input.data[indexSrc] ) - value;
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2926,19 +3464,24 @@ public class PixelMath {
 	 * @param input The input image, elements subtracted from value. Not modified.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( double value , ImageFloat64 input , ImageFloat64 output ) {
+	public static void minus( final double value , final ImageFloat64 input , final ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				output.data[indexDst] = ( value - (input.data[indexSrc] ));
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						output.data[indexDst] = ( value - (input.data[indexSrc] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2954,22 +3497,27 @@ public class PixelMath {
 	 * @param upper Upper bound on output. Inclusive.
 	 * @param output The output image. Modified.
 	 */
-	public static void minus( double value , ImageFloat64 input , double lower , double upper , ImageFloat64 output ) {
+	public static void minus( final double value , final ImageFloat64 input , final double lower , double upper , ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++, indexDst++ ) {
-				double val = value - (input.data[indexSrc] );
-				if( val < lower ) val = lower;
-				if( val > upper ) val = upper;
-				output.data[indexDst] = val;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++, indexDst++ ) {
+						double val = value - (input.data[indexSrc] );
+						if( val < lower ) val = lower;
+						if( val > upper ) val = upper;
+						output.data[indexDst] = val;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -2979,24 +3527,28 @@ public class PixelMath {
 	 * @param min minimum value.
 	 * @param max maximum value.
 	 */
-	public static void boundImage( ImageFloat64 img , double min , double max ) {
-		final int h = img.getHeight();
+	public static void boundImage( final ImageFloat64 img , final double min , final double max ) {
 		final int w = img.getWidth();
 
-		double[] data = img.data;
-
-		for (int y = 0; y < h; y++) {
-			int index = img.getStartIndex() + y * img.getStride();
-			int indexEnd = index+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; index < indexEnd; index++) {
-				double value = data[index];
-				if( value < min )
-					data[index] = min;
-				else if( value > max )
-					data[index] = max;
+		final double[] data = img.data;
+
+		BoofConcurrency.loopRows(img, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int index = img.getStartIndex() + y * img.getStride();
+					int indexEnd = index+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; index < indexEnd; index++) {
+						double value = data[index];
+						if( value < min )
+							data[index] = min;
+						else if( value > max )
+							data[index] = max;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3008,23 +3560,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param diff Absolute value of difference image. Modified.
 	 */
-	public static void diffAbs( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 diff ) {
+	public static void diffAbs( final ImageFloat64 imgA , final ImageFloat64 imgB , final ImageFloat64 diff ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,diff);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexDiff = diff.getStartIndex() + y * diff.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
-				diff.data[indexDiff] = Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexDiff = diff.getStartIndex() + y * diff.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexDiff++ ) {
+						diff.data[indexDiff] = Math.abs((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3033,26 +3589,30 @@ public class PixelMath {
 	 * @param input MultiSpectral image
 	 * @param output Gray scale image containing average pixel values
 	 */
-	public static void averageBand( MultiSpectral<ImageFloat64> input , ImageFloat64 output ) {
-		final int h = input.getHeight();
+	public static void averageBand( final MultiSpectral<ImageFloat64> input , final ImageFloat64 output ) {
 		final int w = input.getWidth();
 
-		ImageFloat64[] bands = input.bands;
+		final ImageFloat64[] bands = input.bands;
 		
-		for (int y = 0; y < h; y++) {
-			int indexInput = input.getStartIndex() + y * input.getStride();
-			int indexOutput = output.getStartIndex() + y * output.getStride();
-
-			int indexEnd = indexInput+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
-				double total = 0;
-				for( int i = 0; i < bands.length; i++ ) {
-					total += bands[i].data[ indexInput ];
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexInput = input.getStartIndex() + y * input.getStride();
+					int indexOutput = output.getStartIndex() + y * output.getStride();
+
+					int indexEnd = indexInput+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexInput < indexEnd; indexInput++, indexOutput++ ) {
+						double total = 0;
+						for( int i = 0; i < bands.length; i++ ) {
+							total += bands[i].data[ indexInput ];
+						}
+						output.data[indexOutput] = (total / bands.length);
+					}
 				}
-				output.data[indexOutput] = (total / bands.length);
 			}
-		}
+		});
 	}
 
 	/**
@@ -3064,23 +3624,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void add( ImageUInt8 imgA , ImageUInt8 imgB , ImageUInt16 output ) {
+	public static void add( final ImageUInt8 imgA , final ImageUInt8 imgB , final ImageUInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (short)((imgA.data[indexA] & 0xFF) + (imgB.data[indexB] & 0xFF));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (short)((imgA.data[indexA] & 0xFF) + (imgB.data[indexB] & 0xFF));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3092,23 +3656,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void subtract( ImageUInt8 imgA , ImageUInt8 imgB , ImageInt16 output ) {
+	public static void subtract( final ImageUInt8 imgA , final ImageUInt8 imgB , final ImageInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (short)((imgA.data[indexA] & 0xFF) - (imgB.data[indexB] & 0xFF));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (short)((imgA.data[indexA] & 0xFF) - (imgB.data[indexB] & 0xFF));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3120,23 +3688,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void add( ImageSInt8 imgA , ImageSInt8 imgB , ImageSInt16 output ) {
+	public static void add( final ImageSInt8 imgA , final ImageSInt8 imgB , final ImageSInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (short)((imgA.data[indexA] ) + (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (short)((imgA.data[indexA] ) + (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3148,23 +3720,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void subtract( ImageSInt8 imgA , ImageSInt8 imgB , ImageSInt16 output ) {
+	public static void subtract( final ImageSInt8 imgA , final ImageSInt8 imgB , final ImageSInt16 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (short)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (short)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3176,23 +3752,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void add( ImageUInt16 imgA , ImageUInt16 imgB , ImageSInt32 output ) {
+	public static void add( final ImageUInt16 imgA , final ImageUInt16 imgB , final ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] & 0xFFFF) + (imgB.data[indexB] & 0xFFFF));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (int)((imgA.data[indexA] & 0xFFFF) + (imgB.data[indexB] & 0xFFFF));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3204,23 +3784,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void subtract( ImageUInt16 imgA , ImageUInt16 imgB , ImageSInt32 output ) {
+	public static void subtract( final ImageUInt16 imgA , final ImageUInt16 imgB , final ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] & 0xFFFF) - (imgB.data[indexB] & 0xFFFF));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (int)((imgA.data[indexA] & 0xFFFF) - (imgB.data[indexB] & 0xFFFF));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3232,23 +3816,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void add( ImageSInt16 imgA , ImageSInt16 imgB , ImageSInt32 output ) {
+	public static void add( final ImageSInt16 imgA , final ImageSInt16 imgB , final ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] ) + (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (int)((imgA.data[indexA] ) + (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3260,23 +3848,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void subtract( ImageSInt16 imgA , ImageSInt16 imgB , ImageSInt32 output ) {
+	public static void subtract( final ImageSInt16 imgA , final ImageSInt16 imgB , final ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (int)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3288,23 +3880,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void add( ImageSInt32 imgA , ImageSInt32 imgB , ImageSInt32 output ) {
+	public static void add( final ImageSInt32 imgA , final ImageSInt32 imgB , final ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] ) + (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (int)((imgA.data[indexA] ) + (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3316,23 +3912,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void subtract( ImageSInt32 imgA , ImageSInt32 imgB , ImageSInt32 output ) {
+	public static void subtract( final ImageSInt32 imgA , final ImageSInt32 imgB , final ImageSInt32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (int)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (int)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3344,23 +3944,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void add( ImageSInt64 imgA , ImageSInt64 imgB , ImageSInt64 output ) {
+	public static void add( final ImageSInt64 imgA , final ImageSInt64 imgB , final ImageSInt64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (long)((imgA.data[indexA] ) + (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (long)((imgA.data[indexA] ) + (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3372,23 +3976,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void subtract( ImageSInt64 imgA , ImageSInt64 imgB , ImageSInt64 output ) {
+	public static void subtract( final ImageSInt64 imgA , final ImageSInt64 imgB , final ImageSInt64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = (long)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = (long)((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3400,23 +4008,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void add( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
+	public static void add( final ImageFloat32 imgA , final ImageFloat32 imgB , final ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) + (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = ((imgA.data[indexA] ) + (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3428,23 +4040,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void subtract( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
+	public static void subtract( final ImageFloat32 imgA , final ImageFloat32 imgB , final ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = ((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3456,23 +4072,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void multiply( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
+	public static void multiply( final ImageFloat32 imgA , final ImageFloat32 imgB , final ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) * (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = ((imgA.data[indexA] ) * (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3484,23 +4104,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void divide( ImageFloat32 imgA , ImageFloat32 imgB , ImageFloat32 output ) {
+	public static void divide( final ImageFloat32 imgA , final ImageFloat32 imgB , final ImageFloat32 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) / (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = ((imgA.data[indexA] ) / (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3510,19 +4134,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the log image is written to. Modified.
 	 */
-	public static void log( ImageFloat32 input , ImageFloat32 output ) {
+	public static void log( final ImageFloat32 input , final ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (float)Math.log(1 + input.data[indexSrc]);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = (float)Math.log(1 + input.data[indexSrc]);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3531,20 +4160,25 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the pow2 image is written to. Modified.
 	 */
-	public static void pow2( ImageFloat32 input , ImageFloat32 output ) {
+	public static void pow2( final ImageFloat32 input , final ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				float v = input.data[indexSrc];
-				output.data[indexDst] = v*v;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						float v = input.data[indexSrc];
+						output.data[indexDst] = v*v;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3554,19 +4188,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the sqrt() image is written to. Modified.
 	 */
-	public static void sqrt( ImageFloat32 input , ImageFloat32 output ) {
+	public static void sqrt( final ImageFloat32 input , final ImageFloat32 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = (float)Math.sqrt(input.data[indexSrc]);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = (float)Math.sqrt(input.data[indexSrc]);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3578,23 +4217,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void add( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
+	public static void add( final ImageFloat64 imgA , final ImageFloat64 imgB , final ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) + (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = ((imgA.data[indexA] ) + (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3606,23 +4249,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void subtract( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
+	public static void subtract( final ImageFloat64 imgA , final ImageFloat64 imgB , final ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) - (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = ((imgA.data[indexA] ) - (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3634,23 +4281,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void multiply( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
+	public static void multiply( final ImageFloat64 imgA , final ImageFloat64 imgB , final ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) * (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = ((imgA.data[indexA] ) * (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3662,23 +4313,27 @@ public class PixelMath {
 	 * @param imgB Input image. Not modified.
 	 * @param output Output image. Modified.
 	 */
-	public static void divide( ImageFloat64 imgA , ImageFloat64 imgB , ImageFloat64 output ) {
+	public static void divide( final ImageFloat64 imgA , final ImageFloat64 imgB , final ImageFloat64 output ) {
 		InputSanityCheck.checkSameShape(imgA,imgB,output);
 		
-		final int h = imgA.getHeight();
 		final int w = imgA.getWidth();
 
-		for (int y = 0; y < h; y++) {
-			int indexA = imgA.getStartIndex() + y * imgA.getStride();
-			int indexB = imgB.getStartIndex() + y * imgB.getStride();
-			int indexOut = output.getStartIndex() + y * output.getStride();
-			
-			int indexEnd = indexA+w;
-			// for(int x = 0; x < w; x++ ) {
-			for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
-				output.data[indexOut] = ((imgA.data[indexA] ) / (imgB.data[indexB] ));
+		BoofConcurrency.loopRows(imgA, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for (int y = y0; y < y1; y++) {
+					int indexA = imgA.getStartIndex() + y * imgA.getStride();
+					int indexB = imgB.getStartIndex() + y * imgB.getStride();
+					int indexOut = output.getStartIndex() + y * output.getStride();
+					
+					int indexEnd = indexA+w;
+					// for(int x = 0; x < w; x++ ) {
+					for (; indexA < indexEnd; indexA++, indexB++, indexOut++ ) {
+						output.data[indexOut] = ((imgA.data[indexA] ) / (imgB.data[indexB] ));
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3688,19 +4343,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the log image is written to. Modified.
 	 */
-	public static void log( ImageFloat64 input , ImageFloat64 output ) {
+	public static void log( final ImageFloat64 input , final ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.log(1 + input.data[indexSrc]);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = Math.log(1 + input.data[indexSrc]);
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3709,20 +4369,25 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the pow2 image is written to. Modified.
 	 */
-	public static void pow2( ImageFloat64 input , ImageFloat64 output ) {
+	public static void pow2( final ImageFloat64 input , final ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				double v = input.data[indexSrc];
-				output.data[indexDst] = v*v;
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						double v = input.data[indexSrc];
+						output.data[indexDst] = v*v;
+					}
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -3732,19 +4397,24 @@ public class PixelMath {
 	 * @param input The input image. Not modified.
 	 * @param output Where the sqrt() image is written to. Modified.
 	 */
-	public static void sqrt( ImageFloat64 input , ImageFloat64 output ) {
+	public static void sqrt( final ImageFloat64 input , final ImageFloat64 output ) {
 
 		InputSanityCheck.checkSameShape(input,output);
 
-		for( int y = 0; y < input.height; y++ ) {
-			int indexSrc = input.startIndex + y* input.stride;
-			int indexDst = output.startIndex + y* output.stride;
-			int end = indexSrc + input.width;
-
-			for( ; indexSrc < end; indexSrc++ , indexDst++) {
-				output.data[indexDst] = Math.sqrt(input.data[indexSrc]);
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + y* input.stride;
+					int indexDst = output.startIndex + y* output.stride;
+					int end = indexSrc + input.width;
+
+					for( ; indexSrc < end; indexSrc++ , indexDst++) {
+						output.data[indexDst] = Math.sqrt(input.data[indexSrc]);
+					}
+				}
 			}
-		}
+		});
 	}
 
 }
@@ -144,6 +144,32 @@ public class GeneralPurposeFFT_F64_1D {
 		ch2 = new double[n*2];
 	}
 
+	/**
+	 * Creates a new instance which shares the precomputed twiddle factors of 'plan' but has its own local storage.
+	 * Much faster than computing the plan again and lets multiple threads transform data of the same size at
+	 * the same time.
+	 *
+	 * @param plan Instance whose precomputed tables are shared.  Not modified.
+	 */
+	public GeneralPurposeFFT_F64_1D(GeneralPurposeFFT_F64_1D plan) {
+		this.n = plan.n;
+		this.nBluestein = plan.nBluestein;
+		this.ip = plan.ip;
+		this.w = plan.w;
+		this.nw = plan.nw;
+		this.nc = plan.nc;
+		this.wtable = plan.wtable;
+		this.wtable_r = plan.wtable_r;
+		this.bk1 = plan.bk1;
+		this.bk2 = plan.bk2;
+		this.plan = plan.plan;
+
+		if( plan.ak != null )
+			ak = new double[plan.ak.length];
+		ch = new double[n];
+		ch2 = new double[n*2];
+	}
+
 	/**
 	 * Computes 1D forward DFT of complex data leaving the result in
 	 * <code>a</code>. Complex number is stored as two double values in
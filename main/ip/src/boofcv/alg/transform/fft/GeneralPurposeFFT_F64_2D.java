@@ -18,6 +18,9 @@
 
 package boofcv.alg.transform.fft;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+
 /**
  * Computes 2D Discrete Fourier Transform (DFT) of complex and real, double
  * precision data. The size of the data can be an arbitrary number. The code originally comes from
@@ -26,8 +29,9 @@ package boofcv.alg.transform.fft;
  * <p></p>
  * This code has a bit of a history.  Originally from General Purpose FFT.  Which was then ported into
  * JFFTPack written by Baoshe Zhang (http://jfftpack.sourceforge.net/), and then into JTransforms by Piotr Wendykier.
- * The major modification from JTransforms is that the SMP code has been stripped out.  It might be added back in
- * once an SMP strategy has been finalized in BoofCV.
+ * The major modification from JTransforms is that its SMP code has been replaced by {@link BoofConcurrency}.  Rows
+ * are transformed in parallel.  Columns are copied in blocks into contiguous storage, transformed, and then copied
+ * back, with each block being processed in parallel.  The 1D plans are shared between threads.
  * <p></p>
  * Code License:  The original license of General Purpose FFT Package is shown below.  This file will fall
  * under the same license:
@@ -48,14 +52,22 @@ public class GeneralPurposeFFT_F64_2D {
 
 	private int columns;
 
-	private double[] t;
-
 	private GeneralPurposeFFT_F64_1D fftColumns, fftRows;
 
 	private boolean isPowerOfTwo = false;
 
+	// number of complex columns which are copied into contiguous storage at once by the column pass
+	private static final int BLOCK_COLUMNS = 8;
+
+	// which 1D transform is applied to each row
+	private static final int COMPLEX_FORWARD = 0;
+	private static final int COMPLEX_INVERSE = 1;
+	private static final int REAL_FORWARD = 2;
+	private static final int REAL_INVERSE = 3;
+	private static final int REAL_INVERSE2 = 4;
+
 	// local storage pre-declared
-	private double[] temp;
+	private double[] block;
 	private double[][] temp2;
 
 	/**
@@ -75,15 +87,6 @@ public class GeneralPurposeFFT_F64_2D {
 
 		if (DiscreteFourierTransformOps.isPowerOf2(rows) && DiscreteFourierTransformOps.isPowerOf2(columns)) {
 			isPowerOfTwo = true;
-
-			int oldNthreads = 1;
-			int nt = 8 * oldNthreads * rows;
-			if (2 * columns == 4 * oldNthreads) {
-				nt >>= 1;
-			} else if (2 * columns < 4 * oldNthreads) {
-				nt >>= 2;
-			}
-			t = new double[nt];
 		}
 
 		fftRows = new GeneralPurposeFFT_F64_1D(rows);
@@ -93,7 +96,7 @@ public class GeneralPurposeFFT_F64_2D {
 			fftColumns = new GeneralPurposeFFT_F64_1D(columns);
 		}
 
-		temp = new double[2 * rows];
+		block = new double[BLOCK_COLUMNS * 2 * rows];
 	}
 
 	/**
@@ -121,38 +124,8 @@ public class GeneralPurposeFFT_F64_2D {
 			return;
 		}
 
-		if (isPowerOfTwo) {
-			int oldn2 = columns;
-			columns = 2 * columns;
-			for (int r = 0; r < rows; r++) {
-				fftColumns.complexForward(a, r * columns);
-			}
-			cdft2d_sub(-1, a, true);
-			columns = oldn2;
-		} else {
-			final int rowStride = 2 * columns;
-
-			for (int r = 0; r < rows; r++) {
-				fftColumns.complexForward(a, r * rowStride);
-			}
-
-			for (int c = 0; c < columns; c++) {
-				int idx0 = 2 * c;
-				for (int r = 0; r < rows; r++) {
-					int idx1 = 2 * r;
-					int idx2 = r * rowStride + idx0;
-					temp[idx1] = a[idx2];
-					temp[idx1 + 1] = a[idx2 + 1];
-				}
-				fftRows.complexForward(temp);
-				for (int r = 0; r < rows; r++) {
-					int idx1 = 2 * r;
-					int idx2 = r * rowStride + idx0;
-					a[idx2] = temp[idx1];
-					a[idx2 + 1] = temp[idx1 + 1];
-				}
-			}
-		}
+		rowPass(a, 2 * columns, COMPLEX_FORWARD, false);
+		columnPass(a, 2 * columns, columns, true, false);
 	}
 
 
@@ -184,37 +157,8 @@ public class GeneralPurposeFFT_F64_2D {
 			return;
 		}
 
-		if (isPowerOfTwo) {
-			int oldn2 = columns;
-			columns = 2 * columns;
-			for (int r = 0; r < rows; r++) {
-				fftColumns.complexInverse(a, r * columns, scale);
-			}
-			cdft2d_sub(1, a, scale);
-			columns = oldn2;
-		} else {
-			final int rowspan = 2 * columns;
-			for (int r = 0; r < rows; r++) {
-				fftColumns.complexInverse(a, r * rowspan, scale);
-			}
-
-			for (int c = 0; c < columns; c++) {
-				int idx1 = 2 * c;
-				for (int r = 0; r < rows; r++) {
-					int idx2 = 2 * r;
-					int idx3 = r * rowspan + idx1;
-					temp[idx2] = a[idx3];
-					temp[idx2 + 1] = a[idx3 + 1];
-				}
-				fftRows.complexInverse(temp, scale);
-				for (int r = 0; r < rows; r++) {
-					int idx2 = 2 * r;
-					int idx3 = r * rowspan + idx1;
-					a[idx3] = temp[idx2];
-					a[idx3 + 1] = temp[idx2 + 1];
-				}
-			}
-		}
+		rowPass(a, 2 * columns, COMPLEX_INVERSE, scale);
+		columnPass(a, 2 * columns, columns, false, scale);
 	}
 
 	/**
@@ -262,10 +206,8 @@ public class GeneralPurposeFFT_F64_2D {
 		if (isPowerOfTwo == false) {
 			throw new IllegalArgumentException("rows and columns must be power of two numbers");
 		} else {
-			for (int r = 0; r < rows; r++) {
-				fftColumns.realForward(a, r * columns);
-			}
-			cdft2d_sub(-1, a, true);
+			rowPass(a, columns, REAL_FORWARD, false);
+			columnPass(a, columns, columns / 2, true, false);
 			rdft2d_sub(1, a);
 		}
 	}
@@ -293,10 +235,8 @@ public class GeneralPurposeFFT_F64_2D {
 		}
 
 		if (isPowerOfTwo) {
-			for (int r = 0; r < rows; r++) {
-				fftColumns.realForward(a, r * columns);
-			}
-			cdft2d_sub(-1, a, true);
+			rowPass(a, columns, REAL_FORWARD, false);
+			columnPass(a, columns, columns / 2, true, false);
 			rdft2d_sub(1, a);
 			fillSymmetric(a);
 		} else {
@@ -353,10 +293,8 @@ public class GeneralPurposeFFT_F64_2D {
 			throw new IllegalArgumentException("rows and columns must be power of two numbers");
 		} else {
 			rdft2d_sub(-1, a);
-			cdft2d_sub(1, a, scale);
-			for (int r = 0; r < rows; r++) {
-				fftColumns.realInverse(a, r * columns, scale);
-			}
+			columnPass(a, columns, columns / 2, false, scale);
+			rowPass(a, columns, REAL_INVERSE, scale);
 		}
 	}
 
@@ -385,10 +323,8 @@ public class GeneralPurposeFFT_F64_2D {
 		}
 
 		if (isPowerOfTwo) {
-			for (int r = 0; r < rows; r++) {
-				fftColumns.realInverse2(a, r * columns, scale);
-			}
-			cdft2d_sub(1, a, scale);
+			rowPass(a, columns, REAL_INVERSE2, scale);
+			columnPass(a, columns, columns / 2, false, scale);
 			rdft2d_sub(1, a);
 			fillSymmetric(a);
 		} else {
@@ -397,6 +333,157 @@ public class GeneralPurposeFFT_F64_2D {
 		}
 	}
 
+	/**
+	 * Returns true if the rows and columns should be processed using multiple threads
+	 */
+	private boolean isConcurrent() {
+		return BoofConcurrency.isActive() && rows * columns >= BoofConcurrency.getMinimumPixels();
+	}
+
+	/**
+	 * Applies a 1D transform to each row.
+	 *
+	 * @param a data to transform
+	 * @param rowStride Number of elements between the start of each row
+	 * @param type Which 1D transform is applied
+	 * @param scale if true then scaling is performed
+	 */
+	private void rowPass(final double[] a, final int rowStride, final int type, final boolean scale) {
+		if( !isConcurrent() ) {
+			rowPass(fftColumns, a, rowStride, 0, rows, type, scale);
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(0, rows, new IntRangeTask() {
+			@Override
+			public void process(int r0, int r1) {
+				rowPass(new GeneralPurposeFFT_F64_1D(fftColumns), a, rowStride, r0, r1, type, scale);
+			}
+		});
+	}
+
+	private static void rowPass(GeneralPurposeFFT_F64_1D fft, double[] a, int rowStride, int r0, int r1,
+								int type, boolean scale) {
+		for (int r = r0; r < r1; r++) {
+			int offa = r * rowStride;
+			switch (type) {
+				case COMPLEX_FORWARD: fft.complexForward(a, offa); break;
+				case COMPLEX_INVERSE: fft.complexInverse(a, offa, scale); break;
+				case REAL_FORWARD: fft.realForward(a, offa); break;
+				case REAL_INVERSE: fft.realInverse(a, offa, scale); break;
+				case REAL_INVERSE2: fft.realInverse2(a, offa, scale); break;
+				default: throw new IllegalArgumentException("Unknown type");
+			}
+		}
+	}
+
+	/**
+	 * Applies a 1D complex transform to each column.  Instead of transforming one column at a time with a strided
+	 * copy, blocks of adjacent columns are copied into contiguous storage by reading each row sequentially.
+	 *
+	 * @param a data to transform
+	 * @param rowStride Number of elements between the start of each row
+	 * @param numColumns Number of complex columns which are transformed
+	 * @param forward true for the forward transform and false for the inverse
+	 * @param scale if true then scaling is performed
+	 */
+	private void columnPass(final double[] a, final int rowStride, final int numColumns,
+							final boolean forward, final boolean scale) {
+		if( !isConcurrent() ) {
+			columnPass(fftRows, block, a, rowStride, 0, numColumns, forward, scale);
+			return;
+		}
+
+		int numBlocks = (numColumns + BLOCK_COLUMNS - 1) / BLOCK_COLUMNS;
+		BoofConcurrency.loopBlocks(0, numBlocks, new IntRangeTask() {
+			@Override
+			public void process(int b0, int b1) {
+				double[] block = new double[BLOCK_COLUMNS * 2 * rows];
+				int c0 = b0 * BLOCK_COLUMNS;
+				int c1 = Math.min(numColumns, b1 * BLOCK_COLUMNS);
+				columnPass(new GeneralPurposeFFT_F64_1D(fftRows), block, a, rowStride, c0, c1, forward, scale);
+			}
+		});
+	}
+
+	private void columnPass(GeneralPurposeFFT_F64_1D fft, double[] block, double[] a, int rowStride,
+							int c0, int c1, boolean forward, boolean scale) {
+		final int length = 2 * rows;
+
+		for (int c = c0; c < c1; c += BLOCK_COLUMNS) {
+			int n = Math.min(BLOCK_COLUMNS, c1 - c);
+
+			for (int r = 0; r < rows; r++) {
+				int idxA = r * rowStride + 2 * c;
+				int idxB = 2 * r;
+				for (int i = 0; i < n; i++, idxB += length) {
+					block[idxB] = a[idxA++];
+					block[idxB + 1] = a[idxA++];
+				}
+			}
+			for (int i = 0; i < n; i++) {
+				if (forward) {
+					fft.complexForward(block, i * length);
+				} else {
+					fft.complexInverse(block, i * length, scale);
+				}
+			}
+			for (int r = 0; r < rows; r++) {
+				int idxA = r * rowStride + 2 * c;
+				int idxB = 2 * r;
+				for (int i = 0; i < n; i++, idxB += length) {
+					a[idxA++] = block[idxB];
+					a[idxA++] = block[idxB + 1];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the complex columns, excluding the first and last, into temp2 and transforms them
+	 */
+	private void mixedRadixColumns(final double[] a, final int n2d2, final boolean forward, final boolean scale) {
+		if( !isConcurrent() ) {
+			mixedRadixColumns(fftRows, a, 1, n2d2 - 1, forward, scale);
+			return;
+		}
+
+		BoofConcurrency.loopBlocks(1, n2d2 - 1, new IntRangeTask() {
+			@Override
+			public void process(int c0, int c1) {
+				mixedRadixColumns(new GeneralPurposeFFT_F64_1D(fftRows), a, c0, c1, forward, scale);
+			}
+		});
+	}
+
+	private void mixedRadixColumns(GeneralPurposeFFT_F64_1D fft, double[] a, int c0, int c1,
+								   boolean forward, boolean scale) {
+		final double[][] temp = temp2;
+
+		for (int c = c0; c < c1; c++) {
+			int idx0 = 2 * c;
+			for (int r = 0; r < rows; r++) {
+				int idx1 = 2 * r;
+				int idx2 = r * columns + idx0;
+				temp[c][idx1] = a[idx2];
+				temp[c][idx1 + 1] = a[idx2 + 1];
+			}
+			if (forward) {
+				fft.complexForward(temp[c]);
+			} else {
+				fft.complexInverse(temp[c], scale);
+			}
+		}
+	}
+
+	public int getRows() {
+		return rows;
+	}
+
+	public int getColumns() {
+		return columns;
+	}
+
 	private void declareRadixRealData() {
 		if( temp2 == null ) {
 			final int n2d2 = columns / 2 + 1;
@@ -409,24 +496,13 @@ public class GeneralPurposeFFT_F64_2D {
 		final int n2d2 = columns / 2 + 1;
 		final double[][] temp = temp2;
 
-		for (int r = 0; r < rows; r++) {
-			fftColumns.realForward(a, r * columns);
-		}
+		rowPass(a, columns, REAL_FORWARD, false);
 		for (int r = 0; r < rows; r++) {
 			temp[0][r] = a[r * columns]; //first column is always real
 		}
 		fftRows.realForwardFull(temp[0]);
 
-		for (int c = 1; c < n2d2 - 1; c++) {
-			int idx0 = 2 * c;
-			for (int r = 0; r < rows; r++) {
-				int idx1 = 2 * r;
-				int idx2 = r * columns + idx0;
-				temp[c][idx1] = a[idx2];
-				temp[c][idx1 + 1] = a[idx2 + 1];
-			}
-			fftRows.complexForward(temp[c]);
-		}
+		mixedRadixColumns(a, n2d2, true, false);
 
 		if ((columns % 2) == 0) {
 			for (int r = 0; r < rows; r++) {
@@ -478,24 +554,13 @@ public class GeneralPurposeFFT_F64_2D {
 		final int n2d2 = columns / 2 + 1;
 		final double[][] temp = temp2;
 
-		for (int r = 0; r < rows; r++) {
-			fftColumns.realInverse2(a, r * columns, scale);
-		}
+		rowPass(a, columns, REAL_INVERSE2, scale);
 		for (int r = 0; r < rows; r++) {
 			temp[0][r] = a[r * columns]; //first column is always real
 		}
 		fftRows.realInverseFull(temp[0], scale);
 
-		for (int c = 1; c < n2d2 - 1; c++) {
-			int idx0 = 2 * c;
-			for (int r = 0; r < rows; r++) {
-				int idx1 = 2 * r;
-				int idx2 = r * columns + idx0;
-				temp[c][idx1] = a[idx2];
-				temp[c][idx1 + 1] = a[idx2 + 1];
-			}
-			fftRows.complexInverse(temp[c], scale);
-		}
+		mixedRadixColumns(a, n2d2, false, scale);
 
 		if ((columns % 2) == 0) {
 			for (int r = 0; r < rows; r++) {
@@ -573,300 +638,6 @@ public class GeneralPurposeFFT_F64_2D {
 		}
 	}
 
-	private void cdft2d_sub(int isgn, double[] a, boolean scale) {
-		int idx1, idx2, idx3, idx4, idx5;
-		if (isgn == -1) {
-			if (columns > 4) {
-				for (int c = 0; c < columns; c += 8) {
-					for (int r = 0; r < rows; r++) {
-						idx1 = r * columns + c;
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						t[idx2] = a[idx1];
-						t[idx2 + 1] = a[idx1 + 1];
-						t[idx3] = a[idx1 + 2];
-						t[idx3 + 1] = a[idx1 + 3];
-						t[idx4] = a[idx1 + 4];
-						t[idx4 + 1] = a[idx1 + 5];
-						t[idx5] = a[idx1 + 6];
-						t[idx5 + 1] = a[idx1 + 7];
-					}
-					fftRows.complexForward(t, 0);
-					fftRows.complexForward(t, 2 * rows);
-					fftRows.complexForward(t, 4 * rows);
-					fftRows.complexForward(t, 6 * rows);
-					for (int r = 0; r < rows; r++) {
-						idx1 = r * columns + c;
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						a[idx1] = t[idx2];
-						a[idx1 + 1] = t[idx2 + 1];
-						a[idx1 + 2] = t[idx3];
-						a[idx1 + 3] = t[idx3 + 1];
-						a[idx1 + 4] = t[idx4];
-						a[idx1 + 5] = t[idx4 + 1];
-						a[idx1 + 6] = t[idx5];
-						a[idx1 + 7] = t[idx5 + 1];
-					}
-				}
-			} else if (columns == 4) {
-				for (int r = 0; r < rows; r++) {
-					idx1 = r * columns;
-					idx2 = 2 * r;
-					idx3 = 2 * rows + 2 * r;
-					t[idx2] = a[idx1];
-					t[idx2 + 1] = a[idx1 + 1];
-					t[idx3] = a[idx1 + 2];
-					t[idx3 + 1] = a[idx1 + 3];
-				}
-				fftRows.complexForward(t, 0);
-				fftRows.complexForward(t, 2 * rows);
-				for (int r = 0; r < rows; r++) {
-					idx1 = r * columns;
-					idx2 = 2 * r;
-					idx3 = 2 * rows + 2 * r;
-					a[idx1] = t[idx2];
-					a[idx1 + 1] = t[idx2 + 1];
-					a[idx1 + 2] = t[idx3];
-					a[idx1 + 3] = t[idx3 + 1];
-				}
-			} else if (columns == 2) {
-				for (int r = 0; r < rows; r++) {
-					idx1 = r * columns;
-					idx2 = 2 * r;
-					t[idx2] = a[idx1];
-					t[idx2 + 1] = a[idx1 + 1];
-				}
-				fftRows.complexForward(t, 0);
-				for (int r = 0; r < rows; r++) {
-					idx1 = r * columns;
-					idx2 = 2 * r;
-					a[idx1] = t[idx2];
-					a[idx1 + 1] = t[idx2 + 1];
-				}
-			}
-		} else {
-			if (columns > 4) {
-				for (int c = 0; c < columns; c += 8) {
-					for (int r = 0; r < rows; r++) {
-						idx1 = r * columns + c;
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						t[idx2] = a[idx1];
-						t[idx2 + 1] = a[idx1 + 1];
-						t[idx3] = a[idx1 + 2];
-						t[idx3 + 1] = a[idx1 + 3];
-						t[idx4] = a[idx1 + 4];
-						t[idx4 + 1] = a[idx1 + 5];
-						t[idx5] = a[idx1 + 6];
-						t[idx5 + 1] = a[idx1 + 7];
-					}
-					fftRows.complexInverse(t, 0, scale);
-					fftRows.complexInverse(t, 2 * rows, scale);
-					fftRows.complexInverse(t, 4 * rows, scale);
-					fftRows.complexInverse(t, 6 * rows, scale);
-					for (int r = 0; r < rows; r++) {
-						idx1 = r * columns + c;
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						a[idx1] = t[idx2];
-						a[idx1 + 1] = t[idx2 + 1];
-						a[idx1 + 2] = t[idx3];
-						a[idx1 + 3] = t[idx3 + 1];
-						a[idx1 + 4] = t[idx4];
-						a[idx1 + 5] = t[idx4 + 1];
-						a[idx1 + 6] = t[idx5];
-						a[idx1 + 7] = t[idx5 + 1];
-					}
-				}
-			} else if (columns == 4) {
-				for (int r = 0; r < rows; r++) {
-					idx1 = r * columns;
-					idx2 = 2 * r;
-					idx3 = 2 * rows + 2 * r;
-					t[idx2] = a[idx1];
-					t[idx2 + 1] = a[idx1 + 1];
-					t[idx3] = a[idx1 + 2];
-					t[idx3 + 1] = a[idx1 + 3];
-				}
-				fftRows.complexInverse(t, 0, scale);
-				fftRows.complexInverse(t, 2 * rows, scale);
-				for (int r = 0; r < rows; r++) {
-					idx1 = r * columns;
-					idx2 = 2 * r;
-					idx3 = 2 * rows + 2 * r;
-					a[idx1] = t[idx2];
-					a[idx1 + 1] = t[idx2 + 1];
-					a[idx1 + 2] = t[idx3];
-					a[idx1 + 3] = t[idx3 + 1];
-				}
-			} else if (columns == 2) {
-				for (int r = 0; r < rows; r++) {
-					idx1 = r * columns;
-					idx2 = 2 * r;
-					t[idx2] = a[idx1];
-					t[idx2 + 1] = a[idx1 + 1];
-				}
-				fftRows.complexInverse(t, 0, scale);
-				for (int r = 0; r < rows; r++) {
-					idx1 = r * columns;
-					idx2 = 2 * r;
-					a[idx1] = t[idx2];
-					a[idx1 + 1] = t[idx2 + 1];
-				}
-			}
-		}
-	}
-
-	private void cdft2d_sub(int isgn, double[][] a, boolean scale) {
-		int idx2, idx3, idx4, idx5;
-		if (isgn == -1) {
-			if (columns > 4) {
-				for (int c = 0; c < columns; c += 8) {
-					for (int r = 0; r < rows; r++) {
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						t[idx2] = a[r][c];
-						t[idx2 + 1] = a[r][c + 1];
-						t[idx3] = a[r][c + 2];
-						t[idx3 + 1] = a[r][c + 3];
-						t[idx4] = a[r][c + 4];
-						t[idx4 + 1] = a[r][c + 5];
-						t[idx5] = a[r][c + 6];
-						t[idx5 + 1] = a[r][c + 7];
-					}
-					fftRows.complexForward(t, 0);
-					fftRows.complexForward(t, 2 * rows);
-					fftRows.complexForward(t, 4 * rows);
-					fftRows.complexForward(t, 6 * rows);
-					for (int r = 0; r < rows; r++) {
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						a[r][c] = t[idx2];
-						a[r][c + 1] = t[idx2 + 1];
-						a[r][c + 2] = t[idx3];
-						a[r][c + 3] = t[idx3 + 1];
-						a[r][c + 4] = t[idx4];
-						a[r][c + 5] = t[idx4 + 1];
-						a[r][c + 6] = t[idx5];
-						a[r][c + 7] = t[idx5 + 1];
-					}
-				}
-			} else if (columns == 4) {
-				for (int r = 0; r < rows; r++) {
-					idx2 = 2 * r;
-					idx3 = 2 * rows + 2 * r;
-					t[idx2] = a[r][0];
-					t[idx2 + 1] = a[r][1];
-					t[idx3] = a[r][2];
-					t[idx3 + 1] = a[r][3];
-				}
-				fftRows.complexForward(t, 0);
-				fftRows.complexForward(t, 2 * rows);
-				for (int r = 0; r < rows; r++) {
-					idx2 = 2 * r;
-					idx3 = 2 * rows + 2 * r;
-					a[r][0] = t[idx2];
-					a[r][1] = t[idx2 + 1];
-					a[r][2] = t[idx3];
-					a[r][3] = t[idx3 + 1];
-				}
-			} else if (columns == 2) {
-				for (int r = 0; r < rows; r++) {
-					idx2 = 2 * r;
-					t[idx2] = a[r][0];
-					t[idx2 + 1] = a[r][1];
-				}
-				fftRows.complexForward(t, 0);
-				for (int r = 0; r < rows; r++) {
-					idx2 = 2 * r;
-					a[r][0] = t[idx2];
-					a[r][1] = t[idx2 + 1];
-				}
-			}
-		} else {
-			if (columns > 4) {
-				for (int c = 0; c < columns; c += 8) {
-					for (int r = 0; r < rows; r++) {
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						t[idx2] = a[r][c];
-						t[idx2 + 1] = a[r][c + 1];
-						t[idx3] = a[r][c + 2];
-						t[idx3 + 1] = a[r][c + 3];
-						t[idx4] = a[r][c + 4];
-						t[idx4 + 1] = a[r][c + 5];
-						t[idx5] = a[r][c + 6];
-						t[idx5 + 1] = a[r][c + 7];
-					}
-					fftRows.complexInverse(t, 0, scale);
-					fftRows.complexInverse(t, 2 * rows, scale);
-					fftRows.complexInverse(t, 4 * rows, scale);
-					fftRows.complexInverse(t, 6 * rows, scale);
-					for (int r = 0; r < rows; r++) {
-						idx2 = 2 * r;
-						idx3 = 2 * rows + 2 * r;
-						idx4 = idx3 + 2 * rows;
-						idx5 = idx4 + 2 * rows;
-						a[r][c] = t[idx2];
-						a[r][c + 1] = t[idx2 + 1];
-						a[r][c + 2] = t[idx3];
-						a[r][c + 3] = t[idx3 + 1];
-						a[r][c + 4] = t[idx4];
-						a[r][c + 5] = t[idx4 + 1];
-						a[r][c + 6] = t[idx5];
-						a[r][c + 7] = t[idx5 + 1];
-					}
-				}
-			} else if (columns == 4) {
-				for (int r = 0; r < rows; r++) {
-					idx2 = 2 * r;
-					idx3 = 2 * rows + 2 * r;
-					t[idx2] = a[r][0];
-					t[idx2 + 1] = a[r][1];
-					t[idx3] = a[r][2];
-					t[idx3 + 1] = a[r][3];
-				}
-				fftRows.complexInverse(t, 0, scale);
-				fftRows.complexInverse(t, 2 * rows, scale);
-				for (int r = 0; r < rows; r++) {
-					idx2 = 2 * r;
-					idx3 = 2 * rows + 2 * r;
-					a[r][0] = t[idx2];
-					a[r][1] = t[idx2 + 1];
-					a[r][2] = t[idx3];
-					a[r][3] = t[idx3 + 1];
-				}
-			} else if (columns == 2) {
-				for (int r = 0; r < rows; r++) {
-					idx2 = 2 * r;
-					t[idx2] = a[r][0];
-					t[idx2 + 1] = a[r][1];
-				}
-				fftRows.complexInverse(t, 0, scale);
-				for (int r = 0; r < rows; r++) {
-					idx2 = 2 * r;
-					a[r][0] = t[idx2];
-					a[r][1] = t[idx2 + 1];
-				}
-			}
-		}
-	}
-
 	private void fillSymmetric(final double[] a) {
 		final int twon2 = 2 * columns;
 		int idx1, idx2, idx3, idx4;
@@ -55,11 +55,17 @@ public class GIntegralImageOps {
 	public static <I extends ImageSingleBand, T extends ImageSingleBand>
 	T transform( I input , T transformed ) {
 		if( input instanceof ImageFloat32 ) {
+			if( transformed instanceof ImageFloat64 )
+				return (T)IntegralImageOps.transformF64((ImageFloat32)input,(ImageFloat64)transformed);
 			return (T)IntegralImageOps.transform((ImageFloat32)input,(ImageFloat32)transformed);
 		} else if( input instanceof ImageFloat64) {
 			return (T)IntegralImageOps.transform((ImageFloat64)input,(ImageFloat64)transformed);
 		} else if( input instanceof ImageUInt8) {
+			if( transformed instanceof ImageSInt64 )
+				return (T)IntegralImageOps.transformS64((ImageUInt8)input,(ImageSInt64)transformed);
 			return (T)IntegralImageOps.transform((ImageUInt8)input,(ImageSInt32)transformed);
+		} else if( input instanceof ImageUInt16) {
+			return (T)IntegralImageOps.transformS64((ImageUInt16)input,(ImageSInt64)transformed);
 		} else if( input instanceof ImageSInt32) {
 			return (T)IntegralImageOps.transform((ImageSInt32)input,(ImageSInt32)transformed);
 		} else if( input instanceof ImageSInt64) {
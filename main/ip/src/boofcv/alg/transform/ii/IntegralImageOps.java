@@ -20,6 +20,7 @@ package boofcv.alg.transform.ii;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.*;
 
@@ -29,6 +30,20 @@ import boofcv.struct.image.*;
  * Common operations for dealing with integral images.
  * </p>
  *
+ * <p>
+ * The integral image of a large image can exceed the range of its data type, e.g. an {@link ImageUInt8} image with
+ * more than 2^31/255 pixels overflows an {@link ImageSInt32} integral image.  For integer integral images this is
+ * harmless when computing the sum inside a block, since overflow wraps around and the block's sum is
+ * computed with the same modular arithmetic.  The block's value is exact as long as it fits inside the data type.
+ * Floating point integral images lose precision instead, which can't be recovered.  If the total sum itself
+ * is needed then use an {@link ImageSInt64} integral image.
+ * </p>
+ *
+ * <p>
+ * Concurrency: If turned on in {@link BoofConcurrency} the integral image is computed in two passes, first along
+ * the rows and then along the columns, with each pass split between threads.  Results are identical.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class IntegralImageOps {
@@ -43,7 +58,29 @@ public class IntegralImageOps {
 	public static ImageFloat32 transform( ImageFloat32 input , ImageFloat32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isActive(input) )
+			ImplIntegralImageOps.transformConcurrent(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
+
+		return transformed;
+	}
+
+	/**
+	 * Converts a regular image into a double precision integral image.  For large images the precision of a single
+	 * precision integral image isn't enough to accurately compute the sum inside small blocks.
+	 *
+	 * @param input Regular image. Not modified.
+	 * @param transformed Integral image. If null a new image will be created. Modified.
+	 * @return Integral image.
+	 */
+	public static ImageFloat64 transformF64( ImageFloat32 input , ImageFloat64 transformed ) {
+		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageFloat64.class);
+
+		if( BoofConcurrency.isActive(input) )
+			ImplIntegralImageOps.transformConcurrent(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -58,7 +95,10 @@ public class IntegralImageOps {
 	public static ImageFloat64 transform( ImageFloat64 input , ImageFloat64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isActive(input) )
+			ImplIntegralImageOps.transformConcurrent(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -73,7 +113,48 @@ public class IntegralImageOps {
 	public static ImageSInt32 transform( ImageUInt8 input , ImageSInt32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt32.class);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isActive(input) )
+			ImplIntegralImageOps.transformConcurrent(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
+
+		return transformed;
+	}
+
+	/**
+	 * Converts a regular image into a 64-bit integral image.  Unlike the 32-bit integral image the sum of the
+	 * entire image will not overflow.
+	 *
+	 * @param input Regular image. Not modified.
+	 * @param transformed Integral image. If null a new image will be created. Modified.
+	 * @return Integral image.
+	 */
+	public static ImageSInt64 transformS64( ImageUInt8 input , ImageSInt64 transformed ) {
+		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt64.class);
+
+		if( BoofConcurrency.isActive(input) )
+			ImplIntegralImageOps.transformConcurrent(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
+
+		return transformed;
+	}
+
+	/**
+	 * Converts a regular image into a 64-bit integral image.  Unlike the 32-bit integral image the sum of the
+	 * entire image will not overflow.
+	 *
+	 * @param input Regular image. Not modified.
+	 * @param transformed Integral image. If null a new image will be created. Modified.
+	 * @return Integral image.
+	 */
+	public static ImageSInt64 transformS64( ImageUInt16 input , ImageSInt64 transformed ) {
+		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt64.class);
+
+		if( BoofConcurrency.isActive(input) )
+			ImplIntegralImageOps.transformConcurrent(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -88,7 +169,10 @@ public class IntegralImageOps {
 	public static ImageSInt32 transform( ImageSInt32 input , ImageSInt32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt32.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if( BoofConcurrency.isActive(input) )
+			ImplIntegralImageOps.transformConcurrent(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -103,7 +187,10 @@ public class IntegralImageOps {
 	public static ImageSInt64 transform( ImageSInt64 input , ImageSInt64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,ImageSInt64.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if( BoofConcurrency.isActive(input) )
+			ImplIntegralImageOps.transformConcurrent(input,transformed);
+		else
+			ImplIntegralImageOps.transform(input,transformed);
 
 		return transformed;
 	}
@@ -19,6 +19,8 @@
 package boofcv.alg.transform.ii.impl;
 
 import boofcv.alg.transform.ii.IntegralKernel;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.*;
 
@@ -62,6 +64,112 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * Computes the integral image in two passes which are run using {@link BoofConcurrency}.  First the sum along
+	 * each row is found with the rows split between threads.  Then each column is summed with the columns split
+	 * between threads.  The arithmetic is the same as in {@link #transform(ImageFloat32, ImageFloat32)}, producing
+	 * identical results.
+	 */
+	public static void transformConcurrent( final ImageFloat32 input , final ImageFloat32 transformed )
+	{
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					float total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		BoofConcurrency.loopColumns(input, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
+	public static void transform( final ImageFloat32 input , final ImageFloat64 transformed )
+	{
+		int indexSrc = input.startIndex;
+		int indexDst = transformed.startIndex;
+		int end = indexSrc + input.width;
+
+		double total = 0;
+		for( ; indexSrc < end; indexSrc++ ) {
+			transformed.data[indexDst++] = total += input.data[indexSrc];
+		}
+
+		for( int y = 1; y < input.height; y++ ) {
+			indexSrc = input.startIndex + input.stride*y;
+			indexDst = transformed.startIndex + transformed.stride*y;
+			int indexPrev = indexDst - transformed.stride;
+
+			end = indexSrc + input.width;
+
+			total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				total +=  input.data[indexSrc];
+				transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+			}
+		}
+	}
+
+	/**
+	 * Computes the integral image in two passes which are run using {@link BoofConcurrency}.  First the sum along
+	 * each row is found with the rows split between threads.  Then each column is summed with the columns split
+	 * between threads.  The arithmetic is the same as in {@link #transform(ImageFloat32, ImageFloat64)}, producing
+	 * identical results.
+	 */
+	public static void transformConcurrent( final ImageFloat32 input , final ImageFloat64 transformed )
+	{
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					double total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		BoofConcurrency.loopColumns(input, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
 	public static void transform( final ImageFloat64 input , final ImageFloat64 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -88,6 +196,46 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * Computes the integral image in two passes which are run using {@link BoofConcurrency}.  First the sum along
+	 * each row is found with the rows split between threads.  Then each column is summed with the columns split
+	 * between threads.  The arithmetic is the same as in {@link #transform(ImageFloat64, ImageFloat64)}, producing
+	 * identical results.
+	 */
+	public static void transformConcurrent( final ImageFloat64 input , final ImageFloat64 transformed )
+	{
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					double total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		BoofConcurrency.loopColumns(input, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
 	public static void transform( final ImageUInt8 input , final ImageSInt32 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -114,6 +262,178 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * Computes the integral image in two passes which are run using {@link BoofConcurrency}.  First the sum along
+	 * each row is found with the rows split between threads.  Then each column is summed with the columns split
+	 * between threads.  The arithmetic is the same as in {@link #transform(ImageUInt8, ImageSInt32)}, producing
+	 * identical results.
+	 */
+	public static void transformConcurrent( final ImageUInt8 input , final ImageSInt32 transformed )
+	{
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					int total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFF;
+					}
+				}
+			}
+		});
+
+		BoofConcurrency.loopColumns(input, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
+	public static void transform( final ImageUInt8 input , final ImageSInt64 transformed )
+	{
+		int indexSrc = input.startIndex;
+		int indexDst = transformed.startIndex;
+		int end = indexSrc + input.width;
+
+		long total = 0;
+		for( ; indexSrc < end; indexSrc++ ) {
+			transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFF;
+		}
+
+		for( int y = 1; y < input.height; y++ ) {
+			indexSrc = input.startIndex + input.stride*y;
+			indexDst = transformed.startIndex + transformed.stride*y;
+			int indexPrev = indexDst - transformed.stride;
+
+			end = indexSrc + input.width;
+
+			total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				total +=  input.data[indexSrc]& 0xFF;
+				transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+			}
+		}
+	}
+
+	/**
+	 * Computes the integral image in two passes which are run using {@link BoofConcurrency}.  First the sum along
+	 * each row is found with the rows split between threads.  Then each column is summed with the columns split
+	 * between threads.  The arithmetic is the same as in {@link #transform(ImageUInt8, ImageSInt64)}, producing
+	 * identical results.
+	 */
+	public static void transformConcurrent( final ImageUInt8 input , final ImageSInt64 transformed )
+	{
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					long total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFF;
+					}
+				}
+			}
+		});
+
+		BoofConcurrency.loopColumns(input, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
+	public static void transform( final ImageUInt16 input , final ImageSInt64 transformed )
+	{
+		int indexSrc = input.startIndex;
+		int indexDst = transformed.startIndex;
+		int end = indexSrc + input.width;
+
+		long total = 0;
+		for( ; indexSrc < end; indexSrc++ ) {
+			transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFFFF;
+		}
+
+		for( int y = 1; y < input.height; y++ ) {
+			indexSrc = input.startIndex + input.stride*y;
+			indexDst = transformed.startIndex + transformed.stride*y;
+			int indexPrev = indexDst - transformed.stride;
+
+			end = indexSrc + input.width;
+
+			total = 0;
+			for( ; indexSrc < end; indexSrc++ ) {
+				total +=  input.data[indexSrc]& 0xFFFF;
+				transformed.data[indexDst++] = transformed.data[indexPrev++] + total;
+			}
+		}
+	}
+
+	/**
+	 * Computes the integral image in two passes which are run using {@link BoofConcurrency}.  First the sum along
+	 * each row is found with the rows split between threads.  Then each column is summed with the columns split
+	 * between threads.  The arithmetic is the same as in {@link #transform(ImageUInt16, ImageSInt64)}, producing
+	 * identical results.
+	 */
+	public static void transformConcurrent( final ImageUInt16 input , final ImageSInt64 transformed )
+	{
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					long total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc]& 0xFFFF;
+					}
+				}
+			}
+		});
+
+		BoofConcurrency.loopColumns(input, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
 	public static void transform( final ImageSInt32 input , final ImageSInt32 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -140,6 +460,46 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * Computes the integral image in two passes which are run using {@link BoofConcurrency}.  First the sum along
+	 * each row is found with the rows split between threads.  Then each column is summed with the columns split
+	 * between threads.  The arithmetic is the same as in {@link #transform(ImageSInt32, ImageSInt32)}, producing
+	 * identical results.
+	 */
+	public static void transformConcurrent( final ImageSInt32 input , final ImageSInt32 transformed )
+	{
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					int total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		BoofConcurrency.loopColumns(input, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
 	public static void transform( final ImageSInt64 input , final ImageSInt64 transformed )
 	{
 		int indexSrc = input.startIndex;
@@ -166,6 +526,46 @@ public class ImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * Computes the integral image in two passes which are run using {@link BoofConcurrency}.  First the sum along
+	 * each row is found with the rows split between threads.  Then each column is summed with the columns split
+	 * between threads.  The arithmetic is the same as in {@link #transform(ImageSInt64, ImageSInt64)}, producing
+	 * identical results.
+	 */
+	public static void transformConcurrent( final ImageSInt64 input , final ImageSInt64 transformed )
+	{
+		BoofConcurrency.loopRows(input, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					int indexSrc = input.startIndex + input.stride*y;
+					int indexDst = transformed.startIndex + transformed.stride*y;
+					int end = indexSrc + input.width;
+
+					long total = 0;
+					for( ; indexSrc < end; indexSrc++ ) {
+						transformed.data[indexDst++] = total += input.data[indexSrc];
+					}
+				}
+			}
+		});
+
+		BoofConcurrency.loopColumns(input, new IntRangeTask() {
+			@Override
+			public void process(int x0, int x1) {
+				for( int y = 1; y < transformed.height; y++ ) {
+					int indexDst = transformed.startIndex + transformed.stride*y + x0;
+					int indexPrev = indexDst - transformed.stride;
+					int end = indexDst + x1 - x0;
+
+					for( ; indexDst < end; indexDst++ ) {
+						transformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];
+					}
+				}
+			}
+		});
+	}
+
 	public static void convolve( ImageFloat32 integral ,
 								 IntegralKernel kernel,
 								 ImageFloat32 output )
@@ -19,6 +19,8 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.convolve.GenericConvolveDown;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.convolve.FactoryConvolveDown;
 import boofcv.struct.convolve.Kernel1D;
@@ -41,6 +43,11 @@ import boofcv.struct.pyramid.PyramidDiscrete;
  * have it dependent on each level's scale factor.
  * </p>
  *
+ * <p>
+ * Can be lazy, see {@link #setLazy(boolean)}.  Concurrency: If turned on in {@link BoofConcurrency} each layer is
+ * computed using several threads.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -50,6 +57,7 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 	private T temp;
 	GenericConvolveDown<T,T> horizontal;
 	GenericConvolveDown<T,T> vertical;
+	Kernel1D kernel;
 
 	// amount of blur applied to each layer
 	double sigmas[];
@@ -68,6 +76,7 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 	{
 		super(imageType,saveOriginalReference,scaleFactors);
 
+		this.kernel = kernel;
 		horizontal = FactoryConvolveDown.convolve(kernel,imageType,imageType,
 				BorderType.NORMALIZED,true,1);
 		vertical = FactoryConvolveDown.convolve(kernel,imageType,imageType,
@@ -94,33 +103,62 @@ public class PyramidDiscreteSampleBlur<T extends ImageSingleBand> extends Pyrami
 			temp = (T)input._createNew(1,1);
 		}
 
-		if (scale[0] == 1) {
-			if (isSaveOriginalReference()) {
-				setFirstLayer(input);
+		updateLayers(input);
+	}
+
+	@Override
+	protected void computeLayer(int index) {
+		if( index == 0 ) {
+			if (scale[0] == 1) {
+				if (isSaveOriginalReference()) {
+					setFirstLayer(input);
+				} else {
+					layers[0].setTo(input);
+				}
 			} else {
-				getLayer(0).setTo(input);
+				blurDown(input, scale[0], layers[0]);
 			}
 		} else {
-			int skip = scale[0];
-
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
-
-			temp.reshape(input.width/skip,input.height);
-			horizontal.process(input,temp);
-			vertical.process(temp,getLayer(0));
+			blurDown(layers[index-1], scale[index]/scale[index-1], layers[index]);
 		}
+	}
 
-		for (int index = 1; index < getNumLayers(); index++) {
-			int skip = scale[index]/scale[index-1];
-			T prev = getLayer(index-1);
-			temp.reshape(prev.width/skip,prev.height);
+	/**
+	 * Blurs and down samples the image.  The horizontal pass only modifies each row independently and
+	 * the vertical pass each column, so they are split into bands of rows and columns respectively and
+	 * processed concurrently.  Column bands are kept wider than the kernel so that the same convolution
+	 * code is used as when the whole image is processed at once.
+	 */
+	private void blurDown( final T prev , int skip , final T output ) {
+		horizontal.setSkip(skip);
+		vertical.setSkip(skip);
 
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
+		temp.reshape(prev.width/skip,prev.height);
 
+		if( !BoofConcurrency.isActive(prev) ) {
 			horizontal.process(prev,temp);
-			vertical.process(temp,getLayer(index));
+			vertical.process(temp,output);
+			return;
+		}
+
+		BoofConcurrency.loopRows(temp, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				horizontal.process((T)prev.subimage(0,y0,prev.width,y1,null),
+						(T)temp.subimage(0,y0,temp.width,y1,null));
+			}
+		});
+
+		if( temp.width < (kernel.getWidth()+1)*BoofConcurrency.getMaxThreads() ) {
+			vertical.process(temp,output);
+		} else {
+			BoofConcurrency.loopColumns(temp, new IntRangeTask() {
+				@Override
+				public void process(int x0, int x1) {
+					vertical.process((T)temp.subimage(x0,0,x1,temp.height,null),
+							(T)output.subimage(x0,0,x1,output.height,null));
+				}
+			});
 		}
 	}
 
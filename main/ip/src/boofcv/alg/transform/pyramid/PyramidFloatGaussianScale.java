@@ -19,10 +19,11 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.blur.BlurStorageFilter;
-import boofcv.alg.distort.DistortImageOps;
+import boofcv.alg.distort.ImageDistort;
 import boofcv.alg.distort.PixelTransformAffine_F32;
 import boofcv.alg.distort.impl.DistortSupport;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.factory.distort.FactoryDistort;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.PyramidFloat;
@@ -41,6 +42,10 @@ import boofcv.struct.pyramid.PyramidFloat;
  * with no sacrifices to improve speed.
  * </p>
  *
+ * <p>
+ * Can be lazy, see {@link #setLazy(boolean)}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -58,6 +63,10 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 	// The effective amount of blur in each pyramid layer relative to the input image
 	protected double[] sigma;
 
+	// blur filter for each layer and the resampling algorithm.  Saved to avoid declaring them for each image
+	protected BlurStorageFilter<T>[] blurs;
+	protected ImageDistort<T,T> distort;
+
 	/**
 	 * Configures the pyramid
 	 *
@@ -77,6 +86,8 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 		for( int i = 0; i < sigmaLayers.length; i++ )
 			this.sigmaLayers[i] = (float) sigmaLayers[i];
 
+		blurs = new BlurStorageFilter[ sigmaLayers.length ];
+
 		sigma = new double[ sigmaLayers.length ];
 		sigma[0] = sigmaLayers[0];
 		for( int i = 1; i < scales.length; i++ ) {
@@ -98,22 +109,31 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 			tempImage = (T)input._createNew(input.width,input.height);
 		}
 
-		for( int i = 0; i < scale.length; i++ ) {
-			T prev = i == 0 ? input : getLayer(i-1);
-			T layer = getLayer(i);
-
-			// Apply the requested blur to the previous layer
-			BlurStorageFilter<T> blur = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(layer.getClass(), sigmaLayers[i],-1);
-			tempImage.reshape(prev.width,prev.height);
-			blur.process(prev,tempImage);
-
-			// Resample the blurred image
-			if( scale[i] == 1 ) {
-				layer.setTo(tempImage);
-			} else {
-				PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,tempImage);
-				DistortImageOps.distortSingle(tempImage,layer, true, model,interpolate);
+		updateLayers(input);
+	}
+
+	@Override
+	protected void computeLayer(int i) {
+		T prev = i == 0 ? input : layers[i-1];
+		T layer = layers[i];
+
+		// Apply the requested blur to the previous layer
+		if( blurs[i] == null )
+			blurs[i] = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(layer.getClass(), sigmaLayers[i],-1);
+		tempImage.reshape(prev.width,prev.height);
+		blurs[i].process(prev,tempImage);
+
+		// Resample the blurred image
+		if( scale[i] == 1 ) {
+			layer.setTo(tempImage);
+		} else {
+			if( distort == null ) {
+				distort = FactoryDistort.distortSB(false,interpolate,(Class<T>)layer.getClass());
+				distort.setRenderAll(true);
 			}
+			PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,tempImage);
+			distort.setModel(model);
+			distort.apply(tempImage,layer);
 		}
 	}
 
@@ -123,6 +143,7 @@ public class PyramidFloatGaussianScale< T extends ImageSingleBand> extends Pyram
 
 	public void setInterpolate(InterpolatePixelS<T> interpolate) {
 		this.interpolate = interpolate;
+		this.distort = null;
 	}
 
 	@Override
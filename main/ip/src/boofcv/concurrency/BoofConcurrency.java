@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import boofcv.struct.image.ImageBase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * Global settings and utility functions for running low level image operations across multiple threads.
+ * By default concurrency is turned off and every operation runs on the caller's thread.  Once turned on
+ * with {@link #setUseConcurrent(boolean)}, operations which support it will split the image into bands
+ * of rows (or columns) and process each band in a separate thread.  The output is identical to the
+ * single threaded version.
+ * </p>
+ *
+ * <p>
+ * Nested calls are always run on a single thread.  If an operation is invoked from inside a task which is
+ * already being run concurrently it will process the entire image on the current thread.  This avoids
+ * over subscribing the thread pool and makes it safe for operations to be composed out of other operations.
+ * </p>
+ *
+ * <p>
+ * The calling thread always participates in processing the bands.  Thus even if the thread pool is busy the
+ * operation will complete without waiting on other threads.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+
+	// true if concurrent implementations should be used
+	private static volatile boolean useConcurrent = false;
+	// maximum number of threads which can process a single operation
+	private static volatile int maxThreads = Runtime.getRuntime().availableProcessors();
+	// images with fewer pixels than this are always processed in a single thread
+	private static volatile int minimumPixels = 200*200;
+	// minimum number of rows or columns in a band
+	private static volatile int minimumBandWidth = 16;
+
+	// thread pool used to process the bands
+	private static ExecutorService pool;
+	// true if the pool was created here and can be shutdown
+	private static boolean ownsPool;
+
+	// indicates if the current thread is already processing a band
+	private static final ThreadLocal<Boolean> insideTask = new ThreadLocal<Boolean>() {
+		@Override
+		protected Boolean initialValue() {
+			return Boolean.FALSE;
+		}
+	};
+
+	/**
+	 * Turns concurrent processing on or off for all operations which support it.
+	 */
+	public static void setUseConcurrent( boolean use ) {
+		useConcurrent = use;
+	}
+
+	public static boolean isUseConcurrent() {
+		return useConcurrent;
+	}
+
+	/**
+	 * Specifies the maximum number of threads an operation can be split across.  If the internal thread pool
+	 * has already been created it will be shutdown and a new one of the appropriate size created when needed.
+	 * Operations which are already running on the old pool are not affected.
+	 *
+	 * @param threads Maximum number of threads.  Must be &ge; 1.
+	 */
+	public static synchronized void setMaxThreads( int threads ) {
+		if( threads < 1 )
+			throw new IllegalArgumentException("Number of threads must be at least 1");
+		maxThreads = threads;
+		if( ownsPool && pool != null ) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	public static int getMaxThreads() {
+		return maxThreads;
+	}
+
+	/**
+	 * Specifies the thread pool which will process the bands.  Useful if the application already manages its own
+	 * pool, e.g. a ForkJoinPool.  The pool is not shutdown by BoofCV.
+	 *
+	 * @param executor The thread pool.  If null then an internal pool will be created when needed.
+	 */
+	public static synchronized void setExecutor( ExecutorService executor ) {
+		if( ownsPool && pool != null ) {
+			pool.shutdown();
+		}
+		pool = executor;
+		ownsPool = false;
+	}
+
+	/**
+	 * Images with fewer pixels than this will be processed in a single thread since the overhead of
+	 * splitting them up is greater than the gain.
+	 */
+	public static void setMinimumPixels( int pixels ) {
+		minimumPixels = pixels;
+	}
+
+	public static int getMinimumPixels() {
+		return minimumPixels;
+	}
+
+	/**
+	 * Minimum number of rows or columns which are processed by a single task
+	 */
+	public static void setMinimumBandWidth( int width ) {
+		if( width < 1 )
+			throw new IllegalArgumentException("Band width must be at least 1");
+		minimumBandWidth = width;
+	}
+
+	public static int getMinimumBandWidth() {
+		return minimumBandWidth;
+	}
+
+	/**
+	 * Returns true if an operation on the specified image should be processed using multiple threads.
+	 *
+	 * @param image The image being processed.
+	 * @return true if it should be processed concurrently
+	 */
+	public static boolean isActive( ImageBase image ) {
+		return isActive() && image.width*image.height >= minimumPixels;
+	}
+
+	/**
+	 * Returns true if concurrency is turned on and the current thread isn't already processing a task.
+	 */
+	public static boolean isActive() {
+		return useConcurrent && maxThreads > 1 && !insideTask.get();
+	}
+
+	/**
+	 * Splits the rows of an image into bands and processes each band with the task.
+	 *
+	 * @see #loopRows(ImageBase, int, int, IntRangeTask)
+	 */
+	public static void loopRows( ImageBase image , IntRangeTask task ) {
+		loopRows(image, 0, 0, task);
+	}
+
+	/**
+	 * <p>
+	 * Splits the rows of an image into bands and processes each band with the task.  Each band is expanded
+	 * by 'haloTop' rows above it and 'haloBottom' rows below it, but not outside the image.  This is intended
+	 * for operations which skip the image border, e.g. a convolution which doesn't process the first 'offset'
+	 * rows.  If applied to a sub-image of the band, such an operation will write to exactly the un-expanded
+	 * rows, making the result identical to processing the whole image at once.
+	 * </p>
+	 *
+	 * <p>
+	 * If concurrency is not active for this image then the task is invoked once with the entire image.
+	 * </p>
+	 *
+	 * @param image The image whose rows are to be processed.
+	 * @param haloTop Number of rows the band is expanded upwards.
+	 * @param haloBottom Number of rows the band is expanded downwards.
+	 * @param task Processes a band of rows.
+	 */
+	public static void loopRows( ImageBase image , int haloTop , int haloBottom , IntRangeTask task ) {
+		if( !isActive(image) ) {
+			task.process(0, image.height);
+			return;
+		}
+		loopBlocks(0, image.height, haloTop, haloBottom, task);
+	}
+
+	/**
+	 * Splits the columns of an image into bands and processes each band with the task.  Useful when an operation
+	 * carries state down each column.
+	 *
+	 * @param image The image whose columns are to be processed.
+	 * @param task Processes a band of columns.
+	 */
+	public static void loopColumns( ImageBase image , IntRangeTask task ) {
+		if( !isActive(image) ) {
+			task.process(0, image.width);
+			return;
+		}
+		loopBlocks(0, image.width, 0, 0, task);
+	}
+
+	/**
+	 * Splits the range [start,end) into blocks and processes them concurrently, if concurrency is active.
+	 *
+	 * @param start First element in the range, inclusive.
+	 * @param end Last element in the range, exclusive.
+	 * @param task Processes a block.
+	 */
+	public static void loopBlocks( int start , int end , IntRangeTask task ) {
+		if( !isActive() ) {
+			task.process(start, end);
+			return;
+		}
+		loopBlocks(start, end, 0, 0, task);
+	}
+
+	/**
+	 * Processes each index in the range [start,end) as a separate job, if concurrency is active.  Intended for a
+	 * small number of coarse jobs whose cost can vary, e.g. the layers in a scale-space.  Threads take the next
+	 * unprocessed index until none are left, balancing the load.  The task is always invoked with a range
+	 * containing a single index.
+	 *
+	 * @param start First index, inclusive.
+	 * @param end Last index, exclusive.
+	 * @param task Processes a single index, i.e. the range [i,i+1).
+	 */
+	public static void loopFor( int start , int end , IntRangeTask task ) {
+		if( !isActive() || end - start <= 1 ) {
+			for( int i = start; i < end; i++ ) {
+				task.process(i, i + 1);
+			}
+			return;
+		}
+
+		int N = end - start;
+		int starts[] = new int[N];
+		int ends[] = new int[N];
+		for( int i = 0; i < N; i++ ) {
+			starts[i] = start + i;
+			ends[i] = start + i + 1;
+		}
+
+		execute(starts, ends, task);
+	}
+
+	private static void loopBlocks( int start , int end , int haloLower , int haloUpper , IntRangeTask task ) {
+		int length = end-start;
+		int numBlocks = Math.min(maxThreads, length/minimumBandWidth);
+
+		if( numBlocks <= 1 ) {
+			task.process(start, end);
+			return;
+		}
+
+		int starts[] = new int[numBlocks];
+		int ends[] = new int[numBlocks];
+
+		for( int i = 0; i < numBlocks; i++ ) {
+			int b0 = start + (int)((long)length*i/numBlocks);
+			int b1 = start + (int)((long)length*(i+1)/numBlocks);
+
+			starts[i] = Math.max(start, b0 - haloLower);
+			ends[i] = Math.min(end, b1 + haloUpper);
+		}
+
+		execute(starts, ends, task);
+	}
+
+	/**
+	 * Processes each block.  The calling thread processes blocks too and returns once all of them are finished.
+	 */
+	private static void execute( final int starts[] , final int ends[] , final IntRangeTask task ) {
+		final int N = starts.length;
+		final AtomicInteger next = new AtomicInteger();
+		final CountDownLatch finished = new CountDownLatch(N);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+		Runnable worker = new Runnable() {
+			@Override
+			public void run() {
+				Boolean previous = insideTask.get();
+				insideTask.set(Boolean.TRUE);
+				try {
+					int i;
+					while( (i = next.getAndIncrement()) < N ) {
+						try {
+							if( failure.get() == null )
+								task.process(starts[i], ends[i]);
+						} catch( Throwable t ) {
+							failure.compareAndSet(null, t);
+						} finally {
+							finished.countDown();
+						}
+					}
+				} finally {
+					insideTask.set(previous);
+				}
+			}
+		};
+
+		// each worker processes blocks until there are none left
+		ExecutorService pool = getPool();
+		int numWorkers = Math.min(N, maxThreads);
+		for( int i = 1; i < numWorkers; i++ ) {
+			try {
+				pool.execute(worker);
+			} catch( RejectedExecutionException e ) {
+				// the pool was shutdown by another thread.  Blocks which haven't been taken by a worker
+				// are processed by the calling thread
+				break;
+			}
+		}
+		worker.run();
+
+		boolean interrupted = false;
+		while( true ) {
+			try {
+				finished.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if( interrupted )
+			Thread.currentThread().interrupt();
+
+		Throwable t = failure.get();
+		if( t != null ) {
+			if( t instanceof RuntimeException )
+				throw (RuntimeException)t;
+			if( t instanceof Error )
+				throw (Error)t;
+			throw new RuntimeException(t);
+		}
+	}
+
+	private static synchronized ExecutorService getPool() {
+		if( pool == null ) {
+			pool = Executors.newFixedThreadPool(Math.max(1, maxThreads - 1), new ThreadFactory() {
+				final AtomicInteger count = new AtomicInteger();
+
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "BoofConcurrency-" + count.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				}
+			});
+			ownsPool = true;
+		}
+		return pool;
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+/**
+ * Copy of the global settings in {@link BoofConcurrency} at the time it was created.  Used to put back the
+ * previous configuration after it has been changed temporarily, e.g. inside of a unit test.
+ *
+ * @author Peter Abeles
+ */
+public class ConcurrencySettings {
+	private boolean useConcurrent = BoofConcurrency.isUseConcurrent();
+	private int maxThreads = BoofConcurrency.getMaxThreads();
+	private int minimumPixels = BoofConcurrency.getMinimumPixels();
+	private int minimumBandWidth = BoofConcurrency.getMinimumBandWidth();
+
+	/**
+	 * Turns on concurrency and configures {@link BoofConcurrency} so that even small images are split
+	 * into several bands.  Intended for tests which compare the output with and without concurrency.  The
+	 * settings which were active before are returned and must be restored when done, typically inside a
+	 * finally block.
+	 *
+	 * @param minimumBandWidth Minimum number of rows or columns processed by a single task
+	 * @return Settings which were active before this function was called
+	 */
+	public static ConcurrencySettings enable( int minimumBandWidth ) {
+		ConcurrencySettings previous = new ConcurrencySettings();
+		BoofConcurrency.setUseConcurrent(true);
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.setMinimumPixels(0);
+		BoofConcurrency.setMinimumBandWidth(minimumBandWidth);
+		return previous;
+	}
+
+	/**
+	 * Changes the settings in {@link BoofConcurrency} back to the saved values
+	 */
+	public void restore() {
+		BoofConcurrency.setUseConcurrent(useConcurrent);
+		if( BoofConcurrency.getMaxThreads() != maxThreads )
+			BoofConcurrency.setMaxThreads(maxThreads);
+		BoofConcurrency.setMinimumPixels(minimumPixels);
+		BoofConcurrency.setMinimumBandWidth(minimumBandWidth);
+	}
+}
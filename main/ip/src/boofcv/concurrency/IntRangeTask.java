@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+/**
+ * Processes a contiguous range of integers, typically a band of image rows.  Implementations must only
+ * write to the portion of the output which corresponds to the range they were given, since several
+ * ranges can be processed at the same time by different threads.
+ *
+ * @see BoofConcurrency
+ *
+ * @author Peter Abeles
+ */
+public interface IntRangeTask {
+
+	/**
+	 * Processes all the elements inside the range.
+	 *
+	 * @param start First element in the range, inclusive.
+	 * @param end Last element in the range, exclusive.
+	 */
+	void process( int start , int end );
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+/**
+ * <p>
+ * Floating point sums computed by each band of a concurrent operation.  Floating point addition isn't
+ * associative, so each band's partial sums are saved along with the band's first row and added up in the
+ * order of the bands once all of them have finished.  The result then doesn't depend on which thread
+ * finished first.  Storage grows with the number of bands, not the size of the image.
+ * </p>
+ *
+ * <p>
+ * Several sums can be tracked at once, e.g. the sum and the sum of squares.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class OrderedSums {
+
+	// number of sums saved for each band
+	private final int numSums;
+	// first row of each band, sorted in increasing order
+	private int bands[] = new int[4];
+	// partial sums of each band, in the same order as 'bands'
+	private double sums[];
+	// number of bands which have been added
+	private int size;
+
+	/**
+	 * @param numSums Number of sums saved for each band.
+	 */
+	public OrderedSums( int numSums ) {
+		this.numSums = numSums;
+		sums = new double[bands.length*numSums];
+	}
+
+	/**
+	 * Saves the partial sum of a band.  Can only be used if a single sum is being tracked.
+	 *
+	 * @param band The band's first row.
+	 * @param value Partial sum of the band.
+	 */
+	public synchronized void add( int band , double value ) {
+		int index = insert(band);
+		sums[index] = value;
+	}
+
+	/**
+	 * Saves the two partial sums of a band.  Can only be used if two sums are being tracked.
+	 *
+	 * @param band The band's first row.
+	 * @param valueA Partial sum of the band for the first sum.
+	 * @param valueB Partial sum of the band for the second sum.
+	 */
+	public synchronized void add( int band , double valueA , double valueB ) {
+		int index = insert(band);
+		sums[index] = valueA;
+		sums[index+1] = valueB;
+	}
+
+	/**
+	 * Adds up the partial sums in the order of the bands.
+	 *
+	 * @param which Which of the sums is to be returned.
+	 * @return The total sum.
+	 */
+	public synchronized double total( int which ) {
+		double total = 0;
+		for( int i = 0; i < size; i++ ) {
+			total += sums[i*numSums + which];
+		}
+		return total;
+	}
+
+	/**
+	 * Inserts the band while keeping them sorted and returns the index of its first sum
+	 */
+	private int insert( int band ) {
+		if( size == bands.length ) {
+			int tmpBands[] = new int[size*2];
+			double tmpSums[] = new double[size*2*numSums];
+			System.arraycopy(bands, 0, tmpBands, 0, size);
+			System.arraycopy(sums, 0, tmpSums, 0, size*numSums);
+			bands = tmpBands;
+			sums = tmpSums;
+		}
+
+		// bands tend to finish in order, so search from the end
+		int i = size;
+		while( i > 0 && bands[i-1] > band )
+			i--;
+
+		System.arraycopy(bands, i, bands, i+1, size-i);
+		System.arraycopy(sums, i*numSums, sums, (i+1)*numSums, (size-i)*numSums);
+		bands[i] = band;
+		size++;
+		return i*numSums;
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.encoding;
+
+import boofcv.struct.image.*;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Converts YUV images in any of the formats listed in {@link YuvFormat} into BoofCV images.  Gray scale images
+ * are filled with the Y channel and color images are converted into RGB.  The encoded image can be stored in a
+ * byte array or a {@link ByteBuffer}, e.g. a direct buffer provided by a camera API.
+ * </p>
+ *
+ * <p>
+ * The output image must be declared by the caller.  Conversions don't declare any memory when the input is an
+ * array or a buffer backed by an array.  Concurrency: If turned on in {@link boofcv.concurrency.BoofConcurrency}
+ * bands of rows are converted in parallel.
+ * </p>
+ *
+ * <p>
+ * Supported output images: {@link ImageUInt8}, {@link ImageFloat32}, {@link InterleavedU8}, {@link InterleavedF32},
+ * and {@link MultiSpectral} with U8 or F32 bands.  Color images must have 3 bands.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvertYuv {
+
+	/**
+	 * Number of bytes in an encoded image.
+	 *
+	 * @param format Format of the encoded image
+	 * @param width image width
+	 * @param height image height
+	 * @return number of bytes
+	 */
+	public static int bufferSize( YuvFormat format , int width , int height ) {
+		int widthUV = (width+1)/2;
+		int heightUV = (height+1)/2;
+
+		switch( format ) {
+			case NV12:
+			case NV21:
+			case I420:
+				return width*height + 2*widthUV*heightUV;
+
+			case YUYV:
+			case UYVY:
+				return 4*widthUV*height;
+
+			default:
+				throw new IllegalArgumentException("Unknown format "+format);
+		}
+	}
+
+	/**
+	 * Converts an encoded YUV image stored in a byte array into a BoofCV image.
+	 *
+	 * @param data (input) Encoded image.
+	 * @param offset (input) Index of the first byte of the image in the array.
+	 * @param format (input) Format of the encoded image.
+	 * @param output (output) BoofCV image.  Its shape specifies the shape of the encoded image.
+	 */
+	public static void yuvToBoof( byte[] data , int offset , YuvFormat format , ImageBase output ) {
+		checkLength(data.length - offset, format, output);
+
+		ImplConvertYuv.Layout layout = new ImplConvertYuv.Layout(format, offset, output.width, output.height);
+		ImplConvertYuv.process(data, layout, createConverter(layout, output), output);
+	}
+
+	/**
+	 * Converts an encoded YUV image stored in a {@link ByteBuffer} into a BoofCV image.  The image starts at the
+	 * buffer's position.  The buffer's position isn't modified.
+	 *
+	 * @param data (input) Encoded image.
+	 * @param format (input) Format of the encoded image.
+	 * @param output (output) BoofCV image.  Its shape specifies the shape of the encoded image.
+	 */
+	public static void yuvToBoof( ByteBuffer data , YuvFormat format , ImageBase output ) {
+		checkLength(data.remaining(), format, output);
+
+		if( data.hasArray() ) {
+			yuvToBoof(data.array(), data.arrayOffset() + data.position(), format, output);
+		} else {
+			ImplConvertYuv.Layout layout = new ImplConvertYuv.Layout(format, 0, output.width, output.height);
+			ImplConvertYuv.process(data, layout, createConverter(layout, output), output);
+		}
+	}
+
+	private static void checkLength( int length , YuvFormat format , ImageBase output ) {
+		int expected = bufferSize(format, output.width, output.height);
+		if( length < expected )
+			throw new IllegalArgumentException("Encoded image is too small. Expected "+expected+" bytes but has "+length);
+	}
+
+	private static ImplConvertYuv.RowConverter createConverter( ImplConvertYuv.Layout layout , ImageBase output ) {
+		if( output instanceof ImageSingleBand ) {
+			if( output.getClass() == ImageUInt8.class ) {
+				return new ImplConvertYuv.ToGray_U8(layout, (ImageUInt8) output);
+			} else if( output.getClass() == ImageFloat32.class ) {
+				return new ImplConvertYuv.ToGray_F32(layout, (ImageFloat32) output);
+			} else {
+				throw new IllegalArgumentException("Unsupported output type");
+			}
+		} else if( output instanceof MultiSpectral ) {
+			MultiSpectral ms = (MultiSpectral) output;
+			checkBands(ms.getNumBands());
+
+			if( ms.getBandType() == ImageUInt8.class ) {
+				return new ImplConvertYuv.ToMultiSpectral_U8(layout, ms);
+			} else if( ms.getBandType() == ImageFloat32.class ) {
+				return new ImplConvertYuv.ToMultiSpectral_F32(layout, ms);
+			} else {
+				throw new IllegalArgumentException("Unsupported output band format");
+			}
+		} else if( output instanceof ImageInterleaved ) {
+			checkBands(((ImageInterleaved) output).getNumBands());
+
+			if( output.getClass() == InterleavedU8.class ) {
+				return new ImplConvertYuv.ToInterleaved_U8(layout, (InterleavedU8) output);
+			} else if( output.getClass() == InterleavedF32.class ) {
+				return new ImplConvertYuv.ToInterleaved_F32(layout, (InterleavedF32) output);
+			} else {
+				throw new IllegalArgumentException("Unsupported output type");
+			}
+		} else {
+			throw new IllegalArgumentException("Boofcv image type not yet supported");
+		}
+	}
+
+	private static void checkBands( int numBands ) {
+		if( numBands != 3 )
+			throw new IllegalArgumentException("three bands expected");
+	}
+}
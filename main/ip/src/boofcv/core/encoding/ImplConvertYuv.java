@@ -0,0 +1,487 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.encoding;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeTask;
+import boofcv.struct.image.*;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * Implementation of {@link ConvertYuv}.  All the formats in {@link YuvFormat} are described by where each row of
+ * Y, U, and V starts and the step between samples along a row.  This lets a single kernel for each type of output
+ * image handle every format.  The kernels convert one row at a time and process two pixels at once, since they
+ * share the same chroma.  Results are clamped using a look up table instead of with branches.
+ * </p>
+ *
+ * <p>
+ * YUV to RGB uses the same integer approximation of ITU-R BT.601 as {@link ConvertNV21}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplConvertYuv {
+
+	// Look up table which clamps values to be from 0 to 255.  Avoids branches, which are poorly predicted
+	// for noisy images.
+	static final int OFFSET = 512 << 10;
+	static final byte[] CLAMP = new byte[2048];
+
+	static {
+		for( int i = 0; i < CLAMP.length; i++ ) {
+			int v = i - 512;
+			CLAMP[i] = (byte)(v < 0 ? 0 : (v > 255 ? 255 : v));
+		}
+	}
+
+	/**
+	 * Converts the image with bands of rows being processed concurrently, if turned on in {@link BoofConcurrency}.
+	 */
+	public static void process( final byte[] data , final Layout layout , final RowConverter converter ,
+								ImageBase output ) {
+		BoofConcurrency.loopRows(output, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				for( int row = row0; row < row1; row++ ) {
+					converter.convert(data, layout.indexY(row), layout.indexU(row), layout.indexV(row), row);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Converts an image stored in a {@link ByteBuffer} which is not backed by an array.  Each band of rows has its own
+	 * copy of the buffer and a small array which one row of Y, U, and V is copied into before being converted.
+	 */
+	public static void process( final ByteBuffer data , final Layout layout , final RowConverter converter ,
+								ImageBase output ) {
+		final int width = output.width;
+		final int lengthY = (width-1)*layout.stepY + 1;
+		final int lengthUV = ((width-1)/2)*layout.stepUV + 1;
+
+		BoofConcurrency.loopRows(output, new IntRangeTask() {
+			@Override
+			public void process(int row0, int row1) {
+				ByteBuffer buffer = data.duplicate();
+				int start = data.position();
+				byte[] work = new byte[lengthY + 2*lengthUV];
+
+				for( int row = row0; row < row1; row++ ) {
+					buffer.position(start + layout.indexY(row));
+					buffer.get(work, 0, lengthY);
+					buffer.position(start + layout.indexU(row));
+					buffer.get(work, lengthY, lengthUV);
+					buffer.position(start + layout.indexV(row));
+					buffer.get(work, lengthY + lengthUV, lengthUV);
+
+					converter.convert(work, 0, lengthY, lengthY + lengthUV, row);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Location of Y, U, and V samples inside the encoded image
+	 */
+	public static class Layout {
+		// index of the first Y,U,V sample in the image
+		int startY, startU, startV;
+		// number of elements between rows
+		int strideY, strideUV;
+		// number of elements between samples in a row
+		int stepY, stepUV;
+		// 1 if chroma is at 1/2 resolution vertically or 0 if it's at full resolution
+		int shiftUV;
+
+		public Layout( YuvFormat format , int offset , int width , int height ) {
+			int widthUV = (width+1)/2;
+			int heightUV = (height+1)/2;
+
+			switch( format ) {
+				case NV12:
+				case NV21:
+					startY = offset;
+					startU = offset + width*height;
+					startV = startU + 1;
+					if( format == YuvFormat.NV21 ) {
+						startV = startU;
+						startU = startV + 1;
+					}
+					strideY = width;
+					strideUV = 2*widthUV;
+					stepY = 1;
+					stepUV = 2;
+					shiftUV = 1;
+					break;
+
+				case I420:
+					startY = offset;
+					startU = offset + width*height;
+					startV = startU + widthUV*heightUV;
+					strideY = width;
+					strideUV = widthUV;
+					stepY = 1;
+					stepUV = 1;
+					shiftUV = 1;
+					break;
+
+				case YUYV:
+				case UYVY:
+					if( format == YuvFormat.YUYV ) {
+						startY = offset;
+						startU = offset + 1;
+						startV = offset + 3;
+					} else {
+						startU = offset;
+						startY = offset + 1;
+						startV = offset + 2;
+					}
+					strideY = strideUV = 4*widthUV;
+					stepY = 2;
+					stepUV = 4;
+					shiftUV = 0;
+					break;
+
+				default:
+					throw new IllegalArgumentException("Unknown format "+format);
+			}
+		}
+
+		public int indexY( int row ) {
+			return startY + row*strideY;
+		}
+
+		public int indexU( int row ) {
+			return startU + (row >> shiftUV)*strideUV;
+		}
+
+		public int indexV( int row ) {
+			return startV + (row >> shiftUV)*strideUV;
+		}
+	}
+
+	/**
+	 * Converts a single row of the encoded image into a row in the output image
+	 */
+	public static abstract class RowConverter {
+		int stepY, stepUV;
+
+		protected RowConverter( Layout layout ) {
+			this.stepY = layout.stepY;
+			this.stepUV = layout.stepUV;
+		}
+
+		/**
+		 * @param data Encoded image
+		 * @param indexY Index of the first Y sample in the row
+		 * @param indexU Index of the first U sample in the row
+		 * @param indexV Index of the first V sample in the row
+		 * @param row Which row in the output image is being written to
+		 */
+		public abstract void convert( byte[] data , int indexY , int indexU , int indexV , int row );
+	}
+
+	public static class ToGray_U8 extends RowConverter {
+		ImageUInt8 output;
+
+		public ToGray_U8(Layout layout, ImageUInt8 output) {
+			super(layout);
+			this.output = output;
+		}
+
+		@Override
+		public void convert(byte[] data, int indexY, int indexU, int indexV, int row) {
+			int indexOut = output.startIndex + row*output.stride;
+
+			if( stepY == 1 ) {
+				System.arraycopy(data, indexY, output.data, indexOut, output.width);
+			} else {
+				int end = indexOut + output.width;
+				while( indexOut < end ) {
+					output.data[indexOut++] = data[indexY];
+					indexY += stepY;
+				}
+			}
+		}
+	}
+
+	public static class ToGray_F32 extends RowConverter {
+		ImageFloat32 output;
+
+		public ToGray_F32(Layout layout, ImageFloat32 output) {
+			super(layout);
+			this.output = output;
+		}
+
+		@Override
+		public void convert(byte[] data, int indexY, int indexU, int indexV, int row) {
+			int indexOut = output.startIndex + row*output.stride;
+			int end = indexOut + output.width;
+
+			while( indexOut < end ) {
+				output.data[indexOut++] = data[indexY] & 0xFF;
+				indexY += stepY;
+			}
+		}
+	}
+
+	public static class ToInterleaved_U8 extends RowConverter {
+		InterleavedU8 output;
+
+		public ToInterleaved_U8(Layout layout, InterleavedU8 output) {
+			super(layout);
+			this.output = output;
+		}
+
+		@Override
+		public void convert(byte[] data, int indexY, int indexU, int indexV, int row) {
+			final byte[] out = output.data;
+			int indexOut = output.startIndex + row*output.stride;
+			final int width = output.width;
+
+			int y;
+			int x = 0;
+			for( ; x < width-1; x += 2 ) {
+				int cb = (data[indexU] & 0xFF) - 128;
+				int cr = (data[indexV] & 0xFF) - 128;
+				indexU += stepUV;
+				indexV += stepUV;
+
+				int dr = 1836*cr + OFFSET;
+				int dg = -547*cr - 218*cb + OFFSET;
+				int db = 2165*cb + OFFSET;
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				indexY += stepY;
+				if( y < 0 ) y = 0;
+				out[indexOut++] = CLAMP[(y + dr) >> 10];
+				out[indexOut++] = CLAMP[(y + dg) >> 10];
+				out[indexOut++] = CLAMP[(y + db) >> 10];
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				indexY += stepY;
+				if( y < 0 ) y = 0;
+				out[indexOut++] = CLAMP[(y + dr) >> 10];
+				out[indexOut++] = CLAMP[(y + dg) >> 10];
+				out[indexOut++] = CLAMP[(y + db) >> 10];
+			}
+			if( x < width ) {
+				int cb = (data[indexU] & 0xFF) - 128;
+				int cr = (data[indexV] & 0xFF) - 128;
+
+				int dr = 1836*cr + OFFSET;
+				int dg = -547*cr - 218*cb + OFFSET;
+				int db = 2165*cb + OFFSET;
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				if( y < 0 ) y = 0;
+				out[indexOut++] = CLAMP[(y + dr) >> 10];
+				out[indexOut++] = CLAMP[(y + dg) >> 10];
+				out[indexOut++] = CLAMP[(y + db) >> 10];
+			}
+		}
+	}
+
+	public static class ToInterleaved_F32 extends RowConverter {
+		InterleavedF32 output;
+
+		public ToInterleaved_F32(Layout layout, InterleavedF32 output) {
+			super(layout);
+			this.output = output;
+		}
+
+		@Override
+		public void convert(byte[] data, int indexY, int indexU, int indexV, int row) {
+			final float[] out = output.data;
+			int indexOut = output.startIndex + row*output.stride;
+			final int width = output.width;
+
+			int y;
+			int x = 0;
+			for( ; x < width-1; x += 2 ) {
+				int cb = (data[indexU] & 0xFF) - 128;
+				int cr = (data[indexV] & 0xFF) - 128;
+				indexU += stepUV;
+				indexV += stepUV;
+
+				int dr = 1836*cr + OFFSET;
+				int dg = -547*cr - 218*cb + OFFSET;
+				int db = 2165*cb + OFFSET;
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				indexY += stepY;
+				if( y < 0 ) y = 0;
+				out[indexOut++] = CLAMP[(y + dr) >> 10] & 0xFF;
+				out[indexOut++] = CLAMP[(y + dg) >> 10] & 0xFF;
+				out[indexOut++] = CLAMP[(y + db) >> 10] & 0xFF;
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				indexY += stepY;
+				if( y < 0 ) y = 0;
+				out[indexOut++] = CLAMP[(y + dr) >> 10] & 0xFF;
+				out[indexOut++] = CLAMP[(y + dg) >> 10] & 0xFF;
+				out[indexOut++] = CLAMP[(y + db) >> 10] & 0xFF;
+			}
+			if( x < width ) {
+				int cb = (data[indexU] & 0xFF) - 128;
+				int cr = (data[indexV] & 0xFF) - 128;
+
+				int dr = 1836*cr + OFFSET;
+				int dg = -547*cr - 218*cb + OFFSET;
+				int db = 2165*cb + OFFSET;
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				if( y < 0 ) y = 0;
+				out[indexOut++] = CLAMP[(y + dr) >> 10] & 0xFF;
+				out[indexOut++] = CLAMP[(y + dg) >> 10] & 0xFF;
+				out[indexOut++] = CLAMP[(y + db) >> 10] & 0xFF;
+			}
+		}
+	}
+
+	public static class ToMultiSpectral_U8 extends RowConverter {
+		ImageUInt8 R, G, B;
+		int startIndex, stride;
+
+		public ToMultiSpectral_U8(Layout layout, MultiSpectral<ImageUInt8> output) {
+			super(layout);
+			R = output.getBand(0);
+			G = output.getBand(1);
+			B = output.getBand(2);
+			startIndex = output.startIndex;
+			stride = output.stride;
+		}
+
+		@Override
+		public void convert(byte[] data, int indexY, int indexU, int indexV, int row) {
+			int indexOut = startIndex + row*stride;
+			final int width = R.width;
+
+			int y;
+			int x = 0;
+			for( ; x < width-1; x += 2 ) {
+				int cb = (data[indexU] & 0xFF) - 128;
+				int cr = (data[indexV] & 0xFF) - 128;
+				indexU += stepUV;
+				indexV += stepUV;
+
+				int dr = 1836*cr + OFFSET;
+				int dg = -547*cr - 218*cb + OFFSET;
+				int db = 2165*cb + OFFSET;
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				indexY += stepY;
+				if( y < 0 ) y = 0;
+				R.data[indexOut] = CLAMP[(y + dr) >> 10];
+				G.data[indexOut] = CLAMP[(y + dg) >> 10];
+				B.data[indexOut] = CLAMP[(y + db) >> 10];
+				indexOut++;
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				indexY += stepY;
+				if( y < 0 ) y = 0;
+				R.data[indexOut] = CLAMP[(y + dr) >> 10];
+				G.data[indexOut] = CLAMP[(y + dg) >> 10];
+				B.data[indexOut] = CLAMP[(y + db) >> 10];
+				indexOut++;
+			}
+			if( x < width ) {
+				int cb = (data[indexU] & 0xFF) - 128;
+				int cr = (data[indexV] & 0xFF) - 128;
+
+				int dr = 1836*cr + OFFSET;
+				int dg = -547*cr - 218*cb + OFFSET;
+				int db = 2165*cb + OFFSET;
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				if( y < 0 ) y = 0;
+				R.data[indexOut] = CLAMP[(y + dr) >> 10];
+				G.data[indexOut] = CLAMP[(y + dg) >> 10];
+				B.data[indexOut] = CLAMP[(y + db) >> 10];
+				indexOut++;
+			}
+		}
+	}
+
+	public static class ToMultiSpectral_F32 extends RowConverter {
+		ImageFloat32 R, G, B;
+		int startIndex, stride;
+
+		public ToMultiSpectral_F32(Layout layout, MultiSpectral<ImageFloat32> output) {
+			super(layout);
+			R = output.getBand(0);
+			G = output.getBand(1);
+			B = output.getBand(2);
+			startIndex = output.startIndex;
+			stride = output.stride;
+		}
+
+		@Override
+		public void convert(byte[] data, int indexY, int indexU, int indexV, int row) {
+			int indexOut = startIndex + row*stride;
+			final int width = R.width;
+
+			int y;
+			int x = 0;
+			for( ; x < width-1; x += 2 ) {
+				int cb = (data[indexU] & 0xFF) - 128;
+				int cr = (data[indexV] & 0xFF) - 128;
+				indexU += stepUV;
+				indexV += stepUV;
+
+				int dr = 1836*cr + OFFSET;
+				int dg = -547*cr - 218*cb + OFFSET;
+				int db = 2165*cb + OFFSET;
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				indexY += stepY;
+				if( y < 0 ) y = 0;
+				R.data[indexOut] = CLAMP[(y + dr) >> 10] & 0xFF;
+				G.data[indexOut] = CLAMP[(y + dg) >> 10] & 0xFF;
+				B.data[indexOut] = CLAMP[(y + db) >> 10] & 0xFF;
+				indexOut++;
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				indexY += stepY;
+				if( y < 0 ) y = 0;
+				R.data[indexOut] = CLAMP[(y + dr) >> 10] & 0xFF;
+				G.data[indexOut] = CLAMP[(y + dg) >> 10] & 0xFF;
+				B.data[indexOut] = CLAMP[(y + db) >> 10] & 0xFF;
+				indexOut++;
+			}
+			if( x < width ) {
+				int cb = (data[indexU] & 0xFF) - 128;
+				int cr = (data[indexV] & 0xFF) - 128;
+
+				int dr = 1836*cr + OFFSET;
+				int dg = -547*cr - 218*cb + OFFSET;
+				int db = 2165*cb + OFFSET;
+
+				y = 1191*((data[indexY] & 0xFF) - 16);
+				if( y < 0 ) y = 0;
+				R.data[indexOut] = CLAMP[(y + dr) >> 10] & 0xFF;
+				G.data[indexOut] = CLAMP[(y + dg) >> 10] & 0xFF;
+				B.data[indexOut] = CLAMP[(y + db) >> 10] & 0xFF;
+				indexOut++;
+			}
+		}
+	}
+}
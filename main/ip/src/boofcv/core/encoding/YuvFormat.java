@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.encoding;
+
+/**
+ * Byte layouts of YUV images commonly produced by cameras and video decoders.  Y is always at full resolution.
+ * In 4:2:0 formats U and V are at 1/2 resolution along both axes, while in 4:2:2 formats they are at 1/2
+ * resolution horizontally only.  If the width or height is odd then the chroma is rounded up.
+ *
+ * @author Peter Abeles
+ */
+public enum YuvFormat {
+	/**
+	 * 4:2:0.  Y plane followed by a plane where U and V are interlaced, U first.
+	 */
+	NV12,
+	/**
+	 * 4:2:0.  Y plane followed by a plane where V and U are interlaced, V first.  Used by Android cameras.
+	 */
+	NV21,
+	/**
+	 * 4:2:0.  Y plane followed by a U plane and then a V plane.  Also known as YU12.
+	 */
+	I420,
+	/**
+	 * 4:2:2.  Packed with every two pixels stored as Y0 U Y1 V.  Also known as YUY2.
+	 */
+	YUYV,
+	/**
+	 * 4:2:2.  Packed with every two pixels stored as U Y0 V Y1.
+	 */
+	UYVY
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.image;
+
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * <p>
+ * Functions for moving image data between NIO buffers and BoofCV images.  Frames from capture cards, JNI decoders,
+ * and memory mapped files often arrive inside of a {@link ByteBuffer} or {@link FloatBuffer}.
+ * </p>
+ *
+ * <p>
+ * Image operations access pixels directly through the image's data array, so an image can only share memory with a
+ * buffer which is backed by a writable Java array, see {@link #isShareable}.  Direct and memory mapped buffers are
+ * always copied.  The convertFrom and convertTo functions which take an image as an argument always copy, with
+ * the rows being copied in bulk, which is much faster than copying one pixel at a time.  The convertFrom functions
+ * which return a new image only copy if they have to.  If the buffer is shareable then the image uses the buffer's
+ * backing array, no memory is copied, and changes to one are seen in the other, just like with a sub-image.
+ * Otherwise the pixels are copied into a new image and later changes to the buffer are not seen by the image.
+ * </p>
+ *
+ * <p>
+ * In all the functions the first pixel is at the buffer's current position and 'stride' is the number of elements
+ * between the start of each row.  The buffer's position and limit are not modified.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvertNioBuffer {
+
+	/**
+	 * Returns true if the buffer is backed by an accessible array and can be wrapped by an image without copying.
+	 */
+	public static boolean isShareable( Buffer buffer ) {
+		return buffer.hasArray() && !buffer.isReadOnly();
+	}
+
+	/**
+	 * Converts the buffer into an image.  If the buffer is backed by a writable array then the image shares the
+	 * array and no memory is copied, otherwise the pixels are copied into a new image.
+	 *
+	 * @see #isShareable
+	 *
+	 * @param buffer (Input) Buffer containing the image.
+	 * @param width Image width.
+	 * @param height Image height.
+	 * @param stride Number of elements between each row in the buffer.
+	 * @return Image which either shares the buffer's array or contains a copy of its pixels.
+	 */
+	public static ImageUInt8 convertFrom( ByteBuffer buffer , int width , int height , int stride ) {
+		checkSize(buffer, width, height, 1, stride);
+
+		if( !isShareable(buffer) ) {
+			ImageUInt8 ret = new ImageUInt8(width, height);
+			convertFrom(buffer, stride, ret);
+			return ret;
+		}
+
+		ImageUInt8 ret = new ImageUInt8();
+		ret.data = buffer.array();
+		setShape(ret, buffer, width, height, 1, stride);
+		return ret;
+	}
+
+	/**
+	 * Converts the buffer into an image.  If the buffer is backed by a writable array then the image shares the
+	 * array and no memory is copied, otherwise the pixels are copied into a new image.
+	 *
+	 * @see #isShareable
+	 *
+	 * @param buffer (Input) Buffer containing the image.
+	 * @param width Image width.
+	 * @param height Image height.
+	 * @param stride Number of elements between each row in the buffer.
+	 * @return Image which either shares the buffer's array or contains a copy of its pixels.
+	 */
+	public static ImageFloat32 convertFrom( FloatBuffer buffer , int width , int height , int stride ) {
+		checkSize(buffer, width, height, 1, stride);
+
+		if( !isShareable(buffer) ) {
+			ImageFloat32 ret = new ImageFloat32(width, height);
+			convertFrom(buffer, stride, ret);
+			return ret;
+		}
+
+		ImageFloat32 ret = new ImageFloat32();
+		ret.data = buffer.array();
+		setShape(ret, buffer, width, height, 1, stride);
+		return ret;
+	}
+
+	/**
+	 * Converts the buffer into an image.  If the buffer is backed by a writable array then the image shares the
+	 * array and no memory is copied, otherwise the pixels are copied into a new image.
+	 *
+	 * @see #isShareable
+	 *
+	 * @param buffer (Input) Buffer containing the image.
+	 * @param width Image width.
+	 * @param height Image height.
+	 * @param numBands Number of interleaved bands.
+	 * @param stride Number of elements between each row in the buffer.
+	 * @return Image which either shares the buffer's array or contains a copy of its pixels.
+	 */
+	public static InterleavedU8 convertFrom( ByteBuffer buffer , int width , int height ,
+											 int numBands , int stride ) {
+		checkSize(buffer, width, height, numBands, stride);
+
+		if( !isShareable(buffer) ) {
+			InterleavedU8 ret = new InterleavedU8(width, height, numBands);
+			convertFrom(buffer, stride, ret);
+			return ret;
+		}
+
+		InterleavedU8 ret = new InterleavedU8();
+		ret.numBands = numBands;
+		ret.data = buffer.array();
+		setShape(ret, buffer, width, height, numBands, stride);
+		return ret;
+	}
+
+	/**
+	 * Converts the buffer into an image.  If the buffer is backed by a writable array then the image shares the
+	 * array and no memory is copied, otherwise the pixels are copied into a new image.
+	 *
+	 * @see #isShareable
+	 *
+	 * @param buffer (Input) Buffer containing the image.
+	 * @param width Image width.
+	 * @param height Image height.
+	 * @param numBands Number of interleaved bands.
+	 * @param stride Number of elements between each row in the buffer.
+	 * @return Image which either shares the buffer's array or contains a copy of its pixels.
+	 */
+	public static InterleavedF32 convertFrom( FloatBuffer buffer , int width , int height ,
+											  int numBands , int stride ) {
+		checkSize(buffer, width, height, numBands, stride);
+
+		if( !isShareable(buffer) ) {
+			InterleavedF32 ret = new InterleavedF32(width, height, numBands);
+			convertFrom(buffer, stride, ret);
+			return ret;
+		}
+
+		InterleavedF32 ret = new InterleavedF32();
+		ret.numBands = numBands;
+		ret.data = buffer.array();
+		setShape(ret, buffer, width, height, numBands, stride);
+		return ret;
+	}
+
+	/**
+	 * Copies pixels from the buffer into the image.
+	 *
+	 * @param buffer (Input) Buffer containing the image.
+	 * @param stride Number of elements between each row in the buffer.
+	 * @param output (Output) Image which is written to.  Its shape specifies the number of pixels read.
+	 */
+	public static void convertFrom( ByteBuffer buffer , int stride , ImageUInt8 output ) {
+		checkSize(buffer, output.width, output.height, 1, stride);
+		ByteBuffer src = buffer.duplicate();
+		int start = buffer.position();
+		for( int y = 0; y < output.height; y++ ) {
+			src.position(start + y*stride);
+			src.get(output.data, output.startIndex + y*output.stride, output.width);
+		}
+	}
+
+	/**
+	 * Copies pixels from the image into the buffer.
+	 *
+	 * @param input (Input) Image which is read from.
+	 * @param buffer (Output) Buffer which is written to.
+	 * @param stride Number of elements between each row in the buffer.
+	 */
+	public static void convertTo( ImageUInt8 input , ByteBuffer buffer , int stride ) {
+		checkSize(buffer, input.width, input.height, 1, stride);
+		ByteBuffer dst = buffer.duplicate();
+		int start = buffer.position();
+		for( int y = 0; y < input.height; y++ ) {
+			dst.position(start + y*stride);
+			dst.put(input.data, input.startIndex + y*input.stride, input.width);
+		}
+	}
+
+	/**
+	 * Copies pixels from the buffer into the image.
+	 *
+	 * @param buffer (Input) Buffer containing the image.
+	 * @param stride Number of elements between each row in the buffer.
+	 * @param output (Output) Image which is written to.  Its shape specifies the number of pixels read.
+	 */
+	public static void convertFrom( FloatBuffer buffer , int stride , ImageFloat32 output ) {
+		checkSize(buffer, output.width, output.height, 1, stride);
+		FloatBuffer src = buffer.duplicate();
+		int start = buffer.position();
+		for( int y = 0; y < output.height; y++ ) {
+			src.position(start + y*stride);
+			src.get(output.data, output.startIndex + y*output.stride, output.width);
+		}
+	}
+
+	/**
+	 * Copies pixels from the image into the buffer.
+	 *
+	 * @param input (Input) Image which is read from.
+	 * @param buffer (Output) Buffer which is written to.
+	 * @param stride Number of elements between each row in the buffer.
+	 */
+	public static void convertTo( ImageFloat32 input , FloatBuffer buffer , int stride ) {
+		checkSize(buffer, input.width, input.height, 1, stride);
+		FloatBuffer dst = buffer.duplicate();
+		int start = buffer.position();
+		for( int y = 0; y < input.height; y++ ) {
+			dst.position(start + y*stride);
+			dst.put(input.data, input.startIndex + y*input.stride, input.width);
+		}
+	}
+
+	/**
+	 * Copies pixels from the buffer into the image.
+	 *
+	 * @param buffer (Input) Buffer containing the image.
+	 * @param stride Number of elements between each row in the buffer.
+	 * @param output (Output) Image which is written to.  Its shape specifies the number of pixels read.
+	 */
+	public static void convertFrom( ByteBuffer buffer , int stride , InterleavedU8 output ) {
+		int length = output.width*output.numBands;
+		checkSize(buffer, output.width, output.height, output.numBands, stride);
+		ByteBuffer src = buffer.duplicate();
+		int start = buffer.position();
+		for( int y = 0; y < output.height; y++ ) {
+			src.position(start + y*stride);
+			src.get(output.data, output.startIndex + y*output.stride, length);
+		}
+	}
+
+	/**
+	 * Copies pixels from the image into the buffer.
+	 *
+	 * @param input (Input) Image which is read from.
+	 * @param buffer (Output) Buffer which is written to.
+	 * @param stride Number of elements between each row in the buffer.
+	 */
+	public static void convertTo( InterleavedU8 input , ByteBuffer buffer , int stride ) {
+		int length = input.width*input.numBands;
+		checkSize(buffer, input.width, input.height, input.numBands, stride);
+		ByteBuffer dst = buffer.duplicate();
+		int start = buffer.position();
+		for( int y = 0; y < input.height; y++ ) {
+			dst.position(start + y*stride);
+			dst.put(input.data, input.startIndex + y*input.stride, length);
+		}
+	}
+
+	/**
+	 * Copies pixels from the buffer into the image.
+	 *
+	 * @param buffer (Input) Buffer containing the image.
+	 * @param stride Number of elements between each row in the buffer.
+	 * @param output (Output) Image which is written to.  Its shape specifies the number of pixels read.
+	 */
+	public static void convertFrom( FloatBuffer buffer , int stride , InterleavedF32 output ) {
+		int length = output.width*output.numBands;
+		checkSize(buffer, output.width, output.height, output.numBands, stride);
+		FloatBuffer src = buffer.duplicate();
+		int start = buffer.position();
+		for( int y = 0; y < output.height; y++ ) {
+			src.position(start + y*stride);
+			src.get(output.data, output.startIndex + y*output.stride, length);
+		}
+	}
+
+	/**
+	 * Copies pixels from the image into the buffer.
+	 *
+	 * @param input (Input) Image which is read from.
+	 * @param buffer (Output) Buffer which is written to.
+	 * @param stride Number of elements between each row in the buffer.
+	 */
+	public static void convertTo( InterleavedF32 input , FloatBuffer buffer , int stride ) {
+		int length = input.width*input.numBands;
+		checkSize(buffer, input.width, input.height, input.numBands, stride);
+		FloatBuffer dst = buffer.duplicate();
+		int start = buffer.position();
+		for( int y = 0; y < input.height; y++ ) {
+			dst.position(start + y*stride);
+			dst.put(input.data, input.startIndex + y*input.stride, length);
+		}
+	}
+
+	private static void setShape( ImageBase image , Buffer buffer ,
+								  int width , int height , int numBands , int stride ) {
+		image.width = width;
+		image.height = height;
+		image.stride = stride;
+		image.startIndex = arrayOffset(buffer) + buffer.position();
+		// same layout as a sub-image if it doesn't start at the beginning of the array or rows are padded
+		image.subImage = image.startIndex != 0 || stride != width*numBands;
+	}
+
+	private static int arrayOffset( Buffer buffer ) {
+		if( buffer instanceof ByteBuffer )
+			return ((ByteBuffer)buffer).arrayOffset();
+		else
+			return ((FloatBuffer)buffer).arrayOffset();
+	}
+
+	private static void checkSize( Buffer buffer , int width , int height , int numBands , int stride ) {
+		// computed using longs since large images can overflow an int
+		long rowLength = (long)width*numBands;
+		if( stride < rowLength )
+			throw new IllegalArgumentException("Stride is less than the width of a row");
+		if( height <= 0 )
+			return;
+		long required = (long)stride*(height-1) + rowLength;
+		if( required > Integer.MAX_VALUE )
+			throw new IllegalArgumentException("Image is too large to be stored in an array");
+		if( buffer.remaining() < required )
+			throw new IllegalArgumentException("Buffer is too small for an image of the specified shape");
+	}
+}
@@ -19,6 +19,7 @@
 package boofcv.factory.distort;
 
 import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.ImageDistortRemap_SB;
 import boofcv.alg.distort.impl.*;
 import boofcv.alg.interpolate.InterpolatePixelMB;
 import boofcv.alg.interpolate.InterpolatePixelS;
@@ -102,4 +103,37 @@ public class FactoryDistort {
 			}
 		}
 	}
+
+	/**
+	 * Creates a {@link boofcv.alg.distort.ImageDistortRemap} for single band images.  The distortion is saved in a
+	 * fixed point table and bilinear interpolation is done directly from the table.  Well suited for a distortion
+	 * which doesn't change, such as removing lens distortion.
+	 *
+	 * @param interp Interpolation used for pixels along the image border.  Should be bilinear.
+	 * @param imageType Type of input and output image.  {@link ImageUInt8} and {@link ImageFloat32} are supported.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageDistortRemap_SB<T> distortRemapSB( InterpolatePixelS<T> interp , Class<T> imageType )
+	{
+		if( imageType == ImageUInt8.class ) {
+			return (ImageDistortRemap_SB<T>)new ImplImageDistortRemap_U8((InterpolatePixelS)interp);
+		} else if( imageType == ImageFloat32.class ) {
+			return (ImageDistortRemap_SB<T>)new ImplImageDistortRemap_F32((InterpolatePixelS)interp);
+		} else {
+			throw new IllegalArgumentException("Image type not supported: "+imageType.getSimpleName());
+		}
+	}
+
+	/**
+	 * Creates a {@link boofcv.alg.distort.ImageDistortRemap} for multi-spectral images.  All the bands share
+	 * the same table.  See {@link #distortRemapSB}.
+	 *
+	 * @param interp Interpolation used for pixels along the image border.  Should be bilinear.
+	 * @param bandType Type of image in each band.
+	 */
+	public static <T extends ImageSingleBand>
+	ImageDistort<MultiSpectral<T>,MultiSpectral<T>> distortRemapMS( InterpolatePixelS<T> interp , Class<T> bandType )
+	{
+		return new ImplImageDistortRemap_MS<T>(distortRemapSB(interp, bandType));
+	}
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.io.Serializable;
+
+/**
+ * <p>
+ * Binary image where each pixel is stored as a single bit, 64 pixels per long.  Uses 1/8 the memory of a binary
+ * {@link ImageUInt8} and allows logical operations to be applied to 64 pixels at once.
+ * See {@link boofcv.alg.filter.binary.PackedBinaryImageOps} for operations on this image.
+ * </p>
+ *
+ * <p>
+ * Each row starts at a new word.  Pixel (x,y) is stored in bit (x % 64) of word (y*stride + x/64), where
+ * bit 0 is the least significant bit.  Bits past the end of a row must always be zero.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImagePackedBinary implements Serializable, Cloneable {
+
+	/**
+	 * Bits which encode the image
+	 */
+	public long data[];
+
+	/**
+	 * Number of words in each row
+	 */
+	public int stride;
+
+	/**
+	 * Number of columns in the image.
+	 */
+	public int width;
+
+	/**
+	 * Number of rows in the image.
+	 */
+	public int height;
+
+	/**
+	 * Creates an image with all pixels set to zero.
+	 *
+	 * @param width Number of columns in the image.
+	 * @param height Number of rows in the image.
+	 */
+	public ImagePackedBinary(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.stride = wordsPerRow(width);
+		this.data = new long[stride*height];
+	}
+
+	public ImagePackedBinary() {
+		data = new long[0];
+	}
+
+	/**
+	 * Number of words needed to store a row with the specified number of pixels
+	 */
+	public static int wordsPerRow( int width ) {
+		return (width + 63) >> 6;
+	}
+
+	/**
+	 * Returns the value of the specified pixel, either 0 or 1.
+	 */
+	public int get( int x , int y ) {
+		if( !isInBounds(x, y) )
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+		return (int)(data[y*stride + (x >> 6)] >>> (x & 63)) & 1;
+	}
+
+	/**
+	 * Sets the value of the specified pixel.  Any non-zero value is set to 1.
+	 */
+	public void set( int x , int y , int value ) {
+		if( !isInBounds(x, y) )
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+		int index = y*stride + (x >> 6);
+		if( value != 0 )
+			data[index] |= 1L << (x & 63);
+		else
+			data[index] &= ~(1L << (x & 63));
+	}
+
+	public final boolean isInBounds(int x, int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Changes the image's width and height.  A new array is only declared if the current one is too small.
+	 * The value of each pixel is undefined after being reshaped, but bits past the end of each row are zero.
+	 */
+	public void reshape( int width , int height ) {
+		int stride = wordsPerRow(width);
+		this.width = width;
+		this.height = height;
+		this.stride = stride;
+
+		if( data.length < stride*height ) {
+			data = new long[stride*height];
+		} else if( stride > 0 ) {
+			// rows can contain data from any earlier shape, which might have bits set in the new padding
+			long mask = lastWordMask();
+			for( int i = stride-1; i < stride*height; i += stride )
+				data[i] &= mask;
+		}
+	}
+
+	/**
+	 * Sets this image to be identical to the provided image.  Reshapes if needed.
+	 */
+	public void setTo( ImagePackedBinary orig ) {
+		reshape(orig.width, orig.height);
+		System.arraycopy(orig.data, 0, data, 0, stride*height);
+	}
+
+	/**
+	 * Mask for the bits inside the image in the last word of a row
+	 */
+	public long lastWordMask() {
+		int extra = width & 63;
+		return extra == 0 ? ~0L : (1L << extra) - 1;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getStride() {
+		return stride;
+	}
+
+	public ImagePackedBinary createSameShape() {
+		return new ImagePackedBinary(width, height);
+	}
+
+	@Override
+	public ImagePackedBinary clone() {
+		ImagePackedBinary ret = new ImagePackedBinary(width, height);
+		ret.setTo(this);
+		return ret;
+	}
+}
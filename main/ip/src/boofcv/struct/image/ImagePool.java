@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.core.image.GeneralizedImageOps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Recycles images which are used to store intermediate results.  Instead of declaring a new image each time
+ * a temporary image is needed, it is borrowed from the pool and released back into it once the operation is
+ * done with it.  A video pipeline which processes images of the same size each frame will then run without
+ * declaring new images once the pool has been filled.
+ * </p>
+ *
+ * <p>
+ * Images are matched by their {@link ImageType} and shape.  The total memory used by the images stored
+ * inside the pool is bounded.  If releasing an image would exceed the bound then the least recently released
+ * images are discarded.  The value of pixels inside a borrowed image are undefined.
+ * </p>
+ *
+ * <p>
+ * Operations which accept an optional storage image, e.g. BlurImageOps.mean(), will borrow from the global pool
+ * when the storage is null and a global pool has been specified with {@link #setGlobal}.  If there is no global
+ * pool, which is the default, new images are declared just like before.
+ * </p>
+ *
+ * <p>
+ * All functions are thread safe.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImagePool {
+
+	// pool used by image operations when they need storage.  If null then images are declared
+	private static volatile ImagePool global;
+
+	// images which are available to be borrowed.  Ordered from least to most recently released
+	private final List<ImageBase> available = new ArrayList<ImageBase>();
+
+	// maximum number of bytes which can be used by images stored in the pool
+	private long maxBytes;
+	// number of bytes used by images stored in the pool
+	private long storedBytes;
+
+	/**
+	 * Creates a pool which will store at most the specified number of bytes worth of images.
+	 *
+	 * @param maxBytes Maximum number of bytes used by images stored inside the pool.
+	 */
+	public ImagePool( long maxBytes ) {
+		setMaxBytes(maxBytes);
+	}
+
+	/**
+	 * Specifies the pool which image operations will borrow their intermediate storage from.
+	 *
+	 * @param pool The pool or null to always declare new images.
+	 */
+	public static void setGlobal( ImagePool pool ) {
+		global = pool;
+	}
+
+	public static ImagePool getGlobal() {
+		return global;
+	}
+
+	/**
+	 * Used by image operations to get storage for intermediate results.  If storage is null then an image the
+	 * same shape as the input is borrowed from the global pool, or declared if there is no global pool.
+	 * Once done the image needs to be handed back using {@link #releaseStorage}.
+	 *
+	 * @param input Input image which storage needs to be the same shape as.
+	 * @param storage (Optional) Storage provided by the user.
+	 * @param type Type of the storage image.
+	 * @return Image which can be used for storage.
+	 */
+	public static <T extends ImageSingleBand> T borrowStorage( ImageSingleBand input , T storage , Class<T> type ) {
+		if( storage != null ) {
+			if( storage.width != input.width || storage.height != input.height )
+				throw new IllegalArgumentException("Width and/or height of input and storage do not match. "+
+						input.width+"x"+input.height+" "+storage.width+"x"+storage.height);
+			return storage;
+		}
+		ImagePool pool = global;
+		if( pool == null )
+			return GeneralizedImageOps.createSingleBand(type, input.width, input.height);
+		return pool.borrow(type, input.width, input.height);
+	}
+
+	/**
+	 * Hands back storage which was requested using {@link #borrowStorage}.  If the user provided the storage then
+	 * nothing is done, otherwise it's released into the global pool.
+	 *
+	 * @param storage The storage image that the user passed in.  Can be null.
+	 * @param borrowed The image which was returned by {@link #borrowStorage}.
+	 */
+	public static void releaseStorage( ImageBase storage , ImageBase borrowed ) {
+		if( storage != null )
+			return;
+		ImagePool pool = global;
+		if( pool != null )
+			pool.release(borrowed);
+	}
+
+	/**
+	 * Returns an image of the specified type and shape.  If one is available inside the pool it is returned,
+	 * otherwise a new image is declared.
+	 *
+	 * @param type Type of image.
+	 * @param width Image width.
+	 * @param height Image height.
+	 * @return An image.  Pixel values are undefined.
+	 */
+	public <T extends ImageBase> T borrow( ImageType<T> type , int width , int height ) {
+		T image = (T)takeAvailable(null, type, width, height);
+		if( image == null )
+			image = type.createImage(width, height);
+		return image;
+	}
+
+	/**
+	 * Returns a single band image of the specified type and shape.
+	 *
+	 * @see #borrow(ImageType, int, int)
+	 */
+	public <T extends ImageSingleBand> T borrow( Class<T> type , int width , int height ) {
+		T image = (T)takeAvailable(type, null, width, height);
+		if( image == null )
+			image = GeneralizedImageOps.createSingleBand(type, width, height);
+		return image;
+	}
+
+	/**
+	 * Removes the most recently released image which matches and returns it.  Single band images are
+	 * matched by class, all others by type.
+	 */
+	private ImageBase takeAvailable( Class singleType , ImageType type , int width , int height ) {
+		synchronized( available ) {
+			for( int i = available.size()-1; i >= 0; i-- ) {
+				ImageBase image = available.get(i);
+				if( image.width != width || image.height != height )
+					continue;
+				if( singleType != null ? image.getClass() == singleType : isSameType(image.imageType, type) ) {
+					available.remove(i);
+					storedBytes -= sizeOf(image);
+					return image;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Puts the image back into the pool so that it can be borrowed again.  The image must not be used after
+	 * it has been released.  Sub-images can't be released since they share data with another image.
+	 *
+	 * @param image Image which is no longer needed.
+	 */
+	public void release( ImageBase image ) {
+		if( image.isSubimage() )
+			throw new IllegalArgumentException("Sub-images can't be added to the pool");
+		if( image.imageType == null )
+			return;
+
+		long bytes = sizeOf(image);
+		if( bytes > maxBytes )
+			return;
+
+		synchronized( available ) {
+			// discard the least recently released images until there's room
+			while( storedBytes + bytes > maxBytes ) {
+				storedBytes -= sizeOf(available.remove(0));
+			}
+			available.add(image);
+			storedBytes += bytes;
+		}
+	}
+
+	/**
+	 * Discards all the images inside the pool.
+	 */
+	public void clear() {
+		synchronized( available ) {
+			available.clear();
+			storedBytes = 0;
+		}
+	}
+
+	/**
+	 * Changes the maximum number of bytes the pool can store.  If the pool is already storing more than the new
+	 * bound the least recently released images are discarded.
+	 */
+	public void setMaxBytes( long maxBytes ) {
+		if( maxBytes < 0 )
+			throw new IllegalArgumentException("maxBytes must be non-negative");
+		synchronized( available ) {
+			this.maxBytes = maxBytes;
+			while( storedBytes > maxBytes ) {
+				storedBytes -= sizeOf(available.remove(0));
+			}
+		}
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Number of bytes used by images which are currently stored in the pool.
+	 */
+	public long getStoredBytes() {
+		synchronized( available ) {
+			return storedBytes;
+		}
+	}
+
+	/**
+	 * Number of images which are currently stored in the pool.
+	 */
+	public int size() {
+		synchronized( available ) {
+			return available.size();
+		}
+	}
+
+	private static boolean isSameType( ImageType a , ImageType b ) {
+		return a.getFamily() == b.getFamily() && a.getDataType() == b.getDataType() &&
+				a.getNumBands() == b.getNumBands();
+	}
+
+	/**
+	 * Number of bytes used to store the image's pixels
+	 */
+	private static long sizeOf( ImageBase image ) {
+		ImageType type = image.imageType;
+		return (long)image.width*image.height*type.getNumBands()*type.getDataType().getNumBits()/8;
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+/**
+ * <p>
+ * Image which is too large to be stored inside a single array and is instead accessed one rectangular region at
+ * a time.  Regions are copied into and out of regular images, which can then be processed by any of the standard
+ * image operations.  See {@link boofcv.abst.filter.TiledImageFilter} for how to apply a filter to the
+ * entire image one tile at a time.
+ * </p>
+ *
+ * <p>
+ * Pixel coordinates are stored as integers, but the total number of pixels can exceed 2<sup>31</sup>.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface TiledImage<T extends ImageSingleBand> {
+
+	/**
+	 * Copies a region of the large image into the provided image.  The region's size is specified
+	 * by the size of 'region'.
+	 *
+	 * @param x0 x-coordinate of the region's top left corner.
+	 * @param y0 y-coordinate of the region's top left corner.
+	 * @param region (Output) Storage for the region.  Can be a sub-image.
+	 */
+	public void read( int x0 , int y0 , T region );
+
+	/**
+	 * Copies the provided image into a region of the large image.
+	 *
+	 * @param x0 x-coordinate of the region's top left corner.
+	 * @param y0 y-coordinate of the region's top left corner.
+	 * @param region (Input) Pixels which are written.  Can be a sub-image.
+	 */
+	public void write( int x0 , int y0 , T region );
+
+	/**
+	 * Width of the large image
+	 */
+	public int getWidth();
+
+	/**
+	 * Height of the large image
+	 */
+	public int getHeight();
+
+	/**
+	 * Type of image regions are copied into and out of
+	 */
+	public ImageType<T> getImageType();
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * {@link TiledImage} which is stored in a memory mapped file, allowing images which are much larger than
+ * the available memory to be processed.  The operating system pages in the parts of the file which are
+ * being accessed and writes modified pages back to disk.
+ * </p>
+ *
+ * <p>
+ * The file contains the raw pixel values in row-major order with no header, using the platform's native
+ * byte order.  Since a single mapped buffer is limited to 2<sup>31</sup> bytes the file is mapped in several
+ * buffers, each containing a block of complete rows.  A single row must fit inside a buffer.
+ * </p>
+ *
+ * <p>
+ * Different threads can read and write to different regions at the same time.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class TiledImageMappedFile<T extends ImageSingleBand> implements TiledImage<T>, Closeable {
+
+	// maximum number of bytes in a single mapped buffer
+	public static long MAX_BUFFER_BYTES = Integer.MAX_VALUE;
+
+	private RandomAccessFile file;
+	private FileChannel channel;
+
+	private int width, height;
+	private ImageType<T> imageType;
+
+	// number of rows stored in each buffer
+	private int rowsPerBuffer;
+	private MappedByteBuffer mapped[];
+	// views of the mapped buffers using the image's primitive type
+	private Buffer views[];
+
+	/**
+	 * Opens the file and maps it into memory.  If the file does not exist it is created and if it is not
+	 * the expected size it is resized.
+	 *
+	 * @param path Path to the file
+	 * @param width Image width
+	 * @param height Image height
+	 * @param imageType Type of single band image.  Abstract types, such as I8, are not supported.
+	 * @throws IOException If the file can't be opened or mapped
+	 */
+	public TiledImageMappedFile( File path , int width , int height , ImageType<T> imageType )
+			throws IOException
+	{
+		if( imageType.getFamily() != ImageType.Family.SINGLE_BAND )
+			throw new IllegalArgumentException("Only single band images are supported");
+		ImageDataType dataType = imageType.getDataType();
+		if( dataType.isAbstract() )
+			throw new IllegalArgumentException("Image type must not be abstract");
+		if( width <= 0 || height <= 0 )
+			throw new IllegalArgumentException("Image width and height must be positive");
+
+		this.width = width;
+		this.height = height;
+		this.imageType = imageType;
+
+		long bytesPerRow = (long)width*(dataType.getNumBits()/8);
+		if( bytesPerRow > MAX_BUFFER_BYTES )
+			throw new IllegalArgumentException("A single row is too large to be mapped");
+		rowsPerBuffer = (int)Math.min(height, MAX_BUFFER_BYTES/bytesPerRow);
+
+		file = new RandomAccessFile(path, "rw");
+		if( file.length() != bytesPerRow*height )
+			file.setLength(bytesPerRow*height);
+		channel = file.getChannel();
+
+		int numBuffers = (height + rowsPerBuffer - 1)/rowsPerBuffer;
+		mapped = new MappedByteBuffer[numBuffers];
+		views = new Buffer[numBuffers];
+		for( int i = 0; i < numBuffers; i++ ) {
+			int rows = Math.min(rowsPerBuffer, height - i*rowsPerBuffer);
+			mapped[i] = channel.map(FileChannel.MapMode.READ_WRITE, i*rowsPerBuffer*bytesPerRow, rows*bytesPerRow);
+			mapped[i].order(ByteOrder.nativeOrder());
+			views[i] = createView(mapped[i], dataType);
+		}
+	}
+
+	private static Buffer createView( ByteBuffer buffer , ImageDataType type ) {
+		switch( type ) {
+			case U8: case S8: return buffer;
+			case U16: case S16: return buffer.asShortBuffer();
+			case S32: return buffer.asIntBuffer();
+			case S64: return buffer.asLongBuffer();
+			case F32: return buffer.asFloatBuffer();
+			case F64: return buffer.asDoubleBuffer();
+			default:
+				throw new IllegalArgumentException("Unsupported image type "+type);
+		}
+	}
+
+	@Override
+	public void read(int x0, int y0, T region) {
+		copy(x0, y0, region, true);
+	}
+
+	@Override
+	public void write(int x0, int y0, T region) {
+		copy(x0, y0, region, false);
+	}
+
+	/**
+	 * Copies each row in the region between the image and the mapped buffers.  A duplicate of the buffer is
+	 * used so that its position is not shared between threads.
+	 */
+	private void copy( int x0 , int y0 , ImageSingleBand region , boolean read ) {
+		if( views == null )
+			throw new IllegalArgumentException("The file has been closed");
+		if( x0 < 0 || y0 < 0 || x0 + region.width > width || y0 + region.height > height )
+			throw new IllegalArgumentException("Region is outside the image");
+
+		for( int y = 0; y < region.height; y++ ) {
+			int row = y0 + y;
+			Buffer view = views[row/rowsPerBuffer];
+			int position = (row%rowsPerBuffer)*width + x0;
+			int index = region.startIndex + y*region.stride;
+
+			switch( imageType.getDataType() ) {
+				case U8: case S8: {
+					ByteBuffer b = ((ByteBuffer)view).duplicate();
+					b.position(position);
+					if( read ) b.get(((ImageInt8)region).data, index, region.width);
+					else b.put(((ImageInt8)region).data, index, region.width);
+				} break;
+
+				case U16: case S16: {
+					ShortBuffer b = ((ShortBuffer)view).duplicate();
+					b.position(position);
+					if( read ) b.get(((ImageInt16)region).data, index, region.width);
+					else b.put(((ImageInt16)region).data, index, region.width);
+				} break;
+
+				case S32: {
+					IntBuffer b = ((IntBuffer)view).duplicate();
+					b.position(position);
+					if( read ) b.get(((ImageSInt32)region).data, index, region.width);
+					else b.put(((ImageSInt32)region).data, index, region.width);
+				} break;
+
+				case S64: {
+					LongBuffer b = ((LongBuffer)view).duplicate();
+					b.position(position);
+					if( read ) b.get(((ImageSInt64)region).data, index, region.width);
+					else b.put(((ImageSInt64)region).data, index, region.width);
+				} break;
+
+				case F32: {
+					FloatBuffer b = ((FloatBuffer)view).duplicate();
+					b.position(position);
+					if( read ) b.get(((ImageFloat32)region).data, index, region.width);
+					else b.put(((ImageFloat32)region).data, index, region.width);
+				} break;
+
+				case F64: {
+					DoubleBuffer b = ((DoubleBuffer)view).duplicate();
+					b.position(position);
+					if( read ) b.get(((ImageFloat64)region).data, index, region.width);
+					else b.put(((ImageFloat64)region).data, index, region.width);
+				} break;
+			}
+		}
+	}
+
+	/**
+	 * Writes all modified pixels to the file
+	 */
+	public void flush() {
+		for( MappedByteBuffer m : mapped ) {
+			m.force();
+		}
+	}
+
+	/**
+	 * Writes modified pixels to the file and closes it.  The mapped memory is released once it has been garbage
+	 * collected.
+	 */
+	@Override
+	public void close() throws IOException {
+		if( views == null )
+			return;
+		flush();
+		views = null;
+		mapped = null;
+		channel.close();
+		file.close();
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public ImageType<T> getImageType() {
+		return imageType;
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+/**
+ * {@link TiledImage} which is stored inside a regular image.  Useful when the image does fit in memory and
+ * code has been written for a {@link TiledImage}.
+ *
+ * @author Peter Abeles
+ */
+public class TiledImageMemory<T extends ImageSingleBand> implements TiledImage<T> {
+
+	// the image which stores the data
+	private T image;
+
+	/**
+	 * Specifies the image which stores the data.  The image is not copied.
+	 */
+	public TiledImageMemory(T image) {
+		this.image = image;
+	}
+
+	@Override
+	public void read(int x0, int y0, T region) {
+		T src = (T)image.subimage(x0, y0, x0 + region.width, y0 + region.height, null);
+		region.setTo(src);
+	}
+
+	@Override
+	public void write(int x0, int y0, T region) {
+		T dst = (T)image.subimage(x0, y0, x0 + region.width, y0 + region.height, null);
+		dst.setTo(region);
+	}
+
+	@Override
+	public int getWidth() {
+		return image.width;
+	}
+
+	@Override
+	public int getHeight() {
+		return image.height;
+	}
+
+	@Override
+	public ImageType<T> getImageType() {
+		return image.getImageType();
+	}
+
+	public T getImage() {
+		return image;
+	}
+}
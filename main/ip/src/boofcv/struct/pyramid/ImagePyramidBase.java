@@ -35,6 +35,14 @@ import boofcv.struct.image.ImageSingleBand;
  * to true.
  * </p>
  *
+ * <p>
+ * Pyramids which compute their layers one at a time through {@link #computeLayer(int)} can be made lazy, see
+ * {@link #setLazy(boolean)}.  Then a layer is only computed the first time it is requested after a new image has
+ * been processed.  Pyramids can also be shared between several consumers of the same video frame by calling
+ * {@link #process(ImageSingleBand, long)}, which skips the update if the pyramid was already computed from
+ * that frame.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -54,6 +62,18 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 	// creates new images
 	protected ImageGenerator<T> generator;
 
+	// if true then a layer is only computed when it's requested
+	protected boolean lazy;
+	// image the layers are computed from.  Only referenced while there are layers left to compute.
+	protected T input;
+	// number of layers, starting from the bottom, which are up to date.  Pyramids which compute all their
+	// layers inside of process() don't modify it.
+	protected int layersValid = Integer.MAX_VALUE;
+
+	// ID of the frame the layers were computed from. -1 if unknown
+	protected long frameID = -1;
+	protected T frameInput;
+
 	/**
 	 * Specifies input image size and behavior of top most layer.
 	 *
@@ -96,6 +116,65 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 		}
 	}
 
+	/**
+	 * Updates the pyramid only if it hasn't already been computed from this frame.  Lets several consumers of one
+	 * video frame share a single pyramid, with each one calling this function.  The frame is identified by the
+	 * input image and its ID, so the same image instance can be reused for each new frame.
+	 *
+	 * @param input Input image.  Not modified.
+	 * @param frameID ID of the frame, e.g. its index in the video sequence.  If negative the pyramid is
+	 *                always updated.
+	 * @return true if the pyramid was updated or false if the previous results were reused
+	 */
+	public boolean process( T input , long frameID ) {
+		if( frameID >= 0 && frameID == this.frameID && input == frameInput &&
+				input.width == bottomWidth && input.height == bottomHeight )
+			return false;
+
+		process(input);
+		this.frameID = frameID;
+		this.frameInput = input;
+		return true;
+	}
+
+	/**
+	 * Called by children inside of process() after {@link #initialize(int, int)}.  Marks all the layers as
+	 * needing to be computed from the new input image.  If not lazy then all the layers are computed now.
+	 *
+	 * @param input The new input image
+	 */
+	protected void updateLayers( T input ) {
+		this.input = input;
+		this.layersValid = 0;
+		this.frameID = -1;
+		this.frameInput = null;
+
+		if( !lazy )
+			computeLayers(getNumLayers());
+	}
+
+	/**
+	 * Computes layers which are not up to date until the first 'total' layers are.
+	 */
+	protected void computeLayers( int total ) {
+		while( layersValid < total ) {
+			computeLayer(layersValid);
+			layersValid++;
+		}
+		if( layersValid >= getNumLayers() )
+			input = null;
+	}
+
+	/**
+	 * Computes the specified layer from the input image.  All the layers below it have already been computed.
+	 * Must be overridden by pyramids which call {@link #updateLayers(ImageSingleBand)}.
+	 *
+	 * @param layer Index of the layer which is to be computed
+	 */
+	protected void computeLayer( int layer ) {
+		throw new IllegalArgumentException("Computing individual layers is not supported");
+	}
+
 	/**
 	 * Used to internally check that the provided scales are valid.
 	 */
@@ -115,13 +194,29 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 
 	@Override
 	public void setTo(ImagePyramid<T> input) {
+		// the layers are about to be overwritten, so don't compute them
+		if( layersValid < getNumLayers() ) {
+			layersValid = getNumLayers();
+			this.input = null;
+		}
+		frameID = -1;
+		frameInput = null;
 		for( int i = 0; i < layers.length; i++ ) {
 			getLayer(i).setTo(input.getLayer(i));
 		}
 	}
 
+	/**
+	 * Returns a layer in the pyramid.  If lazy and the layer hasn't been computed yet then it, and any layers
+	 * below it, are computed first.
+	 *
+	 * @param layerNum which image is to be returned.
+	 * @return The image in the pyramid.
+	 */
 	@Override
 	public T getLayer(int layerNum) {
+		if( layerNum >= layersValid )
+			computeLayers(layerNum+1);
 		return layers[layerNum];
 	}
 
@@ -161,4 +256,29 @@ public abstract class ImagePyramidBase<T extends ImageSingleBand>
 	public boolean isSaveOriginalReference() {
 		return saveOriginalReference;
 	}
+
+	public boolean isLazy() {
+		return lazy;
+	}
+
+	/**
+	 * If set to true then layers are computed the first time they are requested instead of inside of process().
+	 * Consumers which only use a few of the layers then don't pay for the others.  The input image must not be
+	 * modified until all the requested layers have been computed.  Only pyramids which implement
+	 * {@link #computeLayer(int)} can be lazy, for all others this flag has no effect.
+	 *
+	 * @param lazy true for lazy computation of layers
+	 */
+	public void setLazy(boolean lazy) {
+		this.lazy = lazy;
+	}
+
+	/**
+	 * ID of the frame the layers were computed from or -1 if unknown.
+	 *
+	 * @see #process(ImageSingleBand, long)
+	 */
+	public long getFrameID() {
+		return frameID;
+	}
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.filter;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.filter.binary.FactoryBinaryImageOps;
+import boofcv.factory.filter.binary.FactoryThresholdBinary;
+import boofcv.factory.filter.blur.FactoryBlurFilter;
+import boofcv.factory.filter.convolve.FactoryConvolve;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTiledImageFilter {
+
+	Random rand = new Random(234);
+
+	int width = 43;
+	int height = 37;
+
+	/**
+	 * Processing tiles should produce the same output as processing the entire image.  The tiles don't evenly
+	 * divide the image
+	 */
+	@Test
+	public void compareToFullImage_blur() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		FilterImageInterface<ImageFloat32,ImageFloat32> filter =
+				FactoryBlurFilter.gaussian(ImageFloat32.class, -1, 3);
+		compareToFullImage(filter, 3, input, new ImageFloat32(width,height));
+
+		filter = FactoryBlurFilter.median(ImageFloat32.class, 2);
+		compareToFullImage(filter, 2, input, new ImageFloat32(width,height));
+	}
+
+	@Test
+	public void compareToFullImage_threshold() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		FilterImageInterface<ImageUInt8,ImageUInt8> filter =
+				FactoryThresholdBinary.adaptiveSquare(4, 0, true, ImageUInt8.class);
+		compareToFullImage(filter, 4, input, new ImageUInt8(width,height));
+	}
+
+	@Test
+	public void compareToFullImage_morphology() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 2);
+
+		compareToFullImage(FactoryBinaryImageOps.erode8(), 1, input, new ImageUInt8(width,height));
+		compareToFullImage(FactoryBinaryImageOps.dilate4(), 1, input, new ImageUInt8(width,height));
+	}
+
+	/**
+	 * The filter doesn't process the image border.  The output's border should not be modified
+	 */
+	@Test
+	public void compareToFullImage_skipBorder() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		Kernel1D_F32 kernel = FactoryKernel.random1D_F32(7, 3, 0, 5, rand);
+		FilterImageInterface<ImageFloat32,ImageFloat32> filter =
+				FactoryConvolve.convolve(kernel, ImageFloat32.class, ImageFloat32.class, BorderType.SKIP, false);
+
+		ImageFloat32 output = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(output, rand, -10, -5);
+		compareToFullImage(filter, 3, input, output);
+	}
+
+	/**
+	 * Read from and write to files
+	 */
+	@Test
+	public void mappedFile() throws IOException {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		FilterImageInterface<ImageFloat32,ImageFloat32> filter =
+				FactoryBlurFilter.mean(ImageFloat32.class, 2);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		filter.process(input, expected);
+
+		File fileIn = File.createTempFile("boofcv", "tiled");
+		File fileOut = File.createTempFile("boofcv", "tiled");
+		try {
+			ImageType<ImageFloat32> type = ImageType.single(ImageFloat32.class);
+			TiledImageMappedFile<ImageFloat32> tiledIn =
+					new TiledImageMappedFile<ImageFloat32>(fileIn, width, height, type);
+			TiledImageMappedFile<ImageFloat32> tiledOut =
+					new TiledImageMappedFile<ImageFloat32>(fileOut, width, height, type);
+			tiledIn.write(0, 0, input);
+
+			new TiledImageFilter<ImageFloat32,ImageFloat32>(filter, 2, 10, 8).process(tiledIn, tiledOut);
+
+			ImageFloat32 found = new ImageFloat32(width,height);
+			tiledOut.read(0, 0, found);
+			tiledIn.close();
+			tiledOut.close();
+
+			BoofTesting.assertEquals(expected, found, 1e-4);
+		} finally {
+			fileIn.delete();
+			fileOut.delete();
+		}
+	}
+
+	@Test
+	public void haloSmallerThanBorder() {
+		Kernel1D_F32 kernel = FactoryKernel.random1D_F32(7, 3, 0, 5, rand);
+		FilterImageInterface<ImageFloat32,ImageFloat32> filter =
+				FactoryConvolve.convolve(kernel, ImageFloat32.class, ImageFloat32.class, BorderType.SKIP, false);
+		try {
+			new TiledImageFilter<ImageFloat32,ImageFloat32>(filter, 2, 10, 10);
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	private <I extends ImageSingleBand, O extends ImageSingleBand>
+	void compareToFullImage( FilterImageInterface<I,O> filter , int halo , I input , O output ) {
+		O expected = (O)output.clone();
+		filter.process(input, expected);
+
+		for( int tileSize : new int[]{1,6,11,100} ) {
+			O found = (O)output.clone();
+			TiledImageFilter<I,O> alg = new TiledImageFilter<I,O>(filter, halo, tileSize, tileSize + 2);
+			alg.process(new TiledImageMemory<I>(input), new TiledImageMemory<O>(found));
+
+			BoofTesting.assertEquals(expected, found, 1e-4);
+		}
+	}
+}
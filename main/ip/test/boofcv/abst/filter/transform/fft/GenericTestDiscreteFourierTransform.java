@@ -121,6 +121,14 @@ public abstract class GenericTestDiscreteFourierTransform<T extends ImageSingleB
 		checkMultipleCalls(new int[]{1,10,100});
 	}
 
+	/**
+	 * Switch back and forth between image sizes.  Saved plans should be reused correctly.
+	 */
+	@Test
+	public void multipleCalls_alternatingSizes() {
+		checkMultipleCalls(new int[]{10,52,10,52,100,7,3,10});
+	}
+
 	private void checkMultipleCalls(int[] sizes) {
 		DiscreteFourierTransform<T,I> alg = createAlgorithm();
 
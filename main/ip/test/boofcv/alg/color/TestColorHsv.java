@@ -20,6 +20,8 @@ package boofcv.alg.color;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 import org.junit.Test;
 
@@ -125,6 +127,61 @@ public class TestColorHsv {
 		}
 	}
 
+	@Test
+	public void interleaved_F32() {
+		InterleavedF32 rgb = new InterleavedF32(10,15,3);
+		InterleavedF32 hsv = new InterleavedF32(10,15,3);
+		InterleavedF32 found = new InterleavedF32(10,15,3);
+
+		GImageMiscOps.fillUniform(rgb, rand, 0, 255);
+		for (int i = 0; i < 3; i++) {
+			rgb.setBand(0,0,i,151);
+		}
+
+		ColorHsv.rgbToHsv_F32(rgb, hsv);
+		ColorHsv.hsvToRgb_F32(hsv, found);
+
+		float tmp[] = new float[3];
+
+		for( int y = 0; y < rgb.height; y++ ) {
+			for( int x = 0; x < rgb.width; x++ ) {
+				float r = rgb.getBand(x,y,0);
+				float g = rgb.getBand(x,y,1);
+				float b = rgb.getBand(x,y,2);
+
+				ColorHsv.rgbToHsv(r,g,b,tmp);
+				for (int i = 0; i < 3; i++) {
+					assertEquals(tmp[i], hsv.getBand(x, y, i), 1e-6);
+				}
+
+				assertEquals(r,found.getBand(x,y,0),tol);
+				assertEquals(g,found.getBand(x,y,1),tol);
+				assertEquals(b,found.getBand(x,y,2),tol);
+			}
+		}
+	}
+
+	@Test
+	public void interleaved_U8() {
+		InterleavedU8 rgb = new InterleavedU8(10,15,3);
+		InterleavedF32 hsv = new InterleavedF32(10,15,3);
+
+		GImageMiscOps.fillUniform(rgb, rand, 0, 255);
+
+		ColorHsv.rgbToHsv_U8(rgb, hsv);
+
+		float tmp[] = new float[3];
+
+		for( int y = 0; y < rgb.height; y++ ) {
+			for( int x = 0; x < rgb.width; x++ ) {
+				ColorHsv.rgbToHsv(rgb.getBand(x,y,0),rgb.getBand(x,y,1),rgb.getBand(x,y,2),tmp);
+				for (int i = 0; i < 3; i++) {
+					assertEquals(tmp[i], hsv.getBand(x, y, i), 1e-6);
+				}
+			}
+		}
+	}
+
 	private static void check( double found[] , double a , double b , double c ) {
 		double tol = TestColorHsv.tol * Math.max(Math.max(a,b),c);
 
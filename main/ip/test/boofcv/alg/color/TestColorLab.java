@@ -21,6 +21,8 @@ package boofcv.alg.color;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
 import boofcv.struct.image.MultiSpectral;
 import org.junit.Test;
 
@@ -93,4 +95,54 @@ public class TestColorLab {
 		}
 	}
 
+
+	@Test
+	public void rgbToLab_interleaved_U8() {
+		InterleavedU8 input = new InterleavedU8(20,25,3);
+		InterleavedF32 output = new InterleavedF32(20,25,3);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		ColorLab.rgbToLab_U8(input, output);
+
+		float expected[] = new float[3];
+		for (int y = 0; y < input.height; y++) {
+			for (int x = 0; x < input.width; x++) {
+				float r = input.getBand(x,y,0)/255f;
+				float g = input.getBand(x,y,1)/255f;
+				float b = input.getBand(x,y,2)/255f;
+
+				ColorLab.srgbToLab(r,g,b,expected);
+
+				for (int i = 0; i < 3; i++) {
+					assertEquals(expected[i],output.getBand(x,y,i),1e-4f);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void rgbToLab_interleaved_F32() {
+		InterleavedF32 input = new InterleavedF32(20,25,3);
+		InterleavedF32 output = new InterleavedF32(20,25,3);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		ColorLab.rgbToLab_F32(input, output);
+
+		float expected[] = new float[3];
+		for (int y = 0; y < input.height; y++) {
+			for (int x = 0; x < input.width; x++) {
+				float r = input.getBand(x,y,0)/255f;
+				float g = input.getBand(x,y,1)/255f;
+				float b = input.getBand(x,y,2)/255f;
+
+				ColorLab.srgbToLab(r,g,b,expected);
+
+				for (int i = 0; i < 3; i++) {
+					assertEquals(expected[i],output.getBand(x,y,i),1e-4f);
+				}
+			}
+		}
+	}
 }
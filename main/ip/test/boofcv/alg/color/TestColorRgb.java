@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.color;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestColorRgb {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void rgbToGray_Weighted_U8() {
+		InterleavedU8 rgb = new InterleavedU8(20,25,3);
+		ImageUInt8 gray = new ImageUInt8(20,25);
+		GImageMiscOps.fillUniform(rgb, rand, 0, 255);
+
+		BoofTesting.checkSubImage(this, "rgbToGray_Weighted_U8", true, rgb, gray);
+	}
+
+	public void rgbToGray_Weighted_U8( InterleavedU8 rgb , ImageUInt8 gray ) {
+		ColorRgb.rgbToGray_Weighted(rgb, gray);
+
+		for (int y = 0; y < rgb.height; y++) {
+			for (int x = 0; x < rgb.width; x++) {
+				double expected = 0.299*rgb.getBand(x,y,0) + 0.587*rgb.getBand(x,y,1) + 0.114*rgb.getBand(x,y,2);
+				assertEquals(expected, gray.get(x,y), 1);
+			}
+		}
+	}
+
+	@Test
+	public void rgbToGray_Weighted_F32() {
+		InterleavedF32 rgb = new InterleavedF32(20,25,3);
+		ImageFloat32 gray = new ImageFloat32(20,25);
+		GImageMiscOps.fillUniform(rgb, rand, 0, 255);
+
+		BoofTesting.checkSubImage(this, "rgbToGray_Weighted_F32", true, rgb, gray);
+	}
+
+	public void rgbToGray_Weighted_F32( InterleavedF32 rgb , ImageFloat32 gray ) {
+		ColorRgb.rgbToGray_Weighted(rgb, gray);
+
+		for (int y = 0; y < rgb.height; y++) {
+			for (int x = 0; x < rgb.width; x++) {
+				double expected = 0.299*rgb.getBand(x,y,0) + 0.587*rgb.getBand(x,y,1) + 0.114*rgb.getBand(x,y,2);
+				assertEquals(expected, gray.get(x,y), 1e-3);
+			}
+		}
+	}
+
+	@Test
+	public void grayToRgb_U8() {
+		ImageUInt8 gray = new ImageUInt8(20,25);
+		InterleavedU8 rgb = new InterleavedU8(20,25,3);
+		GImageMiscOps.fillUniform(gray, rand, 0, 255);
+
+		BoofTesting.checkSubImage(this, "grayToRgb_U8", true, gray, rgb);
+	}
+
+	public void grayToRgb_U8( ImageUInt8 gray , InterleavedU8 rgb ) {
+		ColorRgb.grayToRgb(gray, rgb);
+
+		for (int y = 0; y < rgb.height; y++) {
+			for (int x = 0; x < rgb.width; x++) {
+				for (int band = 0; band < 3; band++) {
+					assertEquals(gray.get(x,y), rgb.getBand(x,y,band));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void grayToRgb_F32() {
+		ImageFloat32 gray = new ImageFloat32(20,25);
+		InterleavedF32 rgb = new InterleavedF32(20,25,3);
+		GImageMiscOps.fillUniform(gray, rand, 0, 255);
+
+		BoofTesting.checkSubImage(this, "grayToRgb_F32", true, gray, rgb);
+	}
+
+	public void grayToRgb_F32( ImageFloat32 gray , InterleavedF32 rgb ) {
+		ColorRgb.grayToRgb(gray, rgb);
+
+		for (int y = 0; y < rgb.height; y++) {
+			for (int x = 0; x < rgb.width; x++) {
+				for (int band = 0; band < 3; band++) {
+					assertEquals(gray.get(x,y), rgb.getBand(x,y,band), 0);
+				}
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void wrongNumberOfBands() {
+		ColorRgb.rgbToGray_Weighted(new InterleavedU8(20,25,2), new ImageUInt8(20,25));
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.struct.distort.PixelTransform_F32;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPixelRemapTable {
+
+	/**
+	 * Checks the fixed point encoding and that pixels along the border are saved separately
+	 */
+	@Test
+	public void configure() {
+		PixelRemapTable alg = new PixelRemapTable();
+		alg.configure(new Transform(), 20, 15, 30, 25);
+
+		int numBorder = 0;
+		for( int y = 0; y < 15; y++ ) {
+			for( int x = 0; x < 20; x++ ) {
+				int index = y*20 + x;
+				float sx = x*1.5f - 2.3f;
+				float sy = y*1.7f + 0.6f;
+
+				int fx = Math.round(sx*PixelRemapTable.SCALE);
+				int fy = Math.round(sy*PixelRemapTable.SCALE);
+
+				if( sx < 0 || sy < 0 || (fx >> 8) >= 29 || (fy >> 8) >= 24 ) {
+					assertEquals(-1, alg.coordinates[index]);
+					assertEquals(index, alg.borderIndexes[numBorder]);
+					assertEquals(sx, alg.borderX[numBorder], 1e-6f);
+					assertEquals(sy, alg.borderY[numBorder], 1e-6f);
+					numBorder++;
+				} else {
+					int c = alg.coordinates[index];
+					int w = alg.weights[index] & 0xFFFF;
+					assertEquals(fx >> 8, c & 0xFFFF);
+					assertEquals(fy >> 8, c >>> 16);
+					assertEquals(fx & 0xFF, w & 0xFF);
+					assertEquals(fy & 0xFF, w >> 8);
+				}
+			}
+		}
+		assertEquals(numBorder, alg.borderSize);
+		assertEquals(true, alg.isShape(20, 15, 30, 25));
+		assertEquals(false, alg.isShape(20, 15, 31, 25));
+	}
+
+	private static class Transform extends PixelTransform_F32 {
+		@Override
+		public void compute(int x, int y) {
+			distX = x*1.5f - 2.3f;
+			distY = y*1.7f + 0.6f;
+		}
+	}
+}
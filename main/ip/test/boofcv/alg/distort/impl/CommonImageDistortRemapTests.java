@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.ImageDistortRemap_SB;
+import boofcv.alg.distort.PixelTransformAffine_F32;
+import boofcv.alg.interpolate.InterpolatePixel;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.ConcurrencySettings;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.distort.PixelTransform_F32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
+import georegression.struct.affine.Affine2D_F32;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public abstract class CommonImageDistortRemapTests<T extends ImageSingleBand> extends GeneralImageDistortTests<T> {
+
+	Class<T> bandType;
+
+	// tolerance when compared against floating point bilinear interpolation
+	double tol;
+
+	PixelTransformAffine_F32 tran = new PixelTransformAffine_F32(new Affine2D_F32(0.9f,0.15f,-0.1f,1.05f,3.3f,-2.7f));
+
+	protected CommonImageDistortRemapTests(Class<T> bandType , double tol ) {
+		super(ImageType.single(bandType));
+		this.bandType = bandType;
+		this.tol = tol;
+	}
+
+	public abstract ImageDistortRemap_SB<T> createRemap( InterpolatePixelS<T> interp );
+
+	@Override
+	public ImageDistort<T, T> createDistort(PixelTransform_F32 dstToSrc, InterpolatePixel<T> interp) {
+		ImageDistortRemap_SB<T> alg = createRemap((InterpolatePixelS<T>)interp);
+		alg.setModel(dstToSrc);
+		return alg;
+	}
+
+	/**
+	 * Compare against the regular implementation with bilinear interpolation
+	 */
+	@Test
+	public void compareToStandard() {
+		compareToStandard(true, false);
+		compareToStandard(false, false);
+		compareToStandard(true, true);
+		compareToStandard(false, true);
+	}
+
+	private void compareToStandard( boolean renderAll , boolean crop ) {
+		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(bandType, BorderType.EXTENDED);
+
+		T src = imageType.createImage(200,150);
+		T expected = imageType.createImage(180,160);
+		T found = imageType.createImage(180,160);
+		GImageMiscOps.fillUniform(src, rand, 0, 100);
+		GImageMiscOps.fill(expected, 3);
+		GImageMiscOps.fill(found, 3);
+
+		ImageDistort<T,T> standard = FactoryDistort.distortSB(false, interp, bandType);
+		ImageDistortRemap_SB<T> alg = createRemap(interp);
+		standard.setModel(tran);
+		alg.setModel(tran);
+		standard.setRenderAll(renderAll);
+		alg.setRenderAll(renderAll);
+
+		if( crop ) {
+			standard.apply(src, expected, 10, 30, 170, 155);
+			alg.apply(src, found, 10, 30, 170, 155);
+		} else {
+			standard.apply(src, expected);
+			alg.apply(src, found);
+		}
+
+		BoofTesting.assertEquals(expected, found, tol);
+	}
+
+	/**
+	 * Output should be identical when processed in several threads
+	 */
+	@Test
+	public void concurrent() {
+		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(bandType, BorderType.EXTENDED);
+
+		T src = imageType.createImage(200,150);
+		T expected = imageType.createImage(180,160);
+		T found = imageType.createImage(180,160);
+		GImageMiscOps.fillUniform(src, rand, 0, 100);
+
+		ImageDistortRemap_SB<T> alg = createRemap(interp);
+		alg.setModel(tran);
+		alg.apply(src, expected);
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			alg.apply(src, found);
+		} finally {
+			previous.restore();
+		}
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * Source rows past 2<sup>15</sup> make the packed coordinate negative.  Those pixels must still be rendered
+	 */
+	@Test
+	public void tallSource() {
+		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(bandType, BorderType.EXTENDED);
+
+		T src = imageType.createImage(30,33000);
+		T expected = imageType.createImage(20,40);
+		T found = imageType.createImage(20,40);
+		GImageMiscOps.fillUniform(src, rand, 0, 100);
+		GImageMiscOps.fill(expected, 3);
+		GImageMiscOps.fill(found, 3);
+
+		// rows on either side of 32768
+		PixelTransformAffine_F32 tran = new PixelTransformAffine_F32(new Affine2D_F32(1,0,0,1,2.3f,32750.6f));
+
+		ImageDistort<T,T> standard = FactoryDistort.distortSB(false, interp, bandType);
+		ImageDistortRemap_SB<T> alg = createRemap(interp);
+		standard.setModel(tran);
+		alg.setModel(tran);
+
+		standard.apply(src, expected);
+		alg.apply(src, found);
+
+		BoofTesting.assertEquals(expected, found, tol);
+	}
+
+	/**
+	 * The table should be recomputed when the model changes
+	 */
+	@Test
+	public void changeModel() {
+		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(bandType, BorderType.EXTENDED);
+
+		T src = imageType.createImage(200,150);
+		T expected = imageType.createImage(180,160);
+		T found = imageType.createImage(180,160);
+		GImageMiscOps.fillUniform(src, rand, 0, 100);
+
+		ImageDistortRemap_SB<T> alg = createRemap(interp);
+		alg.setModel(new BasicTransform());
+		alg.apply(src, found);
+		alg.setModel(tran);
+		alg.apply(src, found);
+
+		ImageDistortRemap_SB<T> fresh = createRemap(interp);
+		fresh.setModel(tran);
+		fresh.apply(src, expected);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.ImageDistortRemap_SB;
+import boofcv.alg.distort.PixelTransformAffine_F32;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
+import georegression.struct.affine.Affine2D_F32;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplImageDistortRemap_MS {
+
+	Random rand = new Random(234);
+
+	PixelTransformAffine_F32 tran = new PixelTransformAffine_F32(new Affine2D_F32(0.9f,0.15f,-0.1f,1.05f,3.3f,-2.7f));
+
+	/**
+	 * Each band should be the same as distorting it by itself
+	 */
+	@Test
+	public void compareToSingleBand() {
+		compareToSingleBand(true);
+		compareToSingleBand(false);
+	}
+
+	private void compareToSingleBand( boolean renderAll ) {
+		InterpolatePixelS<ImageUInt8> interp = FactoryInterpolation.bilinearPixelS(ImageUInt8.class, BorderType.EXTENDED);
+
+		MultiSpectral<ImageUInt8> src = new MultiSpectral<ImageUInt8>(ImageUInt8.class,200,150,3);
+		MultiSpectral<ImageUInt8> found = new MultiSpectral<ImageUInt8>(ImageUInt8.class,180,160,3);
+		ImageUInt8 expected = new ImageUInt8(180,160);
+		GImageMiscOps.fillUniform(src, rand, 0, 200);
+		GImageMiscOps.fill(found, 3);
+
+		ImageDistort<MultiSpectral<ImageUInt8>,MultiSpectral<ImageUInt8>> alg =
+				FactoryDistort.distortRemapMS(interp, ImageUInt8.class);
+		alg.setModel(tran);
+		alg.setRenderAll(renderAll);
+		alg.apply(src, found, 5, 10, 170, 150);
+
+		ImageDistortRemap_SB<ImageUInt8> single = FactoryDistort.distortRemapSB(interp, ImageUInt8.class);
+		single.setModel(tran);
+		single.setRenderAll(renderAll);
+		for( int i = 0; i < src.getNumBands(); i++ ) {
+			GImageMiscOps.fill(expected, 3);
+			single.apply(src.getBand(i), expected, 5, 10, 170, 150);
+			BoofTesting.assertEquals(expected, found.getBand(i), 0);
+		}
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistortRemap_SB;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.struct.image.ImageUInt8;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplImageDistortRemap_U8 extends CommonImageDistortRemapTests<ImageUInt8> {
+
+	public TestImplImageDistortRemap_U8() {
+		super(ImageUInt8.class, 1);
+	}
+
+	@Override
+	public ImageDistortRemap_SB<ImageUInt8> createRemap(InterpolatePixelS<ImageUInt8> interp) {
+		return new ImplImageDistortRemap_U8(interp);
+	}
+}
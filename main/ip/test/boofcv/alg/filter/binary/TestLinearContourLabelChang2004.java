@@ -18,17 +18,22 @@
 
 package boofcv.alg.filter.binary;
 
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.image.ImageSInt32;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -192,6 +197,66 @@ public class TestLinearContourLabelChang2004 {
 		assertEquals(4, c.internal.get(0).size());
 	}
 
+	/**
+	 * The concurrent algorithm should produce exactly the same labels and contours as the sequential one
+	 */
+	@Test
+	public void concurrent_identical() {
+		Random rand = new Random(234);
+		ConcurrencySettings previous = ConcurrencySettings.enable(1);
+		try {
+			for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT}) {
+				for( int bandWidth : new int[]{1,5} ) {
+					BoofConcurrency.setMinimumBandWidth(bandWidth);
+					for( double fraction : new double[]{0.1,0.5,0.8,0.95} ) {
+						ImageUInt8 input = new ImageUInt8(60,45);
+						ImageMiscOps.fillUniform(input, rand, 0, 100);
+						for( int i = 0; i < input.data.length; i++ )
+							input.data[i] = (byte)(input.data[i] < 100*fraction ? 1 : 0);
+
+						BoofConcurrency.setUseConcurrent(false);
+						ImageSInt32 expectedLabeled = new ImageSInt32(input.width,input.height);
+						LinearContourLabelChang2004 sequential = new LinearContourLabelChang2004(rule);
+						sequential.process(input,expectedLabeled);
+
+						BoofConcurrency.setUseConcurrent(true);
+						ImageSInt32 foundLabeled = new ImageSInt32(input.width,input.height);
+						LinearContourLabelChang2004 concurrent = new LinearContourLabelChang2004(rule);
+						// process twice to make sure it can be reused
+						concurrent.process(input,foundLabeled);
+						concurrent.process(input,foundLabeled);
+
+						BoofTesting.assertEquals(expectedLabeled, foundLabeled, 0);
+
+						FastQueue<Contour> expected = sequential.getContours();
+						FastQueue<Contour> found = concurrent.getContours();
+						assertEquals(expected.size, found.size);
+						for( int i = 0; i < expected.size; i++ ) {
+							Contour e = expected.get(i);
+							Contour f = found.get(i);
+							assertEquals(e.id, f.id);
+							checkIdentical(e.external, f.external);
+							assertEquals(e.internal.size(), f.internal.size());
+							for( int j = 0; j < e.internal.size(); j++ ) {
+								checkIdentical(e.internal.get(j), f.internal.get(j));
+							}
+						}
+					}
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
+
+	private void checkIdentical( List<Point2D_I32> expected , List<Point2D_I32> found ) {
+		assertEquals(expected.size(), found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			assertEquals(expected.get(i).x, found.get(i).x);
+			assertEquals(expected.get(i).y, found.get(i).y);
+		}
+	}
+
 	/**
 	 * Creates a list of every pixel with the specified label that is on the contour.  Removes duplicate points
 	 * in the found contour.  Sees if the two lists are equivalent.
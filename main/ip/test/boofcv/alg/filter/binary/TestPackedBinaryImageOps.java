@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImagePackedBinary;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the results against {@link BinaryImageOps}
+ *
+ * @author Peter Abeles
+ */
+public class TestPackedBinaryImageOps {
+
+	Random rand = new Random(234);
+
+	// widths which test partial, exactly one, and multiple words
+	int widths[] = new int[]{1,2,30,63,64,65,130};
+	int heights[] = new int[]{1,2,3,17};
+
+	@Test
+	public void pack_unpack() {
+		for( int width : widths ) {
+			for( int height : heights ) {
+				ImageUInt8 input = BoofTesting.createSubImageOf(new ImageUInt8(width,height));
+				ImageMiscOps.fillUniform(input, rand, 0, 3);
+
+				ImagePackedBinary packed = PackedBinaryImageOps.pack(input, null);
+				for( int y = 0; y < height; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						assertEquals(input.get(x,y) != 0 ? 1 : 0, packed.get(x,y));
+					}
+				}
+				checkPadding(packed);
+
+				ImageUInt8 found = PackedBinaryImageOps.unpack(packed, null);
+				for( int y = 0; y < height; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						assertEquals(input.get(x,y) != 0 ? 1 : 0, found.get(x,y));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void threshold() {
+		for( boolean down : new boolean[]{true,false}) {
+			ImageFloat32 inputF = new ImageFloat32(130,5);
+			ImageMiscOps.fillUniform(inputF, rand, 0, 100);
+			ImageUInt8 inputU = new ImageUInt8(130,5);
+			ImageMiscOps.fillUniform(inputU, rand, 0, 100);
+
+			ImageUInt8 expected = ThresholdImageOps.threshold(inputF, null, 40.5f, down);
+			ImageUInt8 found = PackedBinaryImageOps.unpack(PackedBinaryImageOps.threshold(inputF, null, 40.5f, down), null);
+			BoofTesting.assertEquals(expected, found, 0);
+
+			expected = ThresholdImageOps.threshold(inputU, null, 40, down);
+			found = PackedBinaryImageOps.unpack(PackedBinaryImageOps.threshold(inputU, null, 40, down), null);
+			BoofTesting.assertEquals(expected, found, 0);
+		}
+	}
+
+	@Test
+	public void logic() {
+		for( int width : widths ) {
+			ImageUInt8 inputA = new ImageUInt8(width,7);
+			ImageUInt8 inputB = new ImageUInt8(width,7);
+			ImageMiscOps.fillUniform(inputA, rand, 0, 2);
+			ImageMiscOps.fillUniform(inputB, rand, 0, 2);
+			ImagePackedBinary packedA = PackedBinaryImageOps.pack(inputA, null);
+			ImagePackedBinary packedB = PackedBinaryImageOps.pack(inputB, null);
+
+			compare(BinaryImageOps.logicAnd(inputA, inputB, null), PackedBinaryImageOps.logicAnd(packedA, packedB, null));
+			compare(BinaryImageOps.logicOr(inputA, inputB, null), PackedBinaryImageOps.logicOr(packedA, packedB, null));
+			compare(BinaryImageOps.logicXor(inputA, inputB, null), PackedBinaryImageOps.logicXor(packedA, packedB, null));
+			compare(BinaryImageOps.invert(inputA, null), PackedBinaryImageOps.invert(packedA, null));
+		}
+	}
+
+	@Test
+	public void countPixels() {
+		for( int width : widths ) {
+			ImageUInt8 input = new ImageUInt8(width,7);
+			ImageMiscOps.fillUniform(input, rand, 0, 2);
+
+			int expected = 0;
+			for( int i = 0; i < input.data.length; i++ )
+				expected += input.data[i];
+
+			assertEquals(expected, PackedBinaryImageOps.countPixels(PackedBinaryImageOps.pack(input, null)));
+		}
+	}
+
+	/**
+	 * Compare the morphological operations on random images.  The output is the same as the input for half the
+	 * tests to see if it can be processed in place.
+	 */
+	@Test
+	public void morphology() {
+		for( int width : widths ) {
+			for( int height : heights ) {
+				for( int trial = 0; trial < 4; trial++ ) {
+					ImageUInt8 input = new ImageUInt8(width,height);
+					// vary the density so that erode and dilate have something interesting to do
+					for( int i = 0; i < input.data.length; i++ )
+						input.data[i] = (byte)(rand.nextInt(4) < trial ? 1 : 0);
+					ImagePackedBinary packed = PackedBinaryImageOps.pack(input, null);
+
+					for( int numTimes = 1; numTimes <= 2; numTimes++ ) {
+						compare(BinaryImageOps.erode4(input, numTimes, null), PackedBinaryImageOps.erode4(packed, numTimes, null));
+						compare(BinaryImageOps.dilate4(input, numTimes, null), PackedBinaryImageOps.dilate4(packed, numTimes, null));
+						compare(BinaryImageOps.erode8(input, numTimes, null), PackedBinaryImageOps.erode8(packed, numTimes, null));
+						compare(BinaryImageOps.dilate8(input, numTimes, null), PackedBinaryImageOps.dilate8(packed, numTimes, null));
+					}
+					compare(BinaryImageOps.edge4(input, null), PackedBinaryImageOps.edge4(packed, null));
+					compare(BinaryImageOps.edge8(input, null), PackedBinaryImageOps.edge8(packed, null));
+					compare(BinaryImageOps.removePointNoise(input, null), PackedBinaryImageOps.removePointNoise(packed, null));
+
+					// in place
+					compare(BinaryImageOps.erode8(input, 1, null), PackedBinaryImageOps.erode8(packed.clone(), 1, null));
+					ImagePackedBinary copy = packed.clone();
+					compare(BinaryImageOps.removePointNoise(input, null), PackedBinaryImageOps.removePointNoise(copy, copy));
+					copy = packed.clone();
+					compare(BinaryImageOps.dilate4(input, 3, null), PackedBinaryImageOps.dilate4(copy, 3, copy));
+				}
+			}
+		}
+	}
+
+	private void compare( ImageUInt8 expected , ImagePackedBinary found ) {
+		checkPadding(found);
+		BoofTesting.assertEquals(expected, PackedBinaryImageOps.unpack(found, null), 0);
+	}
+
+	/**
+	 * Bits past the end of each row must be zero
+	 */
+	private void checkPadding( ImagePackedBinary image ) {
+		long mask = image.lastWordMask();
+		for( int y = 0; y < image.height; y++ ) {
+			assertEquals(0, image.data[y*image.stride + image.stride - 1] & ~mask);
+		}
+	}
+}
@@ -22,7 +22,10 @@ import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.GImageStatistics;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.core.image.FactoryGImageSingleBand;
+import boofcv.core.image.GConvertImage;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageFloat32;
@@ -99,14 +102,8 @@ public class TestThresholdImageOps {
 	public void naiveAdaptiveSquare(ImageSingleBand input, ImageUInt8 output,
 									int radius, double bias, boolean down) {
 
-		int w = radius*2+1;
-
-		ImageSingleBand blur;
-		if( input instanceof ImageUInt8 ) {
-			blur = BlurImageOps.mean((ImageUInt8)input,null,radius,null);
-		} else {
-			blur = BlurImageOps.mean((ImageFloat32)input,null,radius,null);
-		}
+		// the threshold is computed from the exact local mean, not one rounded to the input's type
+		ImageFloat32 blur = BlurImageOps.mean(toFloat(input),null,radius,null);
 
 		for( int y = 0; y < input.height; y++ ) {
 			for( int x = 0; x < input.width; x++ ) {
@@ -184,12 +181,7 @@ public class TestThresholdImageOps {
 	public void naiveAdaptiveGaussian( ImageSingleBand input , ImageUInt8 output ,
 									   int radius , double bias , boolean down ) {
 
-		ImageSingleBand blur;
-		if( input instanceof ImageUInt8 ) {
-			blur = BlurImageOps.gaussian((ImageUInt8) input, null, -1, radius, null);
-		} else {
-			blur = BlurImageOps.gaussian((ImageFloat32) input, null, -1, radius, null);
-		}
+		ImageFloat32 blur = BlurImageOps.gaussian(toFloat(input), null, -1, radius, null);
 
 		for( int y = 0; y < input.height; y++ ) {
 			for( int x = 0; x < input.width; x++ ) {
@@ -214,6 +206,14 @@ public class TestThresholdImageOps {
 		}
 	}
 
+	private static ImageFloat32 toFloat( ImageSingleBand input ) {
+		if( input instanceof ImageFloat32 )
+			return (ImageFloat32)input;
+		ImageFloat32 out = new ImageFloat32(input.width,input.height);
+		GConvertImage.convert(input, out);
+		return out;
+	}
+
 	@Test
 	public void threshold() {
 
@@ -257,4 +257,31 @@ public class TestThresholdImageOps {
 		assertEquals(areaAbove, GImageStatistics.sum(output),1e-4);
 	}
 
+	/**
+	 * The output should be identical with and without concurrency
+	 */
+	@Test
+	public void concurrent() {
+		ImageUInt8 input = new ImageUInt8(70,213);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageUInt8 expected = null;
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int trial = 0; trial < 2; trial++ ) {
+				BoofConcurrency.setUseConcurrent(trial == 1);
+
+				ImageUInt8 found = ThresholdImageOps.threshold(input, null, 50, true);
+
+				if( trial == 0 ) {
+					expected = found;
+				} else {
+					BoofTesting.assertEquals(expected, found, 0);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary.impl;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.ConcurrencySettings;
+import boofcv.core.image.ConvertImage;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplThresholdLocalStream {
+
+	Random rand = new Random(234);
+
+	int width = 25;
+	int height = 30;
+
+	@Test
+	public void square_U8() {
+		for( int radius : new int[]{1,4,20} ) {
+			for( boolean down : new boolean[]{true,false} ) {
+				ImageUInt8 input = new ImageUInt8(width,height);
+				ImageMiscOps.fillUniform(input, rand, 0, 100);
+				input = BoofTesting.createSubImageOf(input);
+
+				ImageFloat32 inputF32 = ConvertImage.convert(input, (ImageFloat32)null);
+
+				ImageUInt8 expected = new ImageUInt8(width,height);
+				ImageUInt8 found = BoofTesting.createSubImageOf(new ImageUInt8(width,height));
+
+				for( int y = 0; y < height; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						double threshold = mean(inputF32, x, y, radius) + 5;
+						boolean below = input.get(x,y) <= threshold;
+						expected.set(x, y, below == down ? 1 : 0);
+					}
+				}
+
+				ImplThresholdLocalStream.square(input, found, radius, 5, down);
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		}
+	}
+
+	@Test
+	public void square_F32() {
+		for( int radius : new int[]{1,4,20} ) {
+			for( boolean down : new boolean[]{true,false} ) {
+				ImageFloat32 input = new ImageFloat32(width,height);
+				ImageMiscOps.fillUniform(input, rand, 0, 100);
+				input = BoofTesting.createSubImageOf(input);
+
+				ImageUInt8 expected = new ImageUInt8(width,height);
+				ImageUInt8 found = new ImageUInt8(width,height);
+
+				for( int y = 0; y < height; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						float threshold = (float)mean(input, x, y, radius) + 5;
+						boolean below = input.get(x,y) <= threshold;
+						expected.set(x, y, below == down ? 1 : 0);
+					}
+				}
+
+				ImplThresholdLocalStream.square(input, found, radius, 5, down);
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		}
+	}
+
+	/**
+	 * Compare against thresholding an image which has been blurred using the two pass normalized convolution
+	 */
+	@Test
+	public void gaussian() {
+		for( int radius : new int[]{1,4,20} ) {
+			for( boolean down : new boolean[]{true,false} ) {
+				ImageUInt8 inputU8 = new ImageUInt8(width,height);
+				ImageMiscOps.fillUniform(inputU8, rand, 0, 100);
+				ImageFloat32 inputF32 = ConvertImage.convert(inputU8, (ImageFloat32)null);
+				ImageFloat32 blurred = BlurImageOps.gaussian(inputF32, null, -1, radius, null);
+
+				ImageUInt8 expected = new ImageUInt8(width,height);
+				for( int y = 0; y < height; y++ ) {
+					for( int x = 0; x < width; x++ ) {
+						boolean below = inputF32.get(x,y) <= blurred.get(x,y) + 2;
+						expected.set(x, y, below == down ? 1 : 0);
+					}
+				}
+
+				ImageUInt8 found = new ImageUInt8(width,height);
+				ImplThresholdLocalStream.gaussian(BoofTesting.createSubImageOf(inputU8), found, radius, 2, down);
+				BoofTesting.assertEquals(expected, found, 0);
+
+				found = BoofTesting.createSubImageOf(found);
+				ImplThresholdLocalStream.gaussian(BoofTesting.createSubImageOf(inputF32), found, radius, 2f, down);
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		}
+	}
+
+	/**
+	 * Compare against the multi-pass implementation
+	 */
+	@Test
+	public void sauvola() {
+		for( int radius : new int[]{1,4,20} ) {
+			for( boolean down : new boolean[]{true,false} ) {
+				ImageUInt8 inputU8 = new ImageUInt8(width,height);
+				ImageMiscOps.fillUniform(inputU8, rand, 0, 200);
+				ImageFloat32 inputF32 = ConvertImage.convert(inputU8, (ImageFloat32)null);
+
+				ImageUInt8 expected = new ImageUInt8(width,height);
+				new ThresholdSauvola(radius, 0.3f, down).process(inputF32, expected);
+
+				ImageUInt8 found = new ImageUInt8(width,height);
+				ImplThresholdLocalStream.sauvola(BoofTesting.createSubImageOf(inputU8), found, radius, 0.3f, down);
+				BoofTesting.assertEquals(expected, found, 0);
+
+				found = BoofTesting.createSubImageOf(found);
+				ImplThresholdLocalStream.sauvola(BoofTesting.createSubImageOf(inputF32), found, radius, 0.3f, down);
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		}
+	}
+
+	/**
+	 * Processing in multiple bands should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		ImageUInt8 input = new ImageUInt8(60,70);
+		ImageMiscOps.fillUniform(input, rand, 0, 200);
+		ImageFloat32 inputF32 = ConvertImage.convert(input, (ImageFloat32)null);
+
+		ImageUInt8[] expected = new ImageUInt8[4];
+		ImageUInt8[] found = new ImageUInt8[4];
+		for( int i = 0; i < expected.length; i++ ) {
+			expected[i] = new ImageUInt8(input.width,input.height);
+			found[i] = new ImageUInt8(input.width,input.height);
+		}
+
+		ImplThresholdLocalStream.square(input, expected[0], 6, 2, true);
+		ImplThresholdLocalStream.gaussian(input, expected[1], 6, 2, true);
+		ImplThresholdLocalStream.gaussian(inputF32, expected[2], 6, 2, true);
+		ImplThresholdLocalStream.sauvola(input, expected[3], 6, 0.3f, true);
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			ImplThresholdLocalStream.square(input, found[0], 6, 2, true);
+			ImplThresholdLocalStream.gaussian(input, found[1], 6, 2, true);
+			ImplThresholdLocalStream.gaussian(inputF32, found[2], 6, 2, true);
+			ImplThresholdLocalStream.sauvola(input, found[3], 6, 0.3f, true);
+		} finally {
+			previous.restore();
+		}
+
+		for( int i = 0; i < expected.length; i++ ) {
+			BoofTesting.assertEquals(expected[i], found[i], 0);
+		}
+	}
+
+	private static double mean( ImageFloat32 input , int c_x , int c_y , int radius ) {
+		int x0 = Math.max(0, c_x - radius);
+		int x1 = Math.min(input.width, c_x + radius + 1);
+		int y0 = Math.max(0, c_y - radius);
+		int y1 = Math.min(input.height, c_y + radius + 1);
+
+		double total = 0;
+		for( int y = y0; y < y1; y++ ) {
+			for( int x = x0; x < x1; x++ ) {
+				total += input.get(x,y);
+			}
+		}
+		return total/((x1 - x0)*(y1 - y0));
+	}
+}
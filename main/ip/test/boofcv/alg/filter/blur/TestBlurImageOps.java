@@ -24,11 +24,14 @@ import boofcv.alg.filter.convolve.normalized.ConvolveNormalizedNaive;
 import boofcv.alg.filter.kernel.KernelMath;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_I32;
 import boofcv.struct.convolve.Kernel2D_F32;
 import boofcv.struct.convolve.Kernel2D_I32;
 import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt16;
 import boofcv.struct.image.ImageUInt8;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
@@ -95,6 +98,78 @@ public class TestBlurImageOps {
 		}
 	}
 
+	/**
+	 * Compare to the FIR version on a smooth image, where the two should be very similar
+	 */
+	@Test
+	public void gaussianRecursive_U8() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+
+		for( int y = 0; y < height; y++ )
+			for( int x = 0; x < width; x++ )
+				input.set(x,y,x*5+y*3);
+
+		for( double sigma = 1.5; sigma <= 4; sigma += 1 ) {
+			BlurImageOps.gaussian(input,expected,sigma,(int)(4*sigma),null);
+			BlurImageOps.gaussianRecursive(input,found,sigma,null);
+
+			BoofTesting.assertEquals(expected,found,2);
+		}
+	}
+
+	@Test
+	public void gaussianRecursive_F32() {
+		ImageFloat32 input = new ImageFloat32(width,height);
+		ImageFloat32 found = new ImageFloat32(width,height);
+		ImageFloat32 expected = new ImageFloat32(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		ImageFloat32 smooth = BlurImageOps.gaussian(input,null,1,3,null);
+
+		for( double sigma = 1.5; sigma <= 4; sigma += 1 ) {
+			BlurImageOps.gaussian(smooth,expected,sigma,(int)(4*sigma),null);
+			BlurImageOps.gaussianRecursive(smooth,found,sigma);
+
+			BoofTesting.assertEquals(expected,found,1);
+		}
+	}
+
+	/**
+	 * The output should be identical with and without concurrency
+	 */
+	@Test
+	public void gaussianRecursive_concurrent() {
+		ImageFloat32 inputF = new ImageFloat32(70,213);
+		ImageUInt8 inputU = new ImageUInt8(70,213);
+		GImageMiscOps.fillUniform(inputF, rand, 0, 100);
+		GImageMiscOps.fillUniform(inputU, rand, 0, 100);
+
+		ImageFloat32 expectedF = null;
+		ImageUInt8 expectedU = null;
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int trial = 0; trial < 2; trial++ ) {
+				BoofConcurrency.setUseConcurrent(trial == 1);
+
+				ImageFloat32 foundF = BlurImageOps.gaussianRecursive(inputF, null, 3);
+				ImageUInt8 foundU = BlurImageOps.gaussianRecursive(inputU, null, 3, null);
+
+				if( trial == 0 ) {
+					expectedF = foundF;
+					expectedU = foundU;
+				} else {
+					BoofTesting.assertEquals(expectedF, foundF, 0);
+					BoofTesting.assertEquals(expectedU, foundU, 0);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
+
 	@Test
 	public void median_U8() {
 
@@ -112,6 +187,77 @@ public class TestBlurImageOps {
 		}
 	}
 
+	/**
+	 * Large radius which uses a different algorithm
+	 */
+	@Test
+	public void median_U8_large() {
+
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageUInt8 found = new ImageUInt8(width,height);
+		ImageUInt8 expected = new ImageUInt8(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 20);
+
+		int radius = BlurImageOps.MEDIAN_CONSTANT_RADIUS;
+		ImplMedianSortNaive.process(input,expected,radius,null);
+		BlurImageOps.median(input,found,radius);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * The constant time algorithm should produce identical output with and without concurrency
+	 */
+	@Test
+	public void median_large_concurrent() {
+		ImageUInt8 inputU8 = new ImageUInt8(70,213);
+		ImageUInt16 inputU16 = new ImageUInt16(70,213);
+		GImageMiscOps.fillUniform(inputU8, rand, 0, 100);
+		GImageMiscOps.fillUniform(inputU16, rand, 0, 3000);
+
+		int radius = BlurImageOps.MEDIAN_CONSTANT_RADIUS;
+		ImageUInt8 expectedU8 = null;
+		ImageUInt16 expectedU16 = null;
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int trial = 0; trial < 2; trial++ ) {
+				BoofConcurrency.setUseConcurrent(trial == 1);
+
+				ImageUInt8 foundU8 = BlurImageOps.median(inputU8, null, radius);
+				ImageUInt16 foundU16 = BlurImageOps.median(inputU16, null, radius);
+
+				if( trial == 0 ) {
+					expectedU8 = foundU8;
+					expectedU16 = foundU16;
+				} else {
+					BoofTesting.assertEquals(expectedU8, foundU8, 0);
+					BoofTesting.assertEquals(expectedU16, foundU16, 0);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
+
+	@Test
+	public void median_U16() {
+
+		ImageUInt16 input = new ImageUInt16(width,height);
+		ImageUInt16 found = new ImageUInt16(width,height);
+		ImageUInt16 expected = new ImageUInt16(width,height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 3000);
+
+		for( int radius = 1; radius <= 4; radius++ ) {
+			ImplMedianSortNaive.process(input,expected,radius,null);
+			BlurImageOps.median(input,found,radius);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
 	@Test
 	public void median_F32() {
 		ImageFloat32 input = new ImageFloat32(width,height);
@@ -172,4 +318,41 @@ public class TestBlurImageOps {
 			BoofTesting.assertEquals(expected,found,1e-4);
 		}
 	}
+
+	/**
+	 * The output should be identical with and without concurrency
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 inputF = new ImageFloat32(70,213);
+		ImageUInt8 inputU = new ImageUInt8(70,213);
+		GImageMiscOps.fillUniform(inputF, rand, 0, 100);
+		GImageMiscOps.fillUniform(inputU, rand, 0, 100);
+
+		ImageFloat32 expectedMean = null, expectedGaussian = null;
+		ImageUInt8 expectedMedian = null;
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int trial = 0; trial < 2; trial++ ) {
+				BoofConcurrency.setUseConcurrent(trial == 1);
+
+				ImageFloat32 foundMean = BlurImageOps.mean(inputF, null, 4, null);
+				ImageFloat32 foundGaussian = BlurImageOps.gaussian(inputF, null, -1, 3, null);
+				ImageUInt8 foundMedian = BlurImageOps.median(inputU, null, 2);
+
+				if( trial == 0 ) {
+					expectedMean = foundMean;
+					expectedGaussian = foundGaussian;
+					expectedMedian = foundMedian;
+				} else {
+					BoofTesting.assertEquals(expectedMean, foundMean, 0);
+					BoofTesting.assertEquals(expectedGaussian, foundGaussian, 0);
+					BoofTesting.assertEquals(expectedMedian, foundMedian, 0);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplBlurRecursiveGaussian {
+
+	Random rand = new Random(234);
+
+	/**
+	 * The response to an impulse should be close to a Gaussian
+	 */
+	@Test
+	public void impulse() {
+		for( double sigma : new double[]{2,5,20} ) {
+			int N = (int)(20*sigma);
+			ImageFloat32 image = new ImageFloat32(N,1);
+			image.set(N/2,0,1);
+
+			ImplBlurRecursiveGaussian alg = new ImplBlurRecursiveGaussian(sigma);
+			alg.horizontal(image, image, 0, 1);
+
+			double peak = 1.0/(Math.sqrt(2*Math.PI)*sigma);
+			double sum = 0, variance = 0;
+			for( int x = 0; x < N; x++ ) {
+				double d = x - N/2;
+				double expected = peak*Math.exp(-0.5*d*d/(sigma*sigma));
+				double found = image.get(x,0);
+				assertEquals(expected, found, peak*0.025);
+				sum += found;
+				variance += found*d*d;
+			}
+			assertEquals(1, sum, 1e-4);
+			assertEquals(sigma*sigma, variance, sigma*sigma*0.01);
+		}
+	}
+
+	/**
+	 * An image with a constant value should not be changed, even along the border
+	 */
+	@Test
+	public void constant() {
+		ImageFloat32 image = new ImageFloat32(30,25);
+		ImageMiscOps.fill(image, 12);
+
+		ImplBlurRecursiveGaussian alg = new ImplBlurRecursiveGaussian(4);
+		alg.horizontal(image, image, 0, image.height);
+		alg.vertical(image, 0, image.width);
+
+		for( int i = 0; i < image.data.length; i++ ) {
+			assertEquals(12, image.data[i], 1e-4);
+		}
+	}
+
+	/**
+	 * Compare the horizontal and vertical passes against each other by transposing the image
+	 */
+	@Test
+	public void horizontalVertical() {
+		ImageFloat32 input = new ImageFloat32(30,25);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageFloat32 found = new ImageFloat32(30,25);
+		ImageFloat32 expected = new ImageFloat32(30,25);
+
+		BoofTesting.checkSubImage(this, "horizontalVertical", true, input, found, expected);
+	}
+
+	public void horizontalVertical( ImageFloat32 input , ImageFloat32 found , ImageFloat32 expected ) {
+		ImplBlurRecursiveGaussian alg = new ImplBlurRecursiveGaussian(2.5);
+
+		ImageFloat32 transposed = new ImageFloat32(input.height,input.width);
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				transposed.set(y,x,input.get(x,y));
+			}
+		}
+		ImageFloat32 blurred = new ImageFloat32(input.height,input.width);
+		alg.horizontal(transposed, blurred, 0, transposed.height);
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				expected.set(x,y,blurred.get(y,x));
+			}
+		}
+
+		found.setTo(input);
+		alg.vertical(found, 0, found.width);
+
+		BoofTesting.assertEquals(expected, found, 1e-3);
+	}
+
+	/**
+	 * Only the specified rows and columns should be processed
+	 */
+	@Test
+	public void bands() {
+		ImageFloat32 input = new ImageFloat32(30,25);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImplBlurRecursiveGaussian alg = new ImplBlurRecursiveGaussian(3);
+
+		ImageFloat32 expected = new ImageFloat32(30,25);
+		alg.horizontal(input, expected, 0, input.height);
+		alg.vertical(expected, 0, input.width);
+
+		ImageFloat32 found = new ImageFloat32(30,25);
+		alg.horizontal(input, found, 0, 10);
+		alg.horizontal(input, found, 10, input.height);
+		alg.vertical(found, 0, 7);
+		alg.vertical(found, 7, input.width);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	@Test
+	public void horizontal_U8() {
+		ImageUInt8 input = new ImageUInt8(30,25);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		ImageFloat32 inputF = new ImageFloat32(30,25);
+		for( int i = 0; i < input.data.length; i++ )
+			inputF.data[i] = input.data[i];
+
+		ImplBlurRecursiveGaussian alg = new ImplBlurRecursiveGaussian(3);
+
+		ImageFloat32 expected = new ImageFloat32(30,25);
+		ImageFloat32 found = new ImageFloat32(30,25);
+		alg.horizontal(inputF, expected, 0, input.height);
+		alg.horizontal(input, found, 0, input.height);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	@Test
+	public void round() {
+		ImageFloat32 input = new ImageFloat32(3,1);
+		input.data = new float[]{-2.1f, 10.6f, 300.2f};
+		ImageUInt8 output = new ImageUInt8(3,1);
+
+		ImplBlurRecursiveGaussian.round(input, output, 0, 1);
+
+		assertEquals(0, output.get(0,0));
+		assertEquals(11, output.get(1,0));
+		assertEquals(255, output.get(2,0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void sigmaTooSmall() {
+		new ImplBlurRecursiveGaussian(ImplBlurRecursiveGaussian.MIN_SIGMA*0.9);
+	}
+
+	/**
+	 * Images which are smaller than the filter's order
+	 */
+	@Test
+	public void tinyImage() {
+		ImageFloat32 image = new ImageFloat32(2,2);
+		ImageMiscOps.fill(image, 5);
+
+		ImplBlurRecursiveGaussian alg = new ImplBlurRecursiveGaussian(2);
+		alg.horizontal(image, image, 0, image.height);
+		alg.vertical(image, 0, image.width);
+
+		for( int i = 0; i < image.data.length; i++ ) {
+			assertTrue(Math.abs(image.data[i]-5) < 1e-4);
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.ConcurrencySettings;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMedianHistogramConstant {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void compareToSort_U8() {
+		ImageUInt8 image = new ImageUInt8(20,30);
+		ImageMiscOps.fillUniform(image,rand, 0, 256);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort_U8", true, image, found, expected);
+	}
+
+	public void compareToSort_U8(ImageUInt8 image, ImageUInt8 found, ImageUInt8 expected) {
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+
+		// the largest radius is bigger than the image
+		for( int radius = 1; radius <= 16; radius += 3 ) {
+			alg.process(image,found,radius);
+			ImplMedianSortNaive.process(image,expected,radius,null);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	@Test
+	public void compareToSort_U16() {
+		ImageUInt16 image = new ImageUInt16(20,30);
+		ImageMiscOps.fillUniform(image,rand, 0, 65536);
+
+		ImageUInt16 found = new ImageUInt16( image.width , image.height );
+		ImageUInt16 expected = new ImageUInt16( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort_U16", true, image, found, expected);
+	}
+
+	public void compareToSort_U16(ImageUInt16 image, ImageUInt16 found, ImageUInt16 expected) {
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+
+		for( int radius = 1; radius <= 16; radius += 3 ) {
+			alg.process(image,found,radius);
+			ImplMedianSortNaive.process(image,expected,radius,null);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	/**
+	 * The 16-bit image is wide enough that it is processed in several vertical strips
+	 */
+	@Test
+	public void multipleStrips_U16() {
+		ImageUInt16 image = new ImageUInt16(150,12);
+		ImageMiscOps.fillUniform(image,rand, 0, 1000);
+
+		ImageUInt16 found = new ImageUInt16( image.width , image.height );
+		ImageUInt16 expected = new ImageUInt16( image.width , image.height );
+
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+		for( int radius = 1; radius <= 3; radius++ ) {
+			alg.process(image,found,radius);
+			ImplMedianSortNaive.process(image,expected,radius,null);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	/**
+	 * Only a band of rows is written to
+	 */
+	@Test
+	public void rowBand() {
+		ImageUInt8 image = new ImageUInt8(20,30);
+		ImageMiscOps.fillUniform(image,rand, 0, 256);
+
+		ImageUInt8 found = new ImageUInt8( image.width , image.height );
+		ImageUInt8 expected = new ImageUInt8( image.width , image.height );
+
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+		alg.process(image,found,4,0,12);
+		alg.process(image,found,4,12,30);
+		ImplMedianSortNaive.process(image,expected,4,null);
+
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	@Test
+	public void compareToSort_F32() {
+		ImageFloat32 image = new ImageFloat32(20,30);
+		ImageMiscOps.fillUniform(image,rand, -10, 10);
+
+		ImageFloat32 found = new ImageFloat32( image.width , image.height );
+		ImageFloat32 expected = new ImageFloat32( image.width , image.height );
+
+		BoofTesting.checkSubImage(this, "compareToSort_F32", true, image, found, expected);
+	}
+
+	public void compareToSort_F32(ImageFloat32 image, ImageFloat32 found, ImageFloat32 expected) {
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+
+		for( int radius = 1; radius <= 7; radius += 3 ) {
+			alg.process(image,found,radius);
+			ImplMedianSortNaive.process(image,expected,radius,null);
+
+			BoofTesting.assertEquals(expected,found,0);
+		}
+	}
+
+	/**
+	 * The search for unique values should stop once there are too many for the 16-bit filter
+	 */
+	@Test
+	public void findUniqueValues() {
+		ImageFloat32 image = new ImageFloat32(300,250);
+		ImageMiscOps.fillUniform(image,rand, -10, 10);
+
+		ImplMedianHistogramConstant alg = new ImplMedianHistogramConstant();
+		assertFalse(alg.findUniqueValues(image));
+
+		// integer valued floating point image, such as one converted from an 8-bit image
+		for( int i = 0; i < image.data.length; i++ ) {
+			image.data[i] = (int)(image.data[i]*12);
+		}
+		assertTrue(alg.findUniqueValues(image));
+	}
+
+	/**
+	 * Compares results when processed in multiple threads against the naive single threaded algorithm.  Both
+	 * the 16-bit path and the fall back for images with too many unique values are checked.
+	 */
+	@Test
+	public void concurrent_F32() {
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			ImageFloat32 image = new ImageFloat32(300,250);
+			ImageFloat32 found = new ImageFloat32( image.width , image.height );
+			ImageFloat32 expected = new ImageFloat32( image.width , image.height );
+
+			ImageMiscOps.fillUniform(image,rand, -10, 10);
+			new ImplMedianHistogramConstant().process(image,found,2);
+			ImplMedianSortNaive.process(image,expected,2,null);
+			BoofTesting.assertEquals(expected,found,0);
+
+			ImageMiscOps.fillUniform(image,rand, 0, 1000);
+			for( int i = 0; i < image.data.length; i++ ) {
+				image.data[i] = (int)image.data[i];
+			}
+			new ImplMedianHistogramConstant().process(image,found,6);
+			ImplMedianSortNaive.process(image,expected,6,null);
+			BoofTesting.assertEquals(expected,found,0);
+		} finally {
+			previous.restore();
+		}
+	}
+}
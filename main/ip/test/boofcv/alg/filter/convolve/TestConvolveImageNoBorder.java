@@ -18,8 +18,17 @@
 
 package boofcv.alg.filter.convolve;
 
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.Random;
+
 /**
  * @author Peter Abeles
  */
@@ -48,4 +57,62 @@ public class TestConvolveImageNoBorder {
 		a.setOffset(3);
 		a.performTests(22);
 	}
+
+	/**
+	 * The input and output are the same image with concurrency turned on
+	 */
+	@Test
+	public void separable_inPlace() {
+		Random rand = new Random(234);
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int radius : new int[]{1,4,12} ) {
+				Kernel1D_F32 kx = FactoryKernel.random1D_F32(radius*2+1, radius, -1, 1, rand);
+				Kernel1D_F32 ky = FactoryKernel.random1D_F32(radius*2+1, radius, -1, 1, rand);
+
+				ImageFloat32 input = new ImageFloat32(60,80);
+				ImageMiscOps.fillUniform(input, rand, 0, 100);
+				ImageFloat32 expected = new ImageFloat32(60,80);
+				ConvolveImageNoBorder.separable(kx, ky, input, expected);
+
+				ConvolveImageNoBorder.separable(kx, ky, input, input);
+
+				BoofTesting.assertEqualsInner(expected, input, 0, radius, radius, radius, radius, false);
+			}
+		} finally {
+			previous.restore();
+		}
+	}
+
+	/**
+	 * The output should be identical with and without concurrency
+	 */
+	@Test
+	public void concurrent() {
+		Random rand = new Random(234);
+		ImageFloat32 input = new ImageFloat32(70,213);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+		Kernel1D_F32 kernel = FactoryKernel.random1D_F32(7, 2, -1, 1, rand);
+
+		ImageFloat32 expected = null;
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int trial = 0; trial < 2; trial++ ) {
+				BoofConcurrency.setUseConcurrent(trial == 1);
+
+				ImageFloat32 found = new ImageFloat32(input.width,input.height);
+				ConvolveImageNoBorder.vertical(kernel, input, found);
+
+				if( trial == 0 ) {
+					expected = found;
+				} else {
+					BoofTesting.assertEquals(expected, found, 0);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
 }
@@ -19,8 +19,16 @@
 package boofcv.alg.filter.convolve;
 
 import boofcv.alg.filter.convolve.normalized.CompareToStandardConvolutionNormalized;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.ConcurrencySettings;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.Random;
+
 /**
  * @author Peter Abeles
  */
@@ -55,4 +63,56 @@ public class TestConvolveNormalized {
 			test.performTests(numFunctions);
 		}
 	}
+
+	/**
+	 * Compare against horizontal then vertical.  Includes kernels which do not sum to one and are larger than the image
+	 */
+	@Test
+	public void separable() {
+		Random rand = new Random(234);
+
+		for( int radius : new int[]{1,4,12} ) {
+			Kernel1D_F32 kx = FactoryKernel.random1D_F32(radius*2+1, radius, 0.1f, 1, rand);
+			Kernel1D_F32 ky = FactoryKernel.random1D_F32(radius*2+1, radius, 0.1f, 1, rand);
+
+			ImageFloat32 input = new ImageFloat32(30,20);
+			ImageMiscOps.fillUniform(input, rand, 0, 100);
+			ImageFloat32 work = new ImageFloat32(30,20);
+			ImageFloat32 expected = new ImageFloat32(30,20);
+			ConvolveNormalized.horizontal(kx, input, work);
+			ConvolveNormalized.vertical(ky, work, expected);
+
+			ImageFloat32 found = new ImageFloat32(30,20);
+			ConvolveNormalized.separable(kx, ky, input, found);
+
+			BoofTesting.assertEquals(expected, found, 1e-3);
+		}
+	}
+
+	/**
+	 * The input and output are the same image with concurrency turned on
+	 */
+	@Test
+	public void separable_inPlace() {
+		Random rand = new Random(234);
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int radius : new int[]{1,4,12} ) {
+				Kernel1D_F32 kx = FactoryKernel.random1D_F32(radius*2+1, radius, 0.1f, 1, rand);
+				Kernel1D_F32 ky = FactoryKernel.random1D_F32(radius*2+1, radius, 0.1f, 1, rand);
+
+				ImageFloat32 input = new ImageFloat32(60,80);
+				ImageMiscOps.fillUniform(input, rand, 0, 100);
+				ImageFloat32 expected = new ImageFloat32(60,80);
+				ConvolveNormalized.separable(kx, ky, input, expected);
+
+				ConvolveNormalized.separable(kx, ky, input, input);
+
+				BoofTesting.assertEquals(expected, input, 1e-3);
+			}
+		} finally {
+			previous.restore();
+		}
+	}
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve.noborder;
+
+import boofcv.alg.filter.convolve.ConvolveImageNoBorder;
+import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.filter.kernel.KernelMath;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.kernel.FactoryKernel;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplConvolveSeparable {
+
+	Random rand = new Random(234);
+
+	int width = 30;
+	int height = 40;
+
+	int bufferElements = ImplConvolveSeparable.BUFFER_ELEMENTS;
+
+	@After
+	public void restore() {
+		ImplConvolveSeparable.BUFFER_ELEMENTS = bufferElements;
+	}
+
+	/**
+	 * Compare against applying the horizontal and then vertical convolution.  The buffer is made small so that
+	 * multiple strips are processed.
+	 */
+	@Test
+	public void process_F32() {
+		for( int bufferRows : new int[]{1,7,100}) {
+			ImplConvolveSeparable.BUFFER_ELEMENTS = bufferRows*width;
+			for( int offset : new int[]{0,1,2} ) {
+				Kernel1D_F32 kx = FactoryKernel.random1D_F32(5, 2, -1, 1, rand);
+				Kernel1D_F32 ky = FactoryKernel.random1D_F32(5, offset, -1, 1, rand);
+
+				ImageFloat32 input = new ImageFloat32(width,height);
+				ImageMiscOps.fillUniform(input, rand, 0, 100);
+				ImageFloat32 work = new ImageFloat32(width,height);
+				ImageFloat32 expected = new ImageFloat32(width,height);
+				ConvolveImageNoBorder.horizontal(kx, input, work);
+				ConvolveImageNoBorder.vertical(ky, work, expected);
+
+				ImageFloat32 found = new ImageFloat32(width,height);
+				new ImplConvolveSeparable().process(kx, ky, input, found, 0, height);
+				BoofTesting.assertEqualsInner(expected, found, 0, 2, 2, 2, 2, false);
+
+				// process in two bands using the same instance
+				found = BoofTesting.createSubImageOf(found);
+				ImageMiscOps.fill(found,0);
+				ImplConvolveSeparable alg = new ImplConvolveSeparable();
+				alg.process(kx, ky, input, found, 0, 13);
+				alg.process(kx, ky, input, found, 13, height);
+				BoofTesting.assertEqualsInner(expected, found, 0, 2, 2, 2, 2, false);
+			}
+		}
+	}
+
+	@Test
+	public void process_U8_I16() {
+		for( int bufferRows : new int[]{1,7,100}) {
+			ImplConvolveSeparable.BUFFER_ELEMENTS = bufferRows*width;
+			Kernel1D_I32 kx = FactoryKernel.random1D_I32(5, 2, -10, 10, rand);
+			Kernel1D_I32 ky = FactoryKernel.random1D_I32(5, 1, -10, 10, rand);
+
+			ImageUInt8 input = new ImageUInt8(width,height);
+			ImageMiscOps.fillUniform(input, rand, 0, 50);
+			ImageSInt16 work = new ImageSInt16(width,height);
+			ImageSInt16 expected = new ImageSInt16(width,height);
+			ConvolveImageNoBorder.horizontal(kx, input, work);
+			ConvolveImageNoBorder.vertical(ky, work, expected);
+
+			ImageSInt16 found = new ImageSInt16(width,height);
+			new ImplConvolveSeparable().process(kx, ky, BoofTesting.createSubImageOf(input), found, 0, height);
+			BoofTesting.assertEqualsInner(expected, found, 0, 2, 2, 2, 2, false);
+		}
+	}
+
+	/**
+	 * The normalized version should produce the same output across the entire image
+	 */
+	@Test
+	public void processNormalized() {
+		for( int bufferRows : new int[]{1,7,100}) {
+			ImplConvolveSeparable.BUFFER_ELEMENTS = bufferRows*width;
+			for( int offset : new int[]{0,3,6} ) {
+				Kernel1D_F32 kx = FactoryKernel.random1D_F32(7, 3, 0, 1, rand);
+				Kernel1D_F32 ky = FactoryKernel.random1D_F32(7, offset, 0, 1, rand);
+				KernelMath.normalizeSumToOne(kx);
+				KernelMath.normalizeSumToOne(ky);
+
+				ImageFloat32 input = new ImageFloat32(width,height);
+				ImageMiscOps.fillUniform(input, rand, 0, 100);
+				ImageFloat32 work = new ImageFloat32(width,height);
+				ImageFloat32 expected = new ImageFloat32(width,height);
+				ConvolveNormalized.horizontal(kx, input, work);
+				ConvolveNormalized.vertical(ky, work, expected);
+
+				ImageFloat32 found = new ImageFloat32(width,height);
+				ImplConvolveSeparable alg = new ImplConvolveSeparable();
+				alg.processNormalized(kx, ky, BoofTesting.createSubImageOf(input), found, 0, 2);
+				alg.processNormalized(kx, ky, BoofTesting.createSubImageOf(input), found, 2, height);
+				BoofTesting.assertEquals(expected, found, 1e-4);
+			}
+		}
+	}
+}
@@ -19,11 +19,14 @@
 package boofcv.alg.filter.derivative;
 
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.core.image.border.ImageBorder_F32;
 import boofcv.core.image.border.ImageBorder_S32;
 import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSInt16;
 import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -93,4 +96,36 @@ public class TestGradientSobel {
 
 		validator.compare(input,derivX,derivY);
 	}
+
+	/**
+	 * The output should be identical with and without concurrency
+	 */
+	@Test
+	public void concurrent() {
+		ImageUInt8 input = new ImageUInt8(70,213);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageSInt16 expectedX = null, expectedY = null;
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int trial = 0; trial < 2; trial++ ) {
+				BoofConcurrency.setUseConcurrent(trial == 1);
+
+				ImageSInt16 foundX = new ImageSInt16(input.width,input.height);
+				ImageSInt16 foundY = new ImageSInt16(input.width,input.height);
+				GradientSobel.process(input, foundX, foundY, null);
+
+				if( trial == 0 ) {
+					expectedX = foundX;
+					expectedY = foundY;
+				} else {
+					BoofTesting.assertEquals(expectedX, foundX, 0);
+					BoofTesting.assertEquals(expectedY, foundY, 0);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
 }
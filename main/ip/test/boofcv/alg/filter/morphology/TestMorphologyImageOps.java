@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.morphology;
+
+import boofcv.alg.filter.binary.BinaryImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMorphologyImageOps {
+
+	Random rand = new Random(234);
+
+	int width = 35;
+	int height = 28;
+
+	int radii[][] = new int[][]{{1,1},{0,3},{4,0},{2,5},{0,0},{20,40}};
+
+	@Test
+	public void erode_dilate_U8() {
+		for( int[] r : radii ) {
+			ImageUInt8 input = BoofTesting.createSubImageOf(new ImageUInt8(width,height));
+			ImageMiscOps.fillUniform(input, rand, 0, 200);
+
+			BoofTesting.assertEquals(naive(input, r[0], r[1], false),
+					MorphologyImageOps.erode(input, null, r[0], r[1]), 0);
+			BoofTesting.assertEquals(naive(input, r[0], r[1], true),
+					MorphologyImageOps.dilate(input, null, r[0], r[1]), 0);
+
+			// in place
+			ImageUInt8 found = input.clone();
+			MorphologyImageOps.dilate(found, found, r[0], r[1]);
+			BoofTesting.assertEquals(naive(input, r[0], r[1], true), found, 0);
+		}
+	}
+
+	@Test
+	public void erode_dilate_F32() {
+		for( int[] r : radii ) {
+			ImageFloat32 input = BoofTesting.createSubImageOf(new ImageFloat32(width,height));
+			ImageMiscOps.fillUniform(input, rand, -100, 100);
+
+			BoofTesting.assertEquals(naive(input, r[0], r[1], false),
+					MorphologyImageOps.erode(input, null, r[0], r[1]), 0);
+			BoofTesting.assertEquals(naive(input, r[0], r[1], true),
+					MorphologyImageOps.dilate(input, null, r[0], r[1]), 0);
+
+			ImageFloat32 found = input.clone();
+			MorphologyImageOps.erode(found, found, r[0], r[1]);
+			BoofTesting.assertEquals(naive(input, r[0], r[1], false), found, 0);
+		}
+	}
+
+	@Test
+	public void open_close_topHat() {
+		for( int[] r : radii ) {
+			ImageUInt8 inputU = new ImageUInt8(width,height);
+			ImageMiscOps.fillUniform(inputU, rand, 0, 200);
+			ImageFloat32 inputF = new ImageFloat32(width,height);
+			ImageMiscOps.fillUniform(inputF, rand, -100, 100);
+
+			ImageUInt8 openU = naive(naive(inputU, r[0], r[1], false), r[0], r[1], true);
+			ImageUInt8 closeU = naive(naive(inputU, r[0], r[1], true), r[0], r[1], false);
+			ImageFloat32 openF = naive(naive(inputF, r[0], r[1], false), r[0], r[1], true);
+			ImageFloat32 closeF = naive(naive(inputF, r[0], r[1], true), r[0], r[1], false);
+
+			BoofTesting.assertEquals(openU, MorphologyImageOps.open(inputU, null, r[0], r[1]), 0);
+			BoofTesting.assertEquals(closeU, MorphologyImageOps.close(inputU, null, r[0], r[1]), 0);
+			BoofTesting.assertEquals(openF, MorphologyImageOps.open(inputF, null, r[0], r[1]), 0);
+			BoofTesting.assertEquals(closeF, MorphologyImageOps.close(inputF, null, r[0], r[1]), 0);
+
+			ImageUInt8 topU = MorphologyImageOps.topHatWhite(inputU, null, r[0], r[1]);
+			ImageUInt8 blackU = MorphologyImageOps.topHatBlack(inputU, null, r[0], r[1]);
+			ImageFloat32 topF = MorphologyImageOps.topHatWhite(inputF, null, r[0], r[1]);
+			ImageFloat32 blackF = MorphologyImageOps.topHatBlack(inputF, null, r[0], r[1]);
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					org.junit.Assert.assertEquals(inputU.get(x,y) - openU.get(x,y), topU.get(x,y));
+					org.junit.Assert.assertEquals(closeU.get(x,y) - inputU.get(x,y), blackU.get(x,y));
+					org.junit.Assert.assertEquals(inputF.get(x,y) - openF.get(x,y), topF.get(x,y), 1e-4f);
+					org.junit.Assert.assertEquals(closeF.get(x,y) - inputF.get(x,y), blackF.get(x,y), 1e-4f);
+				}
+			}
+		}
+	}
+
+	/**
+	 * With a radius of one it should be the same as the binary operations
+	 */
+	@Test
+	public void compareToBinary() {
+		ImageUInt8 input = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 2);
+
+		BoofTesting.assertEquals(BinaryImageOps.erode8(input, 1, null), MorphologyImageOps.erode(input, null, 1, 1), 0);
+		BoofTesting.assertEquals(BinaryImageOps.dilate8(input, 1, null), MorphologyImageOps.dilate(input, null, 1, 1), 0);
+		BoofTesting.assertEquals(BinaryImageOps.dilate8(input, 3, null), MorphologyImageOps.dilate(input, null, 3, 3), 0);
+	}
+
+	/**
+	 * The output should be identical with and without concurrency
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 inputF = new ImageFloat32(70,213);
+		ImageUInt8 inputU = new ImageUInt8(70,213);
+		ImageMiscOps.fillUniform(inputF, rand, 0, 100);
+		ImageMiscOps.fillUniform(inputU, rand, 0, 100);
+
+		ImageFloat32 expectedF = null;
+		ImageUInt8 expectedU = null;
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int trial = 0; trial < 2; trial++ ) {
+				BoofConcurrency.setUseConcurrent(trial == 1);
+
+				ImageFloat32 foundF = MorphologyImageOps.erode(inputF, null, 3, 6);
+				ImageUInt8 foundU = MorphologyImageOps.close(inputU, null, 5, 2);
+
+				if( trial == 0 ) {
+					expectedF = foundF;
+					expectedU = foundU;
+				} else {
+					BoofTesting.assertEquals(expectedF, foundF, 0);
+					BoofTesting.assertEquals(expectedU, foundU, 0);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
+
+	@Test
+	public void negativeRadius() {
+		try {
+			MorphologyImageOps.erode(new ImageUInt8(width,height), null, -1, 2);
+			fail("Should have thrown an exception");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	/**
+	 * Brute force minimum/maximum inside a rectangle
+	 */
+	private static <T extends ImageSingleBand> T naive( T input , int radiusX , int radiusY , boolean maximum ) {
+		T output = (T)input.createSameShape();
+		for( int y = 0; y < input.height; y++ ) {
+			for( int x = 0; x < input.width; x++ ) {
+				double best = maximum ? -Double.MAX_VALUE : Double.MAX_VALUE;
+				for( int j = Math.max(0,y-radiusY); j <= Math.min(input.height-1, y+radiusY); j++ ) {
+					for( int i = Math.max(0,x-radiusX); i <= Math.min(input.width-1, x+radiusX); i++ ) {
+						double v = GeneralizedImageOps.get(input, i, j);
+						best = maximum ? Math.max(best, v) : Math.min(best, v);
+					}
+				}
+				GeneralizedImageOps.set(output, x, y, best);
+			}
+		}
+		return output;
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.morphology.impl;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplMorphologyVanHerk {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against a brute force solution for several interleaved lines with lengths that are and are not
+	 * a multiple of the window
+	 */
+	@Test
+	public void minimum_maximum() {
+		for( int radius : new int[]{1,2,5} ) {
+			for( int n : new int[]{1,4,7,15,30} ) {
+				for( int N : new int[]{1,3} ) {
+					int length = n + 2*radius;
+					int lineI[] = new int[length*N];
+					float lineF[] = new float[length*N];
+					for( int i = 0; i < radius*N; i++ ) {
+						lineI[i] = lineI[(n + radius)*N + i] = Integer.MAX_VALUE;
+						lineF[i] = lineF[(n + radius)*N + i] = Float.NEGATIVE_INFINITY;
+					}
+					for( int i = radius*N; i < (n + radius)*N; i++ ) {
+						lineI[i] = rand.nextInt(1000);
+						lineF[i] = rand.nextFloat();
+					}
+
+					int expectedI[] = new int[n*N];
+					float expectedF[] = new float[n*N];
+					for( int line = 0; line < N; line++ ) {
+						for( int i = 0; i < n; i++ ) {
+							int min = Integer.MAX_VALUE;
+							float max = Float.NEGATIVE_INFINITY;
+							for( int j = i; j <= i + 2*radius; j++ ) {
+								min = Math.min(min, lineI[j*N + line]);
+								max = Math.max(max, lineF[j*N + line]);
+							}
+							expectedI[i*N + line] = min;
+							expectedF[i*N + line] = max;
+						}
+					}
+
+					ImplMorphologyVanHerk.minimum(lineI, new int[length*N], new int[length*N], length, radius, N);
+					ImplMorphologyVanHerk.maximum(lineF, new float[length*N], new float[length*N], length, radius, N);
+
+					for( int i = 0; i < n*N; i++ ) {
+						assertEquals(expectedI[i], lineI[i]);
+						assertEquals(expectedF[i], lineF[i], 0);
+					}
+				}
+			}
+		}
+	}
+}
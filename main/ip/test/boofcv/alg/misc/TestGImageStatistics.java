@@ -37,7 +37,7 @@ public class TestGImageStatistics extends BaseGClassChecksInMisc {
 
 	@Test
 	public void compareToPixelMath() {
-		performTests(9);
+		performTests(10);
 	}
 
 	@Override
@@ -78,6 +78,9 @@ public class TestGImageStatistics extends BaseGClassChecksInMisc {
 			ret[0][0] = inputA;
 			ret[0][1] = -10;
 			ret[0][2] = new int[histogramSize];
+		} else if( name.equals("summary")) {
+			ret[0][0] = inputA;
+			ret[0][1] = new ImageSummaryStatistics(-10,10);
 		}
 
 		fillRandom(inputA);
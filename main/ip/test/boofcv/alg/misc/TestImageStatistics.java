@@ -18,10 +18,13 @@
 
 package boofcv.alg.misc;
 
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageDataType;
+import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import org.junit.Test;
 
@@ -41,7 +44,7 @@ public class TestImageStatistics {
 
 	@Test
 	public void checkAll() {
-		int numExpected = 9*8;
+		int numExpected = 10*8;
 		Method methods[] = ImageStatistics.class.getMethods();
 
 		// sanity check to make sure the functions are being found
@@ -70,6 +73,8 @@ public class TestImageStatistics {
 					testMeanDiffAbs(m);
 				} else if( m.getName().compareTo("histogram") == 0 ) {
 					testHistogram(m);
+				} else if( m.getName().compareTo("summary") == 0 ) {
+					testSummary(m);
 				} else {
 					throw new RuntimeException("Unknown function: "+m.getName());
 				}
@@ -87,6 +92,53 @@ public class TestImageStatistics {
 			throw new RuntimeException("Unexpected number of methods: Found "+numFound+"  expected "+numExpected);
 	}
 
+	/**
+	 * Process the images in several bands.  Results should be the same as when processed in a single thread
+	 */
+	@Test
+	public void checkAll_concurrent() {
+		ConcurrencySettings previous = ConcurrencySettings.enable(2);
+		try {
+			checkAll();
+		} finally {
+			previous.restore();
+		}
+	}
+
+	/**
+	 * Floating point sums must be merged in the same order every time, no matter which thread finishes first
+	 */
+	@Test
+	public void concurrent_repeatable() {
+		ImageFloat32 imgA = new ImageFloat32(300,400);
+		ImageFloat32 imgB = new ImageFloat32(300,400);
+		ImageMiscOps.fillUniform(imgA, rand, -1e4f, 1e4f);
+		ImageMiscOps.fillUniform(imgB, rand, -1e-2f, 1e-2f);
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(2);
+		try {
+			ImageSummaryStatistics expected = new ImageSummaryStatistics();
+			ImageStatistics.summary(imgA, expected);
+			float sum = ImageStatistics.sum(imgA);
+			double variance = ImageStatistics.variance(imgA, 10);
+			double diffSq = ImageStatistics.meanDiffSq(imgA, imgB);
+			double diffAbs = ImageStatistics.meanDiffAbs(imgA, imgB);
+
+			for( int trial = 0; trial < 20; trial++ ) {
+				ImageSummaryStatistics found = new ImageSummaryStatistics();
+				ImageStatistics.summary(imgA, found);
+				assertEquals(expected.mean, found.mean, 0);
+				assertEquals(expected.variance, found.variance, 0);
+				assertEquals(sum, ImageStatistics.sum(imgA), 0);
+				assertEquals(variance, ImageStatistics.variance(imgA, 10), 0);
+				assertEquals(diffSq, ImageStatistics.meanDiffSq(imgA, imgB), 0);
+				assertEquals(diffAbs, ImageStatistics.meanDiffAbs(imgA, imgB), 0);
+			}
+		} finally {
+			previous.restore();
+		}
+	}
+
 	private boolean isTestMethod(Method m ) {
 
 		Class param[] = m.getParameterTypes();
@@ -327,4 +379,62 @@ public class TestImageStatistics {
 		}
 	}
 
+	private void testSummary(Method m) throws InvocationTargetException, IllegalAccessException {
+		Class paramTypes[] = m.getParameterTypes();
+		ImageSingleBand inputA = GeneralizedImageOps.createSingleBand(paramTypes[0], width, height);
+
+		int minValue = inputA.getDataType().isSigned() ? -20 : 0;
+		GImageMiscOps.fillUniform(inputA, rand, minValue, minValue+40);
+		// large offset to make sure the variance is computed accurately and nothing overflows
+		ImageDataType type = inputA.getDataType();
+		int offset = 100000;
+		if( type.isInteger() && type.getNumBits() == 8 )
+			offset = type.isSigned() ? 100 : 200;
+		else if( type.isInteger() && type.getNumBits() == 16 )
+			offset = type.isSigned() ? 30000 : 60000;
+		GPixelMath.plus(inputA, offset, inputA);
+		minValue += offset;
+
+		ImageSummaryStatistics stats = new ImageSummaryStatistics(minValue,minValue+99);
+		// it should be zeroed
+		for( int i = 0; i < stats.histogram.length; i++ )
+			stats.histogram[i] = 100;
+		m.invoke(null,inputA,stats);
+
+		double min = Double.MAX_VALUE, max = -Double.MAX_VALUE, total = 0;
+		int expected[] = new int[ 100 ];
+		for( int i = 0; i < height; i++ ) {
+			for( int j = 0; j < width; j++ ) {
+				double a = GeneralizedImageOps.get(inputA,j,i);
+				min = Math.min(min, a);
+				max = Math.max(max, a);
+				total += a;
+				expected[ (int)a - minValue ]++;
+			}
+		}
+		double mean = total/(width*height);
+		double variance = 0;
+		for( int i = 0; i < height; i++ ) {
+			for( int j = 0; j < width; j++ ) {
+				double d = GeneralizedImageOps.get(inputA,j,i) - mean;
+				variance += d*d;
+			}
+		}
+		variance /= width*height;
+
+		assertEquals(min, stats.min, 1e-8);
+		assertEquals(max, stats.max, 1e-8);
+		assertEquals(mean, stats.mean, 1e-8);
+		assertEquals(variance, stats.variance, 1e-6);
+
+		for( int i = 0; i < 100; i++ ) {
+			assertEquals("index "+i,expected[i],stats.histogram[i]);
+		}
+
+		// the histogram is optional
+		stats = new ImageSummaryStatistics();
+		m.invoke(null,inputA,stats);
+		assertEquals(mean, stats.mean, 1e-8);
+	}
+
 }
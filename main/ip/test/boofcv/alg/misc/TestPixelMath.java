@@ -18,12 +18,16 @@
 
 package boofcv.alg.misc;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GImageSingleBand;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageFloat32;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.image.MultiSpectral;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.lang.reflect.InvocationTargetException;
@@ -773,4 +777,33 @@ public class TestPixelMath {
 			}
 		}
 	}
+
+	/**
+	 * The output should be identical with and without concurrency
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 input = new ImageFloat32(70,213);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageFloat32 expected = null;
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int trial = 0; trial < 2; trial++ ) {
+				BoofConcurrency.setUseConcurrent(trial == 1);
+
+				ImageFloat32 found = new ImageFloat32(input.width,input.height);
+				PixelMath.multiply(input, 2.5f, found);
+
+				if( trial == 0 ) {
+					expected = found;
+				} else {
+					BoofTesting.assertEquals(expected, found, 0);
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
 }
@@ -22,6 +22,7 @@ import org.junit.Test;
 
 import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -154,4 +155,31 @@ public class TestGeneralPurposeFFT_F32_1D {
 			assertEquals(original[i*2+1],input[i*2+1],tol);
 		}
 	}
+
+	/**
+	 * An instance which shares the plan should produce identical results.  Includes sizes for each type of plan
+	 */
+	@Test
+	public void copyPlan() {
+		for( int n : new int[]{16,100,211} ) {
+			GeneralPurposeFFT_F32_1D alg = new GeneralPurposeFFT_F32_1D(n);
+			GeneralPurposeFFT_F32_1D copy = new GeneralPurposeFFT_F32_1D(alg);
+
+			float input[] = new float[n*2];
+			for( int i = 0; i < input.length; i++ )
+				input[i] = (float)rand.nextGaussian();
+
+			float expected[] = input.clone();
+			float found[] = input.clone();
+			alg.complexForward(expected);
+			copy.complexForward(found);
+			assertArrayEquals(expected, found, 0);
+
+			expected = input.clone();
+			found = input.clone();
+			alg.realForwardFull(expected);
+			copy.realForwardFull(found);
+			assertArrayEquals(expected, found, 0);
+		}
+	}
 }
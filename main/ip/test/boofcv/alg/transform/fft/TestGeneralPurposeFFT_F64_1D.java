@@ -22,6 +22,7 @@ import org.junit.Test;
 
 import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -153,4 +154,31 @@ public class TestGeneralPurposeFFT_F64_1D {
 			assertEquals(original[i*2+1],input[i*2+1],1e-8);
 		}
 	}
+
+	/**
+	 * An instance which shares the plan should produce identical results.  Includes sizes for each type of plan
+	 */
+	@Test
+	public void copyPlan() {
+		for( int n : new int[]{16,100,211} ) {
+			GeneralPurposeFFT_F64_1D alg = new GeneralPurposeFFT_F64_1D(n);
+			GeneralPurposeFFT_F64_1D copy = new GeneralPurposeFFT_F64_1D(alg);
+
+			double input[] = new double[n*2];
+			for( int i = 0; i < input.length; i++ )
+				input[i] = rand.nextGaussian();
+
+			double expected[] = input.clone();
+			double found[] = input.clone();
+			alg.complexForward(expected);
+			copy.complexForward(found);
+			assertArrayEquals(expected, found, 0);
+
+			expected = input.clone();
+			found = input.clone();
+			alg.realForwardFull(expected);
+			copy.realForwardFull(found);
+			assertArrayEquals(expected, found, 0);
+		}
+	}
 }
@@ -18,11 +18,14 @@
 
 package boofcv.alg.transform.fft;
 
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.ConcurrencySettings;
 import org.junit.Test;
 
 import java.util.Random;
 
 import static boofcv.alg.transform.fft.TestGeneralPurposeFFT_F64_1D.checkForChange;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -112,4 +115,41 @@ public class TestGeneralPurposeFFT_F64_2D {
 		}
 	}
 
+	/**
+	 * Rows and blocks of columns are transformed in parallel.  The output should be identical to the single
+	 * threaded output for power of two and mixed radix sizes
+	 */
+	@Test
+	public void concurrent() {
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			for( int[] shape : new int[][]{{64,128},{70,213}} ) {
+				int rows = shape[0], cols = shape[1];
+				double input[] = new double[rows*cols*2];
+				for( int i = 0; i < input.length; i++ )
+					input[i] = rand.nextGaussian();
+
+				double expected[][] = null;
+
+				for( int trial = 0; trial < 2; trial++ ) {
+					BoofConcurrency.setUseConcurrent(trial == 1);
+
+					GeneralPurposeFFT_F64_2D alg = new GeneralPurposeFFT_F64_2D(rows,cols);
+					double found[][] = new double[][]{input.clone(),input.clone(),input.clone()};
+					alg.complexForward(found[0]);
+					alg.complexInverse(found[1],true);
+					alg.realForwardFull(found[2]);
+
+					if( trial == 0 ) {
+						expected = found;
+					} else {
+						for( int i = 0; i < found.length; i++ )
+							assertArrayEquals(expected[i], found[i], 0);
+					}
+				}
+			}
+		} finally {
+			previous.restore();
+		}
+	}
 }
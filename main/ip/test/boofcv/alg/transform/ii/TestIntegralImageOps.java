@@ -18,11 +18,17 @@
 
 package boofcv.alg.transform.ii;
 
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
 import boofcv.struct.ImageRectangle;
+import boofcv.struct.image.ImageSInt32;
+import boofcv.struct.image.ImageSInt64;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -34,7 +40,8 @@ public class TestIntegralImageOps {
 
 	@Test
 	public void transform() {
-		int expected = countName("transform",IntegralImageOps.class);
+		int expected = countName("transform",IntegralImageOps.class) +
+				countName("transformF64",IntegralImageOps.class) + countName("transformS64",IntegralImageOps.class);
 		int found = countName("transform",ImplIntegralImageOps.class);
 
 		assertTrue(found != 0 );
@@ -86,6 +93,41 @@ public class TestIntegralImageOps {
 		assertEquals(expected,found);
 	}
 	
+	/**
+	 * The integral image overflows but the sum inside a block is still correct
+	 */
+	@Test
+	public void block_overflow() {
+		ImageSInt32 input = new ImageSInt32(20,30);
+		ImageMiscOps.fill(input, 1 << 24);
+
+		ImageSInt64 input64 = new ImageSInt64(20,30);
+		ImageMiscOps.fill(input64, 1 << 24);
+
+		ImageSInt32 integral = IntegralImageOps.transform(input, null);
+		ImageSInt64 integral64 = IntegralImageOps.transform(input64, null);
+
+		// sanity check.  make sure it overflowed
+		assertTrue(integral.get(19,29) != integral64.get(19,29));
+		assertEquals((long)20*30*(1 << 24), integral64.get(19,29));
+
+		// each block sum fits inside an integer
+		assertEquals(3*4*(1 << 24), IntegralImageOps.block_unsafe(integral, 15, 24, 18, 28));
+		assertEquals(3*4*(1 << 24), IntegralImageOps.block_zero(integral, 15, 24, 18, 28));
+		assertEquals(3*4*(1 << 24), IntegralImageOps.block_unsafe(integral64, 15, 24, 18, 28));
+	}
+
+	@Test
+	public void transform_U8_S64() {
+		ImageUInt8 input = new ImageUInt8(20,30);
+		ImageMiscOps.fillUniform(input, new Random(234), 0, 256);
+
+		ImageSInt32 expected = IntegralImageOps.transform(input, null);
+		ImageSInt64 found = IntegralImageOps.transformS64(input, null);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
 	@Test
 	public void isInBounds() {
 		IntegralKernel kernel = new IntegralKernel(2);
@@ -22,6 +22,7 @@ import boofcv.alg.filter.convolve.ConvolveWithBorder;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.transform.ii.GIntegralImageOps;
 import boofcv.alg.transform.ii.IntegralKernel;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.core.image.FactoryGImageSingleBand;
 import boofcv.core.image.GConvertImage;
 import boofcv.core.image.GImageSingleBand;
@@ -56,7 +57,7 @@ public class TestImplIntegralImageOps {
 	@Test
 	public void transform() {
 		int numFound = BoofTesting.findMethodThenCall(this,"transform",ImplIntegralImageOps.class,"transform");
-		Assert.assertEquals(5, numFound);
+		Assert.assertEquals(8, numFound);
 	}
 
 	public void transform( Method m ) {
@@ -94,6 +95,36 @@ public class TestImplIntegralImageOps {
 		}
 	}
 
+	/**
+	 * The concurrent version should produce identical results to the single threaded version
+	 */
+	@Test
+	public void transformConcurrent() {
+		ConcurrencySettings previous = ConcurrencySettings.enable(3);
+		try {
+			int numFound = BoofTesting.findMethodThenCall(this,"transformConcurrent",
+					ImplIntegralImageOps.class,"transformConcurrent");
+			Assert.assertEquals(8, numFound);
+		} finally {
+			previous.restore();
+		}
+	}
+
+	public void transformConcurrent( Method m ) throws Exception {
+		Class paramType[] = m.getParameterTypes();
+
+		ImageSingleBand input = GeneralizedImageOps.createSingleBand(paramType[0], width, height);
+		ImageSingleBand expected = GeneralizedImageOps.createSingleBand(paramType[1], width, height);
+		ImageSingleBand found = GeneralizedImageOps.createSingleBand(paramType[1], width, height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImplIntegralImageOps.class.getMethod("transform",paramType).invoke(null,input,expected);
+		m.invoke(null,BoofTesting.createSubImageOf(input),found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
 	@Test
 	public void convolve() {
 		int numFound = BoofTesting.findMethodThenCall(this,"convolve",ImplIntegralImageOps.class,"convolve");
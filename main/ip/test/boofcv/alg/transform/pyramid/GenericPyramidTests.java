@@ -23,11 +23,13 @@ import boofcv.alg.misc.GImageStatistics;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageSingleBand;
 import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.ImagePyramidBase;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 
 /**
@@ -64,5 +66,57 @@ public abstract class GenericPyramidTests<T extends ImageSingleBand> {
 		}
 	}
 
+	/**
+	 * Lazy computation of layers should produce the same results, independent of the order they are requested in
+	 */
+	@Test
+	public void lazy() {
+		T input = GeneralizedImageOps.createSingleBand(imageType, width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImagePyramid<T> expected = createPyramid(1,2,4);
+		ImagePyramidBase<T> found = (ImagePyramidBase<T>)createPyramid(1,2,4);
+		found.setLazy(true);
+
+		expected.process(input);
+		for( int trial = 0; trial < 2; trial++ ) {
+			found.process(input);
+			for( int i = found.getNumLayers()-1; i >= 0; i-- ) {
+				BoofTesting.assertEquals(expected.getLayer(i), found.getLayer(i), 0);
+			}
+		}
+	}
+
+	/**
+	 * The pyramid should only be updated if the frame changes
+	 */
+	@Test
+	public void process_frameID() {
+		T input = GeneralizedImageOps.createSingleBand(imageType, width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImagePyramidBase<T> alg = (ImagePyramidBase<T>)createPyramid(1,2,4);
+		int top = alg.getNumLayers()-1;
+
+		assertTrue(alg.process(input, 1));
+		assertEquals(1, alg.getFrameID());
+		T before = (T)alg.getLayer(top).clone();
+
+		// same frame so the modified input should be ignored
+		GImageMiscOps.fill(input, 0);
+		assertFalse(alg.process(input, 1));
+		BoofTesting.assertEquals(before, alg.getLayer(top), 0);
+
+		// new frame
+		assertTrue(alg.process(input, 2));
+		assertEquals(0, GImageStatistics.sum(alg.getLayer(top)), 1e-8);
+
+		// unknown frame is always processed
+		assertTrue(alg.process(input, -1));
+		alg.process(input);
+		assertEquals(-1, alg.getFrameID());
+		assertTrue(alg.process(input, 2));
+	}
+
 	protected abstract ImagePyramid<T> createPyramid( int... scales);
 }
@@ -19,6 +19,8 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.ConcurrencySettings;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
 import boofcv.struct.image.ImageFloat32;
@@ -108,6 +110,34 @@ public class TestPyramidDiscreteSampleBlur extends GenericPyramidTests<ImageFloa
 		assertEquals(6,alg.getSigma(1),1e-8);
 	}
 
+	/**
+	 * Results should be identical when each layer is computed using multiple threads
+	 */
+	@Test
+	public void concurrent() {
+		ImageFloat32 input = new ImageFloat32(300,250);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
+		PyramidDiscreteSampleBlur<ImageFloat32> expected =
+				new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,3,ImageFloat32.class,false,new int[]{2,4,8});
+		PyramidDiscreteSampleBlur<ImageFloat32> found =
+				new PyramidDiscreteSampleBlur<ImageFloat32>(kernel,3,ImageFloat32.class,false,new int[]{2,4,8});
+
+		expected.process(input);
+
+		ConcurrencySettings previous = ConcurrencySettings.enable(5);
+		try {
+			found.process(input);
+		} finally {
+			previous.restore();
+		}
+
+		for( int i = 0; i < expected.getNumLayers(); i++ ) {
+			BoofTesting.assertEquals(expected.getLayer(i), found.getLayer(i), 0);
+		}
+	}
+
 	@Override
 	protected ImagePyramid<ImageFloat32> createPyramid(int... scales) {
 		Kernel1D_F32 kernel = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,3);
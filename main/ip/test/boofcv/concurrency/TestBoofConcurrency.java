@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import boofcv.struct.image.ImageUInt8;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	int width = 70;
+	int height = 213;
+
+	ConcurrencySettings previous;
+
+	@Before
+	public void before() {
+		previous = ConcurrencySettings.enable(5);
+		BoofConcurrency.setUseConcurrent(false);
+	}
+
+	@After
+	public void after() {
+		previous.restore();
+	}
+
+	/**
+	 * Each row should be processed exactly once
+	 */
+	@Test
+	public void loopRows_coverage() {
+		BoofConcurrency.setUseConcurrent(true);
+
+		ImageUInt8 image = new ImageUInt8(width,height);
+		final int counts[] = new int[height];
+
+		BoofConcurrency.loopRows(image, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				for( int y = y0; y < y1; y++ ) {
+					synchronized ( counts ) {
+						counts[y]++;
+					}
+				}
+			}
+		});
+
+		for( int i = 0; i < height; i++ )
+			assertEquals(1,counts[i]);
+	}
+
+	/**
+	 * Bands should be expanded by the halo but never go outside the image
+	 */
+	@Test
+	public void loopRows_halo() {
+		BoofConcurrency.setUseConcurrent(true);
+
+		ImageUInt8 image = new ImageUInt8(width,height);
+		final AtomicInteger total = new AtomicInteger();
+
+		BoofConcurrency.loopRows(image, 2, 3, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				assertTrue(y0 >= 0);
+				assertTrue(y1 <= height);
+				total.addAndGet(y1-y0);
+			}
+		});
+
+		// 4 bands, three internal boundaries which are each expanded by 5 rows
+		assertEquals(height + 3*5, total.get());
+	}
+
+	/**
+	 * When turned off the task should be called once with the entire image
+	 */
+	@Test
+	public void loopRows_off() {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		final AtomicInteger calls = new AtomicInteger();
+
+		BoofConcurrency.loopRows(image, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				assertEquals(0, y0);
+				assertEquals(height, y1);
+				calls.incrementAndGet();
+			}
+		});
+
+		assertEquals(1,calls.get());
+	}
+
+	/**
+	 * Each index should be processed exactly once and by itself, with concurrency on and off
+	 */
+	@Test
+	public void loopFor() {
+		for( boolean concurrent : new boolean[]{false,true} ) {
+			BoofConcurrency.setUseConcurrent(concurrent);
+
+			final int counts[] = new int[7];
+
+			BoofConcurrency.loopFor(2, 7, new IntRangeTask() {
+				@Override
+				public void process(int i0, int i1) {
+					assertEquals(i0+1, i1);
+					synchronized ( counts ) {
+						counts[i0]++;
+					}
+				}
+			});
+
+			for( int i = 0; i < counts.length; i++ )
+				assertEquals(i < 2 ? 0 : 1, counts[i]);
+		}
+	}
+
+	/**
+	 * Operations invoked inside of a task should be run in a single thread
+	 */
+	@Test
+	public void nested() {
+		BoofConcurrency.setUseConcurrent(true);
+
+		final ImageUInt8 image = new ImageUInt8(width,height);
+		final AtomicInteger inner = new AtomicInteger();
+
+		BoofConcurrency.loopRows(image, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				assertFalse(BoofConcurrency.isActive(image));
+				BoofConcurrency.loopRows(image, new IntRangeTask() {
+					@Override
+					public void process(int y0, int y1) {
+						inner.incrementAndGet();
+					}
+				});
+			}
+		});
+
+		assertEquals(4,inner.get());
+		assertTrue(BoofConcurrency.isActive(image));
+	}
+
+	/**
+	 * Changing the number of threads shuts down the pool.  Operations running in other threads at the same
+	 * time should still finish and process every row.
+	 */
+	@Test
+	public void setMaxThreads_whileRunning() throws InterruptedException {
+		BoofConcurrency.setUseConcurrent(true);
+
+		final ImageUInt8 image = new ImageUInt8(width,height);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		final AtomicInteger total = new AtomicInteger();
+		final int trials = 500;
+
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				try {
+					for( int trial = 0; trial < trials; trial++ ) {
+						BoofConcurrency.loopRows(image, new IntRangeTask() {
+							@Override
+							public void process(int y0, int y1) {
+								total.addAndGet(y1-y0);
+							}
+						});
+					}
+				} catch( Throwable t ) {
+					failure.set(t);
+				}
+			}
+		};
+		thread.start();
+		while( thread.isAlive() ) {
+			BoofConcurrency.setMaxThreads(3);
+			BoofConcurrency.setMaxThreads(4);
+		}
+		thread.join();
+
+		assertNull(failure.get());
+		assertEquals(trials*height, total.get());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void exceptionPassedToCaller() {
+		BoofConcurrency.setUseConcurrent(true);
+
+		ImageUInt8 image = new ImageUInt8(width,height);
+		BoofConcurrency.loopRows(image, new IntRangeTask() {
+			@Override
+			public void process(int y0, int y1) {
+				if( y0 > 0 )
+					throw new IllegalArgumentException("Test");
+			}
+		});
+	}
+}
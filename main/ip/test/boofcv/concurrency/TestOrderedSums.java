@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestOrderedSums {
+
+	/**
+	 * The total should be added up in the order of the bands, not the order they were added in
+	 */
+	@Test
+	public void total_orderOfBands() {
+		double values[] = new double[]{1e20, 1, -1e20, 1, 3, 0.5};
+
+		double expected = 0;
+		for( double v : values )
+			expected += v;
+
+		OrderedSums alg = new OrderedSums(1);
+		int order[] = new int[]{4, 1, 5, 0, 3, 2};
+		for( int i : order )
+			alg.add(i*10, values[i]);
+
+		// should match exactly since the same order is used
+		assertEquals(expected, alg.total(0), 0);
+	}
+
+	@Test
+	public void total_twoSums() {
+		OrderedSums alg = new OrderedSums(2);
+		for( int i = 9; i >= 0; i-- )
+			alg.add(i, i, 2*i);
+
+		assertEquals(45, alg.total(0), 0);
+		assertEquals(90, alg.total(1), 0);
+	}
+}
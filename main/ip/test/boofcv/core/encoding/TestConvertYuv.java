@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.encoding;
+
+import boofcv.alg.color.ColorYuv;
+import boofcv.concurrency.ConcurrencySettings;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvertYuv {
+	Random rand = new Random(234);
+
+	ImageType types[] = new ImageType[]{
+			ImageType.single(ImageUInt8.class),ImageType.single(ImageFloat32.class),
+			ImageType.ms(3, ImageDataType.U8),ImageType.ms(3,ImageDataType.F32),
+			ImageType.il(3, ImageDataType.U8),ImageType.il(3, ImageDataType.F32)};
+
+	@Test
+	public void byteArray() {
+		for( YuvFormat format : YuvFormat.values() ) {
+			checkByteArray(format, 20, 30);
+			checkByteArray(format, 21, 15);
+		}
+	}
+
+	private void checkByteArray( YuvFormat format , int width , int height ) {
+		int offset = 5;
+		byte[] data = new byte[offset + ConvertYuv.bufferSize(format, width, height)];
+		rand.nextBytes(data);
+
+		for( ImageType type : types ) {
+			ImageBase image = type.createImage(width, height);
+			ConvertYuv.yuvToBoof(data, offset, format, image);
+			checkImage(format, data, offset, image);
+
+			// sub-images
+			image = BoofTesting.createSubImageOf(image);
+			ConvertYuv.yuvToBoof(data, offset, format, image);
+			checkImage(format, data, offset, image);
+		}
+	}
+
+	@Test
+	public void byteBuffer() {
+		for( YuvFormat format : YuvFormat.values() ) {
+			checkByteBuffer(format, 20, 30, false);
+			checkByteBuffer(format, 21, 15, false);
+			checkByteBuffer(format, 20, 30, true);
+			checkByteBuffer(format, 21, 15, true);
+		}
+	}
+
+	private void checkByteBuffer( YuvFormat format , int width , int height , boolean direct ) {
+		int offset = 7;
+		byte[] data = new byte[offset + ConvertYuv.bufferSize(format, width, height)];
+		rand.nextBytes(data);
+
+		ByteBuffer buffer;
+		if( direct ) {
+			buffer = ByteBuffer.allocateDirect(data.length);
+			buffer.put(data);
+			buffer.position(offset);
+		} else {
+			// array offset and position are both non-zero
+			buffer = ByteBuffer.wrap(data, 2, data.length-2).slice();
+			buffer.position(offset-2);
+		}
+
+		for( ImageType type : types ) {
+			ImageBase image = type.createImage(width, height);
+			ConvertYuv.yuvToBoof(buffer, format, image);
+			checkImage(format, data, offset, image);
+			assertEquals(direct ? offset : offset-2, buffer.position());
+		}
+	}
+
+	/**
+	 * Results should be identical when processed concurrently
+	 */
+	@Test
+	public void concurrent() {
+		int width = 64, height = 48;
+
+		for( YuvFormat format : YuvFormat.values() ) {
+			byte[] data = new byte[ConvertYuv.bufferSize(format, width, height)];
+			rand.nextBytes(data);
+
+			for( ImageType type : types ) {
+				ImageBase expected = type.createImage(width, height);
+				ImageBase found = type.createImage(width, height);
+				ConvertYuv.yuvToBoof(data, 0, format, expected);
+
+				ConcurrencySettings previous = ConcurrencySettings.enable(5);
+				try {
+					ConvertYuv.yuvToBoof(data, 0, format, found);
+				} finally {
+					previous.restore();
+				}
+
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void tooSmall() {
+		byte[] data = new byte[ConvertYuv.bufferSize(YuvFormat.NV21, 20, 30)-1];
+		ConvertYuv.yuvToBoof(data, 0, YuvFormat.NV21, new ImageUInt8(20,30));
+	}
+
+	/**
+	 * Compares the image against a simple decoder
+	 */
+	private void checkImage( YuvFormat format , byte[] data , int offset , ImageBase image ) {
+		int width = image.width, height = image.height;
+		int widthUV = (width+1)/2;
+		int heightUV = (height+1)/2;
+		byte[] rgb = new byte[3];
+
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int indexY,indexU,indexV;
+				int base = offset + y*4*widthUV + (x/2)*4;
+				switch( format ) {
+					case NV12:
+						indexY = offset + y*width + x;
+						indexU = offset + width*height + (y/2)*2*widthUV + (x/2)*2;
+						indexV = indexU + 1;
+						break;
+					case NV21:
+						indexY = offset + y*width + x;
+						indexV = offset + width*height + (y/2)*2*widthUV + (x/2)*2;
+						indexU = indexV + 1;
+						break;
+					case I420:
+						indexY = offset + y*width + x;
+						indexU = offset + width*height + (y/2)*widthUV + x/2;
+						indexV = indexU + widthUV*heightUV;
+						break;
+					case YUYV:
+						indexY = base + (x%2)*2;
+						indexU = base + 1;
+						indexV = base + 3;
+						break;
+					case UYVY:
+						indexY = base + 1 + (x%2)*2;
+						indexU = base;
+						indexV = base + 2;
+						break;
+					default:
+						throw new RuntimeException("Unknown format");
+				}
+
+				int valueY = data[indexY] & 0xFF;
+				if( image instanceof ImageSingleBand ) {
+					assertEquals(valueY, GeneralizedImageOps.get((ImageSingleBand)image, x, y), 1e-8);
+				} else {
+					ColorYuv.ycbcrToRgb(valueY, data[indexU] & 0xFF, data[indexV] & 0xFF, rgb);
+					for (int band = 0; band < 3; band++) {
+						double found = GeneralizedImageOps.get(image, x, y, band);
+						assertEquals(format+" "+x+" "+y+" "+band, rgb[band] & 0xFF, found, 1e-8);
+					}
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.core.image;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.struct.image.InterleavedU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvertNioBuffer {
+
+	Random rand = new Random(234);
+
+	int width = 20;
+	int height = 15;
+	int stride = 23;
+	int offset = 5;
+
+	@Test
+	public void isShareable() {
+		assertTrue(ConvertNioBuffer.isShareable(ByteBuffer.allocate(10)));
+		assertFalse(ConvertNioBuffer.isShareable(ByteBuffer.allocateDirect(10)));
+		assertFalse(ConvertNioBuffer.isShareable(ByteBuffer.allocate(10).asReadOnlyBuffer()));
+		assertTrue(ConvertNioBuffer.isShareable(FloatBuffer.allocate(10)));
+	}
+
+	@Test
+	public void convertFrom_ImageUInt8() {
+		ByteBuffer buffer = ByteBuffer.allocate(offset + stride*height);
+		buffer.position(offset);
+
+		ImageUInt8 image = ConvertNioBuffer.convertFrom(buffer, width, height, stride);
+		assertTrue(image.data == buffer.array());
+		assertTrue(image.isSubimage());
+
+		// changes to the image should be seen in the buffer
+		image.set(3, 4, 120);
+		assertEquals(120, buffer.get(offset + 4*stride + 3));
+		// the buffer should not be modified
+		assertEquals(offset, buffer.position());
+	}
+
+	@Test
+	public void convertFrom_ImageUInt8_slice() {
+		ByteBuffer whole = ByteBuffer.allocate(offset + width*height);
+		whole.position(offset);
+		ByteBuffer buffer = whole.slice();
+
+		ImageUInt8 image = ConvertNioBuffer.convertFrom(buffer, width, height, width);
+		image.set(2, 1, 33);
+		assertEquals(33, whole.get(offset + width + 2));
+	}
+
+	/**
+	 * Direct buffers can't be shared, so the pixels should be copied into a new image
+	 */
+	@Test
+	public void convertFrom_ImageUInt8_direct() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(offset + stride*height);
+		buffer.position(offset);
+		buffer.put(offset + 4*stride + 3, (byte)120);
+
+		ImageUInt8 image = ConvertNioBuffer.convertFrom(buffer, width, height, stride);
+		assertFalse(image.isSubimage());
+		assertEquals(120, image.get(3, 4));
+
+		// the image is a copy, so changes aren't seen in the buffer
+		image.set(3, 4, 5);
+		assertEquals(120, buffer.get(offset + 4*stride + 3));
+		assertEquals(offset, buffer.position());
+	}
+
+	@Test
+	public void convertFrom_InterleavedF32_readOnly() {
+		FloatBuffer original = FloatBuffer.allocate(width*height*2);
+		original.put(4*width*2 + 3*2 + 1, 2.5f);
+		FloatBuffer buffer = original.asReadOnlyBuffer();
+
+		InterleavedF32 image = ConvertNioBuffer.convertFrom(buffer, width, height, 2, width*2);
+		assertTrue(image.data != original.array());
+		assertEquals(2.5f, image.getBand(3, 4, 1), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void convertFrom_ImageUInt8_tooSmall() {
+		ConvertNioBuffer.convertFrom(ByteBuffer.allocate(width*height-1), width, height, width);
+	}
+
+	/**
+	 * The required size doesn't fit inside an int.  Make sure it doesn't overflow and pass the size check.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void convertFrom_ImageUInt8_overflow() {
+		ConvertNioBuffer.convertFrom(ByteBuffer.allocate(100), 10, 32769, 65536);
+	}
+
+	@Test
+	public void convertFrom_ImageFloat32() {
+		FloatBuffer buffer = FloatBuffer.allocate(stride*height);
+
+		ImageFloat32 image = ConvertNioBuffer.convertFrom(buffer, width, height, stride);
+		image.set(3, 4, 1.5f);
+		assertEquals(1.5f, buffer.get(4*stride + 3), 0);
+	}
+
+	@Test
+	public void convertFrom_InterleavedU8() {
+		ByteBuffer buffer = ByteBuffer.allocate(width*height*3);
+
+		InterleavedU8 image = ConvertNioBuffer.convertFrom(buffer, width, height, 3, width*3);
+		assertFalse(image.isSubimage());
+		image.setBand(3, 4, 2, 45);
+		assertEquals(45, buffer.get(4*width*3 + 3*3 + 2));
+	}
+
+	@Test
+	public void convertFrom_InterleavedF32() {
+		FloatBuffer buffer = FloatBuffer.allocate(width*height*2);
+
+		InterleavedF32 image = ConvertNioBuffer.convertFrom(buffer, width, height, 2, width*2);
+		image.setBand(3, 4, 1, 2.5f);
+		assertEquals(2.5f, buffer.get(4*width*2 + 3*2 + 1), 0);
+	}
+
+	@Test
+	public void convert_U8() {
+		ImageUInt8 image = new ImageUInt8(width,height);
+		ImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(offset + stride*height);
+		buffer.position(offset);
+
+		ConvertNioBuffer.convertTo(image, buffer, stride);
+		assertEquals(image.get(5, 6), buffer.get(offset + 6*stride + 5) & 0xFF);
+
+		ImageUInt8 found = new ImageUInt8(width+4,height+3).subimage(2,1,width+2,height+1,null);
+		ConvertNioBuffer.convertFrom(buffer, stride, found);
+		BoofTesting.assertEquals(image, found, 0);
+		assertEquals(offset, buffer.position());
+	}
+
+	@Test
+	public void convert_F32() {
+		ImageFloat32 image = new ImageFloat32(width,height);
+		ImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		FloatBuffer buffer = ByteBuffer.allocateDirect(4*stride*height).asFloatBuffer();
+
+		ConvertNioBuffer.convertTo(image, buffer, stride);
+		ImageFloat32 found = new ImageFloat32(width,height);
+		ConvertNioBuffer.convertFrom(buffer, stride, found);
+		BoofTesting.assertEquals(image, found, 0);
+	}
+
+	@Test
+	public void convert_InterleavedU8() {
+		InterleavedU8 image = new InterleavedU8(width,height,3);
+		ImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(width*height*3);
+
+		ConvertNioBuffer.convertTo(image, buffer, width*3);
+		InterleavedU8 found = new InterleavedU8(width,height,3);
+		ConvertNioBuffer.convertFrom(buffer, width*3, found);
+		BoofTesting.assertEquals(image, found, 0);
+	}
+
+	@Test
+	public void convert_InterleavedF32() {
+		InterleavedF32 image = new InterleavedF32(width,height,2);
+		ImageMiscOps.fillUniform(image, rand, 0, 200);
+
+		FloatBuffer buffer = ByteBuffer.allocateDirect(4*width*height*2).asFloatBuffer();
+
+		ConvertNioBuffer.convertTo(image, buffer, width*2);
+		InterleavedF32 found = new InterleavedF32(width,height,2);
+		ConvertNioBuffer.convertFrom(buffer, width*2, found);
+		BoofTesting.assertEquals(image, found, 0);
+	}
+}
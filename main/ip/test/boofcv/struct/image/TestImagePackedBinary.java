@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.alg.filter.binary.PackedBinaryImageOps;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImagePackedBinary {
+
+	@Test
+	public void constructor() {
+		ImagePackedBinary img = new ImagePackedBinary(65,3);
+		assertEquals(65, img.width);
+		assertEquals(3, img.height);
+		assertEquals(2, img.stride);
+		assertEquals(6, img.data.length);
+
+		assertEquals(1, new ImagePackedBinary(64,1).stride);
+		assertEquals(1, new ImagePackedBinary(1,1).stride);
+	}
+
+	@Test
+	public void get_set() {
+		ImagePackedBinary img = new ImagePackedBinary(70,3);
+
+		img.set(0, 0, 1);
+		img.set(63, 1, 5);
+		img.set(64, 1, 1);
+		img.set(69, 2, 1);
+
+		assertEquals(1, img.get(0,0));
+		assertEquals(1, img.get(63,1));
+		assertEquals(1, img.get(64,1));
+		assertEquals(1, img.get(69,2));
+		assertEquals(0, img.get(1,0));
+		assertEquals(1L << 63, img.data[2]);
+		assertEquals(1L, img.data[3]);
+
+		img.set(63, 1, 0);
+		assertEquals(0, img.get(63,1));
+		assertEquals(1, img.get(64,1));
+
+		try {
+			img.get(70,0);
+			fail("Should have thrown an exception");
+		} catch( ImageAccessException ignore ) {}
+	}
+
+	/**
+	 * After reshaping the padding bits must be zero
+	 */
+	@Test
+	public void reshape() {
+		ImagePackedBinary img = new ImagePackedBinary(128,4);
+		for( int i = 0; i < img.data.length; i++ )
+			img.data[i] = ~0L;
+
+		img.reshape(70,3);
+		assertEquals(2, img.stride);
+		long mask = img.lastWordMask();
+		for( int y = 0; y < img.height; y++ ) {
+			assertEquals(0, img.data[y*img.stride + 1] & ~mask);
+		}
+	}
+
+	/**
+	 * Rows which were outside the previous shape still hold data from an earlier shape
+	 */
+	@Test
+	public void reshape_earlierShape() {
+		ImagePackedBinary img = new ImagePackedBinary(100,10);
+		for( int i = 0; i < img.data.length; i++ )
+			img.data[i] = ~0L;
+
+		img.reshape(70,5);
+		img.reshape(70,10);
+		long mask = img.lastWordMask();
+		for( int y = 0; y < img.height; y++ ) {
+			assertEquals(0, img.data[y*img.stride + 1] & ~mask);
+		}
+		assertEquals(70*10, PackedBinaryImageOps.countPixels(img));
+	}
+
+	@Test
+	public void lastWordMask() {
+		assertEquals(~0L, new ImagePackedBinary(64,1).lastWordMask());
+		assertEquals(1L, new ImagePackedBinary(1,1).lastWordMask());
+		assertEquals(0x7L, new ImagePackedBinary(67,1).lastWordMask());
+	}
+}
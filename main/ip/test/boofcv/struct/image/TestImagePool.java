@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImagePool {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void borrow_release() {
+		ImagePool pool = new ImagePool(1000000);
+
+		ImageUInt8 a = pool.borrow(ImageUInt8.class, 20, 30);
+		assertEquals(20, a.width);
+		assertEquals(30, a.height);
+		assertEquals(0, pool.size());
+
+		pool.release(a);
+		assertEquals(1, pool.size());
+		assertEquals(600, pool.getStoredBytes());
+
+		// wrong type or shape should create a new image
+		assertTrue(a != (Object)pool.borrow(ImageFloat32.class, 20, 30));
+		assertTrue(a != pool.borrow(ImageUInt8.class, 21, 30));
+		assertTrue(a != (Object)pool.borrow(ImageSInt8.class, 20, 30));
+		assertEquals(1, pool.size());
+
+		// same type and shape should be recycled
+		assertTrue(a == pool.borrow(ImageUInt8.class, 20, 30));
+		assertEquals(0, pool.size());
+		assertEquals(0, pool.getStoredBytes());
+	}
+
+	@Test
+	public void borrow_imageType() {
+		ImagePool pool = new ImagePool(1000000);
+
+		ImageType<InterleavedU8> typeIL = ImageType.il(3, InterleavedU8.class);
+		ImageType<MultiSpectral<ImageFloat32>> typeMS = ImageType.ms(2, ImageFloat32.class);
+
+		InterleavedU8 il = pool.borrow(typeIL, 10, 12);
+		MultiSpectral<ImageFloat32> ms = pool.borrow(typeMS, 10, 12);
+		pool.release(il);
+		pool.release(ms);
+
+		assertEquals(10*12*3 + 10*12*2*4, pool.getStoredBytes());
+
+		assertTrue(il != pool.borrow(ImageType.il(2, InterleavedU8.class), 10, 12));
+		assertTrue(il == pool.borrow(typeIL, 10, 12));
+		assertTrue(ms == pool.borrow(typeMS, 10, 12));
+	}
+
+	/**
+	 * The least recently released images should be discarded first
+	 */
+	@Test
+	public void bounded() {
+		ImagePool pool = new ImagePool(250);
+
+		ImageUInt8 a = new ImageUInt8(10,10);
+		ImageUInt8 b = new ImageUInt8(10,10);
+		ImageUInt8 c = new ImageUInt8(10,10);
+
+		pool.release(a);
+		pool.release(b);
+		pool.release(c);
+		assertEquals(2, pool.size());
+		assertEquals(200, pool.getStoredBytes());
+
+		assertTrue(c == pool.borrow(ImageUInt8.class, 10, 10));
+		assertTrue(b == pool.borrow(ImageUInt8.class, 10, 10));
+		assertEquals(0, pool.size());
+
+		// too big to be stored at all
+		pool.release(new ImageUInt8(20,20));
+		assertEquals(0, pool.size());
+
+		pool.release(a);
+		pool.setMaxBytes(50);
+		assertEquals(0, pool.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void release_subimage() {
+		ImagePool pool = new ImagePool(1000000);
+		pool.release(new ImageUInt8(10,10).subimage(0,0,5,5,null));
+	}
+
+	/**
+	 * Operations with optional storage should borrow from and return to the global pool
+	 */
+	@Test
+	public void globalStorage() {
+		ImageFloat32 input = new ImageFloat32(30,40);
+		ImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImageFloat32 expected = BlurImageOps.mean(input, null, 2, null);
+
+		ImagePool pool = new ImagePool(1000000);
+		ImagePool.setGlobal(pool);
+		try {
+			ImageFloat32 found = BlurImageOps.mean(input, null, 2, null);
+			BoofTesting.assertEquals(expected, found, 0);
+			assertEquals(1, pool.size());
+
+			// the same image should be recycled
+			BlurImageOps.mean(input, found, 2, null);
+			assertEquals(1, pool.size());
+
+			// user provided storage is not put into the pool
+			pool.clear();
+			BlurImageOps.mean(input, found, 2, new ImageFloat32(30,40));
+			assertEquals(0, pool.size());
+		} finally {
+			ImagePool.setGlobal(null);
+		}
+	}
+}
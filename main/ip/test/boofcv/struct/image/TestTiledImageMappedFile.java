@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTiledImageMappedFile {
+
+	Random rand = new Random(234);
+
+	int width = 30;
+	int height = 25;
+
+	long maxBufferBytes = TiledImageMappedFile.MAX_BUFFER_BYTES;
+
+	ImageDataType types[] = new ImageDataType[]{ImageDataType.U8,ImageDataType.S8,ImageDataType.U16,
+			ImageDataType.S16,ImageDataType.S32,ImageDataType.S64,ImageDataType.F32,ImageDataType.F64};
+
+	@After
+	public void restore() {
+		TiledImageMappedFile.MAX_BUFFER_BYTES = maxBufferBytes;
+	}
+
+	/**
+	 * Write the image in a few regions and read it back in different regions.  The file is split into several
+	 * buffers so that regions cross buffer boundaries.
+	 */
+	@Test
+	public void readWrite() throws IOException {
+		for( ImageDataType type : types ) {
+			TiledImageMappedFile.MAX_BUFFER_BYTES = 4*width*type.getNumBits()/8;
+
+			ImageSingleBand expected = GeneralizedImageOps.createSingleBand(type, width, height);
+			GImageMiscOps.fillUniform(expected, rand, 0, 100);
+
+			File file = File.createTempFile("boofcv", "tiled");
+			TiledImageMappedFile alg = new TiledImageMappedFile(file, width, height, ImageType.single(type));
+			try {
+				assertEquals(width, alg.getWidth());
+				assertEquals(height, alg.getHeight());
+				assertEquals(type, alg.getImageType().getDataType());
+
+				alg.write(0, 0, expected.subimage(0, 0, width, 11, null));
+				alg.write(0, 11, BoofTesting.createSubImageOf(expected.subimage(0, 11, 13, height, null)));
+				alg.write(13, 11, expected.subimage(13, 11, width, height, null));
+
+				ImageSingleBand found = GeneralizedImageOps.createSingleBand(type, 17, 19);
+				alg.read(5, 3, found);
+				BoofTesting.assertEquals(expected.subimage(5, 3, 22, 22, null), found, 0);
+
+				found = BoofTesting.createSubImageOf(GeneralizedImageOps.createSingleBand(type, width, height));
+				alg.read(0, 0, found);
+				BoofTesting.assertEquals(expected, found, 0);
+			} finally {
+				alg.close();
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Close the file then open it again.  The pixels should be the same.
+	 */
+	@Test
+	public void reopen() throws IOException {
+		ImageFloat32 expected = new ImageFloat32(width,height);
+		GImageMiscOps.fillUniform(expected, rand, 0, 100);
+
+		File file = File.createTempFile("boofcv", "tiled");
+		try {
+			TiledImageMappedFile<ImageFloat32> alg =
+					new TiledImageMappedFile<ImageFloat32>(file, width, height, ImageType.single(ImageFloat32.class));
+			alg.write(0, 0, expected);
+			alg.close();
+
+			assertEquals(width*height*4, file.length());
+
+			alg = new TiledImageMappedFile<ImageFloat32>(file, width, height, ImageType.single(ImageFloat32.class));
+			ImageFloat32 found = new ImageFloat32(width,height);
+			alg.read(0, 0, found);
+			alg.close();
+
+			BoofTesting.assertEquals(expected, found, 0);
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void outsideImage() throws IOException {
+		File file = File.createTempFile("boofcv", "tiled");
+		TiledImageMappedFile<ImageUInt8> alg =
+				new TiledImageMappedFile<ImageUInt8>(file, width, height, ImageType.single(ImageUInt8.class));
+		try {
+			try {
+				alg.read(width - 4, 0, new ImageUInt8(5, 5));
+				fail("Should have thrown an exception");
+			} catch( IllegalArgumentException ignore ) {}
+			try {
+				alg.write(0, -1, new ImageUInt8(5, 5));
+				fail("Should have thrown an exception");
+			} catch( IllegalArgumentException ignore ) {}
+		} finally {
+			alg.close();
+			file.delete();
+		}
+	}
+}
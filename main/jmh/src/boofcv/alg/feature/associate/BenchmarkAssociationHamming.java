@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.abst.feature.associate.ScoreAssociateHamming_B;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.feature.PackedTupleArray_B;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the speed of greedy association for binary descriptors using the general purpose
+ * {@link AssociateGreedy}, the specialized {@link AssociateGreedyHamming_B}, and descriptors which are
+ * already packed.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkAssociationHamming {
+
+	@Param({"256", "512"})
+	public int numBits;
+
+	@Param({"2000"})
+	public int numFeatures;
+
+	@Param({"false", "true"})
+	public boolean backwards;
+
+	@Param({"false", "true"})
+	public boolean concurrent;
+
+	FastQueue<TupleDesc_B> listA, listB;
+	PackedTupleArray_B packedA, packedB;
+
+	AssociateGreedy<TupleDesc_B> general;
+	AssociateGreedyHamming_B specialized;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234234);
+		listA = createSet(rand);
+		listB = createSet(rand);
+
+		packedA = new PackedTupleArray_B(numBits);
+		packedB = new PackedTupleArray_B(numBits);
+		packedA.setTo(listA);
+		packedB.setTo(listB);
+
+		general = new AssociateGreedy<TupleDesc_B>(new ScoreAssociateHamming_B(), backwards);
+		specialized = new AssociateGreedyHamming_B(backwards);
+
+		BoofConcurrency.setUseConcurrent(concurrent);
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.setUseConcurrent(false);
+	}
+
+	@Benchmark
+	public AssociateGreedy general() {
+		general.associate(listA, listB);
+		return general;
+	}
+
+	@Benchmark
+	public AssociateGreedy specialized() {
+		specialized.associate(listA, listB);
+		return specialized;
+	}
+
+	@Benchmark
+	public AssociateGreedy packed() {
+		specialized.associate(packedA, packedB);
+		return specialized;
+	}
+
+	private FastQueue<TupleDesc_B> createSet( Random rand ) {
+		FastQueue<TupleDesc_B> ret = new FastQueue<TupleDesc_B>(10,TupleDesc_B.class, true) {
+			@Override
+			protected TupleDesc_B createInstance() {
+				return new TupleDesc_B(numBits);
+			}
+		};
+
+		for( int i = 0; i < numFeatures; i++ ) {
+			TupleDesc_B t = ret.grow();
+			for( int j = 0; j < t.data.length; j++ ) {
+				t.data[j] = rand.nextInt();
+			}
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.intensity;
+
+import boofcv.alg.feature.detect.intensity.impl.*;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageDataType;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSingleBand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runtime performance of the FAST corner detectors for each of the supported image types.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkFastIntensity {
+
+	@Param({"640", "1920"})
+	public int width;
+
+	@Param({"U8", "F32"})
+	public ImageDataType imageType;
+
+	@Param({"60"})
+	public int pixelTol;
+
+	ImageSingleBand input;
+	ImageFloat32 intensity;
+
+	FastCornerIntensity fast9;
+	FastCornerIntensity fast12;
+
+	@Setup
+	public void setup() {
+		input = GeneralizedImageOps.createSingleBand(imageType, width, width*3/4);
+		intensity = new ImageFloat32(input.width,input.height);
+
+		GImageMiscOps.fillUniform(input, new Random(234), 0, 255);
+
+		fast9 = new ImplFastIntensity9(createHelper());
+		fast12 = new ImplFastIntensity12(createHelper());
+	}
+
+	private FastHelper createHelper() {
+		if( imageType == ImageDataType.U8 )
+			return new ImplFastHelper_U8(pixelTol);
+		else if( imageType == ImageDataType.F32 )
+			return new ImplFastHelper_F32(pixelTol);
+		else
+			throw new IllegalArgumentException("Unsupported image type "+imageType);
+	}
+
+	@Benchmark
+	public ImageFloat32 fast9() {
+		fast9.process(input,intensity);
+		return intensity;
+	}
+
+	@Benchmark
+	public ImageFloat32 fast12() {
+		fast12.process(input,intensity);
+		return intensity;
+	}
+}
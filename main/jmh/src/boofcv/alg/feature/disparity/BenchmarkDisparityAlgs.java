@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.alg.feature.disparity.impl.*;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runtime performance of the different rectified stereo disparity algorithms.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkDisparityAlgs {
+
+	@Param({"640"})
+	public int width;
+
+	@Param({"20", "60"})
+	public int maxDisparity;
+
+	@Param({"2"})
+	public int radius;
+
+	ImageUInt8 left, right;
+	ImageFloat32 left_F32, right_F32;
+
+	ImageUInt8 outU8;
+	ImageFloat32 out_F32;
+
+	ImplDisparityScoreSadRect_U8<ImageUInt8> sad_U8;
+	ImplDisparityScoreSadRectFive_U8<ImageUInt8> sadFive_U8;
+	ImplDisparityScoreSadRect_F32<ImageUInt8> sad_F32;
+	ImplDisparityScoreSadRect_U8<ImageFloat32> sadSubpixel_U8;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234234);
+		int height = width*3/4;
+
+		left = new ImageUInt8(width,height);
+		right = new ImageUInt8(width,height);
+		left_F32 = new ImageFloat32(width,height);
+		right_F32 = new ImageFloat32(width,height);
+		outU8 = new ImageUInt8(width,height);
+		out_F32 = new ImageFloat32(width,height);
+
+		GImageMiscOps.fillUniform(left, rand, 0, 30);
+		GImageMiscOps.fillUniform(right, rand, 0, 30);
+		GeneralizedImageOps.convert(left, left_F32);
+		GeneralizedImageOps.convert(right, right_F32);
+
+		sad_U8 = new ImplDisparityScoreSadRect_U8<ImageUInt8>(0,maxDisparity,radius,radius,
+				new ImplSelectRectStandard_S32_U8(250,2,0.1));
+		sadFive_U8 = new ImplDisparityScoreSadRectFive_U8<ImageUInt8>(0,maxDisparity,radius,radius,
+				new ImplSelectRectStandard_S32_U8(250,2,0.1));
+		sad_F32 = new ImplDisparityScoreSadRect_F32<ImageUInt8>(0,maxDisparity,radius,radius,
+				new ImplSelectRectStandard_F32_U8(250,2,0.1));
+		sadSubpixel_U8 = new ImplDisparityScoreSadRect_U8<ImageFloat32>(0,maxDisparity,radius,radius,
+				new SelectRectSubpixel.S32_F32(250,2,0.1));
+	}
+
+	@Benchmark
+	public ImageUInt8 sad_U8() {
+		sad_U8.process(left, right, outU8);
+		return outU8;
+	}
+
+	@Benchmark
+	public ImageUInt8 sadFive_U8() {
+		sadFive_U8.process(left, right, outU8);
+		return outU8;
+	}
+
+	@Benchmark
+	public ImageUInt8 sad_F32() {
+		sad_F32.process(left_F32, right_F32, outU8);
+		return outU8;
+	}
+
+	@Benchmark
+	public ImageFloat32 sadSubpixel_U8() {
+		sadSubpixel_U8.process(left, right, out_F32);
+		return out_F32;
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.filter.convolve.noborder.ConvolveImageStandard;
+import boofcv.alg.filter.convolve.noborder.ConvolveImageUnrolled_F32_F32;
+import boofcv.alg.filter.convolve.noborder.ConvolveImageUnrolled_U8_I16;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_I32;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageSInt16;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the unrolled convolution kernels against the standard implementation for different kernel sizes.
+ * The unrolled kernels only support up to a fixed radius, so both are run on the same inputs to make any
+ * regression in the generated code easy to spot.  The two pass separable convolution, which writes a full size
+ * intermediate image, is compared against the fused version which goes through a small strip buffer.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkConvolve {
+
+	@Param({"640", "1920"})
+	public int width;
+
+	@Param({"1", "2", "3", "5"})
+	public int radius;
+
+	Kernel1D_F32 kernelF32;
+	Kernel1D_I32 kernelI32;
+
+	ImageFloat32 inputF32, outputF32, workF32;
+	ImageUInt8 inputU8;
+	ImageSInt16 outputS16;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+		int height = width*3/4;
+
+		kernelF32 = FactoryKernelGaussian.gaussian(Kernel1D_F32.class, -1, radius);
+		kernelI32 = FactoryKernelGaussian.gaussian(Kernel1D_I32.class, -1, radius);
+
+		inputF32 = new ImageFloat32(width,height);
+		outputF32 = new ImageFloat32(width,height);
+		workF32 = new ImageFloat32(width,height);
+		inputU8 = new ImageUInt8(width,height);
+		outputS16 = new ImageSInt16(width,height);
+
+		ImageMiscOps.fillUniform(inputF32, rand, 0, 100);
+		ImageMiscOps.fillUniform(inputU8, rand, 0, 100);
+	}
+
+	@Benchmark
+	public ImageFloat32 horizontal_Unrolled_F32() {
+		if( !ConvolveImageUnrolled_F32_F32.horizontal(kernelF32, inputF32, outputF32) )
+			throw new RuntimeException("Unrolled kernel not supported");
+		return outputF32;
+	}
+
+	@Benchmark
+	public ImageFloat32 horizontal_Standard_F32() {
+		ConvolveImageStandard.horizontal(kernelF32, inputF32, outputF32);
+		return outputF32;
+	}
+
+	@Benchmark
+	public ImageFloat32 vertical_Unrolled_F32() {
+		if( !ConvolveImageUnrolled_F32_F32.vertical(kernelF32, inputF32, outputF32) )
+			throw new RuntimeException("Unrolled kernel not supported");
+		return outputF32;
+	}
+
+	@Benchmark
+	public ImageFloat32 vertical_Standard_F32() {
+		ConvolveImageStandard.vertical(kernelF32, inputF32, outputF32);
+		return outputF32;
+	}
+
+	@Benchmark
+	public ImageSInt16 horizontal_Unrolled_U8_I16() {
+		if( !ConvolveImageUnrolled_U8_I16.horizontal(kernelI32, inputU8, outputS16) )
+			throw new RuntimeException("Unrolled kernel not supported");
+		return outputS16;
+	}
+
+	@Benchmark
+	public ImageSInt16 horizontal_Standard_U8_I16() {
+		ConvolveImageStandard.horizontal(kernelI32, inputU8, outputS16);
+		return outputS16;
+	}
+
+	@Benchmark
+	public ImageSInt16 vertical_Unrolled_U8_I16() {
+		if( !ConvolveImageUnrolled_U8_I16.vertical(kernelI32, inputU8, outputS16) )
+			throw new RuntimeException("Unrolled kernel not supported");
+		return outputS16;
+	}
+
+	@Benchmark
+	public ImageSInt16 vertical_Standard_U8_I16() {
+		ConvolveImageStandard.vertical(kernelI32, inputU8, outputS16);
+		return outputS16;
+	}
+
+	@Benchmark
+	public ImageFloat32 horizontal_NoBorder_F32() {
+		ConvolveImageNoBorder.horizontal(kernelF32, inputF32, outputF32);
+		return outputF32;
+	}
+
+	@Benchmark
+	public ImageFloat32 separable_TwoPass_F32() {
+		ConvolveImageNoBorder.horizontal(kernelF32, inputF32, workF32);
+		ConvolveImageNoBorder.vertical(kernelF32, workF32, outputF32);
+		return outputF32;
+	}
+
+	@Benchmark
+	public ImageFloat32 separable_Fused_F32() {
+		ConvolveImageNoBorder.separable(kernelF32, kernelF32, inputF32, outputF32);
+		return outputF32;
+	}
+
+	@Benchmark
+	public ImageFloat32 separable_TwoPass_Normalized_F32() {
+		ConvolveNormalized.horizontal(kernelF32, inputF32, workF32);
+		ConvolveNormalized.vertical(kernelF32, workF32, outputF32);
+		return outputF32;
+	}
+
+	@Benchmark
+	public ImageFloat32 separable_Fused_Normalized_F32() {
+		ConvolveNormalized.separable(kernelF32, kernelF32, inputF32, outputF32);
+		return outputF32;
+	}
+}
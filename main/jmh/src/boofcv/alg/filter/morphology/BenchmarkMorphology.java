@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.morphology;
+
+import boofcv.alg.filter.binary.BinaryImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grayscale morphology for different sizes of structuring element.  The run time should not change with the
+ * radius.  Closing a binary image is compared against repeatedly applying the 3x3 binary operations, which is
+ * how large structuring elements had to be emulated before.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkMorphology {
+
+	@Param({"640", "1920"})
+	public int width;
+
+	@Param({"1", "5", "15"})
+	public int radius;
+
+	ImageUInt8 inputU8, outputU8, binary;
+	ImageFloat32 inputF32, outputF32;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+		int height = width*3/4;
+
+		inputU8 = new ImageUInt8(width,height);
+		outputU8 = new ImageUInt8(width,height);
+		binary = new ImageUInt8(width,height);
+		inputF32 = new ImageFloat32(width,height);
+		outputF32 = new ImageFloat32(width,height);
+
+		ImageMiscOps.fillUniform(inputU8, rand, 0, 255);
+		ImageMiscOps.fillUniform(binary, rand, 0, 2);
+		ImageMiscOps.fillUniform(inputF32, rand, 0, 100);
+	}
+
+	@Benchmark
+	public ImageUInt8 erode_U8() {
+		return MorphologyImageOps.erode(inputU8, outputU8, radius, radius);
+	}
+
+	@Benchmark
+	public ImageFloat32 erode_F32() {
+		return MorphologyImageOps.erode(inputF32, outputF32, radius, radius);
+	}
+
+	@Benchmark
+	public ImageUInt8 close_Binary() {
+		return MorphologyImageOps.close(binary, outputU8, radius, radius);
+	}
+
+	@Benchmark
+	public ImageUInt8 close_BinaryRepeated() {
+		BinaryImageOps.dilate8(binary, radius, outputU8);
+		return BinaryImageOps.erode8(outputU8, radius, outputU8);
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.misc;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.ImageUInt8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares computing several statistics with individual calls against a single call to
+ * {@link ImageStatistics#summary}, with and without concurrency.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkImageStatistics {
+
+	@Param({"1920", "7680"})
+	public int width;
+
+	@Param({"false", "true"})
+	public boolean concurrent;
+
+	ImageUInt8 inputU8;
+	ImageFloat32 inputF32;
+	int histogram[] = new int[256];
+	ImageSummaryStatistics statsU8 = new ImageSummaryStatistics(0,255);
+	ImageSummaryStatistics statsF32 = new ImageSummaryStatistics();
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+		int height = width*9/16;
+
+		inputU8 = new ImageUInt8(width,height);
+		inputF32 = new ImageFloat32(width,height);
+
+		ImageMiscOps.fillUniform(inputU8, rand, 0, 255);
+		ImageMiscOps.fillUniform(inputF32, rand, 0, 100);
+
+		BoofConcurrency.setUseConcurrent(concurrent);
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.setUseConcurrent(false);
+	}
+
+	@Benchmark
+	public double separate_U8() {
+		double mean = ImageStatistics.mean(inputU8);
+		ImageStatistics.histogram(inputU8, histogram);
+		return ImageStatistics.min(inputU8) + ImageStatistics.max(inputU8) +
+				mean + ImageStatistics.variance(inputU8, mean);
+	}
+
+	@Benchmark
+	public double summary_U8() {
+		ImageStatistics.summary(inputU8, statsU8);
+		return statsU8.mean;
+	}
+
+	@Benchmark
+	public double separate_F32() {
+		double mean = ImageStatistics.mean(inputF32);
+		return ImageStatistics.min(inputF32) + ImageStatistics.max(inputF32) +
+				mean + ImageStatistics.variance(inputF32, mean);
+	}
+
+	@Benchmark
+	public double summary_F32() {
+		ImageStatistics.summary(inputF32, statsF32);
+		return statsF32.mean;
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.fft;
+
+import boofcv.abst.transform.fft.DiscreteFourierTransform;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageFloat32;
+import boofcv.struct.image.InterleavedF32;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forward and inverse 2D FFT for power of two and mixed radix image sizes, with and without concurrency.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkFourierTransform {
+
+	@Param({"512", "640", "1024"})
+	public int width;
+
+	@Param({"false", "true"})
+	public boolean concurrent;
+
+	ImageFloat32 input, output;
+	InterleavedF32 fourier;
+
+	DiscreteFourierTransform<ImageFloat32,InterleavedF32> dft;
+	GeneralPurposeFFT_F32_2D alg;
+	float data[];
+
+	@Setup
+	public void setup() {
+		int height = width*3/4;
+		input = new ImageFloat32(width,height);
+		output = new ImageFloat32(width,height);
+		fourier = new InterleavedF32(width,height,2);
+		ImageMiscOps.fillUniform(input, new Random(234), 0, 100);
+
+		dft = DiscreteFourierTransformOps.createTransformF32();
+		alg = new GeneralPurposeFFT_F32_2D(height,width);
+		data = new float[width*height*2];
+
+		BoofConcurrency.setUseConcurrent(concurrent);
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.setUseConcurrent(false);
+	}
+
+	@Benchmark
+	public ImageFloat32 forwardInverse() {
+		dft.forward(input,fourier);
+		dft.inverse(fourier,output);
+		return output;
+	}
+
+	@Benchmark
+	public float[] complexForwardInverse() {
+		alg.complexForward(data);
+		alg.complexInverse(data, true);
+		return data;
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2015, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.ImageDataType;
+import boofcv.struct.image.ImageSingleBand;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidFloat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows runtime performance difference of each type of image pyramid given similar configurations.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BenchmarkImagePyramids {
+
+	@Param({"640", "1920"})
+	public int width;
+
+	@Param({"U8", "F32"})
+	public ImageDataType imageType;
+
+	int scalesD[] = new int[]{1,2,4,8};
+	double scalesF[] = new double[]{1,2,4,8};
+
+	ImageSingleBand input;
+
+	PyramidDiscrete pyramidD;
+	PyramidFloat pyramidF;
+	PyramidDiscrete pyramidLazy;
+
+	long frameID;
+
+	@Setup
+	public void setup() {
+		Class imageClass = ImageDataType.typeToSingleClass(imageType);
+
+		input = GeneralizedImageOps.createSingleBand(imageClass, width, width*3/4);
+		GImageMiscOps.fillUniform(input, new Random(234), 0, 100);
+
+		pyramidD = FactoryPyramid.discreteGaussian(scalesD, -1, 2, true, imageClass);
+		pyramidF = FactoryPyramid.scaleSpacePyramid(scalesF, imageClass);
+		pyramidLazy = FactoryPyramid.discreteGaussian(scalesD, -1, 2, true, imageClass);
+		pyramidLazy.setLazy(true);
+	}
+
+	@Benchmark
+	public PyramidFloat scaleSpace() {
+		pyramidF.process(input);
+		return pyramidF;
+	}
+
+	@Benchmark
+	public PyramidDiscrete discreteSampleBlur() {
+		pyramidD.process(input);
+		return pyramidD;
+	}
+
+	/**
+	 * Two consumers of the same frame sharing one pyramid
+	 */
+	@Benchmark
+	public PyramidDiscrete discreteSampleBlurShared() {
+		frameID++;
+		pyramidD.process(input,frameID);
+		pyramidD.process(input,frameID);
+		return pyramidD;
+	}
+
+	/**
+	 * Lazy pyramid where only the bottom layer is used
+	 */
+	@Benchmark
+	public ImageSingleBand discreteSampleBlurLazyBottom() {
+		pyramidLazy.process(input);
+		return pyramidLazy.getLayer(0);
+	}
+}